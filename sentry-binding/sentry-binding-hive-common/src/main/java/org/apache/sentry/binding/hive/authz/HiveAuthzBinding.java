@@ -17,14 +17,18 @@
 package org.apache.sentry.binding.hive.authz;
 
 import java.lang.reflect.Constructor;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.ToLongFunction;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.CommonConfigurationKeys;
+import org.apache.hadoop.hive.common.metrics.common.Metrics;
+import org.apache.hadoop.hive.common.metrics.common.MetricsFactory;
 import org.apache.hadoop.hive.conf.HiveConf;
 import org.apache.hadoop.hive.conf.HiveConf.ConfVars;
 import org.apache.hadoop.hive.ql.metadata.AuthorizationException;
@@ -46,9 +50,11 @@ import org.apache.sentry.policy.common.PolicyEngine;
 import org.apache.sentry.policy.common.PrivilegeFactory;
 import org.apache.sentry.provider.cache.PrivilegeCache;
 import org.apache.sentry.provider.cache.SimpleCacheProviderBackend;
+import org.apache.sentry.provider.common.AuthorizationDecisionCache;
 import org.apache.sentry.provider.common.AuthorizationProvider;
 import org.apache.sentry.provider.common.ProviderBackend;
 import org.apache.sentry.provider.common.ProviderBackendContext;
+import org.apache.sentry.provider.common.ResourceAuthorizationProvider;
 import org.apache.sentry.api.service.thrift.TSentryRole;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,6 +70,10 @@ public class HiveAuthzBinding implements AutoCloseable {
       .omitEmptyStrings();
   public static final String HIVE_BINDING_TAG = "hive.authz.bindings.tag";
   public static final String HIVE_POLICY_ENGINE_OLD = "org.apache.sentry.policy.db.SimpleDBPolicyEngine";
+  // Prefix of the Hive metrics of the authorization decision cache
+  static final String DECISION_CACHE_METRIC_PREFIX = "sentry_decision_cache_";
+  // Metrics the decision cache gauges were added to
+  private static volatile Metrics decisionCacheGauges;
 
   private final HiveConf hiveConf;
   private final Server authServer;
@@ -245,8 +255,56 @@ public class HiveAuthzBinding implements AutoCloseable {
     Constructor<?> constrctor =
       Class.forName(authProviderName).getDeclaredConstructor(String.class, PolicyEngine.class, Model.class);
     constrctor.setAccessible(true);
-    return (AuthorizationProvider) constrctor.newInstance(new Object[] {resourceName, policyEngine,
-            HivePrivilegeModel.getInstance()});
+    AuthorizationProvider authProvider = (AuthorizationProvider) constrctor.newInstance(
+        new Object[] {resourceName, policyEngine, HivePrivilegeModel.getInstance()});
+
+    // cache authorization decisions if enabled and supported by the provider. Bindings
+    // are created per request, so the providers of the same backend share the cache.
+    if (authProvider instanceof ResourceAuthorizationProvider) {
+      AuthorizationDecisionCache decisionCache = AuthorizationDecisionCache.getShared(authzConf,
+          providerBackendName + ":" + resourceName);
+      ((ResourceAuthorizationProvider) authProvider).setDecisionCache(decisionCache);
+      if (decisionCache != null) {
+        addDecisionCacheGauges();
+      }
+    }
+    return authProvider;
+  }
+
+  /**
+   * Publish the statistics of the shared decision caches as gauges of the metrics of
+   * the HiveServer2 or metastore hosting the binding, once its metrics are enabled.
+   * The gauges sum the statistics of all the caches of the process.
+   */
+  private static void addDecisionCacheGauges() {
+    Metrics metrics = MetricsFactory.getInstance();
+    if (metrics == null || decisionCacheGauges == metrics) {
+      return;
+    }
+    synchronized (HiveAuthzBinding.class) {
+      if (decisionCacheGauges == metrics) {
+        return;
+      }
+      metrics.addGauge(DECISION_CACHE_METRIC_PREFIX + "size",
+          () -> sumDecisionCaches(AuthorizationDecisionCache::size));
+      metrics.addGauge(DECISION_CACHE_METRIC_PREFIX + "hit",
+          () -> sumDecisionCaches(AuthorizationDecisionCache::getHitCount));
+      metrics.addGauge(DECISION_CACHE_METRIC_PREFIX + "miss",
+          () -> sumDecisionCaches(AuthorizationDecisionCache::getMissCount));
+      metrics.addGauge(DECISION_CACHE_METRIC_PREFIX + "eviction",
+          () -> sumDecisionCaches(AuthorizationDecisionCache::getEvictionCount));
+      metrics.addGauge(DECISION_CACHE_METRIC_PREFIX + "invalidation",
+          () -> sumDecisionCaches(AuthorizationDecisionCache::getInvalidationCount));
+      decisionCacheGauges = metrics;
+    }
+  }
+
+  private static long sumDecisionCaches(ToLongFunction<AuthorizationDecisionCache> stat) {
+    long sum = 0;
+    for (AuthorizationDecisionCache cache : AuthorizationDecisionCache.getSharedCaches()) {
+      sum += stat.applyAsLong(cache);
+    }
+    return sum;
   }
 
   public PrivilegeFactory getPrivilegeFactory() {
@@ -385,6 +443,77 @@ public class HiveAuthzBinding implements AutoCloseable {
 
   }
 
+  /**
+   * Filter the input hierarchies on which the given subject has the privileges required for
+   * the given operation. A hierarchy is kept if {@link #authorize} would accept it as the only
+   * input object of the operation, but the privileges of the subject are looked up once for
+   * all hierarchies.
+   * @param hiveOp
+   * @param stmtAuthPrivileges
+   * @param subject
+   * @param inputHierarchyList
+   * @return the authorized hierarchies, in the order they were given
+   */
+  public List<List<DBModelAuthorizable>> filterAuthorized(HiveOperation hiveOp,
+      HiveAuthzPrivileges stmtAuthPrivileges, Subject subject,
+      List<List<DBModelAuthorizable>> inputHierarchyList) {
+    if (!open) {
+      throw new IllegalStateException("Binding has been closed");
+    }
+    if(LOG.isDebugEnabled()) {
+      LOG.debug("Going to filter " + inputHierarchyList.size() + " objects of statement " +
+          hiveOp.name() + " for subject " + subject.getName());
+    }
+
+    // Without output objects, authorize() fails on any required output privilege
+    for (AuthorizableType key : stmtAuthPrivileges.getOutputPrivileges().keySet()) {
+      if (!key.equals(AuthorizableType.URI) && !hiveOp.equals(HiveOperation.QUERY)) {
+        return new ArrayList<List<DBModelAuthorizable>>(0);
+      }
+    }
+
+    Set<List<DBModelAuthorizable>> denied = Sets.newIdentityHashSet();
+    for (Map.Entry<AuthorizableType, EnumSet<DBModelAction>> entry :
+        stmtAuthPrivileges.getInputPrivileges().entrySet()) {
+      AuthorizableType key = entry.getKey();
+      // see authorize() for the privileges which are optional
+      boolean required = !key.equals(AuthorizableType.URI) && !hiveOp.equals(HiveOperation.QUERY)
+          && !hiveOp.equals(HiveOperation.CREATETABLE_AS_SELECT);
+      List<List<DBModelAuthorizable>> candidates =
+          new ArrayList<List<DBModelAuthorizable>>(inputHierarchyList.size());
+      for (List<DBModelAuthorizable> inputHierarchy : inputHierarchyList) {
+        if (denied.contains(inputHierarchy)) {
+          continue;
+        }
+        if (getAuthzType(inputHierarchy).equals(key)) {
+          candidates.add(inputHierarchy);
+        } else if (required) {
+          denied.add(inputHierarchy);
+        }
+      }
+      if (candidates.isEmpty()) {
+        continue;
+      }
+      Set<List<DBModelAuthorizable>> accessible = Sets.newIdentityHashSet();
+      accessible.addAll(authProvider.filterAccessible(subject, candidates, entry.getValue(),
+          stmtAuthPrivileges.getGrantOption(), activeRoleSet));
+      for (List<DBModelAuthorizable> candidate : candidates) {
+        if (!accessible.contains(candidate)) {
+          denied.add(candidate);
+        }
+      }
+    }
+
+    List<List<DBModelAuthorizable>> authorized =
+        new ArrayList<List<DBModelAuthorizable>>(inputHierarchyList.size());
+    for (List<DBModelAuthorizable> inputHierarchy : inputHierarchyList) {
+      if (!denied.contains(inputHierarchy)) {
+        authorized.add(inputHierarchy);
+      }
+    }
+    return authorized;
+  }
+
   public void setActiveRoleSet(String activeRoleSet,
       Set<TSentryRole> allowedRoles) throws SentryUserException {
     this.activeRoleSet = parseActiveRoleSet(activeRoleSet, allowedRoles);
@@ -20,12 +20,13 @@ package org.apache.sentry.binding.hive.authz;
 import static org.apache.hadoop.hive.metastore.MetaStoreUtils.DEFAULT_DATABASE_NAME;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import org.apache.hadoop.hbase.util.Strings;
-import org.apache.hadoop.hive.ql.metadata.AuthorizationException;
 import org.apache.hadoop.hive.ql.plan.HiveOperation;
 import org.apache.sentry.binding.hive.authz.HiveAuthzPrivileges.HiveOperationScope;
 import org.apache.sentry.binding.hive.authz.HiveAuthzPrivileges.HiveOperationType;
@@ -151,15 +152,24 @@ public class MetastoreAuthzObjectFilter<T> {
       return Collections.emptyList();
     }
 
-    List<T> filteredDatabases = Lists.newArrayList();
+    List<List<DBModelAuthorizable>> authorizables = Lists.newArrayListWithCapacity(dbNames.size());
     for (T dbName : dbNames) {
       String objName = extractor.getDatabaseName(dbName);
-      if (Strings.isEmpty(objName) || authorizeDatabase(username, objName)) {
-        filteredDatabases.add(dbName);
+      if (Strings.isEmpty(objName)
+          || (!DEFAULT_DATABASE_RESTRICTED && objName.equalsIgnoreCase(DEFAULT_DATABASE_NAME))) {
+        authorizables.add(null);
+      } else {
+        authorizables.add(Arrays.asList(AUTH_SERVER, new Database(objName), Table.ALL, Column.ALL));
       }
     }
 
-    return filteredDatabases;
+    if (SHOWDATABASES_ON_SELECT_ONLY) {
+      return filter(HiveOperation.SHOWDATABASES, LIST_DATABASES_PRIVILEGES_ON_SELECT, username,
+          dbNames, authorizables);
+    } else {
+      return filter(HiveOperation.SHOWDATABASES, LIST_DATABASES_PRIVILEGES, username,
+          dbNames, authorizables);
+    }
   }
 
   /**
@@ -175,73 +185,49 @@ public class MetastoreAuthzObjectFilter<T> {
       return Collections.emptyList();
     }
 
-    List<T> filteredTables = Lists.newArrayList();
+    List<List<DBModelAuthorizable>> authorizables = Lists.newArrayListWithCapacity(tables.size());
     for (T table : tables) {
       String dbName = extractor.getDatabaseName(table);
-      String tableName = extractor.getTableName(table);
-      if (Strings.isEmpty(dbName) || authorizeTable(username, dbName, tableName)) {
-        filteredTables.add(table);
+      if (Strings.isEmpty(dbName)) {
+        authorizables.add(null);
+      } else {
+        authorizables.add(Arrays.asList(AUTH_SERVER, new Database(dbName),
+            new Table(extractor.getTableName(table)), Column.ALL));
       }
     }
 
-    return filteredTables;
+    return filter(HiveOperation.SHOWTABLES, getListTablePrivileges(), username, tables,
+        authorizables);
   }
 
   /**
-   * Checks if a database is authorized to be accessed by the specific user.
-   * @return True if it is authorized, false otherwise.
+   * Calls the bulk authorization method of Sentry to check the access to all objects at once.
+   * @param objects The objects to filter.
+   * @param authorizables The authorizable of each object, or null if the object is always visible.
+   * @return The authorized objects, in the order they were given.
    */
-  private boolean authorizeDatabase(String username, String dbName) {
-    if (!DEFAULT_DATABASE_RESTRICTED && dbName.equalsIgnoreCase(DEFAULT_DATABASE_NAME)) {
-      return true;
+  private List<T> filter(HiveOperation op, HiveAuthzPrivileges privs, String username,
+      List<T> objects, List<List<DBModelAuthorizable>> authorizables) {
+    List<List<DBModelAuthorizable>> toAuthorize = Lists.newArrayListWithCapacity(authorizables.size());
+    for (List<DBModelAuthorizable> authorizable : authorizables) {
+      if (authorizable != null) {
+        toAuthorize.add(authorizable);
+      }
     }
 
-    Database database = new Database(dbName);
-    List<DBModelAuthorizable> authorizable = Arrays.asList(
-      AUTH_SERVER, database, Table.ALL, Column.ALL
-    );
-
-    if (SHOWDATABASES_ON_SELECT_ONLY) {
-      return authorize(HiveOperation.SHOWDATABASES, LIST_DATABASES_PRIVILEGES_ON_SELECT, username,
-          authorizable);
-
-    } else {
-      return authorize(HiveOperation.SHOWDATABASES, LIST_DATABASES_PRIVILEGES, username,
-          authorizable);
+    Set<List<DBModelAuthorizable>> authorized = Sets.newIdentityHashSet();
+    if (!toAuthorize.isEmpty()) {
+      authorized.addAll(authzBinding.filterAuthorized(op, privs, new Subject(username), toAuthorize));
     }
-  }
 
-  /**
-   * Checks if a table is authorized to be accessed by the specific user.
-   * @return True if it is authorized, false otherwise.
-   */
-  private boolean authorizeTable(String username, String dbName, String tableName) {
-    Database database = new Database(dbName);
-    Table table = new Table(tableName);
-
-    List<DBModelAuthorizable> authorizable = Arrays.asList(
-      AUTH_SERVER, database, table, Column.ALL
-    );
-
-    if (SHOWTABLES_ON_SELECT_ONLY) {
-      return authorize(HiveOperation.SHOWTABLES, LIST_TABLES_PRIVILEGES_ON_SELECT, username, authorizable);
-    } else {
-      return authorize(HiveOperation.SHOWTABLES, LIST_TABLES_PRIVILEGES, username, authorizable);
-    }
-  }
-
-  /**
-   * Calls the authorization method of Sentry to check the access to a specific authorizable.
-   * @return True if it is authorized, false otherwise.
-   */
-  private boolean authorize(HiveOperation op, HiveAuthzPrivileges privs, String username, List<DBModelAuthorizable> authorizable) {
-    try {
-      authzBinding.authorize(op, privs, new Subject(username),
-        Collections.singleton(authorizable), Collections.emptySet());
-    } catch (AuthorizationException e) {
-      return false;
+    List<T> filteredObjects = Lists.newArrayList();
+    for (int i = 0; i < objects.size(); i++) {
+      List<DBModelAuthorizable> authorizable = authorizables.get(i);
+      if (authorizable == null || authorized.contains(authorizable)) {
+        filteredObjects.add(objects.get(i));
+      }
     }
 
-    return true;
+    return filteredObjects;
   }
 }
@@ -19,6 +19,7 @@ package org.apache.sentry.binding.hive;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 
@@ -45,6 +46,8 @@ import org.apache.sentry.core.model.db.Database;
 import org.apache.sentry.core.model.db.Server;
 import org.apache.sentry.core.model.db.Table;
 import org.apache.sentry.core.common.utils.PolicyFiles;
+import org.apache.sentry.provider.common.AuthorizationDecisionCache;
+import org.apache.sentry.provider.common.ResourceAuthorizationProvider;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -446,4 +449,80 @@ public class TestHiveAuthzBindings {
       "org.apache.sentry.provider.file.LocalGroupResourceAuthorizationProvider");
     new HiveAuthzBinding(hiveConf, authzConf);
   }
+
+  /**
+   * Verify that the bindings, created per request, share the decision cache
+   */
+  @Test
+  public void testDecisionCacheShared() throws Exception {
+    authzConf.setBoolean(AuthorizationDecisionCache.ENABLED, true);
+    AuthorizationDecisionCache decisionCache = ((ResourceAuthorizationProvider)
+        new HiveAuthzBinding(hiveConf, authzConf).getCurrentAuthProvider()).getDecisionCache();
+    Assert.assertNotNull(decisionCache);
+    Assert.assertSame(decisionCache, ((ResourceAuthorizationProvider)
+        new HiveAuthzBinding(hiveConf, authzConf).getCurrentAuthProvider()).getDecisionCache());
+  }
+
+  /**
+   * Verify that the objects filtered in bulk are those authorized one by one, in order,
+   * whether they share their database or only their server
+   */
+  @Test
+  public void testFilterAuthorized() throws Exception {
+    List<DBModelAuthorizable> purchases =
+        buildObjectHierarchy(SERVER1, CUSTOMER_DB, PURCHASES_TAB);
+    List<DBModelAuthorizable> customerOther = buildObjectHierarchy(SERVER1, CUSTOMER_DB, "other");
+    List<DBModelAuthorizable> analystTab = buildObjectHierarchy(SERVER1, ANALYST_DB, "tab1");
+    List<DBModelAuthorizable> juniorTab = buildObjectHierarchy(SERVER1, JUNIOR_ANALYST_DB, "tab1");
+
+    // Tables of the same database
+    List<List<DBModelAuthorizable>> sameDb = Arrays.asList(customerOther, purchases);
+    Assert.assertEquals(Collections.singletonList(purchases),
+        testAuth.filterAuthorized(HiveOperation.QUERY, queryPrivileges, ANALYST_SUBJECT, sameDb));
+    assertFilteredAsAuthorized(ANALYST_SUBJECT, sameDb);
+
+    // Tables of several databases
+    List<List<DBModelAuthorizable>> severalDbs =
+        Arrays.asList(purchases, analystTab, customerOther, juniorTab);
+    Assert.assertEquals(Arrays.asList(purchases, analystTab, juniorTab),
+        testAuth.filterAuthorized(HiveOperation.QUERY, queryPrivileges, ANALYST_SUBJECT,
+            severalDbs));
+    Assert.assertEquals(Collections.singletonList(juniorTab),
+        testAuth.filterAuthorized(HiveOperation.QUERY, queryPrivileges, JUNIOR_ANALYST_SUBJECT,
+            severalDbs));
+    Assert.assertEquals(severalDbs,
+        testAuth.filterAuthorized(HiveOperation.QUERY, queryPrivileges, ADMIN_SUBJECT,
+            severalDbs));
+    Assert.assertTrue(testAuth.filterAuthorized(HiveOperation.QUERY, queryPrivileges,
+        NO_SUCH_SUBJECT, severalDbs).isEmpty());
+    for (Subject subject : Arrays.asList(ADMIN_SUBJECT, MANAGER_SUBJECT, ANALYST_SUBJECT,
+        JUNIOR_ANALYST_SUBJECT, NO_SUCH_SUBJECT)) {
+      assertFilteredAsAuthorized(subject, severalDbs);
+    }
+  }
+
+  /**
+   * Verify that filtering no objects returns none
+   */
+  @Test
+  public void testFilterAuthorizedWithoutObjects() throws Exception {
+    Assert.assertTrue(testAuth.filterAuthorized(HiveOperation.QUERY, queryPrivileges,
+        ANALYST_SUBJECT, new ArrayList<List<DBModelAuthorizable>>()).isEmpty());
+  }
+
+  private void assertFilteredAsAuthorized(Subject subject,
+      List<List<DBModelAuthorizable>> hierarchies) throws Exception {
+    List<List<DBModelAuthorizable>> authorized = new ArrayList<List<DBModelAuthorizable>>();
+    for (List<DBModelAuthorizable> hierarchy : hierarchies) {
+      try {
+        testAuth.authorize(HiveOperation.QUERY, queryPrivileges, subject,
+            Collections.singleton(hierarchy), new HashSet<List<DBModelAuthorizable>>());
+        authorized.add(hierarchy);
+      } catch (AuthorizationException e) {
+        // Not authorized
+      }
+    }
+    Assert.assertEquals(authorized, testAuth.filterAuthorized(HiveOperation.QUERY,
+        queryPrivileges, subject, hierarchies));
+  }
 }
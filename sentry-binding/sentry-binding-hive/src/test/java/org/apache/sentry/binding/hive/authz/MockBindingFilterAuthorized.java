@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.binding.hive.authz;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hadoop.hive.ql.metadata.AuthorizationException;
+import org.apache.hadoop.hive.ql.plan.HiveOperation;
+import org.apache.sentry.core.common.Subject;
+import org.apache.sentry.core.model.db.DBModelAuthorizable;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Answers the bulk filterAuthorized() method of a mocked {@link HiveAuthzBinding} with the
+ * authorize() stubs of each object, so that the restrictions stubbed on authorize() apply
+ * to the bulk filter as well.
+ */
+public class MockBindingFilterAuthorized implements Answer<List<List<DBModelAuthorizable>>> {
+  private final HiveAuthzBinding mockBinding;
+
+  private MockBindingFilterAuthorized(HiveAuthzBinding mockBinding) {
+    this.mockBinding = mockBinding;
+  }
+
+  /**
+   * Stub filterAuthorized() on the mocked binding.
+   */
+  public static void stub(HiveAuthzBinding mockBinding) {
+    Mockito.when(mockBinding.filterAuthorized(Mockito.any(HiveOperation.class),
+      Mockito.any(HiveAuthzPrivileges.class), Mockito.any(Subject.class), Mockito.anyList()))
+      .thenAnswer(new MockBindingFilterAuthorized(mockBinding));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<List<DBModelAuthorizable>> answer(InvocationOnMock invocation) throws Throwable {
+    Object[] args = invocation.getArguments();
+    List<List<DBModelAuthorizable>> authorized = new ArrayList<>();
+    for (List<DBModelAuthorizable> authorizable : (List<List<DBModelAuthorizable>>) args[3]) {
+      try {
+        mockBinding.authorize((HiveOperation) args[0], (HiveAuthzPrivileges) args[1],
+          (Subject) args[2], Collections.singleton(authorizable), Collections.emptySet());
+        authorized.add(authorizable);
+      } catch (AuthorizationException e) {
+        // not authorized
+      }
+    }
+    return authorized;
+  }
+}
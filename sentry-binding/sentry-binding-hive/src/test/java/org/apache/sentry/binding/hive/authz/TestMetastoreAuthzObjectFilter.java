@@ -194,6 +194,10 @@ public class TestMetastoreAuthzObjectFilter {
     Mockito.when(mockBinding.getAuthServer()).thenReturn(SERVER1);
     Mockito.when(mockBinding.getAuthzConf()).thenReturn(authzConf);
 
+    // The filter uses the bulk filterAuthorized() method; answer it with the authorize()
+    // stubs of each object so that the restrictions above apply to it as well
+    MockBindingFilterAuthorized.stub(mockBinding);
+
     // Do not restrict the 'default' database by default
     restrictDefaultDatabase(false);
   }
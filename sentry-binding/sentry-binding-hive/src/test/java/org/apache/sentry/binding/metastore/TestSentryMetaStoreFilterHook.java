@@ -32,6 +32,7 @@ import org.apache.sentry.binding.hive.authz.HiveAuthzBinding;
 import org.apache.sentry.binding.hive.authz.HiveAuthzPrivileges;
 import org.apache.sentry.binding.hive.authz.HiveAuthzPrivileges.HiveOperationScope;
 import org.apache.sentry.binding.hive.authz.HiveAuthzPrivileges.HiveOperationType;
+import org.apache.sentry.binding.hive.authz.MockBindingFilterAuthorized;
 import org.apache.sentry.binding.hive.conf.HiveAuthzConf;
 import org.apache.sentry.core.common.Subject;
 import org.apache.sentry.core.model.db.Column;
@@ -146,6 +147,10 @@ public class TestSentryMetaStoreFilterHook {
 
     Mockito.when(mockBinding.getAuthServer()).thenReturn(SERVER1);
     Mockito.when(mockBinding.getAuthzConf()).thenReturn(authzConf);
+
+    // The filter uses the bulk filterAuthorized() method; answer it with the authorize()
+    // stubs of each object so that the restrictions above apply to it as well
+    MockBindingFilterAuthorized.stub(mockBinding);
   }
 
   @Test
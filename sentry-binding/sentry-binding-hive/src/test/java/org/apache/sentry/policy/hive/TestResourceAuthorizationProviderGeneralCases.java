@@ -18,6 +18,7 @@ package org.apache.sentry.policy.hive;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
@@ -180,6 +181,31 @@ public class TestResourceAuthorizationProviderGeneralCases {
     doTestResourceAuthorizationProvider(SUB_JUNIOR_ANALYST, SVR_ALL, DB_JR_ANALYST, TBL_PURCHASES, SELECT, true);
   }
 
+  @Test
+  public void testFilterAccessible() throws Exception {
+    List<List<Authorizable>> hierarchies = new ArrayList<List<Authorizable>>();
+    for (Server server : Arrays.asList(SVR_SERVER1, SVR_ALL)) {
+      for (Database database : Arrays.asList(DB_CUSTOMERS, DB_ANALYST, DB_JR_ANALYST)) {
+        hierarchies.add(Arrays.<Authorizable>asList(server, database));
+        hierarchies.add(Arrays.<Authorizable>asList(server, database, TBL_PURCHASES));
+      }
+    }
+
+    for (Subject subject : Arrays.asList(SUB_ADMIN, SUB_MANAGER, SUB_ANALYST, SUB_JUNIOR_ANALYST)) {
+      for (Set<? extends Action> privileges : Arrays.asList(ALL, SELECT, INSERT)) {
+        List<List<Authorizable>> expected = new ArrayList<List<Authorizable>>();
+        for (List<Authorizable> hierarchy : hierarchies) {
+          if (authzProvider.hasAccess(subject, hierarchy, privileges, ActiveRoleSet.ALL)) {
+            expected.add(hierarchy);
+          }
+        }
+        Assert.assertEquals(subject + " " + privileges, expected,
+            authzProvider.filterAccessible(subject, hierarchies, privileges, false,
+                ActiveRoleSet.ALL));
+      }
+    }
+  }
+
   public class MockGroupMappingServiceProvider implements GroupMappingService {
     private final Multimap<String, String> userToGroupMap;
 
@@ -66,6 +66,10 @@ public class ApiConstants {
     public static final String RETRY_INTERVAL_SEC_CONF = "sentry.provider.backend.db.retry.interval.seconds";
     public static final int RETRY_INTERVAL_SEC_DEFAULT = 30;
 
+    // evaluate authorization requests on the Sentry server instead of fetching privileges
+    public static final String SERVER_SIDE_AUTHORIZATION = "sentry.provider.backend.db.server-side.authorization";
+    public static final boolean SERVER_SIDE_AUTHORIZATION_DEFAULT = false;
+
     // provider backend cache settings
     public static final String ENABLE_CACHING = "sentry.provider.backend.generic.cache.enabled";
     public static final boolean ENABLE_CACHING_DEFAULT = false;
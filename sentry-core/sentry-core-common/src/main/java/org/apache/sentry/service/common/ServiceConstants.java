@@ -96,6 +96,30 @@ public class ServiceConstants {
     public static final String SENTRY_STORE_TRANSACTION_RETRY_WAIT_TIME_MILLIS =
         "sentry.store.transaction.retry.wait.time.millis";
     public static final int SENTRY_STORE_TRANSACTION_RETRY_WAIT_TIME_MILLIS_DEFAULT = 250;
+    // The maximum number of immediate retries of a transaction which lost the race
+    // for the next delta change ID to a concurrent transaction
+    public static final String SENTRY_STORE_TRANSACTION_CONFLICT_RETRY =
+        "sentry.store.transaction.conflict.retry";
+    public static final int SENTRY_STORE_TRANSACTION_CONFLICT_RETRY_DEFAULT = 20;
+    // The number of lock stripes used to serialize policy writes on the same
+    // role, user, group or database
+    public static final String SENTRY_STORE_LOCK_STRIPES = "sentry.store.lock.stripes";
+    public static final int SENTRY_STORE_LOCK_STRIPES_DEFAULT = 64;
+    // Whether concurrent write transactions are committed together in one
+    // database transaction
+    public static final String SENTRY_STORE_GROUP_COMMIT_ENABLED =
+        "sentry.store.group.commit.enabled";
+    public static final boolean SENTRY_STORE_GROUP_COMMIT_ENABLED_DEFAULT = false;
+    // The maximum number of write transactions committed together
+    public static final String SENTRY_STORE_GROUP_COMMIT_BATCH_MAX =
+        "sentry.store.group.commit.batch.max";
+    public static final int SENTRY_STORE_GROUP_COMMIT_BATCH_MAX_DEFAULT = 32;
+    // Time (in milliseconds) a group waits for more write transactions before
+    // committing. With 0, a group has the transactions submitted while the
+    // previous group was committed.
+    public static final String SENTRY_STORE_GROUP_COMMIT_WINDOW_MS =
+        "sentry.store.group.commit.window.ms";
+    public static final long SENTRY_STORE_GROUP_COMMIT_WINDOW_MS_DEFAULT = 0L;
 
     public static final String JAVAX_JDO_URL = "javax.jdo.option.ConnectionURL";
     public static final String JAVAX_JDO_USER = "javax.jdo.option.ConnectionUserName";
@@ -120,6 +144,24 @@ public class ServiceConstants {
     public static final String SENTRY_STORE_HADOOP_GROUP_MAPPING = "org.apache.sentry.provider.common.HadoopGroupMappingService";
     public static final String SENTRY_STORE_LOCAL_GROUP_MAPPING = "org.apache.sentry.provider.file.LocalGroupMappingService";
     public static final String SENTRY_STORE_GROUP_MAPPING_DEFAULT = SENTRY_STORE_HADOOP_GROUP_MAPPING;
+    // Time (in milliseconds) the groups of a user are cached by the server.
+    // With 0, the groups are resolved by the group mapping on every request.
+    public static final String SENTRY_STORE_GROUP_MAPPING_CACHE_TTL_MS =
+        "sentry.store.group.mapping.cache.ttl.ms";
+    public static final long SENTRY_STORE_GROUP_MAPPING_CACHE_TTL_MS_DEFAULT = 0L;
+    // Time (in milliseconds) users without groups are cached
+    public static final String SENTRY_STORE_GROUP_MAPPING_CACHE_NEGATIVE_TTL_MS =
+        "sentry.store.group.mapping.cache.negative.ttl.ms";
+    public static final long SENTRY_STORE_GROUP_MAPPING_CACHE_NEGATIVE_TTL_MS_DEFAULT = 10000L;
+    // Time (in milliseconds) after which the cached groups of a user are refreshed
+    // in the background on the next lookup. With 0, entries are only expired.
+    public static final String SENTRY_STORE_GROUP_MAPPING_CACHE_REFRESH_MS =
+        "sentry.store.group.mapping.cache.refresh.ms";
+    public static final long SENTRY_STORE_GROUP_MAPPING_CACHE_REFRESH_MS_DEFAULT = 0L;
+    // Maximum number of users in the group cache
+    public static final String SENTRY_STORE_GROUP_MAPPING_CACHE_MAX_SIZE =
+        "sentry.store.group.mapping.cache.max.size";
+    public static final int SENTRY_STORE_GROUP_MAPPING_CACHE_MAX_SIZE_DEFAULT = 10000;
 
     public static final String SENTRY_STORE_ORPHANED_PRIVILEGE_REMOVAL = "sentry.store.orphaned.privilege.removal";
     public static final String SENTRY_STORE_ORPHANED_PRIVILEGE_REMOVAL_DEFAULT = "false";
@@ -270,6 +312,57 @@ public class ServiceConstants {
      */
     public static final String SENTRY_STATEMENT_BATCH_LIMIT = "sentry.statement.batch.limit";
     public static final int SENTRY_STATEMENT_BATCH_LIMIT_DEFAULT = 100;
+
+    /**
+     * Number of rows of a full HMS paths snapshot queued before they are flushed to the
+     * database. The queued rows are sent in JDBC batches of up to sentry.statement.batch.limit
+     * statements instead of one statement per row.
+     */
+    public static final String SENTRY_STORE_FULL_SNAPSHOT_FLUSH_SIZE = "sentry.store.full-snapshot.flush.size";
+    public static final int SENTRY_STORE_FULL_SNAPSHOT_FLUSH_SIZE_DEFAULT = 10000;
+
+    /**
+     * Number of threads persisting the chunks of a full HMS paths snapshot persisted in
+     * chunks, each chunk in its own transaction. 1 persists the chunks one after the other.
+     */
+    public static final String SENTRY_STORE_FULL_SNAPSHOT_WRITER_THREADS = "sentry.store.full-snapshot.writer.threads";
+    public static final int SENTRY_STORE_FULL_SNAPSHOT_WRITER_THREADS_DEFAULT = 1;
+
+    /**
+     * When enabled, provider read requests (privileges, roles by group and server privilege
+     * checks) are answered from an in-memory snapshot of the policy instead of the database.
+     * Policy changes made through this server are applied to the snapshot as they are
+     * committed, by reading the changed roles and users again.
+     */
+    public static final String SENTRY_STORE_POLICY_SNAPSHOT_ENABLED = "sentry.store.policy.snapshot.enabled";
+    public static final boolean SENTRY_STORE_POLICY_SNAPSHOT_ENABLED_DEFAULT = false;
+
+    /**
+     * Interval at which the policy snapshot is validated against the last persisted
+     * permission change ID, to detect changes made by other Sentry servers.
+     * Only used when permission deltas are persisted (HDFS sync is enabled).
+     */
+    public static final String SENTRY_STORE_POLICY_SNAPSHOT_VALIDATION_INTERVAL_MS =
+        "sentry.store.policy.snapshot.validation.interval.ms";
+    public static final long SENTRY_STORE_POLICY_SNAPSHOT_VALIDATION_INTERVAL_MS_DEFAULT = 1000L;
+
+    /**
+     * Maximum age of the policy snapshot, after which it is loaded again to pick up the
+     * changes made by other Sentry servers which can't be detected otherwise, e.g. all of
+     * them when permission deltas are not persisted.
+     */
+    public static final String SENTRY_STORE_POLICY_SNAPSHOT_MAX_AGE_MS =
+        "sentry.store.policy.snapshot.max.age.ms";
+    public static final long SENTRY_STORE_POLICY_SNAPSHOT_MAX_AGE_MS_DEFAULT = 60000L;
+
+    /**
+     * Format of the path and permission deltas persisted for HDFS sync: "json", which all
+     * Sentry servers read, or "compact", a smaller binary format only read by the servers
+     * supporting it. Both formats are always read. Only switch to "compact" once no server
+     * of an older version shares the database.
+     */
+    public static final String SENTRY_STORE_DELTA_FORMAT = "sentry.store.delta.format";
+    public static final String SENTRY_STORE_DELTA_FORMAT_DEFAULT = "json";
   }
 
   public static class ClientConfig {
@@ -41,6 +41,10 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
   private static final org.apache.thrift.protocol.TField PERM_SEQ_NUM_FIELD_DESC = new org.apache.thrift.protocol.TField("permSeqNum", org.apache.thrift.protocol.TType.I64, (short)1);
   private static final org.apache.thrift.protocol.TField PATH_SEQ_NUM_FIELD_DESC = new org.apache.thrift.protocol.TField("pathSeqNum", org.apache.thrift.protocol.TType.I64, (short)2);
   private static final org.apache.thrift.protocol.TField PATH_IMG_NUM_FIELD_DESC = new org.apache.thrift.protocol.TField("pathImgNum", org.apache.thrift.protocol.TType.I64, (short)3);
+  private static final org.apache.thrift.protocol.TField MAX_IMAGE_CHUNK_SIZE_FIELD_DESC = new org.apache.thrift.protocol.TField("maxImageChunkSize", org.apache.thrift.protocol.TType.I32, (short)4);
+  private static final org.apache.thrift.protocol.TField PATHS_IMAGE_TOKEN_FIELD_DESC = new org.apache.thrift.protocol.TField("pathsImageToken", org.apache.thrift.protocol.TType.STRING, (short)5);
+  private static final org.apache.thrift.protocol.TField PERMS_IMAGE_TOKEN_FIELD_DESC = new org.apache.thrift.protocol.TField("permsImageToken", org.apache.thrift.protocol.TType.STRING, (short)6);
+  private static final org.apache.thrift.protocol.TField MAX_WAIT_MS_FIELD_DESC = new org.apache.thrift.protocol.TField("maxWaitMs", org.apache.thrift.protocol.TType.I32, (short)7);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -51,12 +55,20 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
   private long permSeqNum; // required
   private long pathSeqNum; // required
   private long pathImgNum; // required
+  private int maxImageChunkSize; // optional
+  private String pathsImageToken; // optional
+  private String permsImageToken; // optional
+  private int maxWaitMs; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
     PERM_SEQ_NUM((short)1, "permSeqNum"),
     PATH_SEQ_NUM((short)2, "pathSeqNum"),
-    PATH_IMG_NUM((short)3, "pathImgNum");
+    PATH_IMG_NUM((short)3, "pathImgNum"),
+    MAX_IMAGE_CHUNK_SIZE((short)4, "maxImageChunkSize"),
+    PATHS_IMAGE_TOKEN((short)5, "pathsImageToken"),
+    PERMS_IMAGE_TOKEN((short)6, "permsImageToken"),
+    MAX_WAIT_MS((short)7, "maxWaitMs");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -77,6 +89,14 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
           return PATH_SEQ_NUM;
         case 3: // PATH_IMG_NUM
           return PATH_IMG_NUM;
+        case 4: // MAX_IMAGE_CHUNK_SIZE
+          return MAX_IMAGE_CHUNK_SIZE;
+        case 5: // PATHS_IMAGE_TOKEN
+          return PATHS_IMAGE_TOKEN;
+        case 6: // PERMS_IMAGE_TOKEN
+          return PERMS_IMAGE_TOKEN;
+        case 7: // MAX_WAIT_MS
+          return MAX_WAIT_MS;
         default:
           return null;
       }
@@ -120,7 +140,10 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
   private static final int __PERMSEQNUM_ISSET_ID = 0;
   private static final int __PATHSEQNUM_ISSET_ID = 1;
   private static final int __PATHIMGNUM_ISSET_ID = 2;
+  private static final int __MAXIMAGECHUNKSIZE_ISSET_ID = 3;
+  private static final int __MAXWAITMS_ISSET_ID = 4;
   private byte __isset_bitfield = 0;
+  private static final _Fields optionals[] = {_Fields.MAX_IMAGE_CHUNK_SIZE,_Fields.PATHS_IMAGE_TOKEN,_Fields.PERMS_IMAGE_TOKEN,_Fields.MAX_WAIT_MS};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -130,6 +153,14 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
     tmpMap.put(_Fields.PATH_IMG_NUM, new org.apache.thrift.meta_data.FieldMetaData("pathImgNum", org.apache.thrift.TFieldRequirementType.REQUIRED, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.MAX_IMAGE_CHUNK_SIZE, new org.apache.thrift.meta_data.FieldMetaData("maxImageChunkSize", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+    tmpMap.put(_Fields.PATHS_IMAGE_TOKEN, new org.apache.thrift.meta_data.FieldMetaData("pathsImageToken", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+    tmpMap.put(_Fields.PERMS_IMAGE_TOKEN, new org.apache.thrift.meta_data.FieldMetaData("permsImageToken", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+    tmpMap.put(_Fields.MAX_WAIT_MS, new org.apache.thrift.meta_data.FieldMetaData("maxWaitMs", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TAuthzUpdateRequest.class, metaDataMap);
   }
@@ -159,6 +190,14 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     this.permSeqNum = other.permSeqNum;
     this.pathSeqNum = other.pathSeqNum;
     this.pathImgNum = other.pathImgNum;
+    this.maxImageChunkSize = other.maxImageChunkSize;
+    if (other.isSetPathsImageToken()) {
+      this.pathsImageToken = other.pathsImageToken;
+    }
+    if (other.isSetPermsImageToken()) {
+      this.permsImageToken = other.permsImageToken;
+    }
+    this.maxWaitMs = other.maxWaitMs;
   }
 
   public TAuthzUpdateRequest deepCopy() {
@@ -173,6 +212,12 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     this.pathSeqNum = 0;
     setPathImgNumIsSet(false);
     this.pathImgNum = 0;
+    setMaxImageChunkSizeIsSet(false);
+    this.maxImageChunkSize = 0;
+    this.pathsImageToken = null;
+    this.permsImageToken = null;
+    setMaxWaitMsIsSet(false);
+    this.maxWaitMs = 0;
   }
 
   public long getPermSeqNum() {
@@ -241,6 +286,96 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __PATHIMGNUM_ISSET_ID, value);
   }
 
+  public int getMaxImageChunkSize() {
+    return this.maxImageChunkSize;
+  }
+
+  public void setMaxImageChunkSize(int maxImageChunkSize) {
+    this.maxImageChunkSize = maxImageChunkSize;
+    setMaxImageChunkSizeIsSet(true);
+  }
+
+  public void unsetMaxImageChunkSize() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __MAXIMAGECHUNKSIZE_ISSET_ID);
+  }
+
+  /** Returns true if field maxImageChunkSize is set (has been assigned a value) and false otherwise */
+  public boolean isSetMaxImageChunkSize() {
+    return EncodingUtils.testBit(__isset_bitfield, __MAXIMAGECHUNKSIZE_ISSET_ID);
+  }
+
+  public void setMaxImageChunkSizeIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __MAXIMAGECHUNKSIZE_ISSET_ID, value);
+  }
+
+  public String getPathsImageToken() {
+    return this.pathsImageToken;
+  }
+
+  public void setPathsImageToken(String pathsImageToken) {
+    this.pathsImageToken = pathsImageToken;
+  }
+
+  public void unsetPathsImageToken() {
+    this.pathsImageToken = null;
+  }
+
+  /** Returns true if field pathsImageToken is set (has been assigned a value) and false otherwise */
+  public boolean isSetPathsImageToken() {
+    return this.pathsImageToken != null;
+  }
+
+  public void setPathsImageTokenIsSet(boolean value) {
+    if (!value) {
+      this.pathsImageToken = null;
+    }
+  }
+
+  public String getPermsImageToken() {
+    return this.permsImageToken;
+  }
+
+  public void setPermsImageToken(String permsImageToken) {
+    this.permsImageToken = permsImageToken;
+  }
+
+  public void unsetPermsImageToken() {
+    this.permsImageToken = null;
+  }
+
+  /** Returns true if field permsImageToken is set (has been assigned a value) and false otherwise */
+  public boolean isSetPermsImageToken() {
+    return this.permsImageToken != null;
+  }
+
+  public void setPermsImageTokenIsSet(boolean value) {
+    if (!value) {
+      this.permsImageToken = null;
+    }
+  }
+
+  public int getMaxWaitMs() {
+    return this.maxWaitMs;
+  }
+
+  public void setMaxWaitMs(int maxWaitMs) {
+    this.maxWaitMs = maxWaitMs;
+    setMaxWaitMsIsSet(true);
+  }
+
+  public void unsetMaxWaitMs() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __MAXWAITMS_ISSET_ID);
+  }
+
+  /** Returns true if field maxWaitMs is set (has been assigned a value) and false otherwise */
+  public boolean isSetMaxWaitMs() {
+    return EncodingUtils.testBit(__isset_bitfield, __MAXWAITMS_ISSET_ID);
+  }
+
+  public void setMaxWaitMsIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __MAXWAITMS_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case PERM_SEQ_NUM:
@@ -267,6 +402,38 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
       }
       break;
 
+    case MAX_IMAGE_CHUNK_SIZE:
+      if (value == null) {
+        unsetMaxImageChunkSize();
+      } else {
+        setMaxImageChunkSize((Integer)value);
+      }
+      break;
+
+    case PATHS_IMAGE_TOKEN:
+      if (value == null) {
+        unsetPathsImageToken();
+      } else {
+        setPathsImageToken((String)value);
+      }
+      break;
+
+    case PERMS_IMAGE_TOKEN:
+      if (value == null) {
+        unsetPermsImageToken();
+      } else {
+        setPermsImageToken((String)value);
+      }
+      break;
+
+    case MAX_WAIT_MS:
+      if (value == null) {
+        unsetMaxWaitMs();
+      } else {
+        setMaxWaitMs((Integer)value);
+      }
+      break;
+
     }
   }
 
@@ -281,6 +448,18 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     case PATH_IMG_NUM:
       return getPathImgNum();
 
+    case MAX_IMAGE_CHUNK_SIZE:
+      return getMaxImageChunkSize();
+
+    case PATHS_IMAGE_TOKEN:
+      return getPathsImageToken();
+
+    case PERMS_IMAGE_TOKEN:
+      return getPermsImageToken();
+
+    case MAX_WAIT_MS:
+      return getMaxWaitMs();
+
     }
     throw new IllegalStateException();
   }
@@ -298,6 +477,14 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
       return isSetPathSeqNum();
     case PATH_IMG_NUM:
       return isSetPathImgNum();
+    case MAX_IMAGE_CHUNK_SIZE:
+      return isSetMaxImageChunkSize();
+    case PATHS_IMAGE_TOKEN:
+      return isSetPathsImageToken();
+    case PERMS_IMAGE_TOKEN:
+      return isSetPermsImageToken();
+    case MAX_WAIT_MS:
+      return isSetMaxWaitMs();
     }
     throw new IllegalStateException();
   }
@@ -342,6 +529,42 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
         return false;
     }
 
+    boolean this_present_maxImageChunkSize = true && this.isSetMaxImageChunkSize();
+    boolean that_present_maxImageChunkSize = true && that.isSetMaxImageChunkSize();
+    if (this_present_maxImageChunkSize || that_present_maxImageChunkSize) {
+      if (!(this_present_maxImageChunkSize && that_present_maxImageChunkSize))
+        return false;
+      if (this.maxImageChunkSize != that.maxImageChunkSize)
+        return false;
+    }
+
+    boolean this_present_pathsImageToken = true && this.isSetPathsImageToken();
+    boolean that_present_pathsImageToken = true && that.isSetPathsImageToken();
+    if (this_present_pathsImageToken || that_present_pathsImageToken) {
+      if (!(this_present_pathsImageToken && that_present_pathsImageToken))
+        return false;
+      if (!this.pathsImageToken.equals(that.pathsImageToken))
+        return false;
+    }
+
+    boolean this_present_permsImageToken = true && this.isSetPermsImageToken();
+    boolean that_present_permsImageToken = true && that.isSetPermsImageToken();
+    if (this_present_permsImageToken || that_present_permsImageToken) {
+      if (!(this_present_permsImageToken && that_present_permsImageToken))
+        return false;
+      if (!this.permsImageToken.equals(that.permsImageToken))
+        return false;
+    }
+
+    boolean this_present_maxWaitMs = true && this.isSetMaxWaitMs();
+    boolean that_present_maxWaitMs = true && that.isSetMaxWaitMs();
+    if (this_present_maxWaitMs || that_present_maxWaitMs) {
+      if (!(this_present_maxWaitMs && that_present_maxWaitMs))
+        return false;
+      if (this.maxWaitMs != that.maxWaitMs)
+        return false;
+    }
+
     return true;
   }
 
@@ -364,6 +587,26 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     if (present_pathImgNum)
       list.add(pathImgNum);
 
+    boolean present_maxImageChunkSize = true && (isSetMaxImageChunkSize());
+    list.add(present_maxImageChunkSize);
+    if (present_maxImageChunkSize)
+      list.add(maxImageChunkSize);
+
+    boolean present_pathsImageToken = true && (isSetPathsImageToken());
+    list.add(present_pathsImageToken);
+    if (present_pathsImageToken)
+      list.add(pathsImageToken);
+
+    boolean present_permsImageToken = true && (isSetPermsImageToken());
+    list.add(present_permsImageToken);
+    if (present_permsImageToken)
+      list.add(permsImageToken);
+
+    boolean present_maxWaitMs = true && (isSetMaxWaitMs());
+    list.add(present_maxWaitMs);
+    if (present_maxWaitMs)
+      list.add(maxWaitMs);
+
     return list.hashCode();
   }
 
@@ -405,6 +648,46 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetMaxImageChunkSize()).compareTo(other.isSetMaxImageChunkSize());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetMaxImageChunkSize()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.maxImageChunkSize, other.maxImageChunkSize);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetPathsImageToken()).compareTo(other.isSetPathsImageToken());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetPathsImageToken()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.pathsImageToken, other.pathsImageToken);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetPermsImageToken()).compareTo(other.isSetPermsImageToken());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetPermsImageToken()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.permsImageToken, other.permsImageToken);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetMaxWaitMs()).compareTo(other.isSetMaxWaitMs());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetMaxWaitMs()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.maxWaitMs, other.maxWaitMs);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -436,6 +719,38 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     sb.append("pathImgNum:");
     sb.append(this.pathImgNum);
     first = false;
+    if (isSetMaxImageChunkSize()) {
+      if (!first) sb.append(", ");
+      sb.append("maxImageChunkSize:");
+      sb.append(this.maxImageChunkSize);
+      first = false;
+    }
+    if (isSetPathsImageToken()) {
+      if (!first) sb.append(", ");
+      sb.append("pathsImageToken:");
+      if (this.pathsImageToken == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.pathsImageToken);
+      }
+      first = false;
+    }
+    if (isSetPermsImageToken()) {
+      if (!first) sb.append(", ");
+      sb.append("permsImageToken:");
+      if (this.permsImageToken == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.permsImageToken);
+      }
+      first = false;
+    }
+    if (isSetMaxWaitMs()) {
+      if (!first) sb.append(", ");
+      sb.append("maxWaitMs:");
+      sb.append(this.maxWaitMs);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -517,6 +832,38 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 4: // MAX_IMAGE_CHUNK_SIZE
+            if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+              struct.maxImageChunkSize = iprot.readI32();
+              struct.setMaxImageChunkSizeIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 5: // PATHS_IMAGE_TOKEN
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+              struct.pathsImageToken = iprot.readString();
+              struct.setPathsImageTokenIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 6: // PERMS_IMAGE_TOKEN
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+              struct.permsImageToken = iprot.readString();
+              struct.setPermsImageTokenIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 7: // MAX_WAIT_MS
+            if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+              struct.maxWaitMs = iprot.readI32();
+              struct.setMaxWaitMsIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -539,6 +886,30 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
       oprot.writeFieldBegin(PATH_IMG_NUM_FIELD_DESC);
       oprot.writeI64(struct.pathImgNum);
       oprot.writeFieldEnd();
+      if (struct.isSetMaxImageChunkSize()) {
+        oprot.writeFieldBegin(MAX_IMAGE_CHUNK_SIZE_FIELD_DESC);
+        oprot.writeI32(struct.maxImageChunkSize);
+        oprot.writeFieldEnd();
+      }
+      if (struct.pathsImageToken != null) {
+        if (struct.isSetPathsImageToken()) {
+          oprot.writeFieldBegin(PATHS_IMAGE_TOKEN_FIELD_DESC);
+          oprot.writeString(struct.pathsImageToken);
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.permsImageToken != null) {
+        if (struct.isSetPermsImageToken()) {
+          oprot.writeFieldBegin(PERMS_IMAGE_TOKEN_FIELD_DESC);
+          oprot.writeString(struct.permsImageToken);
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.isSetMaxWaitMs()) {
+        oprot.writeFieldBegin(MAX_WAIT_MS_FIELD_DESC);
+        oprot.writeI32(struct.maxWaitMs);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -559,6 +930,32 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
       oprot.writeI64(struct.permSeqNum);
       oprot.writeI64(struct.pathSeqNum);
       oprot.writeI64(struct.pathImgNum);
+      BitSet optionals = new BitSet();
+      if (struct.isSetMaxImageChunkSize()) {
+        optionals.set(0);
+      }
+      if (struct.isSetPathsImageToken()) {
+        optionals.set(1);
+      }
+      if (struct.isSetPermsImageToken()) {
+        optionals.set(2);
+      }
+      if (struct.isSetMaxWaitMs()) {
+        optionals.set(3);
+      }
+      oprot.writeBitSet(optionals, 4);
+      if (struct.isSetMaxImageChunkSize()) {
+        oprot.writeI32(struct.maxImageChunkSize);
+      }
+      if (struct.isSetPathsImageToken()) {
+        oprot.writeString(struct.pathsImageToken);
+      }
+      if (struct.isSetPermsImageToken()) {
+        oprot.writeString(struct.permsImageToken);
+      }
+      if (struct.isSetMaxWaitMs()) {
+        oprot.writeI32(struct.maxWaitMs);
+      }
     }
 
     @Override
@@ -570,6 +967,23 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
       struct.setPathSeqNumIsSet(true);
       struct.pathImgNum = iprot.readI64();
       struct.setPathImgNumIsSet(true);
+      BitSet incoming = iprot.readBitSet(4);
+      if (incoming.get(0)) {
+        struct.maxImageChunkSize = iprot.readI32();
+        struct.setMaxImageChunkSizeIsSet(true);
+      }
+      if (incoming.get(1)) {
+        struct.pathsImageToken = iprot.readString();
+        struct.setPathsImageTokenIsSet(true);
+      }
+      if (incoming.get(2)) {
+        struct.permsImageToken = iprot.readString();
+        struct.setPermsImageTokenIsSet(true);
+      }
+      if (incoming.get(3)) {
+        struct.maxWaitMs = iprot.readI32();
+        struct.setMaxWaitMsIsSet(true);
+      }
     }
   }
 
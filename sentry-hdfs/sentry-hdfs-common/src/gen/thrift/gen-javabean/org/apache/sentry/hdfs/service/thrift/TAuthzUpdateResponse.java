@@ -40,6 +40,8 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
 
   private static final org.apache.thrift.protocol.TField AUTHZ_PATH_UPDATE_FIELD_DESC = new org.apache.thrift.protocol.TField("authzPathUpdate", org.apache.thrift.protocol.TType.LIST, (short)1);
   private static final org.apache.thrift.protocol.TField AUTHZ_PERM_UPDATE_FIELD_DESC = new org.apache.thrift.protocol.TField("authzPermUpdate", org.apache.thrift.protocol.TType.LIST, (short)2);
+  private static final org.apache.thrift.protocol.TField PATHS_IMAGE_TOKEN_FIELD_DESC = new org.apache.thrift.protocol.TField("pathsImageToken", org.apache.thrift.protocol.TType.STRING, (short)3);
+  private static final org.apache.thrift.protocol.TField PERMS_IMAGE_TOKEN_FIELD_DESC = new org.apache.thrift.protocol.TField("permsImageToken", org.apache.thrift.protocol.TType.STRING, (short)4);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -49,11 +51,15 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
 
   private List<TPathsUpdate> authzPathUpdate; // optional
   private List<TPermissionsUpdate> authzPermUpdate; // optional
+  private String pathsImageToken; // optional
+  private String permsImageToken; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
     AUTHZ_PATH_UPDATE((short)1, "authzPathUpdate"),
-    AUTHZ_PERM_UPDATE((short)2, "authzPermUpdate");
+    AUTHZ_PERM_UPDATE((short)2, "authzPermUpdate"),
+    PATHS_IMAGE_TOKEN((short)3, "pathsImageToken"),
+    PERMS_IMAGE_TOKEN((short)4, "permsImageToken");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -72,6 +78,10 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
           return AUTHZ_PATH_UPDATE;
         case 2: // AUTHZ_PERM_UPDATE
           return AUTHZ_PERM_UPDATE;
+        case 3: // PATHS_IMAGE_TOKEN
+          return PATHS_IMAGE_TOKEN;
+        case 4: // PERMS_IMAGE_TOKEN
+          return PERMS_IMAGE_TOKEN;
         default:
           return null;
       }
@@ -112,7 +122,7 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
   }
 
   // isset id assignments
-  private static final _Fields optionals[] = {_Fields.AUTHZ_PATH_UPDATE,_Fields.AUTHZ_PERM_UPDATE};
+  private static final _Fields optionals[] = {_Fields.AUTHZ_PATH_UPDATE,_Fields.AUTHZ_PERM_UPDATE,_Fields.PATHS_IMAGE_TOKEN,_Fields.PERMS_IMAGE_TOKEN};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -122,6 +132,10 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
     tmpMap.put(_Fields.AUTHZ_PERM_UPDATE, new org.apache.thrift.meta_data.FieldMetaData("authzPermUpdate", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
             new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TPermissionsUpdate.class))));
+    tmpMap.put(_Fields.PATHS_IMAGE_TOKEN, new org.apache.thrift.meta_data.FieldMetaData("pathsImageToken", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+    tmpMap.put(_Fields.PERMS_IMAGE_TOKEN, new org.apache.thrift.meta_data.FieldMetaData("permsImageToken", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TAuthzUpdateResponse.class, metaDataMap);
   }
@@ -147,6 +161,12 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
       }
       this.authzPermUpdate = __this__authzPermUpdate;
     }
+    if (other.isSetPathsImageToken()) {
+      this.pathsImageToken = other.pathsImageToken;
+    }
+    if (other.isSetPermsImageToken()) {
+      this.permsImageToken = other.permsImageToken;
+    }
   }
 
   public TAuthzUpdateResponse deepCopy() {
@@ -157,6 +177,8 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
   public void clear() {
     this.authzPathUpdate = null;
     this.authzPermUpdate = null;
+    this.pathsImageToken = null;
+    this.permsImageToken = null;
   }
 
   public int getAuthzPathUpdateSize() {
@@ -235,6 +257,52 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
     }
   }
 
+  public String getPathsImageToken() {
+    return this.pathsImageToken;
+  }
+
+  public void setPathsImageToken(String pathsImageToken) {
+    this.pathsImageToken = pathsImageToken;
+  }
+
+  public void unsetPathsImageToken() {
+    this.pathsImageToken = null;
+  }
+
+  /** Returns true if field pathsImageToken is set (has been assigned a value) and false otherwise */
+  public boolean isSetPathsImageToken() {
+    return this.pathsImageToken != null;
+  }
+
+  public void setPathsImageTokenIsSet(boolean value) {
+    if (!value) {
+      this.pathsImageToken = null;
+    }
+  }
+
+  public String getPermsImageToken() {
+    return this.permsImageToken;
+  }
+
+  public void setPermsImageToken(String permsImageToken) {
+    this.permsImageToken = permsImageToken;
+  }
+
+  public void unsetPermsImageToken() {
+    this.permsImageToken = null;
+  }
+
+  /** Returns true if field permsImageToken is set (has been assigned a value) and false otherwise */
+  public boolean isSetPermsImageToken() {
+    return this.permsImageToken != null;
+  }
+
+  public void setPermsImageTokenIsSet(boolean value) {
+    if (!value) {
+      this.permsImageToken = null;
+    }
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case AUTHZ_PATH_UPDATE:
@@ -253,6 +321,22 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
       }
       break;
 
+    case PATHS_IMAGE_TOKEN:
+      if (value == null) {
+        unsetPathsImageToken();
+      } else {
+        setPathsImageToken((String)value);
+      }
+      break;
+
+    case PERMS_IMAGE_TOKEN:
+      if (value == null) {
+        unsetPermsImageToken();
+      } else {
+        setPermsImageToken((String)value);
+      }
+      break;
+
     }
   }
 
@@ -264,6 +348,12 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
     case AUTHZ_PERM_UPDATE:
       return getAuthzPermUpdate();
 
+    case PATHS_IMAGE_TOKEN:
+      return getPathsImageToken();
+
+    case PERMS_IMAGE_TOKEN:
+      return getPermsImageToken();
+
     }
     throw new IllegalStateException();
   }
@@ -279,6 +369,10 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
       return isSetAuthzPathUpdate();
     case AUTHZ_PERM_UPDATE:
       return isSetAuthzPermUpdate();
+    case PATHS_IMAGE_TOKEN:
+      return isSetPathsImageToken();
+    case PERMS_IMAGE_TOKEN:
+      return isSetPermsImageToken();
     }
     throw new IllegalStateException();
   }
@@ -314,6 +408,24 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
         return false;
     }
 
+    boolean this_present_pathsImageToken = true && this.isSetPathsImageToken();
+    boolean that_present_pathsImageToken = true && that.isSetPathsImageToken();
+    if (this_present_pathsImageToken || that_present_pathsImageToken) {
+      if (!(this_present_pathsImageToken && that_present_pathsImageToken))
+        return false;
+      if (!this.pathsImageToken.equals(that.pathsImageToken))
+        return false;
+    }
+
+    boolean this_present_permsImageToken = true && this.isSetPermsImageToken();
+    boolean that_present_permsImageToken = true && that.isSetPermsImageToken();
+    if (this_present_permsImageToken || that_present_permsImageToken) {
+      if (!(this_present_permsImageToken && that_present_permsImageToken))
+        return false;
+      if (!this.permsImageToken.equals(that.permsImageToken))
+        return false;
+    }
+
     return true;
   }
 
@@ -331,6 +443,16 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
     if (present_authzPermUpdate)
       list.add(authzPermUpdate);
 
+    boolean present_pathsImageToken = true && (isSetPathsImageToken());
+    list.add(present_pathsImageToken);
+    if (present_pathsImageToken)
+      list.add(pathsImageToken);
+
+    boolean present_permsImageToken = true && (isSetPermsImageToken());
+    list.add(present_permsImageToken);
+    if (present_permsImageToken)
+      list.add(permsImageToken);
+
     return list.hashCode();
   }
 
@@ -362,6 +484,26 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetPathsImageToken()).compareTo(other.isSetPathsImageToken());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetPathsImageToken()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.pathsImageToken, other.pathsImageToken);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetPermsImageToken()).compareTo(other.isSetPermsImageToken());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetPermsImageToken()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.permsImageToken, other.permsImageToken);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -401,6 +543,26 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
       }
       first = false;
     }
+    if (isSetPathsImageToken()) {
+      if (!first) sb.append(", ");
+      sb.append("pathsImageToken:");
+      if (this.pathsImageToken == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.pathsImageToken);
+      }
+      first = false;
+    }
+    if (isSetPermsImageToken()) {
+      if (!first) sb.append(", ");
+      sb.append("permsImageToken:");
+      if (this.permsImageToken == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.permsImageToken);
+      }
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -482,6 +644,22 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 3: // PATHS_IMAGE_TOKEN
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+              struct.pathsImageToken = iprot.readString();
+              struct.setPathsImageTokenIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 4: // PERMS_IMAGE_TOKEN
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+              struct.permsImageToken = iprot.readString();
+              struct.setPermsImageTokenIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -523,6 +701,20 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
           oprot.writeFieldEnd();
         }
       }
+      if (struct.pathsImageToken != null) {
+        if (struct.isSetPathsImageToken()) {
+          oprot.writeFieldBegin(PATHS_IMAGE_TOKEN_FIELD_DESC);
+          oprot.writeString(struct.pathsImageToken);
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.permsImageToken != null) {
+        if (struct.isSetPermsImageToken()) {
+          oprot.writeFieldBegin(PERMS_IMAGE_TOKEN_FIELD_DESC);
+          oprot.writeString(struct.permsImageToken);
+          oprot.writeFieldEnd();
+        }
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -547,7 +739,13 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
       if (struct.isSetAuthzPermUpdate()) {
         optionals.set(1);
       }
-      oprot.writeBitSet(optionals, 2);
+      if (struct.isSetPathsImageToken()) {
+        optionals.set(2);
+      }
+      if (struct.isSetPermsImageToken()) {
+        optionals.set(3);
+      }
+      oprot.writeBitSet(optionals, 4);
       if (struct.isSetAuthzPathUpdate()) {
         {
           oprot.writeI32(struct.authzPathUpdate.size());
@@ -566,12 +764,18 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
           }
         }
       }
+      if (struct.isSetPathsImageToken()) {
+        oprot.writeString(struct.pathsImageToken);
+      }
+      if (struct.isSetPermsImageToken()) {
+        oprot.writeString(struct.permsImageToken);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, TAuthzUpdateResponse struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
-      BitSet incoming = iprot.readBitSet(2);
+      BitSet incoming = iprot.readBitSet(4);
       if (incoming.get(0)) {
         {
           org.apache.thrift.protocol.TList _list140 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
@@ -600,6 +804,14 @@ public class TAuthzUpdateResponse implements org.apache.thrift.TBase<TAuthzUpdat
         }
         struct.setAuthzPermUpdateIsSet(true);
       }
+      if (incoming.get(2)) {
+        struct.pathsImageToken = iprot.readString();
+        struct.setPathsImageTokenIsSet(true);
+      }
+      if (incoming.get(3)) {
+        struct.permsImageToken = iprot.readString();
+        struct.setPermsImageTokenIsSet(true);
+      }
     }
   }
 
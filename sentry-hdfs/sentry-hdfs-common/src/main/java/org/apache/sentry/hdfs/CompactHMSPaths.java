@@ -0,0 +1,1313 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.sentry.hdfs.HMSPaths.EntryType;
+import org.apache.sentry.hdfs.service.thrift.TPathEntry;
+import org.apache.sentry.hdfs.service.thrift.TPathsDump;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A memory efficient, non thread-safe implementation of {@link AuthzPaths},
+ * with the same lookup and update semantics as {@link HMSPaths}.<p>
+ *
+ * The path tree is kept in primitive arrays indexed by node number, instead of one
+ * object per path element:
+ * <ul>
+ *   <li>path elements and authz objects are stored once, in reference counted
+ *   string tables, and nodes refer to them by int identifier;</li>
+ *   <li>the children of all the nodes are found through a single open addressing
+ *   table keyed by parent node and path element identifier;</li>
+ *   <li>the authz objects of each node are a single identifier, except for the
+ *   few nodes with several of them.</li>
+ * </ul>
+ * Nodes and identifiers that are no longer used are reused.
+ */
+public class CompactHMSPaths implements HMSPathsTree {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CompactHMSPaths.class);
+
+  private static final byte DIR = EntryType.DIR.getByte();
+  private static final byte PREFIX = EntryType.PREFIX.getByte();
+  private static final byte AUTHZ_OBJECT = EntryType.AUTHZ_OBJECT.getByte();
+  // Type of the nodes that are free for reuse
+  private static final byte FREE = 0;
+
+  private static final int NONE = -1;
+  // Authz object of nodes with several of them, see multiAuthzObjs
+  private static final int MULTIPLE = -2;
+  private static final int ROOT = 0;
+
+  // Prefix of the replacement strings of duplicate path elements in TPathsDump
+  private static final char REPLACEMENT_STRING_PREFIX = ':';
+  // Shortest path element replaced in TPathsDump when it is duplicated
+  private static final int MIN_REPLACED_LENGTH = 5;
+
+  private final String[] prefixes;
+
+  // Nodes, by node number
+  private int[] parents;
+  private int[] pathElements;
+  private byte[] types;
+  private int[] authzObjs;
+  private int[] firstChildren;
+  private int[] nextSiblings;
+  private int[] prevSiblings;
+  private int numNodes;
+  private int numLiveNodes;
+  // Free nodes, linked through nextSiblings
+  private int freeNodes = NONE;
+
+  // Sorted authz objects of the nodes with several of them
+  private final Map<Integer, int[]> multiAuthzObjs;
+
+  private final ChildTable children;
+  private final StringTable pathElementTable;
+  // Authz objects are case insensitive
+  private final StringTable authzObjTable;
+
+  // Sorted nodes of each authz object, null if the authz object isn't mapped.
+  // A mapped authz object holds a reference to its identifier.
+  private int[][] authzObjNodes;
+  private int[] authzObjNodeCounts;
+
+  public CompactHMSPaths(String[] pathPrefixes) {
+    boolean rootPrefix = false;
+    this.prefixes = Arrays.copyOf(pathPrefixes, pathPrefixes.length);
+    for (String pathPrefix : pathPrefixes) {
+      rootPrefix = rootPrefix || pathPrefix.equals(Path.SEPARATOR);
+    }
+    if (rootPrefix && pathPrefixes.length > 1) {
+      throw new IllegalArgumentException(
+          "Root is a path prefix, there cannot be other path prefixes");
+    }
+
+    int initialNodes = 64;
+    parents = new int[initialNodes];
+    pathElements = new int[initialNodes];
+    types = new byte[initialNodes];
+    authzObjs = new int[initialNodes];
+    firstChildren = new int[initialNodes];
+    nextSiblings = new int[initialNodes];
+    prevSiblings = new int[initialNodes];
+    multiAuthzObjs = new HashMap<>();
+    children = new ChildTable();
+    pathElementTable = new StringTable(false);
+    authzObjTable = new StringTable(true);
+    authzObjNodes = new int[16][];
+    authzObjNodeCounts = new int[16];
+
+    newNode(NONE, Path.SEPARATOR, rootPrefix ? PREFIX : DIR);
+    if (!rootPrefix) {
+      for (String pathPrefix : pathPrefixes) {
+        List<String> elements = HMSPaths.getPathElements(pathPrefix);
+        int prefix = findPrefixNode(elements);
+        if (prefix != NONE) {
+          throw new IllegalArgumentException(String.format(
+              "%s: cannot add prefix %s under an existing prefix", this, pathPrefix));
+        }
+        createChild(elements, PREFIX, null);
+      }
+    }
+  }
+
+  private CompactHMSPaths(CompactHMSPaths other) {
+    prefixes = other.prefixes;
+    parents = other.parents.clone();
+    pathElements = other.pathElements.clone();
+    types = other.types.clone();
+    authzObjs = other.authzObjs.clone();
+    firstChildren = other.firstChildren.clone();
+    nextSiblings = other.nextSiblings.clone();
+    prevSiblings = other.prevSiblings.clone();
+    numNodes = other.numNodes;
+    numLiveNodes = other.numLiveNodes;
+    freeNodes = other.freeNodes;
+    multiAuthzObjs = new HashMap<>(other.multiAuthzObjs.size());
+    for (Map.Entry<Integer, int[]> entry : other.multiAuthzObjs.entrySet()) {
+      multiAuthzObjs.put(entry.getKey(), entry.getValue().clone());
+    }
+    children = new ChildTable(other.children);
+    pathElementTable = new StringTable(other.pathElementTable);
+    authzObjTable = new StringTable(other.authzObjTable);
+    authzObjNodes = new int[other.authzObjNodes.length][];
+    for (int i = 0; i < authzObjNodes.length; i++) {
+      if (other.authzObjNodes[i] != null) {
+        authzObjNodes[i] = Arrays.copyOf(other.authzObjNodes[i], other.authzObjNodeCounts[i]);
+      }
+    }
+    authzObjNodeCounts = other.authzObjNodeCounts.clone();
+  }
+
+  /**
+   * Creates a copy of the paths, which can be updated while this object keeps
+   * serving lookups. Copying only copies arrays.
+   */
+  @Override
+  public CompactHMSPaths copy() {
+    return new CompactHMSPaths(this);
+  }
+
+  /**
+   * @return the number of path entries, including the root
+   */
+  int getNumEntries() {
+    return numLiveNodes;
+  }
+
+  //
+  // Nodes
+  //
+
+  private int newNode(int parent, String pathElement, byte type) {
+    int node;
+    if (freeNodes != NONE) {
+      node = freeNodes;
+      freeNodes = nextSiblings[node];
+    } else {
+      if (numNodes == parents.length) {
+        growNodes();
+      }
+      node = numNodes++;
+    }
+    pathElements[node] = pathElementTable.acquire(pathElement);
+    types[node] = type;
+    authzObjs[node] = NONE;
+    firstChildren[node] = NONE;
+    parents[node] = NONE;
+    nextSiblings[node] = NONE;
+    prevSiblings[node] = NONE;
+    if (parent != NONE) {
+      link(parent, node);
+    }
+    numLiveNodes++;
+    return node;
+  }
+
+  private void growNodes() {
+    int capacity = parents.length + (parents.length >> 1);
+    parents = Arrays.copyOf(parents, capacity);
+    pathElements = Arrays.copyOf(pathElements, capacity);
+    types = Arrays.copyOf(types, capacity);
+    authzObjs = Arrays.copyOf(authzObjs, capacity);
+    firstChildren = Arrays.copyOf(firstChildren, capacity);
+    nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+    prevSiblings = Arrays.copyOf(prevSiblings, capacity);
+  }
+
+  /**
+   * Free a node, which must have no children and no parent.
+   */
+  private void freeNode(int node) {
+    clearAuthzObjs(node);
+    pathElementTable.release(pathElements[node]);
+    types[node] = FREE;
+    nextSiblings[node] = freeNodes;
+    freeNodes = node;
+    numLiveNodes--;
+  }
+
+  private boolean isLive(int node) {
+    return node >= 0 && node < numNodes && types[node] != FREE;
+  }
+
+  private void link(int parent, int node) {
+    parents[node] = parent;
+    children.put(parent, pathElements[node], node);
+    int first = firstChildren[parent];
+    nextSiblings[node] = first;
+    prevSiblings[node] = NONE;
+    if (first != NONE) {
+      prevSiblings[first] = node;
+    }
+    firstChildren[parent] = node;
+  }
+
+  private void unlink(int node) {
+    int parent = parents[node];
+    children.remove(parent, pathElements[node]);
+    int prev = prevSiblings[node];
+    int next = nextSiblings[node];
+    if (prev != NONE) {
+      nextSiblings[prev] = next;
+    } else {
+      firstChildren[parent] = next;
+    }
+    if (next != NONE) {
+      prevSiblings[next] = prev;
+    }
+    parents[node] = NONE;
+    nextSiblings[node] = NONE;
+    prevSiblings[node] = NONE;
+  }
+
+  private int getChild(int parent, String pathElement) {
+    int id = pathElementTable.get(pathElement);
+    return id == NONE ? NONE : children.get(parent, id);
+  }
+
+  private boolean hasChildren(int node) {
+    return firstChildren[node] != NONE;
+  }
+
+  private String getFullPath(int node) {
+    if (parents[node] == NONE) {
+      return Path.SEPARATOR;
+    }
+    StringBuilder sb = new StringBuilder();
+    getFullPath(node, sb);
+    return sb.toString();
+  }
+
+  private void getFullPath(int node, StringBuilder sb) {
+    if (parents[node] != NONE) {
+      getFullPath(parents[node], sb);
+      sb.append(Path.SEPARATOR).append(pathElementTable.value(pathElements[node]));
+    }
+  }
+
+  //
+  // Authz objects of nodes
+  //
+
+  private boolean hasAuthzObj(int node, int authzObj) {
+    int value = authzObjs[node];
+    return value == authzObj ||
+        (value == MULTIPLE && Arrays.binarySearch(multiAuthzObjs.get(node), authzObj) >= 0);
+  }
+
+  private void addAuthzObj(int node, String authzObj) {
+    if (authzObj == null) {
+      return;
+    }
+    int id = authzObjTable.get(authzObj);
+    if (id != NONE && hasAuthzObj(node, id)) {
+      return;
+    }
+    id = authzObjTable.acquire(authzObj);
+    int value = authzObjs[node];
+    if (value == NONE) {
+      authzObjs[node] = id;
+    } else if (value == MULTIPLE) {
+      int[] ids = multiAuthzObjs.get(node);
+      int pos = -Arrays.binarySearch(ids, id) - 1;
+      int[] newIds = new int[ids.length + 1];
+      System.arraycopy(ids, 0, newIds, 0, pos);
+      newIds[pos] = id;
+      System.arraycopy(ids, pos, newIds, pos + 1, ids.length - pos);
+      multiAuthzObjs.put(node, newIds);
+    } else {
+      multiAuthzObjs.put(node, value < id ? new int[] {value, id} : new int[] {id, value});
+      authzObjs[node] = MULTIPLE;
+    }
+  }
+
+  private void removeAuthzObj(int node, int authzObj) {
+    int value = authzObjs[node];
+    if (value == authzObj) {
+      authzObjs[node] = NONE;
+    } else if (value == MULTIPLE) {
+      int[] ids = multiAuthzObjs.get(node);
+      int pos = Arrays.binarySearch(ids, authzObj);
+      if (pos < 0) {
+        return;
+      }
+      if (ids.length == 2) {
+        authzObjs[node] = ids[1 - pos];
+        multiAuthzObjs.remove(node);
+      } else {
+        int[] newIds = new int[ids.length - 1];
+        System.arraycopy(ids, 0, newIds, 0, pos);
+        System.arraycopy(ids, pos + 1, newIds, pos, ids.length - pos - 1);
+        multiAuthzObjs.put(node, newIds);
+      }
+    } else {
+      return;
+    }
+    authzObjTable.release(authzObj);
+  }
+
+  private void clearAuthzObjs(int node) {
+    int value = authzObjs[node];
+    if (value == MULTIPLE) {
+      for (int id : multiAuthzObjs.remove(node)) {
+        authzObjTable.release(id);
+      }
+    } else if (value != NONE) {
+      authzObjTable.release(value);
+    }
+    authzObjs[node] = NONE;
+  }
+
+  private List<String> getAuthzObjList(int node) {
+    int value = authzObjs[node];
+    if (value == NONE) {
+      return Collections.emptyList();
+    }
+    if (value != MULTIPLE) {
+      return Collections.singletonList(authzObjTable.value(value));
+    }
+    int[] ids = multiAuthzObjs.get(node);
+    List<String> result = new ArrayList<>(ids.length);
+    for (int id : ids) {
+      result.add(authzObjTable.value(id));
+    }
+    return result;
+  }
+
+  private Set<String> getAuthzObjSet(int node) {
+    Set<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    result.addAll(getAuthzObjList(node));
+    return result;
+  }
+
+  //
+  // Authz object to nodes mapping
+  //
+
+  private boolean isMapped(int authzObj) {
+    return authzObj != NONE && authzObj < authzObjNodes.length
+        && authzObjNodes[authzObj] != null;
+  }
+
+  /**
+   * Map the authz object to the given nodes, replacing its current nodes.
+   */
+  private void setAuthzObjNodes(String authzObj, int[] nodes, int count) {
+    int id = authzObjTable.get(authzObj);
+    if (!isMapped(id)) {
+      id = authzObjTable.acquire(authzObj);
+      if (id >= authzObjNodes.length) {
+        int capacity = Math.max(id + 1, authzObjNodes.length * 2);
+        authzObjNodes = Arrays.copyOf(authzObjNodes, capacity);
+        authzObjNodeCounts = Arrays.copyOf(authzObjNodeCounts, capacity);
+      }
+    }
+    Arrays.sort(nodes, 0, count);
+    authzObjNodes[id] = nodes;
+    authzObjNodeCounts[id] = count;
+  }
+
+  private void addAuthzObjNode(int authzObj, int node) {
+    int[] nodes = authzObjNodes[authzObj];
+    int count = authzObjNodeCounts[authzObj];
+    int pos = Arrays.binarySearch(nodes, 0, count, node);
+    if (pos >= 0) {
+      return;
+    }
+    pos = -pos - 1;
+    if (count == nodes.length) {
+      nodes = Arrays.copyOf(nodes, Math.max(2, count + (count >> 1) + 1));
+      authzObjNodes[authzObj] = nodes;
+    }
+    System.arraycopy(nodes, pos, nodes, pos + 1, count - pos);
+    nodes[pos] = node;
+    authzObjNodeCounts[authzObj] = count + 1;
+  }
+
+  private void removeAuthzObjNode(int authzObj, int node) {
+    int[] nodes = authzObjNodes[authzObj];
+    int count = authzObjNodeCounts[authzObj];
+    int pos = Arrays.binarySearch(nodes, 0, count, node);
+    if (pos >= 0) {
+      System.arraycopy(nodes, pos + 1, nodes, pos, count - pos - 1);
+      authzObjNodeCounts[authzObj] = count - 1;
+    }
+  }
+
+  private void unmap(int authzObj) {
+    authzObjNodes[authzObj] = null;
+    authzObjNodeCounts[authzObj] = 0;
+    authzObjTable.release(authzObj);
+  }
+
+  //
+  // Tree operations, see the methods of HMSPaths.Entry with the same names
+  //
+
+  private int findPrefixNode(List<String> elements) {
+    if (types[ROOT] == PREFIX) {
+      return ROOT;
+    }
+    int node = ROOT;
+    for (String element : elements) {
+      node = getChild(node, element);
+      if (node == NONE || types[node] == PREFIX) {
+        return node;
+      }
+    }
+    return NONE;
+  }
+
+  private int findPrefixNode(String[] elements) {
+    return findPrefixNode(Arrays.asList(elements));
+  }
+
+  private int find(String[] elements, boolean isPartialMatchOk) {
+    Preconditions.checkArgument(elements != null && elements.length > 0,
+        "pathElements cannot be NULL or empty");
+    int node = ROOT;
+    int lastAuthzObj = NONE;
+    for (int i = 0; i < elements.length; i++) {
+      int child = getChild(node, elements[i]);
+      if (child == NONE) {
+        return isPartialMatchOk ? lastAuthzObj : NONE;
+      }
+      if (authzObjs[child] != NONE) {
+        lastAuthzObj = child;
+      }
+      node = child;
+    }
+    return lastAuthzObj;
+  }
+
+  private int createParent(List<String> elements) {
+    int parent = ROOT;
+    for (int i = 0; i < elements.size() - 1; i++) {
+      String element = elements.get(i);
+      int child = getChild(parent, element);
+      if (child == NONE) {
+        child = newNode(parent, element, DIR);
+      }
+      parent = child;
+    }
+    return parent;
+  }
+
+  private int createChild(List<String> elements, byte type, String authzObj) {
+    int parent = createParent(elements);
+    String lastElement = elements.get(elements.size() - 1);
+    int child = getChild(parent, lastElement);
+    if (child == NONE) {
+      child = newNode(parent, lastElement, type);
+      addAuthzObj(child, authzObj);
+    } else if (type == AUTHZ_OBJECT &&
+        (types[child] == PREFIX || types[child] == AUTHZ_OBJECT)) {
+      addAuthzObj(child, authzObj);
+    } else if (type == AUTHZ_OBJECT && types[child] == DIR) {
+      addAuthzObj(child, authzObj);
+      types[child] = AUTHZ_OBJECT;
+    }
+    return child;
+  }
+
+  private int createAuthzObjPath(List<String> elements, String authzObj) {
+    if (findPrefixNode(elements) == NONE) {
+      if (LOG.isDebugEnabled()) {
+        LOG.debug(String.format("%s: createAuthzObjPath(%s, %s): outside of prefix, skipping",
+            this, authzObj, elements));
+      }
+      return NONE;
+    }
+    return createChild(elements, AUTHZ_OBJECT, authzObj);
+  }
+
+  /**
+   * Remove the node from its parent and free it, removing the parent as well
+   * if it is left dangling.
+   */
+  private void deleteFromParent(int node) {
+    int parent = parents[node];
+    if (parent == NONE) {
+      LOG.warn("Parent for {} not found", getFullPath(node));
+      return;
+    }
+    unlink(node);
+    deleteIfDangling(parent);
+    freeNode(node);
+  }
+
+  private void deleteAuthzObject(int node, int authzObj) {
+    if (!isLive(node) || !hasAuthzObj(node, authzObj) || parents[node] == NONE) {
+      return;
+    }
+    if (!hasChildren(node)) {
+      removeAuthzObj(node, authzObj);
+      if (authzObjs[node] == NONE) {
+        deleteFromParent(node);
+      }
+    } else if (types[node] == AUTHZ_OBJECT) {
+      removeAuthzObj(node, authzObj);
+      if (authzObjs[node] == NONE) {
+        types[node] = DIR;
+      }
+    }
+  }
+
+  private void moveTo(int node, int newParent, String element) {
+    Preconditions.checkArgument(!element.isEmpty());
+    if (getChild(newParent, element) != NONE) {
+      LOG.warn(String.format(
+          "Attempt to move %s to %s: entry with the same name %s already exists",
+          getFullPath(node), getFullPath(newParent), element));
+      return;
+    }
+    int oldParent = parents[node];
+    if (oldParent != NONE) {
+      unlink(node);
+    }
+    int oldElement = pathElements[node];
+    pathElements[node] = pathElementTable.acquire(element);
+    pathElementTable.release(oldElement);
+    link(newParent, node);
+    // After linking, so that the new parent is never removed
+    if (oldParent != NONE) {
+      deleteIfDangling(oldParent);
+    }
+  }
+
+  private void delete(int node) {
+    if (parents[node] != NONE) {
+      if (!hasChildren(node)) {
+        deleteFromParent(node);
+      } else if (types[node] == AUTHZ_OBJECT) {
+        types[node] = DIR;
+        clearAuthzObjs(node);
+      }
+    }
+  }
+
+  private void deleteIfDangling(int node) {
+    if (!hasChildren(node) && types[node] == DIR) {
+      delete(node);
+    }
+  }
+
+  //
+  // AuthzPaths and the update methods of HMSPaths
+  //
+
+  void addAuthzObject(String authzObj, List<List<String>> authzObjPathElements) {
+    int id = authzObjTable.get(authzObj);
+    int[] previousNodes = null;
+    int previousCount = 0;
+    if (isMapped(id)) {
+      previousNodes = authzObjNodes[id];
+      previousCount = authzObjNodeCounts[id];
+    }
+    int[] newNodes = new int[authzObjPathElements.size()];
+    int count = 0;
+    for (List<String> elements : authzObjPathElements) {
+      int node = createAuthzObjPath(elements, authzObj);
+      if (node != NONE) {
+        newNodes[count++] = node;
+      } else {
+        LOG.warn(String.format("%s addAuthzObject(%s, %s):" +
+            " Ignoring path %s, no prefix",
+            this, authzObj, HMSPaths.assemblePaths(authzObjPathElements), elements));
+      }
+    }
+    // Remove duplicates
+    Arrays.sort(newNodes, 0, count);
+    int unique = 0;
+    for (int i = 0; i < count; i++) {
+      if (unique == 0 || newNodes[unique - 1] != newNodes[i]) {
+        newNodes[unique++] = newNodes[i];
+      }
+    }
+    setAuthzObjNodes(authzObj, newNodes, unique);
+    if (previousNodes != null) {
+      id = authzObjTable.get(authzObj);
+      for (int i = 0; i < previousCount; i++) {
+        if (Arrays.binarySearch(newNodes, 0, unique, previousNodes[i]) < 0) {
+          deleteAuthzObject(previousNodes[i], id);
+        }
+      }
+    }
+  }
+
+  void _addAuthzObject(String authzObj, List<String> authzObjPaths) {
+    addAuthzObject(authzObj, HMSPaths.getPathsElements(authzObjPaths));
+  }
+
+  @Override
+  public void addPathsToAuthzObject(String authzObj,
+      List<List<String>> authzObjPathElements, boolean createNew) {
+    int id = authzObjTable.get(authzObj);
+    if (isMapped(id)) {
+      for (List<String> elements : authzObjPathElements) {
+        int node = createAuthzObjPath(elements, authzObj);
+        if (node != NONE) {
+          addAuthzObjNode(id, node);
+        }
+      }
+    } else if (createNew) {
+      addAuthzObject(authzObj, authzObjPathElements);
+    } else {
+      LOG.warn(String.format("%s addPathsToAuthzObject(%s, %s, %b):" +
+          " Path was not added to AuthzObject, could not find key in authzObjToPath",
+          this, authzObj, HMSPaths.assemblePaths(authzObjPathElements), createNew));
+    }
+  }
+
+  void addPathsToAuthzObject(String authzObj, List<List<String>> authzObjPaths) {
+    addPathsToAuthzObject(authzObj, authzObjPaths, false);
+  }
+
+  void _addPathsToAuthzObject(String authzObj, List<String> authzObjPaths) {
+    addPathsToAuthzObject(authzObj, HMSPaths.getPathsElements(authzObjPaths), false);
+  }
+
+  @Override
+  public void deletePathsFromAuthzObject(String authzObj,
+      List<List<String>> authzObjPathElements) {
+    int id = authzObjTable.get(authzObj);
+    if (!isMapped(id)) {
+      LOG.warn(String.format("%s deletePathsFromAuthzObject(%s, %s):" +
+          " Path was not deleted from AuthzObject, could not find key in authzObjToPath",
+          this, authzObj, HMSPaths.assemblePaths(authzObjPathElements)));
+      return;
+    }
+    for (List<String> elements : authzObjPathElements) {
+      int node = find(elements.toArray(new String[elements.size()]), false);
+      if (node != NONE) {
+        removeAuthzObjNode(id, node);
+        deleteAuthzObject(node, id);
+      } else {
+        LOG.warn(String.format("%s deletePathsFromAuthzObject(%s, %s):" +
+            " Path %s was not deleted from AuthzObject, path not registered." +
+            " This is possible for implicit partition locations",
+            this, authzObj, HMSPaths.assemblePaths(authzObjPathElements), elements));
+      }
+    }
+    if (authzObjNodeCounts[id] == 0) {
+      unmap(id);
+    }
+  }
+
+  @Override
+  public void deleteAuthzObject(String authzObj) {
+    int id = authzObjTable.get(authzObj);
+    if (!isMapped(id)) {
+      return;
+    }
+    int[] nodes = authzObjNodes[id];
+    int count = authzObjNodeCounts[id];
+    for (int i = 0; i < count; i++) {
+      deleteAuthzObject(nodes[i], id);
+    }
+    unmap(id);
+  }
+
+  @Override
+  public void renameAuthzObject(String oldName, List<List<String>> oldPathElems,
+      String newName, List<List<String>> newPathElems) {
+    if (oldPathElems == null || oldPathElems.isEmpty() ||
+        newPathElems == null || newPathElems.isEmpty() ||
+        newName == null || newName.equals(oldName)) {
+      LOG.warn(String.format("%s renameAuthzObject({%s, %s} -> {%s, %s})" +
+          ": invalid inputs, skipping", this, oldName, HMSPaths.assemblePaths(oldPathElems),
+          newName, HMSPaths.assemblePaths(newPathElems)));
+      return;
+    }
+
+    List<String> oldPathElements = oldPathElems.get(0);
+    List<String> newPathElements = newPathElems.get(0);
+    if (!oldPathElements.equals(newPathElements)) {
+      int oldNode = find(oldPathElements.toArray(new String[0]), false);
+      int newParent = createParent(newPathElements);
+      if (oldNode == NONE) {
+        LOG.warn(String.format("%s Moving old paths for renameAuthzObject({%s, %s} -> {%s, %s})" +
+            " is skipped. Cannot find entry for old name", this, oldName,
+            HMSPaths.assemblePaths(oldPathElems), newName, HMSPaths.assemblePaths(newPathElems)));
+      } else {
+        moveTo(oldNode, newParent, newPathElements.get(newPathElements.size() - 1));
+      }
+    }
+
+    // Re-write authObj from oldName to newName.
+    int oldId = authzObjTable.get(oldName);
+    if (!isMapped(oldId)) {
+      LOG.warn(String.format("%s renameAuthzObject({%s, %s} -> {%s, %s}):" +
+          " cannot find oldName %s in authzObjToPath", this, oldName,
+          HMSPaths.assemblePaths(oldPathElems), newName, HMSPaths.assemblePaths(newPathElems),
+          oldName));
+    } else {
+      int count = authzObjNodeCounts[oldId];
+      int[] nodes = Arrays.copyOf(authzObjNodes[oldId], Math.max(count, 1));
+      setAuthzObjNodes(newName, nodes, count);
+      for (int i = 0; i < count; i++) {
+        int node = nodes[i];
+        if (!isLive(node)) {
+          continue;
+        }
+        addAuthzObj(node, newName);
+        if (hasAuthzObj(node, oldId)) {
+          removeAuthzObj(node, oldId);
+        } else {
+          LOG.warn(String.format("%s renameAuthzObject({%s, %s} -> {%s, %s}):" +
+              " Unexpected state: authzObjToPath has an " +
+              "entry %s where one of the authz objects does not have oldName", this, oldName,
+              HMSPaths.assemblePaths(oldPathElems), newName,
+              HMSPaths.assemblePaths(newPathElems), getFullPath(node)));
+        }
+      }
+    }
+
+    // old_table.dropAllPaths
+    deleteAuthzObject(oldName);
+  }
+
+  @Override
+  public boolean isUnderPrefix(String[] pathElements) {
+    return findPrefixNode(pathElements) != NONE;
+  }
+
+  @Override
+  public Set<String> findAuthzObject(String[] pathElements) {
+    return findAuthzObject(pathElements, true);
+  }
+
+  @Override
+  public Set<String> findAuthzObjectExactMatches(String[] pathElements) {
+    return findAuthzObject(pathElements, false);
+  }
+
+  /**
+   * See {@link HMSPaths#findAuthzObject(String[], boolean)}.
+   */
+  public Set<String> findAuthzObject(String[] pathElements, boolean isPartialOk) {
+    // Handle '/'
+    if (pathElements == null || pathElements.length == 0) {
+      return null;
+    }
+    int node = find(pathElements, isPartialOk);
+    return node != NONE ? getAuthzObjSet(node) : null;
+  }
+
+  @Override
+  public AuthzPathsDumper<CompactHMSPaths> getPathsDump() {
+    return new Dumper();
+  }
+
+  @Override
+  public ChunkReader newChunkReader() {
+    return new ChunkReader(prefixes);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s:%s", getClass().getSimpleName(), Arrays.toString(prefixes));
+  }
+
+  @Override
+  public String dumpContent() {
+    StringBuilder sb = new StringBuilder(toString()).append(": [");
+    for (int node = 0; node < numNodes; node++) {
+      if (isLive(node)) {
+        sb.append(node == ROOT ? "" : ", ").append(getFullPath(node))
+            .append(getAuthzObjList(node));
+      }
+    }
+    return sb.append(']').toString();
+  }
+
+  /**
+   * Creates and reads the same TPathsDump as {@link HMSPathsDumper}.
+   */
+  private final class Dumper implements AuthzPathsDumper<CompactHMSPaths> {
+
+    @Override
+    public TPathsDump createPathsDump(boolean minimizeSize) {
+      // Path elements referenced by several nodes are replaced by their index
+      // in the duplicate strings
+      int[] replacements = null;
+      List<String> dupStringValues = null;
+      if (minimizeSize) {
+        replacements = new int[pathElementTable.numIds()];
+        Arrays.fill(replacements, NONE);
+        dupStringValues = new ArrayList<>();
+        for (int id = 0; id < replacements.length; id++) {
+          String value = pathElementTable.value(id);
+          if (value != null && pathElementTable.refs(id) > 1
+              && value.length() >= MIN_REPLACED_LENGTH) {
+            replacements[id] = dupStringValues.size();
+            dupStringValues.add(value);
+          }
+        }
+      }
+
+      Map<Integer, TPathEntry> idMap = new HashMap<>(numLiveNodes * 4 / 3 + 1);
+      int[] counter = {0};
+      int rootId = createTPathEntry(ROOT, counter, idMap, replacements);
+      TPathsDump dump = new TPathsDump(rootId, idMap);
+      if (minimizeSize) {
+        dump.setDupStringValues(dupStringValues);
+      }
+      LOG.info("Paths Dump created from {} entries", numLiveNodes);
+      return dump;
+    }
+
+    private int createTPathEntry(int node, int[] counter, Map<Integer, TPathEntry> idMap,
+        int[] replacements) {
+      int myId = ++counter[0];
+      int pathElement = pathElements[node];
+      String value = replacements != null && replacements[pathElement] != NONE
+          ? REPLACEMENT_STRING_PREFIX + Integer.toHexString(replacements[pathElement])
+          : pathElementTable.value(pathElement);
+      List<Integer> childIds = hasChildren(node)
+          ? new ArrayList<Integer>() : Collections.<Integer>emptyList();
+      TPathEntry tEntry = new TPathEntry(types[node], value, childIds);
+      if (authzObjs[node] != NONE) {
+        tEntry.setAuthzObjs(new ArrayList<>(getAuthzObjList(node)));
+      }
+      idMap.put(myId, tEntry);
+      for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+        childIds.add(createTPathEntry(child, counter, idMap, replacements));
+      }
+      return myId;
+    }
+
+    @Override
+    public CompactHMSPaths initializeFromDump(TPathsDump pathsDump) {
+      CompactHMSPaths paths = new CompactHMSPaths(prefixes);
+      TPathEntry tRoot = pathsDump.getNodeMap().get(pathsDump.getRootId());
+      Map<String, List<Integer>> authzObjToNodes = new HashMap<>();
+      paths.cloneToNode(tRoot, ROOT, pathsDump.getNodeMap(), authzObjToNodes,
+          pathsDump.getDupStringValues(), paths.types[ROOT] == PREFIX);
+      paths.setAuthzObjNodes(authzObjToNodes);
+      return paths;
+    }
+  }
+
+  private void cloneToNode(TPathEntry tParent, int parent, Map<Integer, TPathEntry> idMap,
+      Map<String, List<Integer>> authzObjToNodes, List<String> dupStringValues,
+      boolean hasCrossedPrefix) {
+    for (Integer id : tParent.getChildren()) {
+      TPathEntry tChild = idMap.get(id);
+      int child = cloneChild(tChild, parent, authzObjToNodes, dupStringValues,
+          hasCrossedPrefix);
+      if (child != NONE) {
+        cloneToNode(tChild, child, idMap, authzObjToNodes, dupStringValues,
+            hasCrossedPrefix || types[child] == PREFIX);
+      }
+    }
+  }
+
+  /**
+   * Adds the node of tChild to its parent.
+   * @return the child node, or NONE if it is not under a prefix.
+   */
+  private int cloneChild(TPathEntry tChild, int parent,
+      Map<String, List<Integer>> authzObjToNodes, List<String> dupStringValues,
+      boolean hasCrossedPrefix) {
+    String element = tChild.getPathElement();
+    if (!element.isEmpty() && element.charAt(0) == REPLACEMENT_STRING_PREFIX) {
+      element = dupStringValues.get(Integer.parseInt(element.substring(1), 16));
+    }
+
+    int child = NONE;
+    if (!hasCrossedPrefix) {
+      child = getChild(parent, element);
+      // If we haven't reached a prefix entry yet, then child should
+      // already exists.. else it is not part of the prefix
+      if (child == NONE) {
+        return NONE;
+      }
+      // Handle case when prefix entry has an authzObject
+      if (types[child] == PREFIX && tChild.getAuthzObjs() != null) {
+        for (String authzObj : tChild.getAuthzObjs()) {
+          addAuthzObj(child, authzObj);
+        }
+      }
+    }
+    if (child == NONE) {
+      child = newNode(parent, element, tChild.getType());
+      if (tChild.getAuthzObjs() != null) {
+        for (String authzObj : tChild.getAuthzObjs()) {
+          addAuthzObj(child, authzObj);
+        }
+      }
+    }
+    for (String authzObj : getAuthzObjList(child)) {
+      List<Integer> nodes = authzObjToNodes.get(authzObj);
+      if (nodes == null) {
+        nodes = new ArrayList<>();
+        authzObjToNodes.put(authzObj, nodes);
+      }
+      nodes.add(child);
+    }
+    return child;
+  }
+
+  private void setAuthzObjNodes(Map<String, List<Integer>> authzObjToNodes) {
+    for (Map.Entry<String, List<Integer>> entry : authzObjToNodes.entrySet()) {
+      List<Integer> nodeList = entry.getValue();
+      int[] nodes = new int[nodeList.size()];
+      for (int i = 0; i < nodes.length; i++) {
+        nodes[i] = nodeList.get(i);
+      }
+      setAuthzObjNodes(entry.getKey(), nodes, nodes.length);
+    }
+  }
+
+  /**
+   * Reads a paths dump sent in chunks into new compact paths, in the same way
+   * as {@link HMSPathsDumper.ChunkReader}.
+   */
+  static final class ChunkReader implements HMSPathsTree.ChunkReader {
+    private final CompactHMSPaths paths;
+    private final Map<String, List<Integer>> authzObjToNodes = new HashMap<>();
+    // Parent nodes of the entries announced by the entries read so far
+    private final Map<Integer, Integer> parents = new HashMap<>();
+    // Ids of the announced entries that are under a prefix
+    private final Set<Integer> crossedPrefix = new HashSet<>();
+    private List<String> dupStringValues;
+    private int nextId = -1;
+
+    ChunkReader(String[] prefixes) {
+      paths = new CompactHMSPaths(prefixes);
+    }
+
+    @Override
+    public void readChunk(TPathsDump chunk) {
+      Map<Integer, TPathEntry> nodeMap = chunk.getNodeMap();
+      int id = nextId;
+      if (nextId < 0) {
+        TPathEntry tRoot = nodeMap.get(chunk.getRootId());
+        if (tRoot == null) {
+          throw new IllegalArgumentException("The first chunk doesn't have the root entry");
+        }
+        dupStringValues = chunk.getDupStringValues();
+        announceChildren(tRoot, ROOT, paths.types[ROOT] == PREFIX);
+        id = chunk.getRootId() + 1;
+      } else if (!nodeMap.isEmpty() && !nodeMap.containsKey(id)) {
+        throw new IllegalArgumentException("Chunk doesn't start at entry " + id);
+      }
+
+      for (TPathEntry tChild = nodeMap.get(id); tChild != null; tChild = nodeMap.get(++id)) {
+        Integer parent = parents.remove(id);
+        if (parent == null) {
+          // The parent entry is not under a prefix
+          continue;
+        }
+        boolean hasCrossedPrefix = crossedPrefix.remove(id);
+        int child = paths.cloneChild(tChild, parent, authzObjToNodes, dupStringValues,
+            hasCrossedPrefix);
+        if (child != NONE) {
+          announceChildren(tChild, child, hasCrossedPrefix || paths.types[child] == PREFIX);
+        }
+      }
+      nextId = id;
+    }
+
+    private void announceChildren(TPathEntry tEntry, int node, boolean hasCrossedPrefix) {
+      for (Integer childId : tEntry.getChildren()) {
+        parents.put(childId, node);
+        if (hasCrossedPrefix) {
+          crossedPrefix.add(childId);
+        }
+      }
+    }
+
+    @Override
+    public CompactHMSPaths getPaths() {
+      if (!parents.isEmpty()) {
+        throw new IllegalStateException(parents.size() + " path entries were not read");
+      }
+      paths.setAuthzObjNodes(authzObjToNodes);
+      authzObjToNodes.clear();
+      return paths;
+    }
+  }
+
+  /**
+   * Reference counted table of strings, each identified by a small int.
+   * The identifiers of strings that are no longer referenced are reused.
+   */
+  private static final class StringTable {
+    private final boolean ignoreCase;
+    // Strings, their hash codes and their number of references, by identifier
+    private String[] values;
+    private int[] hashes;
+    private int[] refs;
+    private int numIds;
+    private int[] freeIds;
+    private int numFreeIds;
+    // Open addressing table of identifier + 1, 0 for empty slots
+    private int[] slots;
+    private int size;
+
+    StringTable(boolean ignoreCase) {
+      this.ignoreCase = ignoreCase;
+      values = new String[16];
+      hashes = new int[16];
+      refs = new int[16];
+      freeIds = new int[16];
+      slots = new int[32];
+    }
+
+    StringTable(StringTable other) {
+      ignoreCase = other.ignoreCase;
+      values = other.values.clone();
+      hashes = other.hashes.clone();
+      refs = other.refs.clone();
+      numIds = other.numIds;
+      freeIds = other.freeIds.clone();
+      numFreeIds = other.numFreeIds;
+      slots = other.slots.clone();
+      size = other.size;
+    }
+
+    private int hash(String value) {
+      int h;
+      if (ignoreCase) {
+        // Consistent with String.CASE_INSENSITIVE_ORDER
+        h = 0;
+        for (int i = 0; i < value.length(); i++) {
+          h = 31 * h + Character.toLowerCase(Character.toUpperCase(value.charAt(i)));
+        }
+      } else {
+        h = value.hashCode();
+      }
+      return h ^ (h >>> 16);
+    }
+
+    private boolean matches(String value, int hash, int id) {
+      return hashes[id] == hash &&
+          (ignoreCase ? value.equalsIgnoreCase(values[id]) : value.equals(values[id]));
+    }
+
+    int get(String value) {
+      int hash = hash(value);
+      int mask = slots.length - 1;
+      for (int i = hash & mask; slots[i] != 0; i = (i + 1) & mask) {
+        if (matches(value, hash, slots[i] - 1)) {
+          return slots[i] - 1;
+        }
+      }
+      return NONE;
+    }
+
+    /**
+     * Get the identifier of the string, adding it if needed, and add a reference to it.
+     */
+    int acquire(String value) {
+      int hash = hash(value);
+      int mask = slots.length - 1;
+      int i = hash & mask;
+      for (; slots[i] != 0; i = (i + 1) & mask) {
+        int id = slots[i] - 1;
+        if (matches(value, hash, id)) {
+          refs[id]++;
+          return id;
+        }
+      }
+      int id;
+      if (numFreeIds > 0) {
+        id = freeIds[--numFreeIds];
+      } else {
+        if (numIds == values.length) {
+          int capacity = values.length * 2;
+          values = Arrays.copyOf(values, capacity);
+          hashes = Arrays.copyOf(hashes, capacity);
+          refs = Arrays.copyOf(refs, capacity);
+        }
+        id = numIds++;
+      }
+      values[id] = value;
+      hashes[id] = hash;
+      refs[id] = 1;
+      slots[i] = id + 1;
+      if (++size * 2 > slots.length) {
+        rehash(slots.length * 2);
+      }
+      return id;
+    }
+
+    /**
+     * Remove a reference to the string, which is removed when it is no longer referenced.
+     */
+    void release(int id) {
+      if (--refs[id] > 0) {
+        return;
+      }
+      int mask = slots.length - 1;
+      int i = hashes[id] & mask;
+      while (slots[i] != id + 1) {
+        i = (i + 1) & mask;
+      }
+      // Backward shift deletion, which keeps probe sequences without holes
+      slots[i] = 0;
+      for (int j = (i + 1) & mask; slots[j] != 0; j = (j + 1) & mask) {
+        int home = hashes[slots[j] - 1] & mask;
+        if (i <= j ? (i < home && home <= j) : (i < home || home <= j)) {
+          continue;
+        }
+        slots[i] = slots[j];
+        slots[j] = 0;
+        i = j;
+      }
+      values[id] = null;
+      size--;
+      if (numFreeIds == freeIds.length) {
+        freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+      }
+      freeIds[numFreeIds++] = id;
+    }
+
+    private void rehash(int capacity) {
+      int[] newSlots = new int[capacity];
+      int mask = capacity - 1;
+      for (int slot : slots) {
+        if (slot != 0) {
+          int i = hashes[slot - 1] & mask;
+          while (newSlots[i] != 0) {
+            i = (i + 1) & mask;
+          }
+          newSlots[i] = slot;
+        }
+      }
+      slots = newSlots;
+    }
+
+    String value(int id) {
+      return values[id];
+    }
+
+    int refs(int id) {
+      return refs[id];
+    }
+
+    /**
+     * @return the upper bound of the identifiers in use
+     */
+    int numIds() {
+      return numIds;
+    }
+  }
+
+  /**
+   * Open addressing table of the children of all the nodes, keyed by parent node
+   * and path element identifier.
+   */
+  private static final class ChildTable {
+    private static final long EMPTY = -1L;
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    ChildTable() {
+      keys = new long[64];
+      Arrays.fill(keys, EMPTY);
+      values = new int[64];
+    }
+
+    ChildTable(ChildTable other) {
+      keys = other.keys.clone();
+      values = other.values.clone();
+      size = other.size;
+    }
+
+    private static long key(int parent, int pathElement) {
+      return ((long) parent << 32) | (pathElement & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+      long h = key * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32));
+    }
+
+    int get(int parent, int pathElement) {
+      long key = key(parent, pathElement);
+      int mask = keys.length - 1;
+      for (int i = hash(key) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+        if (keys[i] == key) {
+          return values[i];
+        }
+      }
+      return NONE;
+    }
+
+    void put(int parent, int pathElement, int child) {
+      long key = key(parent, pathElement);
+      int mask = keys.length - 1;
+      int i = hash(key) & mask;
+      for (; keys[i] != EMPTY; i = (i + 1) & mask) {
+        if (keys[i] == key) {
+          values[i] = child;
+          return;
+        }
+      }
+      keys[i] = key;
+      values[i] = child;
+      // Up to 70% full
+      if (++size * 10 > keys.length * 7) {
+        rehash(keys.length * 2);
+      }
+    }
+
+    void remove(int parent, int pathElement) {
+      long key = key(parent, pathElement);
+      int mask = keys.length - 1;
+      int i = hash(key) & mask;
+      while (keys[i] != key) {
+        if (keys[i] == EMPTY) {
+          return;
+        }
+        i = (i + 1) & mask;
+      }
+      // Backward shift deletion, which keeps probe sequences without holes
+      keys[i] = EMPTY;
+      for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+        int home = hash(keys[j]) & mask;
+        if (i <= j ? (i < home && home <= j) : (i < home || home <= j)) {
+          continue;
+        }
+        keys[i] = keys[j];
+        values[i] = values[j];
+        keys[j] = EMPTY;
+        i = j;
+      }
+      size--;
+    }
+
+    private void rehash(int capacity) {
+      long[] newKeys = new long[capacity];
+      Arrays.fill(newKeys, EMPTY);
+      int[] newValues = new int[capacity];
+      int mask = capacity - 1;
+      for (int j = 0; j < keys.length; j++) {
+        if (keys[j] != EMPTY) {
+          int i = hash(keys[j]) & mask;
+          while (newKeys[i] != EMPTY) {
+            i = (i + 1) & mask;
+          }
+          newKeys[i] = keys[j];
+          newValues[i] = values[j];
+        }
+      }
+      keys = newKeys;
+      values = newValues;
+    }
+  }
+}
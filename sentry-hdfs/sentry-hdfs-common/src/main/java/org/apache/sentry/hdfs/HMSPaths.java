@@ -25,6 +25,7 @@ import org.apache.hadoop.fs.Path;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,7 +35,7 @@ import org.slf4j.LoggerFactory;
  * the {@link AuthzPaths} paths. All updates to this class is handled by the
  * thread safe {@link UpdateableAuthzPaths} class
  */
-public class HMSPaths implements AuthzPaths {
+public class HMSPaths implements HMSPathsTree {
 
   private static final Logger LOG = LoggerFactory.getLogger(HMSPaths.class);
 
@@ -157,6 +158,10 @@ public class HMSPaths implements AuthzPaths {
     // This is allocated lazily to avoid wasting memory due to empty maps.
     private Map<String, Entry> children;
 
+    // Generation of the HMSPaths which may update this entry in place. The entries
+    // of other generations may be shared with copies, and are copied before being updated.
+    private Object owner;
+
     /**
      * Construct an Entry with one authzObj.
      *
@@ -167,6 +172,7 @@ public class HMSPaths implements AuthzPaths {
      */
     Entry(Entry parent, String pathElement, EntryType type, String authzObj) {
       this.parent = parent;
+      this.owner = (parent != null) ? parent.owner : null;
       this.type = type;
       this.pathElement = pathElement.intern();
       addAuthzObj(authzObj);
@@ -181,11 +187,40 @@ public class HMSPaths implements AuthzPaths {
      */
     Entry(Entry parent, String pathElement, EntryType type, Collection<String> authzObjs) {
       this.parent = parent;
+      this.owner = (parent != null) ? parent.owner : null;
       this.type = type;
       this.pathElement = pathElement.intern();
       addAuthzObjs(authzObjs);
     }
 
+    /**
+     * Construct an Entry whose path element is already interned, for copies.
+     */
+    private Entry(Entry parent, String pathElement, EntryType type) {
+      this.parent = parent;
+      this.type = type;
+      this.pathElement = pathElement;
+    }
+
+    /**
+     * Shallow copy of this entry under the given parent, owned by the given generation.
+     * The children are shared with this entry until they are updated.
+     */
+    @SuppressWarnings("unchecked")
+    private Entry copy(Entry parentCopy, Object owner) {
+      Entry copy = new Entry(parentCopy, pathElement, type);
+      copy.owner = owner;
+      if (authzObjs instanceof Set) {
+        copy.authzObjs = new TreeSet<>((SortedSet<String>) authzObjs);
+      } else {
+        copy.authzObjs = authzObjs;
+      }
+      if (children != null) {
+        copy.children = new HashMap<>(children);
+      }
+      return copy;
+    }
+
     Entry getChild(String pathElement) {
       if (children == null) {
         return null;
@@ -742,6 +777,15 @@ public class HMSPaths implements AuthzPaths {
   // One authorized object can map to a set of path entries.
   private Map<String, Set<Entry>> authzObjToEntries;
 
+  // Generation owning the entries this object updates in place. This object and its
+  // copy both get a new generation when it is copied, so that the entries they share
+  // are copied on their first update, along with their ancestors.
+  private Object generation = new Object();
+  // Whether the sets of authzObjToEntries may be shared with a copy, in which case
+  // only the sets created since the copy are updated in place
+  private boolean sharesEntrySets;
+  private Set<Set<Entry>> ownedEntrySets = Sets.newIdentityHashSet();
+
   public HMSPaths() {
     LOG.info(toString() + " (default) Initialized");
   }
@@ -758,6 +802,7 @@ public class HMSPaths implements AuthzPaths {
           "Root is a path prefix, there cannot be other path prefixes");
     }
     root = Entry.createRoot(rootPrefix);
+    root.owner = generation;
     if (!rootPrefix) {
       for (String pathPrefix : pathPrefixes) {
         root.createPrefix(getPathElements(pathPrefix));
@@ -768,6 +813,168 @@ public class HMSPaths implements AuthzPaths {
     LOG.info("Sentry managed prefixes: " + prefixes.toString());
   }
 
+  private HMSPaths(String[] prefixes, Map<String, Set<Entry>> authzObjToEntries) {
+    this.prefixes = prefixes;
+    this.authzObjToEntries = authzObjToEntries;
+  }
+
+  /**
+   * Creates a copy of the paths, which can be updated while this object keeps
+   * serving lookups. The copy shares the entries and the sets of entries of this
+   * object. An update of either object copies the entries it changes and their
+   * ancestors, so that each update copies the paths it changes instead of the tree.
+   * <p>
+   * Only the entries owned by a generation are updated in place. The parent of
+   * a shared entry may be a previous version of its parent, but it is at the same
+   * path, except for the descendants of a moved entry which are all copied.
+   */
+  @Override
+  public HMSPaths copy() {
+    Map<String, Set<Entry>> mapping = authzObjToEntries instanceof SortedMap
+        ? new TreeMap<String, Set<Entry>>((SortedMap<String, Set<Entry>>) authzObjToEntries)
+        : new HashMap<String, Set<Entry>>(authzObjToEntries);
+    HMSPaths copy = new HMSPaths(prefixes, mapping);
+    copy.root = root;
+    copy.sharesEntrySets = true;
+    generation = new Object();
+    sharesEntrySets = true;
+    ownedEntrySets = Sets.newIdentityHashSet();
+    return copy;
+  }
+
+  private Entry getWritableRoot() {
+    if (root.owner != generation) {
+      Entry copy = root.copy(null, generation);
+      replaceInMapping(root, copy);
+      root = copy;
+    }
+    return root;
+  }
+
+  /**
+   * Returns the child of a writable entry which can be updated in place, copying it
+   * if it is shared.
+   */
+  private Entry getWritableChild(Entry parent, Entry child) {
+    if (child.owner == generation) {
+      return child;
+    }
+    Entry copy = child.copy(parent, generation);
+    parent.putChild(child.getPathElement(), copy);
+    replaceInMapping(child, copy);
+    return copy;
+  }
+
+  /**
+   * Makes the entries of a path writable, from the root down to the last
+   * existing entry of the path, before the path is updated.
+   *
+   * @return the last existing entry of the path
+   */
+  private Entry makePathWritable(List<String> pathElements) {
+    Entry entry = getWritableRoot();
+    for (String pathElement : pathElements) {
+      Entry child = entry.getChild(pathElement);
+      if (child == null) {
+        break;
+      }
+      entry = getWritableChild(entry, child);
+    }
+    return entry;
+  }
+
+  /**
+   * Returns the version of an entry of this tree which can be updated in place,
+   * copying it and its ancestors if they are shared.
+   *
+   * @return the writable entry, or null if the entry is not in the tree anymore
+   */
+  private Entry getWritable(Entry entry) {
+    if (entry.owner == generation) {
+      return entry;
+    }
+    List<String> pathElements = new ArrayList<>();
+    for (Entry e = entry; e.getParent() != null; e = e.getParent()) {
+      pathElements.add(e.getPathElement());
+    }
+    Entry writable = getWritableRoot();
+    for (int i = pathElements.size() - 1; i >= 0; i--) {
+      Entry child = writable.getChild(pathElements.get(i));
+      if (child == null) {
+        return null;
+      }
+      writable = getWritableChild(writable, child);
+    }
+    return writable;
+  }
+
+  /**
+   * Copies the shared descendants of a moved entry, as their parents are not
+   * at their new paths.
+   */
+  private void copyDescendants(Entry entry) {
+    Deque<Entry> parents = new ArrayDeque<>();
+    parents.push(entry);
+    while (!parents.isEmpty()) {
+      Entry parent = parents.pop();
+      for (Entry child : new ArrayList<>(parent.childrenValues())) {
+        parents.push(getWritableChild(parent, child));
+      }
+    }
+  }
+
+  /**
+   * Returns the entries of an authz object which can be updated in place, copying
+   * them if they are shared.
+   */
+  private Set<Entry> getWritableEntries(String authzObj) {
+    Set<Entry> entries = authzObjToEntries.get(authzObj);
+    if (entries != null && sharesEntrySets && !ownedEntrySets.contains(entries)) {
+      entries = new HashSet<>(entries);
+      putEntries(authzObj, entries);
+    }
+    return entries;
+  }
+
+  private void putEntries(String authzObj, Set<Entry> entries) {
+    authzObjToEntries.put(authzObj, entries);
+    if (sharesEntrySets) {
+      ownedEntrySets.add(entries);
+    }
+  }
+
+  /**
+   * Replaces a shared entry by its copy in the entries of its authz objects.
+   */
+  private void replaceInMapping(Entry entry, Entry copy) {
+    if (entry.isAuthzObjsEmpty()) {
+      return;
+    }
+    for (String authzObj : entry.getAuthzObjs()) {
+      if (authzObjToEntries.get(authzObj) == null) {
+        continue;
+      }
+      Set<Entry> entries = getWritableEntries(authzObj);
+      if (entries.remove(entry) || removeSame(entries, entry)) {
+        entries.add(copy);
+      }
+    }
+  }
+
+  /**
+   * Removes an entry whose hash code changed since it was added to the entries,
+   * as the hash code of an entry depends on its authz objects.
+   */
+  private static boolean removeSame(Set<Entry> entries, Entry entry) {
+    for (Iterator<Entry> it = entries.iterator(); it.hasNext();) {
+      if (it.next() == entry) {
+        it.remove();
+        return true;
+      }
+    }
+    return false;
+  }
+
   void _addAuthzObject(String authzObj, List<String> authzObjPaths) {
     addAuthzObject(authzObj, getPathsElements(authzObjPaths));
   }
@@ -781,6 +988,7 @@ public class HMSPaths implements AuthzPaths {
     Set<Entry> previousEntries = authzObjToEntries.get(authzObj);
     Set<Entry> newEntries = new HashSet<Entry>(authzObjPathElements.size());
     for (List<String> pathElements : authzObjPathElements) {
+      makePathWritable(pathElements);
       Entry e = root.createAuthzObjPath(pathElements, authzObj);
       if (e != null) {
         newEntries.add(e);
@@ -790,21 +998,23 @@ public class HMSPaths implements AuthzPaths {
           this, authzObj, assemblePaths(authzObjPathElements), pathElements));
       }
     }
-    authzObjToEntries.put(authzObj, newEntries);
+    putEntries(authzObj, newEntries);
     if (previousEntries != null) {
-      previousEntries.removeAll(newEntries);
-      if (!previousEntries.isEmpty()) {
-        for (Entry entry : previousEntries) {
+      // The previous entries may be shared, so they are not updated in place
+      for (Entry entry : new ArrayList<>(previousEntries)) {
+        Entry stale = getWritable(entry);
+        if (stale != null && !newEntries.contains(stale)) {
           if (LOG.isDebugEnabled()) {
-            LOG.debug("Removing stale path {}", entry.toString());
+            LOG.debug("Removing stale path {}", stale.toString());
           }
-          entry.deleteAuthzObject(authzObj);
+          stale.deleteAuthzObject(authzObj);
         }
       }
     }
   }
 
-  void addPathsToAuthzObject(String authzObj,
+  @Override
+  public void addPathsToAuthzObject(String authzObj,
       List<List<String>> authzObjPathElements, boolean createNew) {
     if (LOG.isDebugEnabled()) {
       LOG.debug(String.format("%s addPathsToAuthzObject(%s, %s, %b)",
@@ -814,6 +1024,7 @@ public class HMSPaths implements AuthzPaths {
     if (entries != null) {
       Set<Entry> newEntries = new HashSet<Entry>(authzObjPathElements.size());
       for (List<String> pathElements : authzObjPathElements) {
+        makePathWritable(pathElements);
         Entry e = root.createAuthzObjPath(pathElements, authzObj);
         if (e != null) {
           newEntries.add(e);
@@ -825,7 +1036,7 @@ public class HMSPaths implements AuthzPaths {
           }
         }
       }
-      entries.addAll(newEntries);
+      getWritableEntries(authzObj).addAll(newEntries);
       if (LOG.isDebugEnabled()) {
         LOG.debug("[addPathsToAuthzObject]Updated path entries for {}", authzObj);
       }
@@ -856,7 +1067,8 @@ public class HMSPaths implements AuthzPaths {
   ( which also deletes the entry if no more authObjs to that path and does it recursively upwards)
   2. Removes it from value of authzObjToPath Map for this authzObj key, does not reset entries to null even if entries is empty
    */
-  void deletePathsFromAuthzObject(String authzObj,
+  @Override
+  public void deletePathsFromAuthzObject(String authzObj,
       List<List<String>> authzObjPathElements) {
     Set<Entry> entries = authzObjToEntries.get(authzObj);
     if (entries != null) {
@@ -867,6 +1079,8 @@ public class HMSPaths implements AuthzPaths {
         Entry entry = root.find(
             pathElements.toArray(new String[pathElements.size()]), false);
         if (entry != null) {
+          entry = getWritable(entry);
+          entries = getWritableEntries(authzObj);
           entries.remove(entry);
           entry.deleteAuthzObject(authzObj);
         } else {
@@ -891,7 +1105,8 @@ public class HMSPaths implements AuthzPaths {
     }
   }
 
-    void deleteAuthzObject(String authzObj) {
+  @Override
+  public void deleteAuthzObject(String authzObj) {
       if (LOG.isDebugEnabled()) {
         LOG.debug(String.format("%s deleteAuthzObject(%s)", this, authzObj));
         LOG.debug("Number of Objects: {}", authzObjToEntries.size());
@@ -899,7 +1114,10 @@ public class HMSPaths implements AuthzPaths {
     Set<Entry> entries = authzObjToEntries.remove(authzObj);
     if (entries != null) {
       for (Entry entry : entries) {
-        entry.deleteAuthzObject(authzObj);
+        Entry writable = getWritable(entry);
+        if (writable != null) {
+          writable.deleteAuthzObject(authzObj);
+        }
       }
     }
   }
@@ -953,7 +1171,8 @@ public class HMSPaths implements AuthzPaths {
   If oldPath != newPath, Example: rename managed table (HMS metadata is updated as well as physical files are moved to new location)
     => new_table.add(new_path), old_table.dropAllPaths.
   */
-  void renameAuthzObject(String oldName, List<List<String>> oldPathElems,
+  @Override
+  public void renameAuthzObject(String oldName, List<List<String>> oldPathElems,
       String newName, List<List<String>> newPathElems) {
     if (LOG.isDebugEnabled()) {
       LOG.debug(String.format("%s renameAuthzObject({%s, %s} -> {%s, %s})",
@@ -974,13 +1193,18 @@ public class HMSPaths implements AuthzPaths {
     List<String> newPathElements = newPathElems.get(0);
     if (!oldPathElements.equals(newPathElements)) {
       Entry oldEntry = root.find(oldPathElements.toArray(new String[0]), false);
+      makePathWritable(newPathElements);
       Entry newParent = root.createParent(newPathElements);
 
       if (oldEntry == null) {
         LOG.warn(String.format("%s Moving old paths for renameAuthzObject({%s, %s} -> {%s, %s}) is skipped. Cannot find entry for old name",
             this, oldName, assemblePaths(oldPathElems), newName, assemblePaths(newPathElems)));
       } else {
+        oldEntry = getWritable(oldEntry);
         oldEntry.moveTo(newParent, newPathElements.get(newPathElements.size() - 1));
+        if (oldEntry.getParent() == newParent) {
+          copyDescendants(oldEntry);
+        }
       }
     }
 
@@ -991,8 +1215,13 @@ public class HMSPaths implements AuthzPaths {
         " cannot find oldName %s in authzObjToPath",
         this, oldName, assemblePaths(oldPathElems), newName, assemblePaths(newPathElems), oldName));
     } else {
-      authzObjToEntries.put(newName, entries);
-      for (Entry e : entries) {
+      // The entries may be shared, so the renamed ones are collected in a new set
+      Set<Entry> renamedEntries = new HashSet<>(entries.size());
+      for (Entry entry : new ArrayList<>(entries)) {
+        Entry e = getWritable(entry);
+        if (e == null) {
+          continue;
+        }
         e.addAuthzObj(newName);
 
         if (e.getAuthzObjs().contains(oldName)) {
@@ -1003,7 +1232,9 @@ public class HMSPaths implements AuthzPaths {
             "entry %s where one of the authz objects does not have oldName",
             this, oldName, assemblePaths(oldPathElems), newName, assemblePaths(newPathElems), e));
         }
+        renamedEntries.add(e);
       }
+      putEntries(newName, renamedEntries);
     }
 
     // old_table.dropAllPaths
@@ -1020,6 +1251,11 @@ public class HMSPaths implements AuthzPaths {
     return prefixes;
   }
 
+  @Override
+  public HMSPathsDumper.ChunkReader newChunkReader() {
+    return new HMSPathsDumper.ChunkReader(prefixes);
+  }
+
   Entry getRootEntry() {
     return root;
   }
@@ -1064,6 +1300,7 @@ public class HMSPaths implements AuthzPaths {
     return String.format("%s:%s", getClass().getSimpleName(), Arrays.toString(prefixes));
   }
 
+  @Override
   public String dumpContent() {
     return toString() + ": " + getAllEntries();
   }
@@ -127,47 +127,153 @@ public class HMSPathsDumper implements AuthzPathsDumper<HMSPaths> {
       List<String> dupStringValues, boolean hasCrossedPrefix) {
     for (Integer id : tParent.getChildren()) {
       TPathEntry tChild = idMap.get(id);
+      Entry child = cloneChild(tChild, parent, authzObjToPath, dupStringValues,
+          hasCrossedPrefix);
+      if (child != null) {
+        cloneToEntry(tChild, child, idMap, authzObjToPath, dupStringValues,
+            hasCrossedPrefix || child.getType() == EntryType.PREFIX);
+      }
+    }
+  }
+
+  /**
+   * Adds the entry of tChild to its parent.
+   * @return the child entry, or null if it is not under a prefix.
+   */
+  private static Entry cloneChild(TPathEntry tChild, Entry parent,
+      Map<String, Set<Entry>> authzObjToPath, List<String> dupStringValues,
+      boolean hasCrossedPrefix) {
+    String tChildPathElement = tChild.getPathElement();
+    if (!tChildPathElement.isEmpty() &&
+        tChildPathElement.charAt(0) == DupDetector.REPLACEMENT_STRING_PREFIX) {
+      int dupStrIdx = Integer.parseInt(tChildPathElement.substring(1), 16);
+      tChildPathElement = dupStringValues.get(dupStrIdx);
+    }
 
-      String tChildPathElement = tChild.getPathElement();
-      if (!tChildPathElement.isEmpty() &&
-          tChildPathElement.charAt(0) == DupDetector.REPLACEMENT_STRING_PREFIX) {
-        int dupStrIdx = Integer.parseInt(tChildPathElement.substring(1), 16);
-        tChildPathElement = dupStringValues.get(dupStrIdx);
+    Entry child = null;
+    if (!hasCrossedPrefix) {
+      child = parent.getChild(tChildPathElement);
+      // If we haven't reached a prefix entry yet, then child should
+      // already exists.. else it is not part of the prefix
+      if (child == null) {
+        return null;
       }
+      // Handle case when prefix entry has an authzObject
+      // For Eg (default table mapped to /user/hive/warehouse)
+      if (child.getType() == EntryType.PREFIX) {
+        child.addAuthzObjs(tChild.getAuthzObjs());
+      }
+    }
+    if (child == null) {
+      child = new Entry(parent, tChildPathElement,
+          EntryType.fromByte(tChild.getType()), tChild.getAuthzObjs());
+    }
+    if (!child.isAuthzObjsEmpty()) {
+      for (String authzObj: child.getAuthzObjs()) {
+        Set<Entry> paths = authzObjToPath.get(authzObj);
+        if (paths == null) {
+          paths = new HashSet<>();
+          authzObjToPath.put(authzObj, paths);
+        }
+        paths.add(child);
+      }
+    }
+    parent.putChild(child.getPathElement(), child);
+    return child;
+  }
 
-      Entry child = null;
-      boolean isChildPrefix = hasCrossedPrefix;
-      if (!hasCrossedPrefix) {
-        child = parent.getChild(tChildPathElement);
-        // If we haven't reached a prefix entry yet, then child should
-        // already exists.. else it is not part of the prefix
-        if (child == null) {
+  /**
+   * Get a chunk of a paths dump created by {@link #createPathsDump(boolean)}.
+   * The entries of such a dump have consecutive ids starting from the root id,
+   * each entry having a lower id than its children. The chunk has the entries
+   * with the offset-th to the (offset + maxEntries - 1)-th ids. The first chunk
+   * also has the duplicate string values.
+   */
+  public static TPathsDump getPathsDumpChunk(TPathsDump pathsDump, int offset,
+      int maxEntries) {
+    int end = Math.min(pathsDump.getNodeMapSize(), offset + maxEntries);
+    Map<Integer, TPathEntry> nodeMap = new HashMap<>(Math.max(end - offset, 0) * 4 / 3 + 1);
+    for (int i = offset; i < end; i++) {
+      int id = pathsDump.getRootId() + i;
+      nodeMap.put(id, pathsDump.getNodeMap().get(id));
+    }
+    TPathsDump chunk = new TPathsDump(pathsDump.getRootId(), nodeMap);
+    if (offset == 0 && pathsDump.isSetDupStringValues()) {
+      chunk.setDupStringValues(pathsDump.getDupStringValues());
+    }
+    return chunk;
+  }
+
+  /**
+   * Reads a paths dump sent in the chunks returned by
+   * {@link #getPathsDumpChunk(TPathsDump, int, int)}, in order. The entries of
+   * each chunk are added to the paths as the chunk is read, so that the chunks
+   * don't need to be kept.
+   */
+  public static final class ChunkReader implements HMSPathsTree.ChunkReader {
+    private final HMSPaths paths;
+    private final Map<String, Set<Entry>> authzObjToPath = new HashMap<>();
+    // Parents of the entries announced by the entries read so far
+    private final Map<Integer, Entry> parents = new HashMap<>();
+    // Ids of the announced entries that are under a prefix
+    private final Set<Integer> crossedPrefix = new HashSet<>();
+    private List<String> dupStringValues;
+    private int nextId = -1;
+
+    public ChunkReader(String[] prefixes) {
+      paths = new HMSPaths(prefixes);
+    }
+
+    @Override
+    public void readChunk(TPathsDump chunk) {
+      Map<Integer, TPathEntry> nodeMap = chunk.getNodeMap();
+      int id = nextId;
+      if (nextId < 0) {
+        TPathEntry tRootEntry = nodeMap.get(chunk.getRootId());
+        if (tRootEntry == null) {
+          throw new IllegalArgumentException("The first chunk doesn't have the root entry");
+        }
+        dupStringValues = chunk.getDupStringValues();
+        Entry rootEntry = paths.getRootEntry();
+        announceChildren(tRootEntry, rootEntry, rootEntry.getType() == EntryType.PREFIX);
+        id = chunk.getRootId() + 1;
+      } else if (!nodeMap.isEmpty() && !nodeMap.containsKey(id)) {
+        throw new IllegalArgumentException("Chunk doesn't start at entry " + id);
+      }
+
+      for (TPathEntry tChild = nodeMap.get(id); tChild != null; tChild = nodeMap.get(++id)) {
+        Entry parent = parents.remove(id);
+        if (parent == null) {
+          // The parent entry is not under a prefix
           continue;
         }
-        isChildPrefix = child.getType() == EntryType.PREFIX;
-        // Handle case when prefix entry has an authzObject
-        // For Eg (default table mapped to /user/hive/warehouse)
-        if (isChildPrefix) {
-          child.addAuthzObjs(tChild.getAuthzObjs());
+        boolean hasCrossedPrefix = crossedPrefix.remove(id);
+        Entry child = cloneChild(tChild, parent, authzObjToPath, dupStringValues,
+            hasCrossedPrefix);
+        if (child != null) {
+          announceChildren(tChild, child,
+              hasCrossedPrefix || child.getType() == EntryType.PREFIX);
         }
       }
-      if (child == null) {
-        child = new Entry(parent, tChildPathElement,
-            EntryType.fromByte(tChild.getType()), tChild.getAuthzObjs());
-      }
-      if (!child.isAuthzObjsEmpty()) {
-        for (String authzObj: child.getAuthzObjs()) {
-          Set<Entry> paths = authzObjToPath.get(authzObj);
-          if (paths == null) {
-            paths = new HashSet<>();
-            authzObjToPath.put(authzObj, paths);
-          }
-          paths.add(child);
+      nextId = id;
+    }
+
+    private void announceChildren(TPathEntry tEntry, Entry entry, boolean hasCrossedPrefix) {
+      for (Integer childId : tEntry.getChildren()) {
+        parents.put(childId, entry);
+        if (hasCrossedPrefix) {
+          crossedPrefix.add(childId);
         }
       }
-      parent.putChild(child.getPathElement(), child);
-      cloneToEntry(tChild, child, idMap, authzObjToPath,
-          dupStringValues, isChildPrefix);
+    }
+
+    @Override
+    public HMSPaths getPaths() {
+      if (!parents.isEmpty()) {
+        throw new IllegalStateException(parents.size() + " path entries were not read");
+      }
+      paths.setAuthzObjToEntryMapping(authzObjToPath);
+      return paths;
     }
   }
 
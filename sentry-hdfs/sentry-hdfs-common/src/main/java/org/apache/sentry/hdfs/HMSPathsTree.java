@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.List;
+
+import org.apache.sentry.hdfs.service.thrift.TPathsDump;
+
+/**
+ * The path trees updated by {@link UpdateableAuthzPaths}: {@link HMSPaths}, or
+ * the more memory efficient {@link CompactHMSPaths}. Implementations are not
+ * thread-safe.
+ */
+interface HMSPathsTree extends AuthzPaths {
+
+  /**
+   * Creates a copy of the paths, which can be updated while this object keeps
+   * serving lookups.
+   */
+  HMSPathsTree copy();
+
+  void addPathsToAuthzObject(String authzObj, List<List<String>> authzObjPathElements,
+      boolean createNew);
+
+  void deletePathsFromAuthzObject(String authzObj, List<List<String>> authzObjPathElements);
+
+  void deleteAuthzObject(String authzObj);
+
+  void renameAuthzObject(String oldName, List<List<String>> oldPathElems,
+      String newName, List<List<String>> newPathElems);
+
+  /**
+   * Creates a reader of a full image sent in chunks, with the prefixes and the
+   * implementation of these paths.
+   */
+  ChunkReader newChunkReader();
+
+  @Override
+  AuthzPathsDumper<? extends HMSPathsTree> getPathsDump();
+
+  String dumpContent();
+
+  /**
+   * Reads a paths dump sent in the chunks returned by
+   * {@link HMSPathsDumper#getPathsDumpChunk(TPathsDump, int, int)}, in order.
+   */
+  interface ChunkReader {
+    void readChunk(TPathsDump chunk);
+
+    /**
+     * @return the paths read, once all the chunks were read.
+     */
+    HMSPathsTree getPaths();
+  }
+}
@@ -193,6 +193,16 @@ public class PathsUpdate implements Updateable.Update {
     return ThriftSerializer.serializeToJSON(tPathsUpdate);
   }
 
+  @Override
+  public void deserializeFromString(String update) throws TException {
+    ThriftSerializer.deserializeFromString(tPathsUpdate, update);
+  }
+
+  @Override
+  public String serializeToString() throws TException {
+    return ThriftSerializer.serializeToString(tPathsUpdate);
+  }
+
   @Override
   public int hashCode() {
     return (tPathsUpdate == null) ? 0 : tPathsUpdate.hashCode();
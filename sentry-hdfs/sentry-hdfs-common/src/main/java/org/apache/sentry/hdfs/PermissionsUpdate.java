@@ -130,6 +130,16 @@ public class PermissionsUpdate implements Updateable.Update {
     return ThriftSerializer.serializeToJSON(tPermUpdate);
   }
 
+  @Override
+  public void deserializeFromString(String update) throws TException {
+    ThriftSerializer.deserializeFromString(tPermUpdate, update);
+  }
+
+  @Override
+  public String serializeToString() throws TException {
+    return ThriftSerializer.serializeToString(tPermUpdate);
+  }
+
   @Override
   public int hashCode() {
     return (tPermUpdate == null) ? 0 : tPermUpdate.hashCode();
@@ -23,6 +23,12 @@ public class SentryAuthzUpdate {
 
   private final List<PermissionsUpdate> permUpdates;
   private final List<PathsUpdate> pathUpdates;
+  // Tokens of the next chunks of full images sent in chunks
+  private String permsImageToken;
+  private String pathsImageToken;
+  // Full images assembled from their chunks
+  private Updateable<PermissionsUpdate> permsImage;
+  private Updateable<PathsUpdate> pathsImage;
 
   public SentryAuthzUpdate(List<PermissionsUpdate> permUpdates,
       List<PathsUpdate> pathUpdates) {
@@ -38,6 +44,45 @@ public class SentryAuthzUpdate {
     return pathUpdates;
   }
 
+  public String getPermsImageToken() {
+    return permsImageToken;
+  }
+
+  public void setPermsImageToken(String permsImageToken) {
+    this.permsImageToken = permsImageToken;
+  }
+
+  public String getPathsImageToken() {
+    return pathsImageToken;
+  }
+
+  public void setPathsImageToken(String pathsImageToken) {
+    this.pathsImageToken = pathsImageToken;
+  }
+
+  /**
+   * @return true if more chunks of a full image are to be requested
+   */
+  public boolean hasImageTokens() {
+    return permsImageToken != null || pathsImageToken != null;
+  }
+
+  public Updateable<PermissionsUpdate> getPermsImage() {
+    return permsImage;
+  }
+
+  public void setPermsImage(Updateable<PermissionsUpdate> permsImage) {
+    this.permsImage = permsImage;
+  }
+
+  public Updateable<PathsUpdate> getPathsImage() {
+    return pathsImage;
+  }
+
+  public void setPathsImage(Updateable<PathsUpdate> pathsImage) {
+    this.pathsImage = pathsImage;
+  }
+
   public String dumpContent() {
     StringBuffer sb = new StringBuffer(getClass().getSimpleName());
     if (permUpdates != null && !permUpdates.isEmpty()) {
@@ -46,12 +91,19 @@ public class SentryAuthzUpdate {
     if (pathUpdates != null && !pathUpdates.isEmpty()) {
       sb.append(", Path Updates[").append(pathUpdates.size()).append(']').append(pathUpdates);
     }
+    if (permsImage != null) {
+      sb.append(", Permissions Image ").append(permsImage.getSequenceInfo());
+    }
+    if (pathsImage != null) {
+      sb.append(", Paths Image ").append(pathsImage.getSequenceInfo());
+    }
     return sb.toString();
   }
     
   public boolean isEmpty() {
     return (permUpdates == null || permUpdates.isEmpty()) &&
-           (pathUpdates == null || pathUpdates.isEmpty());
+           (pathUpdates == null || pathUpdates.isEmpty()) &&
+           permsImage == null && pathsImage == null;
   }
 
   @Override
@@ -63,6 +115,12 @@ public class SentryAuthzUpdate {
     if (pathUpdates != null && !pathUpdates.isEmpty()) {
       sb.append(", paths[").append(pathUpdates.size()).append(']');
     }
+    if (permsImage != null) {
+      sb.append(", perms image");
+    }
+    if (pathsImage != null) {
+      sb.append(", paths image");
+    }
     return sb.toString();
   }
 }
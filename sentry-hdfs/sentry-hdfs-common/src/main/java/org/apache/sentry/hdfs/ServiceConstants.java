@@ -44,10 +44,41 @@ public class ServiceConstants {
 
     public static final String SENTRY_HDFS_SYNC_METASTORE_CACHE_MAX_PART_PER_RPC = "sentry.hdfs.sync.metastore.cache.max-partitions-per-rpc";
     public static final int SENTRY_HDFS_SYNC_METASTORE_CACHE_MAX_PART_PER_RPC_DEFAULT = 100;
+    // The number of partitions fetched per call is halved, down to this minimum, when a
+    // call takes longer than the target latency, and doubled back when calls are fast
+    public static final String SENTRY_HDFS_SYNC_METASTORE_CACHE_MIN_PART_PER_RPC = "sentry.hdfs.sync.metastore.cache.min-partitions-per-rpc";
+    public static final int SENTRY_HDFS_SYNC_METASTORE_CACHE_MIN_PART_PER_RPC_DEFAULT = 10;
+    // Target latency of the calls fetching partitions, 0 to always fetch the maximum number
+    public static final String SENTRY_HDFS_SYNC_METASTORE_CACHE_TARGET_RPC_LATENCY_IN_MILLIS = "sentry.hdfs.sync.metastore.cache.target-rpc-latency.millis";
+    public static final int SENTRY_HDFS_SYNC_METASTORE_CACHE_TARGET_RPC_LATENCY_IN_MILLIS_DEFAULT = 2000;
     public static final String SENTRY_HDFS_SYNC_METASTORE_CACHE_MAX_TABLES_PER_RPC = "sentry.hdfs.sync.metastore.cache.max-tables-per-rpc";
     public static final int SENTRY_HDFS_SYNC_METASTORE_CACHE_MAX_TABLES_PER_RPC_DEFAULT = 100;
+    // Persist the full HMS snapshot in chunks while it is fetched, instead of fetching it
+    // in memory first. It becomes visible once all the chunks are persisted.
+    public static final String SENTRY_HDFS_SYNC_METASTORE_CACHE_STREAMING_ENABLED = "sentry.hdfs.sync.metastore.cache.streaming.enabled";
+    public static final boolean SENTRY_HDFS_SYNC_METASTORE_CACHE_STREAMING_ENABLED_DEFAULT = false;
+    // Number of paths persisted per transaction by the streaming full snapshot
+    public static final String SENTRY_HDFS_SYNC_METASTORE_CACHE_CHUNK_SIZE = "sentry.hdfs.sync.metastore.cache.chunk.size";
+    public static final int SENTRY_HDFS_SYNC_METASTORE_CACHE_CHUNK_SIZE_DEFAULT = 50000;
+    // Maximum number of fetched HMS objects waiting to be persisted by the streaming full snapshot
+    public static final String SENTRY_HDFS_SYNC_METASTORE_CACHE_QUEUE_SIZE = "sentry.hdfs.sync.metastore.cache.queue.size";
+    public static final int SENTRY_HDFS_SYNC_METASTORE_CACHE_QUEUE_SIZE_DEFAULT = 1000;
     static final String SENTRY_SERVICE_FULL_UPDATE_SIGNAL = "sentry.hdfs.sync.full-update-signal";
     public static final String SENTRY_SERVICE_FULL_UPDATE_PUBSUB = "sentry.hdfs.sync.full-update-pubsub";
+    // Keep the last full paths image sent to NameNodes and roll it forward with path deltas
+    public static final String SENTRY_HDFS_SYNC_FULL_PATHS_IMAGE_CACHE_ENABLED = "sentry.hdfs.sync.full-paths-image.cache.enabled";
+    public static final boolean SENTRY_HDFS_SYNC_FULL_PATHS_IMAGE_CACHE_ENABLED_DEFAULT = true;
+    // Maximum time a request for authz updates waits for new updates when there are none, 0 to return at once
+    public static final String SENTRY_HDFS_SYNC_UPDATES_MAX_WAIT_MS = "sentry.hdfs.sync.updates.max-wait.ms";
+    public static final int SENTRY_HDFS_SYNC_UPDATES_MAX_WAIT_MS_DEFAULT = 10000;
+    // Maximum number of requests for authz updates waiting at the same time. Each one holds a
+    // thrift worker thread out of sentry.service.server-max-threads, and there is usually one per
+    // NameNode. Requests beyond this number return at once, and their NameNode polls again.
+    public static final String SENTRY_HDFS_SYNC_UPDATES_MAX_WAITING_REQUESTS = "sentry.hdfs.sync.updates.max-waiting-requests";
+    public static final int SENTRY_HDFS_SYNC_UPDATES_MAX_WAITING_REQUESTS_DEFAULT = 20;
+    // Interval at which waiting requests check for updates committed by other Sentry servers
+    public static final String SENTRY_HDFS_SYNC_UPDATES_RECHECK_INTERVAL_MS = "sentry.hdfs.sync.updates.recheck-interval.ms";
+    public static final int SENTRY_HDFS_SYNC_UPDATES_RECHECK_INTERVAL_MS_DEFAULT = 1000;
 
     public static final String SENTRY_HDFS_INTEGRATION_PATH_PREFIXES = "sentry.hdfs.integration.path.prefixes";
     public static final String[] SENTRY_HDFS_INTEGRATION_PATH_PREFIXES_DEFAULT =
@@ -55,6 +86,24 @@ public class ServiceConstants {
 
     public static final String SENTRY_HMS_FETCH_SIZE = "sentry.hms.fetch.size";
     public static final int SENTRY_HMS_FETCH_SIZE_DEFAULT = -1;
+    // Maximum number of consecutive partition notifications applied in a single transaction,
+    // 1 to apply each notification in its own transactions
+    public static final String SENTRY_HMS_NOTIFICATION_BATCH_SIZE = "sentry.hms.notification.batch.size";
+    public static final int SENTRY_HMS_NOTIFICATION_BATCH_SIZE_DEFAULT = 100;
+    // Maximum time between the first and the last notification of a batch, based on the HMS event time
+    public static final String SENTRY_HMS_NOTIFICATION_BATCH_WINDOW_MS = "sentry.hms.notification.batch.window.ms";
+    public static final long SENTRY_HMS_NOTIFICATION_BATCH_WINDOW_MS_DEFAULT = 10000;
+    // Whether the next notifications are fetched while the previous ones are applied, when
+    // the fetch size is limited and the previous fetch returned a full batch
+    public static final String SENTRY_HMS_NOTIFICATION_PREFETCH_ENABLED = "sentry.hms.notification.prefetch.enabled";
+    public static final boolean SENTRY_HMS_NOTIFICATION_PREFETCH_ENABLED_DEFAULT = true;
+    // Number of threads parsing notification messages ahead of their processing, 0 to parse
+    // each message when it is processed
+    public static final String SENTRY_HMS_NOTIFICATION_PARSE_THREADS = "sentry.hms.notification.parse.threads";
+    public static final int SENTRY_HMS_NOTIFICATION_PARSE_THREADS_DEFAULT = 4;
+    // Maximum number of notifications parsed ahead of the one being processed
+    public static final String SENTRY_HMS_NOTIFICATION_PARSE_QUEUE_SIZE = "sentry.hms.notification.parse.queue.size";
+    public static final int SENTRY_HMS_NOTIFICATION_PARSE_QUEUE_SIZE_DEFAULT = 1000;
   }
 
   public static class ClientConfig {
@@ -74,5 +123,14 @@ public class ServiceConstants {
     // max message size for thrift messages
     static final String SENTRY_HDFS_THRIFT_MAX_MESSAGE_SIZE = "sentry.hdfs.thrift.max.message.size";
     static final long SENTRY_HDFS_THRIFT_MAX_MESSAGE_SIZE_DEFAULT = 100 * 1024 * 1024;
+
+    // max number of entries of a full image received in one thrift message, 0 to receive it at once
+    public static final String SENTRY_HDFS_IMAGE_CHUNK_SIZE = "sentry.hdfs.service.client.image.chunk.size";
+    public static final int SENTRY_HDFS_IMAGE_CHUNK_SIZE_DEFAULT = 200000;
+
+    // max time the server waits for new updates before returning none, 0 to return at once.
+    // It should be well below the socket timeout and the stale threshold of the NameNode cache.
+    public static final String SENTRY_HDFS_UPDATES_MAX_WAIT_MS = "sentry.hdfs.service.client.updates.max-wait.ms";
+    public static final int SENTRY_HDFS_UPDATES_MAX_WAIT_MS_DEFAULT = 10000;
   }
 }
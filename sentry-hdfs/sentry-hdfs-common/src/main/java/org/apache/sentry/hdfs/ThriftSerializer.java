@@ -17,20 +17,52 @@
  */
 package org.apache.sentry.hdfs;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.thrift.TBase;
+import org.apache.thrift.TByteArrayOutputStream;
 import org.apache.thrift.TDeserializer;
 import org.apache.thrift.TException;
-import org.apache.thrift.TSerializer;
 import org.apache.thrift.protocol.TCompactProtocol;
 import org.apache.thrift.protocol.TJSONProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TIOStreamTransport;
 
 public class ThriftSerializer {
 
-  final static private TJSONProtocol.Factory tJSONProtocol =
-          new TJSONProtocol.Factory();
+  /**
+   * Formats of the strings written by {@link #serializeToString(TBase)}.
+   */
+  public enum StringFormat {
+    // Thrift JSON, read by all versions
+    JSON,
+    // Base64 encoded TCompact bytes, compressed when large
+    COMPACT
+  }
+
+  // Strings of serialized objects in binary format start with this prefix followed
+  // by the format version, then by the Base64 encoded bytes. JSON strings start with '{'.
+  private static final char BINARY_FORMAT_PREFIX = '#';
+  // TCompact bytes
+  private static final char FORMAT_COMPACT = '1';
+  // TCompact bytes compressed with deflate
+  private static final char FORMAT_COMPACT_DEFLATE = '2';
+  // Smaller serialized objects are not compressed
+  private static final int COMPRESSION_THRESHOLD = 512;
+
+  private static final int INITIAL_BUFFER_SIZE = 1024;
+  // Larger buffers, e.g. used for full images, are not kept by the threads
+  @VisibleForTesting
+  static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
 
   // Use default max thrift message size here.
   // TODO: Figure out a way to make maxMessageSize configurable, eg. create a serializer singleton at startup by
@@ -38,25 +70,91 @@ public class ThriftSerializer {
   @VisibleForTesting
   static long maxMessageSize = ServiceConstants.ClientConfig.SENTRY_HDFS_THRIFT_MAX_MESSAGE_SIZE_DEFAULT;
 
+  private static volatile StringFormat stringFormat = StringFormat.JSON;
+
+  /**
+   * Protocols and buffer used by a thread. Thrift protocols are not thread safe,
+   * but are reused by a thread along with the buffer they write into, instead of
+   * being created for each object serialized.
+   */
+  private static final class Serializers {
+    private final long maxMessageSize;
+    private final TByteArrayOutputStream buffer = new TByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+    private final TProtocol compactOut;
+    private final TProtocol jsonOut;
+    private final TDeserializer compactDeserializer;
+    private final TDeserializer jsonDeserializer;
+
+    private Serializers(long maxMessageSize) {
+      this.maxMessageSize = maxMessageSize;
+      TIOStreamTransport transport = new TIOStreamTransport(buffer);
+      compactOut = new TCompactProtocol(transport);
+      jsonOut = new TJSONProtocol(transport);
+      compactDeserializer =
+          new TDeserializer(new TCompactProtocol.Factory(maxMessageSize, maxMessageSize));
+      jsonDeserializer = new TDeserializer(new TJSONProtocol.Factory());
+    }
+
+    /**
+     * Writes an object into the buffer of this thread.
+     */
+    @SuppressWarnings("rawtypes")
+    private void write(TBase base, TProtocol protocol) throws TException {
+      buffer.reset();
+      base.write(protocol);
+    }
+  }
+
+  private static final ThreadLocal<Serializers> serializers = new ThreadLocal<>();
+
+  private static Serializers getSerializers() {
+    Serializers current = serializers.get();
+    if (current == null || current.maxMessageSize != maxMessageSize) {
+      current = new Serializers(maxMessageSize);
+      serializers.set(current);
+    }
+    return current;
+  }
+
+  /**
+   * Releases the serializers of this thread if their buffer grew too large, or
+   * if they failed and might be left in an inconsistent state.
+   */
+  private static void release(Serializers current, boolean failed) {
+    if (failed || current.buffer.get().length > MAX_RETAINED_BUFFER_SIZE) {
+      serializers.remove();
+    }
+  }
+
   @SuppressWarnings("rawtypes")
   public static byte[] serialize(TBase baseObject) throws IOException {
-    TSerializer serializer = new TSerializer(new TCompactProtocol.Factory(maxMessageSize, maxMessageSize));
+    Serializers current = getSerializers();
+    boolean failed = true;
     try {
-      return serializer.serialize(baseObject);
+      current.write(baseObject, current.compactOut);
+      byte[] serialized = Arrays.copyOf(current.buffer.get(), current.buffer.len());
+      failed = false;
+      return serialized;
     } catch (TException e) {
       throw new IOException("Error serializing thrift object "
           + baseObject, e);
+    } finally {
+      release(current, failed);
     }
   }
 
   @SuppressWarnings("rawtypes")
   public static TBase deserialize(TBase baseObject, byte[] serialized) throws IOException {
-    TDeserializer deserializer = new TDeserializer(new TCompactProtocol.Factory(maxMessageSize, maxMessageSize));
+    Serializers current = getSerializers();
+    boolean failed = true;
     try {
-      deserializer.deserialize(baseObject, serialized);
+      current.compactDeserializer.deserialize(baseObject, serialized);
+      failed = false;
     } catch (TException e) {
       throw new IOException("Error deserializing thrift object "
           + baseObject, e);
+    } finally {
+      release(current, failed);
     }
     return baseObject;
   }
@@ -65,16 +163,169 @@ public class ThriftSerializer {
     // Make constructor private to avoid instantiation
   }
 
+  /**
+   * Sets the format of the strings written by {@link #serializeToString(TBase)}.
+   * JSON is written by default, so that servers not reading the compact format
+   * can share the persisted objects.
+   */
+  public static void setStringFormat(StringFormat format) {
+    stringFormat = format;
+  }
+
+  public static StringFormat getStringFormat() {
+    return stringFormat;
+  }
+
+  /**
+   * Serializes an object to a string in the format set by
+   * {@link #setStringFormat(StringFormat)}.
+   * @see #deserializeFromString(TBase, String)
+   */
+  @SuppressWarnings("rawtypes")
+  public static String serializeToString(TBase base) throws TException {
+    return serializeToString(base, stringFormat);
+  }
+
+  /**
+   * Serializes an object to a string in JSON, or in a compact binary format
+   * where larger objects are compressed.
+   * @see #deserializeFromString(TBase, String)
+   */
+  @SuppressWarnings("rawtypes")
+  public static String serializeToString(TBase base, StringFormat format) throws TException {
+    if (format == StringFormat.JSON) {
+      return serializeToJSON(base);
+    }
+    Serializers current = getSerializers();
+    boolean failed = true;
+    try {
+      current.write(base, current.compactOut);
+      byte[] data = current.buffer.get();
+      int length = current.buffer.len();
+      char format = FORMAT_COMPACT;
+      if (length >= COMPRESSION_THRESHOLD) {
+        byte[] compressed = compress(data, length);
+        if (compressed.length < length) {
+          data = compressed;
+          length = compressed.length;
+          format = FORMAT_COMPACT_DEFLATE;
+        }
+      }
+      ByteBuffer encoded = Base64.getEncoder().encode(ByteBuffer.wrap(data, 0, length));
+      String serialized = new StringBuilder(2 + encoded.remaining())
+          .append(BINARY_FORMAT_PREFIX).append(format)
+          .append(StandardCharsets.ISO_8859_1.decode(encoded))
+          .toString();
+      failed = false;
+      return serialized;
+    } finally {
+      release(current, failed);
+    }
+  }
+
+  /**
+   * Deserializes an object from a string created by {@link #serializeToString(TBase)}
+   * in any format, or by {@link #serializeToJSON(TBase)}.
+   */
+  @SuppressWarnings("rawtypes")
+  public static void deserializeFromString(TBase base, String data) throws TException {
+    if (data.isEmpty() || data.charAt(0) != BINARY_FORMAT_PREFIX) {
+      deserializeFromJSON(base, data);
+      return;
+    }
+    if (data.length() < 2) {
+      throw new TException("Invalid serialized thrift object " + data);
+    }
+    byte[] bytes;
+    try {
+      bytes = Base64.getDecoder().decode(data.substring(2));
+    } catch (IllegalArgumentException e) {
+      throw new TException("Invalid serialized thrift object", e);
+    }
+    switch (data.charAt(1)) {
+      case FORMAT_COMPACT:
+        break;
+      case FORMAT_COMPACT_DEFLATE:
+        bytes = decompress(bytes);
+        break;
+      default:
+        throw new TException("Unknown format " + data.charAt(1) + " of serialized thrift object");
+    }
+    Serializers current = getSerializers();
+    boolean failed = true;
+    try {
+      current.compactDeserializer.deserialize(base, bytes);
+      failed = false;
+    } finally {
+      release(current, failed);
+    }
+  }
+
+  private static byte[] compress(byte[] data, int length) {
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(data, 0, length);
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2);
+      byte[] buffer = new byte[Math.min(length, 8192)];
+      while (!deflater.finished()) {
+        out.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] decompress(byte[] data) throws TException {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(data);
+      ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+      byte[] buffer = new byte[8192];
+      while (!inflater.finished()) {
+        int length = inflater.inflate(buffer);
+        if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new TException("Truncated compressed thrift object");
+        }
+        if (out.size() + length > maxMessageSize) {
+          throw new TException("Compressed thrift object is larger than " + maxMessageSize);
+        }
+        out.write(buffer, 0, length);
+      }
+      return out.toByteArray();
+    } catch (DataFormatException e) {
+      throw new TException("Invalid compressed thrift object", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
   public static String serializeToJSON(TBase base) throws TException  {
-    // Initiate a new TSerializer each time for thread safety.
-    TSerializer tSerializer = new TSerializer(tJSONProtocol);
-    return tSerializer.toString(base);
+    Serializers current = getSerializers();
+    boolean failed = true;
+    try {
+      current.write(base, current.jsonOut);
+      String serialized = new String(current.buffer.get(), 0, current.buffer.len(),
+          StandardCharsets.UTF_8);
+      failed = false;
+      return serialized;
+    } finally {
+      release(current, failed);
+    }
   }
 
+  @SuppressWarnings("rawtypes")
   public static void deserializeFromJSON(TBase base, String dataInJson) throws TException {
-    // Initiate a new TDeserializer each time for thread safety.
-    TDeserializer tDeserializer = new TDeserializer(tJSONProtocol);
-    tDeserializer.fromString(base, dataInJson);
+    Serializers current = getSerializers();
+    boolean failed = true;
+    try {
+      current.jsonDeserializer.deserialize(base, dataInJson.getBytes(StandardCharsets.UTF_8));
+      failed = false;
+    } finally {
+      release(current, failed);
+    }
   }
 
 }
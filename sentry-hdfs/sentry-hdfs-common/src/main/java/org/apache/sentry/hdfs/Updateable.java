@@ -61,6 +61,24 @@ public interface Updateable<K extends Updateable.Update> {
      * @throws TException
      */
     String JSONSerialize() throws TException;
+
+    /**
+     * Deserialize the update from a string representation to an object. Both the
+     * binary and the JSON format representations are read.
+     *
+     * @param update the given string representation
+     * @throws TException
+     */
+    void deserializeFromString(String update) throws TException;
+
+    /**
+     * Serialize the update from the object to a string representation of its
+     * compact binary format, smaller and faster to read than the JSON format.
+     *
+     * @return the string representation
+     * @throws TException
+     */
+    String serializeToString() throws TException;
   }
 
   /**
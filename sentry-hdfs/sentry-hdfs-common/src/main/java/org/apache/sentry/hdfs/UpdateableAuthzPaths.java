@@ -35,18 +35,40 @@ public class UpdateableAuthzPaths implements AuthzPaths, Updateable<PathsUpdate>
   private static final int MAX_UPDATES_PER_LOCK_USE = 99;
   private static final String UPDATABLE_TYPE_NAME = "path_update";
   private static final Logger LOG = LoggerFactory.getLogger(UpdateableAuthzPaths.class);
-  private volatile HMSPaths paths;
+  private volatile HMSPathsTree paths;
   private final AtomicLong seqNum = new AtomicLong(SEQUENCE_NUMBER_UPDATE_UNINITIALIZED);
   private final AtomicLong imgNum = new AtomicLong(IMAGE_NUMBER_UPDATE_UNINITIALIZED);
 
   public UpdateableAuthzPaths(String[] pathPrefixes) {
-    this.paths = new HMSPaths(pathPrefixes);
+    this(pathPrefixes, false);
   }
 
-  UpdateableAuthzPaths(HMSPaths paths) {
+  /**
+   * @param compact whether to keep the paths in a {@link CompactHMSPaths}, which
+   *        takes less memory, but whose copies taken to apply each batch of updates
+   *        copy the whole tree, while those of {@link HMSPaths} only copy what changes.
+   *        The full images and copies derived from these paths keep the same
+   *        implementation.
+   */
+  public UpdateableAuthzPaths(String[] pathPrefixes, boolean compact) {
+    this.paths = compact ? new CompactHMSPaths(pathPrefixes) : new HMSPaths(pathPrefixes);
+  }
+
+  UpdateableAuthzPaths(HMSPathsTree paths) {
     this.paths = paths;
   }
 
+  /**
+   * Creates a copy of these paths, to which updates can be applied while
+   * this object keeps serving lookups.
+   */
+  public UpdateableAuthzPaths copy() {
+    UpdateableAuthzPaths other = new UpdateableAuthzPaths(paths.copy());
+    other.seqNum.set(seqNum.get());
+    other.imgNum.set(imgNum.get());
+    return other;
+  }
+
   @Override
   public boolean isUnderPrefix(String[] pathElements) {
     return paths.isUnderPrefix(pathElements);
@@ -71,6 +93,53 @@ public class UpdateableAuthzPaths implements AuthzPaths, Updateable<PathsUpdate>
     return other;
   }
 
+  /**
+   * Creates a reader of a full image sent in chunks, with the prefixes of
+   * these paths.
+   */
+  public ImageChunkReader newImageChunkReader() {
+    return new ImageChunkReader(paths.newChunkReader());
+  }
+
+  /**
+   * Builds new paths from the chunks of a full image, read in order.
+   */
+  public static final class ImageChunkReader {
+    private final HMSPathsTree.ChunkReader reader;
+    private PathsUpdate firstChunk;
+
+    private ImageChunkReader(HMSPathsTree.ChunkReader reader) {
+      this.reader = reader;
+    }
+
+    public void readChunk(PathsUpdate chunk) {
+      if (!chunk.hasFullImage()) {
+        throw new IllegalArgumentException("Not a full image chunk: " + chunk);
+      }
+      if (firstChunk == null) {
+        firstChunk = chunk;
+      } else if (chunk.getSeqNum() != firstChunk.getSeqNum() ||
+          chunk.getImgNum() != firstChunk.getImgNum()) {
+        throw new IllegalArgumentException("Chunk " + chunk + " is not part of the image " +
+            firstChunk);
+      }
+      reader.readChunk(chunk.toThrift().getPathsDump());
+    }
+
+    /**
+     * @return the paths of the image, once all the chunks were read.
+     */
+    public UpdateableAuthzPaths getPaths() {
+      if (firstChunk == null) {
+        throw new IllegalStateException("No chunk was read");
+      }
+      UpdateableAuthzPaths other = new UpdateableAuthzPaths(reader.getPaths());
+      other.seqNum.set(firstChunk.getSeqNum());
+      other.imgNum.set(firstChunk.getImgNum());
+      return other;
+    }
+  }
+
   @Override
   public void updatePartial(Iterable<PathsUpdate> updates, ReadWriteLock lock) {
     lock.writeLock().lock();
@@ -133,22 +202,24 @@ public class UpdateableAuthzPaths implements AuthzPaths, Updateable<PathsUpdate>
         addPathChanges.add(pathChanges);
       }
     }
+    // Logged at debug level, as formatting the paths of each change slows down
+    // catching up with many updates
     for (TPathChanges pathChanges : deletePathChanges) {
       List<List<String>> delPaths = pathChanges.getDelPaths();
       if (delPaths.size() == 1 && delPaths.get(0).size() == 1
               && delPaths.get(0).get(0).equals(PathsUpdate.ALL_PATHS)) {
         // Remove all paths.. eg. drop table
-        LOG.info("Applying Path update. Deleting all paths for authz obj {}", pathChanges.getAuthzObj());
+        LOG.debug("Applying Path update. Deleting all paths for authz obj {}", pathChanges.getAuthzObj());
         paths.deleteAuthzObject(pathChanges.getAuthzObj());
       } else {
-        LOG.info("Applying Path update. Deleting path for authz object: {} authz path: {}",
+        LOG.debug("Applying Path update. Deleting path for authz object: {} authz path: {}",
             pathChanges.getAuthzObj(), pathChanges.getDelPaths());
         paths.deletePathsFromAuthzObject(pathChanges.getAuthzObj(), pathChanges
                 .getDelPaths());
       }
     }
     for (TPathChanges pathChanges : addPathChanges) {
-      LOG.info("Applying Path update. Adding path for authz object {} authz path {}",
+      LOG.debug("Applying Path update. Adding path for authz object {} authz path {}",
           pathChanges.getAuthzObj(), pathChanges.getAddPaths());
       applyAddChanges(pathChanges.getAuthzObj(), pathChanges.getAddPaths());
     }
@@ -123,12 +123,34 @@ struct TPermissionsUpdate {
 struct TAuthzUpdateResponse {
 1: optional list<TPathsUpdate> authzPathUpdate,
 2: optional list<TPermissionsUpdate> authzPermUpdate,
+
+# Set when the returned full paths image is only a chunk of the image.
+# The next chunk is requested by passing the token back.
+3: optional string pathsImageToken,
+
+# Set when the returned full permissions image is only a chunk of the image.
+# The next chunk is requested by passing the token back.
+4: optional string permsImageToken,
 }
 
 struct TAuthzUpdateRequest {
 1: required i64 permSeqNum;
 2: required i64 pathSeqNum;
 3: required i64 pathImgNum;
+
+# Maximum number of path entries, or of roles and authorizable objects, of a
+# full image sent in one response. Full images are sent at once if not set.
+4: optional i32 maxImageChunkSize;
+
+# Tokens of the next full image chunks, as returned with the previous chunks.
+# Only the requested chunks are returned when any of them is set.
+5: optional string pathsImageToken;
+6: optional string permsImageToken;
+
+# Maximum time in milliseconds to wait for new updates when there are none
+# yet. The response is returned as soon as an update is committed, or empty
+# when the time elapses. Returned at once if not set.
+7: optional i32 maxWaitMs;
 }
 
 service SentryHDFSService
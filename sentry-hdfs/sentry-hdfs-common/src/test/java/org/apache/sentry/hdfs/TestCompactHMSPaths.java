@@ -0,0 +1,380 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sentry.hdfs.service.thrift.TPathsDump;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Checks that {@link CompactHMSPaths} answers lookups like {@link HMSPaths}
+ * after the same updates, and compares their memory use and lookup time.
+ */
+public class TestCompactHMSPaths {
+  private static final Logger LOG = LoggerFactory.getLogger(TestCompactHMSPaths.class);
+
+  private static final String[] PREFIXES = {"/user/hive/warehouse", "/user/hive/w2"};
+  private static final String WAREHOUSE = "/user/hive/warehouse";
+
+  @Test
+  public void testLookups() {
+    CompactHMSPaths paths = new CompactHMSPaths(PREFIXES);
+    paths._addAuthzObject("default", Lists.newArrayList(WAREHOUSE));
+    paths._addAuthzObject("db1", Lists.newArrayList(WAREHOUSE + "/db1"));
+    paths._addAuthzObject("db1.tbl11", Lists.newArrayList(WAREHOUSE + "/db1/tbl11"));
+    paths._addPathsToAuthzObject("db1.tbl11", Lists.newArrayList(
+        WAREHOUSE + "/db1/tbl11/part111", WAREHOUSE + "/db1/tbl11/part112"));
+    // Outside of the prefixes
+    paths._addAuthzObject("db2", Lists.newArrayList("/tmp/db2"));
+
+    assertTrue(paths.isUnderPrefix(new String[]{"user", "hive", "warehouse"}));
+    assertTrue(paths.isUnderPrefix(new String[]{"user", "hive", "w2", "x"}));
+    assertFalse(paths.isUnderPrefix(new String[]{"user", "hive"}));
+    assertFalse(paths.isUnderPrefix(new String[]{"tmp", "db2"}));
+
+    assertEquals("[db1.tbl11]", paths.findAuthzObject(
+        new String[]{"user", "hive", "warehouse", "db1", "tbl11", "part111"}).toString());
+    assertEquals("[db1.tbl11]", paths.findAuthzObject(
+        new String[]{"user", "hive", "warehouse", "db1", "tbl11", "part113", "x"}).toString());
+    assertNull(paths.findAuthzObjectExactMatches(
+        new String[]{"user", "hive", "warehouse", "db1", "tbl11", "part113", "x"}));
+    assertEquals("[db1]", paths.findAuthzObject(
+        new String[]{"user", "hive", "warehouse", "db1"}).toString());
+    assertEquals("[default]", paths.findAuthzObject(
+        new String[]{"user", "hive", "warehouse", "db3"}).toString());
+    assertNull(paths.findAuthzObject(new String[]{"tmp", "db2"}));
+    assertNull(paths.findAuthzObject(new String[]{}));
+
+    // Authz objects are case insensitive
+    paths._addPathsToAuthzObject("DB1.TBL11", Lists.newArrayList(WAREHOUSE + "/db1/tbl11/part113"));
+    assertEquals("[db1.tbl11]", paths.findAuthzObjectExactMatches(
+        new String[]{"user", "hive", "warehouse", "db1", "tbl11", "part113"}).toString());
+
+    // Several authz objects on the same path
+    paths._addAuthzObject("db1.tbl12", Lists.newArrayList(WAREHOUSE + "/db1/tbl11"));
+    assertEquals("[db1.tbl11, db1.tbl12]", paths.findAuthzObjectExactMatches(
+        new String[]{"user", "hive", "warehouse", "db1", "tbl11"}).toString());
+    paths.deleteAuthzObject("db1.tbl11");
+    assertEquals("[db1.tbl12]", paths.findAuthzObjectExactMatches(
+        new String[]{"user", "hive", "warehouse", "db1", "tbl11"}).toString());
+    assertEquals("[db1.tbl12]", paths.findAuthzObject(
+        new String[]{"user", "hive", "warehouse", "db1", "tbl11", "part111"}).toString());
+
+    // Deleting the last authz object removes the path entries
+    int numEntries = paths.getNumEntries();
+    paths.deleteAuthzObject("db1.tbl12");
+    assertEquals(numEntries - 1, paths.getNumEntries());
+    assertEquals("[db1]", paths.findAuthzObject(
+        new String[]{"user", "hive", "warehouse", "db1", "tbl11"}).toString());
+  }
+
+  /**
+   * Applies the same random updates to HMSPaths and CompactHMSPaths, and compares
+   * their lookups after each of them.
+   */
+  @Test
+  public void testUpdatesMatchHMSPaths() {
+    HMSPaths hmsPaths = new HMSPaths(PREFIXES);
+    CompactHMSPaths compactPaths = new CompactHMSPaths(PREFIXES);
+    Random random = new Random(42);
+    int numDbs = 3;
+    int numTables = 8;
+    int numPartitions = 6;
+
+    // Table names to their location, as tables are renamed
+    Map<String, String> tables = new TreeMap<>();
+    for (int d = 0; d < numDbs; d++) {
+      List<List<String>> dbPath = pathsElements(WAREHOUSE + "/db" + d);
+      hmsPaths.addAuthzObject("db" + d, dbPath);
+      compactPaths.addAuthzObject("db" + d, dbPath);
+    }
+
+    List<String[]> probes = new ArrayList<>();
+    for (int d = 0; d < numDbs; d++) {
+      for (int t = 0; t < numTables; t++) {
+        for (int p = 0; p < numPartitions; p++) {
+          probes.add(new String[]{"user", "hive", "warehouse", "db" + d, "tbl" + t, "p=" + p});
+          probes.add(new String[]{"user", "hive", "warehouse", "db" + d, "tbl" + t, "p=" + p, "f"});
+        }
+        probes.add(new String[]{"user", "hive", "warehouse", "db" + d, "tbl" + t});
+      }
+      probes.add(new String[]{"user", "hive", "warehouse", "db" + d});
+    }
+    probes.add(new String[]{"user", "hive", "w2"});
+    probes.add(new String[]{"user", "hive"});
+
+    for (int i = 0; i < 2000; i++) {
+      String db = "db" + random.nextInt(numDbs);
+      String location = WAREHOUSE + "/" + db + "/tbl" + random.nextInt(numTables);
+      String table = db + "." + location.substring(location.lastIndexOf('/') + 1);
+      List<List<String>> partitions = new ArrayList<>();
+      for (int p = random.nextInt(3); p >= 0; p--) {
+        partitions.add(HMSPaths.getPathElements(location + "/p=" + random.nextInt(numPartitions)));
+      }
+
+      switch (random.nextInt(5)) {
+      case 0:
+        if (!tables.containsKey(table) && !tables.containsValue(location)) {
+          hmsPaths.addAuthzObject(table, pathsElements(location));
+          compactPaths.addAuthzObject(table, pathsElements(location));
+          tables.put(table, location);
+        }
+        break;
+      case 1:
+        if (tables.containsKey(table)) {
+          partitions = new ArrayList<>();
+          for (int p = random.nextInt(3); p >= 0; p--) {
+            partitions.add(HMSPaths.getPathElements(
+                tables.get(table) + "/p=" + random.nextInt(numPartitions)));
+          }
+          hmsPaths.addPathsToAuthzObject(table, partitions, true);
+          compactPaths.addPathsToAuthzObject(table, partitions, true);
+        }
+        break;
+      case 2:
+        if (tables.containsKey(table)) {
+          partitions = new ArrayList<>();
+          for (int p = random.nextInt(3); p >= 0; p--) {
+            partitions.add(HMSPaths.getPathElements(
+                tables.get(table) + "/p=" + random.nextInt(numPartitions)));
+          }
+          hmsPaths.deletePathsFromAuthzObject(table, partitions);
+          compactPaths.deletePathsFromAuthzObject(table, partitions);
+        }
+        break;
+      case 3:
+        if (tables.containsKey(table)) {
+          hmsPaths.deleteAuthzObject(table);
+          compactPaths.deleteAuthzObject(table);
+          tables.remove(table);
+        }
+        break;
+      default:
+        // Rename an existing table of the database to a new name and location
+        String newTable = table;
+        if (tables.containsKey(table)) {
+          String oldLocation = tables.get(table);
+          String newLocation = oldLocation.substring(0, oldLocation.lastIndexOf('/'))
+              + "/tbl" + random.nextInt(numTables);
+          newTable = db + "." + newLocation.substring(newLocation.lastIndexOf('/') + 1);
+          if (!tables.containsKey(newTable) && !tables.containsValue(newLocation)) {
+            hmsPaths.renameAuthzObject(table, pathsElements(oldLocation),
+                newTable, pathsElements(newLocation));
+            compactPaths.renameAuthzObject(table, pathsElements(oldLocation),
+                newTable, pathsElements(newLocation));
+            tables.remove(table);
+            tables.put(newTable, newLocation);
+          }
+        }
+        break;
+      }
+
+      for (String[] probe : probes) {
+        assertEquals("Step " + i, hmsPaths.findAuthzObject(probe),
+            compactPaths.findAuthzObject(probe));
+        assertEquals("Step " + i, hmsPaths.findAuthzObjectExactMatches(probe),
+            compactPaths.findAuthzObjectExactMatches(probe));
+        assertEquals("Step " + i, hmsPaths.isUnderPrefix(probe),
+            compactPaths.isUnderPrefix(probe));
+      }
+    }
+
+    // Unused path entries are reclaimed
+    for (String table : tables.keySet()) {
+      compactPaths.deleteAuthzObject(table);
+    }
+    for (int d = 0; d < numDbs; d++) {
+      compactPaths.deleteAuthzObject("db" + d);
+    }
+    // Root, "user", "hive" and the two prefixes
+    assertEquals(5, compactPaths.getNumEntries());
+  }
+
+  @Test
+  public void testDumpCompatibility() {
+    HMSPaths hmsPaths = new HMSPaths(PREFIXES);
+    CompactHMSPaths compactPaths = new CompactHMSPaths(PREFIXES);
+    List<String[]> probes = new ArrayList<>();
+    for (int t = 0; t < 10; t++) {
+      List<String> tablePaths = Lists.newArrayList(WAREHOUSE + "/db1/tbl" + t);
+      for (int p = 0; p < 10; p++) {
+        tablePaths.add(WAREHOUSE + "/db1/tbl" + t + "/part_duplicate=" + p);
+        probes.add(new String[]{"user", "hive", "warehouse", "db1", "tbl" + t,
+            "part_duplicate=" + p});
+      }
+      hmsPaths._addAuthzObject("db1.tbl" + t, tablePaths);
+      compactPaths._addAuthzObject("db1.tbl" + t, tablePaths);
+    }
+    hmsPaths._addAuthzObject("default", Lists.newArrayList(WAREHOUSE));
+    compactPaths._addAuthzObject("default", Lists.newArrayList(WAREHOUSE));
+    probes.add(new String[]{"user", "hive", "warehouse", "db2"});
+
+    for (boolean minimizeSize : new boolean[] {false, true}) {
+      TPathsDump compactDump = compactPaths.getPathsDump().createPathsDump(minimizeSize);
+      TPathsDump hmsDump = hmsPaths.getPathsDump().createPathsDump(minimizeSize);
+      HMSPaths fromCompactDump = new HMSPaths(PREFIXES).getPathsDump()
+          .initializeFromDump(compactDump);
+      CompactHMSPaths fromHmsDump = new CompactHMSPaths(PREFIXES).getPathsDump()
+          .initializeFromDump(hmsDump);
+      assertEquals(compactPaths.getNumEntries(), fromHmsDump.getNumEntries());
+      for (String[] probe : probes) {
+        assertEquals(hmsPaths.findAuthzObject(probe), fromCompactDump.findAuthzObject(probe));
+        assertEquals(hmsPaths.findAuthzObject(probe), fromHmsDump.findAuthzObject(probe));
+      }
+
+      // The dump read in chunks gives the same paths
+      for (int chunkSize : new int[] {1, 7, hmsDump.getNodeMapSize()}) {
+        CompactHMSPaths.ChunkReader reader = new CompactHMSPaths(PREFIXES).newChunkReader();
+        for (int offset = 0; offset < hmsDump.getNodeMapSize(); offset += chunkSize) {
+          reader.readChunk(HMSPathsDumper.getPathsDumpChunk(hmsDump, offset, chunkSize));
+        }
+        CompactHMSPaths fromChunks = reader.getPaths();
+        assertEquals(compactPaths.getNumEntries(), fromChunks.getNumEntries());
+        for (String[] probe : probes) {
+          assertEquals(hmsPaths.findAuthzObject(probe), fromChunks.findAuthzObject(probe));
+        }
+      }
+
+      // Updates are applied to the paths read from the dump
+      fromHmsDump.deleteAuthzObject("db1.tbl0");
+      assertEquals("[default]", fromHmsDump.findAuthzObject(probes.get(0)).toString());
+    }
+  }
+
+  @Test
+  public void testCopy() {
+    CompactHMSPaths paths = new CompactHMSPaths(PREFIXES);
+    paths._addAuthzObject("db1.tbl1", Lists.newArrayList(WAREHOUSE + "/db1/tbl1"));
+    CompactHMSPaths copy = paths.copy();
+    copy.deleteAuthzObject("db1.tbl1");
+    copy._addAuthzObject("db1.tbl2", Lists.newArrayList(WAREHOUSE + "/db1/tbl2"));
+
+    String[] tbl1 = {"user", "hive", "warehouse", "db1", "tbl1"};
+    String[] tbl2 = {"user", "hive", "warehouse", "db1", "tbl2"};
+    assertEquals("[db1.tbl1]", paths.findAuthzObject(tbl1).toString());
+    assertNull(paths.findAuthzObject(tbl2));
+    assertNull(copy.findAuthzObject(tbl1));
+    assertEquals("[db1.tbl2]", copy.findAuthzObject(tbl2).toString());
+  }
+
+  /**
+   * Compares the heap used by HMSPaths and CompactHMSPaths for the same paths, and their
+   * lookup time. The number of partitions can be set with the
+   * sentry.hdfs.paths.benchmark.partitions system property.
+   */
+  @Ignore("Benchmark")
+  @Test
+  public void benchmarkMemoryAndLookup() {
+    int numPartitions = Integer.getInteger("sentry.hdfs.paths.benchmark.partitions", 200000);
+    int numTables = Math.max(1, numPartitions / 1000);
+
+    long before = usedMemory();
+    HMSPaths hmsPaths = new HMSPaths(new String[] {WAREHOUSE});
+    addBenchmarkPaths(hmsPaths, null, numTables, numPartitions / numTables);
+    long hmsPathsMemory = usedMemory() - before;
+
+    before = usedMemory();
+    CompactHMSPaths compactPaths = new CompactHMSPaths(new String[] {WAREHOUSE});
+    addBenchmarkPaths(null, compactPaths, numTables, numPartitions / numTables);
+    long compactPathsMemory = usedMemory() - before;
+
+    List<String[]> lookups = new ArrayList<>();
+    Random random = new Random(0);
+    for (int i = 0; i < 100000; i++) {
+      int t = random.nextInt(numTables);
+      int p = random.nextInt(numPartitions / numTables);
+      lookups.add(new String[]{"user", "hive", "warehouse", "db" + (t % 10) + ".db",
+          "tbl" + t, "ds=2018-01-" + p, "part-00000"});
+    }
+    long hmsPathsNanos = timeLookups(hmsPaths, lookups);
+    long compactPathsNanos = timeLookups(compactPaths, lookups);
+    for (String[] lookup : lookups.subList(0, 100)) {
+      assertEquals(hmsPaths.findAuthzObject(lookup), compactPaths.findAuthzObject(lookup));
+    }
+
+    LOG.info(String.format("%d partitions: HMSPaths %d MB, %d ns/lookup; " +
+        "CompactHMSPaths %d MB, %d ns/lookup", numPartitions,
+        hmsPathsMemory >> 20, hmsPathsNanos / lookups.size(),
+        compactPathsMemory >> 20, compactPathsNanos / lookups.size()));
+  }
+
+  private static void addBenchmarkPaths(HMSPaths hmsPaths, CompactHMSPaths compactPaths,
+      int numTables, int numPartitionsPerTable) {
+    for (int t = 0; t < numTables; t++) {
+      String table = "db" + (t % 10) + ".tbl" + t;
+      String location = WAREHOUSE + "/db" + (t % 10) + ".db/tbl" + t;
+      List<List<String>> paths = new ArrayList<>(numPartitionsPerTable + 1);
+      paths.add(HMSPaths.getPathElements(location));
+      for (int p = 0; p < numPartitionsPerTable; p++) {
+        paths.add(HMSPaths.getPathElements(location + "/ds=2018-01-" + p));
+      }
+      if (hmsPaths != null) {
+        hmsPaths.addAuthzObject(table, paths);
+      } else {
+        compactPaths.addAuthzObject(table, paths);
+      }
+    }
+  }
+
+  private static long timeLookups(AuthzPaths paths, List<String[]> lookups) {
+    // Warm up
+    for (String[] lookup : lookups) {
+      paths.findAuthzObject(lookup);
+    }
+    long start = System.nanoTime();
+    for (String[] lookup : lookups) {
+      paths.findAuthzObject(lookup);
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static long usedMemory() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      try {
+        TimeUnit.MILLISECONDS.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private static List<List<String>> pathsElements(String path) {
+    List<List<String>> result = new ArrayList<>();
+    result.add(HMSPaths.getPathElements(path));
+    return result;
+  }
+}
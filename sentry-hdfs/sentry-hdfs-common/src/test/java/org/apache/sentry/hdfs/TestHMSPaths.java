@@ -459,5 +459,75 @@ public class TestHMSPaths {
     // Authz Object is case insensitive.
     Assert.assertTrue(entry.getAuthzObjs().contains("a"));
   }
+
+  @Test
+  public void testCopySharesUnchangedEntries() {
+    HMSPaths paths = new HMSPaths(new String[] {"/user/hive/warehouse"});
+    paths._addAuthzObject("db1", Lists.newArrayList("/user/hive/warehouse/db1.db"));
+    paths._addAuthzObject("db1.tbl1", Lists.newArrayList("/user/hive/warehouse/db1.db/tbl1"));
+    paths._addAuthzObject("db2", Lists.newArrayList("/user/hive/warehouse/db2.db"));
+    paths._addAuthzObject("db2.tbl2", Lists.newArrayList("/user/hive/warehouse/db2.db/tbl2"));
+    String[] tbl2 = {"user", "hive", "warehouse", "db2.db", "tbl2"};
+    String[] tbl1 = {"user", "hive", "warehouse", "db1.db", "tbl1"};
+
+    HMSPaths copy = paths.copy();
+    copy._addAuthzObject("db1.tbl3", Lists.newArrayList("/user/hive/warehouse/db1.db/tbl3"));
+
+    // The entries which are not on the updated path are shared
+    Assert.assertSame(paths.getRootEntry().find(tbl2, false),
+        copy.getRootEntry().find(tbl2, false));
+    Assert.assertSame(paths.getRootEntry().find(tbl1, false),
+        copy.getRootEntry().find(tbl1, false));
+    Assert.assertNotSame(paths.getRootEntry(), copy.getRootEntry());
+    Assert.assertNull(paths.findAuthzObjectExactMatches(new String[] {"user", "hive", "warehouse", "db1.db", "tbl3"}));
+    Assert.assertEquals(Collections.singleton("db1.tbl3"),
+        copy.findAuthzObjectExactMatches(new String[] {"user", "hive", "warehouse", "db1.db", "tbl3"}));
+
+    // Updating a shared entry in the original copies it
+    paths.deleteAuthzObject("db1.tbl1");
+    Assert.assertNull(paths.findAuthzObject(tbl1, false));
+    Assert.assertEquals(Collections.singleton("db1.tbl1"), copy.findAuthzObject(tbl1, false));
+    Assert.assertSame(paths.getRootEntry().find(tbl2, false),
+        copy.getRootEntry().find(tbl2, false));
+  }
+
+  @Test
+  public void testRenameInCopy() {
+    HMSPaths paths = new HMSPaths(new String[] {"/user/hive/warehouse"});
+    String tablePath = "/user/hive/warehouse/db1.db/table1";
+    String partitionPath = "/user/hive/warehouse/db1.db/table1/part1";
+    paths.addAuthzObject("db1.table1",
+        HMSPaths.getPathsElements(Arrays.asList(tablePath, partitionPath)));
+
+    HMSPaths copy = paths.copy();
+    String newTablePath = "/user/hive/warehouse/db2.db/table2";
+    copy.renameAuthzObject("db1.table1", HMSPaths.getPathsElements(Arrays.asList(tablePath)),
+        "db2.table2", HMSPaths.getPathsElements(Arrays.asList(newTablePath)));
+
+    // The copy has the moved paths
+    Set<String> expectedSet = Collections.singleton("db2.table2");
+    Assert.assertEquals(expectedSet, copy.findAuthzObjectExactMatches(elements(newTablePath)));
+    Assert.assertEquals(expectedSet,
+        copy.findAuthzObjectExactMatches(elements(newTablePath + "/part1")));
+    Assert.assertNull(copy.findAuthzObjectExactMatches(elements(partitionPath)));
+    HMSPaths.Entry movedPartition =
+        copy.getRootEntry().find(elements(newTablePath + "/part1"), false);
+    Assert.assertEquals(newTablePath + "/part1", movedPartition.getFullPath());
+
+    // The original is unchanged
+    expectedSet = Collections.singleton("db1.table1");
+    Assert.assertEquals(expectedSet, paths.findAuthzObjectExactMatches(elements(tablePath)));
+    Assert.assertEquals(expectedSet, paths.findAuthzObjectExactMatches(elements(partitionPath)));
+    Assert.assertNull(paths.findAuthzObjectExactMatches(elements(newTablePath)));
+
+    // Deleting the renamed table only updates the copy
+    copy.deleteAuthzObject("db2.table2");
+    Assert.assertNull(copy.findAuthzObjectExactMatches(elements(newTablePath)));
+    Assert.assertEquals(expectedSet, paths.findAuthzObjectExactMatches(elements(partitionPath)));
+  }
+
+  private static String[] elements(String path) {
+    return HMSPaths.getPathElements(path).toArray(new String[0]);
+  }
   
 }
@@ -97,8 +97,26 @@ public class TestHMSPathsFullDump {
   }
 
   private void checkDeserializedHmsPaths(TPathsDump pathsDump) {
-    HMSPaths hmsPaths2 = new HMSPaths(new String[] {"/user/hive/warehouse"}).getPathsDump().initializeFromDump(pathsDump);
+    checkDeserializedHmsPaths(
+        new HMSPaths(new String[] {"/user/hive/warehouse"}).getPathsDump().initializeFromDump(pathsDump));
+
+    // Read the dump in chunks of all sizes
+    for (int chunkSize = 1; chunkSize <= pathsDump.getNodeMapSize(); chunkSize++) {
+      HMSPathsDumper.ChunkReader reader =
+          new HMSPathsDumper.ChunkReader(new String[] {"/user/hive/warehouse"});
+      for (int offset = 0; offset < pathsDump.getNodeMapSize(); offset += chunkSize) {
+        TPathsDump chunk = HMSPathsDumper.getPathsDumpChunk(pathsDump, offset, chunkSize);
+        Assert.assertEquals(Math.min(chunkSize, pathsDump.getNodeMapSize() - offset),
+            chunk.getNodeMapSize());
+        Assert.assertEquals(offset == 0 && pathsDump.isSetDupStringValues(),
+            chunk.isSetDupStringValues());
+        reader.readChunk(chunk);
+      }
+      checkDeserializedHmsPaths(reader.getPaths());
+    }
+  }
 
+  private void checkDeserializedHmsPaths(HMSPaths hmsPaths2) {
     Assert.assertEquals(new HashSet<String>(Arrays.asList("default")), hmsPaths2.findAuthzObject(new String[]{"user", "hive", "warehouse"}, false));
     Assert.assertEquals(new HashSet<String>(Arrays.asList("db1")), hmsPaths2.findAuthzObject(new String[]{"user", "hive", "warehouse", "db1"}, false));
     Assert.assertEquals(new HashSet<String>(Arrays.asList("db1.tbl11")), hmsPaths2.findAuthzObject(new String[]{"user", "hive", "warehouse", "db1", "tbl11"}, false));
@@ -134,6 +152,38 @@ public class TestHMSPathsFullDump {
     Assert.assertEquals(new HashSet<String>(Arrays.asList("db9.tbl999")), fromDump.findAuthzObject(new String[]{"user", "hive", "warehouse", "db9", "tbl999", "part99"}, false));
   }
 
+  @Test
+  public void testChunkReaderChecksOrder() {
+    HMSPaths hmsPaths = new HMSPaths(new String[] {"/user/hive/warehouse"});
+    for (int tblNum = 0; tblNum < 30; tblNum++) {
+      hmsPaths._addAuthzObject("db1.tbl" + tblNum,
+          Lists.newArrayList("/user/hive/warehouse/db1/tbl" + tblNum));
+    }
+    TPathsDump pathsDump = hmsPaths.getPathsDump().createPathsDump(true);
+    HMSPathsDumper.ChunkReader reader =
+        new HMSPathsDumper.ChunkReader(new String[] {"/user/hive/warehouse"});
+    try {
+      reader.readChunk(HMSPathsDumper.getPathsDumpChunk(pathsDump, 10, 10));
+      Assert.fail("Expected IllegalArgumentException, the root entry is missing");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+
+    reader.readChunk(HMSPathsDumper.getPathsDumpChunk(pathsDump, 0, 10));
+    try {
+      reader.readChunk(HMSPathsDumper.getPathsDumpChunk(pathsDump, 20, 10));
+      Assert.fail("Expected IllegalArgumentException, a chunk is missing");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      reader.getPaths();
+      Assert.fail("Expected IllegalStateException, the paths are incomplete");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+
   /**
    * Test ThriftSerializer with a larger message than thrift max message size.
    */
@@ -20,13 +20,19 @@ package org.apache.sentry.hdfs;
 import java.util.List;
 
 import com.google.common.collect.Lists;
+import org.apache.sentry.hdfs.ThriftSerializer.StringFormat;
 import org.apache.sentry.hdfs.service.thrift.TPathChanges;
 import org.apache.sentry.hdfs.service.thrift.TPathsUpdate;
 import org.apache.thrift.TException;
+import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class TestPathsUpdate {
+  private static final Logger LOGGER = LoggerFactory.getLogger(TestPathsUpdate.class);
+
   private List<String> uriToList(String uri) throws SentryMalformedPathException {
     String path = PathsUpdate.parsePath(uri);
     return Lists.newArrayList(path.split("/"));
@@ -93,4 +99,95 @@ public class TestPathsUpdate {
     update.JSONDeserialize(update.JSONSerialize());
     junit.framework.Assert.assertEquals(before, update.toThrift());
   }
+
+  @Test
+  public void testSerializeDeserializeInBinary() throws TException {
+    for (int numPartitions : new int[] {1, 1000}) {
+      PathsUpdate update = newPartitionsUpdate(numPartitions);
+      String serialized = ThriftSerializer.serializeToString(update.toThrift(),
+          StringFormat.COMPACT);
+      Assert.assertEquals('#', serialized.charAt(0));
+
+      PathsUpdate other = new PathsUpdate();
+      other.deserializeFromString(serialized);
+      Assert.assertEquals(update.toThrift(), other.toThrift());
+
+      // Changes stored in JSON format are still read
+      other = new PathsUpdate();
+      other.deserializeFromString(update.JSONSerialize());
+      Assert.assertEquals(update.toThrift(), other.toThrift());
+    }
+  }
+
+  @Test
+  public void testStringFormat() throws TException {
+    PathsUpdate update = newPartitionsUpdate(10);
+    // JSON is written by default
+    Assert.assertEquals(StringFormat.JSON, ThriftSerializer.getStringFormat());
+    Assert.assertEquals(update.JSONSerialize(), update.serializeToString());
+
+    ThriftSerializer.setStringFormat(StringFormat.COMPACT);
+    try {
+      String serialized = update.serializeToString();
+      Assert.assertEquals('#', serialized.charAt(0));
+      PathsUpdate other = new PathsUpdate();
+      other.deserializeFromString(serialized);
+      Assert.assertEquals(update.toThrift(), other.toThrift());
+    } finally {
+      ThriftSerializer.setStringFormat(StringFormat.JSON);
+    }
+  }
+
+  @Test(expected = TException.class)
+  public void testDeserializeUnknownFormat() throws TException {
+    new PathsUpdate().deserializeFromString("#9AAAA");
+  }
+
+  @Test
+  public void testBinaryFormatSize() throws TException {
+    for (int numPartitions : new int[] {1, 10, 1000}) {
+      PathsUpdate update = newPartitionsUpdate(numPartitions);
+      String binary = ThriftSerializer.serializeToString(update.toThrift(), StringFormat.COMPACT);
+      Assert.assertTrue(binary.length() < update.JSONSerialize().length());
+    }
+  }
+
+  /**
+   * Compares the size and the serialization times of the binary and JSON formats.
+   */
+  @Ignore("Benchmark")
+  @Test
+  public void benchmarkBinaryFormat() throws TException {
+    int iterations = 200;
+    for (int numPartitions : new int[] {1, 10, 1000}) {
+      PathsUpdate update = newPartitionsUpdate(numPartitions);
+      String json = update.JSONSerialize();
+      String binary = ThriftSerializer.serializeToString(update.toThrift(), StringFormat.COMPACT);
+
+      long t1 = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+        new PathsUpdate().JSONDeserialize(update.JSONSerialize());
+      }
+      long jsonTime = System.nanoTime() - t1;
+      t1 = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+        new PathsUpdate().deserializeFromString(
+            ThriftSerializer.serializeToString(update.toThrift(), StringFormat.COMPACT));
+      }
+      long binaryTime = System.nanoTime() - t1;
+      LOGGER.info("{} partitions: JSON {} chars, {} us, binary {} chars, {} us",
+          numPartitions, json.length(), jsonTime / iterations / 1000,
+          binary.length(), binaryTime / iterations / 1000);
+    }
+  }
+
+  private static PathsUpdate newPartitionsUpdate(int numPartitions) {
+    PathsUpdate update = new PathsUpdate(1, false);
+    TPathChanges pathChange = update.newPathChange("db1.tbl12");
+    for (int i = 0; i < numPartitions; i++) {
+      pathChange.addToAddPaths(Lists.newArrayList("user", "hive", "warehouse", "db1.db",
+          "tbl12", "year=" + (2000 + i / 365), "day=" + i % 365));
+    }
+    return update;
+  }
 }
@@ -40,4 +40,23 @@ public class TestPermissionUpdate {
     update.JSONDeserialize(update.JSONSerialize());
     Assert.assertEquals(before, update.toThrift());
   }
+
+  @Test
+  public void testSerializeDeserializeInBinary() throws TException {
+    PermissionsUpdate update = new PermissionsUpdate(0, false);
+    TPrivilegeChanges privUpdate = update.addPrivilegeUpdate("db1.tbl1");
+    privUpdate.putToAddPrivileges(new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, "role1"), "select");
+    privUpdate.putToDelPrivileges(new TPrivilegePrincipal(TPrivilegePrincipalType.USER, "user1"), "insert");
+    update.addRoleUpdate("role1").addToAddGroups("group1");
+
+    PermissionsUpdate other = new PermissionsUpdate();
+    other.deserializeFromString(ThriftSerializer.serializeToString(update.toThrift(),
+        ThriftSerializer.StringFormat.COMPACT));
+    Assert.assertEquals(update.toThrift(), other.toThrift());
+
+    // Changes stored in JSON format are still read
+    other = new PermissionsUpdate();
+    other.deserializeFromString(update.JSONSerialize());
+    Assert.assertEquals(update.toThrift(), other.toThrift());
+  }
 }
@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sentry.hdfs.service.thrift.TPathChanges;
+import org.apache.sentry.hdfs.service.thrift.TPathsUpdate;
+import org.apache.thrift.TDeserializer;
+import org.apache.thrift.TException;
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.Lists;
+
+public class TestThriftSerializer {
+  private static final Logger LOGGER = LoggerFactory.getLogger(TestThriftSerializer.class);
+
+  private static TPathsUpdate newPathsUpdate(int id, int numPartitions) {
+    TPathsUpdate update = new TPathsUpdate(false, id, new ArrayList<TPathChanges>());
+    TPathChanges pathChange = new TPathChanges("db1.tbl" + id,
+        new ArrayList<List<String>>(), new ArrayList<List<String>>());
+    for (int i = 0; i < numPartitions; i++) {
+      pathChange.addToAddPaths(Lists.newArrayList("user", "hive", "warehouse", "db1.db",
+          "tbl" + id, "part=" + i));
+    }
+    update.addToPathChanges(pathChange);
+    return update;
+  }
+
+  @Test
+  public void testConcurrentSerialization() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Void>> results = new ArrayList<>();
+      for (int task = 0; task < 16; task++) {
+        final int id = task;
+        results.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            for (int i = 0; i < 100; i++) {
+              TPathsUpdate update = newPathsUpdate(id, i);
+
+              TPathsUpdate other = new TPathsUpdate();
+              ThriftSerializer.deserialize(other, ThriftSerializer.serialize(update));
+              Assert.assertEquals(update, other);
+
+              other = new TPathsUpdate();
+              ThriftSerializer.deserializeFromString(other, ThriftSerializer.serializeToString(
+                  update, ThriftSerializer.StringFormat.COMPACT));
+              Assert.assertEquals(update, other);
+
+              other = new TPathsUpdate();
+              ThriftSerializer.deserializeFromJSON(other, ThriftSerializer.serializeToJSON(update));
+              Assert.assertEquals(update, other);
+            }
+            return null;
+          }
+        }));
+      }
+      for (Future<Void> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testLargeObjectAfterFailure() throws Exception {
+    // A failed deserialization doesn't affect the next ones
+    try {
+      ThriftSerializer.deserializeFromJSON(new TPathsUpdate(), "{\"1\":{\"tf\":");
+      Assert.fail("Expected TException");
+    } catch (TException e) {
+      // expected
+    }
+
+    // Objects larger than the retained buffers are serialized as well
+    TPathsUpdate update = newPathsUpdate(1, 50000);
+    byte[] serialized = ThriftSerializer.serialize(update);
+    Assert.assertTrue(serialized.length > ThriftSerializer.MAX_RETAINED_BUFFER_SIZE);
+    TPathsUpdate other = new TPathsUpdate();
+    ThriftSerializer.deserialize(other, serialized);
+    Assert.assertEquals(update, other);
+
+    update = newPathsUpdate(2, 10);
+    other = new TPathsUpdate();
+    ThriftSerializer.deserializeFromJSON(other, ThriftSerializer.serializeToJSON(update));
+    Assert.assertEquals(update, other);
+  }
+
+  /**
+   * Compares the memory allocated per serialization with the reused serializers,
+   * and with serializers created for each call. Reusing them must allocate less.
+   */
+  @Test
+  public void testAllocationBenchmark() throws Exception {
+    if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+      return;
+    }
+    com.sun.management.ThreadMXBean threadMXBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    if (!threadMXBean.isThreadAllocatedMemorySupported()) {
+      return;
+    }
+    threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    long threadId = Thread.currentThread().getId();
+    TPathsUpdate update = newPathsUpdate(1, 10);
+    int iterations = 10000;
+
+    for (int round = 0; round < 2; round++) {
+      // The first round warms up
+      long allocated = threadMXBean.getThreadAllocatedBytes(threadId);
+      for (int i = 0; i < iterations; i++) {
+        ThriftSerializer.deserialize(new TPathsUpdate(), ThriftSerializer.serialize(update));
+      }
+      long reused = (threadMXBean.getThreadAllocatedBytes(threadId) - allocated) / iterations;
+
+      allocated = threadMXBean.getThreadAllocatedBytes(threadId);
+      for (int i = 0; i < iterations; i++) {
+        TSerializer serializer = new TSerializer(new TCompactProtocol.Factory());
+        TDeserializer deserializer = new TDeserializer(new TCompactProtocol.Factory());
+        deserializer.deserialize(new TPathsUpdate(), serializer.serialize(update));
+      }
+      long created = (threadMXBean.getThreadAllocatedBytes(threadId) - allocated) / iterations;
+
+      if (round > 0) {
+        LOGGER.info("Bytes allocated per serialization and deserialization: "
+            + "reused serializers {}, new serializers {}", reused, created);
+        Assert.assertTrue("Reused serializers allocated " + reused + " bytes, new ones " + created,
+            reused < created);
+      }
+    }
+  }
+}
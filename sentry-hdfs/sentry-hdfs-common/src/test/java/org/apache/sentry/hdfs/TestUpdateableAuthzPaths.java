@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.sentry.hdfs.service.thrift.TPathChanges;
+import org.apache.sentry.hdfs.service.thrift.TPathsDump;
 import org.junit.Test;
 
 import com.google.common.collect.Lists;
@@ -141,6 +142,118 @@ public class TestUpdateableAuthzPaths {
     assertTrue(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl11", "part112"}).contains("db1.tbl11"));
   }
 
+  /**
+   * The partition notifications of a batch are received as one update per notification,
+   * which must be applied in order and never be mistaken for a rename.
+   */
+  @Test
+  public void testPartialUpdatesOfPartitionBatch() throws SentryMalformedPathException {
+    HMSPaths hmsPaths = createBaseHMSPaths(1, 1);
+    hmsPaths._addAuthzObject("db1.tbl12", Lists.newArrayList("/db1/tbl12"));
+    hmsPaths._addPathsToAuthzObject("db1.tbl12", Lists.newArrayList("/db1/tbl12/part121"));
+    UpdateableAuthzPaths authzPaths = new UpdateableAuthzPaths(hmsPaths);
+    ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Add a partition to a table and drop a partition of another table
+    PathsUpdate addPartition = new PathsUpdate(2, false);
+    addPartition.newPathChange("db1.tbl12").addToAddPaths(uriToList("hdfs:///db1/tbl12/part123"));
+    PathsUpdate dropPartition = new PathsUpdate(3, false);
+    dropPartition.newPathChange("db1.tbl11").addToDelPaths(uriToList("hdfs:///db1/tbl11/part111"));
+    authzPaths.updatePartial(Lists.newArrayList(addPartition, dropPartition), lock);
+
+    assertTrue(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl12", "part123"}).contains("db1.tbl12"));
+    assertNull(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl11", "part111"}));
+    // Both tables keep their other paths
+    assertTrue(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl11"}).contains("db1.tbl11"));
+    assertTrue(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl11", "part112"}).contains("db1.tbl11"));
+    assertTrue(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl12"}).contains("db1.tbl12"));
+    assertTrue(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl12", "part121"}).contains("db1.tbl12"));
+
+    // Add then drop a partition, then add and drop another one and add it again
+    PathsUpdate addNew = new PathsUpdate(4, false);
+    addNew.newPathChange("db1.tbl11").addToAddPaths(uriToList("hdfs:///db1/tbl11/part113"));
+    PathsUpdate dropNew = new PathsUpdate(5, false);
+    dropNew.newPathChange("db1.tbl11").addToDelPaths(uriToList("hdfs:///db1/tbl11/part113"));
+    PathsUpdate addOther = new PathsUpdate(6, false);
+    addOther.newPathChange("db1.tbl11").addToAddPaths(uriToList("hdfs:///db1/tbl11/part114"));
+    PathsUpdate dropOther = new PathsUpdate(7, false);
+    dropOther.newPathChange("db1.tbl11").addToDelPaths(uriToList("hdfs:///db1/tbl11/part114"));
+    PathsUpdate addOtherAgain = new PathsUpdate(8, false);
+    addOtherAgain.newPathChange("db1.tbl11").addToAddPaths(uriToList("hdfs:///db1/tbl11/part114"));
+    authzPaths.updatePartial(
+        Lists.newArrayList(addNew, dropNew, addOther, dropOther, addOtherAgain), lock);
+
+    assertNull(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl11", "part113"}));
+    assertTrue(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl11", "part114"}).contains("db1.tbl11"));
+    assertEquals(8, authzPaths.getLastUpdatedSeqNum());
+  }
+
+  @Test
+  public void testCopyIsolation() throws SentryMalformedPathException {
+    UpdateableAuthzPaths authzPaths = new UpdateableAuthzPaths(createBaseHMSPaths(1, 1));
+    ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    UpdateableAuthzPaths copy = authzPaths.copy();
+    assertEquals(authzPaths.getLastUpdatedSeqNum(), copy.getLastUpdatedSeqNum());
+
+    // Add a table and drop a partition in the copy
+    PathsUpdate update = new PathsUpdate(2, false);
+    update.newPathChange("db1.tbl12").addToAddPaths(uriToList("hdfs:///db1/tbl12"));
+    update.newPathChange("db1.tbl11").addToDelPaths(uriToList("hdfs:///db1/tbl11/part111"));
+    copy.updatePartial(Lists.newArrayList(update), lock);
+
+    assertEquals(2, copy.getLastUpdatedSeqNum());
+    assertTrue(copy.findAuthzObjectExactMatches(new String[]{"db1", "tbl12"}).contains("db1.tbl12"));
+    assertNull(copy.findAuthzObjectExactMatches(new String[]{"db1", "tbl11", "part111"}));
+
+    // The original is unchanged
+    assertFalse(authzPaths.getLastUpdatedSeqNum() == 2);
+    assertNull(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl12"}));
+    assertTrue(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl11", "part111"}).contains("db1.tbl11"));
+
+    // Drop the database from the original, the copy keeps it
+    update = new PathsUpdate(3, false);
+    update.newPathChange("db1").addToDelPaths(Lists.newArrayList(PathsUpdate.ALL_PATHS));
+    authzPaths.updatePartial(Lists.newArrayList(update), lock);
+    assertNull(authzPaths.findAuthzObjectExactMatches(new String[]{"db1"}));
+    assertTrue(copy.findAuthzObjectExactMatches(new String[]{"db1"}).contains("db1"));
+  }
+
+  @Test
+  public void testCompactPaths() throws SentryMalformedPathException {
+    UpdateableAuthzPaths authzPaths = new UpdateableAuthzPaths(new String[] {"/"}, true);
+    PathsUpdate update = new PathsUpdate(1, true);
+    update.toThrift().setPathsDump(createBaseHMSPaths(1, 1).getPathsDump().createPathsDump(true));
+    authzPaths = authzPaths.updateFull(update);
+    assertTrue(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl11", "part111"}).contains("db1.tbl11"));
+
+    // Updates of a copy are applied to compact paths too
+    UpdateableAuthzPaths copy = authzPaths.copy();
+    PathsUpdate addTable = new PathsUpdate(2, false);
+    addTable.newPathChange("db1.tbl12").addToAddPaths(uriToList("hdfs:///db1/tbl12"));
+    PathsUpdate dropPartition = new PathsUpdate(3, false);
+    dropPartition.newPathChange("db1.tbl11").addToDelPaths(uriToList("hdfs:///db1/tbl11/part111"));
+    copy.updatePartial(Lists.newArrayList(addTable, dropPartition), new ReentrantReadWriteLock());
+    assertTrue(copy.findAuthzObjectExactMatches(new String[]{"db1", "tbl12"}).contains("db1.tbl12"));
+    assertNull(copy.findAuthzObjectExactMatches(new String[]{"db1", "tbl11", "part111"}));
+    assertNull(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl12"}));
+    assertTrue(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl11", "part111"}).contains("db1.tbl11"));
+
+    // A full image read in chunks gives compact paths
+    TPathsDump dump = copy.getPathsDump().createPathsDump(true);
+    UpdateableAuthzPaths.ImageChunkReader reader = authzPaths.newImageChunkReader();
+    for (int offset = 0; offset < dump.getNodeMapSize(); offset += 2) {
+      PathsUpdate chunk = new PathsUpdate(4, true);
+      chunk.toThrift().setPathsDump(HMSPathsDumper.getPathsDumpChunk(dump, offset, 2));
+      reader.readChunk(chunk);
+    }
+    UpdateableAuthzPaths chunked = reader.getPaths();
+    assertEquals(4, chunked.getLastUpdatedSeqNum());
+    assertTrue(chunked.dumpContent().contains(CompactHMSPaths.class.getSimpleName()));
+    assertTrue(chunked.findAuthzObjectExactMatches(new String[]{"db1", "tbl12"}).contains("db1.tbl12"));
+    assertTrue(chunked.findAuthzObjectExactMatches(new String[]{"db1", "tbl11", "part112"}).contains("db1.tbl11"));
+    assertNull(chunked.findAuthzObjectExactMatches(new String[]{"db1", "tbl11", "part111"}));
+  }
+
   @Test
   public void testDefaultDbPath() {
     HMSPaths hmsPaths = new HMSPaths(new String[] {"/user/hive/warehouse"});
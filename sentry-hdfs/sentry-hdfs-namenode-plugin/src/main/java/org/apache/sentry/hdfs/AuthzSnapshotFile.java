@@ -0,0 +1,236 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import org.apache.sentry.hdfs.service.thrift.TPathsUpdate;
+import org.apache.sentry.hdfs.service.thrift.TPermissionsUpdate;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TIOStreamTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local checkpoint of the paths and permissions of the NameNode plugin, so that
+ * after a restart the plugin only requests the updates following the checkpoint,
+ * instead of the full images.
+ * <p>
+ * The file has a header with the path prefixes, followed by the full paths and
+ * permissions images in thrift compact format, and by the CRC32 of all the
+ * preceding bytes. It is written to a temporary file, which then replaces the
+ * previous checkpoint, and is memory-mapped to be read.
+ */
+class AuthzSnapshotFile {
+  private static final Logger LOG = LoggerFactory.getLogger(AuthzSnapshotFile.class);
+
+  static final String FILE_NAME = "sentry-authz-snapshot";
+  private static final int MAGIC = 0x53415a53;
+  private static final int FORMAT_VERSION = 1;
+  private static final int CRC_SIZE = Long.BYTES;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Path file;
+  private final String[] prefixes;
+  // Whether the paths read are compact, see UpdateableAuthzPaths
+  private final boolean compactPaths;
+
+  AuthzSnapshotFile(File dir, String[] prefixes) {
+    this(dir, prefixes, false);
+  }
+
+  AuthzSnapshotFile(File dir, String[] prefixes, boolean compactPaths) {
+    this.file = dir.toPath().resolve(FILE_NAME);
+    this.prefixes = Arrays.copyOf(prefixes, prefixes.length);
+    this.compactPaths = compactPaths;
+  }
+
+  Path getPath() {
+    return file;
+  }
+
+  /**
+   * Writes a checkpoint of paths and permissions. They must not be updated
+   * while they are written.
+   */
+  void save(UpdateableAuthzPaths paths, UpdateableAuthzPermissions perms) throws IOException {
+    long start = System.currentTimeMillis();
+    PathsUpdate pathsImage = new PathsUpdate(paths.getLastUpdatedSeqNum(),
+        paths.getLastUpdatedImgNum(), true);
+    pathsImage.toThrift().setPathsDump(paths.getPathsDump().createPathsDump(true));
+    PermissionsUpdate permsImage = perms.createFullImageUpdate(perms.getLastUpdatedSeqNum());
+
+    Files.createDirectories(file.getParent());
+    // Created readable by the owner only
+    Path tmp = Files.createTempFile(file.getParent(), FILE_NAME, ".tmp");
+    try {
+      try (OutputStream fileOut = Files.newOutputStream(tmp)) {
+        CheckedOutputStream checked = new CheckedOutputStream(
+            new BufferedOutputStream(fileOut, BUFFER_SIZE), new CRC32());
+        DataOutputStream out = new DataOutputStream(checked);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(prefixes.length);
+        for (String prefix : prefixes) {
+          out.writeUTF(prefix);
+        }
+        TProtocol protocol = new TCompactProtocol(new TIOStreamTransport(out));
+        pathsImage.toThrift().write(protocol);
+        permsImage.toThrift().write(protocol);
+        out.flush();
+        new DataOutputStream(fileOut).writeLong(checked.getChecksum().getValue());
+      } catch (TException e) {
+        throw new IOException("Error writing authz snapshot " + tmp, e);
+      }
+      try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+        channel.force(true);
+      }
+      Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+    LOG.info("Saved authz snapshot {} with paths seq Num [{}] img Num [{}], perms seq Num [{}] in {} ms",
+        file, paths.getLastUpdatedSeqNum(), paths.getLastUpdatedImgNum(),
+        perms.getLastUpdatedSeqNum(), System.currentTimeMillis() - start);
+  }
+
+  /**
+   * Reads the last checkpoint.
+   * @return the paths and permissions, or null if there is no valid checkpoint
+   *         for the path prefixes
+   */
+  Loaded load() throws IOException {
+    if (!Files.exists(file)) {
+      return null;
+    }
+    long start = System.currentTimeMillis();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < CRC_SIZE || size > Integer.MAX_VALUE) {
+        LOG.warn("Ignoring authz snapshot {} of invalid size {}", file, size);
+        return null;
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      ByteBuffer content = buffer.duplicate();
+      content.limit((int) size - CRC_SIZE);
+      CRC32 crc = new CRC32();
+      crc.update(content.duplicate());
+      if (crc.getValue() != buffer.getLong((int) size - CRC_SIZE)) {
+        LOG.warn("Ignoring corrupt authz snapshot {}", file);
+        return null;
+      }
+
+      DataInputStream in = new DataInputStream(new ByteBufferInputStream(content));
+      if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+        LOG.warn("Ignoring authz snapshot {} of unknown format", file);
+        return null;
+      }
+      String[] savedPrefixes = new String[in.readInt()];
+      for (int i = 0; i < savedPrefixes.length; i++) {
+        savedPrefixes[i] = in.readUTF();
+      }
+      if (!Arrays.equals(prefixes, savedPrefixes)) {
+        LOG.info("Ignoring authz snapshot {} of other path prefixes {}", file,
+            Arrays.toString(savedPrefixes));
+        return null;
+      }
+
+      TProtocol protocol = new TCompactProtocol(new TIOStreamTransport(in));
+      TPathsUpdate pathsImage = new TPathsUpdate();
+      pathsImage.read(protocol);
+      TPermissionsUpdate permsImage = new TPermissionsUpdate();
+      permsImage.read(protocol);
+
+      Loaded loaded = new Loaded(
+          new UpdateableAuthzPaths(prefixes, compactPaths).updateFull(
+              new PathsUpdate(pathsImage)),
+          new UpdateableAuthzPermissions().updateFull(new PermissionsUpdate(permsImage)));
+      LOG.info("Loaded authz snapshot {} with paths seq Num [{}] img Num [{}], perms seq Num [{}] in {} ms",
+          file, loaded.paths.getLastUpdatedSeqNum(), loaded.paths.getLastUpdatedImgNum(),
+          loaded.permissions.getLastUpdatedSeqNum(), System.currentTimeMillis() - start);
+      return loaded;
+    } catch (TException | RuntimeException e) {
+      throw new IOException("Error reading authz snapshot " + file, e);
+    }
+  }
+
+  /**
+   * Paths and permissions read from a checkpoint.
+   */
+  static final class Loaded {
+    final UpdateableAuthzPaths paths;
+    final UpdateableAuthzPermissions permissions;
+
+    private Loaded(UpdateableAuthzPaths paths, UpdateableAuthzPermissions permissions) {
+      this.paths = paths;
+      this.permissions = permissions;
+    }
+  }
+
+  /**
+   * Reads a memory-mapped file without copying it to the heap first.
+   */
+  private static final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    private ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int n = Math.min(len, buffer.remaining());
+      buffer.get(b, off, n);
+      return n;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+}
@@ -49,6 +49,21 @@ public final class SentryAuthorizationConstants {
       "cache-refresh-retry-wait.ms";
   public static final int CACHE_REFRESH_RETRY_WAIT_DEFAULT = 30 * 1000;
 
+  // Local directory of the checkpoint of the paths and permissions, read at startup to
+  // only request the following updates from Sentry. No checkpoint is kept if not set.
+  public static final String CACHE_SNAPSHOT_DIR_KEY = CONFIG_PREFIX +
+      "cache-snapshot.dir";
+
+  public static final String CACHE_SNAPSHOT_INTERVAL_KEY = CONFIG_PREFIX +
+      "cache-snapshot-interval.ms";
+  public static final int CACHE_SNAPSHOT_INTERVAL_DEFAULT = 10 * 60 * 1000;
+
+  // Keep the paths in compact arrays, which take less memory, but are copied in full to
+  // apply each batch of updates instead of only copying the changed paths
+  public static final String CACHE_COMPACT_PATHS_KEY = CONFIG_PREFIX +
+      "cache-compact-paths";
+  public static final boolean CACHE_COMPACT_PATHS_DEFAULT = false;
+
   public static final String INCLUDE_HDFS_AUTHZ_AS_ACL_KEY = CONFIG_PREFIX +
       "include-hdfs-authz-as-acl";
   public static final boolean INCLUDE_HDFS_AUTHZ_AS_ACL_DEFAULT = false;
@@ -18,13 +18,19 @@
 
 package org.apache.sentry.hdfs;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hadoop.conf.Configuration;
@@ -38,37 +44,88 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+
+import static org.apache.sentry.hdfs.ServiceConstants.SEQUENCE_NUMBER_UPDATE_UNINITIALIZED;
 
 public class SentryAuthorizationInfo implements Runnable {
   private static final Logger LOG =
       LoggerFactory.getLogger(SentryAuthorizationInfo.class);
 
   private static final String SENTRY_AUTHORIZATION_INFO_THREAD_NAME = "sentry-auth-info-refresher";
+  private static final String SENTRY_AUTHORIZATION_SNAPSHOT_THREAD_NAME = "sentry-auth-info-snapshot";
+  private static final String SENTRY_AUTHORIZATION_PATHS_THREAD_NAME = "sentry-auth-info-paths-updater";
+
+  // Apparently setFAcl throws error if 'group::---' is not present
+  private static final AclEntry NO_GROUP = AclEntry.parseAclEntry("group::---", true);
+
+  /**
+   * Paths and permissions published together. Published objects are never changed:
+   * updates are applied to copies, which are then published, so that readers see a
+   * consistent state without locking.
+   */
+  private static final class AuthzSnapshot {
+    private final UpdateableAuthzPaths paths;
+    private final UpdateableAuthzPermissions permissions;
+
+    private AuthzSnapshot(UpdateableAuthzPaths paths,
+        UpdateableAuthzPermissions permissions) {
+      this.paths = paths;
+      this.permissions = permissions;
+    }
+  }
 
   private SentryUpdater updater;
-  private volatile UpdateableAuthzPaths authzPaths;
-  private volatile UpdateableAuthzPermissions authzPermissions;
+  private volatile AuthzSnapshot snapshot;
 
   private int refreshIntervalMillisec;
   private int staleThresholdMillisec;
   private int retryWaitMillisec;
   private ScheduledExecutorService executor;
+  // Local checkpoint of the published snapshot, null if not configured
+  private AuthzSnapshotFile snapshotFile;
+  private int snapshotIntervalMillisec;
+  private ScheduledExecutorService snapshotExecutor;
+  // Applies the paths updates while the refresher thread applies the permissions updates,
+  // created when first needed
+  private ExecutorService pathsExecutor;
+  // Last snapshot loaded from or saved to the checkpoint
+  private volatile AuthzSnapshot savedSnapshot;
   private volatile long lastUpdate;
   private volatile long waitUntil;
   private volatile long lastStaleReport;
-  // We don't need a re-entrant lock.. but we do need a ReadWriteLock
-  // Unfortunately, the ReentrantReadWriteLick is the only available
-  // concrete implementation of a ReadWriteLock.
-  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  // Locks required by Updateable.updatePartial(). Updates are only applied to copies
+  // that aren't published yet, so they are never contended. Paths and permissions
+  // updates may be applied at the same time, so each has its own lock.
+  private final ReadWriteLock pathsUpdateLock = new ReentrantReadWriteLock();
+  private final ReadWriteLock permsUpdateLock = new ReentrantReadWriteLock();
 
   private String[][] pathPrefixes;
 
+  /**
+   * Outcome of a request for updates.
+   */
+  private enum UpdateResult {
+    FAILED,
+    NO_UPDATES,
+    UPDATED
+  }
+
   // For use only for testing !!
   @VisibleForTesting
   SentryAuthorizationInfo(String[] pathPrefixes) {
     setPrefixPaths(pathPrefixes);
   }
 
+  @VisibleForTesting
+  SentryAuthorizationInfo(String[] pathPrefixes, SentryUpdater updater) {
+    setPrefixPaths(pathPrefixes);
+    snapshot = new AuthzSnapshot(new UpdateableAuthzPaths(pathPrefixes),
+        new UpdateableAuthzPermissions());
+    waitUntil = System.currentTimeMillis();
+    this.updater = updater;
+  }
+
   public SentryAuthorizationInfo(Configuration conf) throws Exception {
     String[] newPathPrefixes = conf.getTrimmedStrings(
         SentryAuthorizationConstants.HDFS_PATH_PREFIXES_KEY, 
@@ -96,8 +153,24 @@ public class SentryAuthorizationInfo implements Runnable {
           refreshIntervalMillisec, retryWaitMillisec);
       LOG.info("stale threshold [{}]ms", staleThresholdMillisec);
 
-      authzPaths = new UpdateableAuthzPaths(newPathPrefixes);
-      authzPermissions = new UpdateableAuthzPermissions();
+      boolean compactPaths = conf.getBoolean(
+          SentryAuthorizationConstants.CACHE_COMPACT_PATHS_KEY,
+          SentryAuthorizationConstants.CACHE_COMPACT_PATHS_DEFAULT);
+      LOG.info("Compact paths [{}]", compactPaths);
+
+      snapshot = new AuthzSnapshot(new UpdateableAuthzPaths(newPathPrefixes, compactPaths),
+          new UpdateableAuthzPermissions());
+      String snapshotDir = conf.getTrimmed(SentryAuthorizationConstants.CACHE_SNAPSHOT_DIR_KEY);
+      if (snapshotDir != null && !snapshotDir.isEmpty()) {
+        snapshotFile = new AuthzSnapshotFile(new File(snapshotDir), newPathPrefixes,
+            compactPaths);
+        snapshotIntervalMillisec = conf.getInt(
+            SentryAuthorizationConstants.CACHE_SNAPSHOT_INTERVAL_KEY,
+            SentryAuthorizationConstants.CACHE_SNAPSHOT_INTERVAL_DEFAULT);
+        LOG.info("Snapshot [{}], snapshot interval [{}]ms", snapshotFile.getPath(),
+            snapshotIntervalMillisec);
+        loadSnapshot();
+      }
       waitUntil = System.currentTimeMillis();
       lastStaleReport = 0;
       updater = new SentryUpdater(conf, this);
@@ -121,78 +194,109 @@ public class SentryAuthorizationInfo implements Runnable {
   }
 
   UpdateableAuthzPaths getAuthzPaths() {
-    return authzPaths;
+    AuthzSnapshot current = snapshot;
+    return current != null ? current.paths : null;
   }
 
   UpdateableAuthzPermissions getAuthzPermissions() {
-    return authzPermissions;
+    AuthzSnapshot current = snapshot;
+    return current != null ? current.permissions : null;
   }
 
-  private boolean update() {
+  private UpdateResult update() {
     //Looks like getting same updates multiple times
     SentryAuthzUpdate updates = updater.getUpdates();
     // Updates can be null if Sentry Service is un-reachable
     if (updates != null) {
       if (updates.isEmpty()) {
-        return true; // no updates is a norm, it's still success
+        return UpdateResult.NO_UPDATES; // no updates is a norm, it's still success
       }
 
       LOG.info("Received updates from Sentry Server. Size of PathUpdates {} PermUpdates {}",
           updates.getPathUpdates().size(), updates.getPermUpdates().size());
       LOG.debug("Processing updates " + updates.dumpContent());
-      UpdateableAuthzPaths newAuthzPaths = processUpdates(
-          updates.getPathUpdates(), authzPaths);
-      UpdateableAuthzPermissions newAuthzPerms = processUpdates(
-          updates.getPermUpdates(), authzPermissions);
-
-      // processUpdates() should return different newAuthzPaths and newAuthzPerms object references
-      // if FULL updates were fetched from the Sentry server, otherwise, the same authzPaths and authzPermissions
-      // objects will be returned.
-      if (newAuthzPaths != authzPaths || newAuthzPerms != authzPermissions) {
-        lock.writeLock().lock();
-        try {
-          if (newAuthzPaths != authzPaths) {
-            LOG.info(String.format("FULL Updated paths seq Num [old=%d], [new=%d]",
-              authzPaths.getLastUpdatedSeqNum(), newAuthzPaths.getLastUpdatedSeqNum()));
-            authzPaths = newAuthzPaths;
-            if (LOG.isTraceEnabled()) {
-              LOG.trace(authzPaths.dumpContent());
-            }
-          }
-          if (newAuthzPerms != authzPermissions) {
-            LOG.info(String.format("FULL Updated perms seq Num [old=%d], [new=%d]",
-              authzPermissions.getLastUpdatedSeqNum(), newAuthzPerms.getLastUpdatedSeqNum()));
-            authzPermissions = newAuthzPerms;
-            if (LOG.isTraceEnabled()) {
-              LOG.trace(authzPermissions.dumpContent());
-            }
-          }
-        } finally {
-          lock.writeLock().unlock();
+      AuthzSnapshot current = snapshot;
+      // Full images sent in chunks are already assembled in new objects.
+      // Paths and permissions are independent, so when there are both, the paths
+      // updates are applied in the background while this thread applies the
+      // permissions updates, which halves the catch up time after an outage.
+      CompletableFuture<UpdateableAuthzPaths> pathsFuture;
+      if (updates.getPathsImage() != null) {
+        pathsFuture = CompletableFuture.completedFuture(
+            (UpdateableAuthzPaths) updates.getPathsImage());
+      } else if (updates.getPermsImage() == null && !updates.getPermUpdates().isEmpty()
+          && !updates.getPathUpdates().isEmpty()) {
+        if (pathsExecutor == null) {
+          pathsExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+              .setNameFormat(SENTRY_AUTHORIZATION_PATHS_THREAD_NAME)
+              .setDaemon(true)
+              .build());
         }
+        pathsFuture = CompletableFuture.supplyAsync(
+            () -> processPathUpdates(updates.getPathUpdates(), current.paths), pathsExecutor);
       } else {
-        if (LOG.isDebugEnabled()) {
-          lock.writeLock().lock();
-          try {
-            LOG.debug(updates.dumpContent());
-            if (LOG.isTraceEnabled()) {
-              LOG.trace(newAuthzPaths.dumpContent());
-              LOG.trace(newAuthzPerms.dumpContent());
-            }
-          } finally {
-            lock.writeLock().unlock();
-          }
-        }
+        pathsFuture = CompletableFuture.completedFuture(
+            processPathUpdates(updates.getPathUpdates(), current.paths));
+      }
+      UpdateableAuthzPermissions newAuthzPerms;
+      try {
+        newAuthzPerms = updates.getPermsImage() != null ?
+            (UpdateableAuthzPermissions) updates.getPermsImage() :
+            processUpdates(updates.getPermUpdates(), current.permissions,
+                UpdateableAuthzPermissions::copy, permsUpdateLock);
+      } catch (RuntimeException e) {
+        LOG.error("Failed to apply the permissions updates, requesting the full image", e);
+        updater.requestFullPermsImage();
+        throw e;
       }
-      return true;
+      UpdateableAuthzPaths newAuthzPaths;
+      try {
+        newAuthzPaths = pathsFuture.join();
+      } catch (CompletionException e) {
+        Throwables.propagateIfPossible(e.getCause());
+        throw e;
+      }
+
+      // processUpdates() returns new newAuthzPaths and newAuthzPerms object references
+      // if any updates were fetched from the Sentry server, otherwise, the same authzPaths
+      // and authzPermissions objects are returned. Readers switch to the new objects at once.
+      if (newAuthzPaths != current.paths || newAuthzPerms != current.permissions) {
+        snapshot = new AuthzSnapshot(newAuthzPaths, newAuthzPerms);
+        LOG.debug("Published paths seq Num [{}], perms seq Num [{}]",
+            newAuthzPaths.getLastUpdatedSeqNum(), newAuthzPerms.getLastUpdatedSeqNum());
+      }
+      if (LOG.isTraceEnabled()) {
+        LOG.trace(newAuthzPaths.dumpContent());
+        LOG.trace(newAuthzPerms.dumpContent());
+      }
+      return UpdateResult.UPDATED;
     } else {
       LOG.error("Received NULL updates from Sentry");
     }
-    return false;
+    return UpdateResult.FAILED;
   }
 
+  /**
+   * Apply the paths updates, requesting the full paths image if they can't be applied.
+   */
+  private UpdateableAuthzPaths processPathUpdates(List<PathsUpdate> updates,
+      UpdateableAuthzPaths paths) {
+    try {
+      return processUpdates(updates, paths, UpdateableAuthzPaths::copy, pathsUpdateLock);
+    } catch (RuntimeException e) {
+      LOG.error("Failed to apply the paths updates, requesting the full image", e);
+      updater.requestFullPathsImage();
+      throw e;
+    }
+  }
+
+  /**
+   * Apply the updates to a new object, leaving the given one unchanged.
+   * A full update creates the new object, otherwise a copy is made with copier.
+   * @return the updated object, or the given one if there are no updates
+   */
   private <K extends Update, V extends Updateable<K>> V processUpdates(List<K> updates,
-      V updateable) {
+      V updateable, UnaryOperator<V> copier, ReadWriteLock updateLock) {
     // In a list of Updates, if there is a full Update, it will be the first
     // one in the List.. all the remaining will be partial updates
     V newUpdateable = updateable;
@@ -203,12 +307,18 @@ public class SentryAuthorizationInfo implements Runnable {
         System.out.println(SentryServiceUtil.getCurrentTimeStampWithMessage(logMessage));
         newUpdateable = (V)newUpdateable.updateFull(updates.remove(0));
         LOG.info(String.format("Processing Update : Finished processing FULL IMAGE update.."));
+        LOG.info(String.format("FULL Updated %s seq Num [old=%d], [new=%d]",
+            newUpdateable.getUpdateableTypeName(), updateable.getLastUpdatedSeqNum(),
+            newUpdateable.getLastUpdatedSeqNum()));
       }
       // Any more elements ?
       if (!updates.isEmpty()) {
         LOG.debug(String.format("Processing Update : Delta updates.. [%s] Count:[%d]",
                 newUpdateable.getSequenceInfo(), updates.size()));
-        newUpdateable.updatePartial(updates, lock);
+        if (newUpdateable == updateable) {
+          newUpdateable = copier.apply(updateable);
+        }
+        newUpdateable.updatePartial(updates, updateLock);
       }
       LOG.debug(String.format("Processing Update : Finished updates.."));
     }
@@ -226,7 +336,17 @@ public class SentryAuthorizationInfo implements Runnable {
       if (waitUntil > currTime) {
         Thread.sleep(waitUntil - currTime);
       }
-      success = update();
+      // Updates are requested again at once after some were received, as more may be
+      // pending, and the server holds a request without updates until there are some.
+      // The refresh interval only applies after a request without updates.
+      UpdateResult result;
+      do {
+        result = update();
+        if (result == UpdateResult.UPDATED) {
+          lastUpdate = System.currentTimeMillis();
+        }
+      } while (result == UpdateResult.UPDATED && !Thread.currentThread().isInterrupted());
+      success = result != UpdateResult.FAILED;
     } catch (Exception ex) {
       success = false;
       LOG.warn("Failed to update, will retry in [{}]ms, error: ", 
@@ -246,10 +366,10 @@ public class SentryAuthorizationInfo implements Runnable {
   }
 
   public void start() {
-    if (authzPaths != null || authzPermissions != null) {
+    if (snapshot != null) {
       boolean success = false;
       try {
-        success = update();
+        success = update() != UpdateResult.FAILED;
       } catch (Exception ex) {
         success = false;
         LOG.warn("Failed to do initial update, will retry in [{}]ms, error: ",
@@ -265,13 +385,67 @@ public class SentryAuthorizationInfo implements Runnable {
       executor = Executors.newSingleThreadScheduledExecutor(sentryAuthInfoRefresherThreadFactory);
       executor.scheduleWithFixedDelay(this, refreshIntervalMillisec, 
           refreshIntervalMillisec, TimeUnit.MILLISECONDS);
+      if (snapshotFile != null) {
+        snapshotExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat(SENTRY_AUTHORIZATION_SNAPSHOT_THREAD_NAME)
+            .setDaemon(true)
+            .build());
+        snapshotExecutor.scheduleWithFixedDelay(this::saveSnapshot, snapshotIntervalMillisec,
+            snapshotIntervalMillisec, TimeUnit.MILLISECONDS);
+      }
     }
   }
 
   public void stop() {
-    if (authzPaths != null) {
+    if (snapshot != null) {
       LOG.info(getClass().getSimpleName() + ": Stopping");
-      executor.shutdownNow();
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+      if (pathsExecutor != null) {
+        pathsExecutor.shutdownNow();
+      }
+      if (snapshotExecutor != null) {
+        // Let a snapshot being saved complete
+        snapshotExecutor.shutdown();
+      }
+    }
+  }
+
+  /**
+   * Starts from the paths and permissions of the last checkpoint, if any, so that
+   * only the updates following it are requested from Sentry. The cache is still
+   * stale until the first successful update.
+   */
+  private void loadSnapshot() {
+    try {
+      AuthzSnapshotFile.Loaded loaded = snapshotFile.load();
+      if (loaded != null) {
+        snapshot = new AuthzSnapshot(loaded.paths, loaded.permissions);
+        savedSnapshot = snapshot;
+      }
+    } catch (IOException e) {
+      LOG.warn("Failed to load the snapshot, requesting full images from Sentry", e);
+    }
+  }
+
+  /**
+   * Saves the published snapshot if it changed since it was last saved. Published
+   * paths and permissions are never updated, so they are saved without locking.
+   */
+  private void saveSnapshot() {
+    AuthzSnapshot current = snapshot;
+    if (current == savedSnapshot ||
+        current.paths.getLastUpdatedSeqNum() == SEQUENCE_NUMBER_UPDATE_UNINITIALIZED ||
+        current.permissions.getLastUpdatedSeqNum() == SEQUENCE_NUMBER_UPDATE_UNINITIALIZED) {
+      return;
+    }
+    try {
+      snapshotFile.save(current.paths, current.permissions);
+      savedSnapshot = current;
+    } catch (IOException | RuntimeException e) {
+      // Retried at the next interval
+      LOG.warn("Failed to save the snapshot", e);
     }
   }
 
@@ -287,12 +461,7 @@ public class SentryAuthorizationInfo implements Runnable {
   }
 
   public boolean isUnderPrefix(String[] pathElements) {
-    lock.readLock().lock();
-    try {
-      return authzPaths.isUnderPrefix(pathElements);
-    } finally {
-      lock.readLock().unlock();
-    }
+    return snapshot.paths.isUnderPrefix(pathElements);
   }
 
   @Deprecated
@@ -301,49 +470,40 @@ public class SentryAuthorizationInfo implements Runnable {
   }
 
   public boolean doesBelongToAuthzObject(String[] pathElements) {
-    lock.readLock().lock();
-    try {
-      return authzPaths.findAuthzObject(pathElements) != null;
-    } finally {
-      lock.readLock().unlock();
-    }
+    return snapshot.paths.findAuthzObject(pathElements) != null;
   }
 
   public boolean isSentryManaged(final String[] pathElements) {
-    lock.readLock().lock();
-    try {
-      return authzPaths.isUnderPrefix(pathElements) &&
-          authzPaths.findAuthzObject(pathElements) != null;
-    } finally {
-      lock.readLock().unlock();
-    }
+    UpdateableAuthzPaths authzPaths = snapshot.paths;
+    return authzPaths.isUnderPrefix(pathElements) &&
+        authzPaths.findAuthzObject(pathElements) != null;
   }
 
   @SuppressWarnings("unchecked")
   public List<AclEntry> getAclEntries(String[] pathElements) {
-    lock.readLock().lock();
-    try {
-      Set<String> authzObjs = authzPaths.findAuthzObject(pathElements);
-      // Apparently setFAcl throws error if 'group::---' is not present
-      AclEntry noGroup = AclEntry.parseAclEntry("group::---", true);
-
-      Set<AclEntry> retSet = new HashSet<>();
-      retSet.add(noGroup);
-
-      if (authzObjs == null) {
-        retSet.addAll(Collections.<AclEntry>emptyList());
-        return new ArrayList<>(retSet);
-      }
+    AuthzSnapshot current = snapshot;
+    Set<String> authzObjs = current.paths.findAuthzObject(pathElements);
+    if (authzObjs == null) {
+      return Collections.singletonList(NO_GROUP);
+    }
+    if (authzObjs.size() == 1) {
+      // The ACL's of a single object are cached, and have no duplicates
+      List<AclEntry> acls = current.permissions.getAcls(authzObjs.iterator().next());
+      List<AclEntry> retList = new ArrayList<>(acls.size() + 1);
+      retList.add(NO_GROUP);
+      retList.addAll(acls);
+      return retList;
+    }
 
-      // No duplicate acls should be added.
-      for (String authzObj: authzObjs) {
-        retSet.addAll(authzPermissions.getAcls(authzObj));
-      }
+    Set<AclEntry> retSet = new HashSet<>();
+    retSet.add(NO_GROUP);
 
-      return new ArrayList<>(retSet);
-    } finally {
-      lock.readLock().unlock();
+    // No duplicate acls should be added.
+    for (String authzObj: authzObjs) {
+      retSet.addAll(current.permissions.getAcls(authzObj));
     }
+
+    return new ArrayList<>(retSet);
   }
 
 }
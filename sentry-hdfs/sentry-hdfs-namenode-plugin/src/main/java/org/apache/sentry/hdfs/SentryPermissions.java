@@ -18,6 +18,8 @@
 package org.apache.sentry.hdfs;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.hadoop.fs.permission.AclEntry;
 import org.apache.hadoop.fs.permission.AclEntryScope;
@@ -28,15 +30,25 @@ import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipalType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.ImmutableList;
+
 public class SentryPermissions implements AuthzPermissions {
 
   public static class PrivilegeInfo {
     private final String authzObj;
     // It is safe to use TPrivilegePrincipal as key as it implements the hashCode and equals API's.
     // Equals() API would help in handling hash collisions.
-    private final Map<TPrivilegePrincipal, FsAction> privilegeEntityFsActionMap = new HashMap<TPrivilegePrincipal, FsAction>();
+    private final Map<TPrivilegePrincipal, FsAction> privilegeEntityFsActionMap;
+    // The SentryPermissions that may modify this object, set when it is first added
+    private Object owner;
     public PrivilegeInfo(String authzObj) {
       this.authzObj = authzObj;
+      this.privilegeEntityFsActionMap = new HashMap<TPrivilegePrincipal, FsAction>();
+    }
+    private PrivilegeInfo(PrivilegeInfo other) {
+      this.authzObj = other.authzObj;
+      this.privilegeEntityFsActionMap =
+          new HashMap<TPrivilegePrincipal, FsAction>(other.privilegeEntityFsActionMap);
     }
     public PrivilegeInfo setPermission(TPrivilegePrincipal privilegeEntity, FsAction perm) {
       privilegeEntityFsActionMap.put(privilegeEntity, perm);
@@ -63,9 +75,16 @@ public class SentryPermissions implements AuthzPermissions {
 
   public static class RoleInfo {
     private final String role;
-    private final Set<String> groups = new HashSet<String>();
+    private final Set<String> groups;
+    // The SentryPermissions that may modify this object, set when it is first added
+    private Object owner;
     public RoleInfo(String role) {
       this.role = role;
+      this.groups = new HashSet<String>();
+    }
+    private RoleInfo(RoleInfo other) {
+      this.role = other.role;
+      this.groups = new HashSet<String>(other.groups);
     }
     public RoleInfo addGroup(String group) {
       groups.add(group);
@@ -162,14 +181,73 @@ public class SentryPermissions implements AuthzPermissions {
   }
 
   // Comparison of authorizable object should be case insensitive.
-  private final Map<String, PrivilegeInfo> privileges = new TreeMap<String, PrivilegeInfo>(String.CASE_INSENSITIVE_ORDER);
-  private Map<String, Set<String>> authzObjChildren = new TreeMap<String, Set<String>>(String.CASE_INSENSITIVE_ORDER);
+  private final SortedMap<String, PrivilegeInfo> privileges;
+  private SortedMap<String, Set<String>> authzObjChildren;
 
   // RoleInfo should be case insensitive.
-  private final Map<String, RoleInfo> roles = new TreeMap<String, RoleInfo>(String.CASE_INSENSITIVE_ORDER);
+  private final SortedMap<String, RoleInfo> roles;
   private static Logger LOG =
           LoggerFactory.getLogger(SentryINodeAttributesProvider.class);
 
+  // ACLs of each authz object, computed on first use and invalidated when the privileges
+  // of the object or its parent, or the groups of their roles, change. ACLs are computed
+  // concurrently by readers of a published copy, and invalidated in the next copy before
+  // it is published. Keys are lower case, as authz objects are case insensitive.
+  private final ConcurrentMap<String, List<AclEntry>> aclCache =
+      new ConcurrentHashMap<String, List<AclEntry>>();
+  // Authz objects in aclCache whose ACLs depend on the groups of each role (lower case)
+  private final ConcurrentMap<String, Set<String>> aclCacheByRole =
+      new ConcurrentHashMap<String, Set<String>>();
+  // Authz objects in aclCache of each parent authz object (lower case)
+  private final ConcurrentMap<String, Set<String>> aclCacheByParent =
+      new ConcurrentHashMap<String, Set<String>>();
+
+  // Identifies the PrivilegeInfo and RoleInfo objects owned by this instance. Objects
+  // owned by another version are shared with a copy, and are copied before changes.
+  private Object version = new Object();
+
+  public SentryPermissions() {
+    privileges = new TreeMap<String, PrivilegeInfo>(String.CASE_INSENSITIVE_ORDER);
+    authzObjChildren = new TreeMap<String, Set<String>>(String.CASE_INSENSITIVE_ORDER);
+    roles = new TreeMap<String, RoleInfo>(String.CASE_INSENSITIVE_ORDER);
+  }
+
+  private SentryPermissions(SentryPermissions other) {
+    privileges = new TreeMap<String, PrivilegeInfo>(other.privileges);
+    roles = new TreeMap<String, RoleInfo>(other.roles);
+    authzObjChildren = new TreeMap<String, Set<String>>(String.CASE_INSENSITIVE_ORDER);
+    for (Map.Entry<String, Set<String>> children : other.authzObjChildren.entrySet()) {
+      authzObjChildren.put(children.getKey(), new HashSet<String>(children.getValue()));
+    }
+    // ACL's are indexed before being cached, so copy the cache first to copy
+    // the index of every ACL computed concurrently.
+    aclCache.putAll(other.aclCache);
+    copyAclIndex(other.aclCacheByRole, aclCacheByRole);
+    copyAclIndex(other.aclCacheByParent, aclCacheByParent);
+  }
+
+  /**
+   * Creates a copy of the permissions, which can be changed while this object
+   * keeps serving ACL's. The privileges and roles are shared until either object
+   * changes them through {@link #getPrivilegeInfoForUpdate(String)} or
+   * {@link #getRoleInfoForUpdate(String)}.
+   */
+  SentryPermissions copy() {
+    SentryPermissions copy = new SentryPermissions(this);
+    // Neither object owns the shared privileges and roles any more
+    version = new Object();
+    return copy;
+  }
+
+  private static void copyAclIndex(ConcurrentMap<String, Set<String>> from,
+      ConcurrentMap<String, Set<String>> to) {
+    for (Map.Entry<String, Set<String>> entry : from.entrySet()) {
+      Set<String> authzObjs = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+      authzObjs.addAll(entry.getValue());
+      to.put(entry.getKey(), authzObjs);
+    }
+  }
+
 
   String getParentAuthzObject(String authzObject) {
     if (authzObject != null) {
@@ -210,22 +288,23 @@ public class SentryPermissions implements AuthzPermissions {
    * Retrieves all the permissions granted to the object directly and inherited from
    * the parents.
    * @param authzObj Object name for which permissions are needed.
+   * @param roleNames Filled with the roles the permissions depend on
    * @return Sentry Permissions
    */
-  private Map<HdfsAclEntity, FsAction> getPerms(String authzObj) {
+  private Map<HdfsAclEntity, FsAction> getPerms(String authzObj, Set<String> roleNames) {
     Map<HdfsAclEntity, FsAction> perms;
     String parent = getParentAuthzObject(authzObj);
     if (parent == null || parent.equals(authzObj)) {
       perms = new HashMap<HdfsAclEntity, FsAction>();
     } else {
-      perms = getPerms(parent);
+      perms = getPerms(parent, roleNames);
     }
 
     PrivilegeInfo privilegeInfo = privileges.get(authzObj);
     if (privilegeInfo != null) {
       for (Map.Entry<TPrivilegePrincipal, FsAction> privs : privilegeInfo
           .getAllPermissions().entrySet()) {
-        constructHdfsPermissions(privs.getKey(), privs.getValue(), perms);
+        constructHdfsPermissions(privs.getKey(), privs.getValue(), perms, roleNames);
       }
     }
     return perms;
@@ -234,14 +313,49 @@ public class SentryPermissions implements AuthzPermissions {
   /**
    * Constructs HDFS ACL's based on the permissions granted to the object directly
    * and inherited from the parents.
+   * The ACL's are computed once and kept until the permissions they depend on change.
    * @param authzObj Object name for which ACL are needed
-   * @return HDFS ACL's
+   * @return HDFS ACL's, immutable
    */
   @Override
   public List<AclEntry> getAcls(String authzObj) {
-    Map<HdfsAclEntity, FsAction> permissions = getPerms(authzObj);
+    String key = authzObj.toLowerCase();
+    List<AclEntry> acls = aclCache.get(key);
+    if (acls != null) {
+      return acls;
+    }
+
+    Set<String> roleNames = new HashSet<String>();
+    acls = buildAcls(authzObj, roleNames);
+    for (String roleName : roleNames) {
+      addToAclIndex(aclCacheByRole, roleName.toLowerCase(), key);
+    }
+    String parent = getParentAuthzObject(authzObj);
+    if (!authzObj.equals(parent)) {
+      addToAclIndex(aclCacheByParent, parent.toLowerCase(), key);
+    }
+    aclCache.put(key, acls);
+    return acls;
+  }
 
-    List<AclEntry> retList = new LinkedList<AclEntry>();
+  private static void addToAclIndex(ConcurrentMap<String, Set<String>> index, String key,
+      String authzObj) {
+    Set<String> authzObjs = index.get(key);
+    if (authzObjs == null) {
+      Set<String> newAuthzObjs =
+          Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+      authzObjs = index.putIfAbsent(key, newAuthzObjs);
+      if (authzObjs == null) {
+        authzObjs = newAuthzObjs;
+      }
+    }
+    authzObjs.add(authzObj);
+  }
+
+  private List<AclEntry> buildAcls(String authzObj, Set<String> roleNames) {
+    Map<HdfsAclEntity, FsAction> permissions = getPerms(authzObj, roleNames);
+
+    List<AclEntry> retList = new ArrayList<AclEntry>(permissions.size());
     for (Map.Entry<HdfsAclEntity, FsAction> permission : permissions.entrySet()) {
       AclEntry.Builder builder = new AclEntry.Builder();
       if(permission.getKey().getType() == AclEntryType.GROUP) {
@@ -263,7 +377,45 @@ public class SentryPermissions implements AuthzPermissions {
       builder.setPermission(action);
       retList.add(builder.build());
     }
-    return retList;
+    return ImmutableList.copyOf(retList);
+  }
+
+  /**
+   * Invalidates the cached ACL's of the authz object, and of its children.
+   * Must be called when the privileges of the object change.
+   */
+  void invalidateAcls(String authzObj) {
+    String key = authzObj.toLowerCase();
+    aclCache.remove(key);
+    Set<String> children = aclCacheByParent.remove(key);
+    if (children != null) {
+      for (String child : children) {
+        aclCache.remove(child);
+      }
+    }
+  }
+
+  /**
+   * Invalidates the cached ACL's of all the authz objects with privileges granted
+   * to the role, directly or through their parent. Must be called when the groups
+   * of the role change.
+   */
+  void invalidateRoleAcls(String role) {
+    Set<String> authzObjs = aclCacheByRole.remove(role.toLowerCase());
+    if (authzObjs != null) {
+      for (String authzObj : authzObjs) {
+        aclCache.remove(authzObj);
+      }
+    }
+  }
+
+  /**
+   * Invalidates all the cached ACL's.
+   */
+  void invalidateAllAcls() {
+    aclCache.clear();
+    aclCacheByRole.clear();
+    aclCacheByParent.clear();
   }
 
   /**
@@ -271,12 +423,15 @@ public class SentryPermissions implements AuthzPermissions {
    * @param privilegePrincipal Privilege Entity
    * @param permission Permission granted
    * @param perms
+   * @param roleNames Filled with the role the permissions depend on
    */
   private void constructHdfsPermissions(TPrivilegePrincipal privilegePrincipal, FsAction permission,
-    Map<HdfsAclEntity, FsAction> perms) {
+    Map<HdfsAclEntity, FsAction> perms, Set<String> roleNames) {
     HdfsAclEntity aclEntry;
     FsAction fsAction;
     if(privilegePrincipal.getType() == TPrivilegePrincipalType.ROLE) {
+      // Also when the role is unknown, as adding it changes the ACL's
+      roleNames.add(privilegePrincipal.getValue());
       RoleInfo roleInfo = roles.get(privilegePrincipal.getValue());
       if (roleInfo != null) {
         for (String group : roleInfo.groups) {
@@ -306,6 +461,21 @@ public class SentryPermissions implements AuthzPermissions {
     return privileges.get(authzObj);
   }
 
+  /**
+   * Get the privileges of the object, to be changed and added back with
+   * {@link #addPrivilegeInfo(PrivilegeInfo)}. The privileges are copied first if they
+   * are shared with another copy of the permissions.
+   */
+  PrivilegeInfo getPrivilegeInfoForUpdate(String authzObj) {
+    PrivilegeInfo privilegeInfo = privileges.get(authzObj);
+    if (privilegeInfo != null && privilegeInfo.owner != version) {
+      privilegeInfo = new PrivilegeInfo(privilegeInfo);
+      privilegeInfo.owner = version;
+      privileges.put(privilegeInfo.authzObj, privilegeInfo);
+    }
+    return privilegeInfo;
+  }
+
   Collection<PrivilegeInfo> getAllPrivileges() {
     return privileges.values();
   }
@@ -316,10 +486,15 @@ public class SentryPermissions implements AuthzPermissions {
 
   public void delPrivilegeInfo(String authzObj) {
     privileges.remove(authzObj);
+    invalidateAcls(authzObj);
   }
 
   public void addPrivilegeInfo(PrivilegeInfo privilegeInfo) {
+    if (privilegeInfo.owner == null) {
+      privilegeInfo.owner = version;
+    }
     privileges.put(privilegeInfo.authzObj, privilegeInfo);
+    invalidateAcls(privilegeInfo.authzObj);
   }
 
   public Set<String> getChildren(String authzObj) {
@@ -330,12 +505,31 @@ public class SentryPermissions implements AuthzPermissions {
     return roles.get(role);
   }
 
+  /**
+   * Get the role, to be changed and added back with {@link #addRoleInfo(RoleInfo)}.
+   * The role is copied first if it is shared with another copy of the permissions.
+   */
+  RoleInfo getRoleInfoForUpdate(String role) {
+    RoleInfo roleInfo = roles.get(role);
+    if (roleInfo != null && roleInfo.owner != version) {
+      roleInfo = new RoleInfo(roleInfo);
+      roleInfo.owner = version;
+      roles.put(roleInfo.role, roleInfo);
+    }
+    return roleInfo;
+  }
+
   public void delRoleInfo(String role) {
     roles.remove(role);
+    invalidateRoleAcls(role);
   }
 
   public void addRoleInfo(RoleInfo roleInfo) {
+    if (roleInfo.owner == null) {
+      roleInfo.owner = version;
+    }
     roles.put(roleInfo.role, roleInfo);
+    invalidateRoleAcls(roleInfo.role);
   }
 
   public String dumpContent() {
@@ -352,6 +546,7 @@ public class SentryPermissions implements AuthzPermissions {
       .append(": Privileges: ").append(privileges.size())
       .append(", Roles: ").append(roles.size())
       .append(", AuthzObjChildren: ").append(authzObjChildren.size())
+      .append(", CachedAcls: ").append(aclCache.size())
       .toString();
   }
 }
@@ -17,7 +17,14 @@
  */
 package org.apache.sentry.hdfs;
 
+import static org.apache.sentry.hdfs.ServiceConstants.IMAGE_NUMBER_UPDATE_UNINITIALIZED;
+import static org.apache.sentry.hdfs.ServiceConstants.SEQUENCE_NUMBER_FULL_UPDATE_REQUEST;
+
+import java.util.Collections;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
 import org.apache.hadoop.conf.Configuration;
+import org.apache.sentry.core.common.exception.SentryHdfsServiceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,6 +33,9 @@ class SentryUpdater {
   private SentryHDFSServiceClient sentryClient;
   private final Configuration conf;
   private final SentryAuthorizationInfo authzInfo;
+  // Set when updates could not be applied, until the full image is received
+  private volatile boolean fullPathsImageRequested;
+  private volatile boolean fullPermsImageRequested;
 
   private static final Logger LOG = LoggerFactory.getLogger(SentryUpdater.class);
 
@@ -46,10 +56,30 @@ class SentryUpdater {
       }
     }
     try {
-      return sentryClient.getAllUpdatesFrom(
-          authzInfo.getAuthzPermissions().getLastUpdatedSeqNum() + 1,
-          authzInfo.getAuthzPaths().getLastUpdatedSeqNum() + 1,
-          authzInfo.getAuthzPaths().getLastUpdatedImgNum());
+      boolean fullPaths = fullPathsImageRequested;
+      boolean fullPerms = fullPermsImageRequested;
+      SentryAuthzUpdate updates = sentryClient.getAllUpdatesFrom(
+          fullPerms ? SEQUENCE_NUMBER_FULL_UPDATE_REQUEST :
+              authzInfo.getAuthzPermissions().getLastUpdatedSeqNum() + 1,
+          fullPaths ? SEQUENCE_NUMBER_FULL_UPDATE_REQUEST :
+              authzInfo.getAuthzPaths().getLastUpdatedSeqNum() + 1,
+          fullPaths ? IMAGE_NUMBER_UPDATE_UNINITIALIZED :
+              authzInfo.getAuthzPaths().getLastUpdatedImgNum());
+      if (updates.hasImageTokens()) {
+        updates = readImageChunks(updates);
+        if (updates == null) {
+          return null;
+        }
+      }
+      if (updates.getPathsImage() != null || (!updates.getPathUpdates().isEmpty()
+          && updates.getPathUpdates().get(0).hasFullImage())) {
+        fullPathsImageRequested = false;
+      }
+      if (updates.getPermsImage() != null || (!updates.getPermUpdates().isEmpty()
+          && updates.getPermUpdates().get(0).hasFullImage())) {
+        fullPermsImageRequested = false;
+      }
+      return updates;
     } catch (Exception e)  {
       sentryClient = null;
       LOG.error("Error receiving updates from Sentry", e);
@@ -57,4 +87,79 @@ class SentryUpdater {
     }
   }
 
+  /**
+   * Requests the full paths image instead of the paths updates following
+   * the current paths, e.g. after they could not be applied.
+   */
+  void requestFullPathsImage() {
+    fullPathsImageRequested = true;
+  }
+
+  /**
+   * Requests the full permissions image instead of the permissions updates
+   * following the current permissions, e.g. after they could not be applied.
+   */
+  void requestFullPermsImage() {
+    fullPermsImageRequested = true;
+  }
+
+  /**
+   * Reads the full images sent in chunks, building the new paths and
+   * permissions as the chunks are received. The images are returned only
+   * once all their chunks were read.
+   * @param updates the updates with the first chunks of the images
+   * @return the updates with the images, or null if a chunk is not
+   *         available anymore, in which case the images are requested again
+   */
+  private SentryAuthzUpdate readImageChunks(SentryAuthzUpdate updates)
+      throws SentryHdfsServiceException {
+    UpdateableAuthzPaths.ImageChunkReader pathsReader = updates.getPathsImageToken() != null ?
+        authzInfo.getAuthzPaths().newImageChunkReader() : null;
+    boolean readPerms = updates.getPermsImageToken() != null;
+    UpdateableAuthzPermissions permsImage = null;
+    int numChunks = 1;
+
+    SentryAuthzUpdate chunks = updates;
+    while (true) {
+      if (pathsReader != null) {
+        for (PathsUpdate chunk : chunks.getPathUpdates()) {
+          pathsReader.readChunk(chunk);
+        }
+      }
+      if (readPerms) {
+        for (PermissionsUpdate chunk : chunks.getPermUpdates()) {
+          if (permsImage == null) {
+            permsImage = authzInfo.getAuthzPermissions().updateFull(chunk);
+          } else {
+            permsImage.updatePartial(Collections.singletonList(chunk),
+                new ReentrantReadWriteLock());
+          }
+        }
+      }
+      if (!chunks.hasImageTokens()) {
+        break;
+      }
+
+      String permsToken = chunks.getPermsImageToken();
+      String pathsToken = chunks.getPathsImageToken();
+      chunks = sentryClient.getImageChunks(permsToken, pathsToken);
+      numChunks++;
+      if ((permsToken != null && chunks.getPermUpdates().isEmpty()) ||
+          (pathsToken != null && chunks.getPathUpdates().isEmpty())) {
+        LOG.warn("Image chunk expired after {} chunks, requesting the images again", numChunks);
+        return null;
+      }
+    }
+    LOG.info("Received full images in {} chunks", numChunks);
+
+    // Deltas of the images not sent in chunks are still processed as usual
+    SentryAuthzUpdate result = new SentryAuthzUpdate(
+        readPerms ? Collections.<PermissionsUpdate>emptyList() : updates.getPermUpdates(),
+        pathsReader != null ? Collections.<PathsUpdate>emptyList() : updates.getPathUpdates());
+    result.setPermsImage(permsImage);
+    if (pathsReader != null) {
+      result.setPathsImage(pathsReader.getPaths());
+    }
+    return result;
+  }
 }
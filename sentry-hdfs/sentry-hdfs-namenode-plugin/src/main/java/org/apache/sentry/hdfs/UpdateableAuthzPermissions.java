@@ -50,9 +50,27 @@ public class UpdateableAuthzPermissions implements AuthzPermissions, Updateable<
   private static final int MAX_UPDATES_PER_LOCK_USE = 99;
   private static final String UPDATABLE_TYPE_NAME = "perm_authz_update";
   private static final Logger LOG = LoggerFactory.getLogger(UpdateableAuthzPermissions.class);
-  private final SentryPermissions perms = new SentryPermissions();
+  private final SentryPermissions perms;
   private final AtomicLong seqNum = new AtomicLong(SEQUENCE_NUMBER_UPDATE_UNINITIALIZED);
 
+  public UpdateableAuthzPermissions() {
+    this(new SentryPermissions());
+  }
+
+  private UpdateableAuthzPermissions(SentryPermissions perms) {
+    this.perms = perms;
+  }
+
+  /**
+   * Creates a copy of these permissions, to which updates can be applied while
+   * this object keeps serving ACL's.
+   */
+  public UpdateableAuthzPermissions copy() {
+    UpdateableAuthzPermissions other = new UpdateableAuthzPermissions(perms.copy());
+    other.seqNum.set(seqNum.get());
+    return other;
+  }
+
   @Override
   public List<AclEntry> getAcls(String authzObj) {
     return perms.getAcls(authzObj);
@@ -100,11 +118,18 @@ public class UpdateableAuthzPermissions implements AuthzPermissions, Updateable<
       if (rUpdate.getRole().equals(PermissionsUpdate.ALL_ROLES)) {
         // Request to remove group from all roles
         String groupToRemove = rUpdate.getDelGroups().iterator().next();
+        List<String> rolesWithGroup = new ArrayList<>();
         for (RoleInfo rInfo : perms.getAllRoles()) {
-          rInfo.delGroup(groupToRemove);
+          if (rInfo.getAllGroups().contains(groupToRemove)) {
+            rolesWithGroup.add(rInfo.getRole());
+          }
         }
+        for (String role : rolesWithGroup) {
+          perms.getRoleInfoForUpdate(role).delGroup(groupToRemove);
+        }
+        perms.invalidateAllAcls();
       }
-      RoleInfo rInfo = perms.getRoleInfo(rUpdate.getRole());
+      RoleInfo rInfo = perms.getRoleInfoForUpdate(rUpdate.getRole());
       LOG.debug("RoleInfo Before: " + ((rInfo != null)  ? rInfo.toString() : "null"));
       for (String group : rUpdate.getAddGroups()) {
         if (rInfo == null) {
@@ -170,13 +195,24 @@ public class UpdateableAuthzPermissions implements AuthzPermissions, Updateable<
       if (pUpdate.getAuthzObj().equals(PermissionsUpdate.ALL_AUTHZ_OBJ)) {
         // Request to remove role from all Privileges
         delPrivEntity = pUpdate.getDelPrivileges().keySet().iterator().next();
+        List<String> authzObjsWithPrincipal = new ArrayList<>();
         for (PrivilegeInfo pInfo : perms.getAllPrivileges()) {
-          LOG.debug("Role {} is revoked permission on {}", delPrivEntity.getValue(), pInfo.getAuthzObj());
-          pInfo.removePermission(delPrivEntity);
+          if (pInfo.getPermission(delPrivEntity) != null) {
+            authzObjsWithPrincipal.add(pInfo.getAuthzObj());
+          }
+        }
+        for (String authzObj : authzObjsWithPrincipal) {
+          LOG.debug("Role {} is revoked permission on {}", delPrivEntity.getValue(), authzObj);
+          perms.getPrivilegeInfoForUpdate(authzObj).removePermission(delPrivEntity);
+        }
+        if (delPrivEntity.getType() == TPrivilegePrincipalType.ROLE) {
+          perms.invalidateRoleAcls(delPrivEntity.getValue());
+        } else {
+          perms.invalidateAllAcls();
         }
       }
       logPermissionInfo("BEFORE-UPDATE",  pUpdate.getAuthzObj());
-      PrivilegeInfo pInfo = perms.getPrivilegeInfo(pUpdate.getAuthzObj());
+      PrivilegeInfo pInfo = perms.getPrivilegeInfoForUpdate(pUpdate.getAuthzObj());
       for (Map.Entry<TPrivilegePrincipal, String> aMap : pUpdate.getAddPrivileges().entrySet()) {
         if (pInfo == null) {
           pInfo = new PrivilegeInfo(pUpdate.getAuthzObj());
@@ -204,7 +240,7 @@ public class UpdateableAuthzPermissions implements AuthzPermissions, Updateable<
           Set<String> children = perms.getChildren(pInfo.getAuthzObj());
           if (children != null) {
             for (String child : children) {
-              parentAndChild.add(perms.getPrivilegeInfo(child));
+              parentAndChild.add(perms.getPrivilegeInfoForUpdate(child));
             }
           }
           // recursive revoke
@@ -246,6 +282,10 @@ public class UpdateableAuthzPermissions implements AuthzPermissions, Updateable<
     FsAction retVal = FsAction.NONE;
     for (String strPriv : strPrivs) {
       FsAction action = ACTION_MAPPING.get(strPriv.toUpperCase());
+      if (action == null) {
+        // Actions of the full images created by createFullImageUpdate(), eg. "r-x"
+        action = FsAction.getFsAction(strPriv);
+      }
       if (action == null) {
         // Encountered a privilege that is not supported. Since we do not know what
         // to do with it we just drop all access.
@@ -0,0 +1,146 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.hadoop.fs.permission.AclEntry;
+import org.apache.hadoop.fs.permission.FsAction;
+import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipal;
+import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipalType;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+public class TestAuthzSnapshotFile {
+  private static final String[] PREFIXES = {"/user/hive/warehouse"};
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static UpdateableAuthzPaths newPaths() {
+    UpdateableAuthzPaths paths = new UpdateableAuthzPaths(PREFIXES);
+    PathsUpdate update = new PathsUpdate(5, 2, false);
+    update.newPathChange("db1.tbl1").addToAddPaths(
+        Lists.newArrayList("user", "hive", "warehouse", "db1", "tbl1"));
+    update.newPathChange("db1.tbl2").addToAddPaths(
+        Lists.newArrayList("user", "hive", "warehouse", "db1", "tbl2"));
+    paths.updatePartial(Collections.singletonList(update), new ReentrantReadWriteLock());
+    return paths;
+  }
+
+  private static UpdateableAuthzPermissions newPermissions() {
+    UpdateableAuthzPermissions perms = new UpdateableAuthzPermissions();
+    TPrivilegePrincipal role = new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, "role1");
+    PermissionsUpdate update = new PermissionsUpdate(7, false);
+    update.addPrivilegeUpdate("db1.tbl1").putToAddPrivileges(role, "ALL");
+    update.addPrivilegeUpdate("db1.tbl2").putToAddPrivileges(role, "SELECT");
+    update.addRoleUpdate("role1").addToAddGroups("group1");
+    perms.updatePartial(Collections.singletonList(update), new ReentrantReadWriteLock());
+    // Revoking leaves an action which is not a privilege
+    update = new PermissionsUpdate(8, false);
+    update.addPrivilegeUpdate("db1.tbl1").putToDelPrivileges(role, "SELECT");
+    perms.updatePartial(Collections.singletonList(update), new ReentrantReadWriteLock());
+    return perms;
+  }
+
+  @Test
+  public void testSaveAndLoad() throws Exception {
+    UpdateableAuthzPaths paths = newPaths();
+    UpdateableAuthzPermissions perms = newPermissions();
+    AuthzSnapshotFile snapshotFile = new AuthzSnapshotFile(folder.getRoot(), PREFIXES);
+    Assert.assertNull(snapshotFile.load());
+    snapshotFile.save(paths, perms);
+
+    AuthzSnapshotFile.Loaded loaded =
+        new AuthzSnapshotFile(folder.getRoot(), PREFIXES).load();
+    Assert.assertNotNull(loaded);
+    Assert.assertEquals(5, loaded.paths.getLastUpdatedSeqNum());
+    Assert.assertEquals(2, loaded.paths.getLastUpdatedImgNum());
+    Assert.assertEquals(8, loaded.permissions.getLastUpdatedSeqNum());
+    Assert.assertEquals(Sets.newHashSet("db1.tbl2"), new HashSet<>(loaded.paths.findAuthzObject(
+        new String[] {"user", "hive", "warehouse", "db1", "tbl2", "part=1"})));
+    for (String authzObj : new String[] {"db1.tbl1", "db1.tbl2"}) {
+      Assert.assertEquals(new HashSet<>(perms.getAcls(authzObj)),
+          new HashSet<>(loaded.permissions.getAcls(authzObj)));
+    }
+    List<AclEntry> acls = loaded.permissions.getAcls("db1.tbl1");
+    Assert.assertEquals(1, acls.size());
+    Assert.assertEquals(FsAction.WRITE, acls.get(0).getPermission());
+
+    // Saving again replaces the snapshot
+    PathsUpdate update = new PathsUpdate(6, 2, false);
+    update.newPathChange("db1.tbl1").addToDelPaths(Lists.newArrayList(PathsUpdate.ALL_PATHS));
+    paths.updatePartial(Collections.singletonList(update), new ReentrantReadWriteLock());
+    snapshotFile.save(paths, perms);
+    loaded = snapshotFile.load();
+    Assert.assertEquals(6, loaded.paths.getLastUpdatedSeqNum());
+    Set<String> authzObjs = loaded.paths.findAuthzObject(
+        new String[] {"user", "hive", "warehouse", "db1", "tbl1"});
+    Assert.assertTrue(authzObjs == null || authzObjs.isEmpty());
+    Assert.assertEquals(1, folder.getRoot().list().length);
+  }
+
+  @Test
+  public void testLoadCompactPaths() throws Exception {
+    new AuthzSnapshotFile(folder.getRoot(), PREFIXES).save(newPaths(), newPermissions());
+
+    AuthzSnapshotFile.Loaded loaded =
+        new AuthzSnapshotFile(folder.getRoot(), PREFIXES, true).load();
+    Assert.assertTrue(loaded.paths.dumpContent().contains(
+        CompactHMSPaths.class.getSimpleName()));
+    Assert.assertEquals(5, loaded.paths.getLastUpdatedSeqNum());
+    Assert.assertEquals(Sets.newHashSet("db1.tbl2"), new HashSet<>(loaded.paths.findAuthzObject(
+        new String[] {"user", "hive", "warehouse", "db1", "tbl2", "part=1"})));
+  }
+
+  @Test
+  public void testInvalidSnapshotsAreIgnored() throws Exception {
+    AuthzSnapshotFile snapshotFile = new AuthzSnapshotFile(folder.getRoot(), PREFIXES);
+    snapshotFile.save(newPaths(), newPermissions());
+
+    // Other prefixes
+    Assert.assertNull(new AuthzSnapshotFile(folder.getRoot(), new String[] {"/data"}).load());
+
+    // Corrupt content
+    File file = snapshotFile.getPath().toFile();
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.seek(raf.length() / 2);
+      int b = raf.read();
+      raf.seek(raf.length() / 2);
+      raf.write(b ^ 0xff);
+    }
+    Assert.assertNull(snapshotFile.load());
+
+    // Truncated
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.setLength(4);
+    }
+    Assert.assertNull(snapshotFile.load());
+  }
+}
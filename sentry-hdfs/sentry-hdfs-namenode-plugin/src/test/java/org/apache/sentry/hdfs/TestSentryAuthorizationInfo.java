@@ -0,0 +1,182 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.sentry.hdfs.service.thrift.TPathChanges;
+import org.apache.sentry.hdfs.service.thrift.TPrivilegeChanges;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class TestSentryAuthorizationInfo {
+
+  /**
+   * Returns the given updates, then no updates.
+   */
+  private static final class StubUpdater extends SentryUpdater {
+    private final Deque<SentryAuthzUpdate> updates = new ArrayDeque<>();
+    private int requests;
+    private boolean fullPathsImageRequested;
+
+    private StubUpdater() throws Exception {
+      super(new Configuration(), null);
+    }
+
+    @Override
+    SentryAuthzUpdate getUpdates() {
+      requests++;
+      return updates.isEmpty() ? new SentryAuthzUpdate(
+          Collections.<PermissionsUpdate>emptyList(), Collections.<PathsUpdate>emptyList()) :
+          updates.poll();
+    }
+
+    @Override
+    void requestFullPathsImage() {
+      fullPathsImageRequested = true;
+      super.requestFullPathsImage();
+    }
+  }
+
+  private static SentryAuthzUpdate newPermsUpdate(long seqNum) {
+    return new SentryAuthzUpdate(
+        Collections.singletonList(new PermissionsUpdate(seqNum, false)),
+        Collections.<PathsUpdate>emptyList());
+  }
+
+  @Test
+  public void testRequestAgainAfterUpdates() throws Exception {
+    StubUpdater updater = new StubUpdater();
+    SentryAuthorizationInfo authzInfo =
+        new SentryAuthorizationInfo(new String[] {"/user/hive/warehouse"}, updater);
+
+    // Updates are requested until a request gets none
+    updater.updates.add(newPermsUpdate(1));
+    updater.updates.add(newPermsUpdate(2));
+    authzInfo.run();
+    assertEquals(3, updater.requests);
+    assertEquals(2, authzInfo.getAuthzPermissions().getLastUpdatedSeqNum());
+
+    // A request without updates is not repeated
+    authzInfo.run();
+    assertEquals(4, updater.requests);
+  }
+
+  /**
+   * Verifies the paths updates are applied while the permissions updates are applied.
+   */
+  @Test
+  public void testPathsAndPermsUpdatesAppliedConcurrently() throws Exception {
+    final CountDownLatch permsApplying = new CountDownLatch(1);
+    final String[] pathsThread = new String[1];
+    // The paths are only applied once the permissions are being applied
+    PathsUpdate pathsUpdate = new PathsUpdate(1, false) {
+      @Override
+      List<TPathChanges> getPathChanges() {
+        pathsThread[0] = Thread.currentThread().getName();
+        try {
+          assertTrue(permsApplying.await(30, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+        return super.getPathChanges();
+      }
+    };
+    pathsUpdate.newPathChange("db1.tbl1").addToAddPaths(
+        Lists.newArrayList("user", "hive", "warehouse", "db1", "tbl1"));
+    PermissionsUpdate permsUpdate = new PermissionsUpdate(1, false) {
+      @Override
+      Collection<TPrivilegeChanges> getPrivilegeUpdates() {
+        permsApplying.countDown();
+        return super.getPrivilegeUpdates();
+      }
+    };
+
+    StubUpdater updater = new StubUpdater();
+    SentryAuthorizationInfo authzInfo =
+        new SentryAuthorizationInfo(new String[] {"/user/hive/warehouse"}, updater);
+    try {
+      updater.updates.add(new SentryAuthzUpdate(Collections.singletonList(permsUpdate),
+          Collections.singletonList(pathsUpdate)));
+      authzInfo.run();
+      assertEquals(1, authzInfo.getAuthzPermissions().getLastUpdatedSeqNum());
+      assertEquals(1, authzInfo.getAuthzPaths().getLastUpdatedSeqNum());
+      assertEquals(Collections.singleton("db1.tbl1"), authzInfo.getAuthzPaths().findAuthzObject(
+          new String[] {"user", "hive", "warehouse", "db1", "tbl1"}));
+      assertEquals("sentry-auth-info-paths-updater", pathsThread[0]);
+    } finally {
+      authzInfo.stop();
+    }
+  }
+
+  /**
+   * Verifies a failure applying the paths updates in the background requests the
+   * full paths image, and publishes none of the updates.
+   */
+  @Test
+  public void testPathsUpdatesFailureRequestsFullImage() throws Exception {
+    PathsUpdate pathsUpdate = new PathsUpdate(1, false) {
+      @Override
+      List<TPathChanges> getPathChanges() {
+        throw new IllegalStateException("Inconsistent paths update");
+      }
+    };
+
+    StubUpdater updater = new StubUpdater();
+    SentryAuthorizationInfo authzInfo =
+        new SentryAuthorizationInfo(new String[] {"/user/hive/warehouse"}, updater);
+    try {
+      updater.updates.add(new SentryAuthzUpdate(
+          Collections.singletonList(new PermissionsUpdate(1, false)),
+          Collections.singletonList(pathsUpdate)));
+      authzInfo.run();
+      assertTrue(updater.fullPathsImageRequested);
+      assertEquals(1, updater.requests);
+      assertEquals(-1, authzInfo.getAuthzPermissions().getLastUpdatedSeqNum());
+      assertEquals(-1, authzInfo.getAuthzPaths().getLastUpdatedSeqNum());
+    } finally {
+      authzInfo.stop();
+    }
+  }
+
+  @Test
+  public void testFailedRequestNotRepeated() throws Exception {
+    StubUpdater updater = new StubUpdater() {
+      @Override
+      SentryAuthzUpdate getUpdates() {
+        super.getUpdates();
+        return null;
+      }
+    };
+    SentryAuthorizationInfo authzInfo =
+        new SentryAuthorizationInfo(new String[] {"/user/hive/warehouse"}, updater);
+    authzInfo.run();
+    assertEquals(1, updater.requests);
+  }
+}
@@ -19,7 +19,18 @@
 
 package org.apache.sentry.hdfs;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.hadoop.fs.permission.AclEntryType;
 import org.apache.hadoop.fs.permission.FsAction;
@@ -28,11 +39,14 @@ import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipalType;
 import org.apache.hadoop.fs.permission.AclEntry;
 import org.junit.Assert;
 import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Test suits for components inside SentryPermissions.
  */
 public class TestSentryPermissions {
+  private static final Logger LOG = LoggerFactory.getLogger(TestSentryPermissions.class);
 
   @Test
   public void testRoleInfoCaseInsensitive() {
@@ -155,4 +169,193 @@ public class TestSentryPermissions {
     Assert.assertEquals("Unexpected number of User ACL", 1, userAclCount);
     Assert.assertEquals("Unexpected number of Group ACL", 2, groupAclCount);
   }
+
+  /**
+   * Checks that the ACL's are cached, and recomputed when the privileges of the object
+   * or its parent, or the groups of their roles change.
+   */
+  @Test
+  public void testAclCacheInvalidation() {
+    SentryPermissions perms = new SentryPermissions();
+    TPrivilegePrincipal roleEntity = new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, "role1");
+    TPrivilegePrincipal userEntity = new TPrivilegePrincipal(TPrivilegePrincipalType.USER, "user1");
+
+    SentryPermissions.PrivilegeInfo dbInfo = new SentryPermissions.PrivilegeInfo("db1");
+    dbInfo.setPermission(roleEntity, FsAction.READ_EXECUTE);
+    perms.addPrivilegeInfo(dbInfo);
+
+    // The role is unknown yet
+    List<AclEntry> acls = perms.getAcls("db1.tb1");
+    Assert.assertEquals(0, acls.size());
+    Assert.assertSame("ACL's are not cached", acls, perms.getAcls("DB1.TB1"));
+
+    // Adding the role invalidates the ACL's of the objects it has privileges on
+    SentryPermissions.RoleInfo roleInfo = new SentryPermissions.RoleInfo("Role1");
+    roleInfo.addGroup("group1");
+    perms.addRoleInfo(roleInfo);
+    acls = perms.getAcls("db1.tb1");
+    Assert.assertEquals(1, acls.size());
+    Assert.assertEquals("group1", acls.get(0).getName());
+
+    // Privileges on the parent invalidate the ACL's of the children
+    SentryPermissions.PrivilegeInfo tbInfo = new SentryPermissions.PrivilegeInfo("db1.tb1");
+    tbInfo.setPermission(userEntity, FsAction.WRITE_EXECUTE);
+    perms.addPrivilegeInfo(tbInfo);
+    Assert.assertEquals(2, perms.getAcls("db1.tb1").size());
+    Assert.assertEquals(1, perms.getAcls("db1.tb2").size());
+    perms.delPrivilegeInfo("db1");
+    Assert.assertEquals(1, perms.getAcls("db1.tb1").size());
+    Assert.assertEquals(0, perms.getAcls("db1.tb2").size());
+
+    perms.addPrivilegeInfo(dbInfo);
+    Assert.assertEquals(1, perms.getAcls("db1.tb2").size());
+    perms.delRoleInfo("role1");
+    Assert.assertEquals(0, perms.getAcls("db1.tb2").size());
+  }
+
+  /**
+   * Checks that updates applied to UpdateableAuthzPermissions are reflected in the ACL's.
+   */
+  @Test
+  public void testAclCacheWithUpdates() {
+    UpdateableAuthzPermissions authzPerms = new UpdateableAuthzPermissions();
+    ReadWriteLock lock = new ReentrantReadWriteLock();
+    TPrivilegePrincipal roleEntity = new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, "role1");
+
+    PermissionsUpdate update = new PermissionsUpdate(1, false);
+    update.addPrivilegeUpdate("db1").putToAddPrivileges(roleEntity, "SELECT");
+    update.addRoleUpdate("role1").addToAddGroups("group1");
+    authzPerms.updatePartial(Collections.singletonList(update), lock);
+    Assert.assertEquals(1, authzPerms.getAcls("db1.tb1").size());
+
+    update = new PermissionsUpdate(2, false);
+    update.addRoleUpdate("role1").addToAddGroups("group2");
+    authzPerms.updatePartial(Collections.singletonList(update), lock);
+    Assert.assertEquals(2, authzPerms.getAcls("db1.tb1").size());
+
+    update = new PermissionsUpdate(3, false);
+    update.addPrivilegeUpdate(PermissionsUpdate.ALL_AUTHZ_OBJ).putToDelPrivileges(
+        roleEntity, PermissionsUpdate.ALL_AUTHZ_OBJ);
+    authzPerms.updatePartial(Collections.singletonList(update), lock);
+    Assert.assertEquals(0, authzPerms.getAcls("db1.tb1").size());
+  }
+
+  /**
+   * Checks that updates applied to a copy don't change the permissions it was copied from.
+   */
+  @Test
+  public void testCopyOnWrite() {
+    UpdateableAuthzPermissions authzPerms = new UpdateableAuthzPermissions();
+    ReadWriteLock lock = new ReentrantReadWriteLock();
+    TPrivilegePrincipal roleEntity = new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, "role1");
+
+    PermissionsUpdate update = new PermissionsUpdate(1, false);
+    update.addPrivilegeUpdate("db1").putToAddPrivileges(roleEntity, "SELECT");
+    update.addPrivilegeUpdate("db1.tb1").putToAddPrivileges(roleEntity, "INSERT");
+    update.addRoleUpdate("role1").addToAddGroups("group1");
+    authzPerms.updatePartial(Collections.singletonList(update), lock);
+    Assert.assertEquals(1, authzPerms.getAcls("db1.tb1").size());
+
+    UpdateableAuthzPermissions copy = authzPerms.copy();
+    Assert.assertEquals(1, copy.getLastUpdatedSeqNum());
+    update = new PermissionsUpdate(2, false);
+    update.addRoleUpdate("role1").addToAddGroups("group2");
+    update.addPrivilegeUpdate("db1").putToDelPrivileges(roleEntity, "SELECT");
+    copy.updatePartial(Collections.singletonList(update), lock);
+
+    // The recursive revoke and the new group only apply to the copy
+    List<AclEntry> acls = copy.getAcls("db1.tb1");
+    Assert.assertEquals(2, acls.size());
+    for (AclEntry acl : acls) {
+      Assert.assertEquals(FsAction.WRITE_EXECUTE, acl.getPermission());
+    }
+    Assert.assertEquals(0, copy.getAcls("db1").size());
+    acls = authzPerms.getAcls("db1.tb1");
+    Assert.assertEquals(1, acls.size());
+    Assert.assertEquals("group1", acls.get(0).getName());
+    Assert.assertEquals(FsAction.ALL, acls.get(0).getPermission());
+    Assert.assertEquals(1, authzPerms.getLastUpdatedSeqNum());
+
+    // Removing the role from all objects in the original doesn't change the copy
+    update = new PermissionsUpdate(3, false);
+    update.addPrivilegeUpdate(PermissionsUpdate.ALL_AUTHZ_OBJ).putToDelPrivileges(
+        roleEntity, PermissionsUpdate.ALL_AUTHZ_OBJ);
+    authzPerms.updatePartial(Collections.singletonList(update), lock);
+    Assert.assertEquals(0, authzPerms.getAcls("db1.tb1").size());
+    Assert.assertEquals(2, copy.getAcls("db1.tb1").size());
+  }
+
+  /**
+   * Reads ACL's while updates are applied to copies that are published as they are
+   * done, as the NameNode does, and logs the read latency percentiles.
+   */
+  @Test(timeout = 60000)
+  public void testConcurrentReadsDuringUpdates() throws Exception {
+    final int numObjects = 1000;
+    final int numReaders = 4;
+    final int numReadsPerReader = 100000;
+    final TPrivilegePrincipal roleEntity =
+        new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, "role1");
+
+    UpdateableAuthzPermissions initial = new UpdateableAuthzPermissions();
+    PermissionsUpdate update = new PermissionsUpdate(1, false);
+    for (int i = 0; i < numObjects; i++) {
+      update.addPrivilegeUpdate("db1.tb" + i).putToAddPrivileges(roleEntity, "SELECT");
+    }
+    update.addRoleUpdate("role1").addToAddGroups("group1");
+    final ReadWriteLock lock = new ReentrantReadWriteLock();
+    initial.updatePartial(Collections.singletonList(update), lock);
+
+    final AtomicReference<UpdateableAuthzPermissions> published =
+        new AtomicReference<>(initial);
+    final AtomicBoolean done = new AtomicBoolean();
+    ExecutorService executor = Executors.newFixedThreadPool(numReaders + 1);
+    try {
+      Future<?> writer = executor.submit(new Runnable() {
+        @Override
+        public void run() {
+          for (long seqNum = 2; !done.get(); seqNum++) {
+            UpdateableAuthzPermissions next = published.get().copy();
+            PermissionsUpdate update = new PermissionsUpdate(seqNum, false);
+            update.addRoleUpdate("role1").addToAddGroups("group" + seqNum);
+            next.updatePartial(Collections.singletonList(update), lock);
+            published.set(next);
+          }
+        }
+      });
+
+      List<Future<long[]>> readers = new ArrayList<>();
+      for (int r = 0; r < numReaders; r++) {
+        readers.add(executor.submit(() -> {
+          long[] latencies = new long[numReadsPerReader];
+          for (int i = 0; i < numReadsPerReader; i++) {
+            UpdateableAuthzPermissions current = published.get();
+            long start = System.nanoTime();
+            List<AclEntry> acls = current.getAcls("db1.tb" + (i % numObjects));
+            latencies[i] = System.nanoTime() - start;
+            Assert.assertFalse(acls.isEmpty());
+          }
+          return latencies;
+        }));
+      }
+
+      long[] all = new long[numReaders * numReadsPerReader];
+      for (int r = 0; r < numReaders; r++) {
+        System.arraycopy(readers.get(r).get(), 0, all, r * numReadsPerReader,
+            numReadsPerReader);
+      }
+      done.set(true);
+      writer.get();
+
+      Arrays.sort(all);
+      LOG.info("getAcls latency during updates: p50 {}us, p99 {}us, p99.9 {}us, max {}us",
+          TimeUnit.NANOSECONDS.toMicros(all[all.length / 2]),
+          TimeUnit.NANOSECONDS.toMicros(all[(int) (all.length * 0.99)]),
+          TimeUnit.NANOSECONDS.toMicros(all[(int) (all.length * 0.999)]),
+          TimeUnit.NANOSECONDS.toMicros(all[all.length - 1]));
+    } finally {
+      done.set(true);
+      executor.shutdownNow();
+    }
+  }
 }
@@ -0,0 +1,296 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.sentry.hdfs.service.thrift.TPathChanges;
+import org.apache.sentry.hdfs.service.thrift.TPathsDump;
+import org.apache.sentry.hdfs.service.thrift.TPathsUpdate;
+import org.apache.sentry.hdfs.service.thrift.TPermissionsUpdate;
+import org.apache.sentry.hdfs.service.thrift.TPrivilegeChanges;
+import org.apache.sentry.hdfs.service.thrift.TRoleChanges;
+
+/**
+ * Splits full images sent to HDFS NameNodes in chunks of bounded size.
+ * <p>
+ * The images being sent are kept, so that the NameNodes can request their
+ * next chunks with the token returned with the previous chunk. A token is
+ * "version:offset", where version identifies the chunked image. Versions start
+ * at a random number so that the tokens of another Sentry server are unlikely
+ * to be valid. A request with an unknown or expired token gets no chunk, and
+ * the NameNode then requests the full image again.
+ * <p>
+ * Images are identified by their sequence numbers, so the NameNodes requesting
+ * the same image share a single copy, and NameNodes reading different images
+ * at the same time each keep theirs. An image is released once every NameNode
+ * that got its first chunk got its last one, or when it was not read for a
+ * while. As each image holds a full copy of the authz data, at most
+ * {@link #MAX_IMAGES} are kept, the least recently read being released first.
+ *
+ * @param <T> the thrift full image
+ * @param <I> the image prepared for splitting
+ */
+@ThreadSafe
+abstract class FullImageChunker<T, I> {
+
+  private static final long IMAGE_EXPIRY_NANOS = TimeUnit.MINUTES.toNanos(10);
+  static final int MAX_IMAGES = 4;
+
+  /**
+   * A chunk of a full image, along with the token of the next chunk.
+   */
+  static final class Chunk<T> {
+    private final T image;
+    private final String nextToken;
+
+    Chunk(T image, String nextToken) {
+      this.image = image;
+      this.nextToken = nextToken;
+    }
+
+    T getImage() {
+      return image;
+    }
+
+    /**
+     * @return the token of the next chunk, or null if this is the last chunk.
+     */
+    String getNextToken() {
+      return nextToken;
+    }
+  }
+
+  /**
+   * An image being sent, shared between the NameNodes requesting it.
+   */
+  private final class KeptImage {
+    private final String key;
+    private final I prepared;
+    // Number of NameNodes which got the first chunk of the image, but not its last chunk
+    private int pendingReaders;
+    private long lastAccessNanos;
+
+    private KeptImage(String key, I prepared) {
+      this.key = key;
+      this.prepared = prepared;
+    }
+  }
+
+  // Images being sent by version, in the order of their last access
+  private final LinkedHashMap<Long, KeptImage> images = new LinkedHashMap<>(16, 0.75f, true);
+  private long lastVersion = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE / 2);
+
+  /**
+   * Gets the first chunk of a full image.
+   * @return the first chunk, or null if the image fits in one chunk
+   */
+  Chunk<T> getFirstChunk(T image, int chunkSize) {
+    String key = key(image);
+    KeptImage kept;
+    long version;
+    synchronized (this) {
+      releaseExpired();
+      version = findVersion(key);
+      if (version < 0) {
+        I prepared = prepare(image);
+        if (size(prepared) <= chunkSize) {
+          return null;
+        }
+        version = ++lastVersion;
+        images.put(version, new KeptImage(key, prepared));
+        releaseLeastRecentlyRead();
+      }
+      kept = images.get(version);
+      kept.pendingReaders++;
+      kept.lastAccessNanos = System.nanoTime();
+    }
+    return getChunk(version, kept.prepared, 0, chunkSize);
+  }
+
+  /**
+   * Gets the chunk of a full image identified by a token.
+   * @return the chunk, or null if the image isn't kept anymore
+   */
+  Chunk<T> getNextChunk(String token, int chunkSize) {
+    int separator = token.indexOf(':');
+    long version;
+    int offset;
+    try {
+      version = Long.parseLong(token.substring(0, separator));
+      offset = Integer.parseInt(token.substring(separator + 1));
+    } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Invalid image chunk token " + token, e);
+    }
+    KeptImage kept;
+    synchronized (this) {
+      releaseExpired();
+      kept = images.get(version);
+      if (kept == null || offset < 0 || offset >= size(kept.prepared)) {
+        return null;
+      }
+      kept.lastAccessNanos = System.nanoTime();
+      if (offset + chunkSize >= size(kept.prepared) && --kept.pendingReaders <= 0) {
+        images.remove(version);
+      }
+    }
+    return getChunk(version, kept.prepared, offset, chunkSize);
+  }
+
+  /** @return the number of images kept */
+  synchronized int getNumImages() {
+    return images.size();
+  }
+
+  private long findVersion(String key) {
+    for (Map.Entry<Long, KeptImage> entry : images.entrySet()) {
+      if (entry.getValue().key.equals(key)) {
+        return entry.getKey();
+      }
+    }
+    return -1;
+  }
+
+  private void releaseExpired() {
+    long now = System.nanoTime();
+    Iterator<KeptImage> it = images.values().iterator();
+    while (it.hasNext()) {
+      if (now - it.next().lastAccessNanos > IMAGE_EXPIRY_NANOS) {
+        it.remove();
+      }
+    }
+  }
+
+  private void releaseLeastRecentlyRead() {
+    Iterator<KeptImage> it = images.values().iterator();
+    while (images.size() > MAX_IMAGES) {
+      it.next();
+      it.remove();
+    }
+  }
+
+  private Chunk<T> getChunk(long version, I prepared, int offset, int chunkSize) {
+    int end = offset + chunkSize;
+    String nextToken = end < size(prepared) ? version + ":" + end : null;
+    return new Chunk<>(chunk(prepared, offset, chunkSize), nextToken);
+  }
+
+  /** @return the key identifying the image, shared by the copies of the same image */
+  abstract String key(T image);
+
+  /** Prepares an image to be split. */
+  abstract I prepare(T image);
+
+  /** @return the number of entries of a prepared image */
+  abstract int size(I prepared);
+
+  /** @return the image with maxEntries entries of a prepared image from offset */
+  abstract T chunk(I prepared, int offset, int maxEntries);
+
+  /**
+   * Splits a full paths image by path entries. The ids of the entries of the
+   * dump being consecutive, the entries are sent in the order of their ids.
+   */
+  static final class PathsChunker extends FullImageChunker<TPathsUpdate, TPathsUpdate> {
+    @Override
+    String key(TPathsUpdate image) {
+      return image.getImgNum() + ":" + image.getSeqNum();
+    }
+
+    @Override
+    TPathsUpdate prepare(TPathsUpdate image) {
+      return image;
+    }
+
+    @Override
+    int size(TPathsUpdate image) {
+      return image.getPathsDump().getNodeMapSize();
+    }
+
+    @Override
+    TPathsUpdate chunk(TPathsUpdate image, int offset, int maxEntries) {
+      TPathsDump chunk = HMSPathsDumper.getPathsDumpChunk(image.getPathsDump(),
+          offset, maxEntries);
+      TPathsUpdate update = new TPathsUpdate(true, image.getSeqNum(),
+          new ArrayList<TPathChanges>());
+      update.setImgNum(image.getImgNum());
+      update.setPathsDump(chunk);
+      return update;
+    }
+  }
+
+  /**
+   * Splits a full permissions image by roles and by authorizable objects,
+   * roles first.
+   */
+  static final class PermsChunker extends FullImageChunker<TPermissionsUpdate, PermsChunker.Image> {
+    static final class Image {
+      private final TPermissionsUpdate image;
+      private final List<String> roles;
+      private final List<String> authzObjs;
+
+      private Image(TPermissionsUpdate image) {
+        this.image = image;
+        roles = new ArrayList<>(image.getRoleChanges().keySet());
+        authzObjs = new ArrayList<>(image.getPrivilegeChanges().keySet());
+      }
+    }
+
+    @Override
+    String key(TPermissionsUpdate image) {
+      return Long.toString(image.getSeqNum());
+    }
+
+    @Override
+    Image prepare(TPermissionsUpdate image) {
+      return new Image(image);
+    }
+
+    @Override
+    int size(Image prepared) {
+      return prepared.roles.size() + prepared.authzObjs.size();
+    }
+
+    @Override
+    TPermissionsUpdate chunk(Image prepared, int offset, int maxEntries) {
+      int end = Math.min(size(prepared), offset + maxEntries);
+      int numRoles = prepared.roles.size();
+      Map<String, TRoleChanges> roleChanges = new HashMap<>();
+      for (int i = offset; i < Math.min(end, numRoles); i++) {
+        String role = prepared.roles.get(i);
+        roleChanges.put(role, prepared.image.getRoleChanges().get(role));
+      }
+      Map<String, TPrivilegeChanges> privilegeChanges = new HashMap<>();
+      for (int i = Math.max(offset, numRoles); i < end; i++) {
+        String authzObj = prepared.authzObjs.get(i - numRoles);
+        privilegeChanges.put(authzObj, prepared.image.getPrivilegeChanges().get(authzObj));
+      }
+      return new TPermissionsUpdate(true, prepared.image.getSeqNum(), privilegeChanges,
+          roleChanges);
+    }
+  }
+}
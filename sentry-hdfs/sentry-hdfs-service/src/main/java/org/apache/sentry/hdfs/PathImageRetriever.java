@@ -19,34 +19,134 @@ package org.apache.sentry.hdfs;
 
 import com.codahale.metrics.Timer;
 import org.apache.sentry.provider.db.service.persistent.SentryStoreInterface;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * PathImageRetriever obtains a complete snapshot of Hive Paths from a persistent
  * storage and translates it into {@code PathsUpdate} that the consumers, such as
  * HDFS NameNode, can understand.
  * <p>
+ * When caching is enabled, the last full image is kept and returned to all the
+ * consumers as long as no new paths snapshot or path change is persisted. New path
+ * changes are applied to the cached image instead of reading all the paths again
+ * from the persistent storage. Concurrent requests wait for the image being built
+ * and are then served from it.
+ * <p>
  * It is a thread safe class, as all the underlying database operation is thread safe.
  */
 @ThreadSafe
 class PathImageRetriever implements ImageRetriever<PathsUpdate> {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(PathImageRetriever.class);
+
   private final SentryStoreInterface sentryStore;
   /** List of prefixes managed by Sentry */
   private final String[] prefixes;
+  private final boolean cacheEnabled;
+  private final PathDeltaRetriever deltaRetriever;
+
+  /**
+   * Last full image returned, null if none is cached. Only the dump is kept, the
+   * paths are rebuilt from it when path changes are rolled into it.
+   */
+  @GuardedBy("this")
+  private PathsUpdate cachedImage;
 
   PathImageRetriever(SentryStoreInterface sentryStore, String[] prefixes) {
+    this(sentryStore, prefixes, false);
+  }
+
+  PathImageRetriever(SentryStoreInterface sentryStore, String[] prefixes,
+      boolean cacheEnabled) {
     this.sentryStore = sentryStore;
     this.prefixes = prefixes;
+    this.cacheEnabled = cacheEnabled;
+    this.deltaRetriever = new PathDeltaRetriever(sentryStore);
   }
 
   @Override
   /**
    * Retrieve full image from SentryStore.
    * The image only contains PathsDump and is only useful for sending to the NameNode.
+   * The returned image is shared by all callers when caching is enabled, and must
+   * not be modified.
    */
   public PathsUpdate retrieveFullImage() throws Exception {
+    if (!cacheEnabled) {
+      return retrieveFullImageFromStore();
+    }
+    synchronized (this) {
+      return retrieveCachedFullImage();
+    }
+  }
+
+  @GuardedBy("this")
+  private PathsUpdate retrieveCachedFullImage() throws Exception {
+    long imageID = sentryStore.getLastProcessedImageID();
+    if (cachedImage != null && cachedImage.getImgNum() == imageID) {
+      long changeID = sentryStore.getLastProcessedPathChangeID();
+      if (changeID == cachedImage.getSeqNum()) {
+        SentryHdfsMetricsUtil.getPathFullImageCacheHitCounter.inc();
+        return cachedImage;
+      }
+      if (changeID > cachedImage.getSeqNum() && rollForward(imageID)) {
+        SentryHdfsMetricsUtil.getPathFullImageRollForwardCounter.inc();
+        return cachedImage;
+      }
+    }
+
+    cachedImage = null;
+    cachedImage = retrieveFullImageFromStore();
+    LOGGER.info("Cached full paths image with image number {} and sequence number {}",
+        cachedImage.getImgNum(), cachedImage.getSeqNum());
+    return cachedImage;
+  }
+
+  /**
+   * Apply the path changes persisted after the cached image to it. This is only done
+   * when a full image is requested, so the paths are rebuilt from the cached image and
+   * dropped once the new image is dumped, instead of keeping both in memory.
+   *
+   * @return false if the path changes can't be applied, e.g. some of them were purged
+   *         or a new paths snapshot was persisted meanwhile.
+   */
+  @GuardedBy("this")
+  private boolean rollForward(long imageID) throws Exception {
+    long seqNum = cachedImage.getSeqNum();
+    List<PathsUpdate> deltas = deltaRetriever.retrieveDelta(seqNum + 1, imageID);
+    for (PathsUpdate delta : deltas) {
+      if (delta.getSeqNum() != ++seqNum) {
+        LOGGER.info("Path change {} is not available, cannot roll forward the cached " +
+            "full paths image with sequence number {}", seqNum, cachedImage.getSeqNum());
+        return false;
+      }
+    }
+    if (deltas.isEmpty()) {
+      return false;
+    }
+
+    UpdateableAuthzPaths paths = new UpdateableAuthzPaths(prefixes).updateFull(cachedImage);
+    paths.updatePartial(deltas, new ReentrantReadWriteLock());
+    if (sentryStore.getLastProcessedImageID() != imageID) {
+      // The path changes may belong to the new snapshot
+      return false;
+    }
+
+    PathsUpdate image = new PathsUpdate(seqNum, imageID, true);
+    image.toThrift().setPathsDump(paths.getPathsDump().createPathsDump(true));
+    LOGGER.debug("Rolled forward the cached full paths image from sequence number {} to {}",
+        cachedImage.getSeqNum(), seqNum);
+    cachedImage = image;
+    return true;
+  }
+
+  private PathsUpdate retrieveFullImageFromStore() throws Exception {
     try (final Timer.Context timerContext =
         SentryHdfsMetricsUtil.getRetrievePathFullImageTimer.time()) {
       return sentryStore.retrieveFullPathsImageUpdate(prefixes);
@@ -62,10 +62,10 @@ public class PermDeltaRetriever implements DeltaRetriever<PermissionsUpdate> {
         // Get the changeID from the persisted MSentryPermChange
         long changeID = mSentryPermChange.getChangeID();
         // Create a corresponding PermissionsUpdate and deserialize the
-        // persisted delta update in JSON format to TPermissionsUpdate with
+        // persisted delta update in binary or JSON format to TPermissionsUpdate with
         // associated changeID.
         PermissionsUpdate permsUpdate = new PermissionsUpdate();
-        permsUpdate.JSONDeserialize(mSentryPermChange.getPermChange());
+        permsUpdate.deserializeFromString(mSentryPermChange.getPermChange());
         permsUpdate.setSeqNum(changeID);
         Collection<TPrivilegeChanges> privChanges = permsUpdate.getPrivilegeUpdates();
         for(TPrivilegeChanges privChange : privChanges) {
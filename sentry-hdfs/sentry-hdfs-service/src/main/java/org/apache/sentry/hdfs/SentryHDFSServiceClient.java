@@ -50,5 +50,16 @@ public interface SentryHDFSServiceClient extends AutoCloseable {
    */
   SentryAuthzUpdate getAllUpdatesFrom(long permSeqNum, long pathSeqNum, long pathImgNum)
       throws SentryHdfsServiceException;
+
+  /**
+   * Get the next chunks of full images sent in chunks.
+   * @param permsImageToken Token of the next permissions image chunk, or null
+   * @param pathsImageToken Token of the next paths image chunk, or null
+   * @return The requested chunks, with the tokens of the chunks following them.
+   *         A chunk is missing if its image is not available anymore.
+   * @throws SentryHdfsServiceException if a connection exception happens
+   */
+  SentryAuthzUpdate getImageChunks(String permsImageToken, String pathsImageToken)
+      throws SentryHdfsServiceException;
 }
 
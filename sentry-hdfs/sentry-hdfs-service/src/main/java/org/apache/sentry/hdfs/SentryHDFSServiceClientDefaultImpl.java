@@ -57,6 +57,8 @@ public class SentryHDFSServiceClientDefaultImpl
   private final SentryTransportPool transportPool;
   private TTransportWrapper transport;
   private final long maxMessageSize;
+  private final int imageChunkSize;
+  private final int updatesMaxWaitMs;
 
   SentryHDFSServiceClientDefaultImpl(Configuration conf,
                                      SentryTransportPool transportPool) {
@@ -64,6 +66,10 @@ public class SentryHDFSServiceClientDefaultImpl
             ClientConfig.SENTRY_HDFS_THRIFT_MAX_MESSAGE_SIZE_DEFAULT);
     useCompactTransport = conf.getBoolean(ClientConfig.USE_COMPACT_TRANSPORT,
             ClientConfig.USE_COMPACT_TRANSPORT_DEFAULT);
+    imageChunkSize = conf.getInt(ClientConfig.SENTRY_HDFS_IMAGE_CHUNK_SIZE,
+            ClientConfig.SENTRY_HDFS_IMAGE_CHUNK_SIZE_DEFAULT);
+    updatesMaxWaitMs = conf.getInt(ClientConfig.SENTRY_HDFS_UPDATES_MAX_WAIT_MS,
+            ClientConfig.SENTRY_HDFS_UPDATES_MAX_WAIT_MS_DEFAULT);
     this.transportPool = transportPool;
   }
 
@@ -104,23 +110,17 @@ public class SentryHDFSServiceClientDefaultImpl
       LOGGER.debug("Requesting updates: Perm sequence num:{}, Path sequence num: {}, Path Image Number: {})",
               permSeqNum, pathSeqNum, pathImgNum);
       TAuthzUpdateRequest updateRequest = new TAuthzUpdateRequest(permSeqNum, pathSeqNum, pathImgNum);
-      TAuthzUpdateResponse sentryUpdates = client.get_authz_updates(updateRequest);
-
-      List<PathsUpdate> pathsUpdates = Collections.emptyList();
-      if (sentryUpdates.getAuthzPathUpdate() != null) {
-        pathsUpdates = new ArrayList<>(sentryUpdates.getAuthzPathUpdate().size());
-        for (TPathsUpdate pathsUpdate : sentryUpdates.getAuthzPathUpdate()) {
-          pathsUpdates.add(new PathsUpdate(pathsUpdate));
-        }
+      if (imageChunkSize > 0) {
+        updateRequest.setMaxImageChunkSize(imageChunkSize);
       }
-
-      List<PermissionsUpdate> permsUpdates = Collections.emptyList();
-      if (sentryUpdates.getAuthzPermUpdate() != null) {
-        permsUpdates = new ArrayList<>(sentryUpdates.getAuthzPermUpdate().size());
-        for (TPermissionsUpdate permsUpdate : sentryUpdates.getAuthzPermUpdate()) {
-          permsUpdates.add(new PermissionsUpdate(permsUpdate));
-        }
+      if (updatesMaxWaitMs > 0) {
+        // The server returns as soon as there are updates
+        updateRequest.setMaxWaitMs(updatesMaxWaitMs);
       }
+      TAuthzUpdateResponse sentryUpdates = client.get_authz_updates(updateRequest);
+      SentryAuthzUpdate updates = toSentryAuthzUpdate(sentryUpdates);
+      List<PermissionsUpdate> permsUpdates = updates.getPermUpdates();
+      List<PathsUpdate> pathsUpdates = updates.getPathUpdates();
 
       if (LOGGER.isDebugEnabled() && !(permsUpdates.isEmpty() && pathsUpdates.isEmpty()) ) {
         LOGGER.debug("Requesting updates: Perm sequence num:{}, Path sequence num: {}, Path Image Number: {})",
@@ -135,12 +135,54 @@ public class SentryHDFSServiceClientDefaultImpl
         }
       }
 
-      return new SentryAuthzUpdate(permsUpdates, pathsUpdates);
+      return updates;
+    } catch (Exception e) {
+      throw new SentryHdfsServiceException("Thrift Exception occurred !!", e);
+    }
+  }
+
+  @Override
+  public SentryAuthzUpdate getImageChunks(String permsImageToken, String pathsImageToken)
+          throws SentryHdfsServiceException {
+    try {
+      LOGGER.debug("Requesting image chunks: Perm image token: {}, Path image token: {}",
+              permsImageToken, pathsImageToken);
+      // The sequence numbers are ignored when requesting chunks
+      TAuthzUpdateRequest updateRequest = new TAuthzUpdateRequest(
+          ServiceConstants.SEQUENCE_NUMBER_UPDATE_UNINITIALIZED,
+          ServiceConstants.SEQUENCE_NUMBER_UPDATE_UNINITIALIZED, UNUSED_PATH_UPDATE_IMG_NUM);
+      updateRequest.setMaxImageChunkSize(imageChunkSize);
+      updateRequest.setPermsImageToken(permsImageToken);
+      updateRequest.setPathsImageToken(pathsImageToken);
+      return toSentryAuthzUpdate(client.get_authz_updates(updateRequest));
     } catch (Exception e) {
       throw new SentryHdfsServiceException("Thrift Exception occurred !!", e);
     }
   }
 
+  private static SentryAuthzUpdate toSentryAuthzUpdate(TAuthzUpdateResponse sentryUpdates) {
+    List<PathsUpdate> pathsUpdates = Collections.emptyList();
+    if (sentryUpdates.getAuthzPathUpdate() != null) {
+      pathsUpdates = new ArrayList<>(sentryUpdates.getAuthzPathUpdate().size());
+      for (TPathsUpdate pathsUpdate : sentryUpdates.getAuthzPathUpdate()) {
+        pathsUpdates.add(new PathsUpdate(pathsUpdate));
+      }
+    }
+
+    List<PermissionsUpdate> permsUpdates = Collections.emptyList();
+    if (sentryUpdates.getAuthzPermUpdate() != null) {
+      permsUpdates = new ArrayList<>(sentryUpdates.getAuthzPermUpdate().size());
+      for (TPermissionsUpdate permsUpdate : sentryUpdates.getAuthzPermUpdate()) {
+        permsUpdates.add(new PermissionsUpdate(permsUpdate));
+      }
+    }
+
+    SentryAuthzUpdate updates = new SentryAuthzUpdate(permsUpdates, pathsUpdates);
+    updates.setPermsImageToken(sentryUpdates.getPermsImageToken());
+    updates.setPathsImageToken(sentryUpdates.getPathsImageToken());
+    return updates;
+  }
+
   @Override
   public void close() {
     done();
@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import com.codahale.metrics.Timer.Context;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -45,6 +46,12 @@ public class SentryHDFSServiceProcessor implements SentryHDFSService.Iface {
   // This helps to reduce memory consumption on large path images.
   private static final AtomicBoolean pathsRetrieverBusy = new AtomicBoolean(false);
 
+  // Full images being sent in chunks to HDFS NameNodes
+  private static final FullImageChunker.PathsChunker pathsChunker =
+      new FullImageChunker.PathsChunker();
+  private static final FullImageChunker.PermsChunker permsChunker =
+      new FullImageChunker.PermsChunker();
+
   @Override
   public TAuthzUpdateResponse get_all_authz_updates_from(long permSeqNum, long pathSeqNum) throws TException {
    throw new UnsupportedOperationException(
@@ -63,9 +70,53 @@ public class SentryHDFSServiceProcessor implements SentryHDFSService.Iface {
       return retVal;
     }
 
+    int chunkSize = request.isSetMaxImageChunkSize() ? request.getMaxImageChunkSize() : 0;
     try (Context timerContext = SentryHdfsMetricsUtil.getAllAuthzUpdatesTimer.time()) {
-      retVal.setAuthzPermUpdate(getPermissionsUpdatesFrom(request));
-      retVal.setAuthzPathUpdate(getPathsUpdatesFrom(request));
+      if (chunkSize > 0 && (request.isSetPermsImageToken() || request.isSetPathsImageToken())) {
+        getNextImageChunks(request, chunkSize, retVal);
+        return retVal;
+      }
+
+      long version = SentryPlugin.instance.getChangeVersion();
+      List<TPermissionsUpdate> permUpdates = getPermissionsUpdatesFrom(request);
+      List<TPathsUpdate> pathUpdates = getPathsUpdatesFrom(request, chunkSize);
+      long waitMs = request.isSetMaxWaitMs() ?
+          SentryPlugin.instance.getUpdatesWaitMs(request.getMaxWaitMs()) : 0;
+      if (waitMs > 0 && permUpdates.isEmpty() && pathUpdates.isEmpty()
+          && SentryPlugin.instance.startWaiting()) {
+        // Hold the request until there are updates instead of having the NameNode poll
+        // for them, and return them as soon as a change is committed
+        try {
+          long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMs);
+          while (permUpdates.isEmpty() && pathUpdates.isEmpty()
+              && SentryPlugin.instance.waitForChange(version, deadline)) {
+            version = SentryPlugin.instance.getChangeVersion();
+            permUpdates = getPermissionsUpdatesFrom(request);
+            pathUpdates = getPathsUpdatesFrom(request, chunkSize);
+          }
+        } finally {
+          SentryPlugin.instance.endWaiting();
+        }
+      }
+      if (chunkSize > 0) {
+        // A full image is sent alone, split it if it is larger than a chunk
+        FullImageChunker.Chunk<TPermissionsUpdate> permsChunk =
+            permUpdates.size() == 1 && permUpdates.get(0).isHasfullImage() ?
+                permsChunker.getFirstChunk(permUpdates.get(0), chunkSize) : null;
+        if (permsChunk != null) {
+          permUpdates = Collections.singletonList(permsChunk.getImage());
+          retVal.setPermsImageToken(permsChunk.getNextToken());
+        }
+        FullImageChunker.Chunk<TPathsUpdate> pathsChunk =
+            pathUpdates.size() == 1 && pathUpdates.get(0).isHasFullImage() ?
+                pathsChunker.getFirstChunk(pathUpdates.get(0), chunkSize) : null;
+        if (pathsChunk != null) {
+          pathUpdates = Collections.singletonList(pathsChunk.getImage());
+          retVal.setPathsImageToken(pathsChunk.getNextToken());
+        }
+      }
+      retVal.setAuthzPermUpdate(permUpdates);
+      retVal.setAuthzPathUpdate(pathUpdates);
     } catch (Exception e) {
       LOGGER.error("Error Sending updates to downstream Cache", e);
       throw new TException(e);
@@ -74,6 +125,41 @@ public class SentryHDFSServiceProcessor implements SentryHDFSService.Iface {
     return retVal;
   }
 
+  /**
+   * Returns the requested chunks of the full images being sent. A chunk
+   * is not returned if its image expired, in which case the NameNode has
+   * to request the full image again.
+   */
+  private void getNextImageChunks(TAuthzUpdateRequest request, int chunkSize,
+      TAuthzUpdateResponse retVal) {
+    List<TPermissionsUpdate> permUpdates = Collections.emptyList();
+    if (request.isSetPermsImageToken()) {
+      FullImageChunker.Chunk<TPermissionsUpdate> chunk =
+          permsChunker.getNextChunk(request.getPermsImageToken(), chunkSize);
+      if (chunk != null) {
+        permUpdates = Collections.singletonList(chunk.getImage());
+        retVal.setPermsImageToken(chunk.getNextToken());
+      } else {
+        LOGGER.warn("PERMISSIONS image chunk {} expired", request.getPermsImageToken());
+      }
+    }
+
+    List<TPathsUpdate> pathUpdates = Collections.emptyList();
+    if (request.isSetPathsImageToken()) {
+      FullImageChunker.Chunk<TPathsUpdate> chunk =
+          pathsChunker.getNextChunk(request.getPathsImageToken(), chunkSize);
+      if (chunk != null) {
+        pathUpdates = Collections.singletonList(chunk.getImage());
+        retVal.setPathsImageToken(chunk.getNextToken());
+      } else {
+        LOGGER.warn("PATHS image chunk {} expired", request.getPathsImageToken());
+      }
+    }
+
+    retVal.setAuthzPermUpdate(permUpdates);
+    retVal.setAuthzPathUpdate(pathUpdates);
+  }
+
   /**
    * Retrieves and returns new requested permissions updates.
    *
@@ -108,20 +194,27 @@ public class SentryHDFSServiceProcessor implements SentryHDFSService.Iface {
   /**
    * Retrieves and returns new requested paths updates. To avoid too much memory consumption
    * with large full images, then this method will serialize the access to the requested updates
-   * to only one request at a time.
+   * to only one request at a time, unless the full images are cached and sent in chunks. A
+   * cached image is shared by the requests, but each response encodes what it sends, so only
+   * chunks bound the memory used by concurrent requests.
    *
    * @param request The requested thrift object that contains the paths seqNum and imgNum
+   * @param chunkSize The maximum size of the full image chunks sent, 0 if not split
    * @return A list of delta updates or a full image retrieved. It returns an empty list if there
    *         are not updates or another request is happening at the same time.
    * @throws Exception If an error occurred while retrieving the updates.
    */
-  private List<TPathsUpdate> getPathsUpdatesFrom(TAuthzUpdateRequest request) throws Exception {
+  private List<TPathsUpdate> getPathsUpdatesFrom(TAuthzUpdateRequest request, int chunkSize)
+      throws Exception {
     LOGGER.debug("PATHS updates requested from HDFS [ImgNum={}, SeqNum={}]",
         request.getPathImgNum(), request.getPathSeqNum());
 
     // If another paths updates request is in progress by another HDFS NameNode, then we
-    // return an empty image for now to avoid a large memory consumption
-    if (!pathsRetrieverBusy.compareAndSet(false, true)) {
+    // return an empty image for now to avoid a large memory consumption. This is not needed
+    // when the full images are cached and chunked, as concurrent requests then share the same
+    // image and each response only encodes one chunk of it.
+    boolean exclusive = !SentryPlugin.instance.isPathsImageCached() || chunkSize <= 0;
+    if (exclusive && !pathsRetrieverBusy.compareAndSet(false, true)) {
       LOGGER.debug("PATHS updates are not available because another request is in progress.");
       return Collections.emptyList();
     }
@@ -143,7 +236,9 @@ public class SentryHDFSServiceProcessor implements SentryHDFSService.Iface {
     } catch (Exception e) {
       throw e;
     } finally {
-      pathsRetrieverBusy.set(false);
+      if (exclusive) {
+        pathsRetrieverBusy.set(false);
+      }
     }
   }
 
@@ -83,6 +83,16 @@ final class SentryHdfsMetricsUtil {
       MetricRegistry.name(PathImageRetriever.class, "retrieve-path-full-image",
           "path-changes-size"));
 
+  // The number of full path images served from the cached image as is
+  static final Counter getPathFullImageCacheHitCounter = sentryMetrics.getCounter(
+      MetricRegistry.name(PathImageRetriever.class, "retrieve-path-full-image",
+          "cache-hit-num"));
+
+  // The number of full path images rolled forward by applying path deltas to the cached image
+  static final Counter getPathFullImageRollForwardCounter = sentryMetrics.getCounter(
+      MetricRegistry.name(PathImageRetriever.class, "retrieve-path-full-image",
+          "roll-forward-num"));
+
   // Timer for getting path changes deltas
   static final Timer getDeltaPathChangesTimer = sentryMetrics.getTimer(
     MetricRegistry.name(PathDeltaRetriever.class, "path", "delta", "time")
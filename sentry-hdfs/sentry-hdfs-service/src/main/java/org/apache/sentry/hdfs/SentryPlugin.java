@@ -21,6 +21,9 @@ package org.apache.sentry.hdfs;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.hadoop.conf.Configuration;
@@ -35,6 +38,7 @@ import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipal;
 import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipalType;
 import org.apache.sentry.hdfs.service.thrift.TRoleChanges;
 import org.apache.sentry.provider.db.SentryPolicyStorePlugin;
+import org.apache.sentry.provider.db.service.persistent.CounterWait;
 import org.apache.sentry.provider.db.service.persistent.SentryStoreInterface;
 import org.apache.sentry.api.common.SentryServiceUtil;
 import org.apache.sentry.api.service.thrift.TAlterSentryRoleAddGroupsRequest;
@@ -53,6 +57,14 @@ import static org.apache.sentry.hdfs.ServiceConstants.IMAGE_NUMBER_UPDATE_UNINIT
 import static org.apache.sentry.hdfs.ServiceConstants.SEQUENCE_NUMBER_UPDATE_UNINITIALIZED;
 import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HDFS_INTEGRATION_PATH_PREFIXES;
 import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HDFS_INTEGRATION_PATH_PREFIXES_DEFAULT;
+import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HDFS_SYNC_FULL_PATHS_IMAGE_CACHE_ENABLED;
+import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HDFS_SYNC_FULL_PATHS_IMAGE_CACHE_ENABLED_DEFAULT;
+import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HDFS_SYNC_UPDATES_MAX_WAIT_MS;
+import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HDFS_SYNC_UPDATES_MAX_WAIT_MS_DEFAULT;
+import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HDFS_SYNC_UPDATES_MAX_WAITING_REQUESTS;
+import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HDFS_SYNC_UPDATES_MAX_WAITING_REQUESTS_DEFAULT;
+import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HDFS_SYNC_UPDATES_RECHECK_INTERVAL_MS;
+import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HDFS_SYNC_UPDATES_RECHECK_INTERVAL_MS_DEFAULT;
 import static org.apache.sentry.hdfs.Updateable.Update;
 import static org.apache.sentry.hdfs.service.thrift.sentry_hdfs_serviceConstants.UNUSED_PATH_UPDATE_IMG_NUM;
 
@@ -117,6 +129,13 @@ public class SentryPlugin implements SentryPolicyStorePlugin, SigUtils.SigListen
 
   private DBUpdateForwarder<PathsUpdate> pathsUpdater;
   private DBUpdateForwarder<PermissionsUpdate> permsUpdater;
+  private boolean pathsImageCached;
+  // Counter of the changes committed by this server, waited on by requests without updates
+  private CounterWait authzChangeWait;
+  private long updatesMaxWaitMs;
+  private long updatesRecheckIntervalMs;
+  // Permits of the requests waiting for updates, each holding a thrift worker thread
+  private Semaphore waitingRequests;
 
   @Override
   public void initialize(Configuration conf, SentryStoreInterface sentryStore) throws SentryPluginException {
@@ -125,11 +144,22 @@ public class SentryPlugin implements SentryPolicyStorePlugin, SigUtils.SigListen
             conf.getStrings(SENTRY_HDFS_INTEGRATION_PATH_PREFIXES,
                     SENTRY_HDFS_INTEGRATION_PATH_PREFIXES_DEFAULT);
     PermImageRetriever permImageRetriever = new PermImageRetriever(sentryStore);
-    PathImageRetriever pathImageRetriever = new PathImageRetriever(sentryStore, prefixes);
+    pathsImageCached = conf.getBoolean(SENTRY_HDFS_SYNC_FULL_PATHS_IMAGE_CACHE_ENABLED,
+        SENTRY_HDFS_SYNC_FULL_PATHS_IMAGE_CACHE_ENABLED_DEFAULT);
+    PathImageRetriever pathImageRetriever =
+        new PathImageRetriever(sentryStore, prefixes, pathsImageCached);
     PermDeltaRetriever permDeltaRetriever = new PermDeltaRetriever(sentryStore);
     PathDeltaRetriever pathDeltaRetriever = new PathDeltaRetriever(sentryStore);
     pathsUpdater = new DBUpdateForwarder<>(pathImageRetriever, pathDeltaRetriever);
     permsUpdater = new DBUpdateForwarder<>(permImageRetriever, permDeltaRetriever);
+    authzChangeWait = sentryStore.getAuthzChangeWait();
+    updatesMaxWaitMs = conf.getLong(SENTRY_HDFS_SYNC_UPDATES_MAX_WAIT_MS,
+        SENTRY_HDFS_SYNC_UPDATES_MAX_WAIT_MS_DEFAULT);
+    updatesRecheckIntervalMs = Math.max(1, conf.getLong(SENTRY_HDFS_SYNC_UPDATES_RECHECK_INTERVAL_MS,
+        SENTRY_HDFS_SYNC_UPDATES_RECHECK_INTERVAL_MS_DEFAULT));
+    waitingRequests = new Semaphore(Math.max(0, conf.getInt(
+        SENTRY_HDFS_SYNC_UPDATES_MAX_WAITING_REQUESTS,
+        SENTRY_HDFS_SYNC_UPDATES_MAX_WAITING_REQUESTS_DEFAULT)));
 
     LOGGER.info("Sentry HDFS plugin initialized !!");
     instance = this;
@@ -201,6 +231,72 @@ public class SentryPlugin implements SentryPolicyStorePlugin, SigUtils.SigListen
     return updates;
   }
 
+  /**
+   * @return true if full paths images are cached and shared by the NameNodes
+   *         requesting them, so that they can be requested concurrently in chunks.
+   */
+  boolean isPathsImageCached() {
+    return pathsImageCached;
+  }
+
+  /**
+   * @return the version of the permission and path changes committed by this server,
+   *         to be passed to {@link #waitForChange(long, long)}.
+   */
+  long getChangeVersion() {
+    return authzChangeWait != null ? authzChangeWait.getValue() : 0;
+  }
+
+  /**
+   * @param requestedWaitMs the time a NameNode is willing to wait for new updates
+   * @return the time to wait for new updates, bounded by the configured maximum
+   */
+  long getUpdatesWaitMs(long requestedWaitMs) {
+    return authzChangeWait != null ? Math.min(requestedWaitMs, updatesMaxWaitMs) : 0;
+  }
+
+  /**
+   * Registers a request about to wait for updates, unless the maximum number of
+   * waiting requests is reached.
+   * @return true if the request may wait, in which case {@link #endWaiting()}
+   *         must be called once it stops waiting
+   */
+  boolean startWaiting() {
+    return waitingRequests.tryAcquire();
+  }
+
+  void endWaiting() {
+    waitingRequests.release();
+  }
+
+  /**
+   * Waits until a change is committed by this server after the given version,
+   * or at most for the recheck interval. Changes committed by other Sentry
+   * servers are not signaled, so that the updates should be retrieved again
+   * after each wait.
+   *
+   * @param version the version the updates were last retrieved at
+   * @param deadline the {@link System#nanoTime()} until which to wait
+   * @return false if the deadline has passed, true otherwise
+   */
+  boolean waitForChange(long version, long deadline) {
+    long remaining = deadline - System.nanoTime();
+    if (remaining <= 0) {
+      return false;
+    }
+    try {
+      authzChangeWait.waitFor(version + 1,
+          Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(updatesRecheckIntervalMs)),
+          TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      // Check for changes committed by other servers
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+    return true;
+  }
+
   public List<PermissionsUpdate> getAllPermsUpdatesFrom(long permSeqNum) throws Exception {
     LOGGER.debug("Received request for PERM update from NameNode for permSeqNum {}", permSeqNum);
     return permsUpdater.getAllUpdatesFrom(permSeqNum, UNUSED_PATH_UPDATE_IMG_NUM);
@@ -420,6 +516,59 @@ public class SentryPlugin implements SentryPolicyStorePlugin, SigUtils.SigListen
     return update;
   }
 
+  @Override
+  public Update onAlterSentryRolesGrantPrivileges(Set<String> roleNames,
+      Set<TSentryPrivilege> privileges) throws SentryPluginException {
+    return onAlterSentryRolesPrivilegesCore(roleNames, privileges, true);
+  }
+
+  @Override
+  public Update onAlterSentryRolesRevokePrivileges(Set<String> roleNames,
+      Set<TSentryPrivilege> privileges) throws SentryPluginException {
+    return onAlterSentryRolesPrivilegesCore(roleNames, privileges, false);
+  }
+
+  /**
+   * Create a single update granting or revoking the privileges to or from all the roles.
+   * Several actions of a role on the same object are joined as a comma separated list,
+   * which is split again when the update is applied.
+   */
+  private PermissionsUpdate onAlterSentryRolesPrivilegesCore(Set<String> roleNames,
+      Set<TSentryPrivilege> privileges, boolean grant) {
+    Preconditions.checkNotNull(roleNames, "Role name Set provided is NULL");
+    Preconditions.checkNotNull(privileges, "Privilege Set provided is NULL");
+
+    PermissionsUpdate update = new PermissionsUpdate();
+    boolean hasChanges = false;
+    for (TSentryPrivilege privilege : privileges) {
+      if (PrivilegeScope.COLUMN.name().equalsIgnoreCase(privilege.getPrivilegeScope())) {
+        continue;
+      }
+      String authzObj = getAuthzObj(privilege);
+      if (authzObj == null) {
+        continue;
+      }
+      TPrivilegeChanges privUpdate = update.addPrivilegeUpdate(authzObj);
+      Map<TPrivilegePrincipal, String> actions =
+          grant ? privUpdate.getAddPrivileges() : privUpdate.getDelPrivileges();
+      String action = privilege.getAction().toUpperCase();
+      for (String roleName : roleNames) {
+        TPrivilegePrincipal principal =
+            new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, roleName);
+        String current = actions.get(principal);
+        actions.put(principal, current == null ? action : current + "," + action);
+      }
+      hasChanges = true;
+    }
+
+    LOGGER.debug("onAlterSentryRolesPrivilegesCore, {} privileges of {} roles, grant: {}",
+        privileges.size(), roleNames.size(), grant);
+    if (LOGGER.isTraceEnabled()) {
+      LOGGER.trace("onAlterSentryRolesPrivilegesCore: {}", update); // update.toString() provides all details
+    }
+    return hasChanges ? update : null;
+  }
+
   @Override
   public Update onDropSentryRole(TDropSentryRoleRequest request)
       throws SentryPluginException {
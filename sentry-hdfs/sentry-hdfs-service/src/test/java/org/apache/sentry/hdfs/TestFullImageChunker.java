@@ -0,0 +1,189 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.sentry.hdfs.service.thrift.TPathChanges;
+import org.apache.sentry.hdfs.service.thrift.TPathsUpdate;
+import org.apache.sentry.hdfs.service.thrift.TPermissionsUpdate;
+import org.apache.sentry.hdfs.service.thrift.TPrivilegeChanges;
+import org.apache.sentry.hdfs.service.thrift.TRoleChanges;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class TestFullImageChunker {
+
+  @Test
+  public void testPermsImageChunks() {
+    Map<String, TPrivilegeChanges> privilegeChanges = new HashMap<>();
+    for (int i = 0; i < 7; i++) {
+      privilegeChanges.put("db" + i, new TPrivilegeChanges("db" + i,
+          new HashMap<>(), new HashMap<>()));
+    }
+    Map<String, TRoleChanges> roleChanges = new HashMap<>();
+    for (int i = 0; i < 4; i++) {
+      roleChanges.put("role" + i, new TRoleChanges("role" + i,
+          new ArrayList<String>(), new ArrayList<String>()));
+    }
+    TPermissionsUpdate image = new TPermissionsUpdate(true, 5, privilegeChanges, roleChanges);
+
+    FullImageChunker.PermsChunker chunker = new FullImageChunker.PermsChunker();
+    assertNull("The image fits in a chunk", chunker.getFirstChunk(image, 11));
+
+    Set<String> authzObjs = new HashSet<>();
+    Set<String> roles = new HashSet<>();
+    int numChunks = 0;
+    FullImageChunker.Chunk<TPermissionsUpdate> chunk = chunker.getFirstChunk(image, 3);
+    String firstToken = chunk.getNextToken();
+    while (true) {
+      numChunks++;
+      TPermissionsUpdate update = chunk.getImage();
+      assertTrue(update.isHasfullImage());
+      assertEquals(5, update.getSeqNum());
+      assertTrue(update.getPrivilegeChangesSize() + update.getRoleChangesSize() <= 3);
+      authzObjs.addAll(update.getPrivilegeChanges().keySet());
+      roles.addAll(update.getRoleChanges().keySet());
+      if (chunk.getNextToken() == null) {
+        break;
+      }
+      chunk = chunker.getNextChunk(chunk.getNextToken(), 3);
+      assertNotNull(chunk);
+    }
+    assertEquals(4, numChunks);
+    assertEquals(privilegeChanges.keySet(), authzObjs);
+    assertEquals(roleChanges.keySet(), roles);
+
+    // The image is released once its last chunk was sent
+    assertNull(chunker.getNextChunk(firstToken, 3));
+    // Tokens of other images are not valid
+    assertNull(chunker.getNextChunk("0:3", 3));
+  }
+
+  @Test
+  public void testImageRelease() {
+    FullImageChunker.PermsChunker chunker = new FullImageChunker.PermsChunker();
+    TPermissionsUpdate image = newPermsImage(5, 6);
+
+    // Two NameNodes get the first chunk of copies of the same image
+    String firstToken = chunker.getFirstChunk(image, 4).getNextToken();
+    assertEquals(firstToken, chunker.getFirstChunk(newPermsImage(5, 6), 4).getNextToken());
+    assertEquals(1, chunker.getNumImages());
+
+    // The image is kept until both got its last chunk
+    assertNull(chunker.getNextChunk(firstToken, 4).getNextToken());
+    assertNotNull(chunker.getNextChunk(firstToken, 4));
+    assertNull(chunker.getNextChunk(firstToken, 4));
+    assertEquals(0, chunker.getNumImages());
+
+    // Only the least recently read images are released past the maximum
+    List<String> tokens = new ArrayList<>();
+    for (int i = 0; i <= FullImageChunker.MAX_IMAGES; i++) {
+      tokens.add(chunker.getFirstChunk(newPermsImage(10 + i, 6), 4).getNextToken());
+    }
+    assertEquals(FullImageChunker.MAX_IMAGES, chunker.getNumImages());
+    assertNull(chunker.getNextChunk(tokens.get(0), 4));
+    for (int i = 1; i <= FullImageChunker.MAX_IMAGES; i++) {
+      assertNotNull(chunker.getNextChunk(tokens.get(i), 4));
+    }
+  }
+
+  @Test
+  public void testInterleavedImages() {
+    FullImageChunker.PermsChunker chunker = new FullImageChunker.PermsChunker();
+    // Two NameNodes read different images, with a new image object per request
+    FullImageChunker.Chunk<TPermissionsUpdate> chunk1 =
+        chunker.getFirstChunk(newPermsImage(5, 7), 2);
+    FullImageChunker.Chunk<TPermissionsUpdate> chunk2 =
+        chunker.getFirstChunk(newPermsImage(6, 9), 2);
+    Set<String> authzObjs1 = new HashSet<>(chunk1.getImage().getPrivilegeChanges().keySet());
+    Set<String> authzObjs2 = new HashSet<>(chunk2.getImage().getPrivilegeChanges().keySet());
+    while (chunk1.getNextToken() != null || chunk2.getNextToken() != null) {
+      if (chunk1.getNextToken() != null) {
+        chunk1 = chunker.getNextChunk(chunk1.getNextToken(), 2);
+        assertNotNull(chunk1);
+        assertEquals(5, chunk1.getImage().getSeqNum());
+        authzObjs1.addAll(chunk1.getImage().getPrivilegeChanges().keySet());
+      }
+      if (chunk2.getNextToken() != null) {
+        chunk2 = chunker.getNextChunk(chunk2.getNextToken(), 2);
+        assertNotNull(chunk2);
+        assertEquals(6, chunk2.getImage().getSeqNum());
+        authzObjs2.addAll(chunk2.getImage().getPrivilegeChanges().keySet());
+      }
+    }
+    assertEquals(newPermsImage(5, 7).getPrivilegeChanges().keySet(), authzObjs1);
+    assertEquals(newPermsImage(6, 9).getPrivilegeChanges().keySet(), authzObjs2);
+    assertEquals(0, chunker.getNumImages());
+  }
+
+  private static TPermissionsUpdate newPermsImage(long seqNum, int numAuthzObjs) {
+    Map<String, TPrivilegeChanges> privilegeChanges = new HashMap<>();
+    for (int i = 0; i < numAuthzObjs; i++) {
+      privilegeChanges.put("db" + i, new TPrivilegeChanges("db" + i,
+          new HashMap<String, String>(), new HashMap<String, String>()));
+    }
+    return new TPermissionsUpdate(true, seqNum, privilegeChanges,
+        new HashMap<String, TRoleChanges>());
+  }
+
+  @Test
+  public void testPathsImageChunks() {
+    HMSPaths hmsPaths = new HMSPaths(new String[] {"/user/hive/warehouse"});
+    for (int i = 0; i < 10; i++) {
+      hmsPaths._addAuthzObject("db1.tbl" + i,
+          Lists.newArrayList("/user/hive/warehouse/db1/tbl" + i));
+    }
+    TPathsUpdate image = new TPathsUpdate(true, 7, new ArrayList<TPathChanges>());
+    image.setImgNum(2);
+    image.setPathsDump(hmsPaths.getPathsDump().createPathsDump(true));
+
+    FullImageChunker.PathsChunker chunker = new FullImageChunker.PathsChunker();
+    FullImageChunker.Chunk<TPathsUpdate> chunk = chunker.getFirstChunk(image, 4);
+    // The same image is shared by the NameNodes requesting it
+    assertEquals(chunk.getNextToken(), chunker.getFirstChunk(image, 4).getNextToken());
+
+    UpdateableAuthzPaths.ImageChunkReader reader =
+        new UpdateableAuthzPaths(new String[] {"/user/hive/warehouse"}).newImageChunkReader();
+    while (chunk != null) {
+      assertEquals(7, chunk.getImage().getSeqNum());
+      assertEquals(2, chunk.getImage().getImgNum());
+      reader.readChunk(new PathsUpdate(chunk.getImage()));
+      chunk = chunk.getNextToken() != null ?
+          chunker.getNextChunk(chunk.getNextToken(), 4) : null;
+    }
+    UpdateableAuthzPaths paths = reader.getPaths();
+    assertEquals(7, paths.getLastUpdatedSeqNum());
+    assertEquals(2, paths.getLastUpdatedImgNum());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(Lists.newArrayList("db1.tbl" + i), new ArrayList<>(paths.findAuthzObject(
+          new String[] {"user", "hive", "warehouse", "db1", "tbl" + i})));
+    }
+  }
+}
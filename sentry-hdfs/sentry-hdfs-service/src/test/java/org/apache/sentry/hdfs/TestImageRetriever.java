@@ -17,6 +17,7 @@
  */
 package org.apache.sentry.hdfs;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import junit.framework.Assert;
 import org.apache.commons.lang.StringUtils;
@@ -25,6 +26,7 @@ import org.apache.sentry.hdfs.service.thrift.TPathChanges;
 import org.apache.sentry.hdfs.service.thrift.TPrivilegeChanges;
 import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipal;
 import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipalType;
+import org.apache.sentry.provider.db.service.model.MSentryPathChange;
 import org.apache.sentry.provider.db.service.persistent.PermissionsImage;
 import org.apache.sentry.provider.db.service.persistent.SentryStore;
 import org.junit.Before;
@@ -34,12 +36,14 @@ import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class TestImageRetriever {
@@ -74,6 +78,55 @@ public class TestImageRetriever {
   }
 
 
+  @Test
+  public void testFullPathsImageIsCachedAndRolledForward() throws Exception {
+    String[] prefixes = {"/user/hive/warehouse"};
+    UpdateableAuthzPaths authzPaths = new UpdateableAuthzPaths(prefixes);
+    authzPaths.applyAddChanges("db1", Arrays.asList(pathElements("/user/hive/warehouse/db1")));
+    PathsUpdate fullImage = new PathsUpdate(1, 1, true);
+    fullImage.toThrift().setPathsDump(authzPaths.getPathsDump().createPathsDump(true));
+
+    Mockito.when(sentryStoreMock.getLastProcessedImageID()).thenReturn(1L);
+    Mockito.when(sentryStoreMock.getLastProcessedPathChangeID()).thenReturn(1L);
+    Mockito.when(sentryStoreMock.retrieveFullPathsImageUpdate(prefixes)).thenReturn(fullImage);
+
+    PathImageRetriever imageRetriever = new PathImageRetriever(sentryStoreMock, prefixes, true);
+    assertSame(fullImage, imageRetriever.retrieveFullImage());
+    // Nothing changed, the cached image is returned
+    assertSame(fullImage, imageRetriever.retrieveFullImage());
+    Mockito.verify(sentryStoreMock, Mockito.times(1)).retrieveFullPathsImageUpdate(prefixes);
+
+    // A new path change is applied to the cached image
+    PathsUpdate delta = new PathsUpdate(2, false);
+    delta.newPathChange("db1.tbl1").addToAddPaths(
+        pathElements("/user/hive/warehouse/db1/tbl1"));
+    Mockito.when(sentryStoreMock.getLastProcessedPathChangeID()).thenReturn(2L);
+    Mockito.when(sentryStoreMock.getMSentryPathChanges(2))
+        .thenReturn(Arrays.asList(new MSentryPathChange(2, "u2", delta)));
+
+    PathsUpdate pathsUpdate = imageRetriever.retrieveFullImage();
+    assertEquals(1, pathsUpdate.getImgNum());
+    assertEquals(2, pathsUpdate.getSeqNum());
+    assertTrue(pathsUpdate.hasFullImage());
+    UpdateableAuthzPaths rolledPaths = new UpdateableAuthzPaths(prefixes).updateFull(pathsUpdate);
+    assertEquals(Sets.newHashSet("db1.tbl1"), rolledPaths.findAuthzObject(
+        new String[]{"user", "hive", "warehouse", "db1", "tbl1"}));
+    assertSame(pathsUpdate, imageRetriever.retrieveFullImage());
+    Mockito.verify(sentryStoreMock, Mockito.times(1)).retrieveFullPathsImageUpdate(prefixes);
+
+    // Path change 3 is missing, the image is read again
+    Mockito.when(sentryStoreMock.getLastProcessedPathChangeID()).thenReturn(4L);
+    Mockito.when(sentryStoreMock.getMSentryPathChanges(3))
+        .thenReturn(Arrays.asList(new MSentryPathChange(4, "u4", new PathsUpdate(4, false))));
+    assertSame(fullImage, imageRetriever.retrieveFullImage());
+    Mockito.verify(sentryStoreMock, Mockito.times(2)).retrieveFullPathsImageUpdate(prefixes);
+
+    // A new paths snapshot is read again
+    Mockito.when(sentryStoreMock.getLastProcessedImageID()).thenReturn(2L);
+    imageRetriever.retrieveFullImage();
+    Mockito.verify(sentryStoreMock, Mockito.times(3)).retrieveFullPathsImageUpdate(prefixes);
+  }
+
   @Test
   public void testFullPermUpdatesRetrievedWithOwnerPrivileges() throws Exception {
     PermImageRetriever imageRetriever;
@@ -126,4 +179,8 @@ public class TestImageRetriever {
 
     return true;
   }
+
+  private static List<String> pathElements(String path) {
+    return Lists.newArrayList(path.substring(1).split("/"));
+  }
 }
@@ -38,6 +38,7 @@ public class CommonPrivilege implements Privilege {
 
   private ImmutableList<KeyValue> parts;
   private boolean grantOption = false;
+  private volatile CompiledPrivilege compiled;
   private static final Logger LOGGER = LoggerFactory.getLogger(CommonPrivilege.class);
 
   public CommonPrivilege(String privilegeStr) {
@@ -135,6 +136,21 @@ public class CommonPrivilege implements Privilege {
     return true;
   }
 
+  /**
+   * Return the compiled form of this privilege. The compiled form is cached, so
+   * privileges held by a privilege cache are only compiled once per compiler.
+   * @param compiler the compiler for the model the privilege is evaluated against
+   * @return the compiled privilege
+   */
+  public CompiledPrivilege compile(PrivilegeCompiler compiler) {
+    CompiledPrivilege result = compiled;
+    if (result == null || result.getCompiler() != compiler) {
+      result = compiler.compile(parts, grantOption);
+      compiled = result;
+    }
+    return result;
+  }
+
   /**
    * Check if the action part in a privilege is ALL. Owner privilege is
    * treated as ALL for authorization
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.policy.common;
+
+import org.apache.sentry.core.common.ImplyMethodType;
+import org.apache.sentry.core.common.utils.PathUtils;
+import org.apache.sentry.core.common.utils.SentryConstants;
+
+/**
+ * Privilege compiled by a {@link PrivilegeCompiler}.
+ * <p>
+ * Resource types are interned into int codes, actions are resolved into bitmasks
+ * and wildcards are classified at compile time, so {@link #implies(CompiledPrivilege)}
+ * does not allocate and gives the same result as
+ * {@link CommonPrivilege#implies(Privilege, org.apache.sentry.core.common.Model)}.
+ * <p>
+ * Instances are immutable. Only privileges compiled by the same compiler can be compared.
+ */
+public final class CompiledPrivilege {
+
+  private final PrivilegeCompiler compiler;
+  private final Part[] parts;
+  private final boolean grantOption;
+
+  CompiledPrivilege(PrivilegeCompiler compiler, Part[] parts, boolean grantOption) {
+    this.compiler = compiler;
+    this.parts = parts;
+    this.grantOption = grantOption;
+  }
+
+  public PrivilegeCompiler getCompiler() {
+    return compiler;
+  }
+
+  public boolean hasGrantOption() {
+    return grantOption;
+  }
+
+  /**
+   * Number of parts of this privilege, including the action part.
+   */
+  public int size() {
+    return parts.length;
+  }
+
+  /**
+   * Check if this privilege implies the required privilege.
+   */
+  public boolean implies(CompiledPrivilege required) {
+    if (required.compiler != compiler) {
+      throw new IllegalArgumentException("Cannot compare privileges compiled for different models");
+    }
+
+    if (required.grantOption && !grantOption) {
+      // the required privilege needs grant option, but this privilege does not have grant option
+      return false;
+    }
+
+    if (sameParts(required)) {
+      return true;
+    }
+
+    Part[] otherParts = required.parts;
+    int index = 0;
+    for (Part otherPart : otherParts) {
+      // If this privilege has less parts than the other privilege, everything
+      // after the number of parts contained in this privilege is automatically implied
+      if (index >= parts.length) {
+        return true;
+      }
+      Part part = parts[index];
+      if (part.type != otherPart.type) {
+        // Support for action inheritance from parent to child
+        if (part.type == PrivilegeCompiler.ACTION_TYPE) {
+          continue;
+        }
+        return false;
+      }
+
+      if (part.type == PrivilegeCompiler.ACTION_TYPE) {
+        if (!impliesAction(part, otherPart)) {
+          return false;
+        }
+      } else if (!impliesResource(part, otherPart)) {
+        return false;
+      }
+      index++;
+    }
+
+    // If this privilege has more parts than the other parts, only imply it if
+    // all of the other parts are wildcards
+    for (; index < parts.length; index++) {
+      if (!parts[index].actionAll) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean sameParts(CompiledPrivilege other) {
+    if (parts.length != other.parts.length) {
+      return false;
+    }
+    for (int i = 0; i < parts.length; i++) {
+      Part part = parts[i];
+      Part otherPart = other.parts[i];
+      if (part.type != otherPart.type || !part.key.equals(otherPart.key)
+          || !part.value.equals(otherPart.value)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean impliesAction(Part policy, Part request) {
+    // the action in privilege is not supported
+    if (!policy.actionResolved || !request.actionResolved) {
+      return false;
+    }
+    return (policy.actionCode & request.actionCode) == request.actionCode;
+  }
+
+  private static boolean impliesResource(Part policy, Part request) {
+    if (policy.policyWildcard || request.requestWildcard) {
+      return true;
+    }
+    switch (policy.implyMethod) {
+      case URL:
+        return PathUtils.impliesURI(policy.value, request.value);
+      case STRING_CASE_SENSITIVE:
+        return policy.value.equals(request.value);
+      default:
+        return policy.matchValue.equals(request.matchValue);
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    for (Part part : parts) {
+      if (sb.length() > 0) {
+        sb.append(SentryConstants.AUTHORIZABLE_SEPARATOR);
+      }
+      sb.append(part.key).append(SentryConstants.KV_SEPARATOR).append(part.value);
+    }
+    if (grantOption) {
+      sb.append(SentryConstants.AUTHORIZABLE_SEPARATOR).append(SentryConstants.GRANT_OPTION)
+          .append(SentryConstants.KV_SEPARATOR).append(true);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * A single compiled part of a privilege.
+   */
+  static final class Part {
+    private final int type;
+    private final String key;
+    private final String value;
+
+    // resource parts
+    private final String matchValue;
+    private final ImplyMethodType implyMethod;
+    private final boolean policyWildcard;
+    private final boolean requestWildcard;
+
+    // action parts
+    private final boolean actionResolved;
+    private final int actionCode;
+
+    // true if the value names an action which implies ALL
+    private final boolean actionAll;
+
+    private Part(int type, String key, String value, String matchValue,
+        ImplyMethodType implyMethod, boolean policyWildcard, boolean requestWildcard,
+        boolean actionResolved, int actionCode, boolean actionAll) {
+      this.type = type;
+      this.key = key;
+      this.value = value;
+      this.matchValue = matchValue;
+      this.implyMethod = implyMethod;
+      this.policyWildcard = policyWildcard;
+      this.requestWildcard = requestWildcard;
+      this.actionResolved = actionResolved;
+      this.actionCode = actionCode;
+      this.actionAll = actionAll;
+    }
+
+    static Part forAction(String key, String value, boolean resolved, int actionCode,
+        boolean actionAll) {
+      return new Part(PrivilegeCompiler.ACTION_TYPE, key, value, value, ImplyMethodType.ACTION,
+          false, false, resolved, actionCode, actionAll);
+    }
+
+    static Part forResource(int type, String key, String value, String matchValue,
+        ImplyMethodType implyMethod, boolean policyWildcard, boolean requestWildcard,
+        boolean actionAll) {
+      return new Part(type, key, value, matchValue, implyMethod, policyWildcard,
+          requestWildcard, false, 0, actionAll);
+    }
+  }
+}
@@ -17,10 +17,12 @@
 
 package org.apache.sentry.policy.common;
 
+import java.util.List;
 import java.util.Set;
 
 
 import org.apache.http.annotation.ThreadSafe;
+import org.apache.sentry.core.common.Action;
 import org.apache.sentry.core.common.ActiveRoleSet;
 import org.apache.sentry.core.common.Authorizable;
 import org.apache.sentry.core.common.exception.SentryConfigurationException;
@@ -33,6 +35,12 @@ import com.google.common.collect.ImmutableSet;
 @ThreadSafe
 public interface PolicyEngine {
 
+  /**
+   * Policy version returned when the policy engine cannot tell whether the
+   * privileges it serves have changed.
+   */
+  long UNVERSIONED_POLICY = -1L;
+
   /**
    * The privilege factory to use in order to compare privileges in {@link getPermission}.
    * This is typically a factory that returns a privilege used to evaluate wildcards.
@@ -108,6 +116,83 @@ public interface PolicyEngine {
   ImmutableSet<Privilege> getPrivilegeObjects(Set<String> groups, Set<String> users,
       ActiveRoleSet roleSet, Authorizable... authorizableHierarchy) throws SentryConfigurationException;
 
+  /**
+   * Get privileges in string associated with groups and users for any of the given
+   * authorizable hierarchies. The result contains at least the union of
+   * {@link #getPrivileges(Set, Set, ActiveRoleSet, Authorizable...)} over the hierarchies,
+   * but may also contain privileges unrelated to some of them, so that engines can answer
+   * with a single lookup.
+   *
+   * @param groups
+   * @param users
+   * @param roleSet
+   * @param authorizableHierarchies
+   * @return non-null immutable set of privileges
+   * @throws SentryConfigurationException
+   */
+  default ImmutableSet<String> getPrivilegesForHierarchies(Set<String> groups, Set<String> users,
+      ActiveRoleSet roleSet, List<Authorizable[]> authorizableHierarchies)
+      throws SentryConfigurationException {
+    ImmutableSet.Builder<String> resultBuilder = ImmutableSet.builder();
+    for (Authorizable[] authorizableHierarchy : authorizableHierarchies) {
+      resultBuilder.addAll(getPrivileges(groups, users, roleSet, authorizableHierarchy));
+    }
+    return resultBuilder.build();
+  }
+
+  /**
+   * Get privilege objects associated with groups and users for any of the given
+   * authorizable hierarchies. Like {@link #getPrivilegesForHierarchies}, the result may
+   * contain privileges unrelated to some of the hierarchies. If the result is empty the
+   * caller should fall back to {@link #getPrivilegesForHierarchies}.
+   *
+   * @param groups
+   * @param users
+   * @param roleSet
+   * @param authorizableHierarchies
+   * @return non-null immutable set of privilege objects
+   * @throws SentryConfigurationException
+   */
+  default ImmutableSet<Privilege> getPrivilegeObjectsForHierarchies(Set<String> groups,
+      Set<String> users, ActiveRoleSet roleSet, List<Authorizable[]> authorizableHierarchies)
+      throws SentryConfigurationException {
+    ImmutableSet.Builder<Privilege> resultBuilder = ImmutableSet.builder();
+    for (Authorizable[] authorizableHierarchy : authorizableHierarchies) {
+      resultBuilder.addAll(getPrivilegeObjects(groups, users, roleSet, authorizableHierarchy));
+    }
+    return resultBuilder.build();
+  }
+
+  /**
+   * Evaluate authorization requests in the policy engine instead of returning privileges to
+   * the caller. A hierarchy is authorized when any of the actions is implied by a
+   * privilege of the groups, users and roles.
+   *
+   * @param groups
+   * @param users
+   * @param roleSet
+   * @param authorizableHierarchies
+   * @param actions
+   * @param requireGrantOption
+   * @return one decision per hierarchy, or null if the policy engine does not evaluate
+   *         authorization requests and the caller must check the privileges itself
+   */
+  default List<Boolean> hasAccess(Set<String> groups, Set<String> users, ActiveRoleSet roleSet,
+      List<Authorizable[]> authorizableHierarchies, Set<? extends Action> actions,
+      boolean requireGrantOption) {
+    return null;
+  }
+
+  /**
+   * Get a token identifying the version of the policy served by this engine. The
+   * token changes whenever the privileges returned by the engine may change, so
+   * callers can safely cache decisions made against a given version.
+   * @return the policy version, or {@link #UNVERSIONED_POLICY} if it is not known
+   */
+  default long getPolicyVersion() {
+    return UNVERSIONED_POLICY;
+  }
+
   void close();
 
   void validatePolicy(boolean strictValidation) throws SentryConfigurationException;
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.policy.common;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.sentry.core.common.Action;
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.BitFieldAction;
+import org.apache.sentry.core.common.BitFieldActionFactory;
+import org.apache.sentry.core.common.ImplyMethodType;
+import org.apache.sentry.core.common.Model;
+import org.apache.sentry.core.common.exception.SentryUserException;
+import org.apache.sentry.core.common.utils.KeyValue;
+import org.apache.sentry.core.common.utils.SentryConstants;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Compiles privileges into {@link CompiledPrivilege} for a given {@link Model}.
+ * <p>
+ * The compiler interns resource type names into int ordinals and resolves action
+ * names into {@link BitFieldAction} masks once, so that comparing two compiled
+ * privileges only compares int codes, bitmasks and pre-normalized values.
+ * <p>
+ * Request privileges are compiled straight from the authorizable hierarchy, without
+ * joining them into a privilege string and parsing it back.
+ * <p>
+ * One compiler should be shared per model; it is thread safe.
+ */
+public class PrivilegeCompiler {
+
+  /** Type code reserved for the action part of a privilege */
+  static final int ACTION_TYPE = 0;
+
+  /** Marker for action names the model does not know about */
+  private static final BitFieldAction UNKNOWN_ACTION = new BitFieldAction("", 0);
+
+  private final Model model;
+  private final BitFieldActionFactory actionFactory;
+  private final BitFieldAction allAction;
+
+  // lower case type name -> resource type
+  private final ConcurrentMap<String, ResourceType> types = new ConcurrentHashMap<>();
+  // type name as given by the caller -> resource type, avoids lower casing on every request
+  private final ConcurrentMap<String, ResourceType> rawTypes = new ConcurrentHashMap<>();
+  // action name as given by the caller -> resolved action
+  private final ConcurrentMap<String, BitFieldAction> actions = new ConcurrentHashMap<>();
+
+  public PrivilegeCompiler(Model model) {
+    this.model = Preconditions.checkNotNull(model, "Model cannot be null");
+    this.actionFactory = model.getBitFieldActionFactory();
+    this.types.put(SentryConstants.PRIVILEGE_NAME.toLowerCase(),
+        new ResourceType(ACTION_TYPE, ImplyMethodType.ACTION));
+    this.allAction = lookupAction(SentryConstants.PRIVILEGE_WILDCARD_VALUE);
+  }
+
+  public Model getModel() {
+    return model;
+  }
+
+  /**
+   * Compile the parts of a privilege, as returned by {@link Privilege#getParts()}.
+   * The grant option must already be stripped from the parts.
+   */
+  public CompiledPrivilege compile(List<KeyValue> parts, boolean grantOption) {
+    CompiledPrivilege.Part[] compiled = new CompiledPrivilege.Part[parts.size()];
+    for (int i = 0; i < compiled.length; i++) {
+      KeyValue part = parts.get(i);
+      compiled[i] = compilePart(part.getKey(), part.getValue(), true);
+    }
+    return new CompiledPrivilege(this, compiled, grantOption);
+  }
+
+  /**
+   * Compile a request privilege for the given authorizable hierarchy and action.
+   * This is equivalent to compiling the string
+   * {@code type1=name1->type2=name2->...->action=actionName} without building it.
+   */
+  public CompiledPrivilege compileRequest(List<? extends Authorizable> authorizables,
+      Action action, boolean requireGrantOption) {
+    CompiledPrivilege.Part[] compiled = new CompiledPrivilege.Part[authorizables.size() + 1];
+    int i = 0;
+    for (Authorizable authorizable : authorizables) {
+      compiled[i++] = compilePart(authorizable.getTypeName(), authorizable.getName(), false);
+    }
+    compiled[i] = compilePart(SentryConstants.PRIVILEGE_NAME, action.getValue(), false);
+    return new CompiledPrivilege(this, compiled, requireGrantOption);
+  }
+
+  private CompiledPrivilege.Part compilePart(String rawKey, String rawValue, boolean policySide) {
+    String key = rawKey == null ? "" : rawKey.trim();
+    String value = rawValue == null ? "" : rawValue.trim();
+    if (key.isEmpty()) {
+      throw new IllegalArgumentException("For keyValue: " + rawKey + "=" + rawValue
+          + ", Key cannot be empty");
+    } else if (value.isEmpty()) {
+      throw new IllegalArgumentException("For keyValue: " + rawKey + "=" + rawValue
+          + ", Value cannot be empty");
+    }
+
+    ResourceType type = getResourceType(key);
+    if (type.code == ACTION_TYPE) {
+      BitFieldAction action = getAction(value);
+      return CompiledPrivilege.Part.forAction(key, value, action != null,
+          action == null ? 0 : action.getActionCode(), impliesAll(action));
+    }
+
+    ImplyMethodType implyMethod = type.implyMethod;
+    boolean policyWildcard = SentryConstants.RESOURCE_WILDCARD_VALUE.equals(value)
+        || SentryConstants.RESOURCE_WILDCARD_VALUE_ALL.equalsIgnoreCase(value);
+    boolean requestWildcard = policyWildcard
+        || SentryConstants.RESOURCE_WILDCARD_VALUE_SOME.equals(value);
+    // everything but URL and case sensitive strings is compared ignoring case
+    String matchValue = implyMethod == ImplyMethodType.URL
+        || implyMethod == ImplyMethodType.STRING_CASE_SENSITIVE ? value : value.toLowerCase();
+    // A trailing resource part of a policy is only treated as implied when its value
+    // happens to name the ALL action, which mirrors CommonPrivilege.
+    boolean actionAll = policySide && impliesAll(lookupAction(value));
+    return CompiledPrivilege.Part.forResource(type.code, key, value, matchValue, implyMethod,
+        policyWildcard, requestWildcard, actionAll);
+  }
+
+  private ResourceType getResourceType(String key) {
+    ResourceType type = rawTypes.get(key);
+    if (type != null) {
+      return type;
+    }
+    String lowerKey = key.toLowerCase();
+    type = types.get(lowerKey);
+    if (type == null) {
+      synchronized (types) {
+        type = types.get(lowerKey);
+        if (type == null) {
+          ImplyMethodType implyMethod = model.getImplyMethodMap().get(lowerKey);
+          type = new ResourceType(types.size(),
+              implyMethod == null ? ImplyMethodType.STRING : implyMethod);
+          types.put(lowerKey, type);
+        }
+      }
+    }
+    rawTypes.putIfAbsent(key, type);
+    return type;
+  }
+
+  private BitFieldAction getAction(String name) {
+    BitFieldAction action = actions.get(name);
+    if (action == null) {
+      action = lookupAction(name);
+      actions.putIfAbsent(name, action == null ? UNKNOWN_ACTION : action);
+      return action;
+    }
+    return action == UNKNOWN_ACTION ? null : action;
+  }
+
+  private BitFieldAction lookupAction(String name) {
+    try {
+      return actionFactory.getActionByName(name);
+    } catch (SentryUserException e) {
+      return null;
+    }
+  }
+
+  private boolean impliesAll(BitFieldAction action) {
+    return action != null && allAction != null && action.implies(allAction);
+  }
+
+  /**
+   * Interned resource type: its ordinal and how its values are compared.
+   */
+  private static final class ResourceType {
+    private final int code;
+    private final ImplyMethodType implyMethod;
+
+    private ResourceType(int code, ImplyMethodType implyMethod) {
+      this.code = code;
+      this.implyMethod = implyMethod;
+    }
+  }
+}
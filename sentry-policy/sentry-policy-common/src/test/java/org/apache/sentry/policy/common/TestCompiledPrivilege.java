@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.policy.common;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.sentry.core.common.Action;
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.Model;
+import org.apache.sentry.core.model.db.AccessURI;
+import org.apache.sentry.core.model.db.Column;
+import org.apache.sentry.core.model.db.Database;
+import org.apache.sentry.core.model.db.Server;
+import org.apache.sentry.core.model.db.Table;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestCompiledPrivilege {
+
+  private static final String[] PRIVILEGES = {
+      "server=server1",
+      "server=server1->action=all",
+      "server=server1->action=select",
+      "server=*",
+      "server=server1->db=db1",
+      "server=server1->db=db1->action=select",
+      "server=server1->db=DB1->action=insert",
+      "server=server1->db=*->action=select",
+      "server=server1->db=db1->table=table1",
+      "server=server1->db=db1->table=table1->action=select",
+      "server=server1->db=db1->table=table1->action=insert",
+      "server=server1->db=db1->table=table1->action=*",
+      "server=server1->db=db1->table=table1->action=unknown",
+      "server=server1->db=db1->table=table2->action=select",
+      "server=server1->db=db1->table=ALL->action=select",
+      "server=server1->db=db1->table=+->action=select",
+      "server=server1->db=db1->table=table1->column=col1->action=select",
+      "server=server1->db=db1->table=table1->column=CoL1->action=select",
+      "server=server1->db=db1->table=table1->column=*->action=select",
+      "SERVER=server1->DB=db1->TABLE=table1->COLUMN=col1->ACTION=select",
+      "server=SERver1->db=Db1->table=TAbLe1->column=col1->action=select",
+      "server=server1->db=db1->table=table1->action=select->grantOption=true",
+      "server=server1->db=db1->table=table1->action=select->grantOption=false",
+      "server=server1->db=db1->action=all->grantOption=true",
+      "server=server1->uri=hdfs:///url",
+      "server=server1->uri=hdfs:///url/for/request",
+      "server=server1->uri=hdfs:///url/unvalid/for/request",
+      "server=server1->uri=hdfs:///url->action=all",
+      "server=server1->uri=hdfs:///url/for/request->action=select",
+      "server=server1->db=db1->table=table1->column=col1",
+  };
+
+  private Model testModel;
+  private PrivilegeCompiler compiler;
+
+  @Before
+  public void prepareData() {
+    testModel = new ModelForTest();
+    compiler = new PrivilegeCompiler(testModel);
+  }
+
+  @Test
+  public void testImpliesMatchesCommonPrivilege() throws Exception {
+    for (String policyStr : PRIVILEGES) {
+      CommonPrivilege policy = new CommonPrivilege(policyStr);
+      for (String requestStr : PRIVILEGES) {
+        CommonPrivilege request = new CommonPrivilege(requestStr);
+        assertEquals(policyStr + " implies " + requestStr,
+            policy.implies(request, testModel),
+            policy.compile(compiler).implies(request.compile(compiler)));
+      }
+    }
+  }
+
+  @Test
+  public void testCompileRequestFromAuthorizables() throws Exception {
+    List<? extends Authorizable> table = Arrays.asList(new Server("server1"),
+        new Database("db1"), new Table("table1"));
+    List<? extends Authorizable> column = Arrays.asList(new Server("server1"),
+        new Database("db1"), new Table("table1"), new Column("col1"));
+    List<? extends Authorizable> uri = Arrays.asList(new Server("server1"),
+        new AccessURI("hdfs:///url/for/request"));
+
+    for (String policyStr : PRIVILEGES) {
+      CommonPrivilege policy = new CommonPrivilege(policyStr);
+      for (List<? extends Authorizable> authorizables : Arrays.asList(table, column, uri)) {
+        for (String action : new String[] {"select", "insert", "*"}) {
+          for (boolean grantOption : new boolean[] {false, true}) {
+            CommonPrivilege request = new CommonPrivilege(
+                toRequestString(authorizables, action, grantOption));
+            CompiledPrivilege compiled = compiler.compileRequest(authorizables,
+                new TestAction(action), grantOption);
+            assertEquals(policyStr + " implies " + request,
+                policy.implies(request, testModel),
+                policy.compile(compiler).implies(compiled));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testCompiledFormIsCached() throws Exception {
+    CommonPrivilege privilege = new CommonPrivilege("server=server1->db=db1->action=select");
+    CompiledPrivilege compiled = privilege.compile(compiler);
+    assertSame(compiled, privilege.compile(compiler));
+
+    // a different compiler gets its own compiled form
+    PrivilegeCompiler otherCompiler = new PrivilegeCompiler(testModel);
+    CompiledPrivilege otherCompiled = privilege.compile(otherCompiler);
+    assertSame(otherCompiler, otherCompiled.getCompiler());
+  }
+
+  @Test
+  public void testGrantOption() throws Exception {
+    List<? extends Authorizable> table = Arrays.asList(new Server("server1"),
+        new Database("db1"), new Table("table1"));
+    CompiledPrivilege withGrant = new CommonPrivilege(
+        "server=server1->db=db1->action=select->grantOption=true").compile(compiler);
+    CompiledPrivilege withoutGrant = new CommonPrivilege(
+        "server=server1->db=db1->action=select").compile(compiler);
+
+    assertTrue(withGrant.implies(compiler.compileRequest(table, new TestAction("select"), true)));
+    assertFalse(withoutGrant.implies(compiler.compileRequest(table, new TestAction("select"), true)));
+    assertTrue(withoutGrant.implies(compiler.compileRequest(table, new TestAction("select"), false)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCompareAcrossCompilers() throws Exception {
+    CommonPrivilege privilege = new CommonPrivilege("server=server1");
+    privilege.compile(compiler).implies(
+        new CommonPrivilege("server=server1").compile(new PrivilegeCompiler(testModel)));
+  }
+
+  private static String toRequestString(List<? extends Authorizable> authorizables,
+      String action, boolean grantOption) {
+    StringBuilder sb = new StringBuilder();
+    for (Authorizable authorizable : authorizables) {
+      sb.append(authorizable.getTypeName()).append("=").append(authorizable.getName())
+          .append("->");
+    }
+    return sb.append("action=").append(action).append("->grantOption=").append(grantOption)
+        .toString();
+  }
+
+  private static class TestAction implements Action {
+    private final String value;
+
+    TestAction(String value) {
+      this.value = value;
+    }
+
+    @Override
+    public String getValue() {
+      return value;
+    }
+  }
+}
@@ -17,6 +17,7 @@
 package org.apache.sentry.policy.engine.common;
 
 import com.google.common.collect.ImmutableSet;
+import org.apache.sentry.core.common.Action;
 import org.apache.sentry.core.common.ActiveRoleSet;
 import org.apache.sentry.core.common.Authorizable;
 import org.apache.sentry.core.common.exception.SentryConfigurationException;
@@ -27,6 +28,7 @@ import org.apache.sentry.provider.common.ProviderBackend;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Set;
 
 public class CommonPolicyEngine implements PolicyEngine {
@@ -107,6 +109,43 @@ public class CommonPolicyEngine implements PolicyEngine {
     return result;
   }
 
+  @Override
+  public ImmutableSet<String> getPrivilegesForHierarchies(Set<String> groups, Set<String> users,
+      ActiveRoleSet roleSet, List<Authorizable[]> authorizableHierarchies)
+      throws SentryConfigurationException {
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Getting permissions for groups: {}, users: {}, {} hierarchies", groups, users,
+          authorizableHierarchies.size());
+    }
+    return providerBackend.getPrivilegesForHierarchies(groups, users, roleSet,
+        authorizableHierarchies);
+  }
+
+  @Override
+  public ImmutableSet<Privilege> getPrivilegeObjectsForHierarchies(Set<String> groups,
+      Set<String> users, ActiveRoleSet roleSet, List<Authorizable[]> authorizableHierarchies)
+      throws SentryConfigurationException {
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Getting permissions for groups: {}, users: {}, {} hierarchies", groups, users,
+          authorizableHierarchies.size());
+    }
+    return providerBackend.getPrivilegeObjectsForHierarchies(groups, users, roleSet,
+        authorizableHierarchies);
+  }
+
+  @Override
+  public List<Boolean> hasAccess(Set<String> groups, Set<String> users, ActiveRoleSet roleSet,
+      List<Authorizable[]> authorizableHierarchies, Set<? extends Action> actions,
+      boolean requireGrantOption) {
+    return providerBackend.hasAccess(groups, users, roleSet, authorizableHierarchies, actions,
+        requireGrantOption);
+  }
+
+  @Override
+  public long getPolicyVersion() {
+    return providerBackend.getPolicyVersion();
+  }
+
   @Override
   public void validatePolicy(boolean strictValidation) throws SentryConfigurationException {
     this.providerBackend.validatePolicy(strictValidation);
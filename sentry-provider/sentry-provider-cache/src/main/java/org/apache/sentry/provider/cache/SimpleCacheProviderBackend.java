@@ -113,6 +113,15 @@ public class SimpleCacheProviderBackend implements ProviderBackend {
         "getRoles() is not supported by Cache provider");
   }
 
+  /**
+   * The binding handle is built once for the privileges of a request and is
+   * never updated, so its version never changes.
+   */
+  @Override
+  public long getPolicyVersion() {
+    return 0;
+  }
+
   @Override
   public void validatePolicy(boolean strictValidation)
       throws SentryConfigurationException {
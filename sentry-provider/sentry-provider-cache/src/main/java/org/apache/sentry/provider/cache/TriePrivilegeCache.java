@@ -0,0 +1,449 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.sentry.core.common.ActiveRoleSet;
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.utils.KeyValue;
+import org.apache.sentry.core.common.utils.SentryConstants;
+import org.apache.sentry.core.model.db.DBModelAuthorizable.AuthorizableType;
+import org.apache.sentry.policy.common.CommonPrivilege;
+import org.apache.sentry.policy.common.Privilege;
+import org.apache.sentry.policy.common.PrivilegeFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Immutable, trie based {@link FilteredPrivilegeCache}.
+ * <p>
+ * It returns the same privileges as {@link TreePrivilegeCache}, but the trie is frozen
+ * when the cache is built: resource values are lower cased and interned once, privileges
+ * are kept in arrays, and every node keeps per-depth summaries of the privileges of all
+ * its descendants. A lookup walks the trie once along the authorizable hierarchy and hands
+ * matching privileges to a {@link PrivilegeVisitor}, without building intermediate sets.
+ * Wildcard requests such as {@code SHOW TABLES} are answered from the summaries instead of
+ * visiting every child, so lookups are O(depth) in both time and allocation.
+ */
+public class TriePrivilegeCache implements FilteredPrivilegeCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TriePrivilegeCache.class);
+
+  private static final Privilege[] NO_PRIVILEGES = new Privilege[0];
+  private static final Privilege[][] NO_SUMMARIES = new Privilege[0][];
+  private static final String[] WILDCARD_VALUES = {
+      SentryConstants.RESOURCE_WILDCARD_VALUE.toLowerCase(),
+      SentryConstants.RESOURCE_WILDCARD_VALUE_SOME.toLowerCase(),
+      SentryConstants.RESOURCE_WILDCARD_VALUE_ALL.toLowerCase()
+  };
+
+  /**
+   * Receives the privileges matched by a lookup.
+   */
+  public interface PrivilegeVisitor {
+    /**
+     * @param privilege a privilege matching the lookup
+     * @return true to continue the lookup, false to stop it
+     */
+    boolean visit(Privilege privilege);
+  }
+
+  private final Set<String> cachedPrivileges;
+  private final PrivilegeFactory privilegeFactory;
+  private final ImmutableMap<String, Node> roots;
+
+  public TriePrivilegeCache(Set<String> cachedPrivileges) {
+    this(cachedPrivileges, null);
+  }
+
+  public TriePrivilegeCache(Set<String> cachedPrivileges, PrivilegeFactory inPrivilegeFactory) {
+    if (cachedPrivileges == null) {
+      cachedPrivileges = new HashSet<String>();
+    }
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Created with privileges {}", cachedPrivileges);
+    }
+
+    this.cachedPrivileges = cachedPrivileges;
+    this.privilegeFactory = inPrivilegeFactory;
+    this.roots = build(cachedPrivileges);
+  }
+
+  @Override
+  public Set<String> listPrivileges(Set<String> groups, ActiveRoleSet roleSet) {
+    return cachedPrivileges;
+  }
+
+  @Override
+  public Set<String> listPrivileges(Set<String> groups, Set<String> users, ActiveRoleSet roleSet) {
+    return cachedPrivileges;
+  }
+
+  @Override
+  public Set<String> listPrivileges(Set<String> groups, Set<String> users, ActiveRoleSet roleSet,
+      Authorizable... authorizationhierarchy) {
+    final Set<String> result = new HashSet<>();
+    visitPrivilegeObjects(new PrivilegeVisitor() {
+      @Override
+      public boolean visit(Privilege privilege) {
+        result.add(privilege.toString());
+        return true;
+      }
+    }, authorizationhierarchy);
+    return result;
+  }
+
+  @Override
+  public Set<Privilege> listPrivilegeObjects(Set<String> groups, Set<String> users,
+      ActiveRoleSet roleSet, Authorizable... authorizationhierarchy) {
+    final ImmutableSet.Builder<Privilege> result = ImmutableSet.builder();
+    visitPrivilegeObjects(new PrivilegeVisitor() {
+      @Override
+      public boolean visit(Privilege privilege) {
+        result.add(privilege);
+        return true;
+      }
+    }, authorizationhierarchy);
+    return result.build();
+  }
+
+  /**
+   * Add the privileges matching the authorizable hierarchy to a caller supplied buffer,
+   * which can be reused across lookups.
+   * @return the buffer
+   */
+  public <T extends Collection<? super Privilege>> T collectPrivilegeObjects(final T buffer,
+      Authorizable... authorizationhierarchy) {
+    visitPrivilegeObjects(new PrivilegeVisitor() {
+      @Override
+      public boolean visit(Privilege privilege) {
+        buffer.add(privilege);
+        return true;
+      }
+    }, authorizationhierarchy);
+    return buffer;
+  }
+
+  /**
+   * Hand every privilege matching the authorizable hierarchy to the visitor. Every
+   * privilege is visited at most once.
+   * @return false if the visitor stopped the lookup, true otherwise
+   */
+  public boolean visitPrivilegeObjects(PrivilegeVisitor visitor,
+      Authorizable... authorizationhierarchy) {
+    if (authorizationhierarchy == null || authorizationhierarchy.length == 0) {
+      return true;
+    }
+
+    String topKey = getResourceValue(0, authorizationhierarchy);
+    for (String wildcard : WILDCARD_VALUES) {
+      Node wildcardRoot = roots.get(wildcard);
+      if (wildcardRoot != null && !wildcardRoot.visit(visitor, 0, authorizationhierarchy)) {
+        return false;
+      }
+    }
+    if (StringUtils.isEmpty(topKey) || isResourceValueWildcard(topKey)) {
+      // wildcard roots are already visited
+      return true;
+    }
+    Node root = roots.get(topKey);
+    return root == null || root.visit(visitor, 0, authorizationhierarchy);
+  }
+
+  @Override
+  public void close() {
+    // Keep the privileges to be consistent with cache implementation in Impala
+  }
+
+  private Privilege getPrivilegeObject(String priString) {
+    if (privilegeFactory != null) {
+      return privilegeFactory.createPrivilege(priString);
+    }
+
+    return new CommonPrivilege(priString);
+  }
+
+  private ImmutableMap<String, Node> build(Set<String> privileges) {
+    Interner<String> interner = Interners.newStrongInterner();
+    Map<String, NodeBuilder> rootBuilders = new HashMap<>();
+
+    for (String priString : privileges) {
+      Privilege privilege = getPrivilegeObject(priString);
+      List<KeyValue> parts = privilege.getParts();
+      String topKey = getResourceValue(0, parts);
+      if (StringUtils.isEmpty(topKey)) {
+        LOGGER.warn("The top level authorizable of privilege {} is null", priString);
+        continue;
+      }
+      topKey = interner.intern(topKey);
+
+      NodeBuilder root = rootBuilders.get(topKey);
+      if (root == null) {
+        root = new NodeBuilder();
+        rootBuilders.put(topKey, root);
+      }
+      root.add(privilege, parts, 0, interner);
+    }
+
+    ImmutableMap.Builder<String, Node> result = ImmutableMap.builder();
+    for (Map.Entry<String, NodeBuilder> entry : rootBuilders.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().freeze().node);
+    }
+    return result.build();
+  }
+
+  private static boolean isResourceValueWildcard(String resourceValue) {
+    return TreePrivilegeNode.isResourceValueWildcard(resourceValue);
+  }
+
+  private static boolean isAllWildcard(int fromIndex, Authorizable[] authorizables) {
+    for (int i = fromIndex; i < authorizables.length; i++) {
+      Authorizable authorizable = authorizables[i];
+      if (authorizable == null || !isResourceValueWildcard(authorizable.getName())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String getResourceValue(int partIndex, Authorizable[] authorizables) {
+    if (authorizables.length < partIndex + 1) {
+      return null;
+    }
+    Authorizable part = authorizables[partIndex];
+    return part == null ? null : part.getName().toLowerCase();
+  }
+
+  private static String getResourceValue(int partIndex, List<KeyValue> parts) {
+    if (parts == null || parts.size() < partIndex + 1) {
+      return null;
+    }
+    KeyValue part = parts.get(partIndex);
+    return part == null ? null : part.getValue().toLowerCase();
+  }
+
+  private static Privilege[] toArray(List<Privilege> privileges) {
+    return privileges.isEmpty() ? NO_PRIVILEGES : privileges.toArray(new Privilege[0]);
+  }
+
+  /**
+   * Frozen trie node. See {@link TreePrivilegeNode} for the layout of privileges in the tree.
+   */
+  private static final class Node {
+    private final Privilege[] own;
+    private final Privilege[] childWildcard;
+    private final ImmutableMap<String, Node> children;
+    // descendants[r] holds every privilege returned for any child when the request
+    // continues with r more wildcard (or no) levels below that child
+    private final Privilege[][] descendants;
+
+    private Node(Privilege[] own, Privilege[] childWildcard, ImmutableMap<String, Node> children,
+        Privilege[][] descendants) {
+      this.own = own;
+      this.childWildcard = childWildcard;
+      this.children = children;
+      this.descendants = descendants;
+    }
+
+    private boolean visit(PrivilegeVisitor visitor, int partIndex,
+        Authorizable[] authorizationhierarchy) {
+      if (!visitAll(visitor, own)) {
+        return false;
+      }
+
+      int length = authorizationhierarchy.length;
+      if (length <= partIndex + 1) {
+        // no child authorizable in the request
+        return true;
+      }
+      if (!visitAll(visitor, childWildcard)) {
+        return false;
+      }
+
+      String childKey = getResourceValue(partIndex + 1, authorizationhierarchy);
+      if (StringUtils.isEmpty(childKey)) {
+        return true;
+      }
+
+      if (isResourceValueWildcard(childKey)) {
+        if (descendants.length == 0) {
+          return true;
+        }
+        if (isAllWildcard(partIndex + 2, authorizationhierarchy)) {
+          int remaining = Math.min(length - partIndex - 2, descendants.length - 1);
+          return visitAll(visitor, descendants[remaining]);
+        }
+        // a specific resource below the wildcard, e.g. server1->db1->*->col1
+        for (Node child : children.values()) {
+          if (!child.visit(visitor, partIndex + 1, authorizationhierarchy)) {
+            return false;
+          }
+        }
+        return true;
+      }
+
+      Node child = children.get(childKey);
+      return child == null || child.visit(visitor, partIndex + 1, authorizationhierarchy);
+    }
+
+    private static boolean visitAll(PrivilegeVisitor visitor, Privilege[] privileges) {
+      for (Privilege privilege : privileges) {
+        if (!visitor.visit(privilege)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Frozen node together with its subtree summaries, which are only needed
+   * while the parent node is frozen.
+   */
+  private static final class FrozenNode {
+    private final Node node;
+    // subtree[r] holds every privilege returned for this node when the request
+    // continues with r more wildcard (or no) levels below it
+    private final Privilege[][] subtree;
+
+    private FrozenNode(Node node, Privilege[][] subtree) {
+      this.node = node;
+      this.subtree = subtree;
+    }
+
+    private Privilege[] subtree(int remaining) {
+      return subtree[Math.min(remaining, subtree.length - 1)];
+    }
+  }
+
+  /**
+   * Mutable node used while building the trie.
+   */
+  private static final class NodeBuilder {
+    private final List<Privilege> own = new ArrayList<>();
+    private final List<Privilege> childWildcard = new ArrayList<>();
+    private final Map<String, NodeBuilder> children = new HashMap<>();
+
+    private void add(Privilege privilege, List<KeyValue> parts, int partIndex,
+        Interner<String> interner) {
+      if (isOwnPrivilege(parts, partIndex)) {
+        own.add(privilege);
+        return;
+      }
+
+      // find the child resource value, which is used as key in children
+      String childResourceValue = getResourceValue(partIndex + 1, parts);
+      if (StringUtils.isEmpty(childResourceValue)) {
+        LOGGER.warn("Child resource value at index [{}] of privilege {} is null", partIndex,
+            privilege);
+        return;
+      }
+
+      if (isResourceValueWildcard(childResourceValue)) {
+        childWildcard.add(privilege);
+        return;
+      }
+
+      childResourceValue = interner.intern(childResourceValue);
+      NodeBuilder child = children.get(childResourceValue);
+      if (child == null) {
+        child = new NodeBuilder();
+        children.put(childResourceValue, child);
+      }
+      child.add(privilege, parts, partIndex + 1, interner);
+    }
+
+    private static boolean isOwnPrivilege(List<KeyValue> parts, int partIndex) {
+      if (parts.size() <= partIndex + 1) {
+        return true;
+      }
+
+      // check child resource type
+      String partType = parts.get(partIndex + 1).getKey();
+      // the next part is action or uri, not a child authorizable
+      return SentryConstants.PRIVILEGE_NAME.equalsIgnoreCase(partType)
+          || AuthorizableType.URI.toString().equalsIgnoreCase(partType);
+    }
+
+    private FrozenNode freeze() {
+      ImmutableMap.Builder<String, Node> frozenChildren = ImmutableMap.builder();
+      List<FrozenNode> childSummaries = new ArrayList<>(children.size());
+      int maxChildSummaries = 0;
+      for (Map.Entry<String, NodeBuilder> entry : children.entrySet()) {
+        FrozenNode child = entry.getValue().freeze();
+        frozenChildren.put(entry.getKey(), child.node);
+        childSummaries.add(child);
+        maxChildSummaries = Math.max(maxChildSummaries, child.subtree.length);
+      }
+
+      // descendants[r] is the union of the subtree summaries of all children
+      Privilege[][] descendants = NO_SUMMARIES;
+      if (!childSummaries.isEmpty()) {
+        descendants = new Privilege[maxChildSummaries][];
+        for (int r = 0; r < maxChildSummaries; r++) {
+          List<Privilege> union = new ArrayList<>();
+          for (FrozenNode child : childSummaries) {
+            for (Privilege privilege : child.subtree(r)) {
+              union.add(privilege);
+            }
+          }
+          descendants[r] = toArray(union);
+        }
+      }
+
+      Privilege[] ownArray = toArray(own);
+      Privilege[] childWildcardArray = toArray(childWildcard);
+
+      // subtree[0] only has own privileges; with r > 0 more levels, child wildcard
+      // privileges and the descendants with r - 1 more levels are returned as well
+      Privilege[][] subtree = new Privilege[descendants.length + 2][];
+      subtree[0] = ownArray;
+      for (int r = 1; r < subtree.length; r++) {
+        List<Privilege> union = new ArrayList<>();
+        addAll(union, ownArray);
+        addAll(union, childWildcardArray);
+        if (descendants.length > 0) {
+          addAll(union, descendants[Math.min(r - 1, descendants.length - 1)]);
+        }
+        subtree[r] = toArray(union);
+      }
+
+      Node node = new Node(ownArray, childWildcardArray, frozenChildren.build(), descendants);
+      return new FrozenNode(node, subtree);
+    }
+
+    private static void addAll(List<Privilege> target, Privilege[] privileges) {
+      for (Privilege privilege : privileges) {
+        target.add(privilege);
+      }
+    }
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.cache;
+
+import static org.apache.sentry.provider.cache.TestTreePrivilegeCache.create;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.utils.KeyValue;
+import org.apache.sentry.core.model.db.Column;
+import org.apache.sentry.core.model.db.Database;
+import org.apache.sentry.core.model.db.Server;
+import org.apache.sentry.core.model.db.Table;
+import org.apache.sentry.policy.common.Privilege;
+import org.junit.Test;
+
+import com.google.common.collect.Sets;
+
+public class TestTriePrivilegeCache {
+
+  private static Set<String> wildcardPrivileges() {
+    return Sets.newHashSet(
+      create(new KeyValue("Server", "server1"), new KeyValue("db", "db1"),
+        new KeyValue("table", "t1"), new KeyValue("action", "SELECT")).toString(),
+      create(new KeyValue("Server", "server1"), new KeyValue("db", "db2"),
+        new KeyValue("table", "t1"), new KeyValue("action", "SELECT")).toString(),
+      create(new KeyValue("Server", "server1"), new KeyValue("db", "db1"),
+        new KeyValue("table", "t2"), new KeyValue("action", "SELECT")).toString(),
+      create(new KeyValue("Server", "server1"), new KeyValue("db", "db1"),
+        new KeyValue("table", "*"), new KeyValue("action", "SELECT")).toString(),
+      create(new KeyValue("Server", "server1"), new KeyValue("db", "db1"),
+        new KeyValue("table", "ALL"), new KeyValue("action", "SELECT")).toString(),
+      create(new KeyValue("Server", "server1"), new KeyValue("db", "*")).toString(),
+      create(new KeyValue("Server", "server1"), new KeyValue("db", "db1"),
+        new KeyValue("table", "t1"), new KeyValue("column", "c1"),
+        new KeyValue("action", "SELECT")).toString(),
+      create(new KeyValue("Server", "server1"), new KeyValue("db", "DB3"),
+        new KeyValue("table", "t3"), new KeyValue("column", "*"),
+        new KeyValue("action", "INSERT")).toString(),
+      create(new KeyValue("Server", "*"), new KeyValue("action", "ALL")).toString(),
+      create(new KeyValue("Server", "server1"),
+        new KeyValue("uri", "hdfs:///uri/path1")).toString());
+  }
+
+  private static List<Authorizable[]> requests() {
+    List<Authorizable[]> requests = new ArrayList<>();
+    requests.add(new Authorizable[] {new Server("server1")});
+    requests.add(new Authorizable[] {new Server("SERVER1")});
+    requests.add(new Authorizable[] {new Server("server2")});
+    requests.add(new Authorizable[] {new Server("server1"), new Database("db1")});
+    requests.add(new Authorizable[] {new Server("server1"), new Database("db2")});
+    requests.add(new Authorizable[] {new Server("server1"), new Database("*")});
+    requests.add(new Authorizable[] {new Server("server1"), new Database("db1"), new Table("t1")});
+    requests.add(new Authorizable[] {new Server("server1"), new Database("db1"), new Table("*")});
+    requests.add(new Authorizable[] {new Server("server1"), new Database("db1"), new Table("+")});
+    requests.add(new Authorizable[] {new Server("server1"), new Database("*"), new Table("*")});
+    requests.add(new Authorizable[] {new Server("server1"), new Database("*"), new Table("t1")});
+    requests.add(new Authorizable[] {new Server("server1"), new Database("db1"), new Table("t1"),
+      new Column("*")});
+    requests.add(new Authorizable[] {new Server("server1"), new Database("db1"), new Table("*"),
+      new Column("*")});
+    requests.add(new Authorizable[] {new Server("server1"), new Database("db1"), new Table("*"),
+      new Column("c1")});
+    requests.add(new Authorizable[] {new Server("server1"), new Database("*"), new Table("*"),
+      new Column("*")});
+    requests.add(new Authorizable[] {new Server("server1"), new Database("db3"), new Table("t3"),
+      new Column("c9")});
+    requests.add(new Authorizable[] {new Server("server1"), new Database("db2"), new Table("t1"),
+      new Column("*")});
+    return requests;
+  }
+
+  @Test
+  public void testMatchesTreePrivilegeCache() {
+    TreePrivilegeCache treeCache = new TreePrivilegeCache(wildcardPrivileges(), null);
+    TriePrivilegeCache trieCache = new TriePrivilegeCache(wildcardPrivileges(), null);
+
+    for (Authorizable[] request : requests()) {
+      assertEquals(Arrays.toString(request),
+        treeCache.listPrivileges(null, null, null, request),
+        trieCache.listPrivileges(null, null, null, request));
+      assertEquals(Arrays.toString(request),
+        treeCache.listPrivilegeObjects(null, null, null, request),
+        trieCache.listPrivilegeObjects(null, null, null, request));
+    }
+  }
+
+  @Test
+  public void testListPrivilegeObjectsWildCard() {
+    TriePrivilegeCache cache = new TriePrivilegeCache(wildcardPrivileges());
+
+    assertEquals(2, cache.listPrivilegeObjects(null, null, null, new Server("server1")).size());
+    assertEquals(3, cache.listPrivilegeObjects(null, null, null, new Server("server1"),
+      new Database("db1")).size());
+    assertEquals(7, cache.listPrivilegeObjects(null, null, null, new Server("server1"),
+      new Database("db1"), new Table("*")).size());
+    assertEquals(8, cache.listPrivilegeObjects(null, null, null, new Server("server1"),
+      new Database("db1"), new Table("*"), new Column("*")).size());
+  }
+
+  @Test
+  public void testCollectIntoReusableBuffer() {
+    TriePrivilegeCache cache = new TriePrivilegeCache(wildcardPrivileges());
+    List<Privilege> buffer = new ArrayList<>();
+
+    cache.collectPrivilegeObjects(buffer, new Server("server1"), new Database("db1"),
+      new Table("t1"));
+    assertEquals(cache.listPrivilegeObjects(null, null, null, new Server("server1"),
+      new Database("db1"), new Table("t1")).size(), buffer.size());
+
+    buffer.clear();
+    cache.collectPrivilegeObjects(buffer, new Server("server2"));
+    assertEquals(1, buffer.size());
+  }
+
+  @Test
+  public void testVisitorStopsLookup() {
+    TriePrivilegeCache cache = new TriePrivilegeCache(wildcardPrivileges());
+    final List<Privilege> visited = new ArrayList<>();
+
+    boolean completed = cache.visitPrivilegeObjects(new TriePrivilegeCache.PrivilegeVisitor() {
+      @Override
+      public boolean visit(Privilege privilege) {
+        visited.add(privilege);
+        return false;
+      }
+    }, new Server("server1"), new Database("db1"), new Table("*"), new Column("*"));
+
+    assertFalse(completed);
+    assertEquals(1, visited.size());
+  }
+}
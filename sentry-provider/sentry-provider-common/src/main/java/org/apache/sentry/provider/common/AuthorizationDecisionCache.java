@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.sentry.core.common.Action;
+import org.apache.sentry.core.common.ActiveRoleSet;
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.Subject;
+import org.apache.sentry.policy.common.PolicyEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Bounded cache of authorization decisions made by {@link ResourceAuthorizationProvider}.
+ * <p>
+ * Decisions are keyed by subject, active role set, authorizable hierarchy, requested
+ * actions and grant option. Every decision is tagged with the policy version reported
+ * by the {@link PolicyEngine} when it was computed. A decision is only served while the
+ * policy version is unchanged, and the whole cache is dropped as soon as a new version is
+ * seen.
+ * <p>
+ * Group membership is not part of the policy version, so entries also expire after a
+ * configurable time to pick up group changes. When the policy engine is not versioned,
+ * as with the Sentry server backend, this expiry is the only bound on how long a
+ * decision is served after the privileges changed.
+ * <p>
+ * Authorization providers are usually created per request, so they share the cache of
+ * their backend returned by {@link #getShared(Configuration, String)}.
+ */
+@ThreadSafe
+public class AuthorizationDecisionCache {
+  private static final Logger LOGGER = LoggerFactory.getLogger(AuthorizationDecisionCache.class);
+
+  public static final String CONF_PREFIX = "sentry.provider.decision.cache";
+  public static final String ENABLED = CONF_PREFIX + ".enabled";
+  public static final boolean ENABLED_DEFAULT = false;
+  public static final String MAX_SIZE = CONF_PREFIX + ".max.size";
+  public static final long MAX_SIZE_DEFAULT = 100000;
+  public static final String TTL_MS = CONF_PREFIX + ".ttl.ms";
+  public static final long TTL_MS_DEFAULT = TimeUnit.MINUTES.toMillis(5);
+
+  // Caches shared by the authorization providers of the process
+  private static final ConcurrentMap<String, AuthorizationDecisionCache> SHARED_CACHES =
+      new ConcurrentHashMap<>();
+
+  private final Cache<DecisionKey, Decision> cache;
+  private final AtomicLong invalidationCount = new AtomicLong();
+  private volatile long policyVersion = PolicyEngine.UNVERSIONED_POLICY;
+
+  public AuthorizationDecisionCache(long maxSize, long ttlMs) {
+    this(maxSize, ttlMs, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  AuthorizationDecisionCache(long maxSize, long ttlMs, Ticker ticker) {
+    Preconditions.checkArgument(maxSize > 0, "Decision cache size must be positive");
+    Preconditions.checkArgument(ttlMs > 0, "Decision cache TTL must be positive");
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+        .ticker(ticker)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Create the decision cache configured in conf.
+   * @return the decision cache, or null if it is not enabled
+   */
+  public static AuthorizationDecisionCache fromConf(Configuration conf) {
+    if (!conf.getBoolean(ENABLED, ENABLED_DEFAULT)) {
+      return null;
+    }
+    long maxSize = conf.getLong(MAX_SIZE, MAX_SIZE_DEFAULT);
+    long ttlMs = conf.getLong(TTL_MS, TTL_MS_DEFAULT);
+    LOGGER.info("Authorization decision cache enabled with max size {} and TTL {} ms",
+        maxSize, ttlMs);
+    return new AuthorizationDecisionCache(maxSize, ttlMs);
+  }
+
+  /**
+   * Get the decision cache configured in conf shared by the authorization providers
+   * of the process using the same backend, creating it on first use.
+   * @param backendName identifies the backend, e.g. its class and resource
+   * @return the shared decision cache, or null if it is not enabled
+   */
+  public static AuthorizationDecisionCache getShared(Configuration conf, String backendName) {
+    if (!conf.getBoolean(ENABLED, ENABLED_DEFAULT)) {
+      return null;
+    }
+    String key = backendName + "/" + conf.getLong(MAX_SIZE, MAX_SIZE_DEFAULT)
+        + "/" + conf.getLong(TTL_MS, TTL_MS_DEFAULT);
+    AuthorizationDecisionCache cache = SHARED_CACHES.get(key);
+    if (cache == null) {
+      AuthorizationDecisionCache newCache = fromConf(conf);
+      cache = SHARED_CACHES.putIfAbsent(key, newCache);
+      if (cache == null) {
+        cache = newCache;
+      }
+    }
+    return cache;
+  }
+
+  /**
+   * @return the caches returned by {@link #getShared(Configuration, String)}
+   */
+  public static Collection<AuthorizationDecisionCache> getSharedCaches() {
+    return Collections.unmodifiableCollection(SHARED_CACHES.values());
+  }
+
+  /**
+   * Build the cache key of an authorization request.
+   */
+  public static DecisionKey newKey(Subject subject, List<? extends Authorizable> authorizables,
+      Set<? extends Action> actions, boolean requireGrantOption, ActiveRoleSet roleSet) {
+    return new DecisionKey(subject, authorizables, actions, requireGrantOption, roleSet);
+  }
+
+  /**
+   * Get the cached decision for the key.
+   * @param key the request
+   * @param currentVersion the policy version the decision must have been made with
+   * @return the cached decision or null if there is none for this policy version
+   */
+  public Boolean get(DecisionKey key, long currentVersion) {
+    if (currentVersion != PolicyEngine.UNVERSIONED_POLICY) {
+      checkVersion(currentVersion);
+    }
+    Decision decision = cache.getIfPresent(key);
+    if (decision == null || decision.version != currentVersion) {
+      return null;
+    }
+    return decision.allowed;
+  }
+
+  /**
+   * Cache the decision made for the key with the given policy version.
+   */
+  public void put(DecisionKey key, long version, boolean allowed) {
+    if (version != PolicyEngine.UNVERSIONED_POLICY && version != policyVersion) {
+      // the policy has changed while the decision was made
+      return;
+    }
+    cache.put(key, new Decision(version, allowed));
+  }
+
+  private void checkVersion(long currentVersion) {
+    if (currentVersion != policyVersion) {
+      synchronized (this) {
+        if (currentVersion != policyVersion) {
+          LOGGER.debug("Policy version changed from {} to {}, invalidating decision cache",
+              policyVersion, currentVersion);
+          policyVersion = currentVersion;
+          cache.invalidateAll();
+          invalidationCount.incrementAndGet();
+        }
+      }
+    }
+  }
+
+  /**
+   * Drop all cached decisions.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+    invalidationCount.incrementAndGet();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  public long getHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  public long getMissCount() {
+    return cache.stats().missCount();
+  }
+
+  public long getEvictionCount() {
+    return cache.stats().evictionCount();
+  }
+
+  /**
+   * Number of times the whole cache was dropped, either explicitly or
+   * because the policy version changed.
+   */
+  public long getInvalidationCount() {
+    return invalidationCount.get();
+  }
+
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+
+  private static final class Decision {
+    private final long version;
+    private final boolean allowed;
+
+    private Decision(long version, boolean allowed) {
+      this.version = version;
+      this.allowed = allowed;
+    }
+  }
+
+  /**
+   * Key of a cached decision.
+   */
+  public static final class DecisionKey {
+    private final String subject;
+    private final boolean allRoles;
+    private final Set<String> roles;
+    private final List<String> hierarchy;
+    private final Set<String> actions;
+    private final boolean requireGrantOption;
+    private final int hashCode;
+
+    private DecisionKey(Subject subject, List<? extends Authorizable> authorizables,
+        Set<? extends Action> actions, boolean requireGrantOption, ActiveRoleSet roleSet) {
+      this.subject = subject.getName();
+      this.allRoles = roleSet.isAll();
+      this.roles = roleSet.getRoles();
+      this.hierarchy = new ArrayList<>(authorizables.size() * 2);
+      for (Authorizable authorizable : authorizables) {
+        hierarchy.add(authorizable.getTypeName());
+        hierarchy.add(authorizable.getName());
+      }
+      this.actions = new HashSet<>(actions.size());
+      for (Action action : actions) {
+        this.actions.add(action.getValue());
+      }
+      this.requireGrantOption = requireGrantOption;
+
+      int result = subject.getName() == null ? 0 : subject.getName().hashCode();
+      result = 31 * result + (allRoles ? 1 : 0);
+      result = 31 * result + roles.hashCode();
+      result = 31 * result + hierarchy.hashCode();
+      result = 31 * result + this.actions.hashCode();
+      result = 31 * result + (requireGrantOption ? 1 : 0);
+      this.hashCode = result;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof DecisionKey)) {
+        return false;
+      }
+      DecisionKey other = (DecisionKey) obj;
+      return hashCode == other.hashCode
+          && allRoles == other.allRoles
+          && requireGrantOption == other.requireGrantOption
+          && (subject == null ? other.subject == null : subject.equals(other.subject))
+          && roles.equals(other.roles)
+          && hierarchy.equals(other.hierarchy)
+          && actions.equals(other.actions);
+    }
+
+    @Override
+    public String toString() {
+      return "DecisionKey [subject=" + subject + ", roles=" + (allRoles ? "ALL" : roles)
+          + ", hierarchy=" + hierarchy + ", actions=" + actions
+          + ", requireGrantOption=" + requireGrantOption + "]";
+    }
+  }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.sentry.provider.common;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -70,6 +71,32 @@ public interface AuthorizationProvider {
   boolean hasAccess(Subject subject, List<? extends Authorizable> authorizableHierarchy,
       Set<? extends Action> actions, boolean requireGrantOption, ActiveRoleSet roleSet);
 
+  /***
+   * Returns the authorizable hierarchies on which the subject has any of the given
+   * privileges. The result is the same as calling
+   * {@link #hasAccess(Subject, List, Set, boolean, ActiveRoleSet)} for every hierarchy,
+   * but implementations may look up the privileges of the subject once for all of them.
+   *
+   * @param subject: UserID to validate privileges
+   * @param authorizableHierarchies : Lists of objects according to namespace hierarchy.
+   * @param actions : Privileges to validate
+   * @param requireGrantOption: true: require grant option of matching privilege; false: otherwise
+   * @param roleSet : Roles which should be used when obtaining privileges
+   * @return
+   *        The accessible hierarchies, in the order they were given
+   */
+  default <T extends List<? extends Authorizable>> List<T> filterAccessible(Subject subject,
+      List<T> authorizableHierarchies, Set<? extends Action> actions,
+      boolean requireGrantOption, ActiveRoleSet roleSet) {
+    List<T> accessible = new ArrayList<T>(authorizableHierarchies.size());
+    for (T authorizableHierarchy : authorizableHierarchies) {
+      if (hasAccess(subject, authorizableHierarchy, actions, requireGrantOption, roleSet)) {
+        accessible.add(authorizableHierarchy);
+      }
+    }
+    return accessible;
+  }
+
   /***
    * Get the GroupMappingService used by the AuthorizationProvider
    *
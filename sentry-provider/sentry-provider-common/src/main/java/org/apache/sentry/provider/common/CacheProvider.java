@@ -16,9 +16,11 @@ import com.google.common.collect.ImmutableSet;
 import org.apache.sentry.core.common.ActiveRoleSet;
 import org.apache.sentry.core.common.Authorizable;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.sentry.policy.common.CommonPrivilege;
+import org.apache.sentry.policy.common.PolicyEngine;
 import org.apache.sentry.policy.common.Privilege;
 
 public class CacheProvider {
@@ -89,6 +91,26 @@ public class CacheProvider {
     return resultBuilder.build();
   }
 
+  /**
+   * Privileges are not filtered by authorizables, so a single lookup covers all
+   * of the hierarchies.
+   */
+  public ImmutableSet<Privilege> getPrivilegeObjectsForHierarchies(Set<String> groups,
+      Set<String> users, ActiveRoleSet roleSet, List<Authorizable[]> authorizableHierarchies) {
+    return getPrivilegeObjects(groups, users, roleSet);
+  }
+
+  /**
+   * Returns the version of the backing cache, or {@link PolicyEngine#UNVERSIONED_POLICY}
+   * if the cache is not initialized or not versioned.
+   */
+  public long getPolicyVersion() {
+    if (!initialized) {
+      return PolicyEngine.UNVERSIONED_POLICY;
+    }
+    return cache.getVersion();
+  }
+
   private Privilege getPrivilegeObject(String priString) {
     return new CommonPrivilege(priString);
   }
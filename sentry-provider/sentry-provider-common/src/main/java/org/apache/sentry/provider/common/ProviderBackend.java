@@ -16,16 +16,19 @@
  */
 package org.apache.sentry.provider.common;
 
+import java.util.List;
 import java.util.Set;
 
 import javax.annotation.concurrent.ThreadSafe;
 
 import org.apache.hadoop.classification.InterfaceAudience.Public;
+import org.apache.sentry.core.common.Action;
 import org.apache.sentry.core.common.ActiveRoleSet;
 import org.apache.sentry.core.common.Authorizable;
 import org.apache.sentry.core.common.exception.SentryConfigurationException;
 
 import com.google.common.collect.ImmutableSet;
+import org.apache.sentry.policy.common.PolicyEngine;
 import org.apache.sentry.policy.common.Privilege;
 
 /**
@@ -66,11 +69,69 @@ public interface ProviderBackend {
   ImmutableSet<Privilege> getPrivilegeObjects(Set<String> groups, Set<String> users,
       ActiveRoleSet roleSet, Authorizable... authorizableHierarchy);
 
+  /**
+   * Get the privileges in string from the backend for users and groups and any of the
+   * given authorizable hierarchies. The result may contain privileges unrelated to some
+   * of the hierarchies, which lets backends answer with a single lookup.
+   */
+  default ImmutableSet<String> getPrivilegesForHierarchies(Set<String> groups, Set<String> users,
+      ActiveRoleSet roleSet, List<Authorizable[]> authorizableHierarchies) {
+    ImmutableSet.Builder<String> resultBuilder = ImmutableSet.builder();
+    for (Authorizable[] authorizableHierarchy : authorizableHierarchies) {
+      resultBuilder.addAll(getPrivileges(groups, users, roleSet, authorizableHierarchy));
+    }
+    return resultBuilder.build();
+  }
+
+  /**
+   * Get the privilege objects from the backend for users, groups and any of the given
+   * authorizable hierarchies. If the returned result is empty set, the caller should call
+   * getPrivilegesForHierarchies() in case its cache does not support this function.
+   */
+  default ImmutableSet<Privilege> getPrivilegeObjectsForHierarchies(Set<String> groups,
+      Set<String> users, ActiveRoleSet roleSet, List<Authorizable[]> authorizableHierarchies) {
+    ImmutableSet.Builder<Privilege> resultBuilder = ImmutableSet.builder();
+    for (Authorizable[] authorizableHierarchy : authorizableHierarchies) {
+      resultBuilder.addAll(getPrivilegeObjects(groups, users, roleSet, authorizableHierarchy));
+    }
+    return resultBuilder.build();
+  }
+
   /**
    * Get the roles associated with the groups from the backend.
    */
   ImmutableSet<String> getRoles(Set<String> groups, ActiveRoleSet roleSet);
 
+  /**
+   * Evaluate authorization requests in the backend instead of returning privileges to
+   * the caller. A hierarchy is authorized when any of the actions is implied by a
+   * privilege of the groups, users and roles.
+   *
+   * @param groups
+   * @param users
+   * @param roleSet
+   * @param authorizableHierarchies
+   * @param actions
+   * @param requireGrantOption
+   * @return one decision per hierarchy, or null if the backend does not evaluate
+   *         authorization requests and the caller must check the privileges itself
+   */
+  default List<Boolean> hasAccess(Set<String> groups, Set<String> users, ActiveRoleSet roleSet,
+      List<Authorizable[]> authorizableHierarchies, Set<? extends Action> actions,
+      boolean requireGrantOption) {
+    return null;
+  }
+
+  /**
+   * Get a token identifying the version of the privileges served by the backend.
+   * The token must change whenever the privileges returned by the backend may change.
+   * Backends which cannot tell return {@link PolicyEngine#UNVERSIONED_POLICY}, and
+   * decisions made with their privileges are only cached until they expire.
+   */
+  default long getPolicyVersion() {
+    return PolicyEngine.UNVERSIONED_POLICY;
+  }
+
   /**
    * If strictValidation is true then an error is thrown for warnings
    * as well as errors.
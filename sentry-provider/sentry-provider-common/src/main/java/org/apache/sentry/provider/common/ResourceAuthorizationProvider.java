@@ -34,8 +34,11 @@ import org.apache.sentry.core.common.Model;
 import org.apache.sentry.core.common.exception.SentryConfigurationException;
 import org.apache.sentry.core.common.exception.SentryGroupNotFoundException;
 import org.apache.sentry.core.common.Subject;
+import org.apache.sentry.policy.common.CommonPrivilege;
+import org.apache.sentry.policy.common.CompiledPrivilege;
 import org.apache.sentry.policy.common.PolicyEngine;
 import org.apache.sentry.policy.common.Privilege;
+import org.apache.sentry.policy.common.PrivilegeCompiler;
 import org.apache.sentry.policy.common.PrivilegeFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,6 +65,8 @@ public abstract class ResourceAuthorizationProvider implements AuthorizationProv
   private final PolicyEngine policy;
   private final PrivilegeFactory privilegeFactory;
   private final Model model;
+  private final PrivilegeCompiler privilegeCompiler;
+  private volatile AuthorizationDecisionCache decisionCache;
 
   public ResourceAuthorizationProvider(PolicyEngine policy,
       GroupMappingService groupService, Model model) {
@@ -69,6 +74,7 @@ public abstract class ResourceAuthorizationProvider implements AuthorizationProv
     this.groupService = groupService;
     this.privilegeFactory = policy.getPrivilegeFactory();
     this.model = model;
+    this.privilegeCompiler = model == null ? null : new PrivilegeCompiler(model);
   }
 
   /***
@@ -108,56 +114,265 @@ public abstract class ResourceAuthorizationProvider implements AuthorizationProv
     Preconditions.checkNotNull(actions, "Actions cannot be null");
     Preconditions.checkArgument(!actions.isEmpty(), "Actions cannot be empty");
     Preconditions.checkNotNull(roleSet, "ActiveRoleSet cannot be null");
-    boolean hasAccess = false;
-    hasAccess = doHasAccess(subject, authorizableHierarchy, actions, requireGrantOption, roleSet);
+    AuthorizationDecisionCache cache = decisionCache;
+    if (cache == null) {
+      return doHasAccess(subject, authorizableHierarchy, actions, requireGrantOption, roleSet);
+    }
+
+    // read the version before fetching privileges, so a decision is never tagged
+    // with a policy version newer than the privileges it was made with
+    long policyVersion = policy.getPolicyVersion();
+    AuthorizationDecisionCache.DecisionKey key = AuthorizationDecisionCache.newKey(subject,
+        authorizableHierarchy, actions, requireGrantOption, roleSet);
+    Boolean cached = cache.get(key, policyVersion);
+    if (cached != null) {
+      LOGGER.debug("Cached decision {} for {}", cached, key);
+      lastFailedPrivileges.get().clear();
+      if (!cached) {
+        lastFailedPrivileges.get().addAll(buildPermissions(authorizableHierarchy, actions,
+            requireGrantOption));
+      }
+      return cached;
+    }
+    boolean hasAccess = doHasAccess(subject, authorizableHierarchy, actions, requireGrantOption,
+        roleSet);
+    cache.put(key, policyVersion, hasAccess);
     return hasAccess;
   }
 
+  /***
+   * Resolves the groups of the subject and fetches its privileges once for all
+   * hierarchies, then checks every hierarchy against the same privilege set.
+   */
+  @Override
+  public <T extends List<? extends Authorizable>> List<T> filterAccessible(Subject subject,
+      List<T> authorizableHierarchies, Set<? extends Action> actions,
+      boolean requireGrantOption, ActiveRoleSet roleSet) {
+    Preconditions.checkNotNull(subject, "Subject cannot be null");
+    Preconditions.checkNotNull(authorizableHierarchies, "Authorizables cannot be null");
+    Preconditions.checkNotNull(actions, "Actions cannot be null");
+    Preconditions.checkArgument(!actions.isEmpty(), "Actions cannot be empty");
+    Preconditions.checkNotNull(roleSet, "ActiveRoleSet cannot be null");
+    if(LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Authorization Request for " + subject + " " +
+          authorizableHierarchies.size() + " hierarchies and " + actions);
+    }
+
+    int size = authorizableHierarchies.size();
+    AuthorizationDecisionCache cache = decisionCache;
+    // read the version before fetching privileges, as hasAccess() does
+    long policyVersion = cache == null ? PolicyEngine.UNVERSIONED_POLICY
+        : policy.getPolicyVersion();
+    Boolean[] decisions = new Boolean[size];
+    AuthorizationDecisionCache.DecisionKey[] keys =
+        new AuthorizationDecisionCache.DecisionKey[size];
+    List<Integer> undecided = new ArrayList<Integer>(size);
+    List<Authorizable[]> undecidedHierarchies = new ArrayList<Authorizable[]>(size);
+    for (int i = 0; i < size; i++) {
+      T authorizableHierarchy = authorizableHierarchies.get(i);
+      Preconditions.checkNotNull(authorizableHierarchy, "Authorizable cannot be null");
+      Preconditions.checkArgument(!authorizableHierarchy.isEmpty(),
+          "Authorizable cannot be empty");
+      if (cache != null) {
+        keys[i] = AuthorizationDecisionCache.newKey(subject, authorizableHierarchy, actions,
+            requireGrantOption, roleSet);
+        decisions[i] = cache.get(keys[i], policyVersion);
+      }
+      if (decisions[i] == null) {
+        undecided.add(i);
+        undecidedHierarchies.add(authorizableHierarchy.toArray(new Authorizable[0]));
+      }
+    }
+
+    if (!undecided.isEmpty()) {
+      Set<String> groups = getGroupsOrEmpty(subject);
+      Set<String> users = Sets.newHashSet(subject.getName());
+      List<Boolean> backendDecisions = policy.hasAccess(groups, users, roleSet,
+          undecidedHierarchies, actions, requireGrantOption);
+      if (backendDecisions != null) {
+        for (int k = 0; k < undecided.size(); k++) {
+          decisions[undecided.get(k)] = backendDecisions.get(k);
+        }
+      } else {
+        decideLocally(subject, authorizableHierarchies, actions, requireGrantOption, roleSet,
+            groups, users, undecided, undecidedHierarchies, decisions);
+      }
+      if (cache != null) {
+        for (int i : undecided) {
+          cache.put(keys[i], policyVersion, decisions[i]);
+        }
+      }
+    }
+
+    List<T> accessible = new ArrayList<T>(size);
+    for (int i = 0; i < size; i++) {
+      if (decisions[i]) {
+        accessible.add(authorizableHierarchies.get(i));
+      }
+    }
+    // filtering out objects is not a failed access request
+    lastFailedPrivileges.get().clear();
+    return accessible;
+  }
+
+  /**
+   * Check the hierarchies against the privileges of the subject, fetched once for
+   * all hierarchies.
+   */
+  private void decideLocally(Subject subject,
+      List<? extends List<? extends Authorizable>> authorizableHierarchies,
+      Set<? extends Action> actions, boolean requireGrantOption, ActiveRoleSet roleSet,
+      Set<String> groups, Set<String> users, List<Integer> undecided,
+      List<Authorizable[]> undecidedHierarchies, Boolean[] decisions) {
+    List<Authorizable[]> hierarchiesToFetch = new ArrayList<Authorizable[]>(undecided.size());
+    for (int k = 0; k < undecided.size(); k++) {
+      if (!isSwitchDb(authorizableHierarchies.get(undecided.get(k)))) {
+        hierarchiesToFetch.add(undecidedHierarchies.get(k));
+      }
+    }
+    List<Privilege> privileges = Collections.emptyList();
+    if (!hierarchiesToFetch.isEmpty()) {
+      privileges = getPrivileges(groups, users, roleSet, hierarchiesToFetch);
+    }
+    for (int i : undecided) {
+      List<? extends Authorizable> authorizableHierarchy = authorizableHierarchies.get(i);
+      if (isSwitchDb(authorizableHierarchy)) {
+        decisions[i] = doHasAccess(subject, authorizableHierarchy, actions, requireGrantOption,
+            roleSet);
+      } else {
+        decisions[i] = impliesAny(privileges, buildRequestPrivileges(authorizableHierarchy,
+            actions, requireGrantOption), roleSet);
+      }
+    }
+  }
+
+  /**
+   * Enable caching of authorization decisions. Decisions are dropped when the policy
+   * version reported by the policy engine changes, or only expire when it is unversioned.
+   * @param decisionCache the cache to use, or null to disable caching
+   */
+  public void setDecisionCache(AuthorizationDecisionCache decisionCache) {
+    this.decisionCache = decisionCache;
+  }
+
+  /**
+   * @return the decision cache, or null if decisions are not cached
+   */
+  public AuthorizationDecisionCache getDecisionCache() {
+    return decisionCache;
+  }
+
   private boolean doHasAccess(Subject subject,
       List<? extends Authorizable> authorizables, Set<? extends Action> actions,
       boolean requireGrantOption, ActiveRoleSet roleSet) {
-    Set<String> groups;
-    try {
-      groups = getGroups(subject);
-    } catch (SentryGroupNotFoundException e) {
-      groups = Collections.emptySet();
-      LOGGER.debug("Groups not found for " + subject);
-    }
+    Set<String> groups = getGroupsOrEmpty(subject);
     Set<String> users = Sets.newHashSet(subject.getName());
-    List<String> requestPrivileges = buildPermissions(authorizables, actions, requireGrantOption);
+    List<CompiledPrivilege> requestPrivileges = buildRequestPrivileges(authorizables, actions,
+        requireGrantOption);
     LOGGER.debug("requestPrivileges={}", requestPrivileges);
     LOGGER.debug("PolicyEngine={}, PrivilegeFactory={}", policy.getClass().getName(), policy.getPrivilegeFactory().getClass().getName());
     LOGGER.debug("Get privileges for groups={}, users={}, roleSet={}", groups, users, roleSet);
 
+    List<Boolean> backendDecisions = policy.hasAccess(groups, users, roleSet,
+        Collections.singletonList(authorizables.toArray(new Authorizable[0])), actions,
+        requireGrantOption);
+    if (backendDecisions != null) {
+      lastFailedPrivileges.get().clear();
+      if (backendDecisions.get(0)) {
+        return true;
+      }
+      lastFailedPrivileges.get().addAll(buildPermissions(authorizables, actions,
+          requireGrantOption));
+      return false;
+    }
+
     Iterable<Privilege> privileges = getPrivileges(groups, users, roleSet,
         authorizables.toArray(new Authorizable[0]));
     lastFailedPrivileges.get().clear();
 
-    for (String requestPrivilege : requestPrivileges) {
+    if (impliesAny(privileges, requestPrivileges, roleSet)) {
+      return true;
+    }
+
+    lastFailedPrivileges.get().addAll(buildPermissions(authorizables, actions, requireGrantOption));
+    return false;
+  }
+
+  /**
+   * Does any of the privileges granted in the policy imply any of the requested privileges?
+   */
+  private boolean impliesAny(Iterable<Privilege> privileges,
+      List<CompiledPrivilege> requestPrivileges, ActiveRoleSet roleSet) {
+    for (CompiledPrivilege requestPrivilege : requestPrivileges) {
+      Privilege legacyRequestPrivilege = null;
       try {
-        Privilege priv = privilegeFactory.createPrivilege(requestPrivilege);
         for (Privilege permission : privileges) {
           /*
            * Does the permission granted in the policy file imply the requested action?
            */
-          boolean result = permission.implies(priv, model);
-          LOGGER.debug("ProviderPrivilege {}, RequestPrivilege {}, RoleSet {}, Result {}",
-              new Object[]{ permission, requestPrivilege, roleSet, result});
+          boolean result;
+          if (permission instanceof CommonPrivilege) {
+            result = ((CommonPrivilege) permission).compile(privilegeCompiler)
+                .implies(requestPrivilege);
+          } else {
+            // Privilege implementations other than CommonPrivilege still go
+            // through the string form of the request
+            if (legacyRequestPrivilege == null) {
+              legacyRequestPrivilege = privilegeFactory.createPrivilege(
+                  toPermissionString(requestPrivilege));
+            }
+            result = permission.implies(legacyRequestPrivilege, model);
+          }
+          if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("ProviderPrivilege {}, RequestPrivilege {}, RoleSet {}, Result {}",
+                new Object[]{ permission, requestPrivilege, roleSet, result});
+          }
           if (result) {
             return true;
           }
-
         }
       } catch(Exception e) {
         LOGGER.error("doHasAccess: Exception", e);
         throw e;
       }
     }
-
-    lastFailedPrivileges.get().addAll(requestPrivileges);
     return false;
   }
 
+  private Set<String> getGroupsOrEmpty(Subject subject) {
+    try {
+      return getGroups(subject);
+    } catch (SentryGroupNotFoundException e) {
+      LOGGER.debug("Groups not found for " + subject);
+      return Collections.emptySet();
+    }
+  }
+
+  private List<Privilege> getPrivileges(Set<String> groups, Set<String> users,
+      ActiveRoleSet roleSet, List<Authorizable[]> authorizableHierarchies) {
+    ImmutableSet<Privilege> privilegeObjects = policy.getPrivilegeObjectsForHierarchies(groups,
+        users, roleSet, authorizableHierarchies);
+    if (privilegeObjects != null && privilegeObjects.size() > 0) {
+      return privilegeObjects.asList();
+    }
+
+    ImmutableSet<String> privileges = policy.getPrivilegesForHierarchies(groups, users, roleSet,
+        authorizableHierarchies);
+    List<Privilege> result = new ArrayList<Privilege>(privileges.size());
+    for (String privilege : privileges) {
+      result.add(privilegeFactory.createPrivilege(privilege));
+    }
+    return result;
+  }
+
+  /**
+   * Switching to a database is answered with the default database privilege added
+   * by appendDefaultDBPriv(), which depends on the exact privileges of the request.
+   */
+  private static boolean isSwitchDb(List<? extends Authorizable> authorizables) {
+    return authorizables.size() == 4 && authorizables.get(2).getName().equals("+");
+  }
+
   private Iterable<Privilege> getPrivileges(Set<String> groups, Set<String> users,
       ActiveRoleSet roleSet, Authorizable[] authorizables) {
     ImmutableSet<Privilege> privilegeObjects = policy.getPrivilegeObjects(groups, users, roleSet, authorizables);
@@ -259,6 +474,25 @@ public abstract class ResourceAuthorizationProvider implements AuthorizationProv
     }
   }
 
+  private List<CompiledPrivilege> buildRequestPrivileges(List<? extends Authorizable> authorizables,
+      Set<? extends Action> actions, boolean requireGrantOption) {
+    Preconditions.checkState(privilegeCompiler != null, "Model is required to check privileges");
+    List<CompiledPrivilege> requestPrivileges = new ArrayList<CompiledPrivilege>(actions.size());
+    for (Action action : actions) {
+      requestPrivileges.add(privilegeCompiler.compileRequest(authorizables, action,
+          requireGrantOption));
+    }
+    return requestPrivileges;
+  }
+
+  private static String toPermissionString(CompiledPrivilege requestPrivilege) {
+    String permission = requestPrivilege.toString();
+    if (!requestPrivilege.hasGrantOption()) {
+      permission = AUTHORIZABLE_JOINER.join(permission, KV_JOINER.join(GRANT_OPTION, false));
+    }
+    return permission;
+  }
+
   private List<String> buildPermissions(List<? extends Authorizable> authorizables,
       Set<? extends Action> actions, boolean requireGrantOption) {
     List<String> hierarchy = new ArrayList<String>();
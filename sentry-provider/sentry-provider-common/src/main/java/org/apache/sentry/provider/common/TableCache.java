@@ -13,6 +13,7 @@
 package org.apache.sentry.provider.common;
 
 import com.google.common.collect.Table;
+import org.apache.sentry.policy.common.PolicyEngine;
 
 import java.util.Set;
 
@@ -22,4 +23,13 @@ public interface TableCache {
    * @return backing cache.
    */
   Table<String, String, Set<String>> getCache();
+
+  /**
+   * Returns a token which changes every time the backing cache is replaced.
+   * @return version of the backing cache, or {@link PolicyEngine#UNVERSIONED_POLICY}
+   *         if the cache is not versioned.
+   */
+  default long getVersion() {
+    return PolicyEngine.UNVERSIONED_POLICY;
+  }
 }
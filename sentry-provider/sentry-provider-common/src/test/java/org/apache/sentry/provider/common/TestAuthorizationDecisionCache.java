@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.sentry.core.common.Action;
+import org.apache.sentry.core.common.ActiveRoleSet;
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.Subject;
+import org.apache.sentry.policy.common.PolicyEngine;
+import org.junit.Test;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.Sets;
+
+public class TestAuthorizationDecisionCache {
+
+  private static final Subject USER1 = new Subject("user1");
+  private static final Subject USER2 = new Subject("user2");
+  private static final List<? extends Authorizable> DB1 = Arrays.asList(
+      new TestAuthorizable("Server", "server1"), new TestAuthorizable("Db", "db1"));
+  private static final Set<? extends Action> SELECT = Sets.newHashSet(new TestAction("select"));
+
+  @Test
+  public void testHitAndMiss() {
+    AuthorizationDecisionCache cache = new AuthorizationDecisionCache(10, 60000);
+    AuthorizationDecisionCache.DecisionKey key =
+        AuthorizationDecisionCache.newKey(USER1, DB1, SELECT, false, ActiveRoleSet.ALL);
+
+    assertNull(cache.get(key, 1));
+    cache.put(key, 1, true);
+    assertTrue(cache.get(
+        AuthorizationDecisionCache.newKey(USER1, DB1, SELECT, false, ActiveRoleSet.ALL), 1));
+
+    // any other subject, role set or grant option is a different decision
+    assertNull(cache.get(
+        AuthorizationDecisionCache.newKey(USER2, DB1, SELECT, false, ActiveRoleSet.ALL), 1));
+    assertNull(cache.get(
+        AuthorizationDecisionCache.newKey(USER1, DB1, SELECT, true, ActiveRoleSet.ALL), 1));
+    assertNull(cache.get(AuthorizationDecisionCache.newKey(USER1, DB1, SELECT, false,
+        new ActiveRoleSet(Sets.newHashSet("role1"))), 1));
+
+    assertEquals(1, cache.getHitCount());
+    assertEquals(4, cache.getMissCount());
+  }
+
+  @Test
+  public void testPolicyVersionChange() {
+    AuthorizationDecisionCache cache = new AuthorizationDecisionCache(10, 60000);
+    AuthorizationDecisionCache.DecisionKey key =
+        AuthorizationDecisionCache.newKey(USER1, DB1, SELECT, false, ActiveRoleSet.ALL);
+
+    assertNull(cache.get(key, 1));
+    cache.put(key, 1, false);
+    assertFalse(cache.get(key, 1));
+
+    // a new policy version drops all decisions
+    assertNull(cache.get(key, 2));
+    assertEquals(0, cache.size());
+    assertEquals(2, cache.getInvalidationCount());
+
+    // decisions made with an older version are not cached
+    cache.put(key, 1, true);
+    assertNull(cache.get(key, 2));
+  }
+
+  @Test
+  public void testUnversionedPolicyExpires() {
+    final AtomicLong nanos = new AtomicLong();
+    AuthorizationDecisionCache cache = new AuthorizationDecisionCache(10, 60000, new Ticker() {
+      @Override
+      public long read() {
+        return nanos.get();
+      }
+    });
+    AuthorizationDecisionCache.DecisionKey key =
+        AuthorizationDecisionCache.newKey(USER1, DB1, SELECT, false, ActiveRoleSet.ALL);
+
+    cache.put(key, PolicyEngine.UNVERSIONED_POLICY, true);
+    assertTrue(cache.get(key, PolicyEngine.UNVERSIONED_POLICY));
+    // an unversioned decision is not served for a versioned policy
+    assertNull(cache.get(key, 1));
+
+    cache.put(key, PolicyEngine.UNVERSIONED_POLICY, false);
+    assertFalse(cache.get(key, PolicyEngine.UNVERSIONED_POLICY));
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+    assertNull(cache.get(key, PolicyEngine.UNVERSIONED_POLICY));
+  }
+
+  @Test
+  public void testSharedCache() {
+    Configuration conf = new Configuration(false);
+    assertNull(AuthorizationDecisionCache.getShared(conf, "backend1"));
+
+    conf.setBoolean(AuthorizationDecisionCache.ENABLED, true);
+    AuthorizationDecisionCache cache = AuthorizationDecisionCache.getShared(conf, "backend1");
+    assertSame(cache, AuthorizationDecisionCache.getShared(new Configuration(conf), "backend1"));
+    assertNotSame(cache, AuthorizationDecisionCache.getShared(conf, "backend2"));
+    conf.setLong(AuthorizationDecisionCache.MAX_SIZE, 10);
+    assertNotSame(cache, AuthorizationDecisionCache.getShared(conf, "backend1"));
+    assertTrue(AuthorizationDecisionCache.getSharedCaches().contains(cache));
+  }
+
+  @Test
+  public void testEviction() {
+    AuthorizationDecisionCache cache = new AuthorizationDecisionCache(1, 60000);
+    AuthorizationDecisionCache.DecisionKey key1 =
+        AuthorizationDecisionCache.newKey(USER1, DB1, SELECT, false, ActiveRoleSet.ALL);
+    AuthorizationDecisionCache.DecisionKey key2 =
+        AuthorizationDecisionCache.newKey(USER2, DB1, SELECT, false, ActiveRoleSet.ALL);
+
+    cache.get(key1, 1);
+    cache.put(key1, 1, true);
+    cache.put(key2, 1, true);
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+  }
+
+  @Test
+  public void testFromConf() {
+    Configuration conf = new Configuration(false);
+    assertNull(AuthorizationDecisionCache.fromConf(conf));
+    conf.setBoolean(AuthorizationDecisionCache.ENABLED, true);
+    assertTrue(AuthorizationDecisionCache.fromConf(conf) != null);
+  }
+
+  private static class TestAuthorizable implements Authorizable {
+    private final String typeName;
+    private final String name;
+
+    TestAuthorizable(String typeName, String name) {
+      this.typeName = typeName;
+      this.name = name;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public String getTypeName() {
+      return typeName;
+    }
+  }
+
+  private static class TestAction implements Action {
+    private final String value;
+
+    TestAction(String value) {
+      this.value = value;
+    }
+
+    @Override
+    public String getValue() {
+      return value;
+    }
+  }
+}
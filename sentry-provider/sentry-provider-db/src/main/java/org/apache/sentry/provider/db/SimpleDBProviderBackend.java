@@ -16,9 +16,15 @@
  */
 package org.apache.sentry.provider.db;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.hadoop.conf.Configuration;
+import org.apache.sentry.core.common.Action;
 import org.apache.sentry.core.common.ActiveRoleSet;
 import org.apache.sentry.core.common.Authorizable;
 import org.apache.sentry.core.common.exception.SentryConfigurationException;
@@ -42,6 +48,7 @@ public class SimpleDBProviderBackend implements ProviderBackend {
   private Configuration conf;
   private int retryCount;
   private int retryIntervalSec;
+  private boolean serverSideAuthorization;
 
   public SimpleDBProviderBackend(Configuration conf, String resourcePath) throws Exception { //NOPMD
     // DB Provider doesn't use policy file path
@@ -52,6 +59,8 @@ public class SimpleDBProviderBackend implements ProviderBackend {
     this.conf = conf;
     this.retryCount = conf.getInt(ApiConstants.ClientConfig.RETRY_COUNT_CONF, ApiConstants.ClientConfig.RETRY_COUNT_DEFAULT);
     this.retryIntervalSec = conf.getInt(ApiConstants.ClientConfig.RETRY_INTERVAL_SEC_CONF, ApiConstants.ClientConfig.RETRY_INTERVAL_SEC_DEFAULT);
+    this.serverSideAuthorization = conf.getBoolean(ApiConstants.ClientConfig.SERVER_SIDE_AUTHORIZATION,
+        ApiConstants.ClientConfig.SERVER_SIDE_AUTHORIZATION_DEFAULT);
   }
   /**
    * {@inheritDoc}
@@ -76,16 +85,48 @@ public class SimpleDBProviderBackend implements ProviderBackend {
   @Override
   public ImmutableSet<String> getPrivileges(Set<String> groups, Set<String> users,
       ActiveRoleSet roleSet, Authorizable... authorizableHierarchy) {
+    return callWithRetries(client -> ImmutableSet.copyOf(client.listPrivilegesForProvider(groups,
+        users, roleSet, authorizableHierarchy)), ImmutableSet.<String>of(),
+        "Unable to obtain privileges from server");
+  }
+
+  /**
+   * When server side authorization is enabled, the requests are evaluated by the
+   * Sentry server and only the decisions are returned. Requests which cannot be
+   * evaluated because the server is not reachable are denied.
+   */
+  @Override
+  public List<Boolean> hasAccess(Set<String> groups, Set<String> users, ActiveRoleSet roleSet,
+      List<Authorizable[]> authorizableHierarchies, Set<? extends Action> actions,
+      boolean requireGrantOption) {
+    if (!serverSideAuthorization) {
+      return null;
+    }
+    final List<List<Authorizable>> hierarchies =
+        new ArrayList<List<Authorizable>>(authorizableHierarchies.size());
+    for (Authorizable[] authorizableHierarchy : authorizableHierarchies) {
+      hierarchies.add(Arrays.asList(authorizableHierarchy));
+    }
+    final Set<String> actionNames = new HashSet<String>(actions.size());
+    for (Action action : actions) {
+      actionNames.add(action.getValue());
+    }
+    return callWithRetries(client -> client.checkAuthorization(groups, users, roleSet,
+        hierarchies, actionNames, requireGrantOption),
+        Collections.nCopies(hierarchies.size(), Boolean.FALSE),
+        "Unable to check authorization on server");
+  }
+
+  private <T> T callWithRetries(ClientCall<T> call, T defaultValue, String errorMessage) {
     int retries = Math.max(retryCount + 1, 1); // if customer configs retryCount as Integer.MAX_VALUE, try only once
     while (retries > 0) {
       retries--;
       try (SentryPolicyServiceClient policyServiceClient =
                    SentryServiceClientFactory.create(conf)) {
-        return ImmutableSet.copyOf(policyServiceClient.listPrivilegesForProvider(groups, users,
-            roleSet, authorizableHierarchy));
+        return call.call(policyServiceClient);
       } catch (Exception e) {
         //TODO: differentiate transient errors and permanent errors
-        String msg = "Unable to obtain privileges from server: " + e.getMessage() + ".";
+        String msg = errorMessage + ": " + e.getMessage() + ".";
         if (retries > 0) {
           LOGGER.warn(msg +  " Will retry for " + retries + " time(s)");
         } else {
@@ -101,7 +142,11 @@ public class SimpleDBProviderBackend implements ProviderBackend {
       }
     }
 
-    return ImmutableSet.of();
+    return defaultValue;
+  }
+
+  private interface ClientCall<T> {
+    T call(SentryPolicyServiceClient client) throws Exception;
   }
 
   /**
@@ -120,6 +165,57 @@ public class SimpleDBProviderBackend implements ProviderBackend {
     return resultBuilder.build();
   }
 
+  /**
+   * The Sentry server returns the privileges on the given authorizables together with
+   * those on their ancestors and descendants, so the privileges for all hierarchies are
+   * fetched with a single request for their common prefix.
+   */
+  @Override
+  public ImmutableSet<String> getPrivilegesForHierarchies(Set<String> groups, Set<String> users,
+      ActiveRoleSet roleSet, List<Authorizable[]> authorizableHierarchies) {
+    return getPrivileges(groups, users, roleSet, getCommonPrefix(authorizableHierarchies));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ImmutableSet<Privilege> getPrivilegeObjectsForHierarchies(Set<String> groups,
+      Set<String> users, ActiveRoleSet roleSet, List<Authorizable[]> authorizableHierarchies) {
+    ImmutableSet<String> privilegeStrings = getPrivilegesForHierarchies(groups, users, roleSet,
+        authorizableHierarchies);
+
+    ImmutableSet.Builder<Privilege> resultBuilder = ImmutableSet.builder();
+    for (String privilegeString : privilegeStrings) {
+      resultBuilder.add(getPrivilegeObject(privilegeString));
+    }
+
+    return resultBuilder.build();
+  }
+
+  /**
+   * Get the longest list of authorizables all hierarchies start with. An empty
+   * prefix requests all privileges of the groups and users.
+   */
+  static Authorizable[] getCommonPrefix(List<Authorizable[]> authorizableHierarchies) {
+    if (authorizableHierarchies.isEmpty()) {
+      return new Authorizable[0];
+    }
+    Authorizable[] first = authorizableHierarchies.get(0);
+    int prefixLength = first.length;
+    for (Authorizable[] hierarchy : authorizableHierarchies) {
+      prefixLength = Math.min(prefixLength, hierarchy.length);
+      for (int i = 0; i < prefixLength; i++) {
+        if (!first[i].getTypeName().equalsIgnoreCase(hierarchy[i].getTypeName())
+            || !first[i].getName().equals(hierarchy[i].getName())) {
+          prefixLength = i;
+          break;
+        }
+      }
+    }
+    return Arrays.copyOf(first, prefixLength);
+  }
+
   /**
    * {@inheritDoc}
    */
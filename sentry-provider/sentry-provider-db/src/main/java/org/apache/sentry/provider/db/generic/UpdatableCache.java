@@ -28,6 +28,7 @@ import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public final class UpdatableCache implements TableCache, AutoCloseable {
   private static final Logger LOGGER = LoggerFactory.getLogger(UpdatableCache.class);
@@ -46,6 +47,8 @@ public final class UpdatableCache implements TableCache, AutoCloseable {
   private final TSentryPrivilegeConverter tSentryPrivilegeConverter;
 
   private volatile long lastRefreshedNs = 0;
+  // incremented every time the table is replaced
+  private final AtomicLong version = new AtomicLong();
   private int consecutiveUpdateFailuresCount = 0;
   /**
    * Sparse table where group is the row key and role is the cell.
@@ -90,6 +93,11 @@ public final class UpdatableCache implements TableCache, AutoCloseable {
     return table;
   }
 
+  @Override
+  public long getVersion() {
+    return version.get();
+  }
+
   /**
    * Build cache replica with latest values
    *
@@ -185,11 +193,13 @@ public final class UpdatableCache implements TableCache, AutoCloseable {
       // Clear cache to revoke all privileges.
       // Update table cache to point to an empty table to avoid thread-unsafe characteristics of HashBasedTable.
       this.table = HashBasedTable.create();
+      version.incrementAndGet();
     }
   }
 
   private void reloadData() throws Exception {
     this.table = loadFromRemote();
+    version.incrementAndGet();
     lastRefreshedNs = System.nanoTime();
   }
 
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.db;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.sentry.core.common.ActiveRoleSet;
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.model.db.Database;
+import org.apache.sentry.core.model.db.Server;
+import org.apache.sentry.core.model.db.Table;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+
+public class TestSimpleDBProviderBackend {
+  private static final Server SERVER1 = new Server("server1");
+  private static final Database DB1 = new Database("db1");
+  private static final Database DB2 = new Database("db2");
+
+  /**
+   * Records the hierarchies the privileges are requested for, instead of
+   * requesting them from the Sentry server.
+   */
+  private static final class RecordingBackend extends SimpleDBProviderBackend {
+    private final List<Authorizable[]> requests = new ArrayList<>();
+
+    private RecordingBackend() throws Exception {
+      super(new Configuration());
+    }
+
+    @Override
+    public ImmutableSet<String> getPrivileges(Set<String> groups, Set<String> users,
+        ActiveRoleSet roleSet, Authorizable... authorizableHierarchy) {
+      requests.add(authorizableHierarchy);
+      return ImmutableSet.of("server=server1->db=db1->table=tbl1->action=select");
+    }
+  }
+
+  @Test
+  public void testCommonPrefix() {
+    // Tables of the same database
+    assertArrayEquals(new Authorizable[] {SERVER1, DB1},
+        SimpleDBProviderBackend.getCommonPrefix(Arrays.asList(
+            hierarchy(SERVER1, DB1, new Table("tbl1")),
+            hierarchy(SERVER1, DB1, new Table("tbl2")))));
+    // A database and its tables
+    assertArrayEquals(new Authorizable[] {SERVER1, DB1},
+        SimpleDBProviderBackend.getCommonPrefix(Arrays.asList(
+            hierarchy(SERVER1, DB1, new Table("tbl1")),
+            hierarchy(SERVER1, DB1))));
+    // Tables of several databases
+    assertArrayEquals(new Authorizable[] {SERVER1},
+        SimpleDBProviderBackend.getCommonPrefix(Arrays.asList(
+            hierarchy(SERVER1, DB1, new Table("tbl1")),
+            hierarchy(SERVER1, DB2, new Table("tbl1")))));
+    // Names are case sensitive
+    assertArrayEquals(new Authorizable[] {SERVER1},
+        SimpleDBProviderBackend.getCommonPrefix(Arrays.asList(
+            hierarchy(SERVER1, DB1), hierarchy(SERVER1, new Database("DB1")))));
+    // Objects of several servers
+    assertArrayEquals(new Authorizable[0],
+        SimpleDBProviderBackend.getCommonPrefix(Arrays.asList(
+            hierarchy(SERVER1, DB1), hierarchy(new Server("server2"), DB1))));
+    // A single object
+    assertArrayEquals(new Authorizable[] {SERVER1, DB1, new Table("tbl1")},
+        SimpleDBProviderBackend.getCommonPrefix(Collections.singletonList(
+            hierarchy(SERVER1, DB1, new Table("tbl1")))));
+  }
+
+  @Test
+  public void testCommonPrefixWithoutHierarchies() {
+    assertArrayEquals(new Authorizable[0],
+        SimpleDBProviderBackend.getCommonPrefix(Collections.<Authorizable[]>emptyList()));
+  }
+
+  /**
+   * Verify the privileges of several hierarchies are requested once, for their common prefix
+   */
+  @Test
+  public void testPrivilegesForHierarchies() throws Exception {
+    RecordingBackend backend = new RecordingBackend();
+    ImmutableSet<String> privileges = backend.getPrivilegesForHierarchies(
+        Sets.newHashSet("group1"), Sets.newHashSet("user1"), ActiveRoleSet.ALL,
+        Arrays.asList(hierarchy(SERVER1, DB1, new Table("tbl1")),
+            hierarchy(SERVER1, DB1, new Table("tbl2"))));
+    assertEquals(ImmutableSet.of("server=server1->db=db1->table=tbl1->action=select"),
+        privileges);
+    assertEquals(1, backend.requests.size());
+    assertArrayEquals(new Authorizable[] {SERVER1, DB1}, backend.requests.get(0));
+
+    assertEquals(1, backend.getPrivilegeObjectsForHierarchies(Sets.newHashSet("group1"),
+        Sets.newHashSet("user1"), ActiveRoleSet.ALL,
+        Arrays.asList(hierarchy(SERVER1, DB1), hierarchy(SERVER1, DB2))).size());
+    assertEquals(2, backend.requests.size());
+    assertArrayEquals(new Authorizable[] {SERVER1}, backend.requests.get(1));
+  }
+
+  private static Authorizable[] hierarchy(Authorizable... authorizables) {
+    return authorizables;
+  }
+}
@@ -24,6 +24,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.sentry.core.common.utils.PolicyFiles;
@@ -61,7 +62,14 @@ public class LocalGroupMappingService implements GroupMappingService {
   private static final Logger LOGGER = LoggerFactory
       .getLogger(LocalGroupMappingService.class);
 
-  private final Map <String, Set<String>> groupMap =
+  private final FileSystem fileSystem;
+  private final Path resourcePath;
+
+  // Modification time and length of the parsed resource, guarded by this
+  private long modificationTime = -1;
+  private long length = -1;
+
+  private volatile Map <String, Set<String>> groupMap =
       new HashMap <String, Set<String>> ();
 
   public LocalGroupMappingService(Path resourcePath) throws IOException {
@@ -71,8 +79,10 @@ public class LocalGroupMappingService implements GroupMappingService {
   @VisibleForTesting
   public LocalGroupMappingService(Configuration configuration, Path resourcePath)
       throws IOException {
+    this.fileSystem = resourcePath.getFileSystem(configuration);
+    this.resourcePath = resourcePath;
     // parse user/group mapping
-    parseGroups(resourcePath.getFileSystem(configuration), resourcePath);
+    reloadIfChanged();
   }
 
   public LocalGroupMappingService(Configuration configuration, String resource)
@@ -82,6 +92,12 @@ public class LocalGroupMappingService implements GroupMappingService {
 
   @Override
   public Set<String> getGroups(String user) throws SentryGroupNotFoundException {
+    try {
+      reloadIfChanged();
+    } catch (IOException e) {
+      LOGGER.warn("Unable to reload the user/group mapping from " + resourcePath
+          + ", using the previous mapping", e);
+    }
     Set<String> groups = groupMap.get(user);
     if (groups == null || groups.isEmpty()) {
       throw new SentryGroupNotFoundException("Unable to obtain groups for " + user);
@@ -89,12 +105,27 @@ public class LocalGroupMappingService implements GroupMappingService {
     return groups;
   }
 
-  private void parseGroups(FileSystem fileSystem, Path resourcePath) throws IOException {
+  /**
+   * The mapping is shared by the server, so parse the resource again when it is
+   * rewritten.
+   */
+  private synchronized void reloadIfChanged() throws IOException {
+    FileStatus status = fileSystem.getFileStatus(resourcePath);
+    if (status.getModificationTime() != modificationTime || status.getLen() != length) {
+      groupMap = parseGroups(fileSystem, resourcePath);
+      modificationTime = status.getModificationTime();
+      length = status.getLen();
+    }
+  }
+
+  private static Map<String, Set<String>> parseGroups(FileSystem fileSystem, Path resourcePath)
+      throws IOException {
+    Map<String, Set<String>> groupMap = new HashMap<String, Set<String>>();
     Ini ini = PolicyFiles.loadFromPath(fileSystem, resourcePath);
     Section usersSection = ini.getSection(PolicyFileConstants.USERS);
     if (usersSection == null) {
       LOGGER.warn("No section " + PolicyFileConstants.USERS + " in the " + resourcePath);
-      return;
+      return groupMap;
     }
     for (Entry<String, String> userEntry : usersSection.entrySet()) {
       String userName = Strings.nullToEmpty(userEntry.getKey()).trim();
@@ -113,6 +144,7 @@ public class LocalGroupMappingService implements GroupMappingService {
       LOGGER.debug("Got user mapping: " + userName + ", Groups: " + groupNames);
       groupMap.put(userName, groupList);
     }
+    return groupMap;
   }
 
 }
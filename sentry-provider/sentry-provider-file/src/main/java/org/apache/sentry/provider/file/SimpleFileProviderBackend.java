@@ -114,6 +114,12 @@ public class SimpleFileProviderBackend extends CacheProvider implements Provider
       public Table<String, String, Set<String>> getCache() {
         return table;
       }
+
+      @Override
+      public long getVersion() {
+        // the policy file is parsed once, the table never changes
+        return 0;
+      }
     };
     super.initialize(cache);
     this.initialized = true;
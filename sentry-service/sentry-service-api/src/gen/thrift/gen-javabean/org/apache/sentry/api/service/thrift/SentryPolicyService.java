@@ -49,6 +49,10 @@ public class SentryPolicyService {
 
     public TAlterSentryRoleRevokePrivilegeResponse alter_sentry_role_revoke_privilege(TAlterSentryRoleRevokePrivilegeRequest request) throws org.apache.thrift.TException;
 
+    public TAlterSentryRolesGrantPrivilegesResponse alter_sentry_roles_grant_privileges(TAlterSentryRolesGrantPrivilegesRequest request) throws org.apache.thrift.TException;
+
+    public TAlterSentryRolesRevokePrivilegesResponse alter_sentry_roles_revoke_privileges(TAlterSentryRolesRevokePrivilegesRequest request) throws org.apache.thrift.TException;
+
     public TAlterSentryRoleAddGroupsResponse alter_sentry_role_add_groups(TAlterSentryRoleAddGroupsRequest request) throws org.apache.thrift.TException;
 
     public TAlterSentryRoleDeleteGroupsResponse alter_sentry_role_delete_groups(TAlterSentryRoleDeleteGroupsRequest request) throws org.apache.thrift.TException;
@@ -69,6 +73,8 @@ public class SentryPolicyService {
 
     public TListSentryPrivilegesForProviderResponse list_sentry_privileges_for_provider(TListSentryPrivilegesForProviderRequest request) throws org.apache.thrift.TException;
 
+    public TSentryAuthorizationResponse check_sentry_authorization(TSentryAuthorizationRequest request) throws org.apache.thrift.TException;
+
     public TDropPrivilegesResponse drop_sentry_privilege(TDropPrivilegesRequest request) throws org.apache.thrift.TException;
 
     public TRenamePrivilegesResponse rename_sentry_privilege(TRenamePrivilegesRequest request) throws org.apache.thrift.TException;
@@ -105,6 +111,10 @@ public class SentryPolicyService {
 
     public void alter_sentry_role_revoke_privilege(TAlterSentryRoleRevokePrivilegeRequest request, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
 
+    public void alter_sentry_roles_grant_privileges(TAlterSentryRolesGrantPrivilegesRequest request, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
+
+    public void alter_sentry_roles_revoke_privileges(TAlterSentryRolesRevokePrivilegesRequest request, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
+
     public void alter_sentry_role_add_groups(TAlterSentryRoleAddGroupsRequest request, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
 
     public void alter_sentry_role_delete_groups(TAlterSentryRoleDeleteGroupsRequest request, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
@@ -125,6 +135,8 @@ public class SentryPolicyService {
 
     public void list_sentry_privileges_for_provider(TListSentryPrivilegesForProviderRequest request, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
 
+    public void check_sentry_authorization(TSentryAuthorizationRequest request, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
+
     public void drop_sentry_privilege(TDropPrivilegesRequest request, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
 
     public void rename_sentry_privilege(TRenamePrivilegesRequest request, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
@@ -284,6 +296,52 @@ public class SentryPolicyService {
       throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "alter_sentry_role_revoke_privilege failed: unknown result");
     }
 
+    public TAlterSentryRolesGrantPrivilegesResponse alter_sentry_roles_grant_privileges(TAlterSentryRolesGrantPrivilegesRequest request) throws org.apache.thrift.TException
+    {
+      send_alter_sentry_roles_grant_privileges(request);
+      return recv_alter_sentry_roles_grant_privileges();
+    }
+
+    public void send_alter_sentry_roles_grant_privileges(TAlterSentryRolesGrantPrivilegesRequest request) throws org.apache.thrift.TException
+    {
+      alter_sentry_roles_grant_privileges_args args = new alter_sentry_roles_grant_privileges_args();
+      args.setRequest(request);
+      sendBase("alter_sentry_roles_grant_privileges", args);
+    }
+
+    public TAlterSentryRolesGrantPrivilegesResponse recv_alter_sentry_roles_grant_privileges() throws org.apache.thrift.TException
+    {
+      alter_sentry_roles_grant_privileges_result result = new alter_sentry_roles_grant_privileges_result();
+      receiveBase(result, "alter_sentry_roles_grant_privileges");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "alter_sentry_roles_grant_privileges failed: unknown result");
+    }
+
+    public TAlterSentryRolesRevokePrivilegesResponse alter_sentry_roles_revoke_privileges(TAlterSentryRolesRevokePrivilegesRequest request) throws org.apache.thrift.TException
+    {
+      send_alter_sentry_roles_revoke_privileges(request);
+      return recv_alter_sentry_roles_revoke_privileges();
+    }
+
+    public void send_alter_sentry_roles_revoke_privileges(TAlterSentryRolesRevokePrivilegesRequest request) throws org.apache.thrift.TException
+    {
+      alter_sentry_roles_revoke_privileges_args args = new alter_sentry_roles_revoke_privileges_args();
+      args.setRequest(request);
+      sendBase("alter_sentry_roles_revoke_privileges", args);
+    }
+
+    public TAlterSentryRolesRevokePrivilegesResponse recv_alter_sentry_roles_revoke_privileges() throws org.apache.thrift.TException
+    {
+      alter_sentry_roles_revoke_privileges_result result = new alter_sentry_roles_revoke_privileges_result();
+      receiveBase(result, "alter_sentry_roles_revoke_privileges");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "alter_sentry_roles_revoke_privileges failed: unknown result");
+    }
+
     public TAlterSentryRoleAddGroupsResponse alter_sentry_role_add_groups(TAlterSentryRoleAddGroupsRequest request) throws org.apache.thrift.TException
     {
       send_alter_sentry_role_add_groups(request);
@@ -514,6 +572,29 @@ public class SentryPolicyService {
       throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "list_sentry_privileges_for_provider failed: unknown result");
     }
 
+    public TSentryAuthorizationResponse check_sentry_authorization(TSentryAuthorizationRequest request) throws org.apache.thrift.TException
+    {
+      send_check_sentry_authorization(request);
+      return recv_check_sentry_authorization();
+    }
+
+    public void send_check_sentry_authorization(TSentryAuthorizationRequest request) throws org.apache.thrift.TException
+    {
+      check_sentry_authorization_args args = new check_sentry_authorization_args();
+      args.setRequest(request);
+      sendBase("check_sentry_authorization", args);
+    }
+
+    public TSentryAuthorizationResponse recv_check_sentry_authorization() throws org.apache.thrift.TException
+    {
+      check_sentry_authorization_result result = new check_sentry_authorization_result();
+      receiveBase(result, "check_sentry_authorization");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "check_sentry_authorization failed: unknown result");
+    }
+
     public TDropPrivilegesResponse drop_sentry_privilege(TDropPrivilegesRequest request) throws org.apache.thrift.TException
     {
       send_drop_sentry_privilege(request);
@@ -945,6 +1026,70 @@ public class SentryPolicyService {
       }
     }
 
+    public void alter_sentry_roles_grant_privileges(TAlterSentryRolesGrantPrivilegesRequest request, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      alter_sentry_roles_grant_privileges_call method_call = new alter_sentry_roles_grant_privileges_call(request, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class alter_sentry_roles_grant_privileges_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private TAlterSentryRolesGrantPrivilegesRequest request;
+      public alter_sentry_roles_grant_privileges_call(TAlterSentryRolesGrantPrivilegesRequest request, org.apache.thrift.async.AsyncMethodCallback resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.request = request;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("alter_sentry_roles_grant_privileges", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        alter_sentry_roles_grant_privileges_args args = new alter_sentry_roles_grant_privileges_args();
+        args.setRequest(request);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public TAlterSentryRolesGrantPrivilegesResponse getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_alter_sentry_roles_grant_privileges();
+      }
+    }
+
+    public void alter_sentry_roles_revoke_privileges(TAlterSentryRolesRevokePrivilegesRequest request, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      alter_sentry_roles_revoke_privileges_call method_call = new alter_sentry_roles_revoke_privileges_call(request, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class alter_sentry_roles_revoke_privileges_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private TAlterSentryRolesRevokePrivilegesRequest request;
+      public alter_sentry_roles_revoke_privileges_call(TAlterSentryRolesRevokePrivilegesRequest request, org.apache.thrift.async.AsyncMethodCallback resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.request = request;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("alter_sentry_roles_revoke_privileges", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        alter_sentry_roles_revoke_privileges_args args = new alter_sentry_roles_revoke_privileges_args();
+        args.setRequest(request);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public TAlterSentryRolesRevokePrivilegesResponse getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_alter_sentry_roles_revoke_privileges();
+      }
+    }
+
     public void alter_sentry_role_add_groups(TAlterSentryRoleAddGroupsRequest request, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
       checkReady();
       alter_sentry_role_add_groups_call method_call = new alter_sentry_role_add_groups_call(request, resultHandler, this, ___protocolFactory, ___transport);
@@ -1265,6 +1410,38 @@ public class SentryPolicyService {
       }
     }
 
+    public void check_sentry_authorization(TSentryAuthorizationRequest request, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      check_sentry_authorization_call method_call = new check_sentry_authorization_call(request, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class check_sentry_authorization_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private TSentryAuthorizationRequest request;
+      public check_sentry_authorization_call(TSentryAuthorizationRequest request, org.apache.thrift.async.AsyncMethodCallback resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.request = request;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("check_sentry_authorization", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        check_sentry_authorization_args args = new check_sentry_authorization_args();
+        args.setRequest(request);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public TSentryAuthorizationResponse getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_check_sentry_authorization();
+      }
+    }
+
     public void drop_sentry_privilege(TDropPrivilegesRequest request, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
       checkReady();
       drop_sentry_privilege_call method_call = new drop_sentry_privilege_call(request, resultHandler, this, ___protocolFactory, ___transport);
@@ -1635,6 +1812,8 @@ public class SentryPolicyService {
       processMap.put("drop_sentry_role", new drop_sentry_role());
       processMap.put("alter_sentry_role_grant_privilege", new alter_sentry_role_grant_privilege());
       processMap.put("alter_sentry_role_revoke_privilege", new alter_sentry_role_revoke_privilege());
+      processMap.put("alter_sentry_roles_grant_privileges", new alter_sentry_roles_grant_privileges());
+      processMap.put("alter_sentry_roles_revoke_privileges", new alter_sentry_roles_revoke_privileges());
       processMap.put("alter_sentry_role_add_groups", new alter_sentry_role_add_groups());
       processMap.put("alter_sentry_role_delete_groups", new alter_sentry_role_delete_groups());
       processMap.put("alter_sentry_role_add_users", new alter_sentry_role_add_users());
@@ -1645,6 +1824,7 @@ public class SentryPolicyService {
       processMap.put("list_sentry_privileges_by_user", new list_sentry_privileges_by_user());
       processMap.put("list_sentry_privileges_by_user_and_itsgroups", new list_sentry_privileges_by_user_and_itsgroups());
       processMap.put("list_sentry_privileges_for_provider", new list_sentry_privileges_for_provider());
+      processMap.put("check_sentry_authorization", new check_sentry_authorization());
       processMap.put("drop_sentry_privilege", new drop_sentry_privilege());
       processMap.put("rename_sentry_privilege", new rename_sentry_privilege());
       processMap.put("list_sentry_privileges_by_authorizable", new list_sentry_privileges_by_authorizable());
@@ -1759,6 +1939,46 @@ public class SentryPolicyService {
       }
     }
 
+    public static class alter_sentry_roles_grant_privileges<I extends Iface> extends org.apache.thrift.ProcessFunction<I, alter_sentry_roles_grant_privileges_args> {
+      public alter_sentry_roles_grant_privileges() {
+        super("alter_sentry_roles_grant_privileges");
+      }
+
+      public alter_sentry_roles_grant_privileges_args getEmptyArgsInstance() {
+        return new alter_sentry_roles_grant_privileges_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public alter_sentry_roles_grant_privileges_result getResult(I iface, alter_sentry_roles_grant_privileges_args args) throws org.apache.thrift.TException {
+        alter_sentry_roles_grant_privileges_result result = new alter_sentry_roles_grant_privileges_result();
+        result.success = iface.alter_sentry_roles_grant_privileges(args.request);
+        return result;
+      }
+    }
+
+    public static class alter_sentry_roles_revoke_privileges<I extends Iface> extends org.apache.thrift.ProcessFunction<I, alter_sentry_roles_revoke_privileges_args> {
+      public alter_sentry_roles_revoke_privileges() {
+        super("alter_sentry_roles_revoke_privileges");
+      }
+
+      public alter_sentry_roles_revoke_privileges_args getEmptyArgsInstance() {
+        return new alter_sentry_roles_revoke_privileges_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public alter_sentry_roles_revoke_privileges_result getResult(I iface, alter_sentry_roles_revoke_privileges_args args) throws org.apache.thrift.TException {
+        alter_sentry_roles_revoke_privileges_result result = new alter_sentry_roles_revoke_privileges_result();
+        result.success = iface.alter_sentry_roles_revoke_privileges(args.request);
+        return result;
+      }
+    }
+
     public static class alter_sentry_role_add_groups<I extends Iface> extends org.apache.thrift.ProcessFunction<I, alter_sentry_role_add_groups_args> {
       public alter_sentry_role_add_groups() {
         super("alter_sentry_role_add_groups");
@@ -1959,6 +2179,26 @@ public class SentryPolicyService {
       }
     }
 
+    public static class check_sentry_authorization<I extends Iface> extends org.apache.thrift.ProcessFunction<I, check_sentry_authorization_args> {
+      public check_sentry_authorization() {
+        super("check_sentry_authorization");
+      }
+
+      public check_sentry_authorization_args getEmptyArgsInstance() {
+        return new check_sentry_authorization_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public check_sentry_authorization_result getResult(I iface, check_sentry_authorization_args args) throws org.apache.thrift.TException {
+        check_sentry_authorization_result result = new check_sentry_authorization_result();
+        result.success = iface.check_sentry_authorization(args.request);
+        return result;
+      }
+    }
+
     public static class drop_sentry_privilege<I extends Iface> extends org.apache.thrift.ProcessFunction<I, drop_sentry_privilege_args> {
       public drop_sentry_privilege() {
         super("drop_sentry_privilege");
@@ -2197,6 +2437,8 @@ public class SentryPolicyService {
       processMap.put("drop_sentry_role", new drop_sentry_role());
       processMap.put("alter_sentry_role_grant_privilege", new alter_sentry_role_grant_privilege());
       processMap.put("alter_sentry_role_revoke_privilege", new alter_sentry_role_revoke_privilege());
+      processMap.put("alter_sentry_roles_grant_privileges", new alter_sentry_roles_grant_privileges());
+      processMap.put("alter_sentry_roles_revoke_privileges", new alter_sentry_roles_revoke_privileges());
       processMap.put("alter_sentry_role_add_groups", new alter_sentry_role_add_groups());
       processMap.put("alter_sentry_role_delete_groups", new alter_sentry_role_delete_groups());
       processMap.put("alter_sentry_role_add_users", new alter_sentry_role_add_users());
@@ -2207,6 +2449,7 @@ public class SentryPolicyService {
       processMap.put("list_sentry_privileges_by_user", new list_sentry_privileges_by_user());
       processMap.put("list_sentry_privileges_by_user_and_itsgroups", new list_sentry_privileges_by_user_and_itsgroups());
       processMap.put("list_sentry_privileges_for_provider", new list_sentry_privileges_for_provider());
+      processMap.put("check_sentry_authorization", new check_sentry_authorization());
       processMap.put("drop_sentry_privilege", new drop_sentry_privilege());
       processMap.put("rename_sentry_privilege", new rename_sentry_privilege());
       processMap.put("list_sentry_privileges_by_authorizable", new list_sentry_privileges_by_authorizable());
@@ -2476,6 +2719,108 @@ public class SentryPolicyService {
       }
     }
 
+    public static class alter_sentry_roles_grant_privileges<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, alter_sentry_roles_grant_privileges_args, TAlterSentryRolesGrantPrivilegesResponse> {
+      public alter_sentry_roles_grant_privileges() {
+        super("alter_sentry_roles_grant_privileges");
+      }
+
+      public alter_sentry_roles_grant_privileges_args getEmptyArgsInstance() {
+        return new alter_sentry_roles_grant_privileges_args();
+      }
+
+      public AsyncMethodCallback<TAlterSentryRolesGrantPrivilegesResponse> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new AsyncMethodCallback<TAlterSentryRolesGrantPrivilegesResponse>() { 
+          public void onComplete(TAlterSentryRolesGrantPrivilegesResponse o) {
+            alter_sentry_roles_grant_privileges_result result = new alter_sentry_roles_grant_privileges_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+              return;
+            } catch (Exception e) {
+              LOGGER.error("Exception writing to internal frame buffer", e);
+            }
+            fb.close();
+          }
+          public void onError(Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TBase msg;
+            alter_sentry_roles_grant_privileges_result result = new alter_sentry_roles_grant_privileges_result();
+            {
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TBase)new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+              return;
+            } catch (Exception ex) {
+              LOGGER.error("Exception writing to internal frame buffer", ex);
+            }
+            fb.close();
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, alter_sentry_roles_grant_privileges_args args, org.apache.thrift.async.AsyncMethodCallback<TAlterSentryRolesGrantPrivilegesResponse> resultHandler) throws TException {
+        iface.alter_sentry_roles_grant_privileges(args.request,resultHandler);
+      }
+    }
+
+    public static class alter_sentry_roles_revoke_privileges<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, alter_sentry_roles_revoke_privileges_args, TAlterSentryRolesRevokePrivilegesResponse> {
+      public alter_sentry_roles_revoke_privileges() {
+        super("alter_sentry_roles_revoke_privileges");
+      }
+
+      public alter_sentry_roles_revoke_privileges_args getEmptyArgsInstance() {
+        return new alter_sentry_roles_revoke_privileges_args();
+      }
+
+      public AsyncMethodCallback<TAlterSentryRolesRevokePrivilegesResponse> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new AsyncMethodCallback<TAlterSentryRolesRevokePrivilegesResponse>() { 
+          public void onComplete(TAlterSentryRolesRevokePrivilegesResponse o) {
+            alter_sentry_roles_revoke_privileges_result result = new alter_sentry_roles_revoke_privileges_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+              return;
+            } catch (Exception e) {
+              LOGGER.error("Exception writing to internal frame buffer", e);
+            }
+            fb.close();
+          }
+          public void onError(Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TBase msg;
+            alter_sentry_roles_revoke_privileges_result result = new alter_sentry_roles_revoke_privileges_result();
+            {
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TBase)new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+              return;
+            } catch (Exception ex) {
+              LOGGER.error("Exception writing to internal frame buffer", ex);
+            }
+            fb.close();
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, alter_sentry_roles_revoke_privileges_args args, org.apache.thrift.async.AsyncMethodCallback<TAlterSentryRolesRevokePrivilegesResponse> resultHandler) throws TException {
+        iface.alter_sentry_roles_revoke_privileges(args.request,resultHandler);
+      }
+    }
+
     public static class alter_sentry_role_add_groups<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, alter_sentry_role_add_groups_args, TAlterSentryRoleAddGroupsResponse> {
       public alter_sentry_role_add_groups() {
         super("alter_sentry_role_add_groups");
@@ -2986,20 +3331,20 @@ public class SentryPolicyService {
       }
     }
 
-    public static class drop_sentry_privilege<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, drop_sentry_privilege_args, TDropPrivilegesResponse> {
-      public drop_sentry_privilege() {
-        super("drop_sentry_privilege");
+    public static class check_sentry_authorization<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, check_sentry_authorization_args, TSentryAuthorizationResponse> {
+      public check_sentry_authorization() {
+        super("check_sentry_authorization");
       }
 
-      public drop_sentry_privilege_args getEmptyArgsInstance() {
-        return new drop_sentry_privilege_args();
+      public check_sentry_authorization_args getEmptyArgsInstance() {
+        return new check_sentry_authorization_args();
       }
 
-      public AsyncMethodCallback<TDropPrivilegesResponse> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
+      public AsyncMethodCallback<TSentryAuthorizationResponse> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
         final org.apache.thrift.AsyncProcessFunction fcall = this;
-        return new AsyncMethodCallback<TDropPrivilegesResponse>() { 
-          public void onComplete(TDropPrivilegesResponse o) {
-            drop_sentry_privilege_result result = new drop_sentry_privilege_result();
+        return new AsyncMethodCallback<TSentryAuthorizationResponse>() { 
+          public void onComplete(TSentryAuthorizationResponse o) {
+            check_sentry_authorization_result result = new check_sentry_authorization_result();
             result.success = o;
             try {
               fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
@@ -3012,7 +3357,7 @@ public class SentryPolicyService {
           public void onError(Exception e) {
             byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
             org.apache.thrift.TBase msg;
-            drop_sentry_privilege_result result = new drop_sentry_privilege_result();
+            check_sentry_authorization_result result = new check_sentry_authorization_result();
             {
               msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
               msg = (org.apache.thrift.TBase)new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
@@ -3032,26 +3377,77 @@ public class SentryPolicyService {
         return false;
       }
 
-      public void start(I iface, drop_sentry_privilege_args args, org.apache.thrift.async.AsyncMethodCallback<TDropPrivilegesResponse> resultHandler) throws TException {
-        iface.drop_sentry_privilege(args.request,resultHandler);
+      public void start(I iface, check_sentry_authorization_args args, org.apache.thrift.async.AsyncMethodCallback<TSentryAuthorizationResponse> resultHandler) throws TException {
+        iface.check_sentry_authorization(args.request,resultHandler);
       }
     }
 
-    public static class rename_sentry_privilege<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, rename_sentry_privilege_args, TRenamePrivilegesResponse> {
-      public rename_sentry_privilege() {
-        super("rename_sentry_privilege");
+    public static class drop_sentry_privilege<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, drop_sentry_privilege_args, TDropPrivilegesResponse> {
+      public drop_sentry_privilege() {
+        super("drop_sentry_privilege");
       }
 
-      public rename_sentry_privilege_args getEmptyArgsInstance() {
-        return new rename_sentry_privilege_args();
+      public drop_sentry_privilege_args getEmptyArgsInstance() {
+        return new drop_sentry_privilege_args();
       }
 
-      public AsyncMethodCallback<TRenamePrivilegesResponse> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
+      public AsyncMethodCallback<TDropPrivilegesResponse> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
         final org.apache.thrift.AsyncProcessFunction fcall = this;
-        return new AsyncMethodCallback<TRenamePrivilegesResponse>() { 
-          public void onComplete(TRenamePrivilegesResponse o) {
-            rename_sentry_privilege_result result = new rename_sentry_privilege_result();
-            result.success = o;
+        return new AsyncMethodCallback<TDropPrivilegesResponse>() { 
+          public void onComplete(TDropPrivilegesResponse o) {
+            drop_sentry_privilege_result result = new drop_sentry_privilege_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+              return;
+            } catch (Exception e) {
+              LOGGER.error("Exception writing to internal frame buffer", e);
+            }
+            fb.close();
+          }
+          public void onError(Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TBase msg;
+            drop_sentry_privilege_result result = new drop_sentry_privilege_result();
+            {
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TBase)new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+              return;
+            } catch (Exception ex) {
+              LOGGER.error("Exception writing to internal frame buffer", ex);
+            }
+            fb.close();
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, drop_sentry_privilege_args args, org.apache.thrift.async.AsyncMethodCallback<TDropPrivilegesResponse> resultHandler) throws TException {
+        iface.drop_sentry_privilege(args.request,resultHandler);
+      }
+    }
+
+    public static class rename_sentry_privilege<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, rename_sentry_privilege_args, TRenamePrivilegesResponse> {
+      public rename_sentry_privilege() {
+        super("rename_sentry_privilege");
+      }
+
+      public rename_sentry_privilege_args getEmptyArgsInstance() {
+        return new rename_sentry_privilege_args();
+      }
+
+      public AsyncMethodCallback<TRenamePrivilegesResponse> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new AsyncMethodCallback<TRenamePrivilegesResponse>() { 
+          public void onComplete(TRenamePrivilegesResponse o) {
+            rename_sentry_privilege_result result = new rename_sentry_privilege_result();
+            result.success = o;
             try {
               fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
               return;
@@ -7179,18 +7575,18 @@ public class SentryPolicyService {
 
   }
 
-  public static class alter_sentry_role_add_groups_args implements org.apache.thrift.TBase<alter_sentry_role_add_groups_args, alter_sentry_role_add_groups_args._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_role_add_groups_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_role_add_groups_args");
+  public static class alter_sentry_roles_grant_privileges_args implements org.apache.thrift.TBase<alter_sentry_roles_grant_privileges_args, alter_sentry_roles_grant_privileges_args._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_roles_grant_privileges_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_roles_grant_privileges_args");
 
     private static final org.apache.thrift.protocol.TField REQUEST_FIELD_DESC = new org.apache.thrift.protocol.TField("request", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new alter_sentry_role_add_groups_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new alter_sentry_role_add_groups_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new alter_sentry_roles_grant_privileges_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new alter_sentry_roles_grant_privileges_argsTupleSchemeFactory());
     }
 
-    private TAlterSentryRoleAddGroupsRequest request; // required
+    private TAlterSentryRolesGrantPrivilegesRequest request; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -7255,16 +7651,16 @@ public class SentryPolicyService {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.REQUEST, new org.apache.thrift.meta_data.FieldMetaData("request", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRoleAddGroupsRequest.class)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRolesGrantPrivilegesRequest.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_role_add_groups_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_roles_grant_privileges_args.class, metaDataMap);
     }
 
-    public alter_sentry_role_add_groups_args() {
+    public alter_sentry_roles_grant_privileges_args() {
     }
 
-    public alter_sentry_role_add_groups_args(
-      TAlterSentryRoleAddGroupsRequest request)
+    public alter_sentry_roles_grant_privileges_args(
+      TAlterSentryRolesGrantPrivilegesRequest request)
     {
       this();
       this.request = request;
@@ -7273,14 +7669,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public alter_sentry_role_add_groups_args(alter_sentry_role_add_groups_args other) {
+    public alter_sentry_roles_grant_privileges_args(alter_sentry_roles_grant_privileges_args other) {
       if (other.isSetRequest()) {
-        this.request = new TAlterSentryRoleAddGroupsRequest(other.request);
+        this.request = new TAlterSentryRolesGrantPrivilegesRequest(other.request);
       }
     }
 
-    public alter_sentry_role_add_groups_args deepCopy() {
-      return new alter_sentry_role_add_groups_args(this);
+    public alter_sentry_roles_grant_privileges_args deepCopy() {
+      return new alter_sentry_roles_grant_privileges_args(this);
     }
 
     @Override
@@ -7288,11 +7684,11 @@ public class SentryPolicyService {
       this.request = null;
     }
 
-    public TAlterSentryRoleAddGroupsRequest getRequest() {
+    public TAlterSentryRolesGrantPrivilegesRequest getRequest() {
       return this.request;
     }
 
-    public void setRequest(TAlterSentryRoleAddGroupsRequest request) {
+    public void setRequest(TAlterSentryRolesGrantPrivilegesRequest request) {
       this.request = request;
     }
 
@@ -7317,7 +7713,7 @@ public class SentryPolicyService {
         if (value == null) {
           unsetRequest();
         } else {
-          setRequest((TAlterSentryRoleAddGroupsRequest)value);
+          setRequest((TAlterSentryRolesGrantPrivilegesRequest)value);
         }
         break;
 
@@ -7350,12 +7746,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof alter_sentry_role_add_groups_args)
-        return this.equals((alter_sentry_role_add_groups_args)that);
+      if (that instanceof alter_sentry_roles_grant_privileges_args)
+        return this.equals((alter_sentry_roles_grant_privileges_args)that);
       return false;
     }
 
-    public boolean equals(alter_sentry_role_add_groups_args that) {
+    public boolean equals(alter_sentry_roles_grant_privileges_args that) {
       if (that == null)
         return false;
 
@@ -7384,7 +7780,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(alter_sentry_role_add_groups_args other) {
+    public int compareTo(alter_sentry_roles_grant_privileges_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -7418,7 +7814,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("alter_sentry_role_add_groups_args(");
+      StringBuilder sb = new StringBuilder("alter_sentry_roles_grant_privileges_args(");
       boolean first = true;
 
       sb.append("request:");
@@ -7456,15 +7852,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class alter_sentry_role_add_groups_argsStandardSchemeFactory implements SchemeFactory {
-      public alter_sentry_role_add_groups_argsStandardScheme getScheme() {
-        return new alter_sentry_role_add_groups_argsStandardScheme();
+    private static class alter_sentry_roles_grant_privileges_argsStandardSchemeFactory implements SchemeFactory {
+      public alter_sentry_roles_grant_privileges_argsStandardScheme getScheme() {
+        return new alter_sentry_roles_grant_privileges_argsStandardScheme();
       }
     }
 
-    private static class alter_sentry_role_add_groups_argsStandardScheme extends StandardScheme<alter_sentry_role_add_groups_args> {
+    private static class alter_sentry_roles_grant_privileges_argsStandardScheme extends StandardScheme<alter_sentry_roles_grant_privileges_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_role_add_groups_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_roles_grant_privileges_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -7476,7 +7872,7 @@ public class SentryPolicyService {
           switch (schemeField.id) {
             case 1: // REQUEST
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.request = new TAlterSentryRoleAddGroupsRequest();
+                struct.request = new TAlterSentryRolesGrantPrivilegesRequest();
                 struct.request.read(iprot);
                 struct.setRequestIsSet(true);
               } else { 
@@ -7492,7 +7888,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_role_add_groups_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_roles_grant_privileges_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -7507,16 +7903,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class alter_sentry_role_add_groups_argsTupleSchemeFactory implements SchemeFactory {
-      public alter_sentry_role_add_groups_argsTupleScheme getScheme() {
-        return new alter_sentry_role_add_groups_argsTupleScheme();
+    private static class alter_sentry_roles_grant_privileges_argsTupleSchemeFactory implements SchemeFactory {
+      public alter_sentry_roles_grant_privileges_argsTupleScheme getScheme() {
+        return new alter_sentry_roles_grant_privileges_argsTupleScheme();
       }
     }
 
-    private static class alter_sentry_role_add_groups_argsTupleScheme extends TupleScheme<alter_sentry_role_add_groups_args> {
+    private static class alter_sentry_roles_grant_privileges_argsTupleScheme extends TupleScheme<alter_sentry_roles_grant_privileges_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_add_groups_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_roles_grant_privileges_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetRequest()) {
@@ -7529,11 +7925,11 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_add_groups_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_roles_grant_privileges_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.request = new TAlterSentryRoleAddGroupsRequest();
+          struct.request = new TAlterSentryRolesGrantPrivilegesRequest();
           struct.request.read(iprot);
           struct.setRequestIsSet(true);
         }
@@ -7542,18 +7938,18 @@ public class SentryPolicyService {
 
   }
 
-  public static class alter_sentry_role_add_groups_result implements org.apache.thrift.TBase<alter_sentry_role_add_groups_result, alter_sentry_role_add_groups_result._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_role_add_groups_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_role_add_groups_result");
+  public static class alter_sentry_roles_grant_privileges_result implements org.apache.thrift.TBase<alter_sentry_roles_grant_privileges_result, alter_sentry_roles_grant_privileges_result._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_roles_grant_privileges_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_roles_grant_privileges_result");
 
     private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new alter_sentry_role_add_groups_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new alter_sentry_role_add_groups_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new alter_sentry_roles_grant_privileges_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new alter_sentry_roles_grant_privileges_resultTupleSchemeFactory());
     }
 
-    private TAlterSentryRoleAddGroupsResponse success; // required
+    private TAlterSentryRolesGrantPrivilegesResponse success; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -7618,16 +8014,16 @@ public class SentryPolicyService {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRoleAddGroupsResponse.class)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRolesGrantPrivilegesResponse.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_role_add_groups_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_roles_grant_privileges_result.class, metaDataMap);
     }
 
-    public alter_sentry_role_add_groups_result() {
+    public alter_sentry_roles_grant_privileges_result() {
     }
 
-    public alter_sentry_role_add_groups_result(
-      TAlterSentryRoleAddGroupsResponse success)
+    public alter_sentry_roles_grant_privileges_result(
+      TAlterSentryRolesGrantPrivilegesResponse success)
     {
       this();
       this.success = success;
@@ -7636,14 +8032,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public alter_sentry_role_add_groups_result(alter_sentry_role_add_groups_result other) {
+    public alter_sentry_roles_grant_privileges_result(alter_sentry_roles_grant_privileges_result other) {
       if (other.isSetSuccess()) {
-        this.success = new TAlterSentryRoleAddGroupsResponse(other.success);
+        this.success = new TAlterSentryRolesGrantPrivilegesResponse(other.success);
       }
     }
 
-    public alter_sentry_role_add_groups_result deepCopy() {
-      return new alter_sentry_role_add_groups_result(this);
+    public alter_sentry_roles_grant_privileges_result deepCopy() {
+      return new alter_sentry_roles_grant_privileges_result(this);
     }
 
     @Override
@@ -7651,11 +8047,11 @@ public class SentryPolicyService {
       this.success = null;
     }
 
-    public TAlterSentryRoleAddGroupsResponse getSuccess() {
+    public TAlterSentryRolesGrantPrivilegesResponse getSuccess() {
       return this.success;
     }
 
-    public void setSuccess(TAlterSentryRoleAddGroupsResponse success) {
+    public void setSuccess(TAlterSentryRolesGrantPrivilegesResponse success) {
       this.success = success;
     }
 
@@ -7680,7 +8076,7 @@ public class SentryPolicyService {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((TAlterSentryRoleAddGroupsResponse)value);
+          setSuccess((TAlterSentryRolesGrantPrivilegesResponse)value);
         }
         break;
 
@@ -7713,12 +8109,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof alter_sentry_role_add_groups_result)
-        return this.equals((alter_sentry_role_add_groups_result)that);
+      if (that instanceof alter_sentry_roles_grant_privileges_result)
+        return this.equals((alter_sentry_roles_grant_privileges_result)that);
       return false;
     }
 
-    public boolean equals(alter_sentry_role_add_groups_result that) {
+    public boolean equals(alter_sentry_roles_grant_privileges_result that) {
       if (that == null)
         return false;
 
@@ -7747,7 +8143,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(alter_sentry_role_add_groups_result other) {
+    public int compareTo(alter_sentry_roles_grant_privileges_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -7781,7 +8177,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("alter_sentry_role_add_groups_result(");
+      StringBuilder sb = new StringBuilder("alter_sentry_roles_grant_privileges_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -7819,15 +8215,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class alter_sentry_role_add_groups_resultStandardSchemeFactory implements SchemeFactory {
-      public alter_sentry_role_add_groups_resultStandardScheme getScheme() {
-        return new alter_sentry_role_add_groups_resultStandardScheme();
+    private static class alter_sentry_roles_grant_privileges_resultStandardSchemeFactory implements SchemeFactory {
+      public alter_sentry_roles_grant_privileges_resultStandardScheme getScheme() {
+        return new alter_sentry_roles_grant_privileges_resultStandardScheme();
       }
     }
 
-    private static class alter_sentry_role_add_groups_resultStandardScheme extends StandardScheme<alter_sentry_role_add_groups_result> {
+    private static class alter_sentry_roles_grant_privileges_resultStandardScheme extends StandardScheme<alter_sentry_roles_grant_privileges_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_role_add_groups_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_roles_grant_privileges_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -7839,7 +8235,7 @@ public class SentryPolicyService {
           switch (schemeField.id) {
             case 0: // SUCCESS
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.success = new TAlterSentryRoleAddGroupsResponse();
+                struct.success = new TAlterSentryRolesGrantPrivilegesResponse();
                 struct.success.read(iprot);
                 struct.setSuccessIsSet(true);
               } else { 
@@ -7855,7 +8251,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_role_add_groups_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_roles_grant_privileges_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -7870,16 +8266,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class alter_sentry_role_add_groups_resultTupleSchemeFactory implements SchemeFactory {
-      public alter_sentry_role_add_groups_resultTupleScheme getScheme() {
-        return new alter_sentry_role_add_groups_resultTupleScheme();
+    private static class alter_sentry_roles_grant_privileges_resultTupleSchemeFactory implements SchemeFactory {
+      public alter_sentry_roles_grant_privileges_resultTupleScheme getScheme() {
+        return new alter_sentry_roles_grant_privileges_resultTupleScheme();
       }
     }
 
-    private static class alter_sentry_role_add_groups_resultTupleScheme extends TupleScheme<alter_sentry_role_add_groups_result> {
+    private static class alter_sentry_roles_grant_privileges_resultTupleScheme extends TupleScheme<alter_sentry_roles_grant_privileges_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_add_groups_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_roles_grant_privileges_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
@@ -7892,11 +8288,11 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_add_groups_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_roles_grant_privileges_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.success = new TAlterSentryRoleAddGroupsResponse();
+          struct.success = new TAlterSentryRolesGrantPrivilegesResponse();
           struct.success.read(iprot);
           struct.setSuccessIsSet(true);
         }
@@ -7905,18 +8301,18 @@ public class SentryPolicyService {
 
   }
 
-  public static class alter_sentry_role_delete_groups_args implements org.apache.thrift.TBase<alter_sentry_role_delete_groups_args, alter_sentry_role_delete_groups_args._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_role_delete_groups_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_role_delete_groups_args");
+  public static class alter_sentry_roles_revoke_privileges_args implements org.apache.thrift.TBase<alter_sentry_roles_revoke_privileges_args, alter_sentry_roles_revoke_privileges_args._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_roles_revoke_privileges_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_roles_revoke_privileges_args");
 
     private static final org.apache.thrift.protocol.TField REQUEST_FIELD_DESC = new org.apache.thrift.protocol.TField("request", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new alter_sentry_role_delete_groups_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new alter_sentry_role_delete_groups_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new alter_sentry_roles_revoke_privileges_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new alter_sentry_roles_revoke_privileges_argsTupleSchemeFactory());
     }
 
-    private TAlterSentryRoleDeleteGroupsRequest request; // required
+    private TAlterSentryRolesRevokePrivilegesRequest request; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -7981,16 +8377,16 @@ public class SentryPolicyService {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.REQUEST, new org.apache.thrift.meta_data.FieldMetaData("request", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRoleDeleteGroupsRequest.class)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRolesRevokePrivilegesRequest.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_role_delete_groups_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_roles_revoke_privileges_args.class, metaDataMap);
     }
 
-    public alter_sentry_role_delete_groups_args() {
+    public alter_sentry_roles_revoke_privileges_args() {
     }
 
-    public alter_sentry_role_delete_groups_args(
-      TAlterSentryRoleDeleteGroupsRequest request)
+    public alter_sentry_roles_revoke_privileges_args(
+      TAlterSentryRolesRevokePrivilegesRequest request)
     {
       this();
       this.request = request;
@@ -7999,14 +8395,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public alter_sentry_role_delete_groups_args(alter_sentry_role_delete_groups_args other) {
+    public alter_sentry_roles_revoke_privileges_args(alter_sentry_roles_revoke_privileges_args other) {
       if (other.isSetRequest()) {
-        this.request = new TAlterSentryRoleDeleteGroupsRequest(other.request);
+        this.request = new TAlterSentryRolesRevokePrivilegesRequest(other.request);
       }
     }
 
-    public alter_sentry_role_delete_groups_args deepCopy() {
-      return new alter_sentry_role_delete_groups_args(this);
+    public alter_sentry_roles_revoke_privileges_args deepCopy() {
+      return new alter_sentry_roles_revoke_privileges_args(this);
     }
 
     @Override
@@ -8014,11 +8410,11 @@ public class SentryPolicyService {
       this.request = null;
     }
 
-    public TAlterSentryRoleDeleteGroupsRequest getRequest() {
+    public TAlterSentryRolesRevokePrivilegesRequest getRequest() {
       return this.request;
     }
 
-    public void setRequest(TAlterSentryRoleDeleteGroupsRequest request) {
+    public void setRequest(TAlterSentryRolesRevokePrivilegesRequest request) {
       this.request = request;
     }
 
@@ -8043,7 +8439,7 @@ public class SentryPolicyService {
         if (value == null) {
           unsetRequest();
         } else {
-          setRequest((TAlterSentryRoleDeleteGroupsRequest)value);
+          setRequest((TAlterSentryRolesRevokePrivilegesRequest)value);
         }
         break;
 
@@ -8076,12 +8472,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof alter_sentry_role_delete_groups_args)
-        return this.equals((alter_sentry_role_delete_groups_args)that);
+      if (that instanceof alter_sentry_roles_revoke_privileges_args)
+        return this.equals((alter_sentry_roles_revoke_privileges_args)that);
       return false;
     }
 
-    public boolean equals(alter_sentry_role_delete_groups_args that) {
+    public boolean equals(alter_sentry_roles_revoke_privileges_args that) {
       if (that == null)
         return false;
 
@@ -8110,7 +8506,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(alter_sentry_role_delete_groups_args other) {
+    public int compareTo(alter_sentry_roles_revoke_privileges_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -8144,7 +8540,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("alter_sentry_role_delete_groups_args(");
+      StringBuilder sb = new StringBuilder("alter_sentry_roles_revoke_privileges_args(");
       boolean first = true;
 
       sb.append("request:");
@@ -8182,15 +8578,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class alter_sentry_role_delete_groups_argsStandardSchemeFactory implements SchemeFactory {
-      public alter_sentry_role_delete_groups_argsStandardScheme getScheme() {
-        return new alter_sentry_role_delete_groups_argsStandardScheme();
+    private static class alter_sentry_roles_revoke_privileges_argsStandardSchemeFactory implements SchemeFactory {
+      public alter_sentry_roles_revoke_privileges_argsStandardScheme getScheme() {
+        return new alter_sentry_roles_revoke_privileges_argsStandardScheme();
       }
     }
 
-    private static class alter_sentry_role_delete_groups_argsStandardScheme extends StandardScheme<alter_sentry_role_delete_groups_args> {
+    private static class alter_sentry_roles_revoke_privileges_argsStandardScheme extends StandardScheme<alter_sentry_roles_revoke_privileges_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_role_delete_groups_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_roles_revoke_privileges_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -8202,7 +8598,7 @@ public class SentryPolicyService {
           switch (schemeField.id) {
             case 1: // REQUEST
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.request = new TAlterSentryRoleDeleteGroupsRequest();
+                struct.request = new TAlterSentryRolesRevokePrivilegesRequest();
                 struct.request.read(iprot);
                 struct.setRequestIsSet(true);
               } else { 
@@ -8218,7 +8614,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_role_delete_groups_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_roles_revoke_privileges_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -8233,16 +8629,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class alter_sentry_role_delete_groups_argsTupleSchemeFactory implements SchemeFactory {
-      public alter_sentry_role_delete_groups_argsTupleScheme getScheme() {
-        return new alter_sentry_role_delete_groups_argsTupleScheme();
+    private static class alter_sentry_roles_revoke_privileges_argsTupleSchemeFactory implements SchemeFactory {
+      public alter_sentry_roles_revoke_privileges_argsTupleScheme getScheme() {
+        return new alter_sentry_roles_revoke_privileges_argsTupleScheme();
       }
     }
 
-    private static class alter_sentry_role_delete_groups_argsTupleScheme extends TupleScheme<alter_sentry_role_delete_groups_args> {
+    private static class alter_sentry_roles_revoke_privileges_argsTupleScheme extends TupleScheme<alter_sentry_roles_revoke_privileges_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_delete_groups_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_roles_revoke_privileges_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetRequest()) {
@@ -8255,11 +8651,11 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_delete_groups_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_roles_revoke_privileges_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.request = new TAlterSentryRoleDeleteGroupsRequest();
+          struct.request = new TAlterSentryRolesRevokePrivilegesRequest();
           struct.request.read(iprot);
           struct.setRequestIsSet(true);
         }
@@ -8268,18 +8664,18 @@ public class SentryPolicyService {
 
   }
 
-  public static class alter_sentry_role_delete_groups_result implements org.apache.thrift.TBase<alter_sentry_role_delete_groups_result, alter_sentry_role_delete_groups_result._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_role_delete_groups_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_role_delete_groups_result");
+  public static class alter_sentry_roles_revoke_privileges_result implements org.apache.thrift.TBase<alter_sentry_roles_revoke_privileges_result, alter_sentry_roles_revoke_privileges_result._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_roles_revoke_privileges_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_roles_revoke_privileges_result");
 
     private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new alter_sentry_role_delete_groups_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new alter_sentry_role_delete_groups_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new alter_sentry_roles_revoke_privileges_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new alter_sentry_roles_revoke_privileges_resultTupleSchemeFactory());
     }
 
-    private TAlterSentryRoleDeleteGroupsResponse success; // required
+    private TAlterSentryRolesRevokePrivilegesResponse success; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -8344,16 +8740,16 @@ public class SentryPolicyService {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRoleDeleteGroupsResponse.class)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRolesRevokePrivilegesResponse.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_role_delete_groups_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_roles_revoke_privileges_result.class, metaDataMap);
     }
 
-    public alter_sentry_role_delete_groups_result() {
+    public alter_sentry_roles_revoke_privileges_result() {
     }
 
-    public alter_sentry_role_delete_groups_result(
-      TAlterSentryRoleDeleteGroupsResponse success)
+    public alter_sentry_roles_revoke_privileges_result(
+      TAlterSentryRolesRevokePrivilegesResponse success)
     {
       this();
       this.success = success;
@@ -8362,14 +8758,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public alter_sentry_role_delete_groups_result(alter_sentry_role_delete_groups_result other) {
+    public alter_sentry_roles_revoke_privileges_result(alter_sentry_roles_revoke_privileges_result other) {
       if (other.isSetSuccess()) {
-        this.success = new TAlterSentryRoleDeleteGroupsResponse(other.success);
+        this.success = new TAlterSentryRolesRevokePrivilegesResponse(other.success);
       }
     }
 
-    public alter_sentry_role_delete_groups_result deepCopy() {
-      return new alter_sentry_role_delete_groups_result(this);
+    public alter_sentry_roles_revoke_privileges_result deepCopy() {
+      return new alter_sentry_roles_revoke_privileges_result(this);
     }
 
     @Override
@@ -8377,11 +8773,11 @@ public class SentryPolicyService {
       this.success = null;
     }
 
-    public TAlterSentryRoleDeleteGroupsResponse getSuccess() {
+    public TAlterSentryRolesRevokePrivilegesResponse getSuccess() {
       return this.success;
     }
 
-    public void setSuccess(TAlterSentryRoleDeleteGroupsResponse success) {
+    public void setSuccess(TAlterSentryRolesRevokePrivilegesResponse success) {
       this.success = success;
     }
 
@@ -8406,7 +8802,7 @@ public class SentryPolicyService {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((TAlterSentryRoleDeleteGroupsResponse)value);
+          setSuccess((TAlterSentryRolesRevokePrivilegesResponse)value);
         }
         break;
 
@@ -8439,12 +8835,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof alter_sentry_role_delete_groups_result)
-        return this.equals((alter_sentry_role_delete_groups_result)that);
+      if (that instanceof alter_sentry_roles_revoke_privileges_result)
+        return this.equals((alter_sentry_roles_revoke_privileges_result)that);
       return false;
     }
 
-    public boolean equals(alter_sentry_role_delete_groups_result that) {
+    public boolean equals(alter_sentry_roles_revoke_privileges_result that) {
       if (that == null)
         return false;
 
@@ -8473,7 +8869,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(alter_sentry_role_delete_groups_result other) {
+    public int compareTo(alter_sentry_roles_revoke_privileges_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -8507,7 +8903,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("alter_sentry_role_delete_groups_result(");
+      StringBuilder sb = new StringBuilder("alter_sentry_roles_revoke_privileges_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -8545,15 +8941,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class alter_sentry_role_delete_groups_resultStandardSchemeFactory implements SchemeFactory {
-      public alter_sentry_role_delete_groups_resultStandardScheme getScheme() {
-        return new alter_sentry_role_delete_groups_resultStandardScheme();
+    private static class alter_sentry_roles_revoke_privileges_resultStandardSchemeFactory implements SchemeFactory {
+      public alter_sentry_roles_revoke_privileges_resultStandardScheme getScheme() {
+        return new alter_sentry_roles_revoke_privileges_resultStandardScheme();
       }
     }
 
-    private static class alter_sentry_role_delete_groups_resultStandardScheme extends StandardScheme<alter_sentry_role_delete_groups_result> {
+    private static class alter_sentry_roles_revoke_privileges_resultStandardScheme extends StandardScheme<alter_sentry_roles_revoke_privileges_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_role_delete_groups_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_roles_revoke_privileges_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -8565,7 +8961,7 @@ public class SentryPolicyService {
           switch (schemeField.id) {
             case 0: // SUCCESS
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.success = new TAlterSentryRoleDeleteGroupsResponse();
+                struct.success = new TAlterSentryRolesRevokePrivilegesResponse();
                 struct.success.read(iprot);
                 struct.setSuccessIsSet(true);
               } else { 
@@ -8581,7 +8977,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_role_delete_groups_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_roles_revoke_privileges_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -8596,16 +8992,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class alter_sentry_role_delete_groups_resultTupleSchemeFactory implements SchemeFactory {
-      public alter_sentry_role_delete_groups_resultTupleScheme getScheme() {
-        return new alter_sentry_role_delete_groups_resultTupleScheme();
+    private static class alter_sentry_roles_revoke_privileges_resultTupleSchemeFactory implements SchemeFactory {
+      public alter_sentry_roles_revoke_privileges_resultTupleScheme getScheme() {
+        return new alter_sentry_roles_revoke_privileges_resultTupleScheme();
       }
     }
 
-    private static class alter_sentry_role_delete_groups_resultTupleScheme extends TupleScheme<alter_sentry_role_delete_groups_result> {
+    private static class alter_sentry_roles_revoke_privileges_resultTupleScheme extends TupleScheme<alter_sentry_roles_revoke_privileges_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_delete_groups_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_roles_revoke_privileges_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
@@ -8618,11 +9014,11 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_delete_groups_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_roles_revoke_privileges_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.success = new TAlterSentryRoleDeleteGroupsResponse();
+          struct.success = new TAlterSentryRolesRevokePrivilegesResponse();
           struct.success.read(iprot);
           struct.setSuccessIsSet(true);
         }
@@ -8631,18 +9027,18 @@ public class SentryPolicyService {
 
   }
 
-  public static class alter_sentry_role_add_users_args implements org.apache.thrift.TBase<alter_sentry_role_add_users_args, alter_sentry_role_add_users_args._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_role_add_users_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_role_add_users_args");
+  public static class alter_sentry_role_add_groups_args implements org.apache.thrift.TBase<alter_sentry_role_add_groups_args, alter_sentry_role_add_groups_args._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_role_add_groups_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_role_add_groups_args");
 
     private static final org.apache.thrift.protocol.TField REQUEST_FIELD_DESC = new org.apache.thrift.protocol.TField("request", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new alter_sentry_role_add_users_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new alter_sentry_role_add_users_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new alter_sentry_role_add_groups_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new alter_sentry_role_add_groups_argsTupleSchemeFactory());
     }
 
-    private TAlterSentryRoleAddUsersRequest request; // required
+    private TAlterSentryRoleAddGroupsRequest request; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -8707,16 +9103,16 @@ public class SentryPolicyService {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.REQUEST, new org.apache.thrift.meta_data.FieldMetaData("request", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRoleAddUsersRequest.class)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRoleAddGroupsRequest.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_role_add_users_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_role_add_groups_args.class, metaDataMap);
     }
 
-    public alter_sentry_role_add_users_args() {
+    public alter_sentry_role_add_groups_args() {
     }
 
-    public alter_sentry_role_add_users_args(
-      TAlterSentryRoleAddUsersRequest request)
+    public alter_sentry_role_add_groups_args(
+      TAlterSentryRoleAddGroupsRequest request)
     {
       this();
       this.request = request;
@@ -8725,14 +9121,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public alter_sentry_role_add_users_args(alter_sentry_role_add_users_args other) {
+    public alter_sentry_role_add_groups_args(alter_sentry_role_add_groups_args other) {
       if (other.isSetRequest()) {
-        this.request = new TAlterSentryRoleAddUsersRequest(other.request);
+        this.request = new TAlterSentryRoleAddGroupsRequest(other.request);
       }
     }
 
-    public alter_sentry_role_add_users_args deepCopy() {
-      return new alter_sentry_role_add_users_args(this);
+    public alter_sentry_role_add_groups_args deepCopy() {
+      return new alter_sentry_role_add_groups_args(this);
     }
 
     @Override
@@ -8740,11 +9136,11 @@ public class SentryPolicyService {
       this.request = null;
     }
 
-    public TAlterSentryRoleAddUsersRequest getRequest() {
+    public TAlterSentryRoleAddGroupsRequest getRequest() {
       return this.request;
     }
 
-    public void setRequest(TAlterSentryRoleAddUsersRequest request) {
+    public void setRequest(TAlterSentryRoleAddGroupsRequest request) {
       this.request = request;
     }
 
@@ -8769,7 +9165,7 @@ public class SentryPolicyService {
         if (value == null) {
           unsetRequest();
         } else {
-          setRequest((TAlterSentryRoleAddUsersRequest)value);
+          setRequest((TAlterSentryRoleAddGroupsRequest)value);
         }
         break;
 
@@ -8802,12 +9198,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof alter_sentry_role_add_users_args)
-        return this.equals((alter_sentry_role_add_users_args)that);
+      if (that instanceof alter_sentry_role_add_groups_args)
+        return this.equals((alter_sentry_role_add_groups_args)that);
       return false;
     }
 
-    public boolean equals(alter_sentry_role_add_users_args that) {
+    public boolean equals(alter_sentry_role_add_groups_args that) {
       if (that == null)
         return false;
 
@@ -8836,7 +9232,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(alter_sentry_role_add_users_args other) {
+    public int compareTo(alter_sentry_role_add_groups_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -8870,7 +9266,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("alter_sentry_role_add_users_args(");
+      StringBuilder sb = new StringBuilder("alter_sentry_role_add_groups_args(");
       boolean first = true;
 
       sb.append("request:");
@@ -8908,15 +9304,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class alter_sentry_role_add_users_argsStandardSchemeFactory implements SchemeFactory {
-      public alter_sentry_role_add_users_argsStandardScheme getScheme() {
-        return new alter_sentry_role_add_users_argsStandardScheme();
+    private static class alter_sentry_role_add_groups_argsStandardSchemeFactory implements SchemeFactory {
+      public alter_sentry_role_add_groups_argsStandardScheme getScheme() {
+        return new alter_sentry_role_add_groups_argsStandardScheme();
       }
     }
 
-    private static class alter_sentry_role_add_users_argsStandardScheme extends StandardScheme<alter_sentry_role_add_users_args> {
+    private static class alter_sentry_role_add_groups_argsStandardScheme extends StandardScheme<alter_sentry_role_add_groups_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_role_add_users_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_role_add_groups_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -8928,7 +9324,7 @@ public class SentryPolicyService {
           switch (schemeField.id) {
             case 1: // REQUEST
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.request = new TAlterSentryRoleAddUsersRequest();
+                struct.request = new TAlterSentryRoleAddGroupsRequest();
                 struct.request.read(iprot);
                 struct.setRequestIsSet(true);
               } else { 
@@ -8944,7 +9340,2185 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_role_add_users_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_role_add_groups_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.request != null) {
+          oprot.writeFieldBegin(REQUEST_FIELD_DESC);
+          struct.request.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class alter_sentry_role_add_groups_argsTupleSchemeFactory implements SchemeFactory {
+      public alter_sentry_role_add_groups_argsTupleScheme getScheme() {
+        return new alter_sentry_role_add_groups_argsTupleScheme();
+      }
+    }
+
+    private static class alter_sentry_role_add_groups_argsTupleScheme extends TupleScheme<alter_sentry_role_add_groups_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_add_groups_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetRequest()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetRequest()) {
+          struct.request.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_add_groups_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.request = new TAlterSentryRoleAddGroupsRequest();
+          struct.request.read(iprot);
+          struct.setRequestIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class alter_sentry_role_add_groups_result implements org.apache.thrift.TBase<alter_sentry_role_add_groups_result, alter_sentry_role_add_groups_result._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_role_add_groups_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_role_add_groups_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new alter_sentry_role_add_groups_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new alter_sentry_role_add_groups_resultTupleSchemeFactory());
+    }
+
+    private TAlterSentryRoleAddGroupsResponse success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRoleAddGroupsResponse.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_role_add_groups_result.class, metaDataMap);
+    }
+
+    public alter_sentry_role_add_groups_result() {
+    }
+
+    public alter_sentry_role_add_groups_result(
+      TAlterSentryRoleAddGroupsResponse success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public alter_sentry_role_add_groups_result(alter_sentry_role_add_groups_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new TAlterSentryRoleAddGroupsResponse(other.success);
+      }
+    }
+
+    public alter_sentry_role_add_groups_result deepCopy() {
+      return new alter_sentry_role_add_groups_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+    }
+
+    public TAlterSentryRoleAddGroupsResponse getSuccess() {
+      return this.success;
+    }
+
+    public void setSuccess(TAlterSentryRoleAddGroupsResponse success) {
+      this.success = success;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((TAlterSentryRoleAddGroupsResponse)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof alter_sentry_role_add_groups_result)
+        return this.equals((alter_sentry_role_add_groups_result)that);
+      return false;
+    }
+
+    public boolean equals(alter_sentry_role_add_groups_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      List<Object> list = new ArrayList<Object>();
+
+      boolean present_success = true && (isSetSuccess());
+      list.add(present_success);
+      if (present_success)
+        list.add(success);
+
+      return list.hashCode();
+    }
+
+    @Override
+    public int compareTo(alter_sentry_role_add_groups_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("alter_sentry_role_add_groups_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class alter_sentry_role_add_groups_resultStandardSchemeFactory implements SchemeFactory {
+      public alter_sentry_role_add_groups_resultStandardScheme getScheme() {
+        return new alter_sentry_role_add_groups_resultStandardScheme();
+      }
+    }
+
+    private static class alter_sentry_role_add_groups_resultStandardScheme extends StandardScheme<alter_sentry_role_add_groups_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_role_add_groups_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new TAlterSentryRoleAddGroupsResponse();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_role_add_groups_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class alter_sentry_role_add_groups_resultTupleSchemeFactory implements SchemeFactory {
+      public alter_sentry_role_add_groups_resultTupleScheme getScheme() {
+        return new alter_sentry_role_add_groups_resultTupleScheme();
+      }
+    }
+
+    private static class alter_sentry_role_add_groups_resultTupleScheme extends TupleScheme<alter_sentry_role_add_groups_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_add_groups_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          struct.success.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_add_groups_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = new TAlterSentryRoleAddGroupsResponse();
+          struct.success.read(iprot);
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class alter_sentry_role_delete_groups_args implements org.apache.thrift.TBase<alter_sentry_role_delete_groups_args, alter_sentry_role_delete_groups_args._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_role_delete_groups_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_role_delete_groups_args");
+
+    private static final org.apache.thrift.protocol.TField REQUEST_FIELD_DESC = new org.apache.thrift.protocol.TField("request", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new alter_sentry_role_delete_groups_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new alter_sentry_role_delete_groups_argsTupleSchemeFactory());
+    }
+
+    private TAlterSentryRoleDeleteGroupsRequest request; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      REQUEST((short)1, "request");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // REQUEST
+            return REQUEST;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.REQUEST, new org.apache.thrift.meta_data.FieldMetaData("request", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRoleDeleteGroupsRequest.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_role_delete_groups_args.class, metaDataMap);
+    }
+
+    public alter_sentry_role_delete_groups_args() {
+    }
+
+    public alter_sentry_role_delete_groups_args(
+      TAlterSentryRoleDeleteGroupsRequest request)
+    {
+      this();
+      this.request = request;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public alter_sentry_role_delete_groups_args(alter_sentry_role_delete_groups_args other) {
+      if (other.isSetRequest()) {
+        this.request = new TAlterSentryRoleDeleteGroupsRequest(other.request);
+      }
+    }
+
+    public alter_sentry_role_delete_groups_args deepCopy() {
+      return new alter_sentry_role_delete_groups_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.request = null;
+    }
+
+    public TAlterSentryRoleDeleteGroupsRequest getRequest() {
+      return this.request;
+    }
+
+    public void setRequest(TAlterSentryRoleDeleteGroupsRequest request) {
+      this.request = request;
+    }
+
+    public void unsetRequest() {
+      this.request = null;
+    }
+
+    /** Returns true if field request is set (has been assigned a value) and false otherwise */
+    public boolean isSetRequest() {
+      return this.request != null;
+    }
+
+    public void setRequestIsSet(boolean value) {
+      if (!value) {
+        this.request = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case REQUEST:
+        if (value == null) {
+          unsetRequest();
+        } else {
+          setRequest((TAlterSentryRoleDeleteGroupsRequest)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case REQUEST:
+        return getRequest();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case REQUEST:
+        return isSetRequest();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof alter_sentry_role_delete_groups_args)
+        return this.equals((alter_sentry_role_delete_groups_args)that);
+      return false;
+    }
+
+    public boolean equals(alter_sentry_role_delete_groups_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_request = true && this.isSetRequest();
+      boolean that_present_request = true && that.isSetRequest();
+      if (this_present_request || that_present_request) {
+        if (!(this_present_request && that_present_request))
+          return false;
+        if (!this.request.equals(that.request))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      List<Object> list = new ArrayList<Object>();
+
+      boolean present_request = true && (isSetRequest());
+      list.add(present_request);
+      if (present_request)
+        list.add(request);
+
+      return list.hashCode();
+    }
+
+    @Override
+    public int compareTo(alter_sentry_role_delete_groups_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetRequest()).compareTo(other.isSetRequest());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetRequest()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.request, other.request);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("alter_sentry_role_delete_groups_args(");
+      boolean first = true;
+
+      sb.append("request:");
+      if (this.request == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.request);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (request != null) {
+        request.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class alter_sentry_role_delete_groups_argsStandardSchemeFactory implements SchemeFactory {
+      public alter_sentry_role_delete_groups_argsStandardScheme getScheme() {
+        return new alter_sentry_role_delete_groups_argsStandardScheme();
+      }
+    }
+
+    private static class alter_sentry_role_delete_groups_argsStandardScheme extends StandardScheme<alter_sentry_role_delete_groups_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_role_delete_groups_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // REQUEST
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.request = new TAlterSentryRoleDeleteGroupsRequest();
+                struct.request.read(iprot);
+                struct.setRequestIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_role_delete_groups_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.request != null) {
+          oprot.writeFieldBegin(REQUEST_FIELD_DESC);
+          struct.request.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class alter_sentry_role_delete_groups_argsTupleSchemeFactory implements SchemeFactory {
+      public alter_sentry_role_delete_groups_argsTupleScheme getScheme() {
+        return new alter_sentry_role_delete_groups_argsTupleScheme();
+      }
+    }
+
+    private static class alter_sentry_role_delete_groups_argsTupleScheme extends TupleScheme<alter_sentry_role_delete_groups_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_delete_groups_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetRequest()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetRequest()) {
+          struct.request.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_delete_groups_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.request = new TAlterSentryRoleDeleteGroupsRequest();
+          struct.request.read(iprot);
+          struct.setRequestIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class alter_sentry_role_delete_groups_result implements org.apache.thrift.TBase<alter_sentry_role_delete_groups_result, alter_sentry_role_delete_groups_result._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_role_delete_groups_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_role_delete_groups_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new alter_sentry_role_delete_groups_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new alter_sentry_role_delete_groups_resultTupleSchemeFactory());
+    }
+
+    private TAlterSentryRoleDeleteGroupsResponse success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRoleDeleteGroupsResponse.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_role_delete_groups_result.class, metaDataMap);
+    }
+
+    public alter_sentry_role_delete_groups_result() {
+    }
+
+    public alter_sentry_role_delete_groups_result(
+      TAlterSentryRoleDeleteGroupsResponse success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public alter_sentry_role_delete_groups_result(alter_sentry_role_delete_groups_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new TAlterSentryRoleDeleteGroupsResponse(other.success);
+      }
+    }
+
+    public alter_sentry_role_delete_groups_result deepCopy() {
+      return new alter_sentry_role_delete_groups_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+    }
+
+    public TAlterSentryRoleDeleteGroupsResponse getSuccess() {
+      return this.success;
+    }
+
+    public void setSuccess(TAlterSentryRoleDeleteGroupsResponse success) {
+      this.success = success;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((TAlterSentryRoleDeleteGroupsResponse)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof alter_sentry_role_delete_groups_result)
+        return this.equals((alter_sentry_role_delete_groups_result)that);
+      return false;
+    }
+
+    public boolean equals(alter_sentry_role_delete_groups_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      List<Object> list = new ArrayList<Object>();
+
+      boolean present_success = true && (isSetSuccess());
+      list.add(present_success);
+      if (present_success)
+        list.add(success);
+
+      return list.hashCode();
+    }
+
+    @Override
+    public int compareTo(alter_sentry_role_delete_groups_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("alter_sentry_role_delete_groups_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class alter_sentry_role_delete_groups_resultStandardSchemeFactory implements SchemeFactory {
+      public alter_sentry_role_delete_groups_resultStandardScheme getScheme() {
+        return new alter_sentry_role_delete_groups_resultStandardScheme();
+      }
+    }
+
+    private static class alter_sentry_role_delete_groups_resultStandardScheme extends StandardScheme<alter_sentry_role_delete_groups_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_role_delete_groups_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new TAlterSentryRoleDeleteGroupsResponse();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_role_delete_groups_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class alter_sentry_role_delete_groups_resultTupleSchemeFactory implements SchemeFactory {
+      public alter_sentry_role_delete_groups_resultTupleScheme getScheme() {
+        return new alter_sentry_role_delete_groups_resultTupleScheme();
+      }
+    }
+
+    private static class alter_sentry_role_delete_groups_resultTupleScheme extends TupleScheme<alter_sentry_role_delete_groups_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_delete_groups_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          struct.success.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_delete_groups_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = new TAlterSentryRoleDeleteGroupsResponse();
+          struct.success.read(iprot);
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class alter_sentry_role_add_users_args implements org.apache.thrift.TBase<alter_sentry_role_add_users_args, alter_sentry_role_add_users_args._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_role_add_users_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_role_add_users_args");
+
+    private static final org.apache.thrift.protocol.TField REQUEST_FIELD_DESC = new org.apache.thrift.protocol.TField("request", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new alter_sentry_role_add_users_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new alter_sentry_role_add_users_argsTupleSchemeFactory());
+    }
+
+    private TAlterSentryRoleAddUsersRequest request; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      REQUEST((short)1, "request");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // REQUEST
+            return REQUEST;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.REQUEST, new org.apache.thrift.meta_data.FieldMetaData("request", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRoleAddUsersRequest.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_role_add_users_args.class, metaDataMap);
+    }
+
+    public alter_sentry_role_add_users_args() {
+    }
+
+    public alter_sentry_role_add_users_args(
+      TAlterSentryRoleAddUsersRequest request)
+    {
+      this();
+      this.request = request;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public alter_sentry_role_add_users_args(alter_sentry_role_add_users_args other) {
+      if (other.isSetRequest()) {
+        this.request = new TAlterSentryRoleAddUsersRequest(other.request);
+      }
+    }
+
+    public alter_sentry_role_add_users_args deepCopy() {
+      return new alter_sentry_role_add_users_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.request = null;
+    }
+
+    public TAlterSentryRoleAddUsersRequest getRequest() {
+      return this.request;
+    }
+
+    public void setRequest(TAlterSentryRoleAddUsersRequest request) {
+      this.request = request;
+    }
+
+    public void unsetRequest() {
+      this.request = null;
+    }
+
+    /** Returns true if field request is set (has been assigned a value) and false otherwise */
+    public boolean isSetRequest() {
+      return this.request != null;
+    }
+
+    public void setRequestIsSet(boolean value) {
+      if (!value) {
+        this.request = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case REQUEST:
+        if (value == null) {
+          unsetRequest();
+        } else {
+          setRequest((TAlterSentryRoleAddUsersRequest)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case REQUEST:
+        return getRequest();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case REQUEST:
+        return isSetRequest();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof alter_sentry_role_add_users_args)
+        return this.equals((alter_sentry_role_add_users_args)that);
+      return false;
+    }
+
+    public boolean equals(alter_sentry_role_add_users_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_request = true && this.isSetRequest();
+      boolean that_present_request = true && that.isSetRequest();
+      if (this_present_request || that_present_request) {
+        if (!(this_present_request && that_present_request))
+          return false;
+        if (!this.request.equals(that.request))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      List<Object> list = new ArrayList<Object>();
+
+      boolean present_request = true && (isSetRequest());
+      list.add(present_request);
+      if (present_request)
+        list.add(request);
+
+      return list.hashCode();
+    }
+
+    @Override
+    public int compareTo(alter_sentry_role_add_users_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetRequest()).compareTo(other.isSetRequest());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetRequest()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.request, other.request);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("alter_sentry_role_add_users_args(");
+      boolean first = true;
+
+      sb.append("request:");
+      if (this.request == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.request);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (request != null) {
+        request.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class alter_sentry_role_add_users_argsStandardSchemeFactory implements SchemeFactory {
+      public alter_sentry_role_add_users_argsStandardScheme getScheme() {
+        return new alter_sentry_role_add_users_argsStandardScheme();
+      }
+    }
+
+    private static class alter_sentry_role_add_users_argsStandardScheme extends StandardScheme<alter_sentry_role_add_users_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_role_add_users_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // REQUEST
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.request = new TAlterSentryRoleAddUsersRequest();
+                struct.request.read(iprot);
+                struct.setRequestIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_role_add_users_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.request != null) {
+          oprot.writeFieldBegin(REQUEST_FIELD_DESC);
+          struct.request.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class alter_sentry_role_add_users_argsTupleSchemeFactory implements SchemeFactory {
+      public alter_sentry_role_add_users_argsTupleScheme getScheme() {
+        return new alter_sentry_role_add_users_argsTupleScheme();
+      }
+    }
+
+    private static class alter_sentry_role_add_users_argsTupleScheme extends TupleScheme<alter_sentry_role_add_users_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_add_users_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetRequest()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetRequest()) {
+          struct.request.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_add_users_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.request = new TAlterSentryRoleAddUsersRequest();
+          struct.request.read(iprot);
+          struct.setRequestIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class alter_sentry_role_add_users_result implements org.apache.thrift.TBase<alter_sentry_role_add_users_result, alter_sentry_role_add_users_result._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_role_add_users_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_role_add_users_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new alter_sentry_role_add_users_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new alter_sentry_role_add_users_resultTupleSchemeFactory());
+    }
+
+    private TAlterSentryRoleAddUsersResponse success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRoleAddUsersResponse.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_role_add_users_result.class, metaDataMap);
+    }
+
+    public alter_sentry_role_add_users_result() {
+    }
+
+    public alter_sentry_role_add_users_result(
+      TAlterSentryRoleAddUsersResponse success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public alter_sentry_role_add_users_result(alter_sentry_role_add_users_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new TAlterSentryRoleAddUsersResponse(other.success);
+      }
+    }
+
+    public alter_sentry_role_add_users_result deepCopy() {
+      return new alter_sentry_role_add_users_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+    }
+
+    public TAlterSentryRoleAddUsersResponse getSuccess() {
+      return this.success;
+    }
+
+    public void setSuccess(TAlterSentryRoleAddUsersResponse success) {
+      this.success = success;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((TAlterSentryRoleAddUsersResponse)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof alter_sentry_role_add_users_result)
+        return this.equals((alter_sentry_role_add_users_result)that);
+      return false;
+    }
+
+    public boolean equals(alter_sentry_role_add_users_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      List<Object> list = new ArrayList<Object>();
+
+      boolean present_success = true && (isSetSuccess());
+      list.add(present_success);
+      if (present_success)
+        list.add(success);
+
+      return list.hashCode();
+    }
+
+    @Override
+    public int compareTo(alter_sentry_role_add_users_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("alter_sentry_role_add_users_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class alter_sentry_role_add_users_resultStandardSchemeFactory implements SchemeFactory {
+      public alter_sentry_role_add_users_resultStandardScheme getScheme() {
+        return new alter_sentry_role_add_users_resultStandardScheme();
+      }
+    }
+
+    private static class alter_sentry_role_add_users_resultStandardScheme extends StandardScheme<alter_sentry_role_add_users_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_role_add_users_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new TAlterSentryRoleAddUsersResponse();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_role_add_users_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class alter_sentry_role_add_users_resultTupleSchemeFactory implements SchemeFactory {
+      public alter_sentry_role_add_users_resultTupleScheme getScheme() {
+        return new alter_sentry_role_add_users_resultTupleScheme();
+      }
+    }
+
+    private static class alter_sentry_role_add_users_resultTupleScheme extends TupleScheme<alter_sentry_role_add_users_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_add_users_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          struct.success.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_add_users_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = new TAlterSentryRoleAddUsersResponse();
+          struct.success.read(iprot);
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class alter_sentry_role_delete_users_args implements org.apache.thrift.TBase<alter_sentry_role_delete_users_args, alter_sentry_role_delete_users_args._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_role_delete_users_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_role_delete_users_args");
+
+    private static final org.apache.thrift.protocol.TField REQUEST_FIELD_DESC = new org.apache.thrift.protocol.TField("request", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new alter_sentry_role_delete_users_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new alter_sentry_role_delete_users_argsTupleSchemeFactory());
+    }
+
+    private TAlterSentryRoleDeleteUsersRequest request; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      REQUEST((short)1, "request");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // REQUEST
+            return REQUEST;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.REQUEST, new org.apache.thrift.meta_data.FieldMetaData("request", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRoleDeleteUsersRequest.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_role_delete_users_args.class, metaDataMap);
+    }
+
+    public alter_sentry_role_delete_users_args() {
+    }
+
+    public alter_sentry_role_delete_users_args(
+      TAlterSentryRoleDeleteUsersRequest request)
+    {
+      this();
+      this.request = request;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public alter_sentry_role_delete_users_args(alter_sentry_role_delete_users_args other) {
+      if (other.isSetRequest()) {
+        this.request = new TAlterSentryRoleDeleteUsersRequest(other.request);
+      }
+    }
+
+    public alter_sentry_role_delete_users_args deepCopy() {
+      return new alter_sentry_role_delete_users_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.request = null;
+    }
+
+    public TAlterSentryRoleDeleteUsersRequest getRequest() {
+      return this.request;
+    }
+
+    public void setRequest(TAlterSentryRoleDeleteUsersRequest request) {
+      this.request = request;
+    }
+
+    public void unsetRequest() {
+      this.request = null;
+    }
+
+    /** Returns true if field request is set (has been assigned a value) and false otherwise */
+    public boolean isSetRequest() {
+      return this.request != null;
+    }
+
+    public void setRequestIsSet(boolean value) {
+      if (!value) {
+        this.request = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case REQUEST:
+        if (value == null) {
+          unsetRequest();
+        } else {
+          setRequest((TAlterSentryRoleDeleteUsersRequest)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case REQUEST:
+        return getRequest();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case REQUEST:
+        return isSetRequest();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof alter_sentry_role_delete_users_args)
+        return this.equals((alter_sentry_role_delete_users_args)that);
+      return false;
+    }
+
+    public boolean equals(alter_sentry_role_delete_users_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_request = true && this.isSetRequest();
+      boolean that_present_request = true && that.isSetRequest();
+      if (this_present_request || that_present_request) {
+        if (!(this_present_request && that_present_request))
+          return false;
+        if (!this.request.equals(that.request))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      List<Object> list = new ArrayList<Object>();
+
+      boolean present_request = true && (isSetRequest());
+      list.add(present_request);
+      if (present_request)
+        list.add(request);
+
+      return list.hashCode();
+    }
+
+    @Override
+    public int compareTo(alter_sentry_role_delete_users_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetRequest()).compareTo(other.isSetRequest());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetRequest()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.request, other.request);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("alter_sentry_role_delete_users_args(");
+      boolean first = true;
+
+      sb.append("request:");
+      if (this.request == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.request);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (request != null) {
+        request.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class alter_sentry_role_delete_users_argsStandardSchemeFactory implements SchemeFactory {
+      public alter_sentry_role_delete_users_argsStandardScheme getScheme() {
+        return new alter_sentry_role_delete_users_argsStandardScheme();
+      }
+    }
+
+    private static class alter_sentry_role_delete_users_argsStandardScheme extends StandardScheme<alter_sentry_role_delete_users_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_role_delete_users_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // REQUEST
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.request = new TAlterSentryRoleDeleteUsersRequest();
+                struct.request.read(iprot);
+                struct.setRequestIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_role_delete_users_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -8959,16 +11533,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class alter_sentry_role_add_users_argsTupleSchemeFactory implements SchemeFactory {
-      public alter_sentry_role_add_users_argsTupleScheme getScheme() {
-        return new alter_sentry_role_add_users_argsTupleScheme();
+    private static class alter_sentry_role_delete_users_argsTupleSchemeFactory implements SchemeFactory {
+      public alter_sentry_role_delete_users_argsTupleScheme getScheme() {
+        return new alter_sentry_role_delete_users_argsTupleScheme();
       }
     }
 
-    private static class alter_sentry_role_add_users_argsTupleScheme extends TupleScheme<alter_sentry_role_add_users_args> {
+    private static class alter_sentry_role_delete_users_argsTupleScheme extends TupleScheme<alter_sentry_role_delete_users_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_add_users_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_delete_users_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetRequest()) {
@@ -8981,11 +11555,11 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_add_users_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_delete_users_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.request = new TAlterSentryRoleAddUsersRequest();
+          struct.request = new TAlterSentryRoleDeleteUsersRequest();
           struct.request.read(iprot);
           struct.setRequestIsSet(true);
         }
@@ -8994,18 +11568,18 @@ public class SentryPolicyService {
 
   }
 
-  public static class alter_sentry_role_add_users_result implements org.apache.thrift.TBase<alter_sentry_role_add_users_result, alter_sentry_role_add_users_result._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_role_add_users_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_role_add_users_result");
+  public static class alter_sentry_role_delete_users_result implements org.apache.thrift.TBase<alter_sentry_role_delete_users_result, alter_sentry_role_delete_users_result._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_role_delete_users_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_role_delete_users_result");
 
     private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new alter_sentry_role_add_users_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new alter_sentry_role_add_users_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new alter_sentry_role_delete_users_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new alter_sentry_role_delete_users_resultTupleSchemeFactory());
     }
 
-    private TAlterSentryRoleAddUsersResponse success; // required
+    private TAlterSentryRoleDeleteUsersResponse success; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -9070,16 +11644,16 @@ public class SentryPolicyService {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRoleAddUsersResponse.class)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRoleDeleteUsersResponse.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_role_add_users_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_role_delete_users_result.class, metaDataMap);
     }
 
-    public alter_sentry_role_add_users_result() {
+    public alter_sentry_role_delete_users_result() {
     }
 
-    public alter_sentry_role_add_users_result(
-      TAlterSentryRoleAddUsersResponse success)
+    public alter_sentry_role_delete_users_result(
+      TAlterSentryRoleDeleteUsersResponse success)
     {
       this();
       this.success = success;
@@ -9088,14 +11662,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public alter_sentry_role_add_users_result(alter_sentry_role_add_users_result other) {
+    public alter_sentry_role_delete_users_result(alter_sentry_role_delete_users_result other) {
       if (other.isSetSuccess()) {
-        this.success = new TAlterSentryRoleAddUsersResponse(other.success);
+        this.success = new TAlterSentryRoleDeleteUsersResponse(other.success);
       }
     }
 
-    public alter_sentry_role_add_users_result deepCopy() {
-      return new alter_sentry_role_add_users_result(this);
+    public alter_sentry_role_delete_users_result deepCopy() {
+      return new alter_sentry_role_delete_users_result(this);
     }
 
     @Override
@@ -9103,11 +11677,11 @@ public class SentryPolicyService {
       this.success = null;
     }
 
-    public TAlterSentryRoleAddUsersResponse getSuccess() {
+    public TAlterSentryRoleDeleteUsersResponse getSuccess() {
       return this.success;
     }
 
-    public void setSuccess(TAlterSentryRoleAddUsersResponse success) {
+    public void setSuccess(TAlterSentryRoleDeleteUsersResponse success) {
       this.success = success;
     }
 
@@ -9132,7 +11706,7 @@ public class SentryPolicyService {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((TAlterSentryRoleAddUsersResponse)value);
+          setSuccess((TAlterSentryRoleDeleteUsersResponse)value);
         }
         break;
 
@@ -9165,12 +11739,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof alter_sentry_role_add_users_result)
-        return this.equals((alter_sentry_role_add_users_result)that);
+      if (that instanceof alter_sentry_role_delete_users_result)
+        return this.equals((alter_sentry_role_delete_users_result)that);
       return false;
     }
 
-    public boolean equals(alter_sentry_role_add_users_result that) {
+    public boolean equals(alter_sentry_role_delete_users_result that) {
       if (that == null)
         return false;
 
@@ -9199,7 +11773,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(alter_sentry_role_add_users_result other) {
+    public int compareTo(alter_sentry_role_delete_users_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -9233,7 +11807,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("alter_sentry_role_add_users_result(");
+      StringBuilder sb = new StringBuilder("alter_sentry_role_delete_users_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -9271,15 +11845,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class alter_sentry_role_add_users_resultStandardSchemeFactory implements SchemeFactory {
-      public alter_sentry_role_add_users_resultStandardScheme getScheme() {
-        return new alter_sentry_role_add_users_resultStandardScheme();
+    private static class alter_sentry_role_delete_users_resultStandardSchemeFactory implements SchemeFactory {
+      public alter_sentry_role_delete_users_resultStandardScheme getScheme() {
+        return new alter_sentry_role_delete_users_resultStandardScheme();
       }
     }
 
-    private static class alter_sentry_role_add_users_resultStandardScheme extends StandardScheme<alter_sentry_role_add_users_result> {
+    private static class alter_sentry_role_delete_users_resultStandardScheme extends StandardScheme<alter_sentry_role_delete_users_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_role_add_users_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_role_delete_users_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -9291,7 +11865,7 @@ public class SentryPolicyService {
           switch (schemeField.id) {
             case 0: // SUCCESS
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.success = new TAlterSentryRoleAddUsersResponse();
+                struct.success = new TAlterSentryRoleDeleteUsersResponse();
                 struct.success.read(iprot);
                 struct.setSuccessIsSet(true);
               } else { 
@@ -9307,7 +11881,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_role_add_users_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_role_delete_users_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -9322,16 +11896,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class alter_sentry_role_add_users_resultTupleSchemeFactory implements SchemeFactory {
-      public alter_sentry_role_add_users_resultTupleScheme getScheme() {
-        return new alter_sentry_role_add_users_resultTupleScheme();
+    private static class alter_sentry_role_delete_users_resultTupleSchemeFactory implements SchemeFactory {
+      public alter_sentry_role_delete_users_resultTupleScheme getScheme() {
+        return new alter_sentry_role_delete_users_resultTupleScheme();
       }
     }
 
-    private static class alter_sentry_role_add_users_resultTupleScheme extends TupleScheme<alter_sentry_role_add_users_result> {
+    private static class alter_sentry_role_delete_users_resultTupleScheme extends TupleScheme<alter_sentry_role_delete_users_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_add_users_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_delete_users_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
@@ -9344,11 +11918,11 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_add_users_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_delete_users_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.success = new TAlterSentryRoleAddUsersResponse();
+          struct.success = new TAlterSentryRoleDeleteUsersResponse();
           struct.success.read(iprot);
           struct.setSuccessIsSet(true);
         }
@@ -9357,18 +11931,18 @@ public class SentryPolicyService {
 
   }
 
-  public static class alter_sentry_role_delete_users_args implements org.apache.thrift.TBase<alter_sentry_role_delete_users_args, alter_sentry_role_delete_users_args._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_role_delete_users_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_role_delete_users_args");
+  public static class list_sentry_roles_by_group_args implements org.apache.thrift.TBase<list_sentry_roles_by_group_args, list_sentry_roles_by_group_args._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_roles_by_group_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_roles_by_group_args");
 
     private static final org.apache.thrift.protocol.TField REQUEST_FIELD_DESC = new org.apache.thrift.protocol.TField("request", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new alter_sentry_role_delete_users_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new alter_sentry_role_delete_users_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new list_sentry_roles_by_group_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new list_sentry_roles_by_group_argsTupleSchemeFactory());
     }
 
-    private TAlterSentryRoleDeleteUsersRequest request; // required
+    private TListSentryRolesRequest request; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -9433,16 +12007,16 @@ public class SentryPolicyService {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.REQUEST, new org.apache.thrift.meta_data.FieldMetaData("request", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRoleDeleteUsersRequest.class)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryRolesRequest.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_role_delete_users_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_roles_by_group_args.class, metaDataMap);
     }
 
-    public alter_sentry_role_delete_users_args() {
+    public list_sentry_roles_by_group_args() {
     }
 
-    public alter_sentry_role_delete_users_args(
-      TAlterSentryRoleDeleteUsersRequest request)
+    public list_sentry_roles_by_group_args(
+      TListSentryRolesRequest request)
     {
       this();
       this.request = request;
@@ -9451,14 +12025,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public alter_sentry_role_delete_users_args(alter_sentry_role_delete_users_args other) {
+    public list_sentry_roles_by_group_args(list_sentry_roles_by_group_args other) {
       if (other.isSetRequest()) {
-        this.request = new TAlterSentryRoleDeleteUsersRequest(other.request);
+        this.request = new TListSentryRolesRequest(other.request);
       }
     }
 
-    public alter_sentry_role_delete_users_args deepCopy() {
-      return new alter_sentry_role_delete_users_args(this);
+    public list_sentry_roles_by_group_args deepCopy() {
+      return new list_sentry_roles_by_group_args(this);
     }
 
     @Override
@@ -9466,11 +12040,11 @@ public class SentryPolicyService {
       this.request = null;
     }
 
-    public TAlterSentryRoleDeleteUsersRequest getRequest() {
+    public TListSentryRolesRequest getRequest() {
       return this.request;
     }
 
-    public void setRequest(TAlterSentryRoleDeleteUsersRequest request) {
+    public void setRequest(TListSentryRolesRequest request) {
       this.request = request;
     }
 
@@ -9495,7 +12069,7 @@ public class SentryPolicyService {
         if (value == null) {
           unsetRequest();
         } else {
-          setRequest((TAlterSentryRoleDeleteUsersRequest)value);
+          setRequest((TListSentryRolesRequest)value);
         }
         break;
 
@@ -9528,12 +12102,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof alter_sentry_role_delete_users_args)
-        return this.equals((alter_sentry_role_delete_users_args)that);
+      if (that instanceof list_sentry_roles_by_group_args)
+        return this.equals((list_sentry_roles_by_group_args)that);
       return false;
     }
 
-    public boolean equals(alter_sentry_role_delete_users_args that) {
+    public boolean equals(list_sentry_roles_by_group_args that) {
       if (that == null)
         return false;
 
@@ -9562,7 +12136,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(alter_sentry_role_delete_users_args other) {
+    public int compareTo(list_sentry_roles_by_group_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -9596,7 +12170,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("alter_sentry_role_delete_users_args(");
+      StringBuilder sb = new StringBuilder("list_sentry_roles_by_group_args(");
       boolean first = true;
 
       sb.append("request:");
@@ -9634,15 +12208,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class alter_sentry_role_delete_users_argsStandardSchemeFactory implements SchemeFactory {
-      public alter_sentry_role_delete_users_argsStandardScheme getScheme() {
-        return new alter_sentry_role_delete_users_argsStandardScheme();
+    private static class list_sentry_roles_by_group_argsStandardSchemeFactory implements SchemeFactory {
+      public list_sentry_roles_by_group_argsStandardScheme getScheme() {
+        return new list_sentry_roles_by_group_argsStandardScheme();
       }
     }
 
-    private static class alter_sentry_role_delete_users_argsStandardScheme extends StandardScheme<alter_sentry_role_delete_users_args> {
+    private static class list_sentry_roles_by_group_argsStandardScheme extends StandardScheme<list_sentry_roles_by_group_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_role_delete_users_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_roles_by_group_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -9654,7 +12228,7 @@ public class SentryPolicyService {
           switch (schemeField.id) {
             case 1: // REQUEST
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.request = new TAlterSentryRoleDeleteUsersRequest();
+                struct.request = new TListSentryRolesRequest();
                 struct.request.read(iprot);
                 struct.setRequestIsSet(true);
               } else { 
@@ -9670,7 +12244,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_role_delete_users_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_roles_by_group_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -9685,16 +12259,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class alter_sentry_role_delete_users_argsTupleSchemeFactory implements SchemeFactory {
-      public alter_sentry_role_delete_users_argsTupleScheme getScheme() {
-        return new alter_sentry_role_delete_users_argsTupleScheme();
+    private static class list_sentry_roles_by_group_argsTupleSchemeFactory implements SchemeFactory {
+      public list_sentry_roles_by_group_argsTupleScheme getScheme() {
+        return new list_sentry_roles_by_group_argsTupleScheme();
       }
     }
 
-    private static class alter_sentry_role_delete_users_argsTupleScheme extends TupleScheme<alter_sentry_role_delete_users_args> {
+    private static class list_sentry_roles_by_group_argsTupleScheme extends TupleScheme<list_sentry_roles_by_group_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_delete_users_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_roles_by_group_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetRequest()) {
@@ -9707,11 +12281,11 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_delete_users_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_roles_by_group_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.request = new TAlterSentryRoleDeleteUsersRequest();
+          struct.request = new TListSentryRolesRequest();
           struct.request.read(iprot);
           struct.setRequestIsSet(true);
         }
@@ -9720,18 +12294,18 @@ public class SentryPolicyService {
 
   }
 
-  public static class alter_sentry_role_delete_users_result implements org.apache.thrift.TBase<alter_sentry_role_delete_users_result, alter_sentry_role_delete_users_result._Fields>, java.io.Serializable, Cloneable, Comparable<alter_sentry_role_delete_users_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("alter_sentry_role_delete_users_result");
+  public static class list_sentry_roles_by_group_result implements org.apache.thrift.TBase<list_sentry_roles_by_group_result, list_sentry_roles_by_group_result._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_roles_by_group_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_roles_by_group_result");
 
     private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new alter_sentry_role_delete_users_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new alter_sentry_role_delete_users_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new list_sentry_roles_by_group_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new list_sentry_roles_by_group_resultTupleSchemeFactory());
     }
 
-    private TAlterSentryRoleDeleteUsersResponse success; // required
+    private TListSentryRolesResponse success; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -9796,16 +12370,16 @@ public class SentryPolicyService {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAlterSentryRoleDeleteUsersResponse.class)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryRolesResponse.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(alter_sentry_role_delete_users_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_roles_by_group_result.class, metaDataMap);
     }
 
-    public alter_sentry_role_delete_users_result() {
+    public list_sentry_roles_by_group_result() {
     }
 
-    public alter_sentry_role_delete_users_result(
-      TAlterSentryRoleDeleteUsersResponse success)
+    public list_sentry_roles_by_group_result(
+      TListSentryRolesResponse success)
     {
       this();
       this.success = success;
@@ -9814,14 +12388,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public alter_sentry_role_delete_users_result(alter_sentry_role_delete_users_result other) {
+    public list_sentry_roles_by_group_result(list_sentry_roles_by_group_result other) {
       if (other.isSetSuccess()) {
-        this.success = new TAlterSentryRoleDeleteUsersResponse(other.success);
+        this.success = new TListSentryRolesResponse(other.success);
       }
     }
 
-    public alter_sentry_role_delete_users_result deepCopy() {
-      return new alter_sentry_role_delete_users_result(this);
+    public list_sentry_roles_by_group_result deepCopy() {
+      return new list_sentry_roles_by_group_result(this);
     }
 
     @Override
@@ -9829,11 +12403,11 @@ public class SentryPolicyService {
       this.success = null;
     }
 
-    public TAlterSentryRoleDeleteUsersResponse getSuccess() {
+    public TListSentryRolesResponse getSuccess() {
       return this.success;
     }
 
-    public void setSuccess(TAlterSentryRoleDeleteUsersResponse success) {
+    public void setSuccess(TListSentryRolesResponse success) {
       this.success = success;
     }
 
@@ -9858,7 +12432,7 @@ public class SentryPolicyService {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((TAlterSentryRoleDeleteUsersResponse)value);
+          setSuccess((TListSentryRolesResponse)value);
         }
         break;
 
@@ -9891,12 +12465,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof alter_sentry_role_delete_users_result)
-        return this.equals((alter_sentry_role_delete_users_result)that);
+      if (that instanceof list_sentry_roles_by_group_result)
+        return this.equals((list_sentry_roles_by_group_result)that);
       return false;
     }
 
-    public boolean equals(alter_sentry_role_delete_users_result that) {
+    public boolean equals(list_sentry_roles_by_group_result that) {
       if (that == null)
         return false;
 
@@ -9925,7 +12499,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(alter_sentry_role_delete_users_result other) {
+    public int compareTo(list_sentry_roles_by_group_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -9959,7 +12533,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("alter_sentry_role_delete_users_result(");
+      StringBuilder sb = new StringBuilder("list_sentry_roles_by_group_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -9997,15 +12571,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class alter_sentry_role_delete_users_resultStandardSchemeFactory implements SchemeFactory {
-      public alter_sentry_role_delete_users_resultStandardScheme getScheme() {
-        return new alter_sentry_role_delete_users_resultStandardScheme();
+    private static class list_sentry_roles_by_group_resultStandardSchemeFactory implements SchemeFactory {
+      public list_sentry_roles_by_group_resultStandardScheme getScheme() {
+        return new list_sentry_roles_by_group_resultStandardScheme();
       }
     }
 
-    private static class alter_sentry_role_delete_users_resultStandardScheme extends StandardScheme<alter_sentry_role_delete_users_result> {
+    private static class list_sentry_roles_by_group_resultStandardScheme extends StandardScheme<list_sentry_roles_by_group_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, alter_sentry_role_delete_users_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_roles_by_group_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -10017,7 +12591,7 @@ public class SentryPolicyService {
           switch (schemeField.id) {
             case 0: // SUCCESS
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.success = new TAlterSentryRoleDeleteUsersResponse();
+                struct.success = new TListSentryRolesResponse();
                 struct.success.read(iprot);
                 struct.setSuccessIsSet(true);
               } else { 
@@ -10033,7 +12607,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, alter_sentry_role_delete_users_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_roles_by_group_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -10048,16 +12622,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class alter_sentry_role_delete_users_resultTupleSchemeFactory implements SchemeFactory {
-      public alter_sentry_role_delete_users_resultTupleScheme getScheme() {
-        return new alter_sentry_role_delete_users_resultTupleScheme();
+    private static class list_sentry_roles_by_group_resultTupleSchemeFactory implements SchemeFactory {
+      public list_sentry_roles_by_group_resultTupleScheme getScheme() {
+        return new list_sentry_roles_by_group_resultTupleScheme();
       }
     }
 
-    private static class alter_sentry_role_delete_users_resultTupleScheme extends TupleScheme<alter_sentry_role_delete_users_result> {
+    private static class list_sentry_roles_by_group_resultTupleScheme extends TupleScheme<list_sentry_roles_by_group_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_delete_users_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_roles_by_group_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
@@ -10070,11 +12644,11 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, alter_sentry_role_delete_users_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_roles_by_group_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.success = new TAlterSentryRoleDeleteUsersResponse();
+          struct.success = new TListSentryRolesResponse();
           struct.success.read(iprot);
           struct.setSuccessIsSet(true);
         }
@@ -10083,18 +12657,18 @@ public class SentryPolicyService {
 
   }
 
-  public static class list_sentry_roles_by_group_args implements org.apache.thrift.TBase<list_sentry_roles_by_group_args, list_sentry_roles_by_group_args._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_roles_by_group_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_roles_by_group_args");
+  public static class list_sentry_roles_by_user_args implements org.apache.thrift.TBase<list_sentry_roles_by_user_args, list_sentry_roles_by_user_args._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_roles_by_user_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_roles_by_user_args");
 
     private static final org.apache.thrift.protocol.TField REQUEST_FIELD_DESC = new org.apache.thrift.protocol.TField("request", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new list_sentry_roles_by_group_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new list_sentry_roles_by_group_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new list_sentry_roles_by_user_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new list_sentry_roles_by_user_argsTupleSchemeFactory());
     }
 
-    private TListSentryRolesRequest request; // required
+    private TListSentryRolesForUserRequest request; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -10159,16 +12733,16 @@ public class SentryPolicyService {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.REQUEST, new org.apache.thrift.meta_data.FieldMetaData("request", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryRolesRequest.class)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryRolesForUserRequest.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_roles_by_group_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_roles_by_user_args.class, metaDataMap);
     }
 
-    public list_sentry_roles_by_group_args() {
+    public list_sentry_roles_by_user_args() {
     }
 
-    public list_sentry_roles_by_group_args(
-      TListSentryRolesRequest request)
+    public list_sentry_roles_by_user_args(
+      TListSentryRolesForUserRequest request)
     {
       this();
       this.request = request;
@@ -10177,14 +12751,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public list_sentry_roles_by_group_args(list_sentry_roles_by_group_args other) {
+    public list_sentry_roles_by_user_args(list_sentry_roles_by_user_args other) {
       if (other.isSetRequest()) {
-        this.request = new TListSentryRolesRequest(other.request);
+        this.request = new TListSentryRolesForUserRequest(other.request);
       }
     }
 
-    public list_sentry_roles_by_group_args deepCopy() {
-      return new list_sentry_roles_by_group_args(this);
+    public list_sentry_roles_by_user_args deepCopy() {
+      return new list_sentry_roles_by_user_args(this);
     }
 
     @Override
@@ -10192,11 +12766,11 @@ public class SentryPolicyService {
       this.request = null;
     }
 
-    public TListSentryRolesRequest getRequest() {
+    public TListSentryRolesForUserRequest getRequest() {
       return this.request;
     }
 
-    public void setRequest(TListSentryRolesRequest request) {
+    public void setRequest(TListSentryRolesForUserRequest request) {
       this.request = request;
     }
 
@@ -10221,7 +12795,7 @@ public class SentryPolicyService {
         if (value == null) {
           unsetRequest();
         } else {
-          setRequest((TListSentryRolesRequest)value);
+          setRequest((TListSentryRolesForUserRequest)value);
         }
         break;
 
@@ -10254,12 +12828,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof list_sentry_roles_by_group_args)
-        return this.equals((list_sentry_roles_by_group_args)that);
+      if (that instanceof list_sentry_roles_by_user_args)
+        return this.equals((list_sentry_roles_by_user_args)that);
       return false;
     }
 
-    public boolean equals(list_sentry_roles_by_group_args that) {
+    public boolean equals(list_sentry_roles_by_user_args that) {
       if (that == null)
         return false;
 
@@ -10288,7 +12862,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(list_sentry_roles_by_group_args other) {
+    public int compareTo(list_sentry_roles_by_user_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -10322,7 +12896,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("list_sentry_roles_by_group_args(");
+      StringBuilder sb = new StringBuilder("list_sentry_roles_by_user_args(");
       boolean first = true;
 
       sb.append("request:");
@@ -10360,15 +12934,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class list_sentry_roles_by_group_argsStandardSchemeFactory implements SchemeFactory {
-      public list_sentry_roles_by_group_argsStandardScheme getScheme() {
-        return new list_sentry_roles_by_group_argsStandardScheme();
+    private static class list_sentry_roles_by_user_argsStandardSchemeFactory implements SchemeFactory {
+      public list_sentry_roles_by_user_argsStandardScheme getScheme() {
+        return new list_sentry_roles_by_user_argsStandardScheme();
       }
     }
 
-    private static class list_sentry_roles_by_group_argsStandardScheme extends StandardScheme<list_sentry_roles_by_group_args> {
+    private static class list_sentry_roles_by_user_argsStandardScheme extends StandardScheme<list_sentry_roles_by_user_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_roles_by_group_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_roles_by_user_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -10380,7 +12954,7 @@ public class SentryPolicyService {
           switch (schemeField.id) {
             case 1: // REQUEST
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.request = new TListSentryRolesRequest();
+                struct.request = new TListSentryRolesForUserRequest();
                 struct.request.read(iprot);
                 struct.setRequestIsSet(true);
               } else { 
@@ -10396,7 +12970,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_roles_by_group_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_roles_by_user_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -10411,16 +12985,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class list_sentry_roles_by_group_argsTupleSchemeFactory implements SchemeFactory {
-      public list_sentry_roles_by_group_argsTupleScheme getScheme() {
-        return new list_sentry_roles_by_group_argsTupleScheme();
+    private static class list_sentry_roles_by_user_argsTupleSchemeFactory implements SchemeFactory {
+      public list_sentry_roles_by_user_argsTupleScheme getScheme() {
+        return new list_sentry_roles_by_user_argsTupleScheme();
       }
     }
 
-    private static class list_sentry_roles_by_group_argsTupleScheme extends TupleScheme<list_sentry_roles_by_group_args> {
+    private static class list_sentry_roles_by_user_argsTupleScheme extends TupleScheme<list_sentry_roles_by_user_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_roles_by_group_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_roles_by_user_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetRequest()) {
@@ -10433,11 +13007,11 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_roles_by_group_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_roles_by_user_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.request = new TListSentryRolesRequest();
+          struct.request = new TListSentryRolesForUserRequest();
           struct.request.read(iprot);
           struct.setRequestIsSet(true);
         }
@@ -10446,15 +13020,15 @@ public class SentryPolicyService {
 
   }
 
-  public static class list_sentry_roles_by_group_result implements org.apache.thrift.TBase<list_sentry_roles_by_group_result, list_sentry_roles_by_group_result._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_roles_by_group_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_roles_by_group_result");
+  public static class list_sentry_roles_by_user_result implements org.apache.thrift.TBase<list_sentry_roles_by_user_result, list_sentry_roles_by_user_result._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_roles_by_user_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_roles_by_user_result");
 
     private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new list_sentry_roles_by_group_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new list_sentry_roles_by_group_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new list_sentry_roles_by_user_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new list_sentry_roles_by_user_resultTupleSchemeFactory());
     }
 
     private TListSentryRolesResponse success; // required
@@ -10524,13 +13098,13 @@ public class SentryPolicyService {
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
           new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryRolesResponse.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_roles_by_group_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_roles_by_user_result.class, metaDataMap);
     }
 
-    public list_sentry_roles_by_group_result() {
+    public list_sentry_roles_by_user_result() {
     }
 
-    public list_sentry_roles_by_group_result(
+    public list_sentry_roles_by_user_result(
       TListSentryRolesResponse success)
     {
       this();
@@ -10540,14 +13114,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public list_sentry_roles_by_group_result(list_sentry_roles_by_group_result other) {
+    public list_sentry_roles_by_user_result(list_sentry_roles_by_user_result other) {
       if (other.isSetSuccess()) {
         this.success = new TListSentryRolesResponse(other.success);
       }
     }
 
-    public list_sentry_roles_by_group_result deepCopy() {
-      return new list_sentry_roles_by_group_result(this);
+    public list_sentry_roles_by_user_result deepCopy() {
+      return new list_sentry_roles_by_user_result(this);
     }
 
     @Override
@@ -10617,12 +13191,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof list_sentry_roles_by_group_result)
-        return this.equals((list_sentry_roles_by_group_result)that);
+      if (that instanceof list_sentry_roles_by_user_result)
+        return this.equals((list_sentry_roles_by_user_result)that);
       return false;
     }
 
-    public boolean equals(list_sentry_roles_by_group_result that) {
+    public boolean equals(list_sentry_roles_by_user_result that) {
       if (that == null)
         return false;
 
@@ -10651,7 +13225,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(list_sentry_roles_by_group_result other) {
+    public int compareTo(list_sentry_roles_by_user_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -10685,7 +13259,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("list_sentry_roles_by_group_result(");
+      StringBuilder sb = new StringBuilder("list_sentry_roles_by_user_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -10723,15 +13297,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class list_sentry_roles_by_group_resultStandardSchemeFactory implements SchemeFactory {
-      public list_sentry_roles_by_group_resultStandardScheme getScheme() {
-        return new list_sentry_roles_by_group_resultStandardScheme();
+    private static class list_sentry_roles_by_user_resultStandardSchemeFactory implements SchemeFactory {
+      public list_sentry_roles_by_user_resultStandardScheme getScheme() {
+        return new list_sentry_roles_by_user_resultStandardScheme();
       }
     }
 
-    private static class list_sentry_roles_by_group_resultStandardScheme extends StandardScheme<list_sentry_roles_by_group_result> {
+    private static class list_sentry_roles_by_user_resultStandardScheme extends StandardScheme<list_sentry_roles_by_user_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_roles_by_group_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_roles_by_user_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -10759,7 +13333,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_roles_by_group_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_roles_by_user_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -10774,16 +13348,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class list_sentry_roles_by_group_resultTupleSchemeFactory implements SchemeFactory {
-      public list_sentry_roles_by_group_resultTupleScheme getScheme() {
-        return new list_sentry_roles_by_group_resultTupleScheme();
+    private static class list_sentry_roles_by_user_resultTupleSchemeFactory implements SchemeFactory {
+      public list_sentry_roles_by_user_resultTupleScheme getScheme() {
+        return new list_sentry_roles_by_user_resultTupleScheme();
       }
     }
 
-    private static class list_sentry_roles_by_group_resultTupleScheme extends TupleScheme<list_sentry_roles_by_group_result> {
+    private static class list_sentry_roles_by_user_resultTupleScheme extends TupleScheme<list_sentry_roles_by_user_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_roles_by_group_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_roles_by_user_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
@@ -10796,7 +13370,7 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_roles_by_group_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_roles_by_user_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
@@ -10809,18 +13383,18 @@ public class SentryPolicyService {
 
   }
 
-  public static class list_sentry_roles_by_user_args implements org.apache.thrift.TBase<list_sentry_roles_by_user_args, list_sentry_roles_by_user_args._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_roles_by_user_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_roles_by_user_args");
+  public static class list_sentry_privileges_by_role_args implements org.apache.thrift.TBase<list_sentry_privileges_by_role_args, list_sentry_privileges_by_role_args._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_privileges_by_role_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_privileges_by_role_args");
 
     private static final org.apache.thrift.protocol.TField REQUEST_FIELD_DESC = new org.apache.thrift.protocol.TField("request", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new list_sentry_roles_by_user_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new list_sentry_roles_by_user_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new list_sentry_privileges_by_role_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new list_sentry_privileges_by_role_argsTupleSchemeFactory());
     }
 
-    private TListSentryRolesForUserRequest request; // required
+    private TListSentryPrivilegesRequest request; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -10885,16 +13459,16 @@ public class SentryPolicyService {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.REQUEST, new org.apache.thrift.meta_data.FieldMetaData("request", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryRolesForUserRequest.class)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryPrivilegesRequest.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_roles_by_user_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_privileges_by_role_args.class, metaDataMap);
     }
 
-    public list_sentry_roles_by_user_args() {
+    public list_sentry_privileges_by_role_args() {
     }
 
-    public list_sentry_roles_by_user_args(
-      TListSentryRolesForUserRequest request)
+    public list_sentry_privileges_by_role_args(
+      TListSentryPrivilegesRequest request)
     {
       this();
       this.request = request;
@@ -10903,14 +13477,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public list_sentry_roles_by_user_args(list_sentry_roles_by_user_args other) {
+    public list_sentry_privileges_by_role_args(list_sentry_privileges_by_role_args other) {
       if (other.isSetRequest()) {
-        this.request = new TListSentryRolesForUserRequest(other.request);
+        this.request = new TListSentryPrivilegesRequest(other.request);
       }
     }
 
-    public list_sentry_roles_by_user_args deepCopy() {
-      return new list_sentry_roles_by_user_args(this);
+    public list_sentry_privileges_by_role_args deepCopy() {
+      return new list_sentry_privileges_by_role_args(this);
     }
 
     @Override
@@ -10918,11 +13492,11 @@ public class SentryPolicyService {
       this.request = null;
     }
 
-    public TListSentryRolesForUserRequest getRequest() {
+    public TListSentryPrivilegesRequest getRequest() {
       return this.request;
     }
 
-    public void setRequest(TListSentryRolesForUserRequest request) {
+    public void setRequest(TListSentryPrivilegesRequest request) {
       this.request = request;
     }
 
@@ -10947,7 +13521,7 @@ public class SentryPolicyService {
         if (value == null) {
           unsetRequest();
         } else {
-          setRequest((TListSentryRolesForUserRequest)value);
+          setRequest((TListSentryPrivilegesRequest)value);
         }
         break;
 
@@ -10980,12 +13554,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof list_sentry_roles_by_user_args)
-        return this.equals((list_sentry_roles_by_user_args)that);
+      if (that instanceof list_sentry_privileges_by_role_args)
+        return this.equals((list_sentry_privileges_by_role_args)that);
       return false;
     }
 
-    public boolean equals(list_sentry_roles_by_user_args that) {
+    public boolean equals(list_sentry_privileges_by_role_args that) {
       if (that == null)
         return false;
 
@@ -11014,7 +13588,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(list_sentry_roles_by_user_args other) {
+    public int compareTo(list_sentry_privileges_by_role_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -11048,7 +13622,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("list_sentry_roles_by_user_args(");
+      StringBuilder sb = new StringBuilder("list_sentry_privileges_by_role_args(");
       boolean first = true;
 
       sb.append("request:");
@@ -11086,15 +13660,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class list_sentry_roles_by_user_argsStandardSchemeFactory implements SchemeFactory {
-      public list_sentry_roles_by_user_argsStandardScheme getScheme() {
-        return new list_sentry_roles_by_user_argsStandardScheme();
+    private static class list_sentry_privileges_by_role_argsStandardSchemeFactory implements SchemeFactory {
+      public list_sentry_privileges_by_role_argsStandardScheme getScheme() {
+        return new list_sentry_privileges_by_role_argsStandardScheme();
       }
     }
 
-    private static class list_sentry_roles_by_user_argsStandardScheme extends StandardScheme<list_sentry_roles_by_user_args> {
+    private static class list_sentry_privileges_by_role_argsStandardScheme extends StandardScheme<list_sentry_privileges_by_role_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_roles_by_user_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_privileges_by_role_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -11106,7 +13680,7 @@ public class SentryPolicyService {
           switch (schemeField.id) {
             case 1: // REQUEST
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.request = new TListSentryRolesForUserRequest();
+                struct.request = new TListSentryPrivilegesRequest();
                 struct.request.read(iprot);
                 struct.setRequestIsSet(true);
               } else { 
@@ -11122,7 +13696,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_roles_by_user_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_privileges_by_role_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -11137,16 +13711,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class list_sentry_roles_by_user_argsTupleSchemeFactory implements SchemeFactory {
-      public list_sentry_roles_by_user_argsTupleScheme getScheme() {
-        return new list_sentry_roles_by_user_argsTupleScheme();
+    private static class list_sentry_privileges_by_role_argsTupleSchemeFactory implements SchemeFactory {
+      public list_sentry_privileges_by_role_argsTupleScheme getScheme() {
+        return new list_sentry_privileges_by_role_argsTupleScheme();
       }
     }
 
-    private static class list_sentry_roles_by_user_argsTupleScheme extends TupleScheme<list_sentry_roles_by_user_args> {
+    private static class list_sentry_privileges_by_role_argsTupleScheme extends TupleScheme<list_sentry_privileges_by_role_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_roles_by_user_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_role_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetRequest()) {
@@ -11159,11 +13733,11 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_roles_by_user_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_role_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.request = new TListSentryRolesForUserRequest();
+          struct.request = new TListSentryPrivilegesRequest();
           struct.request.read(iprot);
           struct.setRequestIsSet(true);
         }
@@ -11172,18 +13746,18 @@ public class SentryPolicyService {
 
   }
 
-  public static class list_sentry_roles_by_user_result implements org.apache.thrift.TBase<list_sentry_roles_by_user_result, list_sentry_roles_by_user_result._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_roles_by_user_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_roles_by_user_result");
+  public static class list_sentry_privileges_by_role_result implements org.apache.thrift.TBase<list_sentry_privileges_by_role_result, list_sentry_privileges_by_role_result._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_privileges_by_role_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_privileges_by_role_result");
 
     private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new list_sentry_roles_by_user_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new list_sentry_roles_by_user_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new list_sentry_privileges_by_role_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new list_sentry_privileges_by_role_resultTupleSchemeFactory());
     }
 
-    private TListSentryRolesResponse success; // required
+    private TListSentryPrivilegesResponse success; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -11248,16 +13822,16 @@ public class SentryPolicyService {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryRolesResponse.class)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryPrivilegesResponse.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_roles_by_user_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_privileges_by_role_result.class, metaDataMap);
     }
 
-    public list_sentry_roles_by_user_result() {
+    public list_sentry_privileges_by_role_result() {
     }
 
-    public list_sentry_roles_by_user_result(
-      TListSentryRolesResponse success)
+    public list_sentry_privileges_by_role_result(
+      TListSentryPrivilegesResponse success)
     {
       this();
       this.success = success;
@@ -11266,14 +13840,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public list_sentry_roles_by_user_result(list_sentry_roles_by_user_result other) {
+    public list_sentry_privileges_by_role_result(list_sentry_privileges_by_role_result other) {
       if (other.isSetSuccess()) {
-        this.success = new TListSentryRolesResponse(other.success);
+        this.success = new TListSentryPrivilegesResponse(other.success);
       }
     }
 
-    public list_sentry_roles_by_user_result deepCopy() {
-      return new list_sentry_roles_by_user_result(this);
+    public list_sentry_privileges_by_role_result deepCopy() {
+      return new list_sentry_privileges_by_role_result(this);
     }
 
     @Override
@@ -11281,11 +13855,11 @@ public class SentryPolicyService {
       this.success = null;
     }
 
-    public TListSentryRolesResponse getSuccess() {
+    public TListSentryPrivilegesResponse getSuccess() {
       return this.success;
     }
 
-    public void setSuccess(TListSentryRolesResponse success) {
+    public void setSuccess(TListSentryPrivilegesResponse success) {
       this.success = success;
     }
 
@@ -11310,7 +13884,7 @@ public class SentryPolicyService {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((TListSentryRolesResponse)value);
+          setSuccess((TListSentryPrivilegesResponse)value);
         }
         break;
 
@@ -11343,12 +13917,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof list_sentry_roles_by_user_result)
-        return this.equals((list_sentry_roles_by_user_result)that);
+      if (that instanceof list_sentry_privileges_by_role_result)
+        return this.equals((list_sentry_privileges_by_role_result)that);
       return false;
     }
 
-    public boolean equals(list_sentry_roles_by_user_result that) {
+    public boolean equals(list_sentry_privileges_by_role_result that) {
       if (that == null)
         return false;
 
@@ -11377,7 +13951,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(list_sentry_roles_by_user_result other) {
+    public int compareTo(list_sentry_privileges_by_role_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -11411,7 +13985,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("list_sentry_roles_by_user_result(");
+      StringBuilder sb = new StringBuilder("list_sentry_privileges_by_role_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -11449,15 +14023,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class list_sentry_roles_by_user_resultStandardSchemeFactory implements SchemeFactory {
-      public list_sentry_roles_by_user_resultStandardScheme getScheme() {
-        return new list_sentry_roles_by_user_resultStandardScheme();
+    private static class list_sentry_privileges_by_role_resultStandardSchemeFactory implements SchemeFactory {
+      public list_sentry_privileges_by_role_resultStandardScheme getScheme() {
+        return new list_sentry_privileges_by_role_resultStandardScheme();
       }
     }
 
-    private static class list_sentry_roles_by_user_resultStandardScheme extends StandardScheme<list_sentry_roles_by_user_result> {
+    private static class list_sentry_privileges_by_role_resultStandardScheme extends StandardScheme<list_sentry_privileges_by_role_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_roles_by_user_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_privileges_by_role_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -11469,7 +14043,7 @@ public class SentryPolicyService {
           switch (schemeField.id) {
             case 0: // SUCCESS
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.success = new TListSentryRolesResponse();
+                struct.success = new TListSentryPrivilegesResponse();
                 struct.success.read(iprot);
                 struct.setSuccessIsSet(true);
               } else { 
@@ -11485,7 +14059,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_roles_by_user_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_privileges_by_role_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -11500,16 +14074,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class list_sentry_roles_by_user_resultTupleSchemeFactory implements SchemeFactory {
-      public list_sentry_roles_by_user_resultTupleScheme getScheme() {
-        return new list_sentry_roles_by_user_resultTupleScheme();
+    private static class list_sentry_privileges_by_role_resultTupleSchemeFactory implements SchemeFactory {
+      public list_sentry_privileges_by_role_resultTupleScheme getScheme() {
+        return new list_sentry_privileges_by_role_resultTupleScheme();
       }
     }
 
-    private static class list_sentry_roles_by_user_resultTupleScheme extends TupleScheme<list_sentry_roles_by_user_result> {
+    private static class list_sentry_privileges_by_role_resultTupleScheme extends TupleScheme<list_sentry_privileges_by_role_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_roles_by_user_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_role_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
@@ -11522,11 +14096,11 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_roles_by_user_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_role_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.success = new TListSentryRolesResponse();
+          struct.success = new TListSentryPrivilegesResponse();
           struct.success.read(iprot);
           struct.setSuccessIsSet(true);
         }
@@ -11535,15 +14109,15 @@ public class SentryPolicyService {
 
   }
 
-  public static class list_sentry_privileges_by_role_args implements org.apache.thrift.TBase<list_sentry_privileges_by_role_args, list_sentry_privileges_by_role_args._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_privileges_by_role_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_privileges_by_role_args");
+  public static class list_sentry_privileges_by_user_args implements org.apache.thrift.TBase<list_sentry_privileges_by_user_args, list_sentry_privileges_by_user_args._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_privileges_by_user_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_privileges_by_user_args");
 
     private static final org.apache.thrift.protocol.TField REQUEST_FIELD_DESC = new org.apache.thrift.protocol.TField("request", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new list_sentry_privileges_by_role_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new list_sentry_privileges_by_role_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new list_sentry_privileges_by_user_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new list_sentry_privileges_by_user_argsTupleSchemeFactory());
     }
 
     private TListSentryPrivilegesRequest request; // required
@@ -11613,13 +14187,13 @@ public class SentryPolicyService {
       tmpMap.put(_Fields.REQUEST, new org.apache.thrift.meta_data.FieldMetaData("request", org.apache.thrift.TFieldRequirementType.DEFAULT, 
           new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryPrivilegesRequest.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_privileges_by_role_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_privileges_by_user_args.class, metaDataMap);
     }
 
-    public list_sentry_privileges_by_role_args() {
+    public list_sentry_privileges_by_user_args() {
     }
 
-    public list_sentry_privileges_by_role_args(
+    public list_sentry_privileges_by_user_args(
       TListSentryPrivilegesRequest request)
     {
       this();
@@ -11629,14 +14203,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public list_sentry_privileges_by_role_args(list_sentry_privileges_by_role_args other) {
+    public list_sentry_privileges_by_user_args(list_sentry_privileges_by_user_args other) {
       if (other.isSetRequest()) {
         this.request = new TListSentryPrivilegesRequest(other.request);
       }
     }
 
-    public list_sentry_privileges_by_role_args deepCopy() {
-      return new list_sentry_privileges_by_role_args(this);
+    public list_sentry_privileges_by_user_args deepCopy() {
+      return new list_sentry_privileges_by_user_args(this);
     }
 
     @Override
@@ -11706,12 +14280,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof list_sentry_privileges_by_role_args)
-        return this.equals((list_sentry_privileges_by_role_args)that);
+      if (that instanceof list_sentry_privileges_by_user_args)
+        return this.equals((list_sentry_privileges_by_user_args)that);
       return false;
     }
 
-    public boolean equals(list_sentry_privileges_by_role_args that) {
+    public boolean equals(list_sentry_privileges_by_user_args that) {
       if (that == null)
         return false;
 
@@ -11740,7 +14314,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(list_sentry_privileges_by_role_args other) {
+    public int compareTo(list_sentry_privileges_by_user_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -11774,7 +14348,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("list_sentry_privileges_by_role_args(");
+      StringBuilder sb = new StringBuilder("list_sentry_privileges_by_user_args(");
       boolean first = true;
 
       sb.append("request:");
@@ -11812,15 +14386,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class list_sentry_privileges_by_role_argsStandardSchemeFactory implements SchemeFactory {
-      public list_sentry_privileges_by_role_argsStandardScheme getScheme() {
-        return new list_sentry_privileges_by_role_argsStandardScheme();
+    private static class list_sentry_privileges_by_user_argsStandardSchemeFactory implements SchemeFactory {
+      public list_sentry_privileges_by_user_argsStandardScheme getScheme() {
+        return new list_sentry_privileges_by_user_argsStandardScheme();
       }
     }
 
-    private static class list_sentry_privileges_by_role_argsStandardScheme extends StandardScheme<list_sentry_privileges_by_role_args> {
+    private static class list_sentry_privileges_by_user_argsStandardScheme extends StandardScheme<list_sentry_privileges_by_user_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_privileges_by_role_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_privileges_by_user_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -11848,7 +14422,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_privileges_by_role_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_privileges_by_user_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -11863,16 +14437,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class list_sentry_privileges_by_role_argsTupleSchemeFactory implements SchemeFactory {
-      public list_sentry_privileges_by_role_argsTupleScheme getScheme() {
-        return new list_sentry_privileges_by_role_argsTupleScheme();
+    private static class list_sentry_privileges_by_user_argsTupleSchemeFactory implements SchemeFactory {
+      public list_sentry_privileges_by_user_argsTupleScheme getScheme() {
+        return new list_sentry_privileges_by_user_argsTupleScheme();
       }
     }
 
-    private static class list_sentry_privileges_by_role_argsTupleScheme extends TupleScheme<list_sentry_privileges_by_role_args> {
+    private static class list_sentry_privileges_by_user_argsTupleScheme extends TupleScheme<list_sentry_privileges_by_user_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_role_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_user_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetRequest()) {
@@ -11885,7 +14459,7 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_role_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_user_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
@@ -11898,15 +14472,15 @@ public class SentryPolicyService {
 
   }
 
-  public static class list_sentry_privileges_by_role_result implements org.apache.thrift.TBase<list_sentry_privileges_by_role_result, list_sentry_privileges_by_role_result._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_privileges_by_role_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_privileges_by_role_result");
+  public static class list_sentry_privileges_by_user_result implements org.apache.thrift.TBase<list_sentry_privileges_by_user_result, list_sentry_privileges_by_user_result._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_privileges_by_user_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_privileges_by_user_result");
 
     private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new list_sentry_privileges_by_role_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new list_sentry_privileges_by_role_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new list_sentry_privileges_by_user_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new list_sentry_privileges_by_user_resultTupleSchemeFactory());
     }
 
     private TListSentryPrivilegesResponse success; // required
@@ -11976,13 +14550,13 @@ public class SentryPolicyService {
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
           new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryPrivilegesResponse.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_privileges_by_role_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_privileges_by_user_result.class, metaDataMap);
     }
 
-    public list_sentry_privileges_by_role_result() {
+    public list_sentry_privileges_by_user_result() {
     }
 
-    public list_sentry_privileges_by_role_result(
+    public list_sentry_privileges_by_user_result(
       TListSentryPrivilegesResponse success)
     {
       this();
@@ -11992,14 +14566,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public list_sentry_privileges_by_role_result(list_sentry_privileges_by_role_result other) {
+    public list_sentry_privileges_by_user_result(list_sentry_privileges_by_user_result other) {
       if (other.isSetSuccess()) {
         this.success = new TListSentryPrivilegesResponse(other.success);
       }
     }
 
-    public list_sentry_privileges_by_role_result deepCopy() {
-      return new list_sentry_privileges_by_role_result(this);
+    public list_sentry_privileges_by_user_result deepCopy() {
+      return new list_sentry_privileges_by_user_result(this);
     }
 
     @Override
@@ -12069,12 +14643,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof list_sentry_privileges_by_role_result)
-        return this.equals((list_sentry_privileges_by_role_result)that);
+      if (that instanceof list_sentry_privileges_by_user_result)
+        return this.equals((list_sentry_privileges_by_user_result)that);
       return false;
     }
 
-    public boolean equals(list_sentry_privileges_by_role_result that) {
+    public boolean equals(list_sentry_privileges_by_user_result that) {
       if (that == null)
         return false;
 
@@ -12103,7 +14677,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(list_sentry_privileges_by_role_result other) {
+    public int compareTo(list_sentry_privileges_by_user_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -12137,7 +14711,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("list_sentry_privileges_by_role_result(");
+      StringBuilder sb = new StringBuilder("list_sentry_privileges_by_user_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -12175,15 +14749,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class list_sentry_privileges_by_role_resultStandardSchemeFactory implements SchemeFactory {
-      public list_sentry_privileges_by_role_resultStandardScheme getScheme() {
-        return new list_sentry_privileges_by_role_resultStandardScheme();
+    private static class list_sentry_privileges_by_user_resultStandardSchemeFactory implements SchemeFactory {
+      public list_sentry_privileges_by_user_resultStandardScheme getScheme() {
+        return new list_sentry_privileges_by_user_resultStandardScheme();
       }
     }
 
-    private static class list_sentry_privileges_by_role_resultStandardScheme extends StandardScheme<list_sentry_privileges_by_role_result> {
+    private static class list_sentry_privileges_by_user_resultStandardScheme extends StandardScheme<list_sentry_privileges_by_user_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_privileges_by_role_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_privileges_by_user_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -12211,7 +14785,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_privileges_by_role_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_privileges_by_user_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -12226,16 +14800,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class list_sentry_privileges_by_role_resultTupleSchemeFactory implements SchemeFactory {
-      public list_sentry_privileges_by_role_resultTupleScheme getScheme() {
-        return new list_sentry_privileges_by_role_resultTupleScheme();
+    private static class list_sentry_privileges_by_user_resultTupleSchemeFactory implements SchemeFactory {
+      public list_sentry_privileges_by_user_resultTupleScheme getScheme() {
+        return new list_sentry_privileges_by_user_resultTupleScheme();
       }
     }
 
-    private static class list_sentry_privileges_by_role_resultTupleScheme extends TupleScheme<list_sentry_privileges_by_role_result> {
+    private static class list_sentry_privileges_by_user_resultTupleScheme extends TupleScheme<list_sentry_privileges_by_user_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_role_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_user_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
@@ -12248,7 +14822,7 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_role_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_user_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
@@ -12261,15 +14835,15 @@ public class SentryPolicyService {
 
   }
 
-  public static class list_sentry_privileges_by_user_args implements org.apache.thrift.TBase<list_sentry_privileges_by_user_args, list_sentry_privileges_by_user_args._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_privileges_by_user_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_privileges_by_user_args");
+  public static class list_sentry_privileges_by_user_and_itsgroups_args implements org.apache.thrift.TBase<list_sentry_privileges_by_user_and_itsgroups_args, list_sentry_privileges_by_user_and_itsgroups_args._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_privileges_by_user_and_itsgroups_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_privileges_by_user_and_itsgroups_args");
 
     private static final org.apache.thrift.protocol.TField REQUEST_FIELD_DESC = new org.apache.thrift.protocol.TField("request", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new list_sentry_privileges_by_user_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new list_sentry_privileges_by_user_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new list_sentry_privileges_by_user_and_itsgroups_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new list_sentry_privileges_by_user_and_itsgroups_argsTupleSchemeFactory());
     }
 
     private TListSentryPrivilegesRequest request; // required
@@ -12339,13 +14913,13 @@ public class SentryPolicyService {
       tmpMap.put(_Fields.REQUEST, new org.apache.thrift.meta_data.FieldMetaData("request", org.apache.thrift.TFieldRequirementType.DEFAULT, 
           new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryPrivilegesRequest.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_privileges_by_user_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_privileges_by_user_and_itsgroups_args.class, metaDataMap);
     }
 
-    public list_sentry_privileges_by_user_args() {
+    public list_sentry_privileges_by_user_and_itsgroups_args() {
     }
 
-    public list_sentry_privileges_by_user_args(
+    public list_sentry_privileges_by_user_and_itsgroups_args(
       TListSentryPrivilegesRequest request)
     {
       this();
@@ -12355,14 +14929,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public list_sentry_privileges_by_user_args(list_sentry_privileges_by_user_args other) {
+    public list_sentry_privileges_by_user_and_itsgroups_args(list_sentry_privileges_by_user_and_itsgroups_args other) {
       if (other.isSetRequest()) {
         this.request = new TListSentryPrivilegesRequest(other.request);
       }
     }
 
-    public list_sentry_privileges_by_user_args deepCopy() {
-      return new list_sentry_privileges_by_user_args(this);
+    public list_sentry_privileges_by_user_and_itsgroups_args deepCopy() {
+      return new list_sentry_privileges_by_user_and_itsgroups_args(this);
     }
 
     @Override
@@ -12432,12 +15006,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof list_sentry_privileges_by_user_args)
-        return this.equals((list_sentry_privileges_by_user_args)that);
+      if (that instanceof list_sentry_privileges_by_user_and_itsgroups_args)
+        return this.equals((list_sentry_privileges_by_user_and_itsgroups_args)that);
       return false;
     }
 
-    public boolean equals(list_sentry_privileges_by_user_args that) {
+    public boolean equals(list_sentry_privileges_by_user_and_itsgroups_args that) {
       if (that == null)
         return false;
 
@@ -12466,7 +15040,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(list_sentry_privileges_by_user_args other) {
+    public int compareTo(list_sentry_privileges_by_user_and_itsgroups_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -12500,7 +15074,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("list_sentry_privileges_by_user_args(");
+      StringBuilder sb = new StringBuilder("list_sentry_privileges_by_user_and_itsgroups_args(");
       boolean first = true;
 
       sb.append("request:");
@@ -12538,15 +15112,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class list_sentry_privileges_by_user_argsStandardSchemeFactory implements SchemeFactory {
-      public list_sentry_privileges_by_user_argsStandardScheme getScheme() {
-        return new list_sentry_privileges_by_user_argsStandardScheme();
+    private static class list_sentry_privileges_by_user_and_itsgroups_argsStandardSchemeFactory implements SchemeFactory {
+      public list_sentry_privileges_by_user_and_itsgroups_argsStandardScheme getScheme() {
+        return new list_sentry_privileges_by_user_and_itsgroups_argsStandardScheme();
       }
     }
 
-    private static class list_sentry_privileges_by_user_argsStandardScheme extends StandardScheme<list_sentry_privileges_by_user_args> {
+    private static class list_sentry_privileges_by_user_and_itsgroups_argsStandardScheme extends StandardScheme<list_sentry_privileges_by_user_and_itsgroups_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_privileges_by_user_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_privileges_by_user_and_itsgroups_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -12574,7 +15148,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_privileges_by_user_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_privileges_by_user_and_itsgroups_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -12589,16 +15163,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class list_sentry_privileges_by_user_argsTupleSchemeFactory implements SchemeFactory {
-      public list_sentry_privileges_by_user_argsTupleScheme getScheme() {
-        return new list_sentry_privileges_by_user_argsTupleScheme();
+    private static class list_sentry_privileges_by_user_and_itsgroups_argsTupleSchemeFactory implements SchemeFactory {
+      public list_sentry_privileges_by_user_and_itsgroups_argsTupleScheme getScheme() {
+        return new list_sentry_privileges_by_user_and_itsgroups_argsTupleScheme();
       }
     }
 
-    private static class list_sentry_privileges_by_user_argsTupleScheme extends TupleScheme<list_sentry_privileges_by_user_args> {
+    private static class list_sentry_privileges_by_user_and_itsgroups_argsTupleScheme extends TupleScheme<list_sentry_privileges_by_user_and_itsgroups_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_user_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_user_and_itsgroups_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetRequest()) {
@@ -12611,7 +15185,7 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_user_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_user_and_itsgroups_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
@@ -12624,15 +15198,15 @@ public class SentryPolicyService {
 
   }
 
-  public static class list_sentry_privileges_by_user_result implements org.apache.thrift.TBase<list_sentry_privileges_by_user_result, list_sentry_privileges_by_user_result._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_privileges_by_user_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_privileges_by_user_result");
+  public static class list_sentry_privileges_by_user_and_itsgroups_result implements org.apache.thrift.TBase<list_sentry_privileges_by_user_and_itsgroups_result, list_sentry_privileges_by_user_and_itsgroups_result._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_privileges_by_user_and_itsgroups_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_privileges_by_user_and_itsgroups_result");
 
     private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new list_sentry_privileges_by_user_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new list_sentry_privileges_by_user_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new list_sentry_privileges_by_user_and_itsgroups_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new list_sentry_privileges_by_user_and_itsgroups_resultTupleSchemeFactory());
     }
 
     private TListSentryPrivilegesResponse success; // required
@@ -12702,13 +15276,13 @@ public class SentryPolicyService {
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
           new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryPrivilegesResponse.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_privileges_by_user_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_privileges_by_user_and_itsgroups_result.class, metaDataMap);
     }
 
-    public list_sentry_privileges_by_user_result() {
+    public list_sentry_privileges_by_user_and_itsgroups_result() {
     }
 
-    public list_sentry_privileges_by_user_result(
+    public list_sentry_privileges_by_user_and_itsgroups_result(
       TListSentryPrivilegesResponse success)
     {
       this();
@@ -12718,14 +15292,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public list_sentry_privileges_by_user_result(list_sentry_privileges_by_user_result other) {
+    public list_sentry_privileges_by_user_and_itsgroups_result(list_sentry_privileges_by_user_and_itsgroups_result other) {
       if (other.isSetSuccess()) {
         this.success = new TListSentryPrivilegesResponse(other.success);
       }
     }
 
-    public list_sentry_privileges_by_user_result deepCopy() {
-      return new list_sentry_privileges_by_user_result(this);
+    public list_sentry_privileges_by_user_and_itsgroups_result deepCopy() {
+      return new list_sentry_privileges_by_user_and_itsgroups_result(this);
     }
 
     @Override
@@ -12795,12 +15369,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof list_sentry_privileges_by_user_result)
-        return this.equals((list_sentry_privileges_by_user_result)that);
+      if (that instanceof list_sentry_privileges_by_user_and_itsgroups_result)
+        return this.equals((list_sentry_privileges_by_user_and_itsgroups_result)that);
       return false;
     }
 
-    public boolean equals(list_sentry_privileges_by_user_result that) {
+    public boolean equals(list_sentry_privileges_by_user_and_itsgroups_result that) {
       if (that == null)
         return false;
 
@@ -12829,7 +15403,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(list_sentry_privileges_by_user_result other) {
+    public int compareTo(list_sentry_privileges_by_user_and_itsgroups_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -12863,7 +15437,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("list_sentry_privileges_by_user_result(");
+      StringBuilder sb = new StringBuilder("list_sentry_privileges_by_user_and_itsgroups_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -12901,15 +15475,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class list_sentry_privileges_by_user_resultStandardSchemeFactory implements SchemeFactory {
-      public list_sentry_privileges_by_user_resultStandardScheme getScheme() {
-        return new list_sentry_privileges_by_user_resultStandardScheme();
+    private static class list_sentry_privileges_by_user_and_itsgroups_resultStandardSchemeFactory implements SchemeFactory {
+      public list_sentry_privileges_by_user_and_itsgroups_resultStandardScheme getScheme() {
+        return new list_sentry_privileges_by_user_and_itsgroups_resultStandardScheme();
       }
     }
 
-    private static class list_sentry_privileges_by_user_resultStandardScheme extends StandardScheme<list_sentry_privileges_by_user_result> {
+    private static class list_sentry_privileges_by_user_and_itsgroups_resultStandardScheme extends StandardScheme<list_sentry_privileges_by_user_and_itsgroups_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_privileges_by_user_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_privileges_by_user_and_itsgroups_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -12937,7 +15511,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_privileges_by_user_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_privileges_by_user_and_itsgroups_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -12952,16 +15526,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class list_sentry_privileges_by_user_resultTupleSchemeFactory implements SchemeFactory {
-      public list_sentry_privileges_by_user_resultTupleScheme getScheme() {
-        return new list_sentry_privileges_by_user_resultTupleScheme();
+    private static class list_sentry_privileges_by_user_and_itsgroups_resultTupleSchemeFactory implements SchemeFactory {
+      public list_sentry_privileges_by_user_and_itsgroups_resultTupleScheme getScheme() {
+        return new list_sentry_privileges_by_user_and_itsgroups_resultTupleScheme();
       }
     }
 
-    private static class list_sentry_privileges_by_user_resultTupleScheme extends TupleScheme<list_sentry_privileges_by_user_result> {
+    private static class list_sentry_privileges_by_user_and_itsgroups_resultTupleScheme extends TupleScheme<list_sentry_privileges_by_user_and_itsgroups_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_user_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_user_and_itsgroups_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
@@ -12974,7 +15548,7 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_user_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_user_and_itsgroups_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
@@ -12987,18 +15561,18 @@ public class SentryPolicyService {
 
   }
 
-  public static class list_sentry_privileges_by_user_and_itsgroups_args implements org.apache.thrift.TBase<list_sentry_privileges_by_user_and_itsgroups_args, list_sentry_privileges_by_user_and_itsgroups_args._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_privileges_by_user_and_itsgroups_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_privileges_by_user_and_itsgroups_args");
+  public static class list_sentry_privileges_for_provider_args implements org.apache.thrift.TBase<list_sentry_privileges_for_provider_args, list_sentry_privileges_for_provider_args._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_privileges_for_provider_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_privileges_for_provider_args");
 
     private static final org.apache.thrift.protocol.TField REQUEST_FIELD_DESC = new org.apache.thrift.protocol.TField("request", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new list_sentry_privileges_by_user_and_itsgroups_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new list_sentry_privileges_by_user_and_itsgroups_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new list_sentry_privileges_for_provider_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new list_sentry_privileges_for_provider_argsTupleSchemeFactory());
     }
 
-    private TListSentryPrivilegesRequest request; // required
+    private TListSentryPrivilegesForProviderRequest request; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -13063,16 +15637,16 @@ public class SentryPolicyService {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.REQUEST, new org.apache.thrift.meta_data.FieldMetaData("request", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryPrivilegesRequest.class)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryPrivilegesForProviderRequest.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_privileges_by_user_and_itsgroups_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_privileges_for_provider_args.class, metaDataMap);
     }
 
-    public list_sentry_privileges_by_user_and_itsgroups_args() {
+    public list_sentry_privileges_for_provider_args() {
     }
 
-    public list_sentry_privileges_by_user_and_itsgroups_args(
-      TListSentryPrivilegesRequest request)
+    public list_sentry_privileges_for_provider_args(
+      TListSentryPrivilegesForProviderRequest request)
     {
       this();
       this.request = request;
@@ -13081,14 +15655,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public list_sentry_privileges_by_user_and_itsgroups_args(list_sentry_privileges_by_user_and_itsgroups_args other) {
+    public list_sentry_privileges_for_provider_args(list_sentry_privileges_for_provider_args other) {
       if (other.isSetRequest()) {
-        this.request = new TListSentryPrivilegesRequest(other.request);
+        this.request = new TListSentryPrivilegesForProviderRequest(other.request);
       }
     }
 
-    public list_sentry_privileges_by_user_and_itsgroups_args deepCopy() {
-      return new list_sentry_privileges_by_user_and_itsgroups_args(this);
+    public list_sentry_privileges_for_provider_args deepCopy() {
+      return new list_sentry_privileges_for_provider_args(this);
     }
 
     @Override
@@ -13096,11 +15670,11 @@ public class SentryPolicyService {
       this.request = null;
     }
 
-    public TListSentryPrivilegesRequest getRequest() {
+    public TListSentryPrivilegesForProviderRequest getRequest() {
       return this.request;
     }
 
-    public void setRequest(TListSentryPrivilegesRequest request) {
+    public void setRequest(TListSentryPrivilegesForProviderRequest request) {
       this.request = request;
     }
 
@@ -13125,7 +15699,7 @@ public class SentryPolicyService {
         if (value == null) {
           unsetRequest();
         } else {
-          setRequest((TListSentryPrivilegesRequest)value);
+          setRequest((TListSentryPrivilegesForProviderRequest)value);
         }
         break;
 
@@ -13158,12 +15732,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof list_sentry_privileges_by_user_and_itsgroups_args)
-        return this.equals((list_sentry_privileges_by_user_and_itsgroups_args)that);
+      if (that instanceof list_sentry_privileges_for_provider_args)
+        return this.equals((list_sentry_privileges_for_provider_args)that);
       return false;
     }
 
-    public boolean equals(list_sentry_privileges_by_user_and_itsgroups_args that) {
+    public boolean equals(list_sentry_privileges_for_provider_args that) {
       if (that == null)
         return false;
 
@@ -13192,7 +15766,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(list_sentry_privileges_by_user_and_itsgroups_args other) {
+    public int compareTo(list_sentry_privileges_for_provider_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -13226,7 +15800,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("list_sentry_privileges_by_user_and_itsgroups_args(");
+      StringBuilder sb = new StringBuilder("list_sentry_privileges_for_provider_args(");
       boolean first = true;
 
       sb.append("request:");
@@ -13264,15 +15838,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class list_sentry_privileges_by_user_and_itsgroups_argsStandardSchemeFactory implements SchemeFactory {
-      public list_sentry_privileges_by_user_and_itsgroups_argsStandardScheme getScheme() {
-        return new list_sentry_privileges_by_user_and_itsgroups_argsStandardScheme();
+    private static class list_sentry_privileges_for_provider_argsStandardSchemeFactory implements SchemeFactory {
+      public list_sentry_privileges_for_provider_argsStandardScheme getScheme() {
+        return new list_sentry_privileges_for_provider_argsStandardScheme();
       }
     }
 
-    private static class list_sentry_privileges_by_user_and_itsgroups_argsStandardScheme extends StandardScheme<list_sentry_privileges_by_user_and_itsgroups_args> {
+    private static class list_sentry_privileges_for_provider_argsStandardScheme extends StandardScheme<list_sentry_privileges_for_provider_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_privileges_by_user_and_itsgroups_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_privileges_for_provider_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -13284,7 +15858,7 @@ public class SentryPolicyService {
           switch (schemeField.id) {
             case 1: // REQUEST
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.request = new TListSentryPrivilegesRequest();
+                struct.request = new TListSentryPrivilegesForProviderRequest();
                 struct.request.read(iprot);
                 struct.setRequestIsSet(true);
               } else { 
@@ -13300,7 +15874,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_privileges_by_user_and_itsgroups_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_privileges_for_provider_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -13315,16 +15889,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class list_sentry_privileges_by_user_and_itsgroups_argsTupleSchemeFactory implements SchemeFactory {
-      public list_sentry_privileges_by_user_and_itsgroups_argsTupleScheme getScheme() {
-        return new list_sentry_privileges_by_user_and_itsgroups_argsTupleScheme();
+    private static class list_sentry_privileges_for_provider_argsTupleSchemeFactory implements SchemeFactory {
+      public list_sentry_privileges_for_provider_argsTupleScheme getScheme() {
+        return new list_sentry_privileges_for_provider_argsTupleScheme();
       }
     }
 
-    private static class list_sentry_privileges_by_user_and_itsgroups_argsTupleScheme extends TupleScheme<list_sentry_privileges_by_user_and_itsgroups_args> {
+    private static class list_sentry_privileges_for_provider_argsTupleScheme extends TupleScheme<list_sentry_privileges_for_provider_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_user_and_itsgroups_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_for_provider_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetRequest()) {
@@ -13337,11 +15911,11 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_user_and_itsgroups_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_for_provider_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.request = new TListSentryPrivilegesRequest();
+          struct.request = new TListSentryPrivilegesForProviderRequest();
           struct.request.read(iprot);
           struct.setRequestIsSet(true);
         }
@@ -13350,18 +15924,18 @@ public class SentryPolicyService {
 
   }
 
-  public static class list_sentry_privileges_by_user_and_itsgroups_result implements org.apache.thrift.TBase<list_sentry_privileges_by_user_and_itsgroups_result, list_sentry_privileges_by_user_and_itsgroups_result._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_privileges_by_user_and_itsgroups_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_privileges_by_user_and_itsgroups_result");
+  public static class list_sentry_privileges_for_provider_result implements org.apache.thrift.TBase<list_sentry_privileges_for_provider_result, list_sentry_privileges_for_provider_result._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_privileges_for_provider_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_privileges_for_provider_result");
 
     private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new list_sentry_privileges_by_user_and_itsgroups_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new list_sentry_privileges_by_user_and_itsgroups_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new list_sentry_privileges_for_provider_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new list_sentry_privileges_for_provider_resultTupleSchemeFactory());
     }
 
-    private TListSentryPrivilegesResponse success; // required
+    private TListSentryPrivilegesForProviderResponse success; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -13426,16 +16000,16 @@ public class SentryPolicyService {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryPrivilegesResponse.class)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryPrivilegesForProviderResponse.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_privileges_by_user_and_itsgroups_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_privileges_for_provider_result.class, metaDataMap);
     }
 
-    public list_sentry_privileges_by_user_and_itsgroups_result() {
+    public list_sentry_privileges_for_provider_result() {
     }
 
-    public list_sentry_privileges_by_user_and_itsgroups_result(
-      TListSentryPrivilegesResponse success)
+    public list_sentry_privileges_for_provider_result(
+      TListSentryPrivilegesForProviderResponse success)
     {
       this();
       this.success = success;
@@ -13444,14 +16018,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public list_sentry_privileges_by_user_and_itsgroups_result(list_sentry_privileges_by_user_and_itsgroups_result other) {
+    public list_sentry_privileges_for_provider_result(list_sentry_privileges_for_provider_result other) {
       if (other.isSetSuccess()) {
-        this.success = new TListSentryPrivilegesResponse(other.success);
+        this.success = new TListSentryPrivilegesForProviderResponse(other.success);
       }
     }
 
-    public list_sentry_privileges_by_user_and_itsgroups_result deepCopy() {
-      return new list_sentry_privileges_by_user_and_itsgroups_result(this);
+    public list_sentry_privileges_for_provider_result deepCopy() {
+      return new list_sentry_privileges_for_provider_result(this);
     }
 
     @Override
@@ -13459,11 +16033,11 @@ public class SentryPolicyService {
       this.success = null;
     }
 
-    public TListSentryPrivilegesResponse getSuccess() {
+    public TListSentryPrivilegesForProviderResponse getSuccess() {
       return this.success;
     }
 
-    public void setSuccess(TListSentryPrivilegesResponse success) {
+    public void setSuccess(TListSentryPrivilegesForProviderResponse success) {
       this.success = success;
     }
 
@@ -13488,7 +16062,7 @@ public class SentryPolicyService {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((TListSentryPrivilegesResponse)value);
+          setSuccess((TListSentryPrivilegesForProviderResponse)value);
         }
         break;
 
@@ -13521,12 +16095,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof list_sentry_privileges_by_user_and_itsgroups_result)
-        return this.equals((list_sentry_privileges_by_user_and_itsgroups_result)that);
+      if (that instanceof list_sentry_privileges_for_provider_result)
+        return this.equals((list_sentry_privileges_for_provider_result)that);
       return false;
     }
 
-    public boolean equals(list_sentry_privileges_by_user_and_itsgroups_result that) {
+    public boolean equals(list_sentry_privileges_for_provider_result that) {
       if (that == null)
         return false;
 
@@ -13555,7 +16129,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(list_sentry_privileges_by_user_and_itsgroups_result other) {
+    public int compareTo(list_sentry_privileges_for_provider_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -13589,7 +16163,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("list_sentry_privileges_by_user_and_itsgroups_result(");
+      StringBuilder sb = new StringBuilder("list_sentry_privileges_for_provider_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -13627,15 +16201,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class list_sentry_privileges_by_user_and_itsgroups_resultStandardSchemeFactory implements SchemeFactory {
-      public list_sentry_privileges_by_user_and_itsgroups_resultStandardScheme getScheme() {
-        return new list_sentry_privileges_by_user_and_itsgroups_resultStandardScheme();
+    private static class list_sentry_privileges_for_provider_resultStandardSchemeFactory implements SchemeFactory {
+      public list_sentry_privileges_for_provider_resultStandardScheme getScheme() {
+        return new list_sentry_privileges_for_provider_resultStandardScheme();
       }
     }
 
-    private static class list_sentry_privileges_by_user_and_itsgroups_resultStandardScheme extends StandardScheme<list_sentry_privileges_by_user_and_itsgroups_result> {
+    private static class list_sentry_privileges_for_provider_resultStandardScheme extends StandardScheme<list_sentry_privileges_for_provider_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_privileges_by_user_and_itsgroups_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_privileges_for_provider_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -13647,7 +16221,7 @@ public class SentryPolicyService {
           switch (schemeField.id) {
             case 0: // SUCCESS
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.success = new TListSentryPrivilegesResponse();
+                struct.success = new TListSentryPrivilegesForProviderResponse();
                 struct.success.read(iprot);
                 struct.setSuccessIsSet(true);
               } else { 
@@ -13663,7 +16237,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_privileges_by_user_and_itsgroups_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_privileges_for_provider_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -13678,16 +16252,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class list_sentry_privileges_by_user_and_itsgroups_resultTupleSchemeFactory implements SchemeFactory {
-      public list_sentry_privileges_by_user_and_itsgroups_resultTupleScheme getScheme() {
-        return new list_sentry_privileges_by_user_and_itsgroups_resultTupleScheme();
+    private static class list_sentry_privileges_for_provider_resultTupleSchemeFactory implements SchemeFactory {
+      public list_sentry_privileges_for_provider_resultTupleScheme getScheme() {
+        return new list_sentry_privileges_for_provider_resultTupleScheme();
       }
     }
 
-    private static class list_sentry_privileges_by_user_and_itsgroups_resultTupleScheme extends TupleScheme<list_sentry_privileges_by_user_and_itsgroups_result> {
+    private static class list_sentry_privileges_for_provider_resultTupleScheme extends TupleScheme<list_sentry_privileges_for_provider_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_user_and_itsgroups_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_for_provider_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
@@ -13700,11 +16274,11 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_by_user_and_itsgroups_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_for_provider_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.success = new TListSentryPrivilegesResponse();
+          struct.success = new TListSentryPrivilegesForProviderResponse();
           struct.success.read(iprot);
           struct.setSuccessIsSet(true);
         }
@@ -13713,18 +16287,18 @@ public class SentryPolicyService {
 
   }
 
-  public static class list_sentry_privileges_for_provider_args implements org.apache.thrift.TBase<list_sentry_privileges_for_provider_args, list_sentry_privileges_for_provider_args._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_privileges_for_provider_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_privileges_for_provider_args");
+  public static class check_sentry_authorization_args implements org.apache.thrift.TBase<check_sentry_authorization_args, check_sentry_authorization_args._Fields>, java.io.Serializable, Cloneable, Comparable<check_sentry_authorization_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("check_sentry_authorization_args");
 
     private static final org.apache.thrift.protocol.TField REQUEST_FIELD_DESC = new org.apache.thrift.protocol.TField("request", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new list_sentry_privileges_for_provider_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new list_sentry_privileges_for_provider_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new check_sentry_authorization_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new check_sentry_authorization_argsTupleSchemeFactory());
     }
 
-    private TListSentryPrivilegesForProviderRequest request; // required
+    private TSentryAuthorizationRequest request; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -13789,16 +16363,16 @@ public class SentryPolicyService {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.REQUEST, new org.apache.thrift.meta_data.FieldMetaData("request", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryPrivilegesForProviderRequest.class)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TSentryAuthorizationRequest.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_privileges_for_provider_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(check_sentry_authorization_args.class, metaDataMap);
     }
 
-    public list_sentry_privileges_for_provider_args() {
+    public check_sentry_authorization_args() {
     }
 
-    public list_sentry_privileges_for_provider_args(
-      TListSentryPrivilegesForProviderRequest request)
+    public check_sentry_authorization_args(
+      TSentryAuthorizationRequest request)
     {
       this();
       this.request = request;
@@ -13807,14 +16381,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public list_sentry_privileges_for_provider_args(list_sentry_privileges_for_provider_args other) {
+    public check_sentry_authorization_args(check_sentry_authorization_args other) {
       if (other.isSetRequest()) {
-        this.request = new TListSentryPrivilegesForProviderRequest(other.request);
+        this.request = new TSentryAuthorizationRequest(other.request);
       }
     }
 
-    public list_sentry_privileges_for_provider_args deepCopy() {
-      return new list_sentry_privileges_for_provider_args(this);
+    public check_sentry_authorization_args deepCopy() {
+      return new check_sentry_authorization_args(this);
     }
 
     @Override
@@ -13822,11 +16396,11 @@ public class SentryPolicyService {
       this.request = null;
     }
 
-    public TListSentryPrivilegesForProviderRequest getRequest() {
+    public TSentryAuthorizationRequest getRequest() {
       return this.request;
     }
 
-    public void setRequest(TListSentryPrivilegesForProviderRequest request) {
+    public void setRequest(TSentryAuthorizationRequest request) {
       this.request = request;
     }
 
@@ -13851,7 +16425,7 @@ public class SentryPolicyService {
         if (value == null) {
           unsetRequest();
         } else {
-          setRequest((TListSentryPrivilegesForProviderRequest)value);
+          setRequest((TSentryAuthorizationRequest)value);
         }
         break;
 
@@ -13884,12 +16458,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof list_sentry_privileges_for_provider_args)
-        return this.equals((list_sentry_privileges_for_provider_args)that);
+      if (that instanceof check_sentry_authorization_args)
+        return this.equals((check_sentry_authorization_args)that);
       return false;
     }
 
-    public boolean equals(list_sentry_privileges_for_provider_args that) {
+    public boolean equals(check_sentry_authorization_args that) {
       if (that == null)
         return false;
 
@@ -13918,7 +16492,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(list_sentry_privileges_for_provider_args other) {
+    public int compareTo(check_sentry_authorization_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -13952,7 +16526,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("list_sentry_privileges_for_provider_args(");
+      StringBuilder sb = new StringBuilder("check_sentry_authorization_args(");
       boolean first = true;
 
       sb.append("request:");
@@ -13990,15 +16564,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class list_sentry_privileges_for_provider_argsStandardSchemeFactory implements SchemeFactory {
-      public list_sentry_privileges_for_provider_argsStandardScheme getScheme() {
-        return new list_sentry_privileges_for_provider_argsStandardScheme();
+    private static class check_sentry_authorization_argsStandardSchemeFactory implements SchemeFactory {
+      public check_sentry_authorization_argsStandardScheme getScheme() {
+        return new check_sentry_authorization_argsStandardScheme();
       }
     }
 
-    private static class list_sentry_privileges_for_provider_argsStandardScheme extends StandardScheme<list_sentry_privileges_for_provider_args> {
+    private static class check_sentry_authorization_argsStandardScheme extends StandardScheme<check_sentry_authorization_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_privileges_for_provider_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, check_sentry_authorization_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -14010,7 +16584,7 @@ public class SentryPolicyService {
           switch (schemeField.id) {
             case 1: // REQUEST
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.request = new TListSentryPrivilegesForProviderRequest();
+                struct.request = new TSentryAuthorizationRequest();
                 struct.request.read(iprot);
                 struct.setRequestIsSet(true);
               } else { 
@@ -14026,7 +16600,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_privileges_for_provider_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, check_sentry_authorization_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -14041,16 +16615,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class list_sentry_privileges_for_provider_argsTupleSchemeFactory implements SchemeFactory {
-      public list_sentry_privileges_for_provider_argsTupleScheme getScheme() {
-        return new list_sentry_privileges_for_provider_argsTupleScheme();
+    private static class check_sentry_authorization_argsTupleSchemeFactory implements SchemeFactory {
+      public check_sentry_authorization_argsTupleScheme getScheme() {
+        return new check_sentry_authorization_argsTupleScheme();
       }
     }
 
-    private static class list_sentry_privileges_for_provider_argsTupleScheme extends TupleScheme<list_sentry_privileges_for_provider_args> {
+    private static class check_sentry_authorization_argsTupleScheme extends TupleScheme<check_sentry_authorization_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_for_provider_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, check_sentry_authorization_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetRequest()) {
@@ -14063,11 +16637,11 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_for_provider_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, check_sentry_authorization_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.request = new TListSentryPrivilegesForProviderRequest();
+          struct.request = new TSentryAuthorizationRequest();
           struct.request.read(iprot);
           struct.setRequestIsSet(true);
         }
@@ -14076,18 +16650,18 @@ public class SentryPolicyService {
 
   }
 
-  public static class list_sentry_privileges_for_provider_result implements org.apache.thrift.TBase<list_sentry_privileges_for_provider_result, list_sentry_privileges_for_provider_result._Fields>, java.io.Serializable, Cloneable, Comparable<list_sentry_privileges_for_provider_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("list_sentry_privileges_for_provider_result");
+  public static class check_sentry_authorization_result implements org.apache.thrift.TBase<check_sentry_authorization_result, check_sentry_authorization_result._Fields>, java.io.Serializable, Cloneable, Comparable<check_sentry_authorization_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("check_sentry_authorization_result");
 
     private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new list_sentry_privileges_for_provider_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new list_sentry_privileges_for_provider_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new check_sentry_authorization_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new check_sentry_authorization_resultTupleSchemeFactory());
     }
 
-    private TListSentryPrivilegesForProviderResponse success; // required
+    private TSentryAuthorizationResponse success; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -14152,16 +16726,16 @@ public class SentryPolicyService {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TListSentryPrivilegesForProviderResponse.class)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TSentryAuthorizationResponse.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(list_sentry_privileges_for_provider_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(check_sentry_authorization_result.class, metaDataMap);
     }
 
-    public list_sentry_privileges_for_provider_result() {
+    public check_sentry_authorization_result() {
     }
 
-    public list_sentry_privileges_for_provider_result(
-      TListSentryPrivilegesForProviderResponse success)
+    public check_sentry_authorization_result(
+      TSentryAuthorizationResponse success)
     {
       this();
       this.success = success;
@@ -14170,14 +16744,14 @@ public class SentryPolicyService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public list_sentry_privileges_for_provider_result(list_sentry_privileges_for_provider_result other) {
+    public check_sentry_authorization_result(check_sentry_authorization_result other) {
       if (other.isSetSuccess()) {
-        this.success = new TListSentryPrivilegesForProviderResponse(other.success);
+        this.success = new TSentryAuthorizationResponse(other.success);
       }
     }
 
-    public list_sentry_privileges_for_provider_result deepCopy() {
-      return new list_sentry_privileges_for_provider_result(this);
+    public check_sentry_authorization_result deepCopy() {
+      return new check_sentry_authorization_result(this);
     }
 
     @Override
@@ -14185,11 +16759,11 @@ public class SentryPolicyService {
       this.success = null;
     }
 
-    public TListSentryPrivilegesForProviderResponse getSuccess() {
+    public TSentryAuthorizationResponse getSuccess() {
       return this.success;
     }
 
-    public void setSuccess(TListSentryPrivilegesForProviderResponse success) {
+    public void setSuccess(TSentryAuthorizationResponse success) {
       this.success = success;
     }
 
@@ -14214,7 +16788,7 @@ public class SentryPolicyService {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((TListSentryPrivilegesForProviderResponse)value);
+          setSuccess((TSentryAuthorizationResponse)value);
         }
         break;
 
@@ -14247,12 +16821,12 @@ public class SentryPolicyService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof list_sentry_privileges_for_provider_result)
-        return this.equals((list_sentry_privileges_for_provider_result)that);
+      if (that instanceof check_sentry_authorization_result)
+        return this.equals((check_sentry_authorization_result)that);
       return false;
     }
 
-    public boolean equals(list_sentry_privileges_for_provider_result that) {
+    public boolean equals(check_sentry_authorization_result that) {
       if (that == null)
         return false;
 
@@ -14281,7 +16855,7 @@ public class SentryPolicyService {
     }
 
     @Override
-    public int compareTo(list_sentry_privileges_for_provider_result other) {
+    public int compareTo(check_sentry_authorization_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -14315,7 +16889,7 @@ public class SentryPolicyService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("list_sentry_privileges_for_provider_result(");
+      StringBuilder sb = new StringBuilder("check_sentry_authorization_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -14353,15 +16927,15 @@ public class SentryPolicyService {
       }
     }
 
-    private static class list_sentry_privileges_for_provider_resultStandardSchemeFactory implements SchemeFactory {
-      public list_sentry_privileges_for_provider_resultStandardScheme getScheme() {
-        return new list_sentry_privileges_for_provider_resultStandardScheme();
+    private static class check_sentry_authorization_resultStandardSchemeFactory implements SchemeFactory {
+      public check_sentry_authorization_resultStandardScheme getScheme() {
+        return new check_sentry_authorization_resultStandardScheme();
       }
     }
 
-    private static class list_sentry_privileges_for_provider_resultStandardScheme extends StandardScheme<list_sentry_privileges_for_provider_result> {
+    private static class check_sentry_authorization_resultStandardScheme extends StandardScheme<check_sentry_authorization_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, list_sentry_privileges_for_provider_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, check_sentry_authorization_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -14373,7 +16947,7 @@ public class SentryPolicyService {
           switch (schemeField.id) {
             case 0: // SUCCESS
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.success = new TListSentryPrivilegesForProviderResponse();
+                struct.success = new TSentryAuthorizationResponse();
                 struct.success.read(iprot);
                 struct.setSuccessIsSet(true);
               } else { 
@@ -14389,7 +16963,7 @@ public class SentryPolicyService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, list_sentry_privileges_for_provider_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, check_sentry_authorization_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -14404,16 +16978,16 @@ public class SentryPolicyService {
 
     }
 
-    private static class list_sentry_privileges_for_provider_resultTupleSchemeFactory implements SchemeFactory {
-      public list_sentry_privileges_for_provider_resultTupleScheme getScheme() {
-        return new list_sentry_privileges_for_provider_resultTupleScheme();
+    private static class check_sentry_authorization_resultTupleSchemeFactory implements SchemeFactory {
+      public check_sentry_authorization_resultTupleScheme getScheme() {
+        return new check_sentry_authorization_resultTupleScheme();
       }
     }
 
-    private static class list_sentry_privileges_for_provider_resultTupleScheme extends TupleScheme<list_sentry_privileges_for_provider_result> {
+    private static class check_sentry_authorization_resultTupleScheme extends TupleScheme<check_sentry_authorization_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_for_provider_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, check_sentry_authorization_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
@@ -14426,11 +17000,11 @@ public class SentryPolicyService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, list_sentry_privileges_for_provider_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, check_sentry_authorization_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.success = new TListSentryPrivilegesForProviderResponse();
+          struct.success = new TSentryAuthorizationResponse();
           struct.success.read(iprot);
           struct.setSuccessIsSet(true);
         }
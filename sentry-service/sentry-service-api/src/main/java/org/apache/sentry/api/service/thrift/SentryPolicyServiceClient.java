@@ -183,9 +183,39 @@ public interface SentryPolicyServiceClient extends AutoCloseable {
   void revokePrivilege(String requestorUserName, String roleName, TSentryPrivilege privilege)
       throws SentryUserException;
 
+  /**
+   * Grant the same privileges to several roles in a single request.
+   *
+   * @return the privileges actually granted
+   */
+  Set<TSentryPrivilege> grantPrivileges(String requestorUserName, Set<String> roleNames,
+      Set<TSentryPrivilege> privileges) throws SentryUserException;
+
+  /**
+   * Revoke the same privileges from several roles in a single request.
+   */
+  void revokePrivileges(String requestorUserName, Set<String> roleNames,
+      Set<TSentryPrivilege> privileges) throws SentryUserException;
+
   Set<String> listPrivilegesForProvider(Set<String> groups, Set<String> users,
       ActiveRoleSet roleSet, Authorizable... authorizable) throws SentryUserException;
 
+  /**
+   * Evaluate authorization requests on the Sentry server. A hierarchy is authorized
+   * when any of the actions is implied by a privilege of the groups, users and roles.
+   *
+   * @param groups groups of the subject
+   * @param users users of the subject, may be null
+   * @param roleSet active roles of the subject
+   * @param authorizableHierarchies hierarchies to authorize
+   * @param actions actions requested on every hierarchy
+   * @param requireGrantOption whether the privileges must carry the grant option
+   * @return one decision per hierarchy, in the order of the hierarchies
+   */
+  List<Boolean> checkAuthorization(Set<String> groups, Set<String> users,
+      ActiveRoleSet roleSet, List<? extends List<? extends Authorizable>> authorizableHierarchies,
+      Set<String> actions, boolean requireGrantOption) throws SentryUserException;
+
   void grantRoleToGroup(String requestorUserName, String groupName, String roleName)
       throws SentryUserException;
 
@@ -577,6 +577,42 @@ public class SentryPolicyServiceClientDefaultImpl implements SentryPolicyService
     }
   }
 
+  @Override
+  public Set<TSentryPrivilege> grantPrivileges(String requestorUserName, Set<String> roleNames,
+                                               Set<TSentryPrivilege> privileges)
+    throws SentryUserException {
+    TAlterSentryRolesGrantPrivilegesRequest request = new TAlterSentryRolesGrantPrivilegesRequest();
+    request.setProtocol_version(ThriftConstants.TSENTRY_SERVICE_VERSION_CURRENT);
+    request.setRequestorUserName(requestorUserName);
+    request.setRoleNames(roleNames);
+    request.setPrivileges(privileges);
+    try {
+      TAlterSentryRolesGrantPrivilegesResponse response =
+        client.alter_sentry_roles_grant_privileges(request);
+      Status.throwIfNotOk(response.getStatus());
+      return response.getPrivileges();
+    } catch (TException e) {
+      throw new SentryUserException(THRIFT_EXCEPTION_MESSAGE, e);
+    }
+  }
+
+  @Override
+  public void revokePrivileges(String requestorUserName, Set<String> roleNames,
+                               Set<TSentryPrivilege> privileges) throws SentryUserException {
+    TAlterSentryRolesRevokePrivilegesRequest request = new TAlterSentryRolesRevokePrivilegesRequest();
+    request.setProtocol_version(ThriftConstants.TSENTRY_SERVICE_VERSION_CURRENT);
+    request.setRequestorUserName(requestorUserName);
+    request.setRoleNames(roleNames);
+    request.setPrivileges(privileges);
+    try {
+      TAlterSentryRolesRevokePrivilegesResponse response =
+        client.alter_sentry_roles_revoke_privileges(request);
+      Status.throwIfNotOk(response.getStatus());
+    } catch (TException e) {
+      throw new SentryUserException(THRIFT_EXCEPTION_MESSAGE, e);
+    }
+  }
+
   @Override
   public void revokeURIPrivilege(String requestorUserName,
                                               String roleName, String server, String uri)
@@ -813,6 +849,31 @@ public class SentryPolicyServiceClientDefaultImpl implements SentryPolicyService
     }
   }
 
+  @Override
+  public List<Boolean> checkAuthorization(Set<String> groups, Set<String> users,
+      ActiveRoleSet roleSet, List<? extends List<? extends Authorizable>> authorizableHierarchies,
+      Set<String> actions, boolean requireGrantOption) throws SentryUserException {
+    TSentryActiveRoleSet thriftRoleSet = new TSentryActiveRoleSet(roleSet.isAll(), roleSet.getRoles());
+    List<TSentryAuthorizable> tSentryAuthorizables =
+        Lists.newArrayListWithCapacity(authorizableHierarchies.size());
+    for (List<? extends Authorizable> authorizableHierarchy : authorizableHierarchies) {
+      tSentryAuthorizables.add(setupSentryAuthorizable(authorizableHierarchy));
+    }
+    TSentryAuthorizationRequest request = new TSentryAuthorizationRequest(ThriftConstants.
+        TSENTRY_SERVICE_VERSION_CURRENT, groups, thriftRoleSet, tSentryAuthorizables, actions);
+    request.setRequireGrantOption(requireGrantOption);
+    if (users != null) {
+      request.setUsers(users);
+    }
+    try {
+      TSentryAuthorizationResponse response = client.check_sentry_authorization(request);
+      Status.throwIfNotOk(response.getStatus());
+      return response.getDecisions();
+    } catch (TException e) {
+      throw new SentryUserException(THRIFT_EXCEPTION_MESSAGE, e);
+    }
+  }
+
   @Override
   public void grantRoleToGroup(String requestorUserName,
                                             String groupName, String roleName)
@@ -163,6 +163,29 @@ struct TAlterSentryRoleRevokePrivilegeResponse {
 1: required sentry_common_service.TSentryResponseStatus status
 }
 
+# GRANT ... ON ... TO ROLE ..., ROLE ... in bulk
+struct TAlterSentryRolesGrantPrivilegesRequest {
+1: required i32 protocol_version = sentry_common_service.TSENTRY_SERVICE_V2,
+2: required string requestorUserName, # user on whose behalf the request is issued
+3: required set<string> roleNames,
+4: required set<TSentryPrivilege> privileges
+}
+struct TAlterSentryRolesGrantPrivilegesResponse {
+1: required sentry_common_service.TSentryResponseStatus status
+2: optional set<TSentryPrivilege> privileges
+}
+
+# REVOKE ... ON ... FROM ROLE ..., ROLE ... in bulk
+struct TAlterSentryRolesRevokePrivilegesRequest {
+1: required i32 protocol_version = sentry_common_service.TSENTRY_SERVICE_V2,
+2: required string requestorUserName, # user on whose behalf the request is issued
+3: required set<string> roleNames,
+4: required set<TSentryPrivilege> privileges
+}
+struct TAlterSentryRolesRevokePrivilegesResponse {
+1: required sentry_common_service.TSentryResponseStatus status
+}
+
 # SHOW ROLE GRANT
 struct TListSentryRolesRequest {
 1: required i32 protocol_version = sentry_common_service.TSENTRY_SERVICE_V2,
@@ -258,6 +281,23 @@ struct TListSentryPrivilegesForProviderResponse {
 2: required set<string> privileges
 }
 
+# Authorization decisions evaluated by the Sentry server, one decision
+# per authorizable hierarchy. A hierarchy is authorized when any of the
+# actions is implied by a privilege of the groups, users and roles.
+struct TSentryAuthorizationRequest {
+1: required i32 protocol_version = sentry_common_service.TSENTRY_SERVICE_V2,
+2: required set<string> groups,
+3: required TSentryActiveRoleSet roleSet,
+4: required list<TSentryAuthorizable> authorizableHierarchies,
+5: required set<string> actions,
+6: optional set<string> users,
+7: optional bool requireGrantOption = false
+}
+struct TSentryAuthorizationResponse {
+1: required sentry_common_service.TSentryResponseStatus status
+2: required list<bool> decisions
+}
+
 # List role:set<privileges> for the given authorizable
 # Optionally use the set of groups to filter the roles
 struct TSentryPrivilegeMap {
@@ -423,6 +463,10 @@ service SentryPolicyService
   TAlterSentryRoleGrantPrivilegeResponse alter_sentry_role_grant_privilege(1:TAlterSentryRoleGrantPrivilegeRequest request)
   TAlterSentryRoleRevokePrivilegeResponse alter_sentry_role_revoke_privilege(1:TAlterSentryRoleRevokePrivilegeRequest request)
 
+  # Grant or revoke the same privileges to or from several roles at once
+  TAlterSentryRolesGrantPrivilegesResponse alter_sentry_roles_grant_privileges(1:TAlterSentryRolesGrantPrivilegesRequest request)
+  TAlterSentryRolesRevokePrivilegesResponse alter_sentry_roles_revoke_privileges(1:TAlterSentryRolesRevokePrivilegesRequest request)
+
   TAlterSentryRoleAddGroupsResponse alter_sentry_role_add_groups(1:TAlterSentryRoleAddGroupsRequest request)
   TAlterSentryRoleDeleteGroupsResponse alter_sentry_role_delete_groups(1:TAlterSentryRoleDeleteGroupsRequest request)
 
@@ -446,6 +490,10 @@ service SentryPolicyService
   # For use with ProviderBackend.getPrivileges only
   TListSentryPrivilegesForProviderResponse list_sentry_privileges_for_provider(1:TListSentryPrivilegesForProviderRequest request)
 
+  # For use with ProviderBackend.hasAccess only, evaluates a batch of
+  # authorization requests on the server
+  TSentryAuthorizationResponse check_sentry_authorization(1:TSentryAuthorizationRequest request)
+
   TDropPrivilegesResponse drop_sentry_privilege(1:TDropPrivilegesRequest request);
 
   TRenamePrivilegesResponse rename_sentry_privilege(1:TRenamePrivilegesRequest request);
@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.api.service.thrift;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.sentry.core.common.exception.SentryGroupNotFoundException;
+import org.apache.sentry.core.common.exception.SentryUserException;
+import org.apache.sentry.provider.common.GroupMappingService;
+import org.apache.sentry.service.common.ServiceConstants.ServerConfig;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Group mapping shared by the policy processors of a Sentry server.<p>
+ *
+ * The configured {@link GroupMappingService} is instantiated once per server
+ * configuration rather than on every request. When
+ * {@code sentry.store.group.mapping.cache.ttl.ms} is positive, the groups of each
+ * user are also cached:
+ * <ul>
+ *   <li>entries expire after the TTL, and at most
+ *   {@code sentry.store.group.mapping.cache.max.size} users are cached;</li>
+ *   <li>users without groups are remembered for
+ *   {@code sentry.store.group.mapping.cache.negative.ttl.ms}, so that unknown users
+ *   don't hit the group mapping on every request;</li>
+ *   <li>when {@code sentry.store.group.mapping.cache.refresh.ms} is positive, entries
+ *   older than it are refreshed in the background on the next lookup, while the
+ *   current groups are returned.</li>
+ * </ul>
+ */
+@ThreadSafe
+public final class CachingGroupMappingService implements GroupMappingService {
+
+  // Shared group mapping of each server configuration, compared by identity
+  private static final Cache<Configuration, CachingGroupMappingService> INSTANCES =
+      CacheBuilder.newBuilder().weakKeys().build();
+
+  private final String mappingClassName;
+  private final String resource;
+  private final GroupMappingService groupMapping;
+
+  // User to groups cache, null if caching is disabled
+  private final LoadingCache<String, Set<String>> groupCache;
+
+  // Users without groups, null if caching is disabled
+  private final Cache<String, SentryGroupNotFoundException> negativeCache;
+
+  /**
+   * Background refresh of the cached groups, shared by all instances.
+   */
+  private static final class RefreshExecutor {
+    private static final ExecutorService INSTANCE = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat("sentry-group-mapping-refresh-%d").build());
+  }
+
+  @VisibleForTesting
+  CachingGroupMappingService(Configuration conf, GroupMappingService groupMapping,
+      String mappingClassName, String resource) {
+    this.groupMapping = groupMapping;
+    this.mappingClassName = mappingClassName;
+    this.resource = resource;
+
+    long ttlMs = conf.getLong(ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_TTL_MS,
+        ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_TTL_MS_DEFAULT);
+    if (ttlMs <= 0) {
+      groupCache = null;
+      negativeCache = null;
+      return;
+    }
+    long negativeTtlMs = conf.getLong(
+        ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_NEGATIVE_TTL_MS,
+        ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_NEGATIVE_TTL_MS_DEFAULT);
+    long refreshMs = conf.getLong(ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_REFRESH_MS,
+        ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_REFRESH_MS_DEFAULT);
+    int maxSize = conf.getInt(ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_MAX_SIZE,
+        ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_MAX_SIZE_DEFAULT);
+
+    CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS);
+    if (refreshMs > 0 && refreshMs < ttlMs) {
+      builder.refreshAfterWrite(refreshMs, TimeUnit.MILLISECONDS);
+    }
+    groupCache = builder.build(new CacheLoader<String, Set<String>>() {
+      @Override
+      public Set<String> load(String user) throws SentryGroupNotFoundException {
+        SentryMetrics.getInstance().groupCacheMissCount.inc();
+        return resolveGroups(user);
+      }
+
+      @Override
+      public ListenableFuture<Set<String>> reload(final String user, Set<String> groups) {
+        ListenableFutureTask<Set<String>> task = ListenableFutureTask.create(() ->
+            resolveGroups(user));
+        RefreshExecutor.INSTANCE.execute(task);
+        return task;
+      }
+    });
+    negativeCache = negativeTtlMs > 0 ? CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(negativeTtlMs, TimeUnit.MILLISECONDS)
+        .<String, SentryGroupNotFoundException>build() : null;
+  }
+
+  /**
+   * Get the group mapping shared by all users of the given server configuration.
+   * The group mapping is instantiated again if the configured group mapping class
+   * or resource have changed.
+   *
+   * @throws SentryUserException if the group mapping can't be instantiated
+   */
+  public static CachingGroupMappingService getInstance(Configuration conf)
+      throws SentryUserException {
+    String mappingClassName = conf.get(ServerConfig.SENTRY_STORE_GROUP_MAPPING,
+        ServerConfig.SENTRY_STORE_GROUP_MAPPING_DEFAULT);
+    String resource = conf.get(ServerConfig.SENTRY_STORE_GROUP_MAPPING_RESOURCE);
+
+    CachingGroupMappingService instance = INSTANCES.getIfPresent(conf);
+    if (instance != null && instance.isConfiguredBy(mappingClassName, resource)) {
+      return instance;
+    }
+    synchronized (INSTANCES) {
+      instance = INSTANCES.getIfPresent(conf);
+      if (instance == null || !instance.isConfiguredBy(mappingClassName, resource)) {
+        instance = new CachingGroupMappingService(conf,
+            newGroupMapping(conf, mappingClassName, resource), mappingClassName, resource);
+        INSTANCES.put(conf, instance);
+      }
+      return instance;
+    }
+  }
+
+  private static GroupMappingService newGroupMapping(Configuration conf,
+      String mappingClassName, String resource) throws SentryUserException {
+    try {
+      Constructor<?> constructor = Class.forName(mappingClassName)
+          .getDeclaredConstructor(Configuration.class, String.class);
+      constructor.setAccessible(true);
+      return (GroupMappingService) constructor.newInstance(conf, resource);
+    } catch (NoSuchMethodException | SecurityException | ClassNotFoundException
+        | InstantiationException | IllegalAccessException | IllegalArgumentException
+        | InvocationTargetException | ClassCastException e) {
+      throw new SentryUserException("Unable to instantiate group mapping", e);
+    }
+  }
+
+  private boolean isConfiguredBy(String otherMappingClassName, String otherResource) {
+    return mappingClassName.equals(otherMappingClassName)
+        && Objects.equal(resource, otherResource);
+  }
+
+  @Override
+  public Set<String> getGroups(String user) throws SentryGroupNotFoundException {
+    if (groupCache == null) {
+      return groupMapping.getGroups(user);
+    }
+
+    SentryMetrics metrics = SentryMetrics.getInstance();
+    if (negativeCache != null) {
+      SentryGroupNotFoundException notFound = negativeCache.getIfPresent(user);
+      if (notFound != null) {
+        metrics.groupCacheHitCount.inc();
+        throw new SentryGroupNotFoundException(notFound.getMessage());
+      }
+    }
+    Set<String> groups = groupCache.getIfPresent(user);
+    if (groups != null) {
+      metrics.groupCacheHitCount.inc();
+      return groups;
+    }
+    try {
+      return groupCache.get(user);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof SentryGroupNotFoundException) {
+        SentryGroupNotFoundException notFound = (SentryGroupNotFoundException) e.getCause();
+        if (negativeCache != null) {
+          negativeCache.put(user, notFound);
+        }
+        throw notFound;
+      }
+      throw new SentryGroupNotFoundException("Unable to obtain groups for " + user,
+          e.getCause());
+    } catch (UncheckedExecutionException e) {
+      throw new SentryGroupNotFoundException("Unable to obtain groups for " + user,
+          e.getCause());
+    }
+  }
+
+  private Set<String> resolveGroups(String user) throws SentryGroupNotFoundException {
+    Set<String> groups = groupMapping.getGroups(user);
+    return groups == null ? ImmutableSet.<String>of() : ImmutableSet.copyOf(groups);
+  }
+
+  /**
+   * Forget the cached groups of all users.
+   */
+  @VisibleForTesting
+  void invalidateAll() {
+    if (groupCache != null) {
+      groupCache.invalidateAll();
+    }
+    if (negativeCache != null) {
+      negativeCache.invalidateAll();
+    }
+  }
+}
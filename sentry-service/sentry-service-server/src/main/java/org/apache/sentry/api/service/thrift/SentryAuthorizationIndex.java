@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.api.service.thrift;
+
+import static org.apache.sentry.core.common.utils.SentryUtils.isNULL;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.sentry.core.common.Action;
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.utils.KeyValue;
+import org.apache.sentry.core.common.utils.SentryConstants;
+import org.apache.sentry.core.model.db.DBModelAuthorizable.AuthorizableType;
+import org.apache.sentry.core.model.db.HivePrivilegeModel;
+import org.apache.sentry.policy.common.CommonPrivilege;
+import org.apache.sentry.policy.common.CompiledPrivilege;
+import org.apache.sentry.policy.common.PrivilegeCompiler;
+
+/**
+ * In-memory index of privileges used to evaluate authorization requests on the server.
+ * <p>
+ * Privileges are compiled once for the Hive model and grouped by database, so a
+ * request on a database is only checked against the privileges on that database and
+ * the privileges which are not bound to a single database.
+ */
+final class SentryAuthorizationIndex {
+  private static final PrivilegeCompiler COMPILER =
+      new PrivilegeCompiler(HivePrivilegeModel.getInstance());
+
+  private final List<CompiledPrivilege> allPrivileges;
+  private final List<CompiledPrivilege> unboundPrivileges = new ArrayList<>();
+  private final Map<String, List<CompiledPrivilege>> dbPrivileges = new HashMap<>();
+
+  /**
+   * @param privileges privileges in their string form, as returned by
+   *        {@code SentryStore.listSentryPrivilegesForProvider}
+   */
+  SentryAuthorizationIndex(Collection<String> privileges) {
+    allPrivileges = new ArrayList<>(privileges.size());
+    for (String privilege : privileges) {
+      CommonPrivilege commonPrivilege = new CommonPrivilege(privilege);
+      CompiledPrivilege compiled = commonPrivilege.compile(COMPILER);
+      allPrivileges.add(compiled);
+      String db = getDatabase(commonPrivilege.getParts());
+      if (db == null) {
+        unboundPrivileges.add(compiled);
+      } else {
+        List<CompiledPrivilege> bucket = dbPrivileges.get(db);
+        if (bucket == null) {
+          bucket = new ArrayList<>();
+          dbPrivileges.put(db, bucket);
+        }
+        bucket.add(compiled);
+      }
+    }
+  }
+
+  int size() {
+    return allPrivileges.size();
+  }
+
+  /**
+   * Is any of the actions on the authorizable hierarchy implied by an indexed privilege?
+   */
+  boolean implies(TSentryAuthorizable authorizable, Set<String> actions,
+      boolean requireGrantOption) {
+    List<Authorizable> hierarchy = toHierarchy(authorizable);
+    String db = getDatabase(authorizable);
+    for (String action : actions) {
+      CompiledPrivilege request = COMPILER.compileRequest(hierarchy, new RequestAction(action),
+          requireGrantOption);
+      if (db == null) {
+        if (impliesAny(allPrivileges, request)) {
+          return true;
+        }
+      } else {
+        if (impliesAny(unboundPrivileges, request)) {
+          return true;
+        }
+        List<CompiledPrivilege> bucket = dbPrivileges.get(db);
+        if (bucket != null && impliesAny(bucket, request)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean impliesAny(List<CompiledPrivilege> privileges,
+      CompiledPrivilege request) {
+    for (CompiledPrivilege privilege : privileges) {
+      if (privilege.implies(request)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Convert the authorizable to the hierarchy Server->URI or Server->Db->Table->Column
+   * used by the Hive bindings.
+   */
+  static List<Authorizable> toHierarchy(TSentryAuthorizable authorizable) {
+    List<Authorizable> hierarchy = new ArrayList<>(4);
+    hierarchy.add(new RequestAuthorizable(AuthorizableType.Server, authorizable.getServer()));
+    if (!isNULL(authorizable.getUri())) {
+      hierarchy.add(new RequestAuthorizable(AuthorizableType.URI, authorizable.getUri()));
+      return hierarchy;
+    }
+    if (!isNULL(authorizable.getDb())) {
+      hierarchy.add(new RequestAuthorizable(AuthorizableType.Db, authorizable.getDb()));
+      if (!isNULL(authorizable.getTable())) {
+        hierarchy.add(new RequestAuthorizable(AuthorizableType.Table, authorizable.getTable()));
+        if (!isNULL(authorizable.getColumn())) {
+          hierarchy.add(new RequestAuthorizable(AuthorizableType.Column,
+              authorizable.getColumn()));
+        }
+      }
+    }
+    return hierarchy;
+  }
+
+  /**
+   * @return the database a request is bound to, or null if it may be implied by
+   *         privileges on any database
+   */
+  private static String getDatabase(TSentryAuthorizable authorizable) {
+    if (!isNULL(authorizable.getUri())) {
+      return null;
+    }
+    return toDatabaseKey(authorizable.getDb());
+  }
+
+  /**
+   * @return the database a privilege is bound to, or null if it applies to
+   *         the server, to URIs or to all databases
+   */
+  private static String getDatabase(List<KeyValue> parts) {
+    for (KeyValue part : parts) {
+      if (AuthorizableType.Db.name().equalsIgnoreCase(part.getKey())) {
+        return toDatabaseKey(part.getValue());
+      }
+    }
+    return null;
+  }
+
+  private static String toDatabaseKey(String db) {
+    if (isNULL(db) || SentryConstants.RESOURCE_WILDCARD_VALUE.equals(db)
+        || SentryConstants.RESOURCE_WILDCARD_VALUE_ALL.equalsIgnoreCase(db)
+        || SentryConstants.RESOURCE_WILDCARD_VALUE_SOME.equals(db)) {
+      return null;
+    }
+    return db.trim().toLowerCase();
+  }
+
+  private static final class RequestAuthorizable implements Authorizable {
+    private final String typeName;
+    private final String name;
+
+    private RequestAuthorizable(AuthorizableType type, String name) {
+      this.typeName = type.name();
+      this.name = name;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public String getTypeName() {
+      return typeName;
+    }
+  }
+
+  private static final class RequestAction implements Action {
+    private final String value;
+
+    private RequestAction(String value) {
+      this.value = value;
+    }
+
+    @Override
+    public String getValue() {
+      return value;
+    }
+  }
+}
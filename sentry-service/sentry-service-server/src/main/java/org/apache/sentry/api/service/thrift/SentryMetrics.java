@@ -22,6 +22,7 @@ import com.codahale.metrics.Counter;
 import com.codahale.metrics.Gauge;
 import com.codahale.metrics.Histogram;
 import com.codahale.metrics.JmxReporter;
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.MetricSet;
@@ -36,8 +37,10 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.sentry.provider.db.service.persistent.HMSFollower;
 import org.apache.sentry.provider.db.service.persistent.SentryStore;
 import org.apache.sentry.provider.db.service.persistent.SentryStoreInterface;
+import org.apache.sentry.provider.db.service.persistent.TransactionManager;
 import org.apache.sentry.service.thrift.FullUpdateInitializer;
 import org.apache.sentry.service.thrift.SentryService;
 import org.apache.sentry.api.common.SentryServiceUtil;
@@ -101,6 +104,10 @@ public final class SentryMetrics {
       name(SentryPolicyStoreProcessor.class, "grant-privilege"));
   final Timer revokeTimer = METRIC_REGISTRY.timer(
       name(SentryPolicyStoreProcessor.class, "revoke-privilege"));
+  final Timer bulkGrantTimer = METRIC_REGISTRY.timer(
+      name(SentryPolicyStoreProcessor.class, "bulk-grant-privilege"));
+  final Timer bulkRevokeTimer = METRIC_REGISTRY.timer(
+      name(SentryPolicyStoreProcessor.class, "bulk-revoke-privilege"));
 
   final Timer dropPrivilegeTimer = METRIC_REGISTRY.timer(
       name(SentryPolicyStoreProcessor.class, "drop-privilege"));
@@ -117,6 +124,8 @@ public final class SentryMetrics {
           name(SentryPolicyStoreProcessor.class, "list-sentry-privileges-by-user-and-itsgroups"));
   final Timer listPrivilegesForProviderTimer = METRIC_REGISTRY.timer(
       name(SentryPolicyStoreProcessor.class, "list-privileges-for-provider"));
+  final Timer checkAuthorizationTimer = METRIC_REGISTRY.timer(
+      name(SentryPolicyStoreProcessor.class, "check-authorization"));
   final Timer listPrivilegesByAuthorizableTimer = METRIC_REGISTRY.timer(
       name(SentryPolicyStoreProcessor.class, "list-privileges-by-authorizable"));
   final Timer listPrivilegesByAuthorizableAndUserTimer = METRIC_REGISTRY.timer(
@@ -143,6 +152,62 @@ public final class SentryMetrics {
   public final Counter partitionCount = METRIC_REGISTRY.counter(
       name(FullUpdateInitializer.class, "total", "partitions"));
 
+  /** Rate at which partitions are fetched by full snapshots */
+  public final Meter partitionFetchRate = METRIC_REGISTRY.meter(
+      name(FullUpdateInitializer.class, "fetched", "partitions"));
+
+  /** Latency of each call fetching partitions for a full snapshot */
+  public final Timer partitionFetchTimer = METRIC_REGISTRY.timer(
+      name(FullUpdateInitializer.class, "fetch-partitions"));
+
+  /** Number of partitions fetched by each call for a full snapshot */
+  public final Histogram partitionFetchBatchSize = METRIC_REGISTRY.histogram(
+      name(FullUpdateInitializer.class, "fetch-partitions", "batch-size"));
+
+  /** Number of write transactions committed together by each group commit */
+  public final Histogram groupCommitBatchSize = METRIC_REGISTRY.histogram(
+      name(TransactionManager.class, "group-commit", "batch-size"));
+
+  /** Latency of the database transaction of each group commit */
+  public final Timer groupCommitTimer = METRIC_REGISTRY.timer(
+      name(TransactionManager.class, "group-commit"));
+
+  /** Number of failed group commits whose transactions were replayed one by one */
+  public final Counter groupCommitReplayCount = METRIC_REGISTRY.counter(
+      name(TransactionManager.class, "group-commit", "replay"));
+
+  /** Latency of each fetch of HMS notifications */
+  public final Timer hmsFetchTimer = METRIC_REGISTRY.timer(
+      name(HMSFollower.class, "pipeline", "fetch"));
+
+  /** Number of HMS notifications returned by each fetch */
+  public final Histogram hmsFetchBatchSize = METRIC_REGISTRY.histogram(
+      name(HMSFollower.class, "pipeline", "fetch", "batch-size"));
+
+  /** Time the HMS follower waits for notifications fetched while it applied the previous ones */
+  public final Timer hmsPrefetchWaitTimer = METRIC_REGISTRY.timer(
+      name(HMSFollower.class, "pipeline", "prefetch-wait"));
+
+  /** Latency of parsing the message of each HMS notification */
+  public final Timer hmsParseTimer = METRIC_REGISTRY.timer(
+      name(HMSFollower.class, "pipeline", "parse"));
+
+  /** Time the HMS follower waits for notifications being parsed to apply them */
+  public final Timer hmsParseWaitTimer = METRIC_REGISTRY.timer(
+      name(HMSFollower.class, "pipeline", "parse-wait"));
+
+  /** Latency of applying each fetched batch of HMS notifications */
+  public final Timer hmsApplyTimer = METRIC_REGISTRY.timer(
+      name(HMSFollower.class, "pipeline", "apply"));
+
+  /** Number of group lookups answered by the group mapping cache */
+  public final Counter groupCacheHitCount = METRIC_REGISTRY.counter(
+      name(CachingGroupMappingService.class, "hit"));
+
+  /** Number of group lookups resolved by the group mapping */
+  public final Counter groupCacheMissCount = METRIC_REGISTRY.counter(
+      name(CachingGroupMappingService.class, "miss"));
+
   /**
    * Return a Timer with name.
    */
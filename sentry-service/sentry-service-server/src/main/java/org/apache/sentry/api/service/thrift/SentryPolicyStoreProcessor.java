@@ -20,7 +20,6 @@
 package org.apache.sentry.api.service.thrift;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -42,7 +41,6 @@ import org.apache.sentry.core.common.exception.SentryUserException;
 import org.apache.sentry.core.common.exception.SentrySiteConfigurationException;
 import org.apache.sentry.core.common.utils.SentryConstants;
 import org.apache.sentry.core.model.db.AccessConstants;
-import org.apache.sentry.provider.common.GroupMappingService;
 import org.apache.sentry.core.common.exception.SentryGroupNotFoundException;
 import org.apache.sentry.core.common.exception.SentryAccessDeniedException;
 import org.apache.sentry.core.common.exception.SentryAlreadyExistsException;
@@ -534,6 +532,161 @@ public class SentryPolicyStoreProcessor implements SentryPolicyService.Iface {
     return response;
   }
 
+  @Override
+  public TAlterSentryRolesGrantPrivilegesResponse alter_sentry_roles_grant_privileges
+  (TAlterSentryRolesGrantPrivilegesRequest request) throws TException {
+    final Timer.Context timerContext = sentryMetrics.bulkGrantTimer.time();
+    TAlterSentryRolesGrantPrivilegesResponse response = new TAlterSentryRolesGrantPrivilegesResponse();
+    List<TAlterSentryRoleGrantPrivilegeRequest> roleRequests = new ArrayList<>();
+    try {
+      validateClientVersion(request.getProtocol_version());
+      if (request.getRoleNames() == null || request.getRoleNames().isEmpty()) {
+        throw new SentryInvalidInputException("No roles to grant the privileges to");
+      }
+      for (String roleName : request.getRoleNames()) {
+        TAlterSentryRoleGrantPrivilegeRequest roleRequest = new TAlterSentryRoleGrantPrivilegeRequest(
+            request.getProtocol_version(), request.getRequestorUserName(), roleName);
+        roleRequest.setPrivileges(request.getPrivileges());
+        roleRequests.add(roleRequest);
+      }
+
+      // Throw an exception if one of the grants is not permitted.
+      SentryServiceUtil.checkDbExplicitGrantsPermitted(conf, request.getPrivileges());
+
+      // Throw an exception if the user has not rights to grant one of the grants requested
+      checkGrantOptionPrivileges(request.getRequestorUserName(), request.getPrivileges());
+      for (TAlterSentryRoleGrantPrivilegeRequest roleRequest : roleRequests) {
+        GrantPrivilegeRequestValidator.validate(roleRequest);
+      }
+
+      // All roles get the same privileges, so the plugin creates a single update for them.
+      Preconditions.checkState(sentryPlugins.size() <= 1);
+      Update update = null;
+      for (SentryPolicyStorePlugin plugin : sentryPlugins) {
+        update = plugin.onAlterSentryRolesGrantPrivileges(request.getRoleNames(),
+            request.getPrivileges());
+      }
+
+      sentryStore.alterSentryRolesGrantPrivileges(request.getRoleNames(),
+          request.getPrivileges(), update);
+      response.setStatus(Status.OK());
+      response.setPrivileges(request.getPrivileges());
+      for (TAlterSentryRoleGrantPrivilegeRequest roleRequest : roleRequests) {
+        notificationHandlerInvoker.alter_sentry_role_grant_privilege(roleRequest,
+            toRoleGrantResponse(response));
+      }
+    } catch (SentryNoSuchObjectException e) {
+      String msg = "Roles: " + request.getRoleNames() + " don't all exist";
+      LOGGER.error(msg, e);
+      response.setStatus(Status.NoSuchObject(msg, e));
+    } catch (SentryInvalidInputException e) {
+      LOGGER.error(e.getMessage(), e);
+      response.setStatus(Status.InvalidInput(e.getMessage(), e));
+    } catch (SentryAccessDeniedException e) {
+      LOGGER.error(e.getMessage(), e);
+      response.setStatus(Status.AccessDenied(e.getMessage(), e));
+    } catch (SentryGroupNotFoundException e) {
+      LOGGER.error(e.getMessage(), e);
+      response.setStatus(Status.AccessDenied(e.getMessage(), e));
+    } catch (SentryThriftAPIMismatchException e) {
+      LOGGER.error(e.getMessage(), e);
+      response.setStatus(Status.THRIFT_VERSION_MISMATCH(e.getMessage(), e));
+    } catch (Exception e) {
+      String msg = "Unknown error for request: " + request + ", message: " + e.getMessage();
+      LOGGER.error(msg, e);
+      response.setStatus(Status.RuntimeError(msg, e));
+    } finally {
+      timerContext.stop();
+    }
+
+    // Audit the bulk grant as the equivalent grant to each role
+    for (TAlterSentryRoleGrantPrivilegeRequest roleRequest : roleRequests) {
+      audit.onGrantRolePrivilege(roleRequest, toRoleGrantResponse(response));
+    }
+    return response;
+  }
+
+  private static TAlterSentryRoleGrantPrivilegeResponse toRoleGrantResponse(
+      TAlterSentryRolesGrantPrivilegesResponse response) {
+    TAlterSentryRoleGrantPrivilegeResponse roleResponse =
+        new TAlterSentryRoleGrantPrivilegeResponse(response.getStatus());
+    if (response.isSetPrivileges()) {
+      roleResponse.setPrivileges(response.getPrivileges());
+    }
+    return roleResponse;
+  }
+
+  @Override
+  public TAlterSentryRolesRevokePrivilegesResponse alter_sentry_roles_revoke_privileges
+  (TAlterSentryRolesRevokePrivilegesRequest request) throws TException {
+    final Timer.Context timerContext = sentryMetrics.bulkRevokeTimer.time();
+    TAlterSentryRolesRevokePrivilegesResponse response = new TAlterSentryRolesRevokePrivilegesResponse();
+    List<TAlterSentryRoleRevokePrivilegeRequest> roleRequests = new ArrayList<>();
+    try {
+      validateClientVersion(request.getProtocol_version());
+      if (request.getRoleNames() == null || request.getRoleNames().isEmpty()) {
+        throw new SentryInvalidInputException("No roles to revoke the privileges from");
+      }
+      for (String roleName : request.getRoleNames()) {
+        TAlterSentryRoleRevokePrivilegeRequest roleRequest = new TAlterSentryRoleRevokePrivilegeRequest(
+            request.getProtocol_version(), request.getRequestorUserName(), roleName);
+        roleRequest.setPrivileges(request.getPrivileges());
+        roleRequests.add(roleRequest);
+      }
+
+      // Throw an exception if the user has not rights to revoke one of the revokes requested
+      checkGrantOptionPrivileges(request.getRequestorUserName(), request.getPrivileges());
+      for (TAlterSentryRoleRevokePrivilegeRequest roleRequest : roleRequests) {
+        RevokePrivilegeRequestValidator.validate(roleRequest);
+      }
+
+      // All roles lose the same privileges, so the plugin creates a single update for them.
+      Preconditions.checkState(sentryPlugins.size() <= 1);
+      Update update = null;
+      for (SentryPolicyStorePlugin plugin : sentryPlugins) {
+        update = plugin.onAlterSentryRolesRevokePrivileges(request.getRoleNames(),
+            request.getPrivileges());
+      }
+
+      sentryStore.alterSentryRolesRevokePrivileges(request.getRoleNames(),
+          request.getPrivileges(), update);
+      response.setStatus(Status.OK());
+      for (TAlterSentryRoleRevokePrivilegeRequest roleRequest : roleRequests) {
+        notificationHandlerInvoker.alter_sentry_role_revoke_privilege(roleRequest,
+            new TAlterSentryRoleRevokePrivilegeResponse(response.getStatus()));
+      }
+    } catch (SentryNoSuchObjectException e) {
+      String msg = "Roles: " + request.getRoleNames() + " don't all exist";
+      LOGGER.error(msg, e);
+      response.setStatus(Status.NoSuchObject(msg, e));
+    } catch (SentryInvalidInputException e) {
+      LOGGER.error(e.getMessage(), e);
+      response.setStatus(Status.InvalidInput(e.getMessage(), e));
+    } catch (SentryAccessDeniedException e) {
+      LOGGER.error(e.getMessage(), e);
+      response.setStatus(Status.AccessDenied(e.getMessage(), e));
+    } catch (SentryGroupNotFoundException e) {
+      LOGGER.error(e.getMessage(), e);
+      response.setStatus(Status.AccessDenied(e.getMessage(), e));
+    } catch (SentryThriftAPIMismatchException e) {
+      LOGGER.error(e.getMessage(), e);
+      response.setStatus(Status.THRIFT_VERSION_MISMATCH(e.getMessage(), e));
+    } catch (Exception e) {
+      String msg = "Unknown error for request: " + request + ", message: " + e.getMessage();
+      LOGGER.error(msg, e);
+      response.setStatus(Status.RuntimeError(msg, e));
+    } finally {
+      timerContext.stop();
+    }
+
+    // Audit the bulk revoke as the equivalent revoke from each role
+    for (TAlterSentryRoleRevokePrivilegeRequest roleRequest : roleRequests) {
+      audit.onRevokeRolePrivilege(roleRequest,
+          new TAlterSentryRoleRevokePrivilegeResponse(response.getStatus()));
+    }
+    return response;
+  }
+
   @Override
   public TAlterSentryRoleAddGroupsResponse alter_sentry_role_add_groups(
     TAlterSentryRoleAddGroupsRequest request) throws TException {
@@ -1082,6 +1235,112 @@ public class SentryPolicyStoreProcessor implements SentryPolicyService.Iface {
     return response;
   }
 
+  /**
+   * Evaluates a batch of authorization requests for ProviderBackend.hasAccess().
+   * The privileges for all hierarchies are fetched once, for their common prefix,
+   * and indexed in memory to answer every hierarchy.
+   */
+  @Override
+  public TSentryAuthorizationResponse check_sentry_authorization(
+      TSentryAuthorizationRequest request) throws TException {
+    final Timer.Context timerContext = sentryMetrics.checkAuthorizationTimer.time();
+    TSentryAuthorizationResponse response = new TSentryAuthorizationResponse();
+    response.setDecisions(new ArrayList<Boolean>());
+    try {
+      validateClientVersion(request.getProtocol_version());
+      List<TSentryAuthorizable> hierarchies = request.getAuthorizableHierarchies();
+      List<Boolean> decisions = new ArrayList<Boolean>(hierarchies.size());
+      SentryAuthorizationIndex index = null;
+      for (TSentryAuthorizable hierarchy : hierarchies) {
+        if (isSwitchDb(hierarchy)) {
+          decisions.add(getSwitchDbIndex(request, hierarchy).implies(hierarchy,
+              request.getActions(), request.isRequireGrantOption()));
+          continue;
+        }
+        if (index == null) {
+          index = new SentryAuthorizationIndex(sentryStore.listSentryPrivilegesForProvider(
+              request.getGroups(), request.getUsers(), request.getRoleSet(),
+              getCommonPrefix(hierarchies)));
+        }
+        decisions.add(index.implies(hierarchy, request.getActions(),
+            request.isRequireGrantOption()));
+      }
+      response.setDecisions(decisions);
+      response.setStatus(Status.OK());
+    } catch (SentryThriftAPIMismatchException e) {
+      LOGGER.error(e.getMessage(), e);
+      response.setStatus(Status.THRIFT_VERSION_MISMATCH(e.getMessage(), e));
+    } catch (Exception e) {
+      String msg = "Unknown error for request: " + request + ", message: " + e.getMessage();
+      LOGGER.error(msg, e);
+      response.setStatus(Status.RuntimeError(msg, e));
+    } finally {
+      timerContext.stop();
+    }
+    return response;
+  }
+
+  /**
+   * Switching to a database is authorized the same way as by the client side
+   * provider, which allows switching to the default database to any user with
+   * a privilege on the server.
+   */
+  private SentryAuthorizationIndex getSwitchDbIndex(TSentryAuthorizationRequest request,
+      TSentryAuthorizable hierarchy) throws Exception {
+    Set<String> privileges = sentryStore.listSentryPrivilegesForProvider(request.getGroups(),
+        request.getUsers(), request.getRoleSet(), hierarchy);
+    if (privileges.isEmpty() && sentryStore.hasAnyServerPrivileges(request.getGroups(),
+        request.getUsers(), request.getRoleSet(), hierarchy.getServer())) {
+      privileges = Sets.newHashSet("Server=" + hierarchy.getServer()
+          + "->Db=default->Table=*->Column=*->action=select");
+    }
+    return new SentryAuthorizationIndex(privileges);
+  }
+
+  private static boolean isSwitchDb(TSentryAuthorizable hierarchy) {
+    return AccessConstants.SOME.equals(hierarchy.getTable()) && hierarchy.isSetColumn();
+  }
+
+  /**
+   * Get the longest hierarchy all the hierarchies start with. The privileges
+   * returned by the store for this hierarchy include those for any of the
+   * hierarchies.
+   * @return the common hierarchy, or null if the hierarchies are on different servers
+   */
+  @VisibleForTesting
+  static TSentryAuthorizable getCommonPrefix(List<TSentryAuthorizable> hierarchies) {
+    if (hierarchies.isEmpty()) {
+      return null;
+    }
+    TSentryAuthorizable first = hierarchies.get(0);
+    boolean sameUri = true;
+    boolean sameDb = true;
+    boolean sameTable = true;
+    boolean sameColumn = true;
+    for (TSentryAuthorizable hierarchy : hierarchies) {
+      if (!StringUtils.equals(first.getServer(), hierarchy.getServer())) {
+        return null;
+      }
+      sameUri &= StringUtils.equals(first.getUri(), hierarchy.getUri());
+      sameDb &= StringUtils.equals(first.getDb(), hierarchy.getDb());
+      sameTable &= StringUtils.equals(first.getTable(), hierarchy.getTable());
+      sameColumn &= StringUtils.equals(first.getColumn(), hierarchy.getColumn());
+    }
+    TSentryAuthorizable prefix = new TSentryAuthorizable(first.getServer());
+    if (sameUri && first.isSetUri()) {
+      prefix.setUri(first.getUri());
+    } else if (sameDb && first.isSetDb() && !first.isSetUri()) {
+      prefix.setDb(first.getDb());
+      if (sameTable && first.isSetTable()) {
+        prefix.setTable(first.getTable());
+        if (sameColumn && first.isSetColumn()) {
+          prefix.setColumn(first.getColumn());
+        }
+      }
+    }
+    return prefix;
+  }
+
   // retrieve the group mapping for the given user name
   private Set<String> getRequestorGroups(String userName)
       throws SentryUserException {
@@ -1090,35 +1349,7 @@ public class SentryPolicyStoreProcessor implements SentryPolicyService.Iface {
 
   public static Set<String> getGroupsFromUserName(Configuration conf,
       String userName) throws SentryUserException {
-    String groupMapping = conf.get(ServerConfig.SENTRY_STORE_GROUP_MAPPING,
-        ServerConfig.SENTRY_STORE_GROUP_MAPPING_DEFAULT);
-    String authResoruce = conf
-        .get(ServerConfig.SENTRY_STORE_GROUP_MAPPING_RESOURCE);
-
-    // load the group mapping provider class
-    GroupMappingService groupMappingService;
-    try {
-      Constructor<?> constrctor = Class.forName(groupMapping)
-          .getDeclaredConstructor(Configuration.class, String.class);
-      constrctor.setAccessible(true);
-      groupMappingService = (GroupMappingService) constrctor
-          .newInstance(new Object[] { conf, authResoruce });
-    } catch (NoSuchMethodException e) {
-      throw new SentryUserException("Unable to instantiate group mapping", e);
-    } catch (SecurityException e) {
-      throw new SentryUserException("Unable to instantiate group mapping", e);
-    } catch (ClassNotFoundException e) {
-      throw new SentryUserException("Unable to instantiate group mapping", e);
-    } catch (InstantiationException e) {
-      throw new SentryUserException("Unable to instantiate group mapping", e);
-    } catch (IllegalAccessException e) {
-      throw new SentryUserException("Unable to instantiate group mapping", e);
-    } catch (IllegalArgumentException e) {
-      throw new SentryUserException("Unable to instantiate group mapping", e);
-    } catch (InvocationTargetException e) {
-      throw new SentryUserException("Unable to instantiate group mapping", e);
-    }
-    return groupMappingService.getGroups(userName);
+    return CachingGroupMappingService.getInstance(conf).getGroups(userName);
   }
 
   @Override
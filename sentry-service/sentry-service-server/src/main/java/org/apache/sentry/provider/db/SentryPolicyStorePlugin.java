@@ -100,6 +100,26 @@ public interface SentryPolicyStorePlugin {
   void onAlterSentryUserRevokePrivilege(String userName, Set<TSentryPrivilege> privileges,
         Map<TSentryPrivilege, Update> privilegesUpdateMap) throws SentryPluginException;
 
+  /**
+   * Used to create a single update when the same privileges are granted to several roles
+   * @param roleNames
+   * @param privileges
+   * @return the update, or null if the privileges don't need an update
+   * @throws SentryPluginException
+   */
+  Update onAlterSentryRolesGrantPrivileges(Set<String> roleNames,
+        Set<TSentryPrivilege> privileges) throws SentryPluginException;
+
+  /**
+   * Used to create a single update when the same privileges are revoked from several roles
+   * @param roleNames
+   * @param privileges
+   * @return the update, or null if the privileges don't need an update
+   * @throws SentryPluginException
+   */
+  Update onAlterSentryRolesRevokePrivileges(Set<String> roleNames,
+        Set<TSentryPrivilege> privileges) throws SentryPluginException;
+
   Update onDropSentryRole(TDropSentryRoleRequest tRequest) throws SentryPluginException;
 
   Update onRenameSentryPrivilege(TRenamePrivilegesRequest request)
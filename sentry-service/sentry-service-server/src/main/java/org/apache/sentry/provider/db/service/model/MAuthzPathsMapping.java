@@ -27,6 +27,7 @@ import java.util.HashSet;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 import org.apache.sentry.provider.db.service.persistent.QueryParamBuilder;
 import org.slf4j.Logger;
@@ -187,6 +188,23 @@ public class MAuthzPathsMapping {
     pathsToPersist.clear();
   }
 
+  /**
+   * Creates the entries of the AUTHZ_PATH table for the paths added to this MAuthzPathsMapping,
+   * so that they can be persisted in bulk once the mapping itself is persisted.
+   * @return the entries to persist
+   */
+  public List<MPathToPersist> takePathsToPersist() {
+    if(pathsToPersist == null || pathsToPersist.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<MPathToPersist> paths = new ArrayList<>(pathsToPersist.size());
+    for (String path : pathsToPersist) {
+      paths.add(new MPathToPersist(authzObjectId, path));
+    }
+    pathsToPersist.clear();
+    return paths;
+  }
+
   /**
    * Delete the paths associated with MAuthzPathsMapping entry.
    * @param pm Persistence manager instance
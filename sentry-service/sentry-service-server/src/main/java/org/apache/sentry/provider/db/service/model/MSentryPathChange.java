@@ -26,9 +26,11 @@ import javax.jdo.annotations.PrimaryKey;
 
 /**
  * Database backend store for HMS path delta change. Each record contains
- * change ID, HMS notification ID, JSON format of a single
- * &lt Hive Obj, HDFS Path &gt change, and timestamp.
+ * change ID, HMS notification ID, a single &lt Hive Obj, HDFS Path &gt change
+ * serialized by {@link PathsUpdate#serializeToString()}, and timestamp.
  * <p>
+ * Changes are stored in a Base64 encoded compact binary format. Changes stored
+ * by older versions are in JSON format, which is still read.
  * e.g. for add paths change in JSON format.
  * <pre>
  * {@code
@@ -63,7 +65,7 @@ public class MSentryPathChange implements MSentryChange {
   //This value is auto incremented by JDO
   private long changeID;
 
-  // Path change in JSON format.
+  // Path change in binary format, or in JSON format.
   private String pathChange;
   private long createTimeMs;
   private String notificationHash;
@@ -72,7 +74,7 @@ public class MSentryPathChange implements MSentryChange {
     // Each PathsUpdate maps to a MSentryPathChange object.
     // The PathsUpdate is generated from a HMS notification log,
     // the notification ID is stored as seqNum and
-    // the notification update is serialized as JSON string.
+    // the notification update is serialized as string.
     this.changeID = changeID;
 
     /*
@@ -84,7 +86,7 @@ public class MSentryPathChange implements MSentryChange {
      */
     this.notificationHash = notificationHash;
 
-    this.pathChange = pathChange.JSONSerialize();
+    this.pathChange = pathChange.serializeToString();
     this.createTimeMs = System.currentTimeMillis();
   }
 
@@ -27,9 +27,11 @@ import javax.jdo.annotations.PrimaryKey;
 
 /**
  * Database backend store for Sentry permission delta change. Each record
- * contains change ID, JSON format of a single Sentry permission change,
- * and timestamp.
+ * contains change ID, a single Sentry permission change serialized by
+ * {@link PermissionsUpdate#serializeToString()}, and timestamp.
  * <p>
+ * Changes are stored in a Base64 encoded compact binary format. Changes stored
+ * by older versions are in JSON format, which is still read.
  * e.g. for rename privileges change in JSON format.
  * <pre>
  * {@code
@@ -61,13 +63,13 @@ public class MSentryPermChange implements MSentryChange {
   //This value is auto incremented by JDO
   private long changeID;
 
-  // Permission change in JSON format.
+  // Permission change in binary format, or in JSON format.
   private String permChange;
   private long createTimeMs;
 
   public MSentryPermChange(long changeID, PermissionsUpdate permChange) throws TException {
     this.changeID = changeID;
-    this.permChange = permChange.JSONSerialize();
+    this.permChange = permChange.serializeToString();
     this.createTimeMs = System.currentTimeMillis();
   }
 
@@ -149,6 +149,25 @@ public class CounterWait {
     wakeup(newValue);
   }
 
+  /**
+   * Increment the counter value by one and wake up any threads waiting for the
+   * new value.
+   *
+   * @return the new counter value
+   */
+  public synchronized long increment() {
+    long newValue = currentId.get() + 1;
+    update(newValue);
+    return newValue;
+  }
+
+  /**
+   * @return the current counter value
+   */
+  public long getValue() {
+    return currentId.get();
+  }
+
   /**
    * Explicitly reset the counter value to a new value, but allow setting to a
    * smaller value.
@@ -212,7 +231,43 @@ public class CounterWait {
     // will not block, so it is safe to wake up before the wait.
     // So sit tight and wait patiently.
     LOGGER.debug("Blocked, waiting for value {}", value);
-    eid.waitFor();
+    eid.waitFor(waitTimeout, waitTimeUnit);
+    return currentId.get();
+  }
+
+  /**
+   * Wait for specified counter value, at most for the given time.
+   * Unlike {@link #waitFor(long)}, the waiter is removed when the wait times out,
+   * so that this method may be called repeatedly for values which are only
+   * reached much later.
+   *
+   * @param value requested counter value
+   * @param timeout maximum time to wait, 0 to wait until the value is reached
+   * @param unit unit of the timeout
+   * @return current counter value that should be no smaller then the requested
+   * value
+   * @throws InterruptedException if the wait was interrupted, TimeoutException if
+   * the value was not reached within the timeout.
+   */
+  public long waitFor(long value, long timeout, TimeUnit unit)
+      throws InterruptedException, TimeoutException {
+    if (value <= currentId.get()) {
+      return currentId.get();
+    }
+
+    ValueEvent eid = new ValueEvent(value);
+    waiters.put(eid);
+    if (value <= currentId.get()) {
+      waiters.remove(eid);
+      return currentId.get();
+    }
+
+    try {
+      eid.waitFor(timeout, unit);
+    } finally {
+      // No-op if the waiter was woken up
+      waiters.remove(eid);
+    }
     return currentId.get();
   }
 
@@ -292,12 +347,12 @@ public class CounterWait {
     }
 
     /** Wait until signaled or interrupted. May return immediately if already signalled. */
-    void waitFor() throws InterruptedException, TimeoutException {
-      if (waitTimeout == 0) {
+    void waitFor(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+      if (timeout == 0) {
         semaphore.acquire();
         return;
       }
-      if (!semaphore.tryAcquire(waitTimeout, waitTimeUnit)) {
+      if (!semaphore.tryAcquire(timeout, unit)) {
         throw new TimeoutException();
       }
     }
@@ -23,9 +23,11 @@ import org.apache.sentry.core.common.exception.SentryInvalidInputException;
 import org.apache.sentry.hdfs.PathsUpdate;
 import org.apache.sentry.hdfs.PermissionsUpdate;
 import org.apache.sentry.hdfs.UniquePathsUpdate;
+import org.apache.sentry.provider.db.service.model.MSentryChange;
 import org.apache.sentry.provider.db.service.model.MSentryHmsNotification;
 import org.apache.sentry.provider.db.service.model.MSentryPathChange;
 import org.apache.sentry.provider.db.service.model.MSentryPermChange;
+import static org.apache.sentry.core.common.utils.SentryConstants.EMPTY_CHANGE_ID;
 import static org.apache.sentry.hdfs.Updateable.Update;
 
 import javax.jdo.PersistenceManager;
@@ -44,6 +46,8 @@ import javax.jdo.PersistenceManager;
  */
 public class DeltaTransactionBlock implements TransactionBlock<Object> {
   private final Update update;
+  // Change ID the last execution tried to persist
+  private volatile long changeID = EMPTY_CHANGE_ID;
 
   public DeltaTransactionBlock(Update update) {
     this.update = update;
@@ -55,6 +59,31 @@ public class DeltaTransactionBlock implements TransactionBlock<Object> {
     return null;
   }
 
+  /**
+   * @return the ID of the permission change the last execution of this block persisted,
+   * or EMPTY_CHANGE_ID if the update is not a permission update
+   */
+  long getPermChangeID() {
+    return (update instanceof PermissionsUpdate) ? changeID : EMPTY_CHANGE_ID;
+  }
+
+  /**
+   * Checks whether the change ID the last execution of this block tried to persist
+   * has been taken by a concurrent transaction. Only meaningful after the transaction
+   * failed, in which case it can be retried right away.
+   *
+   * @param pm PersistenceManager of a new transaction
+   * @return true if the change ID is already persisted
+   */
+  boolean isChangeIDTaken(PersistenceManager pm) {
+    if (changeID == EMPTY_CHANGE_ID) {
+      return false;
+    }
+    Class<? extends MSentryChange> changeCls = (update instanceof PermissionsUpdate) ?
+        MSentryPermChange.class : MSentryPathChange.class;
+    return SentryStore.getLastProcessedChangeIDCore(pm, changeCls) >= changeID;
+  }
+
   /**
    * Persist the delta change into corresponding type based on its type.
    * Atomic increasing primary key changeID by 1.
@@ -87,11 +116,13 @@ public class DeltaTransactionBlock implements TransactionBlock<Object> {
     // fail.
     if (update instanceof PermissionsUpdate) {
       long lastChangeID = SentryStore.getLastProcessedChangeIDCore(pm, MSentryPermChange.class);
-      pm.makePersistent(new MSentryPermChange(lastChangeID + 1, (PermissionsUpdate) update));
+      changeID = lastChangeID + 1;
+      pm.makePersistent(new MSentryPermChange(changeID, (PermissionsUpdate) update));
     } else if (update instanceof UniquePathsUpdate) {
       long lastChangeID = SentryStore.getLastProcessedChangeIDCore(pm, MSentryPathChange.class);
+      changeID = lastChangeID + 1;
       String eventHash = ((UniquePathsUpdate) update).getEventHash();
-      pm.makePersistent(new MSentryPathChange(lastChangeID + 1, eventHash, (PathsUpdate) update));
+      pm.makePersistent(new MSentryPathChange(changeID, eventHash, (PathsUpdate) update));
       // Notification id from PATH_UPDATE entry is made persistent in
       // SENTRY_LAST_NOTIFICATION_ID table.
       pm.makePersistent(new MSentryHmsNotification(update.getSeqNum()));
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Persists a full HMS paths snapshot in chunks, each in its own transaction, under a
+ * new paths snapshot ID.
+ * <p>
+ * The snapshot only becomes the current one when it is committed, so the previous
+ * snapshot is served until all its chunks are persisted. Closing a writer which was
+ * not committed deletes the chunks persisted so far.
+ */
+public interface FullPathsImageWriter extends AutoCloseable {
+
+  /**
+   * @return the paths snapshot ID the chunks are persisted under
+   */
+  long getSnapshotID();
+
+  /**
+   * Persists a chunk of the snapshot in a single transaction. Paths of an object
+   * already persisted by a previous chunk are added to the object.
+   *
+   * @param authzPaths paths to be persisted
+   * @throws Exception
+   */
+  void persistChunk(Map<String, Collection<String>> authzPaths) throws Exception;
+
+  /**
+   * Makes the persisted snapshot the current one in a single transaction with its latest
+   * notification ID.
+   *
+   * @param notificationID the latest notificationID associated with the snapshot
+   * @throws Exception
+   */
+  void commit(long notificationID) throws Exception;
+
+  /**
+   * Deletes the persisted chunks if the snapshot was not committed.
+   */
+  @Override
+  void close();
+}
@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import com.codahale.metrics.Timer.Context;
+import org.apache.sentry.api.service.thrift.SentryMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * GroupCommitter commits concurrent write transactions together, so that many
+ * small writes cost one database transaction and one commit.<p>
+ *
+ * Transactions submitted while a group is being committed are queued. Once the
+ * group is committed, the first waiting thread becomes the leader of the next
+ * group: it executes the transaction blocks of up to {@code maxBatchSize} queued
+ * transactions, in submission order, in a single database transaction, while the
+ * other threads wait for the result.<p>
+ *
+ * If the group transaction fails, e.g. because one of its transactions throws a
+ * <em>SentryUserException</em>, each transaction of the group is replayed in its own
+ * database transaction, with the usual retries. A failing transaction thus never
+ * fails the other transactions of its group.<p>
+ *
+ * Callers must make sure that concurrently submitted transactions don't modify the
+ * same objects, which {@link SentryStore} does through {@link PolicyLocks}.
+ */
+final class GroupCommitter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(GroupCommitter.class);
+
+  private final TransactionManager tm;
+
+  // Maximum number of transactions committed together
+  private final int maxBatchSize;
+
+  // Time (in milliseconds) the leader waits for more transactions before committing
+  private final long windowMs;
+
+  private final Object lock = new Object();
+
+  // Transactions waiting for a group, guarded by lock
+  private final Queue<Request> queue = new ArrayDeque<>();
+
+  // Whether a leader is committing groups, guarded by lock
+  private boolean leaderActive;
+
+  /**
+   * Write transaction waiting to be committed. Its result is set by the leader
+   * and read by the submitting thread once done, both under the lock.
+   */
+  private static final class Request {
+    private final List<TransactionBlock<Object>> tbs;
+    private final TransactionManager.ConflictCheck conflictCheck;
+    private boolean done;
+    private boolean committed;
+    private Exception failure;
+
+    private Request(List<TransactionBlock<Object>> tbs,
+        TransactionManager.ConflictCheck conflictCheck) {
+      this.tbs = tbs;
+      this.conflictCheck = conflictCheck;
+    }
+  }
+
+  GroupCommitter(TransactionManager tm, int maxBatchSize, long windowMs) {
+    this.tm = tm;
+    this.maxBatchSize = Math.max(1, maxBatchSize);
+    this.windowMs = windowMs;
+  }
+
+  /**
+   * Execute a list of TransactionBlock code as a single transaction, possibly
+   * committed together with concurrently submitted transactions.
+   *
+   * @param tbs a list of transaction blocks with code to be executed
+   * @param conflictCheck check for conflicts with concurrent transactions, may be null
+   */
+  @SuppressWarnings("squid:S00112")
+  void execute(List<TransactionBlock<Object>> tbs,
+      TransactionManager.ConflictCheck conflictCheck) throws Exception {
+    Request request = new Request(tbs, conflictCheck);
+    boolean interrupted = false;
+    boolean leader;
+    synchronized (lock) {
+      queue.add(request);
+      while (leaderActive && !request.done) {
+        try {
+          lock.wait();
+        } catch (InterruptedException e) {
+          // The request may already be part of a group, so keep waiting for its result
+          interrupted = true;
+        }
+      }
+      leader = !request.done;
+      if (leader) {
+        leaderActive = true;
+      }
+    }
+
+    if (leader) {
+      try {
+        if (windowMs > 0) {
+          try {
+            Thread.sleep(windowMs);
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+        // The request of the leader may be behind a full group in the queue
+        boolean done = false;
+        while (!done) {
+          commitGroup(nextGroup());
+          synchronized (lock) {
+            done = request.done;
+          }
+        }
+      } finally {
+        synchronized (lock) {
+          leaderActive = false;
+          lock.notifyAll();
+        }
+      }
+    }
+
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    synchronized (lock) {
+      if (!request.committed) {
+        throw request.failure != null ? request.failure :
+            new Exception("Group commit aborted before the transaction was committed");
+      }
+    }
+  }
+
+  private List<Request> nextGroup() {
+    synchronized (lock) {
+      List<Request> group = new ArrayList<>(Math.min(queue.size(), maxBatchSize));
+      while (group.size() < maxBatchSize && !queue.isEmpty()) {
+        group.add(queue.poll());
+      }
+      return group;
+    }
+  }
+
+  /**
+   * Commit the transactions of the group in one database transaction, replaying
+   * them one by one if it fails.
+   */
+  private void commitGroup(List<Request> group) {
+    SentryMetrics metrics = SentryMetrics.getInstance();
+    metrics.groupCommitBatchSize.update(group.size());
+    boolean[] committed = new boolean[group.size()];
+    Exception[] failures = new Exception[group.size()];
+    try {
+      if (group.size() == 1) {
+        replay(group.get(0), 0, committed, failures);
+        return;
+      }
+      List<TransactionBlock<Object>> tbs = new ArrayList<>();
+      for (Request request : group) {
+        tbs.addAll(request.tbs);
+      }
+      try (Context context = metrics.groupCommitTimer.time()) {
+        tm.executeTransaction(tbs);
+        for (int i = 0; i < committed.length; i++) {
+          committed[i] = true;
+        }
+      } catch (Exception e) {
+        metrics.groupCommitReplayCount.inc();
+        LOGGER.debug("Group commit of {} transactions failed, replaying them one by one",
+            group.size(), e);
+        for (int i = 0; i < group.size(); i++) {
+          replay(group.get(i), i, committed, failures);
+        }
+      }
+    } finally {
+      // Release the waiting threads even if the group failed unexpectedly
+      synchronized (lock) {
+        for (int i = 0; i < group.size(); i++) {
+          Request request = group.get(i);
+          request.committed = committed[i];
+          request.failure = failures[i];
+          request.done = true;
+        }
+        lock.notifyAll();
+      }
+    }
+  }
+
+  private void replay(Request request, int i, boolean[] committed, Exception[] failures) {
+    try {
+      tm.executeTransactionBlocksWithRetry(request.tbs, request.conflictCheck);
+      committed[i] = true;
+    } catch (Exception e) {
+      failures[i] = e;
+    }
+  }
+}
@@ -25,10 +25,20 @@ import org.apache.sentry.hdfs.ServiceConstants.ServerConfig;
 import static org.apache.sentry.binding.hive.conf.HiveAuthzConf.AuthzConfVars.AUTHZ_SERVER_NAME;
 import static org.apache.sentry.binding.hive.conf.HiveAuthzConf.AuthzConfVars.AUTHZ_SERVER_NAME_DEPRECATED;
 
+import com.codahale.metrics.Timer.Context;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.jdo.JDODataStoreException;
 import org.apache.hadoop.conf.Configuration;
@@ -38,6 +48,7 @@ import org.apache.sentry.service.thrift.SentryHMSClient;
 import org.apache.sentry.service.thrift.HiveConnectionFactory;
 import org.apache.sentry.service.thrift.HiveNotificationFetcher;
 import org.apache.sentry.api.common.SentryServiceUtil;
+import org.apache.sentry.api.service.thrift.SentryMetrics;
 import org.apache.sentry.service.thrift.SentryStateBank;
 import org.apache.sentry.service.thrift.SentryServiceState;
 import org.apache.sentry.service.thrift.HMSFollowerState;
@@ -55,6 +66,7 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
   private static final Logger LOGGER = LoggerFactory.getLogger(HMSFollower.class);
   private static final String FULL_UPDATE_TRIGGER = "FULL UPDATE TRIGGER: ";
   private static boolean connectedToHms = false;
+  private static final long STAGE_THREAD_KEEP_ALIVE_SECONDS = 60;
 
   private SentryHMSClient client;
   private final Configuration authzConf;
@@ -72,6 +84,23 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
    * Default value is -1 which means it gets till the max
    */
   private int sentryHMSFetchSize;
+  /**
+   * Maximum number of notifications, and maximum span of their event times, processed
+   * in a single transaction.
+   */
+  private final int notificationBatchSize;
+  private final long notificationBatchWindowMs;
+  /**
+   * Executors fetching the next notifications while the previous ones are applied, and
+   * parsing notification messages ahead of their processing. Null when disabled.
+   */
+  private final ExecutorService prefetchExecutor;
+  private final ExecutorService parseExecutor;
+  private final int parseQueueSize;
+  /**
+   * Whether full snapshots are persisted in chunks while they are fetched.
+   */
+  private final boolean streamFullSnapshot;
   /**
    * Current generation of HMS snapshots. HMSFollower is single-threaded, so no need
    * to protect against concurrent modification.
@@ -129,6 +158,21 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
     } else {
       LOGGER.info("Sentry will fetch from HMS with depth of {}", sentryHMSFetchSize);
     }
+    notificationBatchSize = Math.max(1, conf.getInt(ServerConfig.SENTRY_HMS_NOTIFICATION_BATCH_SIZE,
+        ServerConfig.SENTRY_HMS_NOTIFICATION_BATCH_SIZE_DEFAULT));
+    notificationBatchWindowMs = conf.getLong(ServerConfig.SENTRY_HMS_NOTIFICATION_BATCH_WINDOW_MS,
+        ServerConfig.SENTRY_HMS_NOTIFICATION_BATCH_WINDOW_MS_DEFAULT);
+    prefetchExecutor = conf.getBoolean(ServerConfig.SENTRY_HMS_NOTIFICATION_PREFETCH_ENABLED,
+        ServerConfig.SENTRY_HMS_NOTIFICATION_PREFETCH_ENABLED_DEFAULT) ?
+        newStageExecutor("hms-follower-prefetch-%d", 1) : null;
+    int parseThreads = conf.getInt(ServerConfig.SENTRY_HMS_NOTIFICATION_PARSE_THREADS,
+        ServerConfig.SENTRY_HMS_NOTIFICATION_PARSE_THREADS_DEFAULT);
+    parseExecutor = (parseThreads > 0) ?
+        newStageExecutor("hms-follower-parse-%d", parseThreads) : null;
+    parseQueueSize = Math.max(1, conf.getInt(ServerConfig.SENTRY_HMS_NOTIFICATION_PARSE_QUEUE_SIZE,
+        ServerConfig.SENTRY_HMS_NOTIFICATION_PARSE_QUEUE_SIZE_DEFAULT));
+    streamFullSnapshot = conf.getBoolean(ServerConfig.SENTRY_HDFS_SYNC_METASTORE_CACHE_STREAMING_ENABLED,
+        ServerConfig.SENTRY_HDFS_SYNC_METASTORE_CACHE_STREAMING_ENABLED_DEFAULT);
 
     if(!hdfsSyncEnabled) {
       try {
@@ -143,6 +187,19 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
     }
   }
 
+  /**
+   * Creates an executor for a stage of the notification processing. Its threads
+   * stop when they are idle, so that the executor doesn't need to be shut down
+   * when the follower is closed and then reused, or replaced.
+   */
+  private static ExecutorService newStageExecutor(String nameFormat, int threads) {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+        STAGE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+        new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   @VisibleForTesting
   public static boolean isConnectedToHms() {
     return connectedToHms;
@@ -238,32 +295,56 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
         notificationId = 0L;
       }
 
-      Collection<NotificationEvent> notifications = null;
+      List<NotificationEvent> notifications = fetchNotifications(notificationId);
+      Future<List<NotificationEvent>> prefetched = null;
+      try {
+        while (true) {
+          // After getting notifications, check if HMS did some clean-up and notifications
+          // are out-of-sync with Sentry.
+          if (hdfsSyncEnabled &&
+                  areNotificationsOutOfSync(notifications, notificationId)) {
+            // Out-of-sync, taking a HMS full snapshot.
+            createFullSnapshot();
+            return;
+          }
 
-      if(sentryHMSFetchSize < 0 ) {
-        notifications = notificationFetcher.fetchNotifications(notificationId);
-      } else {
-        notifications = notificationFetcher.fetchNotifications(notificationId, sentryHMSFetchSize);
-      }
+          if (!readyToServe) {
+            // Allow users and/or applications who look into the Sentry console output to see
+            // when Sentry is ready to serve.
+            System.out.println("Sentry HMS support is ready");
+            readyToServe = true;
+          }
 
-      // After getting notifications, check if HMS did some clean-up and notifications
-      // are out-of-sync with Sentry.
-      if (hdfsSyncEnabled &&
-              areNotificationsOutOfSync(notifications, notificationId)) {
-        // Out-of-sync, taking a HMS full snapshot.
-        createFullSnapshot();
-        return;
-      }
+          // A full batch means that HMS likely has more notifications, which are fetched
+          // while these are applied. Only one batch is fetched ahead.
+          final long lastFetchedId;
+          if (prefetchExecutor != null && sentryHMSFetchSize > 0
+              && notifications.size() >= sentryHMSFetchSize) {
+            lastFetchedId = notifications.get(notifications.size() - 1).getEventId();
+            notificationFetcher.markFetched(notifications);
+            prefetched = prefetchExecutor.submit(() -> fetchNotifications(lastFetchedId));
+          } else {
+            lastFetchedId = notificationId;
+          }
 
-      if (!readyToServe) {
-        // Allow users and/or applications who look into the Sentry console output to see
-        // when Sentry is ready to serve.
-        System.out.println("Sentry HMS support is ready");
-        readyToServe = true;
+          // Continue with processing new notifications if no snapshots are done.
+          if (!processNotifications(notifications) || prefetched == null) {
+            return;
+          }
+          notifications = getPrefetched(prefetched);
+          prefetched = null;
+          notificationId = lastFetchedId;
+        }
+      } finally {
+        if (prefetched != null) {
+          // The fetcher must not be in use when it is closed after a failure
+          try {
+            prefetched.get();
+          } catch (ExecutionException ignored) {
+            // The notifications are fetched again by the next run
+          }
+        }
       }
-
-      // Continue with processing new notifications if no snapshots are done.
-      processNotifications(notifications);
     } catch (TException e) {
       LOGGER.error("An error occurred while fetching HMS notifications: ", e);
       close();
@@ -275,6 +356,40 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
     }
   }
 
+  /**
+   * Fetches the notifications following a given ID.
+   *
+   * @param notificationId ID of the last processed notification
+   * @return the new notifications, in the order of their IDs
+   * @throws Exception if the notifications cannot be fetched
+   */
+  private List<NotificationEvent> fetchNotifications(long notificationId) throws Exception {
+    SentryMetrics metrics = SentryMetrics.getInstance();
+    List<NotificationEvent> notifications;
+    try (Context ignored = metrics.hmsFetchTimer.time()) {
+      if (sentryHMSFetchSize < 0) {
+        notifications = notificationFetcher.fetchNotifications(notificationId);
+      } else {
+        notifications = notificationFetcher.fetchNotifications(notificationId, sentryHMSFetchSize);
+      }
+    }
+    metrics.hmsFetchBatchSize.update(notifications.size());
+    return notifications;
+  }
+
+  /**
+   * Waits for the notifications fetched while the previous ones were applied.
+   */
+  private List<NotificationEvent> getPrefetched(Future<List<NotificationEvent>> prefetched)
+      throws Exception {
+    try (Context ignored = SentryMetrics.getInstance().hmsPrefetchWaitTimer.time()) {
+      return prefetched.get();
+    } catch (ExecutionException e) {
+      Throwables.propagateIfInstanceOf(e.getCause(), Exception.class);
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
   /**
    * Checks if a new full HMS snapshot request is needed by checking if:
    * <ul>
@@ -406,6 +521,10 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
       SentryStateBank
           .enableState(SentryServiceState.COMPONENT, SentryServiceState.FULL_UPDATE_RUNNING);
 
+      if (hdfsSyncEnabled && streamFullSnapshot) {
+        return createStreamedFullSnapshot();
+      }
+
       PathsImage snapshotInfo = client.getFullSnapshot();
       if (snapshotInfo.getPathImage().isEmpty()) {
         LOGGER.debug("Received empty path image from HMS while taking a full snapshot");
@@ -451,58 +570,221 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
     }
   }
 
+  /**
+   * Persists a full HMS snapshot in chunks while it is fetched. The snapshot becomes the
+   * current one once it is complete, and the notifications HMS generated while it was
+   * fetched are then processed as any other notification.
+   *
+   * @return the last notification Id before the snapshot if it was persisted,
+   *     EMPTY_NOTIFICATION_ID otherwise
+   */
+  private long createStreamedFullSnapshot() throws Exception {
+    // Check we're the leader before persisting the new snapshot
+    if (!isLeader()) {
+      LOGGER.info("Not persisting full snapshot since not a leader");
+      return SentryConstants.EMPTY_NOTIFICATION_ID;
+    }
+
+    try (FullPathsImageWriter writer = sentryStore.beginFullPathsImage()) {
+      long notificationId = client.streamFullSnapshot(writer::persistChunk);
+      if (notificationId == SentryConstants.EMPTY_NOTIFICATION_ID) {
+        LOGGER.debug("Received empty path image from HMS while taking a full snapshot");
+        return notificationId;
+      }
+
+      // Check we're still the leader before making the new snapshot current
+      if (!isLeader()) {
+        LOGGER.info("Not committing full snapshot since not a leader");
+        return SentryConstants.EMPTY_NOTIFICATION_ID;
+      }
+      String logMessage = String.format("Committing full snapshot %d for notification Id = %d",
+          writer.getSnapshotID(), notificationId);
+      LOGGER.info(logMessage);
+      System.out.println(SentryServiceUtil.getCurrentTimeStampWithMessage(logMessage));
+      writer.commit(notificationId);
+
+      wakeUpWaitingClientsForSync(notificationId);
+      logMessage = String.format("Create full snapshot process is complete: snapshot Id %d", notificationId);
+      LOGGER.info(logMessage);
+      System.out.println(SentryServiceUtil.getCurrentTimeStampWithMessage(logMessage));
+      return notificationId;
+    } catch (Exception failure) {
+      LOGGER.error("Received exception while persisting HMS path full snapshot ");
+      throw failure;
+    }
+  }
+
   /**
    * Process the collection of notifications and wake up any waiting clients.
    * Also, persists the notification ID regardless of processing result.
+   * <p>
+   * Consecutive notifications which only add or remove paths are processed in
+   * batches, each in a single transaction. If a batch fails, its notifications are
+   * processed one by one, so that only the invalid ones are skipped.
+   *
+   * <p>
+   * The messages of the notifications are parsed on worker threads ahead of their
+   * processing, which remains sequential.
    *
    * @param events list of event to be processed
+   * @return false if the rest of the notifications were not processed
    * @throws Exception if the complete notification list is not processed because of JDO Exception
    */
-  public void processNotifications(Collection<NotificationEvent> events) throws Exception {
-    boolean isNotificationProcessed;
+  public boolean processNotifications(Collection<NotificationEvent> events) throws Exception {
     if (events.isEmpty()) {
-      return;
+      return true;
     }
 
-    for (NotificationEvent event : events) {
-      isNotificationProcessed = false;
-      try {
+    List<NotificationEvent> eventList = new ArrayList<>(events);
+    try (Context ignored = SentryMetrics.getInstance().hmsApplyTimer.time()) {
+      // Notifications before this index are parsed ahead
+      int parsedEnd = 0;
+      // Notifications before this index are processed one by one
+      int fallbackEnd = 0;
+      int i = 0;
+      while (i < eventList.size()) {
         // Only the leader should process the notifications
         if (!isLeader()) {
           LOGGER.debug("Not processing notifications since not a leader");
-          return;
+          return false;
         }
-        isNotificationProcessed = notificationProcessor.processNotificationEvent(event);
-      } catch (Exception e) {
-        if (e.getCause() instanceof JDODataStoreException) {
-          LOGGER.info("Received JDO Storage Exception, Could be because of processing "
-              + "duplicate notification");
-          if (event.getEventId() <= sentryStore.getLastProcessedNotificationID()) {
-            // Rest of the notifications need not be processed.
-            LOGGER.error("Received event with Id: {} which is smaller then the ID "
-                + "persisted in store", event.getEventId());
-            break;
+        parsedEnd = parseAhead(eventList, parsedEnd, i + parseQueueSize);
+        if (i >= fallbackEnd) {
+          int batchEnd = getBatchEnd(eventList, i);
+          if (batchEnd - i > 1) {
+            if (processNotificationBatch(eventList.subList(i, batchEnd))) {
+              i = batchEnd;
+              continue;
+            }
+            fallbackEnd = batchEnd;
           }
-        } else {
-          LOGGER.error("Processing the notification with ID:{} failed with exception {}",
-              event.getEventId(), e);
         }
+        if (!processNotification(eventList.get(i))) {
+          // Rest of the notifications need not be processed.
+          return false;
+        }
+        i++;
+      }
+      return true;
+    } finally {
+      notificationProcessor.clearParsedMessages();
+    }
+  }
+
+  /**
+   * Starts parsing the messages of notifications ahead of their processing.
+   *
+   * @param events notifications
+   * @param start index of the first notification not parsed yet
+   * @param end index following the last notification to parse
+   * @return index of the first notification not parsed yet
+   */
+  private int parseAhead(List<NotificationEvent> events, int start, int end) {
+    if (parseExecutor == null) {
+      return start;
+    }
+    end = Math.min(end, events.size());
+    for (int i = start; i < end; i++) {
+      notificationProcessor.parseAhead(events.get(i), parseExecutor);
+    }
+    return Math.max(start, end);
+  }
+
+  /**
+   * Finds the end of the batch of notifications starting at a given index. A batch
+   * has consecutive batchable notifications with increasing IDs, so that the last
+   * notification ID persisted by the batch is the one of its last notification.
+   *
+   * @param events notifications
+   * @param start index of the first notification of the batch
+   * @return index following the last notification of the batch
+   */
+  private int getBatchEnd(List<NotificationEvent> events, int start) {
+    NotificationEvent first = events.get(start);
+    if (!notificationProcessor.isBatchable(first)) {
+      return start + 1;
+    }
+    int end = start + 1;
+    while (end < events.size() && end - start < notificationBatchSize) {
+      NotificationEvent event = events.get(end);
+      if (!notificationProcessor.isBatchable(event)
+          || event.getEventId() <= events.get(end - 1).getEventId()
+          || TimeUnit.SECONDS.toMillis((long) event.getEventTime() - first.getEventTime())
+              > notificationBatchWindowMs) {
+        break;
+      }
+      end++;
+    }
+    return end;
+  }
+
+  /**
+   * Processes a batch of notifications in a single transaction and wakes up any
+   * waiting clients.
+   *
+   * @param batch notifications to be processed
+   * @return true if the batch is processed, false if it failed and its notifications
+   *         need to be processed one by one
+   */
+  private boolean processNotificationBatch(List<NotificationEvent> batch) throws Exception {
+    long lastEventId = batch.get(batch.size() - 1).getEventId();
+    try {
+      LOGGER.debug("Processing notifications with IDs {} to {} in a batch",
+          batch.get(0).getEventId(), lastEventId);
+      if (!notificationProcessor.processPartitionEvents(batch)) {
+        LOGGER.debug("Explicitly Persisting Notification ID = {} ", lastEventId);
+        sentryStore.persistLastProcessedNotificationID(lastEventId);
       }
-      if (!isNotificationProcessed) {
-        try {
-          // Update the notification ID in the persistent store even when the notification is
-          // not processed as the content in in the notification is not valid.
-          // Continue processing the next notification.
-          LOGGER.debug("Explicitly Persisting Notification ID = {} ", event.getEventId());
-          sentryStore.persistLastProcessedNotificationID(event.getEventId());
-        } catch (Exception failure) {
-          LOGGER.error("Received exception while persisting the notification ID = {}", event.getEventId());
-          throw failure;
+    } catch (Exception e) {
+      LOGGER.warn("Processing the notifications with IDs {} to {} in a batch failed, "
+          + "processing them one by one", batch.get(0).getEventId(), lastEventId, e);
+      return false;
+    }
+    // Wake up any HMS waiters that are waiting for these IDs.
+    wakeUpWaitingClientsForSync(lastEventId);
+    return true;
+  }
+
+  /**
+   * Processes a notification and wakes up any waiting clients.
+   *
+   * @param event notification to be processed
+   * @return false if the rest of the notifications need not be processed
+   * @throws Exception if the notification ID cannot be persisted
+   */
+  private boolean processNotification(NotificationEvent event) throws Exception {
+    boolean isNotificationProcessed = false;
+    try {
+      isNotificationProcessed = notificationProcessor.processNotificationEvent(event);
+    } catch (Exception e) {
+      if (e.getCause() instanceof JDODataStoreException) {
+        LOGGER.info("Received JDO Storage Exception, Could be because of processing "
+            + "duplicate notification");
+        if (event.getEventId() <= sentryStore.getLastProcessedNotificationID()) {
+          LOGGER.error("Received event with Id: {} which is smaller then the ID "
+              + "persisted in store", event.getEventId());
+          return false;
         }
+      } else {
+        LOGGER.error("Processing the notification with ID:{} failed with exception {}",
+            event.getEventId(), e);
       }
-      // Wake up any HMS waiters that are waiting for this ID.
-      wakeUpWaitingClientsForSync(event.getEventId());
     }
+    if (!isNotificationProcessed) {
+      try {
+        // Update the notification ID in the persistent store even when the notification is
+        // not processed as the content in in the notification is not valid.
+        // Continue processing the next notification.
+        LOGGER.debug("Explicitly Persisting Notification ID = {} ", event.getEventId());
+        sentryStore.persistLastProcessedNotificationID(event.getEventId());
+      } catch (Exception failure) {
+        LOGGER.error("Received exception while persisting the notification ID = {}", event.getEventId());
+        throw failure;
+      }
+    }
+    // Wake up any HMS waiters that are waiting for this ID.
+    wakeUpWaitingClientsForSync(event.getEventId());
+    return true;
   }
 
   /**
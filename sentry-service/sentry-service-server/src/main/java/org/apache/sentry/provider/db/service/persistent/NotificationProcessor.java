@@ -22,10 +22,13 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.codahale.metrics.Timer.Context;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.hadoop.hive.metastore.messaging.EventMessage;
 import org.apache.hadoop.hive.metastore.messaging.EventMessage.EventType;
 import org.apache.sentry.binding.metastore.messaging.json.SentryJSONAddPartitionMessage;
 import org.apache.sentry.binding.metastore.messaging.json.SentryJSONAlterPartitionMessage;
@@ -55,10 +58,16 @@ import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import static org.apache.sentry.binding.hive.conf.HiveAuthzConf.AuthzConfVars.AUTHZ_SYNC_CREATE_WITH_POLICY_STORE;
 import static org.apache.sentry.binding.hive.conf.HiveAuthzConf.AuthzConfVars.AUTHZ_SYNC_DROP_WITH_POLICY_STORE;
@@ -84,6 +93,13 @@ final class NotificationProcessor {
   private boolean syncStoreOnCreate = false;
   private boolean syncStoreOnDrop = false;
   private final boolean hdfsSyncEnabled;
+  // Path updates of a batch of notifications, one per notification with paths in
+  // the order of the notifications, null when notifications are processed one by one
+  private List<UniquePathsUpdate> batchUpdates;
+  // Messages of notifications parsed ahead of their processing. Only accessed by the
+  // thread processing the notifications.
+  private final Map<NotificationEvent, CompletableFuture<EventMessage>> parsedMessages =
+      new IdentityHashMap<>();
 
   /**
    * Configuring notification processor.
@@ -234,6 +250,131 @@ final class NotificationProcessor {
     }
   }
 
+  /**
+   * Starts parsing the message of a notification on an executor, so that it is
+   * parsed when the notification is processed.
+   *
+   * @param event notification event to be processed later
+   * @param executor executor parsing the message
+   */
+  void parseAhead(final NotificationEvent event, Executor executor) {
+    parsedMessages.put(event, CompletableFuture.supplyAsync(() -> parseMessage(event), executor));
+  }
+
+  /**
+   * Discards the messages parsed ahead of notifications which were not processed.
+   */
+  void clearParsedMessages() {
+    for (CompletableFuture<EventMessage> parsed : parsedMessages.values()) {
+      parsed.cancel(false);
+    }
+    parsedMessages.clear();
+  }
+
+  /**
+   * Parses the message of a notification.
+   *
+   * @param event notification event
+   * @return the message, or null if the notification type has no message to parse
+   * @throws IllegalArgumentException if the message cannot be parsed
+   */
+  private EventMessage parseMessage(NotificationEvent event) {
+    try (Context ignored = SentryMetrics.getInstance().hmsParseTimer.time()) {
+      String message = event.getMessage();
+      switch (EventType.valueOf(event.getEventType())) {
+        case CREATE_DATABASE:
+          return deserializer.getCreateDatabaseMessage(message);
+        case DROP_DATABASE:
+          return deserializer.getDropDatabaseMessage(message);
+        case CREATE_TABLE:
+          return deserializer.getCreateTableMessage(message);
+        case DROP_TABLE:
+          return deserializer.getDropTableMessage(message);
+        case ALTER_TABLE:
+          return deserializer.getAlterTableMessage(message);
+        case ADD_PARTITION:
+          return deserializer.getAddPartitionMessage(message);
+        case DROP_PARTITION:
+          return deserializer.getDropPartitionMessage(message);
+        case ALTER_PARTITION:
+          return deserializer.getAlterPartitionMessage(message);
+        default:
+          return null;
+      }
+    }
+  }
+
+  /**
+   * Gets the message of a notification, parsed ahead or parsed now.
+   *
+   * @param event notification event
+   * @param messageClass class of the message of the notification type
+   * @return the message
+   * @throws IllegalArgumentException if the message cannot be parsed
+   */
+  private <T extends EventMessage> T getMessage(NotificationEvent event, Class<T> messageClass) {
+    CompletableFuture<EventMessage> parsed = parsedMessages.remove(event);
+    if (parsed == null) {
+      return messageClass.cast(parseMessage(event));
+    }
+    try (Context ignored = SentryMetrics.getInstance().hmsParseWaitTimer.time()) {
+      return messageClass.cast(parsed.join());
+    } catch (CompletionException e) {
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
+  /**
+   * Checks whether a notification can be processed in a batch, by
+   * {@link #processPartitionEvents(List)}.
+   *
+   * @param event notification event
+   * @return true if the event only adds or removes paths
+   */
+  boolean isBatchable(NotificationEvent event) {
+    if (!hdfsSyncEnabled) {
+      return false;
+    }
+    String eventType = event.getEventType();
+    return EventType.ADD_PARTITION.toString().equals(eventType)
+        || EventType.DROP_PARTITION.toString().equals(eventType);
+  }
+
+  /**
+   * Processes a batch of "add partition" and "drop partition" notification events,
+   * and applies their corresponding snapshot changes as well as their delta path
+   * updates into Sentry DB in a single transaction.
+   * <p>
+   * Each notification keeps its own delta path update, so that HDFS applies the
+   * changes in the order of the notifications, and never mistakes the changes of
+   * two notifications for a rename.
+   *
+   * @param events batchable notification events, in the order of their IDs
+   * @return true, if the ID of the last event is persisted to sentry store. false,
+   *         if the last event has no paths to persist.
+   * @throws Exception if there is an error processing the events, in which case none
+   *         of them is persisted.
+   */
+  boolean processPartitionEvents(List<NotificationEvent> events) throws Exception {
+    Preconditions.checkArgument(!events.isEmpty(), "No notification events to process");
+    batchUpdates = new ArrayList<>(events.size());
+    try {
+      for (NotificationEvent event : events) {
+        Preconditions.checkArgument(isBatchable(event),
+            "Notification with ID:%s cannot be processed in a batch", event.getEventId());
+        processNotificationEvent(event);
+      }
+      if (batchUpdates.isEmpty()) {
+        return false;
+      }
+      sentryStore.updateAuthzPathsMappings(batchUpdates);
+      long lastEventId = events.get(events.size() - 1).getEventId();
+      return batchUpdates.get(batchUpdates.size() - 1).getSeqNum() == lastEventId;
+    } finally {
+      batchUpdates = null;
+    }
+  }
+
   /**
    * Processes "create database" notification event, and applies its corresponding
    * snapshot change as well as delta path update into Sentry DB.
@@ -243,7 +384,7 @@ final class NotificationProcessor {
    */
   private boolean processCreateDatabase(NotificationEvent event) throws Exception {
     SentryJSONCreateDatabaseMessage message =
-        deserializer.getCreateDatabaseMessage(event.getMessage());
+        getMessage(event, SentryJSONCreateDatabaseMessage.class);
     String dbName = message.getDB();
     String location = message.getLocation();
     if ((dbName == null) || (location == null)) {
@@ -277,7 +418,7 @@ final class NotificationProcessor {
    */
   private boolean processDropDatabase(NotificationEvent event) throws Exception {
     SentryJSONDropDatabaseMessage dropDatabaseMessage =
-        deserializer.getDropDatabaseMessage(event.getMessage());
+        getMessage(event, SentryJSONDropDatabaseMessage.class);
     String dbName = dropDatabaseMessage.getDB();
     if (dbName == null) {
       LOGGER.warn("Drop database event has incomplete information: dbName = null");
@@ -303,8 +444,8 @@ final class NotificationProcessor {
    */
   private boolean processCreateTable(NotificationEvent event)
       throws Exception {
-    SentryJSONCreateTableMessage createTableMessage = deserializer
-        .getCreateTableMessage(event.getMessage());
+    SentryJSONCreateTableMessage createTableMessage = getMessage(event,
+        SentryJSONCreateTableMessage.class);
     String dbName = createTableMessage.getDB();
     String tableName = createTableMessage.getTable();
     String location = createTableMessage.getLocation();
@@ -339,8 +480,8 @@ final class NotificationProcessor {
    * @throws Exception if encounters errors while persisting the path change
    */
   private boolean processDropTable(NotificationEvent event) throws Exception {
-    SentryJSONDropTableMessage dropTableMessage = deserializer
-        .getDropTableMessage(event.getMessage());
+    SentryJSONDropTableMessage dropTableMessage = getMessage(event,
+        SentryJSONDropTableMessage.class);
     String dbName = dropTableMessage.getDB();
     String tableName = dropTableMessage.getTable();
     if ((dbName == null) || (tableName == null)) {
@@ -373,7 +514,7 @@ final class NotificationProcessor {
   private boolean processAlterTable(NotificationEvent event) throws Exception {
 
     SentryJSONAlterTableMessage alterTableMessage =
-        deserializer.getAlterTableMessage(event.getMessage());
+        getMessage(event, SentryJSONAlterTableMessage.class);
     String oldDbName = alterTableMessage.getDB();
     String oldTableName = alterTableMessage.getTable();
     String newDbName = event.getDbName();
@@ -450,7 +591,7 @@ final class NotificationProcessor {
     }
 
     SentryJSONAddPartitionMessage addPartitionMessage =
-        deserializer.getAddPartitionMessage(event.getMessage());
+        getMessage(event, SentryJSONAddPartitionMessage.class);
     String dbName = addPartitionMessage.getDB();
     String tableName = addPartitionMessage.getTable();
     List<String> locations = addPartitionMessage.getLocations();
@@ -481,7 +622,7 @@ final class NotificationProcessor {
     }
 
     SentryJSONDropPartitionMessage dropPartitionMessage =
-        deserializer.getDropPartitionMessage(event.getMessage());
+        getMessage(event, SentryJSONDropPartitionMessage.class);
     String dbName = dropPartitionMessage.getDB();
     String tableName = dropPartitionMessage.getTable();
     List<String> locations = dropPartitionMessage.getLocations();
@@ -511,7 +652,7 @@ final class NotificationProcessor {
     }
 
     SentryJSONAlterPartitionMessage alterPartitionMessage =
-        deserializer.getAlterPartitionMessage(event.getMessage());
+        getMessage(event, SentryJSONAlterPartitionMessage.class);
     String dbName = alterPartitionMessage.getDB();
     String tableName = alterPartitionMessage.getTable();
     String oldLocation = alterPartitionMessage.getOldLocation();
@@ -578,6 +719,13 @@ final class NotificationProcessor {
         paths.add(pathTree);
       }
     }
+    if (batchUpdates != null) {
+      // Persisted along with the rest of the batch
+      if (!paths.isEmpty()) {
+        batchUpdates.add(update);
+      }
+      return;
+    }
     if(!paths.isEmpty()) {
       sentryStore.addAuthzPathsMapping(authzObj, paths, update);
     } else {
@@ -618,6 +766,13 @@ final class NotificationProcessor {
         paths.add(pathTree);
       }
     }
+    if (batchUpdates != null) {
+      // Persisted along with the rest of the batch
+      if (!paths.isEmpty()) {
+        batchUpdates.add(update);
+      }
+      return;
+    }
     if(!paths.isEmpty()) {
       sentryStore.deleteAuthzPathsMapping(authzObj, paths, update);
     } else {
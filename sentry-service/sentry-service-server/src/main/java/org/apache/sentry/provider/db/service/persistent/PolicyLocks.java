@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import static org.apache.sentry.core.common.utils.SentryUtils.isNULL;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.sentry.core.common.utils.SentryConstants;
+import org.apache.sentry.service.common.ServiceConstants.SentryPrincipalType;
+
+import com.google.common.util.concurrent.Striped;
+
+/**
+ * Locks serializing the policy writes of {@link SentryStore}.
+ * <p>
+ * Writes whose footprint is known up front lock the roles, users, groups and databases
+ * they modify, using a fixed set of lock stripes, so writes on unrelated principals and
+ * databases run concurrently. Writes which may touch any part of the policy, e.g.
+ * dropping a role or revoking a server privilege, lock the whole policy exclusively.
+ * <p>
+ * Stripes are always acquired in the same order, so locking several keys at once
+ * can't deadlock.
+ */
+final class PolicyLocks {
+
+  /**
+   * Locks held by a write, released when closed.
+   */
+  interface Locked extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  private static final String ROLE_PREFIX = "role:";
+  private static final String USER_PREFIX = "user:";
+  private static final String GROUP_PREFIX = "group:";
+  private static final String DB_PREFIX = "db:";
+  private static final String URI_PREFIX = "uri:";
+
+  private final ReadWriteLock policyLock = new ReentrantReadWriteLock();
+  private final Striped<Lock> stripes;
+
+  PolicyLocks(int numStripes) {
+    stripes = Striped.lock(numStripes);
+  }
+
+  /**
+   * Lock the given keys, sharing the policy with other writes on different keys.
+   * A null key locks the whole policy exclusively instead.
+   */
+  Locked lock(Collection<String> keys) {
+    if (keys.contains(null)) {
+      return lockExclusive();
+    }
+    final Lock shared = policyLock.readLock();
+    shared.lock();
+    final List<Lock> locked = new ArrayList<>(keys.size());
+    try {
+      for (Lock lock : stripes.bulkGet(keys)) {
+        lock.lock();
+        locked.add(lock);
+      }
+    } catch (RuntimeException e) {
+      unlock(locked, shared);
+      throw e;
+    }
+    return new Locked() {
+      @Override
+      public void close() {
+        unlock(locked, shared);
+      }
+    };
+  }
+
+  /**
+   * Lock the whole policy, waiting for all other writes to complete.
+   */
+  Locked lockExclusive() {
+    final Lock exclusive = policyLock.writeLock();
+    exclusive.lock();
+    return new Locked() {
+      @Override
+      public void close() {
+        exclusive.unlock();
+      }
+    };
+  }
+
+  private static void unlock(List<Lock> locked, Lock shared) {
+    for (int i = locked.size() - 1; i >= 0; i--) {
+      locked.get(i).unlock();
+    }
+    shared.unlock();
+  }
+
+  static String principalKey(SentryPrincipalType type, String name) {
+    return (type == SentryPrincipalType.USER ? USER_PREFIX : ROLE_PREFIX)
+        + SentryStore.safeTrimLower(name);
+  }
+
+  static String roleKey(String roleName) {
+    return principalKey(SentryPrincipalType.ROLE, roleName);
+  }
+
+  static String groupKey(String groupName) {
+    return GROUP_PREFIX + SentryStore.safeTrim(groupName);
+  }
+
+  /**
+   * Key of the object privileges belong to: the URI for URI privileges or the
+   * database for privileges on a database, table or column. Null if privileges on
+   * the object may affect any database, i.e. it is a server or all databases.
+   */
+  static String objectKey(String server, String db, String uri) {
+    if (isNULL(server)) {
+      return null;
+    }
+    String serverName = SentryStore.safeTrimLower(server);
+    if (!isNULL(uri)) {
+      return URI_PREFIX + serverName + "/" + uri.trim();
+    }
+    if (isNULL(db) || SentryConstants.RESOURCE_WILDCARD_VALUE.equals(db.trim())) {
+      return null;
+    }
+    return DB_PREFIX + serverName + "/" + SentryStore.safeTrimLower(db);
+  }
+}
@@ -0,0 +1,649 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import static org.apache.sentry.core.common.utils.SentryConstants.NULL_COL;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.jdo.FetchGroup;
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import org.apache.sentry.api.service.thrift.TSentryAuthorizable;
+import org.apache.sentry.core.model.db.AccessConstants;
+import org.apache.sentry.provider.db.service.model.MSentryGroup;
+import org.apache.sentry.provider.db.service.model.MSentryPrivilege;
+import org.apache.sentry.provider.db.service.model.MSentryRole;
+import org.apache.sentry.provider.db.service.model.MSentryUser;
+import org.apache.sentry.service.common.ServiceConstants.SentryPrincipalType;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * An immutable in-memory copy of the Sentry policy: roles, groups, users and the
+ * privileges granted to roles and users.
+ * <p>
+ * The snapshot is loaded in a single transaction and answers the provider read
+ * requests of {@link SentryStore} with the same filtering semantics as the database
+ * queries. Privileges of every principal are indexed by database, so a request on a
+ * database only looks at the privileges on that database and the privileges which are
+ * not bound to any database.
+ * <p>
+ * The snapshot records the ID of the last permission change it was loaded at, which
+ * {@link SentryStore} uses to detect the changes made by other Sentry servers. Local policy
+ * writes are applied with {@link #update(PersistenceManager, Change)}, which creates a copy
+ * of the snapshot with the current state of the changed roles and users.
+ */
+final class PolicySnapshot {
+
+  private final long permChangeID;
+  private final long createTime;
+
+  // Group name -> names of roles granted to the group
+  private final Map<String, Set<String>> groupRoles;
+  // User name -> names of roles granted to the user
+  private final Map<String, Set<String>> userRoles;
+  // Role name -> names of groups the role is granted to
+  private final Map<String, Set<String>> roleGroups;
+  // Role name -> names of users the role is granted to
+  private final Map<String, Set<String>> roleUsers;
+  // Role name -> privileges granted to the role
+  private final Map<String, PrincipalPrivileges> rolePrivileges;
+  // User name -> privileges granted to the user
+  private final Map<String, PrincipalPrivileges> userPrivileges;
+
+  private PolicySnapshot(long permChangeID, long createTime,
+      Map<String, Set<String>> groupRoles, Map<String, Set<String>> userRoles,
+      Map<String, Set<String>> roleGroups, Map<String, Set<String>> roleUsers,
+      Map<String, PrincipalPrivileges> rolePrivileges,
+      Map<String, PrincipalPrivileges> userPrivileges) {
+    this.permChangeID = permChangeID;
+    this.createTime = createTime;
+    this.groupRoles = groupRoles;
+    this.userRoles = userRoles;
+    this.roleGroups = roleGroups;
+    this.roleUsers = roleUsers;
+    this.rolePrivileges = rolePrivileges;
+    this.userPrivileges = userPrivileges;
+  }
+
+  /**
+   * Load the complete policy. Must be called inside a transaction.
+   *
+   * @param pm PersistenceManager
+   * @param permChangeID ID of the last permission change visible to the transaction
+   * @return the snapshot
+   */
+  @SuppressWarnings("unchecked")
+  static PolicySnapshot load(PersistenceManager pm, long permChangeID) {
+    pm.setDetachAllOnCommit(false); // No need to detach objects
+
+    Map<String, Set<String>> roleGroups = new HashMap<>();
+    Query roleQuery = pm.newQuery(MSentryRole.class);
+    FetchGroup roleGrp = pm.getFetchGroup(MSentryRole.class, "fetchGroups");
+    roleGrp.addMember("groups");
+    pm.getFetchPlan().addGroup("fetchGroups");
+    for (MSentryRole role : (List<MSentryRole>) roleQuery.execute()) {
+      Set<String> groups = new HashSet<>(role.getGroups().size());
+      for (MSentryGroup group : role.getGroups()) {
+        groups.add(group.getGroupName());
+      }
+      roleGroups.put(role.getRoleName(), Collections.unmodifiableSet(groups));
+    }
+    roleQuery.closeAll();
+
+    Map<String, Set<String>> groupRoles = new HashMap<>();
+    Query groupQuery = pm.newQuery(MSentryGroup.class);
+    FetchGroup groupGrp = pm.getFetchGroup(MSentryGroup.class, "fetchRoles");
+    groupGrp.addMember("roles");
+    pm.getFetchPlan().addGroup("fetchRoles");
+    for (MSentryGroup group : (List<MSentryGroup>) groupQuery.execute()) {
+      groupRoles.put(group.getGroupName(), toRoleNames(group.getRoles()));
+    }
+    groupQuery.closeAll();
+
+    Map<String, Set<String>> userRoles = new HashMap<>();
+    Map<String, Set<String>> roleUsers = new HashMap<>();
+    Query userQuery = pm.newQuery(MSentryUser.class);
+    FetchGroup userGrp = pm.getFetchGroup(MSentryUser.class, "fetchRoles");
+    userGrp.addMember("roles");
+    pm.getFetchPlan().addGroup("fetchRoles");
+    for (MSentryUser user : (List<MSentryUser>) userQuery.execute()) {
+      Set<String> roleNames = toRoleNames(user.getRoles());
+      userRoles.put(user.getUserName(), roleNames);
+      for (String roleName : roleNames) {
+        Set<String> users = roleUsers.get(roleName);
+        if (users == null) {
+          users = new HashSet<>();
+          roleUsers.put(roleName, users);
+        }
+        users.add(user.getUserName());
+      }
+    }
+    userQuery.closeAll();
+    for (Map.Entry<String, Set<String>> entry : roleUsers.entrySet()) {
+      entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+    }
+
+    Map<String, PrincipalPrivileges> rolePrivileges = new HashMap<>();
+    Map<String, PrincipalPrivileges> userPrivileges = new HashMap<>();
+    Query privilegeQuery = pm.newQuery(MSentryPrivilege.class);
+    FetchGroup privilegeGrp = pm.getFetchGroup(MSentryPrivilege.class, "fetchRolesUsers");
+    privilegeGrp.addMember("roles").addMember("users");
+    pm.getFetchPlan().addGroup("fetchRolesUsers");
+    for (MSentryPrivilege mPrivilege : (List<MSentryPrivilege>) privilegeQuery.execute()) {
+      Privilege privilege = new Privilege(mPrivilege);
+      for (MSentryRole role : mPrivilege.getRoles()) {
+        add(rolePrivileges, role.getRoleName(), privilege);
+      }
+      for (MSentryUser user : mPrivilege.getUsers()) {
+        add(userPrivileges, user.getUserName(), privilege);
+      }
+    }
+    privilegeQuery.closeAll();
+
+    return new PolicySnapshot(permChangeID, System.currentTimeMillis(), groupRoles, userRoles,
+        roleGroups, roleUsers, rolePrivileges, userPrivileges);
+  }
+
+  /**
+   * Create a copy of the snapshot with the current state of the roles and users of the
+   * change. The state of the other principals is shared with this snapshot. Must be called
+   * inside a transaction.
+   *
+   * @param pm PersistenceManager
+   * @param change roles and users to read again
+   * @return the updated snapshot
+   */
+  PolicySnapshot update(PersistenceManager pm, Change change) {
+    Preconditions.checkArgument(!change.isReload(), "Change requires a full reload");
+    pm.setDetachAllOnCommit(false); // No need to detach objects
+
+    Map<String, Set<String>> newGroupRoles = new HashMap<>(groupRoles);
+    Map<String, Set<String>> newUserRoles = new HashMap<>(userRoles);
+    Map<String, Set<String>> newRoleGroups = new HashMap<>(roleGroups);
+    Map<String, Set<String>> newRoleUsers = new HashMap<>(roleUsers);
+    Map<String, PrincipalPrivileges> newRolePrivileges = new HashMap<>(rolePrivileges);
+    Map<String, PrincipalPrivileges> newUserPrivileges = new HashMap<>(userPrivileges);
+
+    Query roleQuery = pm.newQuery(MSentryRole.class);
+    roleQuery.setFilter("this.roleName == :roleName");
+    roleQuery.setUnique(true);
+    for (String roleName : change.roleNames) {
+      MSentryRole role = (MSentryRole) roleQuery.execute(roleName);
+      if (role == null) {
+        relink(roleName, null, newRoleGroups, newGroupRoles);
+        relink(roleName, null, newRoleUsers, newUserRoles);
+        newRolePrivileges.remove(roleName);
+        continue;
+      }
+      Set<String> groups = new HashSet<>(role.getGroups().size());
+      for (MSentryGroup group : role.getGroups()) {
+        groups.add(group.getGroupName());
+      }
+      Set<String> users = new HashSet<>(role.getUsers().size());
+      for (MSentryUser user : role.getUsers()) {
+        users.add(user.getUserName());
+      }
+      relink(roleName, Collections.unmodifiableSet(groups), newRoleGroups, newGroupRoles);
+      relink(roleName, Collections.unmodifiableSet(users), newRoleUsers, newUserRoles);
+      put(newRolePrivileges, roleName, role.getPrivileges());
+    }
+    roleQuery.closeAll();
+
+    Query userQuery = pm.newQuery(MSentryUser.class);
+    userQuery.setFilter("this.userName == :userName");
+    userQuery.setUnique(true);
+    for (String userName : change.userNames) {
+      MSentryUser user = (MSentryUser) userQuery.execute(userName);
+      if (user == null) {
+        relink(userName, null, newUserRoles, newRoleUsers);
+        newUserPrivileges.remove(userName);
+        continue;
+      }
+      relink(userName, toRoleNames(user.getRoles()), newUserRoles, newRoleUsers);
+      put(newUserPrivileges, userName, user.getPrivileges());
+    }
+    userQuery.closeAll();
+
+    return new PolicySnapshot(permChangeID, createTime, newGroupRoles, newUserRoles,
+        newRoleGroups, newRoleUsers, newRolePrivileges, newUserPrivileges);
+  }
+
+  /**
+   * Replace the names linked to a principal, e.g. the groups of a role, and update the
+   * reverse links, e.g. the roles of the groups, to match.
+   *
+   * @param name name of the principal
+   * @param linked names linked to the principal, null if the principal was dropped
+   * @param links principal name -> linked names
+   * @param reverseLinks linked name -> principal names
+   */
+  private static void relink(String name, Set<String> linked, Map<String, Set<String>> links,
+      Map<String, Set<String>> reverseLinks) {
+    Set<String> oldLinked = links.get(name);
+    if (oldLinked != null) {
+      for (String other : oldLinked) {
+        Set<String> names = reverseLinks.get(other);
+        if ((linked == null || !linked.contains(other)) && names != null) {
+          Set<String> newNames = new HashSet<>(names);
+          newNames.remove(name);
+          reverseLinks.put(other, Collections.unmodifiableSet(newNames));
+        }
+      }
+    }
+    if (linked == null) {
+      links.remove(name);
+      return;
+    }
+    for (String other : linked) {
+      if (oldLinked == null || !oldLinked.contains(other)) {
+        Set<String> names = reverseLinks.get(other);
+        Set<String> newNames = names == null ? new HashSet<String>() : new HashSet<>(names);
+        newNames.add(name);
+        reverseLinks.put(other, Collections.unmodifiableSet(newNames));
+      }
+    }
+    links.put(name, linked);
+  }
+
+  private static void put(Map<String, PrincipalPrivileges> privileges, String principal,
+      Set<MSentryPrivilege> mPrivileges) {
+    if (mPrivileges.isEmpty()) {
+      privileges.remove(principal);
+      return;
+    }
+    PrincipalPrivileges principalPrivileges = new PrincipalPrivileges();
+    for (MSentryPrivilege mPrivilege : mPrivileges) {
+      principalPrivileges.add(new Privilege(mPrivilege));
+    }
+    privileges.put(principal, principalPrivileges);
+  }
+
+  private static Set<String> toRoleNames(Set<MSentryRole> roles) {
+    Set<String> roleNames = new HashSet<>(roles.size());
+    for (MSentryRole role : roles) {
+      roleNames.add(role.getRoleName());
+    }
+    return Collections.unmodifiableSet(roleNames);
+  }
+
+  private static void add(Map<String, PrincipalPrivileges> privileges, String principal,
+      Privilege privilege) {
+    PrincipalPrivileges principalPrivileges = privileges.get(principal);
+    if (principalPrivileges == null) {
+      principalPrivileges = new PrincipalPrivileges();
+      privileges.put(principal, principalPrivileges);
+    }
+    principalPrivileges.add(privilege);
+  }
+
+  long getPermChangeID() {
+    return permChangeID;
+  }
+
+  /**
+   * @return the time the policy was loaded, which incremental updates keep
+   */
+  long getCreateTime() {
+    return createTime;
+  }
+
+  /**
+   * @return all role names
+   */
+  Set<String> getRoleNames() {
+    return Collections.unmodifiableSet(roleGroups.keySet());
+  }
+
+  /**
+   * @return names of the roles granted to the group or null if the group doesn't exist
+   */
+  Set<String> getRoleNamesForGroup(String group) {
+    return groupRoles.get(group);
+  }
+
+  /**
+   * @return names of the groups the role is granted to
+   */
+  Set<String> getGroupNamesForRole(String roleName) {
+    Set<String> groups = roleGroups.get(roleName);
+    return groups == null ? Collections.<String>emptySet() : groups;
+  }
+
+  /**
+   * Get the lowercased names of the roles granted to the groups and users,
+   * restricted to the active roles.
+   */
+  Set<String> getRolesToQuery(Set<String> groups, Set<String> users, Set<String> activeRoles,
+      boolean allRoles) {
+    Set<String> roleNames = new HashSet<>();
+    addRoleNames(roleNames, groupRoles, groups);
+    addRoleNames(roleNames, userRoles, users);
+    if (!allRoles) {
+      roleNames.retainAll(activeRoles);
+    }
+    return roleNames;
+  }
+
+  private static void addRoleNames(Set<String> roleNames, Map<String, Set<String>> principalRoles,
+      Set<String> principals) {
+    if (principals == null) {
+      return;
+    }
+    for (String principal : principals) {
+      Set<String> roles = principalRoles.get(principal);
+      if (roles != null) {
+        for (String role : roles) {
+          roleNames.add(role.trim().toLowerCase());
+        }
+      }
+    }
+  }
+
+  /**
+   * Does any of the roles or users have a privilege on the server?
+   */
+  boolean hasAnyServerPrivileges(Set<String> roleNames, Set<String> userNames, String server) {
+    String serverName = normalize(server);
+    for (PrincipalPrivileges privileges : lookup(rolePrivileges, roleNames, true)) {
+      if (privileges.hasServerPrivilege(serverName)) {
+        return true;
+      }
+    }
+    for (PrincipalPrivileges privileges : lookup(userPrivileges, userNames, false)) {
+      if (privileges.hasServerPrivilege(serverName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Collect the privileges of the roles and users which match the authorizable hierarchy,
+   * in their string form.
+   *
+   * @param roleNames names of roles
+   * @param userNames names of users
+   * @param authHierarchy authorizable hierarchy, null to collect all the privileges
+   * @param result collection the privileges are added to
+   */
+  void collectPrivileges(Set<String> roleNames, Set<String> userNames,
+      TSentryAuthorizable authHierarchy, Collection<String> result) {
+    Filter filter = Filter.of(authHierarchy);
+    for (PrincipalPrivileges privileges : lookup(rolePrivileges, roleNames, true)) {
+      privileges.collect(filter, result);
+    }
+    for (PrincipalPrivileges privileges : lookup(userPrivileges, userNames, false)) {
+      privileges.collect(filter, result);
+    }
+  }
+
+  private static List<PrincipalPrivileges> lookup(Map<String, PrincipalPrivileges> privileges,
+      Set<String> principals, boolean toLowerCase) {
+    if (principals == null || principals.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<PrincipalPrivileges> result = new ArrayList<>(principals.size());
+    for (String principal : principals) {
+      String name = toLowerCase ? principal.trim().toLowerCase() : principal.trim();
+      PrincipalPrivileges principalPrivileges = privileges.get(name);
+      if (principalPrivileges != null) {
+        result.add(principalPrivileges);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Normalize a requested value the same way {@link QueryParamBuilder} does.
+   */
+  private static String normalize(String value) {
+    return SentryStore.toNULLCol(SentryStore.safeTrimLower(value));
+  }
+
+  /**
+   * Requested authorizable, with the values normalized as they are stored.
+   */
+  private static final class Filter {
+    private static final Filter ALL = new Filter(null, null, null, null, null);
+
+    private final String server;
+    private final String db;
+    private final String table;
+    private final String column;
+    private final String uri;
+
+    private Filter(String server, String db, String table, String column, String uri) {
+      this.server = server;
+      this.db = db;
+      this.table = table;
+      this.column = column;
+      this.uri = uri;
+    }
+
+    static Filter of(TSentryAuthorizable authHierarchy) {
+      if (authHierarchy == null || authHierarchy.getServer() == null) {
+        return ALL;
+      }
+      String db = null;
+      String table = null;
+      String column = null;
+      if (authHierarchy.getDb() != null) {
+        db = normalize(authHierarchy.getDb());
+        if (authHierarchy.getTable() != null
+            && !AccessConstants.ALL.equalsIgnoreCase(authHierarchy.getTable())) {
+          if (!AccessConstants.SOME.equalsIgnoreCase(authHierarchy.getTable())) {
+            table = normalize(authHierarchy.getTable());
+          }
+          if (authHierarchy.getColumn() != null
+              && !AccessConstants.ALL.equalsIgnoreCase(authHierarchy.getColumn())
+              && !AccessConstants.SOME.equalsIgnoreCase(authHierarchy.getColumn())) {
+            column = normalize(authHierarchy.getColumn());
+          }
+        }
+      }
+      return new Filter(normalize(authHierarchy.getServer()), db, table, column,
+          authHierarchy.getUri());
+    }
+
+    boolean matches(Privilege privilege) {
+      if (server == null) {
+        return true;
+      }
+      if (!server.equals(privilege.server)) {
+        return false;
+      }
+      if (db != null) {
+        if (!privilege.isNullURI() || !matchesOrNull(db, privilege.db)) {
+          return false;
+        }
+        if (table != null && !matchesOrNull(table, privilege.table)) {
+          return false;
+        }
+        if (column != null && !matchesOrNull(column, privilege.column)) {
+          return false;
+        }
+      }
+      if (uri != null) {
+        if (!NULL_COL.equals(privilege.db)) {
+          return false;
+        }
+        if (!privilege.isNullURI() && !uri.startsWith(privilege.uri)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static boolean matchesOrNull(String requested, String value) {
+      return requested.equals(value) || NULL_COL.equals(value);
+    }
+  }
+
+  /**
+   * Privileges of a single role or user, indexed by database.
+   */
+  private static final class PrincipalPrivileges {
+    // Database name -> privileges on the database; the NULL_COL key holds
+    // privileges on the server and on URIs.
+    private final Map<String, List<Privilege>> byDb = new HashMap<>();
+
+    void add(Privilege privilege) {
+      List<Privilege> privileges = byDb.get(privilege.db);
+      if (privileges == null) {
+        privileges = new ArrayList<>();
+        byDb.put(privilege.db, privileges);
+      }
+      privileges.add(privilege);
+    }
+
+    boolean hasServerPrivilege(String server) {
+      for (List<Privilege> privileges : byDb.values()) {
+        for (Privilege privilege : privileges) {
+          if (server.equals(privilege.server)) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    void collect(Filter filter, Collection<String> result) {
+      if (filter.db == null && filter.uri == null) {
+        for (List<Privilege> privileges : byDb.values()) {
+          collect(filter, privileges, result);
+        }
+        return;
+      }
+      collect(filter, byDb.get(NULL_COL), result);
+      if (filter.db != null && !NULL_COL.equals(filter.db) && filter.uri == null) {
+        collect(filter, byDb.get(filter.db), result);
+      }
+    }
+
+    private static void collect(Filter filter, List<Privilege> privileges,
+        Collection<String> result) {
+      if (privileges == null) {
+        return;
+      }
+      for (Privilege privilege : privileges) {
+        if (filter.matches(privilege)) {
+          result.add(privilege.authorizable);
+        }
+      }
+    }
+  }
+
+  /**
+   * The fields of {@link MSentryPrivilege} used for filtering, in their stored form.
+   */
+  private static final class Privilege {
+    private final String server;
+    private final String db;
+    private final String table;
+    private final String column;
+    private final String uri;
+    private final String authorizable;
+
+    Privilege(MSentryPrivilege privilege) {
+      this.server = privilege.getServerName();
+      this.db = SentryStore.toNULLCol(privilege.getDbName());
+      this.table = SentryStore.toNULLCol(privilege.getTableName());
+      this.column = SentryStore.toNULLCol(privilege.getColumnName());
+      this.uri = SentryStore.toNULLCol(privilege.getURI());
+      this.authorizable = SentryStore.toAuthorizable(privilege);
+    }
+
+    boolean isNullURI() {
+      return NULL_COL.equals(uri);
+    }
+  }
+
+  /**
+   * The roles and users changed by a local policy write, filled by its transaction blocks.
+   * A block may run more than once when its transaction is retried, so the names it
+   * records are only a superset of the changed principals, which is harmless since the
+   * snapshot reads their state again. Bulk writes which change many principals request a
+   * reload of the whole policy instead.
+   */
+  static final class Change {
+    private final Set<String> roleNames = new HashSet<>();
+    private final Set<String> userNames = new HashSet<>();
+    private boolean reload;
+
+    /**
+     * @return a change after which the whole policy must be loaded again
+     */
+    static Change reload() {
+      Change change = new Change();
+      change.reload = true;
+      return change;
+    }
+
+    Change addRole(String roleName) {
+      roleNames.add(roleName.trim().toLowerCase());
+      return this;
+    }
+
+    Change addRoles(Collection<String> roleNames) {
+      for (String roleName : roleNames) {
+        addRole(roleName);
+      }
+      return this;
+    }
+
+    Change addUser(String userName) {
+      userNames.add(userName.trim());
+      return this;
+    }
+
+    Change addUsers(Collection<String> userNames) {
+      for (String userName : userNames) {
+        addUser(userName);
+      }
+      return this;
+    }
+
+    Change addPrincipal(SentryPrincipalType type, String name) {
+      return type == SentryPrincipalType.ROLE ? addRole(name) : addUser(name);
+    }
+
+    void addAll(Change change) {
+      roleNames.addAll(change.roleNames);
+      userNames.addAll(change.userNames);
+      reload |= change.reload;
+    }
+
+    boolean isReload() {
+      return reload;
+    }
+
+    boolean isEmpty() {
+      return !reload && roleNames.isEmpty() && userNames.isEmpty();
+    }
+  }
+}
@@ -39,16 +39,25 @@ import static org.apache.sentry.hdfs.Updateable.Update;
 import static org.apache.sentry.service.common.ServiceConstants.ServerConfig.SENTRY_STATEMENT_BATCH_LIMIT;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.jdo.FetchGroup;
 import javax.jdo.JDODataStoreException;
@@ -79,8 +88,10 @@ import org.apache.sentry.core.common.utils.SentryConstants;
 import org.apache.sentry.core.model.db.AccessConstants;
 import org.apache.sentry.core.model.db.DBModelAuthorizable.AuthorizableType;
 import org.apache.sentry.hdfs.PathsUpdate;
+import org.apache.sentry.hdfs.ThriftSerializer;
 import org.apache.sentry.hdfs.UniquePathsUpdate;
 import org.apache.sentry.hdfs.UpdateableAuthzPaths;
+import org.apache.sentry.hdfs.service.thrift.TPathChanges;
 import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipal;
 import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipalType;
 import org.apache.sentry.provider.db.service.model.MAuthzPathsMapping;
@@ -107,13 +118,16 @@ import org.slf4j.LoggerFactory;
 import com.codahale.metrics.Gauge;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
+import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * SentryStore is the data access object for Sentry data. Strings
@@ -169,6 +183,20 @@ public class SentryStore implements SentryStoreInterface {
   // to make query usable post-commit
   private static final String LOAD_RESULTS_AT_COMMIT = "datanucleus.query.loadResultsAtCommit";
 
+  // Datanucleus property controlling whether the changes of a transaction are sent to the
+  // database as they are made (AUTO) or when the transaction is flushed (MANUAL)
+  private static final String FLUSH_MODE = "datanucleus.flush.mode";
+
+  // Number of new privileges persisted together by a bulk grant
+  private static final int BULK_PERSIST_BATCH_SIZE = 500;
+
+  // Maximum number of local permission changes kept for the validation of the policy
+  // snapshot, beyond which the snapshot is dropped and loaded again by the next read
+  private static final long MAX_UNVALIDATED_PERM_CHANGES = 100000L;
+
+  // Joins the components of a path in a delta path change back into a path tree
+  private static final Joiner PATH_JOINER = Joiner.on('/');
+
   private final PersistenceManagerFactory pmf;
   private Configuration conf;
   private final TransactionManager tm;
@@ -188,10 +216,45 @@ public class SentryStore implements SentryStoreInterface {
    */
   private final CounterWait counterWait;
 
+  // Counts the permission and path changes committed by this server, so that requests
+  // waiting for HDFS authz updates are woken up as soon as there is a change.
+  private final CounterWait authzChangeWait = new CounterWait();
+
   // 5 min interval
   private final long printSnapshotPersistTimeInterval = 300000;
 
+  // Number of rows of a full paths snapshot queued before they are flushed to the database
+  private final int fullSnapshotFlushSize;
+
+  // Number of threads persisting the chunks of a full paths snapshot
+  private final int fullSnapshotWriterThreads;
+
   private final boolean ownerPrivilegeWithGrant;
+
+  // Serializes policy writes on the same roles, users, groups and objects
+  private final PolicyLocks policyLocks;
+
+  // In-memory policy snapshot used to answer provider read requests, null when disabled.
+  // Each local policy write replaces it by a copy with the changed roles and users read
+  // again, while bulk writes drop it. A dropped or out of date snapshot is loaded again by
+  // the next read; reads made while it is loaded are answered from the database instead
+  // of waiting for the load.
+  private final boolean policySnapshotEnabled;
+  private final long policySnapshotValidationIntervalMs;
+  private final long policySnapshotMaxAgeMs;
+  private final ReentrantLock policySnapshotLoadLock = new ReentrantLock();
+  // Guards the updates of policySnapshot and policyChangesDuringLoad
+  private final Object policySnapshotUpdateLock = new Object();
+  private volatile PolicySnapshot policySnapshot;
+  // Local changes committed while the snapshot is loaded, null when it isn't loaded
+  private PolicySnapshot.Change policyChangesDuringLoad;
+  private volatile long policySnapshotValidationTime;
+  // Last permission change ID the snapshot was validated at, and the IDs of the later
+  // permission changes persisted by this store. A later change which this store didn't
+  // persist was made by another Sentry server and is missing from the snapshot.
+  private volatile long policySnapshotValidatedChangeID;
+  private final ConcurrentSkipListSet<Long> localPermChangeIDs = new ConcurrentSkipListSet<>();
+
   public static Properties getDataNucleusProperties(Configuration conf)
           throws SentrySiteConfigurationException, IOException {
     Properties prop = new Properties();
@@ -285,6 +348,31 @@ public class SentryStore implements SentryStoreInterface {
     counterWait = new CounterWait(notificationTimeout, TimeUnit.MILLISECONDS);
 
     ownerPrivilegeWithGrant = SentryOwnerPrivilegeType.ALL_WITH_GRANT.isConfSet(conf);
+    policyLocks = new PolicyLocks(conf.getInt(ServerConfig.SENTRY_STORE_LOCK_STRIPES,
+        ServerConfig.SENTRY_STORE_LOCK_STRIPES_DEFAULT));
+    fullSnapshotFlushSize = Math.max(1, conf.getInt(ServerConfig.SENTRY_STORE_FULL_SNAPSHOT_FLUSH_SIZE,
+        ServerConfig.SENTRY_STORE_FULL_SNAPSHOT_FLUSH_SIZE_DEFAULT));
+    fullSnapshotWriterThreads = Math.max(1, conf.getInt(
+        ServerConfig.SENTRY_STORE_FULL_SNAPSHOT_WRITER_THREADS,
+        ServerConfig.SENTRY_STORE_FULL_SNAPSHOT_WRITER_THREADS_DEFAULT));
+
+    policySnapshotEnabled = conf.getBoolean(ServerConfig.SENTRY_STORE_POLICY_SNAPSHOT_ENABLED,
+        ServerConfig.SENTRY_STORE_POLICY_SNAPSHOT_ENABLED_DEFAULT);
+    policySnapshotValidationIntervalMs = conf.getLong(
+        ServerConfig.SENTRY_STORE_POLICY_SNAPSHOT_VALIDATION_INTERVAL_MS,
+        ServerConfig.SENTRY_STORE_POLICY_SNAPSHOT_VALIDATION_INTERVAL_MS_DEFAULT);
+    policySnapshotMaxAgeMs = conf.getLong(ServerConfig.SENTRY_STORE_POLICY_SNAPSHOT_MAX_AGE_MS,
+        ServerConfig.SENTRY_STORE_POLICY_SNAPSHOT_MAX_AGE_MS_DEFAULT);
+
+    String deltaFormat = conf.get(ServerConfig.SENTRY_STORE_DELTA_FORMAT,
+        ServerConfig.SENTRY_STORE_DELTA_FORMAT_DEFAULT).trim();
+    try {
+      ThriftSerializer.setStringFormat(
+          ThriftSerializer.StringFormat.valueOf(deltaFormat.toUpperCase()));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid " + ServerConfig.SENTRY_STORE_DELTA_FORMAT
+          + " " + deltaFormat + ", expected json or compact", e);
+    }
   }
 
   public void setPersistUpdateDeltas(boolean persistUpdateDeltas) {
@@ -300,6 +388,10 @@ public class SentryStore implements SentryStoreInterface {
     return counterWait;
   }
 
+  public CounterWait getAuthzChangeWait() {
+    return authzChangeWait;
+  }
+
   // ensure that the backend DB schema is set
   void verifySentryStoreSchema(boolean checkVersion) throws Exception {
     if (!checkVersion) {
@@ -397,6 +489,7 @@ public class SentryStore implements SentryStoreInterface {
               new MSentryUser(trimmedUserName, System.currentTimeMillis(), Sets.newHashSet()));
           return null;
         });
+    policyChanged(new PolicySnapshot.Change().addUser(userName));
   }
 
   /**
@@ -427,6 +520,7 @@ public class SentryStore implements SentryStoreInterface {
               pm.makePersistent(new MSentryRole(trimmedRoleName));
               return null;
               });
+    policyChanged(new PolicySnapshot.Change().addRole(roleName));
   }
 
   /**
@@ -613,6 +707,7 @@ public class SentryStore implements SentryStoreInterface {
                 pm.newQuery(MAuthzPathsSnapshotId.class).deletePersistentAll();
                 return null;
               });
+      policyChanged(PolicySnapshot.Change.reload());
     } catch (Exception e) {
       // the method only for test, log the error and ignore the exception
       LOGGER.error(e.getMessage(), e);
@@ -754,26 +849,29 @@ public class SentryStore implements SentryStoreInterface {
    * @param updatesToPersist
    * @throws Exception
    */
-  synchronized void alterSentryGrantPrivileges(SentryPrincipalType type, final String name,
+  void alterSentryGrantPrivileges(SentryPrincipalType type, final String name,
     final Set<TSentryPrivilege> privileges,
     final List<Update>updatesToPersist) throws Exception {
+    try (PolicyLocks.Locked locked =
+        policyLocks.lock(privilegeLockKeys(type, name, privileges))) {
+      execute(updatesToPersist, pm -> {
+        pm.setDetachAllOnCommit(false); // No need to detach objects
+        String trimmedEntityName = trimAndLower(name);
 
-    execute(updatesToPersist, pm -> {
-      pm.setDetachAllOnCommit(false); // No need to detach objects
-      String trimmedEntityName = trimAndLower(name);
-
-      for (TSentryPrivilege privilege : privileges) {
-        // Alter sentry Role and grant Privilege.
-        MSentryPrivilege mPrivilege = alterSentryGrantPrivilegeCore(pm, type,
-            trimmedEntityName, privilege);
+        for (TSentryPrivilege privilege : privileges) {
+          // Alter sentry Role and grant Privilege.
+          MSentryPrivilege mPrivilege = alterSentryGrantPrivilegeCore(pm, type,
+              trimmedEntityName, privilege);
 
-        if (mPrivilege != null) {
-          // update the privilege to be the one actually updated.
-          convertToTSentryPrivilege(mPrivilege, privilege);
+          if (mPrivilege != null) {
+            // update the privilege to be the one actually updated.
+            convertToTSentryPrivilege(mPrivilege, privilege);
+          }
         }
-      }
-      return null;
-    });
+        return null;
+      });
+      policyChanged(new PolicySnapshot.Change().addPrincipal(type, name));
+    }
   }
 
   @Override
@@ -845,11 +943,40 @@ public class SentryStore implements SentryStoreInterface {
       }
     }
 
+    checkGrantPrivilege(privilege);
+    if (!prepareGrant(pm, mEntity, privilege)) {
+      return null;
+    }
+
+    mPrivilege = getMSentryPrivilege(privilege, pm);
+    if (mPrivilege == null) {
+      mPrivilege = convertToMSentryPrivilege(privilege);
+      mPrivilege.appendPrincipal(mEntity);
+      pm.makePersistent(mPrivilege);
+    } else {
+      mEntity.appendPrivilege(mPrivilege);
+      pm.makePersistent(mEntity);
+    }
+
+    return mPrivilege;
+  }
+
+  private static void checkGrantPrivilege(TSentryPrivilege privilege)
+      throws SentryInvalidInputException {
     if(privilege.getPrivilegeScope().equalsIgnoreCase(PrivilegeScope.URI.name())
         && StringUtils.isBlank(privilege.getURI())) {
       throw new SentryInvalidInputException("cannot grant URI privileges to Null or EMPTY location");
     }
+  }
 
+  /**
+   * Prepare the grant of a privilege to a principal: granting ALL replaces the individual
+   * privileges on the same object, while other privileges are already implied by ALL.
+   *
+   * @return false if the principal already has the privilege through ALL
+   */
+  private boolean prepareGrant(PersistenceManager pm, PrivilegePrincipal mEntity,
+      TSentryPrivilege privilege) throws SentryInvalidInputException {
     if ((!isNULL(privilege.getColumnName()) || !isNULL(privilege.getTableName())
         || !isNULL(privilege.getDbName()))
         && !AccessConstants.OWNER.equalsIgnoreCase(privilege.getAction())) {
@@ -869,25 +996,14 @@ public class SentryStore implements SentryStoreInterface {
         MSentryPrivilege mAll2 =
             findMatchPrivilege(mEntity.getPrivileges(), convertToMSentryPrivilege(tAll));
         if (mAll1 != null) {
-          return null;
+          return false;
         }
         if (mAll2 != null) {
-          return null;
+          return false;
         }
       }
     }
-
-    mPrivilege = getMSentryPrivilege(privilege, pm);
-    if (mPrivilege == null) {
-      mPrivilege = convertToMSentryPrivilege(privilege);
-      mPrivilege.appendPrincipal(mEntity);
-      pm.makePersistent(mPrivilege);
-    } else {
-      mEntity.appendPrivilege(mPrivilege);
-      pm.makePersistent(mEntity);
-    }
-
-    return mPrivilege;
+    return true;
   }
 
   /**
@@ -973,6 +1089,7 @@ public class SentryStore implements SentryStoreInterface {
       }
       return null;
     });
+    policyChanged(new PolicySnapshot.Change().addPrincipal(entityType, principalName));
   }
 
   /**
@@ -1045,18 +1162,22 @@ public class SentryStore implements SentryStoreInterface {
    * @param updatesToDelete
    * @throws Exception
    */
-  synchronized void alterSentryRevokePrivileges(SentryPrincipalType type, final String principalName,
+  void alterSentryRevokePrivileges(SentryPrincipalType type, final String principalName,
     final Set<TSentryPrivilege> privileges,
     final List<Update> updatesToDelete) throws Exception {
-    execute(updatesToDelete, pm -> {
-      pm.setDetachAllOnCommit(false); // No need to detach objects
-      String trimmedEntityName = safeTrimLower(principalName);
+    try (PolicyLocks.Locked locked =
+        policyLocks.lock(privilegeLockKeys(type, principalName, privileges))) {
+      execute(updatesToDelete, pm -> {
+        pm.setDetachAllOnCommit(false); // No need to detach objects
+        String trimmedEntityName = safeTrimLower(principalName);
 
-      for (TSentryPrivilege tPrivilege : privileges) {
-        alterSentryRevokePrivilegeCore(pm, type, trimmedEntityName, tPrivilege);
-      }
-      return null;
-    });
+        for (TSentryPrivilege tPrivilege : privileges) {
+          alterSentryRevokePrivilegeCore(pm, type, trimmedEntityName, tPrivilege);
+        }
+        return null;
+      });
+      policyChanged(new PolicySnapshot.Change().addPrincipal(type, principalName));
+    }
   }
 
   @Override
@@ -1068,6 +1189,149 @@ public class SentryStore implements SentryStoreInterface {
     alterSentryRevokePrivileges(SentryPrincipalType.ROLE, roleName, tPrivileges, new ArrayList<>(privilegesUpdateMap.values()));
   }
 
+  @Override
+  public void alterSentryRolesGrantPrivileges(final Set<String> roleNames,
+      final Set<TSentryPrivilege> privileges, final Update update) throws Exception {
+    try (PolicyLocks.Locked locked =
+        policyLocks.lock(rolesPrivilegeLockKeys(roleNames, privileges))) {
+      execute(update, pm -> {
+        pm.setDetachAllOnCommit(false); // No need to detach objects
+        List<MSentryRole> roles = getRoles(pm, roleNames);
+        Map<MSentryPrivilege, MSentryPrivilege> persisted =
+            getPrivilegesOnObjects(pm, privileges);
+        List<MSentryPrivilege> newPrivileges = new ArrayList<>();
+
+        for (TSentryPrivilege privilege : privileges) {
+          checkGrantPrivilege(privilege);
+          MSentryPrivilege mPrivilege = null;
+          for (MSentryRole role : roles) {
+            if (!prepareGrant(pm, role, privilege)) {
+              continue;
+            }
+            if (mPrivilege == null) {
+              mPrivilege = findPrivilege(pm, persisted, privilege);
+              if (mPrivilege == null) {
+                mPrivilege = convertToMSentryPrivilege(privilege);
+                persisted.put(mPrivilege, mPrivilege);
+                newPrivileges.add(mPrivilege);
+              }
+            }
+            role.appendPrivilege(mPrivilege);
+          }
+          if (mPrivilege != null) {
+            // update the privilege to be the one actually updated.
+            convertToTSentryPrivilege(mPrivilege, privilege);
+          }
+        }
+
+        for (List<MSentryPrivilege> batch :
+            Lists.partition(newPrivileges, BULK_PERSIST_BATCH_SIZE)) {
+          pm.makePersistentAll(batch);
+        }
+        return null;
+      });
+      policyChanged(new PolicySnapshot.Change().addRoles(roleNames));
+    }
+  }
+
+  @Override
+  public void alterSentryRolesRevokePrivileges(final Set<String> roleNames,
+      final Set<TSentryPrivilege> privileges, final Update update) throws Exception {
+    try (PolicyLocks.Locked locked =
+        policyLocks.lock(rolesPrivilegeLockKeys(roleNames, privileges))) {
+      execute(update, pm -> {
+        pm.setDetachAllOnCommit(false); // No need to detach objects
+        for (MSentryRole role : getRoles(pm, roleNames)) {
+          for (TSentryPrivilege tPrivilege : privileges) {
+            alterSentryRevokePrivilegeCore(pm, SentryPrincipalType.ROLE, role.getRoleName(),
+                role, tPrivilege);
+          }
+        }
+        return null;
+      });
+      policyChanged(new PolicySnapshot.Change().addRoles(roleNames));
+    }
+  }
+
+  /**
+   * Get the given roles, with their privileges, using a single query.
+   *
+   * @throws SentryNoSuchObjectException if any of the roles doesn't exist
+   */
+  private List<MSentryRole> getRoles(PersistenceManager pm, Set<String> roleNames)
+      throws SentryNoSuchObjectException {
+    Query query = pm.newQuery(MSentryRole.class);
+    query.addExtension(LOAD_RESULTS_AT_COMMIT, "false");
+    QueryParamBuilder paramBuilder = QueryParamBuilder.newQueryParamBuilder(QueryParamBuilder.Op.OR);
+    paramBuilder.addSet("this.roleName == ", roleNames, true);
+    query.setFilter(paramBuilder.toString());
+
+    FetchGroup grp = pm.getFetchGroup(MSentryRole.class, "fetchPrivileges");
+    grp.addMember("privileges");
+    pm.getFetchPlan().addGroup("fetchPrivileges");
+
+    @SuppressWarnings("unchecked")
+    List<MSentryRole> roles = (List<MSentryRole>) query.executeWithMap(paramBuilder.getArguments());
+    Set<String> missing = new HashSet<>();
+    for (String roleName : roleNames) {
+      missing.add(trimAndLower(roleName));
+    }
+    for (MSentryRole role : roles) {
+      missing.remove(role.getRoleName());
+    }
+    if (!missing.isEmpty()) {
+      throw noSuchRole(missing.iterator().next());
+    }
+    return roles;
+  }
+
+  /**
+   * Get the persisted privileges on the servers and databases of the given privileges,
+   * using a single query. The privileges are mapped to themselves, so that they can be
+   * looked up by equal converted privileges.
+   */
+  private Map<MSentryPrivilege, MSentryPrivilege> getPrivilegesOnObjects(PersistenceManager pm,
+      Set<TSentryPrivilege> privileges) {
+    Set<String> serverNames = new HashSet<>();
+    Set<String> dbNames = new HashSet<>();
+    for (TSentryPrivilege privilege : privileges) {
+      serverNames.add(toNULLCol(safeTrimLower(privilege.getServerName())));
+      dbNames.add(toNULLCol(safeTrimLower(privilege.getDbName())));
+    }
+    Query query = pm.newQuery(MSentryPrivilege.class);
+    query.addExtension(LOAD_RESULTS_AT_COMMIT, "false");
+    QueryParamBuilder paramBuilder = QueryParamBuilder.newQueryParamBuilder();
+    paramBuilder.newChild().addSet("this.serverName == ", serverNames, false);
+    paramBuilder.newChild().addSet("this.dbName == ", dbNames, false);
+    query.setFilter(paramBuilder.toString());
+
+    @SuppressWarnings("unchecked")
+    List<MSentryPrivilege> result =
+        (List<MSentryPrivilege>) query.executeWithMap(paramBuilder.getArguments());
+    Map<MSentryPrivilege, MSentryPrivilege> persisted = new HashMap<>(result.size());
+    for (MSentryPrivilege mPrivilege : result) {
+      persisted.put(mPrivilege, mPrivilege);
+    }
+    return persisted;
+  }
+
+  /**
+   * Find the privilege matching the given one among the prefetched privileges. A privilege
+   * without grant option matches either grant option, like in getMSentryPrivilege().
+   */
+  private MSentryPrivilege findPrivilege(PersistenceManager pm,
+      Map<MSentryPrivilege, MSentryPrivilege> persisted, TSentryPrivilege privilege)
+      throws SentryInvalidInputException {
+    MSentryPrivilege mPrivilege = persisted.get(convertToMSentryPrivilege(privilege));
+    if (mPrivilege == null && privilege.getGrantOption() == TSentryGrantOption.UNSET) {
+      mPrivilege = getMSentryPrivilege(privilege, pm);
+      if (mPrivilege != null) {
+        persisted.put(mPrivilege, mPrivilege);
+      }
+    }
+    return mPrivilege;
+  }
+
   /**
    * For the TSentryPrivilege object delete a corresponding MSentryPrivilege object
    *
@@ -1101,6 +1365,15 @@ public class SentryStore implements SentryStoreInterface {
         throw noSuchUser (entityName);
       }
     }
+    alterSentryRevokePrivilegeCore(pm, type, entityName, mEntity, tPrivilege);
+  }
+
+  /**
+   * Revoke the privilege and its child privileges from the given principal.
+   */
+  private void alterSentryRevokePrivilegeCore(PersistenceManager pm, SentryPrincipalType type,
+      String entityName, PrivilegePrincipal mEntity, TSentryPrivilege tPrivilege)
+      throws SentryInvalidInputException {
     if(tPrivilege.getPrivilegeScope().equalsIgnoreCase(PrivilegeScope.URI.name())
         && StringUtils.isBlank(tPrivilege.getURI())) {
       throw new SentryInvalidInputException("cannot revoke URI privileges from Null or EMPTY location");
@@ -1395,6 +1668,7 @@ public class SentryStore implements SentryStoreInterface {
             return null;
           }
         });
+    policyChanged(new PolicySnapshot.Change().addUser(userName));
   }
 
   /**
@@ -1405,15 +1679,18 @@ public class SentryStore implements SentryStoreInterface {
    * @param update the corresponding permission delta update
    * @throws Exception
    */
-  public synchronized void dropSentryUser(final String userName,
+  public void dropSentryUser(final String userName,
       final Update update) throws Exception {
-    execute(update, new TransactionBlock<Object>() {
-      public Object execute(PersistenceManager pm) throws Exception {
-        pm.setDetachAllOnCommit(false); // No need to detach objects
-        dropSentryUserCore(pm, userName);
-        return null;
-      }
-    });
+    try (PolicyLocks.Locked locked = policyLocks.lockExclusive()) {
+      execute(update, new TransactionBlock<Object>() {
+        public Object execute(PersistenceManager pm) throws Exception {
+          pm.setDetachAllOnCommit(false); // No need to detach objects
+          dropSentryUserCore(pm, userName);
+          return null;
+        }
+      });
+      policyChanged(new PolicySnapshot.Change().addUser(userName));
+    }
   }
 
   private void dropSentryUserCore(PersistenceManager pm, String userName)
@@ -1551,6 +1828,7 @@ public class SentryStore implements SentryStoreInterface {
               dropSentryRoleCore(pm, roleName);
               return null;
             });
+    policyChanged(new PolicySnapshot.Change().addRole(roleName));
   }
 
   /**
@@ -1561,13 +1839,16 @@ public class SentryStore implements SentryStoreInterface {
    * @param update the corresponding permission delta update
    * @throws Exception
    */
-  public synchronized void dropSentryRole(final String roleName,
+  public void dropSentryRole(final String roleName,
       final Update update) throws Exception {
-    execute(update, pm -> {
-      pm.setDetachAllOnCommit(false); // No need to detach objects
-      dropSentryRoleCore(pm, roleName);
-      return null;
-    });
+    try (PolicyLocks.Locked locked = policyLocks.lockExclusive()) {
+      execute(update, pm -> {
+        pm.setDetachAllOnCommit(false); // No need to detach objects
+        dropSentryRoleCore(pm, roleName);
+        return null;
+      });
+      policyChanged(new PolicySnapshot.Change().addRole(roleName));
+    }
   }
 
   private void dropSentryRoleCore(PersistenceManager pm, String roleName)
@@ -1641,6 +1922,7 @@ public class SentryStore implements SentryStoreInterface {
               alterSentryRoleAddGroupsCore(pm, roleName, groupNames);
               return null;
             });
+    policyChanged(new PolicySnapshot.Change().addRole(roleName));
   }
 
   /**
@@ -1653,15 +1935,18 @@ public class SentryStore implements SentryStoreInterface {
    * @param update the corresponding permission delta update
    * @throws Exception
    */
-  public synchronized void alterSentryRoleAddGroups(final String grantorPrincipal,
+  public void alterSentryRoleAddGroups(final String grantorPrincipal,
       final String roleName, final Set<TSentryGroup> groupNames,
       final Update update) throws Exception {
-
-    execute(update, pm -> {
-      pm.setDetachAllOnCommit(false); // No need to detach objects
-      alterSentryRoleAddGroupsCore(pm, roleName, groupNames);
-      return null;
-    });
+    try (PolicyLocks.Locked locked =
+        policyLocks.lock(roleGroupsLockKeys(roleName, groupNames))) {
+      execute(update, pm -> {
+        pm.setDetachAllOnCommit(false); // No need to detach objects
+        alterSentryRoleAddGroupsCore(pm, roleName, groupNames);
+        return null;
+      });
+      policyChanged(new PolicySnapshot.Change().addRole(roleName));
+    }
   }
 
   private void alterSentryRoleAddGroupsCore(PersistenceManager pm, String roleName,
@@ -1699,6 +1984,7 @@ public class SentryStore implements SentryStoreInterface {
               alterSentryRoleAddUsersCore(pm, roleName, userNames);
               return null;
             });
+    policyChanged(new PolicySnapshot.Change().addRole(roleName).addUsers(userNames));
   }
 
   private void alterSentryRoleAddUsersCore(PersistenceManager pm, String roleName,
@@ -1758,6 +2044,7 @@ public class SentryStore implements SentryStoreInterface {
               }
               return null;
             });
+    policyChanged(new PolicySnapshot.Change().addRole(roleName).addUsers(userNames));
   }
 
   /**
@@ -1792,6 +2079,7 @@ public class SentryStore implements SentryStoreInterface {
               pm.makePersistentAll(groups);
               return null;
             });
+    policyChanged(new PolicySnapshot.Change().addRole(roleName));
   }
 
   /**
@@ -1803,33 +2091,37 @@ public class SentryStore implements SentryStoreInterface {
    * @param update the corresponding permission delta update
    * @throws Exception
    */
-  public synchronized void alterSentryRoleDeleteGroups(final String roleName,
+  public void alterSentryRoleDeleteGroups(final String roleName,
       final Set<TSentryGroup> groupNames, final Update update)
           throws Exception {
-    execute(update, pm -> {
-      pm.setDetachAllOnCommit(false); // No need to detach objects
-      String trimmedRoleName = trimAndLower(roleName);
-      MSentryRole role = getRole(pm, trimmedRoleName);
-      if (role == null) {
-        throw noSuchRole(trimmedRoleName);
-      }
+    try (PolicyLocks.Locked locked =
+        policyLocks.lock(roleGroupsLockKeys(roleName, groupNames))) {
+      execute(update, pm -> {
+        pm.setDetachAllOnCommit(false); // No need to detach objects
+        String trimmedRoleName = trimAndLower(roleName);
+        MSentryRole role = getRole(pm, trimmedRoleName);
+        if (role == null) {
+          throw noSuchRole(trimmedRoleName);
+        }
 
-      // Remove the group from the specified role if it belongs to the role.
-      Query query = pm.newQuery(MSentryGroup.class);
-      query.setFilter("this.groupName == :groupName");
-      query.setUnique(true);
-      List<MSentryGroup> groups = Lists.newArrayList();
-      for (TSentryGroup tGroup : groupNames) {
-        String groupName = tGroup.getGroupName().trim();
-        MSentryGroup group = (MSentryGroup) query.execute(groupName);
-        if (group != null) {
-          group.removeRole(role);
-          groups.add(group);
+        // Remove the group from the specified role if it belongs to the role.
+        Query query = pm.newQuery(MSentryGroup.class);
+        query.setFilter("this.groupName == :groupName");
+        query.setUnique(true);
+        List<MSentryGroup> groups = Lists.newArrayList();
+        for (TSentryGroup tGroup : groupNames) {
+          String groupName = tGroup.getGroupName().trim();
+          MSentryGroup group = (MSentryGroup) query.execute(groupName);
+          if (group != null) {
+            group.removeRole(role);
+            groups.add(group);
+          }
         }
-      }
-      pm.makePersistentAll(groups);
-      return null;
-    });
+        pm.makePersistentAll(groups);
+        return null;
+      });
+      policyChanged(new PolicySnapshot.Change().addRole(roleName));
+    }
   }
 
   @VisibleForTesting
@@ -2287,6 +2579,11 @@ public class SentryStore implements SentryStoreInterface {
       return Collections.emptySet();
     }
 
+    PolicySnapshot snapshot = getPolicySnapshot();
+    if (snapshot != null) {
+      return getTSentryRolesByGroupName(snapshot, groupNames, checkAllGroups);
+    }
+
     return tm.executeTransaction(
             pm -> {
               pm.setDetachAllOnCommit(false); // No need to detach objects
@@ -2337,6 +2634,36 @@ public class SentryStore implements SentryStoreInterface {
             });
   }
 
+  private Set<TSentryRole> getTSentryRolesByGroupName(PolicySnapshot snapshot,
+      Set<String> groupNames, boolean checkAllGroups) throws SentryNoSuchObjectException {
+    Set<String> roleNames = new HashSet<>();
+    for (String group : groupNames) {
+      if (group == null) {
+        // Special case - return all roles
+        roleNames = snapshot.getRoleNames();
+        break;
+      }
+      String trimmedGroup = group.trim();
+      Set<String> groupRoles = snapshot.getRoleNamesForGroup(trimmedGroup);
+      if (groupRoles != null) {
+        roleNames.addAll(groupRoles);
+      } else if (!checkAllGroups) {
+        throw noSuchGroup(trimmedGroup);
+      }
+    }
+
+    Set<TSentryRole> result = new HashSet<>(roleNames.size());
+    for (String roleName : roleNames) {
+      Set<String> groups = snapshot.getGroupNamesForRole(roleName);
+      Set<TSentryGroup> sentryGroups = new HashSet<>(groups.size());
+      for (String group : groups) {
+        sentryGroups.add(new TSentryGroup(group));
+      }
+      result.add(new TSentryRole(roleName, sentryGroups, EMPTY_GRANTOR_PRINCIPAL));
+    }
+    return result;
+  }
+
   public Set<String> getRoleNamesForGroups(final Set<String> groups) throws Exception {
     if ((groups == null) || groups.isEmpty()) {
       return ImmutableSet.of();
@@ -2441,6 +2768,12 @@ public class SentryStore implements SentryStoreInterface {
       Set<String> groups, Set<String> users, TSentryActiveRoleSet roleSet,
       TSentryAuthorizable authHierarchy) throws Exception {
     Set<String> result = Sets.newHashSet();
+    PolicySnapshot snapshot = getPolicySnapshot();
+    if (snapshot != null) {
+      Set<String> rolesToQuery = getRolesToQuery(snapshot, groups, users, roleSet);
+      snapshot.collectPrivileges(rolesToQuery, users, authHierarchy, result);
+      return result;
+    }
     Set<MSentryPrivilege> mSentryPrivileges = listSentryPrivilegesForProviderCore(
         groups, users, roleSet, authHierarchy);
     for (MSentryPrivilege priv : mSentryPrivileges) {
@@ -2460,6 +2793,11 @@ public class SentryStore implements SentryStoreInterface {
 
   public boolean hasAnyServerPrivileges(Set<String> groups, Set<String> users,
       TSentryActiveRoleSet roleSet, String server) throws Exception {
+    PolicySnapshot snapshot = getPolicySnapshot();
+    if (snapshot != null) {
+      Set<String> rolesToQuery = getRolesToQuery(snapshot, groups, users, roleSet);
+      return snapshot.hasAnyServerPrivileges(rolesToQuery, users, server);
+    }
     Set<String> rolesToQuery = getRolesToQuery(groups, users, roleSet);
     if (hasAnyServerPrivileges(rolesToQuery, server)) {
       return true;
@@ -2503,6 +2841,12 @@ public class SentryStore implements SentryStoreInterface {
               });
   }
 
+  private static Set<String> getRolesToQuery(PolicySnapshot snapshot, Set<String> groups,
+      Set<String> users, TSentryActiveRoleSet roleSet) {
+    return snapshot.getRolesToQuery(groups, users, toTrimedLower(roleSet.getRoles()),
+        roleSet.isAll());
+  }
+
   @VisibleForTesting
   static String toAuthorizable(MSentryPrivilege privilege) {
     List<String> authorizable = new ArrayList<>(4);
@@ -2735,14 +3079,16 @@ public class SentryStore implements SentryStoreInterface {
    * @throws Exception
    */
   public void dropPrivilege(final TSentryAuthorizable tAuthorizable) throws Exception {
+    final PolicySnapshot.Change change = new PolicySnapshot.Change();
     tm.executeTransactionWithRetry(
             pm -> {
               pm.setDetachAllOnCommit(false); // No need to detach objects
 
-              dropPrivilegeCore(pm, tAuthorizable);
+              dropPrivilegeCore(pm, tAuthorizable, change);
 
               return null;
             });
+    policyChanged(change);
   }
 
   /**
@@ -2753,18 +3099,24 @@ public class SentryStore implements SentryStoreInterface {
    * @param update the corresponding permission delta update.
    * @throws Exception
    */
-  public synchronized void dropPrivilege(final TSentryAuthorizable tAuthorizable,
+  public void dropPrivilege(final TSentryAuthorizable tAuthorizable,
       final Update update) throws Exception {
-    execute(update, pm -> {
-      pm.setDetachAllOnCommit(false); // No need to detach objects
+    try (PolicyLocks.Locked locked =
+        policyLocks.lock(Collections.singleton(objectLockKey(tAuthorizable)))) {
+      final PolicySnapshot.Change change = new PolicySnapshot.Change();
+      execute(update, pm -> {
+        pm.setDetachAllOnCommit(false); // No need to detach objects
 
-      dropPrivilegeCore(pm, tAuthorizable);
+        dropPrivilegeCore(pm, tAuthorizable, change);
 
-      return null;
-    });
+        return null;
+      });
+      policyChanged(change);
+    }
   }
 
-  private void dropPrivilegeCore(PersistenceManager pm, TSentryAuthorizable tAuthorizable) throws Exception {
+  private void dropPrivilegeCore(PersistenceManager pm, TSentryAuthorizable tAuthorizable,
+      PolicySnapshot.Change change) throws Exception {
 
     // Drop the give privilege for all possible actions from all entities.
     TSentryPrivilege tPrivilege = toSentryPrivilege(tAuthorizable);
@@ -2774,10 +3126,10 @@ public class SentryStore implements SentryStoreInterface {
       if (isMultiActionsSupported(tPrivilege)) {
         for (String privilegeAction : ALL_ACTIONS) {
           tPrivilege.setAction(privilegeAction);
-          dropPrivilegeForAllEntities(pm, new TSentryPrivilege(tPrivilege));
+          dropPrivilegeForAllEntities(pm, new TSentryPrivilege(tPrivilege), change);
         }
       } else {
-        dropPrivilegeForAllEntities(pm, new TSentryPrivilege(tPrivilege));
+        dropPrivilegeForAllEntities(pm, new TSentryPrivilege(tPrivilege), change);
       }
     } catch (JDODataStoreException e) {
       throw new SentryInvalidInputException("Failed to get privileges: "
@@ -2794,32 +3146,38 @@ public class SentryStore implements SentryStoreInterface {
    * @param updates Delta Updates.
    * @throws Exception
    */
-  public synchronized void updateOwnerPrivilege(final TSentryAuthorizable tAuthorizable,
+  public void updateOwnerPrivilege(final TSentryAuthorizable tAuthorizable,
       String ownerName,  SentryPrincipalType principalType,
       final List<Update> updates) throws Exception {
-    execute(updates, pm -> {
-      if(principalType == null) {
-        LOGGER.info("Invalid principal Type");
-      }
-      pm.setDetachAllOnCommit(false); // No need to detach objects
-      TSentryPrivilege tOwnerPrivilege = toSentryPrivilege(tAuthorizable);
-      tOwnerPrivilege.setAction(AccessConstants.OWNER);
+    try (PolicyLocks.Locked locked = policyLocks.lock(Sets.newHashSet(
+        objectLockKey(tAuthorizable), PolicyLocks.principalKey(principalType, ownerName)))) {
+      final PolicySnapshot.Change change = new PolicySnapshot.Change();
+      execute(updates, pm -> {
+        if(principalType == null) {
+          LOGGER.info("Invalid principal Type");
+        }
+        pm.setDetachAllOnCommit(false); // No need to detach objects
+        TSentryPrivilege tOwnerPrivilege = toSentryPrivilege(tAuthorizable);
+        tOwnerPrivilege.setAction(AccessConstants.OWNER);
 
-      revokeOwnerPrivilegesCore(pm, tAuthorizable);
+        revokeOwnerPrivilegesCore(pm, tAuthorizable, change);
 
-      try {
-        if(ownerPrivilegeWithGrant) {
-          tOwnerPrivilege.setGrantOption(TSentryGrantOption.TRUE);
+        try {
+          if(ownerPrivilegeWithGrant) {
+            tOwnerPrivilege.setGrantOption(TSentryGrantOption.TRUE);
+          }
+          //Granting the privilege.
+          alterSentryGrantPrivilegeCore(pm, principalType, ownerName, tOwnerPrivilege);
+          change.addPrincipal(principalType, ownerName);
+          return null;
+        } catch (JDODataStoreException e) {
+          throw new SentryInvalidInputException("Failed to grant owner privilege on Authorizable : " +
+                  tAuthorizable.toString() + " to " + principalType.toString() + ": " + ownerName + " "
+                  + e.getMessage());
         }
-        //Granting the privilege.
-        alterSentryGrantPrivilegeCore(pm, principalType, ownerName, tOwnerPrivilege);
-        return null;
-      } catch (JDODataStoreException e) {
-        throw new SentryInvalidInputException("Failed to grant owner privilege on Authorizable : " +
-                tAuthorizable.toString() + " to " + principalType.toString() + ": " + ownerName + " "
-                + e.getMessage());
-      }
-    });
+      });
+      policyChanged(change);
+    }
   }
 
   /**
@@ -2831,25 +3189,40 @@ public class SentryStore implements SentryStoreInterface {
   @VisibleForTesting
   void revokeOwnerPrivileges(final TSentryAuthorizable tAuthorizable, final List<Update> updates)
      throws Exception{
+    final PolicySnapshot.Change change = new PolicySnapshot.Change();
     execute(updates, pm -> {
       pm.setDetachAllOnCommit(false);
-      revokeOwnerPrivilegesCore(pm, tAuthorizable);
+      revokeOwnerPrivilegesCore(pm, tAuthorizable, change);
       return null;
     });
+    policyChanged(change);
   }
 
   public void revokeOwnerPrivilegesCore(PersistenceManager pm, final TSentryAuthorizable tAuthorizable)
       throws Exception{
+    revokeOwnerPrivilegesCore(pm, tAuthorizable, new PolicySnapshot.Change());
+  }
+
+  /**
+   * Revokes all the owner privileges granted to an authorizable, recording the roles and
+   * users they were granted to in the policy change.
+   */
+  private void revokeOwnerPrivilegesCore(PersistenceManager pm,
+      final TSentryAuthorizable tAuthorizable, PolicySnapshot.Change change) throws Exception {
     TSentryPrivilege tOwnerPrivilege = toSentryPrivilege(tAuthorizable);
     tOwnerPrivilege.setAction(AccessConstants.OWNER);
 
     // Finding owner privileges and removing them.
     List<MSentryPrivilege> mOwnerPrivileges = getMSentryPrivilegesExactMatch(tOwnerPrivilege, pm);
     for(MSentryPrivilege mOwnerPriv : mOwnerPrivileges) {
+      for (MSentryRole role : mOwnerPriv.getRoles()) {
+        change.addRole(role.getRoleName());
+      }
       Set<MSentryUser> users;
       users = mOwnerPriv.getUsers();
       // Making sure of removing stale users.
       for (MSentryUser user : users) {
+        change.addUser(user.getUserName());
         user.removePrivilege(mOwnerPriv);
         persistEntity(pm, SentryPrincipalType.USER, user);
       }
@@ -2867,13 +3240,15 @@ public class SentryStore implements SentryStoreInterface {
    */
   public void renamePrivilege(final TSentryAuthorizable oldTAuthorizable,
       final TSentryAuthorizable newTAuthorizable) throws Exception {
+    final PolicySnapshot.Change change = new PolicySnapshot.Change();
     tm.executeTransactionWithRetry(
             pm -> {
               pm.setDetachAllOnCommit(false); // No need to detach objects
 
-              renamePrivilegeCore(pm, oldTAuthorizable, newTAuthorizable);
+              renamePrivilegeCore(pm, oldTAuthorizable, newTAuthorizable, change);
               return null;
             });
+    policyChanged(change);
   }
 
   /**
@@ -2887,34 +3262,38 @@ public class SentryStore implements SentryStoreInterface {
    * @throws SentryNoSuchObjectException
    * @throws SentryInvalidInputException
    */
-  public synchronized void renamePrivilege(final TSentryAuthorizable oldTAuthorizable,
+  public void renamePrivilege(final TSentryAuthorizable oldTAuthorizable,
       final TSentryAuthorizable newTAuthorizable, final Update update)
         throws Exception {
+    try (PolicyLocks.Locked locked = policyLocks.lock(Sets.newHashSet(
+        objectLockKey(oldTAuthorizable), objectLockKey(newTAuthorizable)))) {
+      final PolicySnapshot.Change change = new PolicySnapshot.Change();
+      execute(update, pm -> {
+        pm.setDetachAllOnCommit(false); // No need to detach objects
 
-    execute(update, pm -> {
-      pm.setDetachAllOnCommit(false); // No need to detach objects
-
-      renamePrivilegeCore(pm, oldTAuthorizable, newTAuthorizable);
-      return null;
-    });
+        renamePrivilegeCore(pm, oldTAuthorizable, newTAuthorizable, change);
+        return null;
+      });
+      policyChanged(change);
+    }
   }
 
   private void renamePrivilegeCore(PersistenceManager pm, TSentryAuthorizable oldTAuthorizable,
-      final TSentryAuthorizable newTAuthorizable) throws Exception {
+      final TSentryAuthorizable newTAuthorizable, PolicySnapshot.Change change) throws Exception {
     TSentryPrivilege tPrivilege = toSentryPrivilege(oldTAuthorizable);
     TSentryPrivilege newPrivilege = toSentryPrivilege(newTAuthorizable);
 
     tPrivilege.setGrantOption(TSentryGrantOption.FALSE);
     newPrivilege.setGrantOption(TSentryGrantOption.FALSE);
-    renamePrivilegeCore(pm, tPrivilege, newPrivilege);
+    renamePrivilegeCore(pm, tPrivilege, newPrivilege, change);
 
     tPrivilege.setGrantOption(TSentryGrantOption.TRUE);
     newPrivilege.setGrantOption(TSentryGrantOption.TRUE);
-    renamePrivilegeCore(pm, tPrivilege, newPrivilege);
+    renamePrivilegeCore(pm, tPrivilege, newPrivilege, change);
   }
 
   private void renamePrivilegeCore(PersistenceManager pm, TSentryPrivilege tPrivilege,
-      final TSentryPrivilege newPrivilege) throws Exception {
+      final TSentryPrivilege newPrivilege, PolicySnapshot.Change change) throws Exception {
 
     try {
       // In case of tables or DBs, check all actions
@@ -2922,10 +3301,10 @@ public class SentryStore implements SentryStoreInterface {
         for (String privilegeAction : ALL_ACTIONS) {
           tPrivilege.setAction(privilegeAction);
           newPrivilege.setAction(privilegeAction);
-          renamePrivilegeForAllEntities(pm, tPrivilege, newPrivilege);
+          renamePrivilegeForAllEntities(pm, tPrivilege, newPrivilege, change);
         }
       } else {
-        renamePrivilegeForAllEntities(pm, tPrivilege, newPrivilege);
+        renamePrivilegeForAllEntities(pm, tPrivilege, newPrivilege, change);
       }
     } catch (JDODataStoreException e) {
       throw new SentryInvalidInputException("Failed to get privileges: "
@@ -2941,9 +3320,9 @@ public class SentryStore implements SentryStoreInterface {
   // wrapper for dropOrRename
   private void renamePrivilegeForAllEntities(PersistenceManager pm,
       TSentryPrivilege tPrivilege,
-      TSentryPrivilege newPrivilege) throws SentryNoSuchObjectException,
-      SentryInvalidInputException {
-    dropOrRenamePrivilegeForAllEntities(pm, tPrivilege, newPrivilege);
+      TSentryPrivilege newPrivilege, PolicySnapshot.Change change)
+      throws SentryNoSuchObjectException, SentryInvalidInputException {
+    dropOrRenamePrivilegeForAllEntities(pm, tPrivilege, newPrivilege, change);
   }
 
   /**
@@ -2953,28 +3332,32 @@ public class SentryStore implements SentryStoreInterface {
    * @throws SentryInvalidInputException
    */
   private void dropPrivilegeForAllEntities(PersistenceManager pm,
-      TSentryPrivilege tPrivilege)
+      TSentryPrivilege tPrivilege, PolicySnapshot.Change change)
       throws SentryNoSuchObjectException, SentryInvalidInputException {
-    dropOrRenamePrivilegeForAllEntities(pm, tPrivilege, null);
+    dropOrRenamePrivilegeForAllEntities(pm, tPrivilege, null, change);
   }
 
   /**
    * Drop given privilege from all entities Create the new privilege if asked
    * @param tPrivilege
    * @param pm
+   * @param change policy change the entities are recorded in
    * @throws SentryNoSuchObjectException
    * @throws SentryInvalidInputException
    */
   private void dropOrRenamePrivilegeForAllEntities(PersistenceManager pm,
       TSentryPrivilege tPrivilege,
-      TSentryPrivilege newTPrivilege) throws SentryNoSuchObjectException,
-      SentryInvalidInputException {
+      TSentryPrivilege newTPrivilege, PolicySnapshot.Change change)
+      throws SentryNoSuchObjectException, SentryInvalidInputException {
     Collection<PrivilegePrincipal> entitySet = new HashSet<>();
     List<MSentryPrivilege> mPrivileges = getMSentryPrivileges(tPrivilege, pm);
     for (MSentryPrivilege mPrivilege : mPrivileges) {
       entitySet.addAll(ImmutableSet.copyOf(mPrivilege.getRoles()));
       entitySet.addAll(ImmutableSet.copyOf(mPrivilege.getUsers()));
     }
+    for (PrivilegePrincipal principal : entitySet) {
+      change.addPrincipal(principal.getPrincipalType(), principal.getPrincipalName());
+    }
     // Dropping the privilege
     if (newTPrivilege == null) {
       for (PrivilegePrincipal principal : entitySet) {
@@ -3352,10 +3735,10 @@ public class SentryStore implements SentryStoreInterface {
 
               long lastProgressTime = System.currentTimeMillis();
 
+              FullPathsImagePersister persister = new FullPathsImagePersister(pm);
               for (Map.Entry<String, Collection<String>> authzPath : authzPaths.entrySet()) {
-                MAuthzPathsMapping mapping = new MAuthzPathsMapping(nextSnapshotID, nextObjectId++, authzPath.getKey(),
-                        authzPath.getValue());
-                mapping.makePersistent(pm);
+                persister.addMapping(new MAuthzPathsMapping(nextSnapshotID, nextObjectId++,
+                    authzPath.getKey(), authzPath.getValue()));
                 objectsPersistedCount++;
                 pathsPersistedCount = pathsPersistedCount + authzPath.getValue().size();
 
@@ -3368,8 +3751,393 @@ public class SentryStore implements SentryStoreInterface {
                   lastProgressTime = currentTime;
                 }
               }
+              persister.finish();
               return null;
             });
+    authzChangeWait.increment();
+  }
+
+  /**
+   * Persists the rows of a full paths snapshot in bulk within a transaction.
+   * <p>
+   * The rows are queued, with datanucleus flushing the transaction manually, and flushed
+   * every fullSnapshotFlushSize rows, so that they are sent to the database in JDBC batches
+   * of up to sentry.statement.batch.limit inserts instead of one insert per row. The queued
+   * mappings are flushed before the queued paths, which reference them.
+   */
+  private final class FullPathsImagePersister {
+    private final PersistenceManager pm;
+    private final List<MAuthzPathsMapping> mappings = new ArrayList<>();
+    private final List<MAuthzPathsMapping.MPathToPersist> paths = new ArrayList<>();
+
+    private FullPathsImagePersister(PersistenceManager pm) {
+      this.pm = pm;
+      pm.setProperty(FLUSH_MODE, "MANUAL");
+    }
+
+    /**
+     * Queues a new mapping and its paths.
+     */
+    private void addMapping(MAuthzPathsMapping mapping) {
+      mappings.add(mapping);
+      for (MAuthzPathsMapping.MPathToPersist path : mapping.takePathsToPersist()) {
+        addPath(path);
+      }
+      flushIfFull();
+    }
+
+    /**
+     * Queues a path of a mapping which is queued or already persisted.
+     */
+    private void addPath(MAuthzPathsMapping.MPathToPersist path) {
+      paths.add(path);
+      flushIfFull();
+    }
+
+    private void flushIfFull() {
+      if (mappings.size() + paths.size() >= fullSnapshotFlushSize) {
+        flush();
+      }
+    }
+
+    private void flush() {
+      if (!mappings.isEmpty()) {
+        pm.makePersistentAll(mappings);
+        pm.flush();
+        mappings.clear();
+      }
+      if (!paths.isEmpty()) {
+        pm.makePersistentAll(paths);
+        pm.flush();
+        paths.clear();
+      }
+    }
+
+    /**
+     * Flushes the queued rows and restores flushing the changes as they are made.
+     */
+    private void finish() {
+      flush();
+      pm.setProperty(FLUSH_MODE, "AUTO");
+    }
+  }
+
+  /**
+   * Start persisting an up-to-date HMS snapshot in chunks under the next paths snapshot ID.
+   * The paths left by a previous snapshot which was not committed are deleted first.
+   *
+   * @return the writer persisting the snapshot
+   * @throws Exception
+   */
+  public FullPathsImageWriter beginFullPathsImage() throws Exception {
+    long nextSnapshotID = tm.executeTransactionWithRetry(
+            pm -> getCurrentAuthzPathsSnapshotID(pm) + 1);
+    deleteAuthzPathsSnapshotsSince(nextSnapshotID);
+    ChunkedPathsImageWriter writer = tm.executeTransactionWithRetry(
+            pm -> new ChunkedPathsImageWriter(nextSnapshotID, getNextAuthzObjectID(pm)));
+    LOGGER.info("Persisting new HMS snapshot with ID = {} in chunks", writer.getSnapshotID());
+    return writer;
+  }
+
+  /**
+   * Delete all the authzObj -> [Paths] mappings of the uncommitted paths snapshots starting
+   * from given ID. The mappings are deleted in transactions of up to fullSnapshotFlushSize
+   * objects, and their paths are deleted by a query instead of being loaded. Nothing is
+   * deleted once one of these snapshots is the current one.
+   *
+   * @param snapshotID initial snapshot ID
+   * @throws Exception
+   */
+  private void deleteAuthzPathsSnapshotsSince(final long snapshotID) throws Exception {
+    long mappingsDeleted = 0;
+    long pathsDeleted = 0;
+    while (true) {
+      long[] deleted = tm.executeTransactionWithRetry(
+              pm -> {
+                if (getCurrentAuthzPathsSnapshotID(pm) >= snapshotID) {
+                  return new long[] {0, 0};
+                }
+                // The objects of the uncommitted snapshots were given IDs above all the
+                // objects persisted before them, and none was persisted between them, so
+                // the lowest of their IDs form a range holding only their objects.
+                Query query = pm.newQuery(MAuthzPathsMapping.class);
+                query.setFilter("this.authzSnapshotID >= snapshotID");
+                query.declareParameters("long snapshotID");
+                query.setOrdering("authzObjectId ascending");
+                query.setRange(0, fullSnapshotFlushSize);
+                query.setResult("authzObjectId");
+                List<Long> authzObjectIds = new ArrayList<>((List<Long>) query.execute(snapshotID));
+                if (authzObjectIds.isEmpty()) {
+                  return new long[] {0, 0};
+                }
+                long firstId = authzObjectIds.get(0);
+                long lastId = authzObjectIds.get(authzObjectIds.size() - 1);
+
+                Query pathsQuery = pm.newQuery(MAuthzPathsMapping.MPathToPersist.class);
+                pathsQuery.addExtension(LOAD_RESULTS_AT_COMMIT, "false");
+                pathsQuery.setFilter("this.authzObjectId >= firstId && this.authzObjectId <= lastId");
+                pathsQuery.declareParameters("long firstId, long lastId");
+                long numPaths = pathsQuery.deletePersistentAll(firstId, lastId);
+
+                Query mappingsQuery = pm.newQuery(MAuthzPathsMapping.class);
+                mappingsQuery.addExtension(LOAD_RESULTS_AT_COMMIT, "false");
+                mappingsQuery.setFilter("this.authzSnapshotID >= snapshotID && " +
+                    "this.authzObjectId >= firstId && this.authzObjectId <= lastId");
+                mappingsQuery.declareParameters("long snapshotID, long firstId, long lastId");
+                long numMappings = mappingsQuery.deletePersistentAll(snapshotID, firstId, lastId);
+                return new long[] {numMappings, numPaths};
+              });
+      if (deleted[0] == 0) {
+        break;
+      }
+      mappingsDeleted += deleted[0];
+      pathsDeleted += deleted[1];
+    }
+    if (mappingsDeleted > 0) {
+      LOGGER.info("Purged {} authz objects and {} paths of uncommitted paths snapshots " +
+          "starting from {}", mappingsDeleted, pathsDeleted, snapshotID);
+    }
+  }
+
+  /**
+   * Persists the chunks of a full HMS snapshot under a snapshot ID which is only
+   * persisted, and so becomes the current one, when the snapshot is committed.
+   * <p>
+   * Only the IDs of the objects persisted so far are kept in memory, so that the
+   * paths of an object received in several chunks are added without loading it.
+   * The IDs of the new objects of each chunk are assigned from a range reserved when
+   * the snapshot is started, so that with several writer threads the chunks are
+   * persisted concurrently over disjoint ID ranges. A chunk adding paths to an object
+   * of a chunk still being persisted waits for that chunk to be committed first, and
+   * skips the paths already persisted for the object.
+   */
+  private final class ChunkedPathsImageWriter implements FullPathsImageWriter {
+    private final long snapshotID;
+    private final Map<String, Long> authzObjectIds = new HashMap<>();
+    // Chunks submitted to the writer threads and not yet checked for completion
+    private final Deque<PendingChunk> pendingChunks = new ArrayDeque<>();
+    private ExecutorService executor;
+    private long nextObjectId;
+    private long pathsCount;
+    private boolean committed;
+
+    private ChunkedPathsImageWriter(long snapshotID, long nextObjectId) {
+      this.snapshotID = snapshotID;
+      this.nextObjectId = nextObjectId;
+    }
+
+    @Override
+    public long getSnapshotID() {
+      return snapshotID;
+    }
+
+    @Override
+    public void persistChunk(final Map<String, Collection<String>> authzPaths) throws Exception {
+      Preconditions.checkState(!committed, "HMS snapshot %s is already committed", snapshotID);
+      final long firstNewObjectId = nextObjectId;
+      final Map<String, Long> chunkObjectIds = new HashMap<>(authzPaths.size());
+      for (String authzObj : authzPaths.keySet()) {
+        Long authzObjectId = authzObjectIds.get(authzObj);
+        if (authzObjectId == null) {
+          authzObjectId = nextObjectId++;
+          authzObjectIds.put(authzObj, authzObjectId);
+        }
+        chunkObjectIds.put(authzObj, authzObjectId);
+      }
+      int chunkPathsCount = authzPaths.values().stream().mapToInt(Collection::size).sum();
+
+      if (fullSnapshotWriterThreads == 1) {
+        persistChunkCore(authzPaths, chunkObjectIds, firstNewObjectId);
+        chunkPersisted(chunkPathsCount);
+        return;
+      }
+
+      if (executor == null) {
+        executor = Executors.newFixedThreadPool(fullSnapshotWriterThreads,
+            new ThreadFactoryBuilder().setNameFormat("sentry-snapshot-writer-%d")
+                .setDaemon(true).build());
+      }
+      // Bound the number of chunks held in memory, surfacing failures as soon as possible
+      while (!pendingChunks.isEmpty() && (pendingChunks.peek().future.isDone()
+          || pendingChunks.size() >= 2 * fullSnapshotWriterThreads)) {
+        pendingChunks.poll().await();
+      }
+      final Set<Long> addedObjectIds = new HashSet<>();
+      for (long authzObjectId : chunkObjectIds.values()) {
+        if (authzObjectId < firstNewObjectId) {
+          addedObjectIds.add(authzObjectId);
+        }
+      }
+      final List<Future<?>> dependencies = new ArrayList<>();
+      for (PendingChunk pending : pendingChunks) {
+        for (long authzObjectId : addedObjectIds) {
+          if (pending.writes(authzObjectId)) {
+            dependencies.add(pending.future);
+            break;
+          }
+        }
+      }
+      Future<?> future = executor.submit(() -> {
+        // The paths must reference objects which are committed
+        for (Future<?> dependency : dependencies) {
+          dependency.get();
+        }
+        persistChunkCore(authzPaths, chunkObjectIds, firstNewObjectId);
+        return null;
+      });
+      pendingChunks.add(new PendingChunk(future, firstNewObjectId, nextObjectId, addedObjectIds,
+          chunkPathsCount));
+    }
+
+    /**
+     * Persists a chunk in a single transaction.
+     *
+     * @param authzPaths paths to be persisted
+     * @param chunkObjectIds IDs of the objects of the chunk
+     * @param firstNewObjectId the objects with an ID below are persisted by previous chunks
+     */
+    private void persistChunkCore(final Map<String, Collection<String>> authzPaths,
+        final Map<String, Long> chunkObjectIds, final long firstNewObjectId) throws Exception {
+      tm.executeTransactionWithRetry(
+              pm -> {
+                pm.setDetachAllOnCommit(false); // No need to detach objects
+                FullPathsImagePersister persister = new FullPathsImagePersister(pm);
+                for (Map.Entry<String, Collection<String>> authzPath : authzPaths.entrySet()) {
+                  long authzObjectId = chunkObjectIds.get(authzPath.getKey());
+                  if (authzObjectId >= firstNewObjectId) {
+                    persister.addMapping(new MAuthzPathsMapping(snapshotID, authzObjectId,
+                        authzPath.getKey(), authzPath.getValue()));
+                    continue;
+                  }
+                  // The paths of an object may be sent again in several chunks
+                  Set<String> persistedPaths = getPersistedPaths(pm, authzObjectId);
+                  for (String path : authzPath.getValue()) {
+                    if (persistedPaths.add(path)) {
+                      persister.addPath(new MAuthzPathsMapping.MPathToPersist(authzObjectId, path));
+                    }
+                  }
+                }
+                persister.finish();
+                return null;
+              });
+    }
+
+    /**
+     * @return the paths persisted for an object by the previous chunks
+     */
+    private Set<String> getPersistedPaths(PersistenceManager pm, long authzObjectId) {
+      Query query = pm.newQuery(MAuthzPathsMapping.MPathToPersist.class);
+      query.setFilter("this.authzObjectId == authzObjectId");
+      query.declareParameters("long authzObjectId");
+      query.setResult("path");
+      return new HashSet<>((Collection<String>) query.execute(authzObjectId));
+    }
+
+    private void chunkPersisted(int chunkPathsCount) {
+      pathsCount += chunkPathsCount;
+      LOGGER.info("Persisting HMS Paths on Snapshot {}: authz_objs_persisted={} authz_paths_persisted={}",
+          snapshotID, authzObjectIds.size(), pathsCount);
+    }
+
+    @Override
+    public void commit(final long notificationID) throws Exception {
+      Preconditions.checkState(!committed, "HMS snapshot %s is already committed", snapshotID);
+      while (!pendingChunks.isEmpty()) {
+        pendingChunks.poll().await();
+      }
+      tm.executeTransactionWithRetry(
+              pm -> {
+                pm.setDetachAllOnCommit(false); // No need to detach objects
+                long currentSnapshotID = getCurrentAuthzPathsSnapshotID(pm);
+                if (currentSnapshotID >= snapshotID) {
+                  throw new IllegalStateException(String.format(
+                      "Cannot commit HMS snapshot %d, snapshot %d was committed meanwhile",
+                      snapshotID, currentSnapshotID));
+                }
+                deleteNotificationsSince(pm, notificationID + 1);
+                // persist the notification ID
+                persistUniqueNotificationIDCore(pm, notificationID);
+                pm.makePersistent(new MAuthzPathsSnapshotId(snapshotID));
+                return null;
+              });
+      committed = true;
+      authzChangeWait.increment();
+      LOGGER.info("Committed new HMS snapshot with ID = {}", snapshotID);
+    }
+
+    @Override
+    public void close() {
+      if (executor != null) {
+        // Drop the chunks not started yet. A cancelled future does not wait for its
+        // task, so wait for the writer threads to let the chunks being persisted
+        // finish before deleting them.
+        for (PendingChunk pending : pendingChunks) {
+          pending.future.cancel(false);
+        }
+        pendingChunks.clear();
+        executor.shutdown();
+        try {
+          while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            LOGGER.info("Waiting for the chunks of HMS snapshot {} being persisted", snapshotID);
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          // The paths are deleted when the next snapshot is persisted
+          LOGGER.warn("Interrupted while closing HMS snapshot {}, not deleting it", snapshotID);
+          return;
+        }
+      }
+      if (committed) {
+        return;
+      }
+      try {
+        deleteAuthzPathsSnapshotsSince(snapshotID);
+      } catch (Exception e) {
+        // The paths are deleted when the next snapshot is persisted
+        LOGGER.warn("Failed to delete the uncommitted HMS snapshot " + snapshotID, e);
+      }
+    }
+
+    /**
+     * A chunk submitted to the writer threads, with the range of IDs of the objects it creates
+     * and the IDs of the objects of previous chunks it adds paths to.
+     */
+    private final class PendingChunk {
+      private final Future<?> future;
+      private final long firstObjectId;
+      private final long endObjectId;
+      private final Set<Long> addedObjectIds;
+      private final int pathsCount;
+
+      private PendingChunk(Future<?> future, long firstObjectId, long endObjectId,
+          Set<Long> addedObjectIds, int pathsCount) {
+        this.future = future;
+        this.firstObjectId = firstObjectId;
+        this.endObjectId = endObjectId;
+        this.addedObjectIds = addedObjectIds;
+        this.pathsCount = pathsCount;
+      }
+
+      private boolean writes(long authzObjectId) {
+        return (authzObjectId >= firstObjectId && authzObjectId < endObjectId)
+            || addedObjectIds.contains(authzObjectId);
+      }
+
+      /**
+       * Waits for the chunk to be persisted.
+       * @throws Exception the failure persisting the chunk
+       */
+      private void await() throws Exception {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          Throwables.propagateIfPossible(cause, Exception.class);
+          throw new RuntimeException(cause);
+        }
+        chunkPersisted(pathsCount);
+      }
+    }
   }
 
   public void logPersistingFullSnapshotState(int totalNumberOfObjectsToPersist,
@@ -3509,6 +4277,95 @@ public class SentryStore implements SentryStoreInterface {
     }
   }
 
+  /**
+   * Applies the paths added and deleted by several HMS notifications to the
+   * authzObj -> [Paths] mapping. As well as persist the update of each notification
+   * as a delta path change to MSentryPathChange table in a single transaction.
+   *
+   * @param updates the path updates of the notifications, in the order of the notifications
+   * @throws Exception
+   */
+  public void updateAuthzPathsMappings(final List<UniquePathsUpdate> updates) throws Exception {
+    // Net paths added and deleted for each authzObj, so that each mapping is
+    // updated once. A later change of a path overrides the earlier ones.
+    final Map<String, Set<String>> addedPaths = new LinkedHashMap<>();
+    final Map<String, Set<String>> deletedPaths = new LinkedHashMap<>();
+    for (UniquePathsUpdate update : updates) {
+      for (TPathChanges pathChanges : update.toThrift().getPathChanges()) {
+        String authzObj = pathChanges.getAuthzObj();
+        for (List<String> path : pathChanges.getDelPaths()) {
+          String pathTree = PATH_JOINER.join(path);
+          getOrCreate(deletedPaths, authzObj).add(pathTree);
+          getOrCreate(addedPaths, authzObj).remove(pathTree);
+        }
+        for (List<String> path : pathChanges.getAddPaths()) {
+          String pathTree = PATH_JOINER.join(path);
+          getOrCreate(addedPaths, authzObj).add(pathTree);
+          getOrCreate(deletedPaths, authzObj).remove(pathTree);
+        }
+      }
+    }
+
+    execute(new ArrayList<Update>(updates), pm -> {
+      pm.setDetachAllOnCommit(false); // No need to detach objects
+      updateAuthzPathsMappingsCore(pm, addedPaths, deletedPaths);
+      return null;
+    });
+  }
+
+  private static Set<String> getOrCreate(Map<String, Set<String>> pathsMap, String authzObj) {
+    Set<String> paths = pathsMap.get(authzObj);
+    if (paths == null) {
+      paths = new HashSet<>();
+      pathsMap.put(authzObj, paths);
+    }
+    return paths;
+  }
+
+  /**
+   * Adds and deletes paths of several authzObjs in the authzObj -> [Paths] mapping.
+   * New mappings are not visible to queries before the transaction is flushed, so
+   * their IDs are assigned here instead of being read for each new mapping.
+   *
+   * @param pm PersistenceManager
+   * @param addedPaths paths to be added for each authzObj
+   * @param deletedPaths paths to be deleted for each authzObj
+   */
+  private void updateAuthzPathsMappingsCore(PersistenceManager pm,
+        Map<String, Set<String>> addedPaths, Map<String, Set<String>> deletedPaths) {
+    long currentSnapshotID = getCurrentAuthzPathsSnapshotID(pm);
+    if (currentSnapshotID <= EMPTY_PATHS_SNAPSHOT_ID) {
+      LOGGER.warn("Paths of {} cannot be persisted if paths snapshot ID does not exist yet.",
+          addedPaths.keySet());
+    }
+
+    long nextAuthzObjectID = EMPTY_PATHS_MAPPING_ID;
+    for (Map.Entry<String, Set<String>> entry : addedPaths.entrySet()) {
+      String authzObj = entry.getKey();
+      Set<String> deleted = deletedPaths.get(authzObj);
+      MAuthzPathsMapping mAuthzPathsMapping =
+          getMAuthzPathsMappingCore(pm, currentSnapshotID, authzObj);
+      if (mAuthzPathsMapping == null) {
+        if (entry.getValue().isEmpty()) {
+          LOGGER.error("nonexistent authzObj: {} on current paths snapshot ID #{}",
+              authzObj, currentSnapshotID);
+          continue;
+        }
+        if (nextAuthzObjectID == EMPTY_PATHS_MAPPING_ID) {
+          nextAuthzObjectID = getNextAuthzObjectID(pm);
+        }
+        mAuthzPathsMapping = new MAuthzPathsMapping(currentSnapshotID, nextAuthzObjectID++,
+            authzObj, entry.getValue());
+      } else {
+        if (!deleted.isEmpty()) {
+          mAuthzPathsMapping.deletePersistent(pm, deleted);
+        }
+        mAuthzPathsMapping.addPathToPersist(entry.getValue());
+      }
+      mAuthzPathsMapping.makePersistent(pm);
+    }
+  }
+
   /**
    * Deletes all entries of the given authzObj from the authzObj -> [Paths] mapping.
    * As well as persist the corresponding delta path change to MSentryPathChange
@@ -4251,6 +5108,7 @@ public class SentryStore implements SentryStoreInterface {
               importRoleUserMapping(pm, roleNames, importedRoleUsersMap);
               return null;
             });
+    policyChanged(PolicySnapshot.Change.reload());
   }
 
   // covert the Map[group->roles] to Map[role->groups]
@@ -4856,13 +5714,234 @@ public class SentryStore implements SentryStoreInterface {
     // revoking/granting owner privilege and one TransactionBlock to perform actual permission change.
     // Default size of tbs is picked accordingly.
     List<TransactionBlock<Object>> tbs = new ArrayList<>(3);
+    final List<DeltaTransactionBlock> deltas = new ArrayList<>(2);
     if (persistUpdateDeltas && updates != null && updates.size() > 0) {
       for (Update update : updates) {
-        tbs.add(new DeltaTransactionBlock(update));
+        DeltaTransactionBlock delta = new DeltaTransactionBlock(update);
+        deltas.add(delta);
+        tbs.add(delta);
       }
     }
     tbs.add(transactionBlock);
-    tm.executeTransactionBlocksWithRetry(tbs);
+    if (deltas.isEmpty()) {
+      tm.executeTransactionBlocksGrouped(tbs, null);
+      return;
+    }
+    // Writes on different roles and objects run concurrently, so two of them may try
+    // to persist the same change ID. The primary key lets only one of them commit, which
+    // keeps the change sequence ordered, and the other one is retried right away.
+    tm.executeTransactionBlocksGrouped(tbs, e -> isChangeIDTaken(deltas));
+    permChangesPersisted(deltas);
+    authzChangeWait.increment();
+  }
+
+  /**
+   * Lock keys of a grant or revoke: the principal and the objects of the privileges.
+   */
+  private static Set<String> privilegeLockKeys(SentryPrincipalType type, String name,
+      Set<TSentryPrivilege> privileges) {
+    Set<String> keys = new HashSet<>();
+    keys.add(PolicyLocks.principalKey(type, name));
+    for (TSentryPrivilege privilege : privileges) {
+      keys.add(PolicyLocks.objectKey(privilege.getServerName(), privilege.getDbName(),
+          privilege.getURI()));
+    }
+    return keys;
+  }
+
+  /**
+   * Lock keys of a bulk grant or revoke: the roles and the objects of the privileges.
+   */
+  private static Set<String> rolesPrivilegeLockKeys(Set<String> roleNames,
+      Set<TSentryPrivilege> privileges) {
+    Set<String> keys = new HashSet<>();
+    for (String roleName : roleNames) {
+      keys.add(PolicyLocks.roleKey(roleName));
+    }
+    for (TSentryPrivilege privilege : privileges) {
+      keys.add(PolicyLocks.objectKey(privilege.getServerName(), privilege.getDbName(),
+          privilege.getURI()));
+    }
+    return keys;
+  }
+
+  private static Set<String> roleGroupsLockKeys(String roleName, Set<TSentryGroup> groups) {
+    Set<String> keys = new HashSet<>();
+    keys.add(PolicyLocks.roleKey(roleName));
+    for (TSentryGroup group : groups) {
+      keys.add(PolicyLocks.groupKey(group.getGroupName()));
+    }
+    return keys;
+  }
+
+  private static String objectLockKey(TSentryAuthorizable authorizable) {
+    return PolicyLocks.objectKey(authorizable.getServer(), authorizable.getDb(),
+        authorizable.getUri());
+  }
+
+  private boolean isChangeIDTaken(final List<DeltaTransactionBlock> deltas) throws Exception {
+    return tm.executeTransaction(
+        pm -> {
+          pm.setDetachAllOnCommit(false); // No need to detach objects
+          for (DeltaTransactionBlock delta : deltas) {
+            if (delta.isChangeIDTaken(pm)) {
+              return true;
+            }
+          }
+          return false;
+        });
+  }
+
+  /**
+   * Apply a committed local change of roles, groups, users or privileges to the in-memory
+   * policy snapshot. The snapshot is replaced by a copy with the current state of the
+   * changed roles and users, read under the update lock so that the last copy always has
+   * the state of the last committed change. A change which requires a reload drops it.
+   */
+  private void policyChanged(PolicySnapshot.Change change) {
+    if (!policySnapshotEnabled) {
+      return;
+    }
+    synchronized (policySnapshotUpdateLock) {
+      if (policyChangesDuringLoad != null) {
+        policyChangesDuringLoad.addAll(change);
+      }
+      final PolicySnapshot snapshot = policySnapshot;
+      if (snapshot == null || change.isEmpty()) {
+        return;
+      }
+      if (change.isReload()) {
+        policySnapshot = null;
+        return;
+      }
+      try {
+        policySnapshot = tm.executeTransaction(pm -> snapshot.update(pm, change));
+      } catch (Exception e) {
+        LOGGER.warn("Failed to update the policy snapshot, it will be loaded again", e);
+        policySnapshot = null;
+      }
+    }
+  }
+
+  /**
+   * Record the IDs of the permission changes persisted by this store, which the policy
+   * snapshot includes once their write is applied to it.
+   */
+  private void permChangesPersisted(List<DeltaTransactionBlock> deltas) {
+    if (!policySnapshotEnabled) {
+      return;
+    }
+    for (DeltaTransactionBlock delta : deltas) {
+      long changeID = delta.getPermChangeID();
+      if (changeID != EMPTY_CHANGE_ID) {
+        localPermChangeIDs.add(changeID);
+      }
+    }
+    if (!localPermChangeIDs.isEmpty()
+        && localPermChangeIDs.last() - localPermChangeIDs.first() > MAX_UNVALIDATED_PERM_CHANGES) {
+      // The snapshot isn't read, so drop it rather than keeping the change IDs
+      synchronized (policySnapshotUpdateLock) {
+        policySnapshot = null;
+      }
+      localPermChangeIDs.clear();
+    }
+  }
+
+  /**
+   * Get the in-memory policy snapshot, loading it if it is dropped or out of date.
+   * <p>
+   * Policy changes made through this store are applied to the snapshot as they are
+   * committed. Changes made by other Sentry servers are detected by looking for permission
+   * change IDs not persisted by this store after the last validated one, at most once per
+   * validation interval. The changes which persist no permission delta, or all of them when
+   * permission deltas are not persisted, can't be detected, so the snapshot is also loaded
+   * again once it is older than the configured maximum age.
+   * <p>
+   * The snapshot is loaded by a single request and then published. The requests made
+   * meanwhile don't wait for it and get no snapshot, so that they read the database. The
+   * local changes committed while the snapshot is loaded are applied to it before it is
+   * published.
+   *
+   * @return the snapshot or null if the policy snapshot is disabled, or is being loaded
+   * @throws Exception if DataNucleus operation fails.
+   */
+  @VisibleForTesting
+  PolicySnapshot getPolicySnapshot() throws Exception {
+    if (!policySnapshotEnabled) {
+      return null;
+    }
+    PolicySnapshot snapshot = policySnapshot;
+    if (snapshot != null && isPolicySnapshotCurrent(snapshot)) {
+      return snapshot;
+    }
+    if (!policySnapshotLoadLock.tryLock()) {
+      return null;
+    }
+    try {
+      snapshot = policySnapshot;
+      if (snapshot != null && isPolicySnapshotCurrent(snapshot)) {
+        return snapshot;
+      }
+      synchronized (policySnapshotUpdateLock) {
+        policySnapshot = null;
+        policyChangesDuringLoad = new PolicySnapshot.Change();
+      }
+      try {
+        snapshot = tm.executeTransaction(
+            pm -> PolicySnapshot.load(pm, getLastProcessedChangeIDCore(pm, MSentryPermChange.class)));
+        synchronized (policySnapshotUpdateLock) {
+          final PolicySnapshot.Change changes = policyChangesDuringLoad;
+          if (changes.isReload()) {
+            // A bulk write committed while the policy was loaded may be missing from it, so
+            // the snapshot is used for this request only and loaded again by the next one.
+            return snapshot;
+          }
+          if (!changes.isEmpty()) {
+            final PolicySnapshot loaded = snapshot;
+            snapshot = tm.executeTransaction(pm -> loaded.update(pm, changes));
+          }
+          policySnapshot = snapshot;
+        }
+      } finally {
+        synchronized (policySnapshotUpdateLock) {
+          policyChangesDuringLoad = null;
+        }
+      }
+      localPermChangeIDs.headSet(snapshot.getPermChangeID(), true).clear();
+      policySnapshotValidatedChangeID = snapshot.getPermChangeID();
+      policySnapshotValidationTime = System.currentTimeMillis();
+      LOGGER.debug("Loaded policy snapshot at perm change ID {}", snapshot.getPermChangeID());
+      return snapshot;
+    } finally {
+      policySnapshotLoadLock.unlock();
+    }
+  }
+
+  private boolean isPolicySnapshotCurrent(PolicySnapshot snapshot) throws Exception {
+    long now = System.currentTimeMillis();
+    if (now - snapshot.getCreateTime() >= policySnapshotMaxAgeMs) {
+      return false;
+    }
+    if (!persistUpdateDeltas
+        || now - policySnapshotValidationTime < policySnapshotValidationIntervalMs) {
+      return true;
+    }
+    long validatedChangeID = Math.max(policySnapshotValidatedChangeID,
+        snapshot.getPermChangeID());
+    long lastChangeID = getLastProcessedPermChangeID();
+    if (lastChangeID < validatedChangeID) {
+      return false;
+    }
+    for (long changeID = validatedChangeID + 1; changeID <= lastChangeID; changeID++) {
+      if (!localPermChangeIDs.contains(changeID)) {
+        // Made by another Sentry server
+        return false;
+      }
+    }
+    localPermChangeIDs.headSet(lastChangeID, true).clear();
+    policySnapshotValidatedChangeID = lastChangeID;
+    policySnapshotValidationTime = now;
+    return true;
   }
 
   /**
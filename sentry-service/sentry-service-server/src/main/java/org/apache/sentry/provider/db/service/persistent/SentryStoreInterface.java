@@ -438,6 +438,13 @@ public interface SentryStoreInterface {
    */
   CounterWait getCounterWait();
 
+  /**
+   * Return the counter of the permission and path changes committed by this
+   * server, incremented after each commit.
+   * @return counter of the changes
+   */
+  CounterWait getAuthzChangeWait();
+
   // Metrics
 
   /**
@@ -555,6 +562,34 @@ public interface SentryStoreInterface {
                                        final Map<TSentryPrivilege, Update> privilegesUpdateMap)
     throws Exception;
 
+  /**
+   * Alter a set of sentry roles to grant the same set of privileges in a single
+   * transaction, as well as persist the corresponding permission change, if any,
+   * as a single MSentryPermChange.
+   *
+   * @param roleNames the given role names
+   * @param privileges a Set of privileges
+   * @param update the combined permission delta update of all roles, may be null
+   * @throws Exception
+   */
+  void alterSentryRolesGrantPrivileges(final Set<String> roleNames,
+                                       final Set<TSentryPrivilege> privileges,
+                                       final Update update) throws Exception;
+
+  /**
+   * Alter a set of sentry roles to revoke the same set of privileges in a single
+   * transaction, as well as persist the corresponding permission change, if any,
+   * as a single MSentryPermChange.
+   *
+   * @param roleNames the given role names
+   * @param privileges a Set of privileges
+   * @param update the combined permission delta update of all roles, may be null
+   * @throws Exception
+   */
+  void alterSentryRolesRevokePrivileges(final Set<String> roleNames,
+                                        final Set<TSentryPrivilege> privileges,
+                                        final Update update) throws Exception;
+
   /**
    * Drop the given privilege from all roles. As well as persist the corresponding
    * permission change to MSentryPermChange table in a single transaction.
@@ -688,6 +723,15 @@ public interface SentryStoreInterface {
   void persistFullPathsImage(final Map<String, Collection<String>> authzPaths,
                              final long notificationID) throws Exception;
 
+  /**
+   * Start persisting an up-to-date HMS snapshot in chunks under the next paths snapshot ID.
+   * The snapshot becomes the current one when the writer is committed.
+   *
+   * @return the writer persisting the snapshot
+   * @throws Exception
+   */
+  FullPathsImageWriter beginFullPathsImage() throws Exception;
+
   /**
    * Adds the authzObj and with a set of paths into the authzObj -> [Paths] mapping.
    * As well as persist the corresponding delta path change to MSentryPathChange
@@ -726,6 +770,16 @@ public interface SentryStoreInterface {
                                final Collection<String> paths,
                                final UniquePathsUpdate update) throws Exception;
 
+  /**
+   * Applies the paths added and deleted by several HMS notifications to the
+   * authzObj -> [Paths] mapping. As well as persist the update of each notification
+   * as a delta path change to MSentryPathChange table in a single transaction.
+   *
+   * @param updates the path updates of the notifications, in the order of the notifications
+   * @throws Exception
+   */
+  void updateAuthzPathsMappings(final List<UniquePathsUpdate> updates) throws Exception;
+
   /**
    * Renames the existing authzObj to a new one in the authzObj -> [Paths] mapping,
    * but keeps its paths mapping as-is. As well as persist the corresponding delta path
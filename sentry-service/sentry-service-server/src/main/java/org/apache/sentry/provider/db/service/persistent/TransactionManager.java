@@ -35,6 +35,7 @@ import javax.jdo.Transaction;
 
 import org.apache.sentry.api.service.thrift.SentryMetrics;
 
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.Callable;
 
@@ -50,13 +51,17 @@ import java.util.concurrent.Callable;
  * business logic.<p>
  *
  * TransactionManager creates an instance of PersistenceManager for each
- * transaction.<p>
+ * transaction. When group commit is enabled, concurrent write transactions
+ * may share a PersistenceManager and a database transaction, see
+ * {@link GroupCommitter}.<p>
  *
  * TransactionManager exposes several metrics:
  * <ul>
  *     <li>Timer metric for all transactions</li>
  *     <li>Counter for failed transactions</li>
  *     <li>Counter for each exception thrown by transaction</li>
+ *     <li>Counter for transactions retried after a conflict with a concurrent one</li>
+ *     <li>Histogram of group commit sizes, timer and replay counter for group commits</li>
  * </ul>
  */
 @SuppressWarnings("NestedTryStatement")
@@ -76,6 +81,12 @@ public final class TransactionManager {
   // Delay (in milliseconds) between retries
   private final int retryWaitTimeMills;
 
+  // Maximum number of immediate retries after conflicts with concurrent transactions
+  private final int conflictRetryMax;
+
+  // Commits concurrent write transactions together, null if group commit is disabled
+  private final GroupCommitter groupCommitter;
+
   /** Name for metrics */
   private static final String TRANSACTIONS = "transactions";
 
@@ -95,6 +106,20 @@ public final class TransactionManager {
           SentryMetrics.getInstance().getCounter(name(TransactionManager.class,
                   TRANSACTIONS, "retry"));
 
+  // Counter for transactions retried after a conflict with a concurrent transaction
+  private final Counter conflictCount =
+          SentryMetrics.getInstance().getCounter(name(TransactionManager.class,
+                  TRANSACTIONS, "conflict"));
+
+  /**
+   * Tells whether a failed transaction lost an optimistic race with a concurrent
+   * transaction, e.g. both tried to persist the same delta change ID. Such transactions
+   * are retried immediately, since the conflict is resolved once the other one commits.
+   */
+  interface ConflictCheck {
+    boolean isConflict(Exception e) throws Exception;
+  }
+
   TransactionManager(PersistenceManagerFactory pmf, Configuration conf) {
     this.pmf = pmf;
     transactionRetryMax = conf.getInt(
@@ -103,6 +128,19 @@ public final class TransactionManager {
     retryWaitTimeMills = conf.getInt(
         ServerConfig.SENTRY_STORE_TRANSACTION_RETRY_WAIT_TIME_MILLIS,
         ServerConfig.SENTRY_STORE_TRANSACTION_RETRY_WAIT_TIME_MILLIS_DEFAULT);
+    conflictRetryMax = conf.getInt(
+        ServerConfig.SENTRY_STORE_TRANSACTION_CONFLICT_RETRY,
+        ServerConfig.SENTRY_STORE_TRANSACTION_CONFLICT_RETRY_DEFAULT);
+    if (conf.getBoolean(ServerConfig.SENTRY_STORE_GROUP_COMMIT_ENABLED,
+        ServerConfig.SENTRY_STORE_GROUP_COMMIT_ENABLED_DEFAULT)) {
+      groupCommitter = new GroupCommitter(this,
+          conf.getInt(ServerConfig.SENTRY_STORE_GROUP_COMMIT_BATCH_MAX,
+              ServerConfig.SENTRY_STORE_GROUP_COMMIT_BATCH_MAX_DEFAULT),
+          conf.getLong(ServerConfig.SENTRY_STORE_GROUP_COMMIT_WINDOW_MS,
+              ServerConfig.SENTRY_STORE_GROUP_COMMIT_WINDOW_MS_DEFAULT));
+    } else {
+      groupCommitter = null;
+    }
   }
 
 
@@ -148,7 +186,7 @@ public final class TransactionManager {
    * @param tbs transaction blocks with code to be executed
    * @return the result of the last result of tb.execute()
    */
-  private <T> T executeTransaction(Iterable<TransactionBlock<T>> tbs) throws Exception {
+  <T> T executeTransaction(Iterable<TransactionBlock<T>> tbs) throws Exception {
     try (Context context = transactionTimer.time();
          PersistenceManager pm = pmf.getPersistenceManager()) {
       Transaction transaction = pm.currentTransaction();
@@ -206,7 +244,22 @@ public final class TransactionManager {
   @SuppressWarnings("squid:S00112")
   <T> void executeTransactionBlocksWithRetry(final Iterable<TransactionBlock<T>> tbs)
           throws Exception {
-    new ExponentialBackoff().execute(
+    executeTransactionBlocksWithRetry(tbs, null);
+  }
+
+  /**
+   * Execute a list of TransactionBlock code as a single transaction.
+   * Failures identified as conflicts by conflictCheck are retried immediately,
+   * up to the configured number of conflict retries, other failures are retried
+   * with exponential backoff.
+   *
+   * @param tbs a list of transaction blocks with code to be executed.
+   * @param conflictCheck check for conflicts with concurrent transactions, may be null
+   */
+  @SuppressWarnings("squid:S00112")
+  <T> void executeTransactionBlocksWithRetry(final Iterable<TransactionBlock<T>> tbs,
+          ConflictCheck conflictCheck) throws Exception {
+    new ExponentialBackoff(conflictCheck).execute(
             new Callable<T>() {
               @Override
               public T call() throws Exception {
@@ -216,17 +269,46 @@ public final class TransactionManager {
     );
   }
 
+  /**
+   * Execute a list of TransactionBlock code as a single transaction with retries,
+   * like {@link #executeTransactionBlocksWithRetry(Iterable, ConflictCheck)}. When
+   * group commit is enabled, the transaction may be committed together with
+   * concurrent ones.
+   *
+   * @param tbs a list of transaction blocks with code to be executed.
+   * @param conflictCheck check for conflicts with concurrent transactions, may be null
+   */
+  @SuppressWarnings("squid:S00112")
+  void executeTransactionBlocksGrouped(List<TransactionBlock<Object>> tbs,
+          ConflictCheck conflictCheck) throws Exception {
+    if (groupCommitter == null) {
+      executeTransactionBlocksWithRetry(tbs, conflictCheck);
+    } else {
+      groupCommitter.execute(tbs, conflictCheck);
+    }
+  }
+
   /**
    * Implementation of exponential backoff with random fuzziness.
    * On each iteration the backoff time is 1.5 the previous amount plus the
    * random fuzziness factor which is up to half of the previous amount.
    */
   private class ExponentialBackoff {
+    private final ConflictCheck conflictCheck;
+
+    ExponentialBackoff() {
+      this(null);
+    }
+
+    ExponentialBackoff(ConflictCheck conflictCheck) {
+      this.conflictCheck = conflictCheck;
+    }
 
     @SuppressWarnings("squid:S00112")
     <T> T execute(Callable<T> arg) throws Exception {
       Exception ex = null;
       long sleepTime = retryWaitTimeMills;
+      int conflicts = 0;
 
       for (int retryNum = 1; retryNum <= transactionRetryMax; retryNum++) {
         try {
@@ -237,6 +319,15 @@ public final class TransactionManager {
           throw e;
         } catch (Exception e) {
           ex = e;
+          if (conflictCheck != null && conflicts < conflictRetryMax
+              && conflictCheck.isConflict(e)) {
+            // Lost the race to a concurrent transaction, retry without backoff
+            conflicts++;
+            conflictCount.inc();
+            LOGGER.debug("Retrying transaction after conflict {}/{}", conflicts, conflictRetryMax);
+            retryNum--;
+            continue;
+          }
           retryCount.inc();
           LOGGER.warn("Transaction execution encountered exception", e);
           LOGGER.warn("Retrying transaction {}/{} times",
@@ -17,9 +17,11 @@
  */
 package org.apache.sentry.service.thrift;
 
+import com.codahale.metrics.Timer.Context;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hive.metastore.HiveMetaStoreClient;
 import org.apache.hadoop.hive.metastore.api.Database;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.Table;
@@ -36,10 +38,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ExecutionException;
@@ -48,6 +53,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Manage fetching full snapshot from HMS.
@@ -71,6 +77,10 @@ import java.util.concurrent.TimeUnit;
  *         Map<String, Set<String>> pathsUpdate = updateInitializer.getFullHMSSnapshot();
  *      return pathsUpdate;
  * }
+ * <p>
+ * Alternatively {@link FullUpdateInitializer#streamFullHMSSnapshot(ChunkConsumer)} passes
+ * the snapshot to a consumer in chunks as it is fetched, so that it is never held in memory
+ * as a whole.
  */
 public final class FullUpdateInitializer implements AutoCloseable {
 
@@ -91,22 +101,48 @@ public final class FullUpdateInitializer implements AutoCloseable {
    * any other synchronization. It is not thread-safe for concurrent calls
    * to getFullHMSSnapshot().
    *
+   * The number of partitions fetched per call is adapted to the HMS latency: a partition
+   * task scheduled with more partitions than the current number per call splits them
+   * when it runs. The HMS clients are reused by the tasks instead of connecting for each
+   * of them.
+   *
+   * When the snapshot is streamed, tasks put their partial snapshots in the bounded
+   * 'mappings' queue instead of returning them, and block while it is full. The
+   * results of the tasks then only report failures. A task queues its partial snapshot
+   * before completing, so once the results queue is empty the mappings queue holds
+   * all the partial snapshots which are not consumed yet.
+   *
    */
 
 
   private static final String FULL_UPDATE_INITIALIZER_THREAD_NAME = "hms-fetch-%d";
+  // Interval at which the completion of the tasks is checked while no partial snapshot is queued
+  private static final long RESULT_POLL_INTERVAL_MS = 100;
+  // Maximum wait between the retries of a task
+  private static final long MAX_RETRY_WAIT_MILLIS = 30000;
   private final ExecutorService threadPool;
   private final int maxPartitionsPerCall;
+  private final int minPartitionsPerCall;
+  private final long targetCallLatencyMillis;
+  // Number of partitions fetched per call, adapted to the HMS latency
+  private final AtomicInteger partitionsPerCall;
+  // Connected HMS clients not used by a task
+  private final Deque<HMSClient> idleClients = new ConcurrentLinkedDeque<>();
+  private volatile boolean closed;
   private final int maxTablesPerCall;
   private final Deque<Future<CallResult>> results = new ConcurrentLinkedDeque<>();
   private final int maxRetries;
   private final int waitDurationMillis;
   private final long printSnapshotFetchTimeInterval;
+  private final int chunkSize;
+  private final int queueSize;
+  // Partial snapshots of the tasks when the snapshot is streamed, null otherwise
+  private volatile BlockingQueue<ObjectMapping> mappings;
 
   //Objects count
-  private int totalNumberOfDatabasesFetched;
-  private int totalNumberOfTablesFetched;
-  private int totalNumberOfPartitionsFetched;
+  private final AtomicInteger totalNumberOfDatabasesFetched = new AtomicInteger();
+  private final AtomicInteger totalNumberOfTablesFetched = new AtomicInteger();
+  private final AtomicInteger totalNumberOfPartitionsFetched = new AtomicInteger();
 
   private static final Logger LOGGER = LoggerFactory.getLogger(FullUpdateInitializer.class);
 
@@ -157,6 +193,14 @@ public final class FullUpdateInitializer implements AutoCloseable {
     }
   }
 
+  /**
+   * Receives the chunks of a streamed full snapshot. A chunk may contain paths of
+   * objects which were already part of previous chunks.
+   */
+  public interface ChunkConsumer {
+    void accept(Map<String, Collection<String>> chunk) throws Exception;
+  }
+
   private static final class CallResult {
     private final Exception failure;
     private final boolean successStatus;
@@ -209,7 +253,7 @@ public final class FullUpdateInitializer implements AutoCloseable {
         // Retry logic is happening inside callable/task to avoid
         // synchronous waiting on getting the result.
         // Retry the failure task until reach the max retry number.
-        // Wait configurable duration for next retry.
+        // Wait configurable duration for next retry, doubled after each retry.
         //
         // Only thrift exceptions are retried.
         // Other exceptions are propagated up the stack.
@@ -221,13 +265,18 @@ public final class FullUpdateInitializer implements AutoCloseable {
             try {
               return new CallResult(doTask());
             } catch (TException ex) {
+              exception = ex;
+              if (i + 1 == retryStrategyMaxRetries) {
+                break;
+              }
+              long waitMillis = Math.min(MAX_RETRY_WAIT_MILLIS,
+                  (long) retryStrategyWaitDurationMillis << Math.min(i, 16));
               LOGGER.debug("Failed to execute task on " + (i + 1) + " attempts." +
-                      " Sleeping for " + retryStrategyWaitDurationMillis + " ms. Exception: " +
+                      " Sleeping for " + waitMillis + " ms. Exception: " +
                       ex.toString(), ex);
-              exception = ex;
 
               try {
-                Thread.sleep(retryStrategyWaitDurationMillis);
+                Thread.sleep(waitMillis);
               } catch (InterruptedException ignored) {
                 // Skip the rest retries if get InterruptedException.
                 // And set the corresponding retries number.
@@ -255,7 +304,15 @@ public final class FullUpdateInitializer implements AutoCloseable {
 
     @Override
     public CallResult call() throws Exception {
-      return retryStrategy.exec();
+      CallResult result = retryStrategy.exec();
+      BlockingQueue<ObjectMapping> queue = mappings;
+      if (queue == null || !result.success()
+          || result.getObjectMapping().getObjects().isEmpty()) {
+        return result;
+      }
+      // Waits for the consumer, so that a limited number of partial snapshots are in memory
+      queue.put(result.getObjectMapping());
+      return new CallResult(emptyObjectMapping);
     }
 
     abstract ObjectMapping doTask() throws Exception;
@@ -265,7 +322,7 @@ public final class FullUpdateInitializer implements AutoCloseable {
     private final String dbName;
     private final String tblName;
     private final String authName;
-    private final List<String> partNames;
+    private List<String> partNames;
 
     PartitionTask(String dbName, String tblName, String authName,
         List<String> partNames) {
@@ -280,20 +337,24 @@ public final class FullUpdateInitializer implements AutoCloseable {
 
       long startTime = System.currentTimeMillis();
       List<Partition> tblParts;
-      HMSClient c = null;
-
-      try (HMSClient client = clientFactory.connect()) {
-        c = client;
-        LOGGER.debug("Fetching partition objects for db = {} table = {}", dbName, tblName);
-        tblParts = client.getClient().getPartitionsByNames(dbName, tblName, partNames);
-      } catch (Exception e) {
-        if (c != null) {
-          c.invalidate();
-        }
-        throw e;
+
+      // The number of partitions per call may have been reduced since the task was scheduled
+      int partsPerCall = partitionsPerCall.get();
+      if (partNames.size() > partsPerCall) {
+        schedulePartitionTasks(dbName, tblName, authName,
+            partNames.subList(partsPerCall, partNames.size()));
+        partNames = partNames.subList(0, partsPerCall);
+      }
+
+      LOGGER.debug("Fetching partition objects for db = {} table = {}", dbName, tblName);
+      try (Context context = SentryMetrics.getInstance().partitionFetchTimer.time()) {
+        tblParts = withClient(client -> client.getPartitionsByNames(dbName, tblName, partNames));
       }
+      adaptPartitionsPerCall(partNames.size(), System.currentTimeMillis() - startTime);
 
-      totalNumberOfPartitionsFetched += tblParts.size();
+      totalNumberOfPartitionsFetched.addAndGet(tblParts.size());
+      SentryMetrics.getInstance().partitionFetchRate.mark(tblParts.size());
+      SentryMetrics.getInstance().partitionFetchBatchSize.update(partNames.size());
       Collection<String> partitionNames = new ArrayList<>(tblParts.size());
 
         for (Partition part : tblParts) {
@@ -327,15 +388,12 @@ public final class FullUpdateInitializer implements AutoCloseable {
     ObjectMapping doTask() throws Exception {
 
       long startTime = System.currentTimeMillis();
-      HMSClient c = null;
-
-      try (HMSClient client = clientFactory.connect()) {
-        c = client;
 
+      return withClient(client -> {
         LOGGER.debug("Fetching table objects for db = {} tables count = {} tables = {}",
             dbName, tableNames.size(), tableNames);
-        List<Table> tables = client.getClient().getTableObjectsByName(dbName, tableNames);
-        totalNumberOfTablesFetched += tables.size();
+        List<Table> tables = client.getTableObjectsByName(dbName, tableNames);
+        totalNumberOfTablesFetched.addAndGet(tables.size());
 
         Map<String, Set<String>> objectMapping = new HashMap<>(tables.size());
         for (Table tbl : tables) {
@@ -352,19 +410,13 @@ public final class FullUpdateInitializer implements AutoCloseable {
 
           LOGGER.debug("Fetch all partition names for db = {} table = {}", dbName, tableName);
           List<String> tblPartNames =
-              client.getClient().listPartitionNames(dbName, tableName, (short) -1);
+              client.listPartitionNames(dbName, tableName, (short) -1);
           LOGGER.info("For db = {} table = {} total number of partitions = {}",
               dbName, tableName, tblPartNames.size());
 
           // Count total number of partitions
           SentryMetrics.getInstance().partitionCount.inc(tblPartNames.size());
-          for (int i = 0; i < tblPartNames.size(); i += maxPartitionsPerCall) {
-            List<String> partsToFetch = tblPartNames.subList(i,
-                    Math.min(i + maxPartitionsPerCall, tblPartNames.size()));
-            Callable<CallResult> partTask = new PartitionTask(dbName,
-                    tableName, authzObject, partsToFetch);
-            results.add(threadPool.submit(partTask));
-          }
+          schedulePartitionTasks(dbName, tableName, authzObject, tblPartNames);
 
           String tblPath = safeIntern(pathFromURI(tbl.getSd().getLocation()));
           if (tblPath == null) {
@@ -382,12 +434,7 @@ public final class FullUpdateInitializer implements AutoCloseable {
             dbName, tableNames, results.size(), System.currentTimeMillis() - startTime);
 
         return new ObjectMapping(Collections.unmodifiableMap(objectMapping));
-      } catch (Exception e) {
-        if (c != null) {
-          c.invalidate();
-        }
-        throw e;
-      }
+      });
     }
   }
 
@@ -404,15 +451,12 @@ public final class FullUpdateInitializer implements AutoCloseable {
     ObjectMapping doTask() throws Exception {
 
       long startTime = System.currentTimeMillis();
-      HMSClient c = null;
-
-      try (HMSClient client = clientFactory.connect()) {
-        c = client;
 
+      return withClient(client -> {
         LOGGER.debug("Fetching database object for db = {}", dbName);
-        Database db = client.getClient().getDatabase(dbName);
+        Database db = client.getDatabase(dbName);
 
-        totalNumberOfDatabasesFetched++;
+        totalNumberOfDatabasesFetched.incrementAndGet();
 
         if (!dbName.equalsIgnoreCase(db.getName())) {
           LOGGER.warn("Database name {} does not match {}", db.getName(), dbName);
@@ -420,7 +464,7 @@ public final class FullUpdateInitializer implements AutoCloseable {
         }
 
         LOGGER.debug("Fetch all table names for db = {}", dbName);
-        List<String> allTblStr = client.getClient().getAllTables(dbName);
+        List<String> allTblStr = client.getAllTables(dbName);
         LOGGER.info("For db = {} total number of table names fetched = {}", dbName, allTblStr.size());
 
         // Count total number of tables
@@ -439,12 +483,7 @@ public final class FullUpdateInitializer implements AutoCloseable {
 
         return (dbPath != null) ? new ObjectMapping(dbName, dbPath) :
                 emptyObjectMapping;
-      } catch (Exception e) {
-        if (c != null) {
-          c.invalidate();
-        }
-        throw e;
-      }
+      });
     }
   }
 
@@ -465,6 +504,20 @@ public final class FullUpdateInitializer implements AutoCloseable {
     printSnapshotFetchTimeInterval = conf.getInt(
             ServerConfig.SENTRY_HDFS_SYNC_METASTORE_CACHE_PRINT_SNAPSHOT_FETCH_INTERVAL_IN_MILLIS,
             ServerConfig.SENTRY_HDFS_SYNC_METASTORE_CACHE_PRINT_SNAPSHOT_FETCH_INTERVAL_IN_MILLIS_DEFAULT);
+    chunkSize = Math.max(1, conf.getInt(
+            ServerConfig.SENTRY_HDFS_SYNC_METASTORE_CACHE_CHUNK_SIZE,
+            ServerConfig.SENTRY_HDFS_SYNC_METASTORE_CACHE_CHUNK_SIZE_DEFAULT));
+    queueSize = Math.max(1, conf.getInt(
+            ServerConfig.SENTRY_HDFS_SYNC_METASTORE_CACHE_QUEUE_SIZE,
+            ServerConfig.SENTRY_HDFS_SYNC_METASTORE_CACHE_QUEUE_SIZE_DEFAULT));
+
+    minPartitionsPerCall = Math.max(1, Math.min(maxPartitionsPerCall, conf.getInt(
+            ServerConfig.SENTRY_HDFS_SYNC_METASTORE_CACHE_MIN_PART_PER_RPC,
+            ServerConfig.SENTRY_HDFS_SYNC_METASTORE_CACHE_MIN_PART_PER_RPC_DEFAULT)));
+    targetCallLatencyMillis = conf.getInt(
+            ServerConfig.SENTRY_HDFS_SYNC_METASTORE_CACHE_TARGET_RPC_LATENCY_IN_MILLIS,
+            ServerConfig.SENTRY_HDFS_SYNC_METASTORE_CACHE_TARGET_RPC_LATENCY_IN_MILLIS_DEFAULT);
+    partitionsPerCall = new AtomicInteger(maxPartitionsPerCall);
 
     ThreadFactory fullUpdateInitThreadFactory = new ThreadFactoryBuilder()
         .setNameFormat(FULL_UPDATE_INITIALIZER_THREAD_NAME)
@@ -477,37 +530,93 @@ public final class FullUpdateInitializer implements AutoCloseable {
   }
 
   /**
-   * Get Full HMS snapshot.
-   * @return Full snapshot of HMS objects.
-   * @throws TException if Thrift error occured
-   * @throws ExecutionException if there was a scheduling error
-   * @throws InterruptedException if processing was interrupted
+   * Schedules the tasks fetching partitions of a table, each with the current number of
+   * partitions per call.
    */
-  @SuppressWarnings("squid:S00112")
-  Map<String, Collection<String>> getFullHMSSnapshot() throws Exception {
-    // Get list of all HMS databases
-    List<String> allDbStr;
-    HMSClient c = null;
-    try (HMSClient client = clientFactory.connect()) {
-      c = client;
+  private void schedulePartitionTasks(String dbName, String tableName, String authzObject,
+      List<String> partNames) {
+    int partsPerCall = partitionsPerCall.get();
+    for (int i = 0; i < partNames.size(); i += partsPerCall) {
+      List<String> partsToFetch = partNames.subList(i,
+              Math.min(i + partsPerCall, partNames.size()));
+      Callable<CallResult> partTask = new PartitionTask(dbName,
+              tableName, authzObject, partsToFetch);
+      results.add(threadPool.submit(partTask));
+    }
+  }
 
-      LOGGER.debug("Fetch all db names");
-      allDbStr = client.getClient().getAllDatabases();
-      SentryMetrics.getInstance().databaseCount.inc(allDbStr.size());
-      LOGGER.info("Total number of db names fetched = {}", allDbStr.size());
+  /**
+   * Call to HMS using a connected client.
+   */
+  private interface HMSCall<T> {
+    T call(HiveMetaStoreClient client) throws Exception;
+  }
 
+  /**
+   * Makes calls to HMS with an idle client, or with a new one if all of them are used.
+   * The client is reused by the next tasks unless a call failed.
+   */
+  @SuppressWarnings("squid:S00112")
+  private <T> T withClient(HMSCall<T> call) throws Exception {
+    HMSClient client = idleClients.pollFirst();
+    if (client == null) {
+      client = clientFactory.connect();
+    }
+    T result;
+    try {
+      result = call.call(client.getClient());
     } catch (Exception e) {
-      if (c != null) {
-        c.invalidate();
-      }
+      client.invalidate();
       throw e;
     }
+    idleClients.addFirst(client);
+    if (closed) {
+      closeIdleClients();
+    }
+    return result;
+  }
 
-    // Schedule async task for each database responsible for fetching per-database
-    // objects.
-    for (String dbName : allDbStr) {
-      results.add(threadPool.submit(new DbTask(dbName)));
+  private void closeIdleClients() {
+    for (HMSClient client = idleClients.pollFirst(); client != null;
+         client = idleClients.pollFirst()) {
+      client.close();
     }
+  }
+
+  /**
+   * Halves the number of partitions fetched per call when a call is slower than the
+   * target latency, and doubles it when a call of this number of partitions is twice
+   * as fast.
+   * @param partitions number of partitions fetched by the call
+   * @param latencyMillis latency of the call
+   */
+  private void adaptPartitionsPerCall(int partitions, long latencyMillis) {
+    if (targetCallLatencyMillis <= 0) {
+      return;
+    }
+    int current = partitionsPerCall.get();
+    int next = current;
+    if (latencyMillis > targetCallLatencyMillis) {
+      next = Math.max(minPartitionsPerCall, current / 2);
+    } else if (latencyMillis < targetCallLatencyMillis / 2 && partitions >= current) {
+      next = Math.min(maxPartitionsPerCall, current * 2);
+    }
+    if (next != current && partitionsPerCall.compareAndSet(current, next)) {
+      LOGGER.debug("Fetching {} partitions per call after a call of {} partitions took {} ms",
+          next, partitions, latencyMillis);
+    }
+  }
+
+  /**
+   * Get Full HMS snapshot.
+   * @return Full snapshot of HMS objects.
+   * @throws TException if Thrift error occured
+   * @throws ExecutionException if there was a scheduling error
+   * @throws InterruptedException if processing was interrupted
+   */
+  @SuppressWarnings("squid:S00112")
+  Map<String, Collection<String>> getFullHMSSnapshot() throws Exception {
+    scheduleDatabaseTasks();
 
     // Resulting full snapshot
     Map<String, Collection<String>> fullSnapshot = new HashMap<>();
@@ -540,36 +649,133 @@ public final class FullUpdateInitializer implements AutoCloseable {
         existingSet.addAll(val);
       }
 
-      if(System.currentTimeMillis() - printMessageTime > printSnapshotFetchTimeInterval) {
+      printMessageTime = logFetchProgress(printMessageTime);
+    }
+    return fullSnapshot;
+  }
 
-        long totalNumberOfDatabases = SentryMetrics.getInstance().databaseCount.getCount();
-        long totalNumberOfTables = SentryMetrics.getInstance().tableCount.getCount();
-        long totalNumberOfPartitions = SentryMetrics.getInstance().partitionCount.getCount();
-        double percentageDatabasesFetched = totalNumberOfDatabases > 0? ((double)totalNumberOfDatabasesFetched/totalNumberOfDatabases)*100:0;
-        double percentageTablesFetched = totalNumberOfTables > 0? ((double)totalNumberOfTablesFetched/totalNumberOfTables)*100:0;
-        double percentagePartitionsFetched = totalNumberOfPartitions > 0? ((double)totalNumberOfPartitionsFetched/totalNumberOfPartitions)*100:0;
+  /**
+   * Get Full HMS snapshot in chunks of about the configured number of paths, which are
+   * passed to the consumer as they are fetched. The consumer is called by the calling thread.
+   * @param consumer receives the chunks of the snapshot
+   * @throws Exception if fetching the snapshot or consuming a chunk failed
+   */
+  @SuppressWarnings("squid:S00112")
+  void streamFullHMSSnapshot(ChunkConsumer consumer) throws Exception {
+    mappings = new ArrayBlockingQueue<>(queueSize);
+    scheduleDatabaseTasks();
 
-        String snapshotFetchStatusString = String.format("Fetching full hms snapshot: databases fetched=%d (%.2f%%); "
-            + "tables fetched=%d (%.2f%%); partitions fetched=%d (%.2f%%); total number of databases=%d; "
-            + "total number of tables=%d total number of partitions=%d", totalNumberOfDatabasesFetched, percentageDatabasesFetched,
-            totalNumberOfTablesFetched, percentageTablesFetched, totalNumberOfPartitionsFetched, percentagePartitionsFetched,
-            totalNumberOfDatabases, totalNumberOfTables, totalNumberOfPartitions);
+    Map<String, Collection<String>> chunk = new HashMap<>();
+    int chunkPaths = 0;
+    long printMessageTime = System.currentTimeMillis();
+    while (!results.isEmpty() || !mappings.isEmpty()) {
+      ObjectMapping mapping = mappings.poll(RESULT_POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+      if (mapping == null) {
+        removeCompletedTasks();
+        continue;
+      }
+      for (Map.Entry<String, Set<String>> entry : mapping.getObjects().entrySet()) {
+        Collection<String> paths = chunk.get(entry.getKey());
+        if (paths == null) {
+          paths = new HashSet<>(entry.getValue().size());
+          chunk.put(entry.getKey(), paths);
+        }
+        paths.addAll(entry.getValue());
+        chunkPaths += entry.getValue().size();
+      }
+      if (chunkPaths >= chunkSize) {
+        consumer.accept(chunk);
+        chunk = new HashMap<>();
+        chunkPaths = 0;
+      }
 
-        LOGGER.info(snapshotFetchStatusString);
-        printMessageTime = System.currentTimeMillis();
+      printMessageTime = logFetchProgress(printMessageTime);
+    }
+    if (!chunk.isEmpty()) {
+      consumer.accept(chunk);
+    }
+  }
+
+  /**
+   * Removes the completed tasks from the results queue.
+   * @throws Exception the failure of a task
+   */
+  @SuppressWarnings("squid:S00112")
+  private void removeCompletedTasks() throws Exception {
+    for (Iterator<Future<CallResult>> it = results.iterator(); it.hasNext(); ) {
+      Future<CallResult> result = it.next();
+      if (!result.isDone()) {
+        continue;
+      }
+      it.remove();
+      CallResult callResult = result.get();
+      if (!callResult.success()) {
+        throw callResult.getFailure();
       }
     }
-    return fullSnapshot;
+  }
+
+  /**
+   * Schedule async task for each HMS database responsible for fetching per-database
+   * objects.
+   */
+  private void scheduleDatabaseTasks() throws Exception {
+    // Get list of all HMS databases
+    List<String> allDbStr = withClient(client -> {
+      LOGGER.debug("Fetch all db names");
+      return client.getAllDatabases();
+    });
+    SentryMetrics.getInstance().databaseCount.inc(allDbStr.size());
+    LOGGER.info("Total number of db names fetched = {}", allDbStr.size());
+
+    for (String dbName : allDbStr) {
+      results.add(threadPool.submit(new DbTask(dbName)));
+    }
+  }
+
+  /**
+   * Logs the progress of the fetch if the print interval elapsed since the last time.
+   * @param printMessageTime the last time the progress was logged
+   * @return the last time the progress was logged
+   */
+  private long logFetchProgress(long printMessageTime) {
+    if (System.currentTimeMillis() - printMessageTime > printSnapshotFetchTimeInterval) {
+      long totalNumberOfDatabases = SentryMetrics.getInstance().databaseCount.getCount();
+      long totalNumberOfTables = SentryMetrics.getInstance().tableCount.getCount();
+      long totalNumberOfPartitions = SentryMetrics.getInstance().partitionCount.getCount();
+      int databasesFetched = totalNumberOfDatabasesFetched.get();
+      int tablesFetched = totalNumberOfTablesFetched.get();
+      int partitionsFetched = totalNumberOfPartitionsFetched.get();
+      double percentageDatabasesFetched = totalNumberOfDatabases > 0? ((double)databasesFetched/totalNumberOfDatabases)*100:0;
+      double percentageTablesFetched = totalNumberOfTables > 0? ((double)tablesFetched/totalNumberOfTables)*100:0;
+      double percentagePartitionsFetched = totalNumberOfPartitions > 0? ((double)partitionsFetched/totalNumberOfPartitions)*100:0;
+
+      String snapshotFetchStatusString = String.format("Fetching full hms snapshot: databases fetched=%d (%.2f%%); "
+          + "tables fetched=%d (%.2f%%); partitions fetched=%d (%.2f%%) at %.0f/s with %d per call; "
+          + "total number of databases=%d; total number of tables=%d total number of partitions=%d",
+          databasesFetched, percentageDatabasesFetched, tablesFetched, percentageTablesFetched,
+          partitionsFetched, percentagePartitionsFetched,
+          SentryMetrics.getInstance().partitionFetchRate.getOneMinuteRate(), partitionsPerCall.get(),
+          totalNumberOfDatabases, totalNumberOfTables, totalNumberOfPartitions);
+
+      LOGGER.info(snapshotFetchStatusString);
+      return System.currentTimeMillis();
+    }
+    return printMessageTime;
   }
 
   @Override
   public void close() {
+    closed = true;
     threadPool.shutdownNow();
     try {
       threadPool.awaitTermination(1, TimeUnit.SECONDS);
     } catch (InterruptedException ignored) {
       LOGGER.warn("Interrupted shutdown");
       Thread.currentThread().interrupt();
+    } finally {
+      // Tasks still running close their clients when they complete
+      closeIdleClients();
     }
   }
 
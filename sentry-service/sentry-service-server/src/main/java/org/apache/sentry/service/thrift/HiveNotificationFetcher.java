@@ -108,6 +108,30 @@ public final class HiveNotificationFetcher implements AutoCloseable {
     return Collections.emptyList();
   }
 
+  /**
+   * Remembers notifications fetched but not processed yet, so that fetching the notifications
+   * following the last of them doesn't return them again, e.g. when the next notifications are
+   * fetched while these are processed.
+   *
+   * @param events fetched notifications, in the order of their IDs
+   */
+  public void markFetched(List<NotificationEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+
+    long lastId = events.get(events.size() - 1).getEventId();
+    if (lastIdFiltered != lastId) {
+      lastIdFiltered = lastId;
+      cache.clear();
+    }
+    for (NotificationEvent event : events) {
+      if (event.getEventId() == lastId) {
+        cache.add(UniquePathsUpdate.sha1(event));
+      }
+    }
+  }
+
   /**
    * Returns a HMS notification filter for a specific notification ID. HMS notifications may
    * have duplicated IDs, so the filter uses a SHA-1 hash to check for a unique notification.
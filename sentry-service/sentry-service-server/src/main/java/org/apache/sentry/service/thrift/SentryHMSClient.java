@@ -231,6 +231,77 @@ public class SentryHMSClient implements AutoCloseable {
     }
   }
 
+  /**
+   * Creates HMS full snapshot and passes its paths to the consumer in chunks as they are
+   * fetched, so that the snapshot is never held in memory as a whole.
+   *
+   * <p>The changes HMS made while the snapshot was fetched are not applied to it, since it is
+   * not in memory. They must be applied by processing the notifications following the
+   * returned ID, as they may or may not be part of the snapshot.
+   *
+   * @param consumer receives the chunks of the snapshot
+   * @return the last notification id before the snapshot on success, EMPTY_NOTIFICATION_ID
+   *     if the snapshot is empty or could not be fetched
+   * @throws Exception the failure of the consumer, e.g. when persisting a chunk
+   */
+  public long streamFullSnapshot(FullUpdateInitializer.ChunkConsumer consumer) throws Exception {
+    if(!isConnected()) {
+      try {
+        connect();
+      } catch (Exception e) {
+        LOGGER.warn("Failed to connect to HMS Server. HMS may not be up. Will try again ", e);
+        return SentryConstants.EMPTY_NOTIFICATION_ID;
+      }
+    }
+
+    final Exception[] consumerFailure = {null};
+    try {
+      CurrentNotificationEventId eventIdBefore = client.getCurrentNotificationEventId();
+      final boolean[] empty = {true};
+      fetchFullUpdate(updateInitializer -> {
+        updateInitializer.streamFullHMSSnapshot(chunk -> {
+          empty[0] = false;
+          try {
+            consumer.accept(chunk);
+          } catch (Exception e) {
+            consumerFailure[0] = e;
+            throw e;
+          }
+        });
+        return null;
+      });
+      if (empty[0]) {
+        LOGGER.info("Received empty paths when getting full snapshot. NotificationID Before Snapshot: {}", eventIdBefore.getEventId());
+        return SentryConstants.EMPTY_NOTIFICATION_ID;
+      }
+      LOGGER.info("Successfully streamed hive full snapshot, NotificationID Before Snapshot: {}.",
+          eventIdBefore.getEventId());
+      return eventIdBefore.getEventId();
+    } catch (Exception exception) {
+      if (consumerFailure[0] != null) {
+        // Not an HMS failure, the snapshot could not be consumed
+        throw exception;
+      }
+      LOGGER.error("Root Exception", ExceptionUtils.getRootCause(exception));
+      if(exception instanceof TException) {
+        LOGGER.error("Fetching new HMS snapshot failed because of HMS communication. HMS seems to be restarted. " +
+                "Will try again.");
+      } else {
+        LOGGER.error("Fetching new HMS snapshot failed. Will try again.");
+      }
+      // Closing the connection towards HMS.
+      close();
+      return SentryConstants.EMPTY_NOTIFICATION_ID;
+    }
+  }
+
+  /**
+   * Fetches a snapshot from HMS using a {@link FullUpdateInitializer}.
+   */
+  private interface SnapshotFetch<T> {
+    T fetch(FullUpdateInitializer updateInitializer) throws Exception;
+  }
+
   /**
    * Retrieve a Hive full snapshot from HMS.
    *
@@ -238,6 +309,10 @@ public class SentryHMSClient implements AutoCloseable {
    *     corresponding to that name.
    */
   private Map<String, Collection<String>> fetchFullUpdate() throws Exception{
+    return fetchFullUpdate(FullUpdateInitializer::getFullHMSSnapshot);
+  }
+
+  private <T> T fetchFullUpdate(SnapshotFetch<T> snapshotFetch) throws Exception{
     String logMessage = "Request full HMS snapshot";
     LOGGER.info(logMessage);
     System.out.println(SentryServiceUtil.getCurrentTimeStampWithMessage(logMessage));
@@ -246,7 +321,7 @@ public class SentryHMSClient implements AutoCloseable {
              new FullUpdateInitializer(hiveConnectionFactory, conf);
          Context context = SentryMetrics.getInstance().getFullHMSSnapshotTimer.time()) {
       SentryStateBank.enableState(FullUpdateInitializerState.COMPONENT,FullUpdateInitializerState.FULL_SNAPSHOT_INPROGRESS);
-      Map<String, Collection<String>> pathsUpdate = updateInitializer.getFullHMSSnapshot();
+      T pathsUpdate = snapshotFetch.fetch(updateInitializer);
       logMessage = "Obtained full HMS snapshot";
       LOGGER.info(logMessage);
       System.out.println(SentryServiceUtil.getCurrentTimeStampWithMessage(logMessage));
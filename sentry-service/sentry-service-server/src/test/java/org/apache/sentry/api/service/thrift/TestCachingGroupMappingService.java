@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.api.service.thrift;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.sentry.core.common.exception.SentryGroupNotFoundException;
+import org.apache.sentry.provider.common.GroupMappingService;
+import org.apache.sentry.service.common.ServiceConstants.ServerConfig;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Sets;
+
+public class TestCachingGroupMappingService {
+
+  private static final AtomicInteger lookups = new AtomicInteger();
+
+  public static class CountingGroupMapping implements GroupMappingService {
+    public CountingGroupMapping(Configuration conf, String resource) { //NOPMD
+    }
+
+    @Override
+    public Set<String> getGroups(String user) throws SentryGroupNotFoundException {
+      lookups.incrementAndGet();
+      if (user.startsWith("unknown")) {
+        throw new SentryGroupNotFoundException("Unable to obtain groups for " + user);
+      }
+      return Sets.newHashSet(user + "_group");
+    }
+  }
+
+  private Configuration conf;
+
+  @Before
+  public void setup() {
+    lookups.set(0);
+    conf = new Configuration(false);
+    conf.set(ServerConfig.SENTRY_STORE_GROUP_MAPPING, CountingGroupMapping.class.getName());
+  }
+
+  @Test
+  public void testSharedInstance() throws Exception {
+    CachingGroupMappingService instance = CachingGroupMappingService.getInstance(conf);
+    assertSame(instance, CachingGroupMappingService.getInstance(conf));
+    assertNotSame(instance, CachingGroupMappingService.getInstance(new Configuration(conf)));
+
+    // Changing the group mapping creates a new instance
+    conf.set(ServerConfig.SENTRY_STORE_GROUP_MAPPING, MockGroupMappingService.class.getName());
+    assertNotSame(instance, CachingGroupMappingService.getInstance(conf));
+  }
+
+  @Test
+  public void testCacheDisabled() throws Exception {
+    CachingGroupMappingService groupMapping = CachingGroupMappingService.getInstance(conf);
+    groupMapping.getGroups("user1");
+    groupMapping.getGroups("user1");
+    assertEquals(2, lookups.get());
+  }
+
+  @Test
+  public void testCache() throws Exception {
+    conf.setLong(ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_TTL_MS, 60000L);
+    CachingGroupMappingService groupMapping = CachingGroupMappingService.getInstance(conf);
+    SentryMetrics metrics = SentryMetrics.getInstance();
+    long hits = metrics.groupCacheHitCount.getCount();
+    long misses = metrics.groupCacheMissCount.getCount();
+
+    assertEquals(Sets.newHashSet("user1_group"), groupMapping.getGroups("user1"));
+    assertEquals(Sets.newHashSet("user1_group"), groupMapping.getGroups("user1"));
+    assertEquals(Sets.newHashSet("user2_group"), groupMapping.getGroups("user2"));
+    assertEquals(2, lookups.get());
+    assertEquals(hits + 1, metrics.groupCacheHitCount.getCount());
+    assertEquals(misses + 2, metrics.groupCacheMissCount.getCount());
+
+    groupMapping.invalidateAll();
+    groupMapping.getGroups("user1");
+    assertEquals(3, lookups.get());
+  }
+
+  @Test
+  public void testNegativeCache() throws Exception {
+    conf.setLong(ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_TTL_MS, 60000L);
+    CachingGroupMappingService groupMapping = CachingGroupMappingService.getInstance(conf);
+    for (int i = 0; i < 3; i++) {
+      try {
+        groupMapping.getGroups("unknown_user");
+        fail("Expected SentryGroupNotFoundException");
+      } catch (SentryGroupNotFoundException e) {
+        // expected
+      }
+    }
+    assertEquals(1, lookups.get());
+  }
+}
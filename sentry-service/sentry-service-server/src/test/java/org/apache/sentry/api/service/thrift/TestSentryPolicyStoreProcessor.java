@@ -493,7 +493,58 @@ public class TestSentryPolicyStoreProcessor {
     return privilege;
   }
 
-@Test
+  @Test
+  public void testAlterSentryRolesGrantRevokePrivileges() throws Exception {
+    SentryPolicyStoreProcessor sentryServiceHandler =
+        new SentryPolicyStoreProcessor(ApiConstants.SentryPolicyServiceConstants.SENTRY_POLICY_SERVICE_NAME,
+            conf, sentryStore);
+    Set<String> roleNames = Sets.newHashSet("role1", "role2");
+    Set<TSentryPrivilege> privileges = Sets.newHashSet(
+        newSentryPrivilege("TABLE", DBNAME, TABLENAME, SELECT));
+
+    // Admin grants the same privileges to both roles in one store call
+    TAlterSentryRolesGrantPrivilegesRequest grantRequest = new TAlterSentryRolesGrantPrivilegesRequest();
+    grantRequest.setProtocol_version(ThriftConstants.TSENTRY_SERVICE_VERSION_CURRENT);
+    grantRequest.setRequestorUserName(ADMIN_USER);
+    grantRequest.setRoleNames(roleNames);
+    grantRequest.setPrivileges(privileges);
+    TAlterSentryRolesGrantPrivilegesResponse grantResponse =
+        sentryServiceHandler.alter_sentry_roles_grant_privileges(grantRequest);
+    Assert.assertEquals(Status.OK.getCode(), grantResponse.getStatus().getValue());
+    Assert.assertEquals(privileges, grantResponse.getPrivileges());
+    Mockito.verify(sentryStore).alterSentryRolesGrantPrivileges(roleNames, privileges, null);
+
+    // Admin revokes them from both roles in one store call
+    TAlterSentryRolesRevokePrivilegesRequest revokeRequest = new TAlterSentryRolesRevokePrivilegesRequest();
+    revokeRequest.setProtocol_version(ThriftConstants.TSENTRY_SERVICE_VERSION_CURRENT);
+    revokeRequest.setRequestorUserName(ADMIN_USER);
+    revokeRequest.setRoleNames(roleNames);
+    revokeRequest.setPrivileges(privileges);
+    TAlterSentryRolesRevokePrivilegesResponse revokeResponse =
+        sentryServiceHandler.alter_sentry_roles_revoke_privileges(revokeRequest);
+    Assert.assertEquals(Status.OK.getCode(), revokeResponse.getStatus().getValue());
+    Mockito.verify(sentryStore).alterSentryRolesRevokePrivileges(roleNames, privileges, null);
+
+    // A user without the grant option is denied and nothing reaches the store
+    Set<String> deniedRoles = Sets.newHashSet("role3");
+    grantRequest.setRequestorUserName(NOT_ADMIN_USER);
+    grantRequest.setRoleNames(deniedRoles);
+    grantResponse = sentryServiceHandler.alter_sentry_roles_grant_privileges(grantRequest);
+    Assert.assertEquals(Status.ACCESS_DENIED.getCode(), grantResponse.getStatus().getValue());
+    Mockito.verify(sentryStore, Mockito.never()).alterSentryRolesGrantPrivileges(
+        deniedRoles, privileges, null);
+
+    // An empty role set is rejected as invalid input
+    grantRequest.setRequestorUserName(ADMIN_USER);
+    grantRequest.setRoleNames(new HashSet<String>());
+    grantResponse = sentryServiceHandler.alter_sentry_roles_grant_privileges(grantRequest);
+    Assert.assertEquals(Status.INVALID_INPUT.getCode(), grantResponse.getStatus().getValue());
+    revokeRequest.setRoleNames(new HashSet<String>());
+    revokeResponse = sentryServiceHandler.alter_sentry_roles_revoke_privileges(revokeRequest);
+    Assert.assertEquals(Status.INVALID_INPUT.getCode(), revokeResponse.getStatus().getValue());
+  }
+
+  @Test
   public void testCreateTableEventProcessing() throws Exception {
     SentryPolicyStoreProcessor sentryServiceHandler =
             new SentryPolicyStoreProcessor(ApiConstants.SentryPolicyServiceConstants.SENTRY_POLICY_SERVICE_NAME,
@@ -970,4 +1021,69 @@ public class TestSentryPolicyStoreProcessor {
       .whenRequestStorePrivilegesReturn(Collections.singleton(SELECT_ON_TABLE))
       .verify(Status.ACCESS_DENIED);
   }
+
+  @Test
+  public void testCheckAuthorization() throws Exception {
+    SentryPolicyStoreProcessor sentryServiceHandler =
+        new SentryPolicyStoreProcessor(ApiConstants.SentryPolicyServiceConstants.SENTRY_POLICY_SERVICE_NAME,
+            conf, sentryStore);
+    TSentryAuthorizable table1 = new TSentryAuthorizable(SERVERNAME);
+    table1.setDb(DBNAME);
+    table1.setTable(TABLENAME);
+    TSentryAuthorizable table2 = new TSentryAuthorizable(SERVERNAME);
+    table2.setDb(DBNAME);
+    table2.setTable("table2");
+    TSentryAuthorizable otherDb = new TSentryAuthorizable(SERVERNAME);
+    otherDb.setDb("db2");
+
+    // the privileges are fetched once, for the server
+    TSentryAuthorizable prefix = new TSentryAuthorizable(SERVERNAME);
+    Mockito.when(sentryStore.listSentryPrivilegesForProvider(Mockito.anySet(), Mockito.anySet(),
+        Mockito.any(TSentryActiveRoleSet.class), Mockito.eq(prefix)))
+        .thenReturn(Sets.newHashSet("server=server1->db=db1->table=table1->action=select",
+            "server=server1->db=db2->action=insert"));
+
+    TSentryAuthorizationRequest request = new TSentryAuthorizationRequest(
+        ThriftConstants.TSENTRY_SERVICE_VERSION_CURRENT, Sets.newHashSet(NOT_ADMIN_GROUP),
+        new TSentryActiveRoleSet(true, new HashSet<String>()),
+        Arrays.asList(table1, table2, otherDb), Sets.newHashSet(SELECT));
+    request.setUsers(Sets.newHashSet(NOT_ADMIN_USER));
+    TSentryAuthorizationResponse response = sentryServiceHandler.check_sentry_authorization(request);
+    Assert.assertEquals(Status.OK.getCode(), response.getStatus().getValue());
+    Assert.assertEquals(Arrays.asList(true, false, false), response.getDecisions());
+
+    request.setActions(Sets.newHashSet(SELECT, AccessConstants.INSERT));
+    response = sentryServiceHandler.check_sentry_authorization(request);
+    Assert.assertEquals(Arrays.asList(true, false, true), response.getDecisions());
+
+    // privileges with the grant option are required
+    request.setRequireGrantOption(true);
+    response = sentryServiceHandler.check_sentry_authorization(request);
+    Assert.assertEquals(Arrays.asList(false, false, false), response.getDecisions());
+    Mockito.verify(sentryStore, Mockito.times(3)).listSentryPrivilegesForProvider(
+        Mockito.anySet(), Mockito.anySet(), Mockito.any(TSentryActiveRoleSet.class),
+        Mockito.eq(prefix));
+  }
+
+  @Test
+  public void testCheckAuthorizationCommonPrefix() throws Exception {
+    TSentryAuthorizable table1 = new TSentryAuthorizable(SERVERNAME);
+    table1.setDb(DBNAME);
+    table1.setTable(TABLENAME);
+    TSentryAuthorizable table2 = new TSentryAuthorizable(SERVERNAME);
+    table2.setDb(DBNAME);
+    table2.setTable("table2");
+    TSentryAuthorizable db1 = new TSentryAuthorizable(SERVERNAME);
+    db1.setDb(DBNAME);
+    TSentryAuthorizable server2 = new TSentryAuthorizable("server2");
+
+    Assert.assertEquals(table1, SentryPolicyStoreProcessor.getCommonPrefix(
+        Arrays.asList(table1, table1)));
+    Assert.assertEquals(db1, SentryPolicyStoreProcessor.getCommonPrefix(
+        Arrays.asList(table1, table2)));
+    Assert.assertEquals(db1, SentryPolicyStoreProcessor.getCommonPrefix(
+        Arrays.asList(table1, db1)));
+    Assert.assertNull(SentryPolicyStoreProcessor.getCommonPrefix(
+        Arrays.asList(table1, server2)));
+  }
 }
@@ -37,6 +37,7 @@ import org.apache.sentry.core.model.db.Database;
 import org.apache.sentry.core.model.db.Server;
 import org.apache.sentry.core.model.db.Table;
 import org.apache.sentry.core.common.exception.SentryAccessDeniedException;
+import org.apache.sentry.core.common.exception.SentryNoSuchObjectException;
 import org.apache.sentry.service.thrift.SentryServiceIntegrationBase;
 import org.junit.Test;
 
@@ -408,6 +409,58 @@ public class TestSentryServiceIntegration extends SentryServiceIntegrationBase {
       }});
   }
 
+  @Test
+  public void testGrantRevokePrivilegesForMultipleRoles() throws Exception {
+    runTestAsSubject(new TestOperation(){
+      @Override
+      public void runTestAsSubject() throws Exception {
+        String requestorUserName = ADMIN_USER;
+        Set<String> requestorUserGroupNames = Sets.newHashSet(ADMIN_GROUP);
+        setLocalGroupMapping(requestorUserName, requestorUserGroupNames);
+        writePolicyFile();
+        Set<String> roleNames = Sets.newHashSet("bulk_r1", "bulk_r2");
+        for (String roleName : roleNames) {
+          client.dropRoleIfExists(requestorUserName, roleName);
+          client.createRole(requestorUserName, roleName);
+        }
+
+        TSentryPrivilege selectPrivilege = new TSentryPrivilege("TABLE", "server", AccessConstants.SELECT);
+        selectPrivilege.setDbName("db");
+        selectPrivilege.setTableName("table");
+        TSentryPrivilege insertPrivilege = new TSentryPrivilege("TABLE", "server", AccessConstants.INSERT);
+        insertPrivilege.setDbName("db");
+        insertPrivilege.setTableName("table");
+
+        // Both roles receive both privileges in a single call
+        Set<TSentryPrivilege> granted = client.grantPrivileges(requestorUserName, roleNames,
+            Sets.newHashSet(selectPrivilege, insertPrivilege));
+        assertEquals("Incorrect number of granted privileges", 2, granted.size());
+        for (String roleName : roleNames) {
+          assertEquals("Privileges not assigned to " + roleName, 2,
+              client.listAllPrivilegesByRoleName(requestorUserName, roleName).size());
+        }
+
+        // Both roles lose the insert privilege in a single call
+        client.revokePrivileges(requestorUserName, roleNames, Sets.newHashSet(insertPrivilege));
+        for (String roleName : roleNames) {
+          Set<TSentryPrivilege> privileges =
+              client.listAllPrivilegesByRoleName(requestorUserName, roleName);
+          assertEquals("Privilege not revoked from " + roleName, 1, privileges.size());
+          assertEquals(AccessConstants.SELECT, privileges.iterator().next().getAction());
+        }
+
+        // A missing role fails the whole grant
+        try {
+          client.grantPrivileges(requestorUserName, Sets.newHashSet("bulk_r1", "bulk_missing"),
+              Sets.newHashSet(insertPrivilege));
+          fail("Grant to a missing role should fail");
+        } catch (SentryNoSuchObjectException e) {
+          // expected
+        }
+        assertEquals(1, client.listAllPrivilegesByRoleName(requestorUserName, "bulk_r1").size());
+      }});
+  }
+
   @Test
   public void testShowRoleGrant() throws Exception {
     runTestAsSubject(new TestOperation(){
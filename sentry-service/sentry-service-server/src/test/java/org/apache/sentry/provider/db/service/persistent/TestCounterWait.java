@@ -20,10 +20,12 @@ package  org.apache.sentry.provider.db.service.persistent;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -98,6 +100,38 @@ public class TestCounterWait {
     waiter.waitFor(1); // Should throw exception
   }
 
+  // Test for waitFor() with a timeout removing the waiter when it times out
+  @Test
+  public void testWaitForGivenTimeout() throws Exception {
+    CounterWait waiter = new CounterWait();
+    for (int i = 0; i < 3; i++) {
+      try {
+        waiter.waitFor(1, 1, TimeUnit.MILLISECONDS);
+        fail("Expected TimeoutException");
+      } catch (TimeoutException e) {
+        // expected
+      }
+      assertEquals(0, waiter.waitersCount());
+    }
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Long> result = executor.submit(() -> waiter.waitFor(1, 1, TimeUnit.MINUTES));
+      while (waiter.waitersCount() < 1) {
+        sleep(20);
+      }
+      assertEquals(1, waiter.increment());
+      assertEquals(1, (long) result.get());
+      assertEquals(0, waiter.waitersCount());
+    } finally {
+      executor.shutdown();
+    }
+
+    // The value is already reached
+    assertEquals(1, waiter.waitFor(1, 1, TimeUnit.MILLISECONDS));
+    assertEquals(1, waiter.getValue());
+  }
+
   private void sleep(long ms) {
     try {
       Thread.sleep(ms);
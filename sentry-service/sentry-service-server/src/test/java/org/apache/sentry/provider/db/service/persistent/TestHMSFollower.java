@@ -16,7 +16,9 @@
  */
 package  org.apache.sentry.provider.db.service.persistent;
 
+import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HDFS_SYNC_METASTORE_CACHE_STREAMING_ENABLED;
 import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HMS_FETCH_SIZE;
+import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HMS_NOTIFICATION_BATCH_WINDOW_MS;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -29,6 +31,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -54,11 +57,13 @@ import org.apache.sentry.core.common.utils.PubSub;
 import org.apache.sentry.core.common.utils.SentryConstants;
 import org.apache.sentry.hdfs.UniquePathsUpdate;
 import org.apache.sentry.service.common.ServiceConstants.ServerConfig;
+import org.apache.sentry.service.thrift.FullUpdateInitializer;
 import org.apache.sentry.service.thrift.SentryHMSClient;
 import org.apache.sentry.service.thrift.HiveConnectionFactory;
 import org.apache.sentry.service.thrift.HiveSimpleConnectionFactory;
 import org.apache.sentry.service.common.ServiceConstants;
 import org.apache.sentry.service.thrift.HMSClient;
+import org.apache.sentry.api.service.thrift.SentryMetrics;
 import org.apache.sentry.api.service.thrift.TSentryAuthorizable;
 import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_SERVICE_FULL_UPDATE_PUBSUB;
 
@@ -67,6 +72,7 @@ import org.junit.After;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import javax.security.auth.login.LoginException;
@@ -1365,4 +1371,231 @@ public class TestHMSFollower {
 
     reset(sentryStore, hmsClientMock);
   }
+
+  private NotificationEvent newPartitionEvent(long eventId, int eventTime, EventType eventType,
+      Table table, String partitionName) {
+    StorageDescriptor sd = new StorageDescriptor();
+    sd.setLocation(table.getSd().getLocation() + "/" + partitionName);
+    Iterator<Partition> partitions = Collections.singletonList(new Partition(
+        Collections.singletonList(partitionName), table.getDbName(), table.getTableName(),
+        0, 0, sd, null)).iterator();
+    String message = (eventType == EventType.ADD_PARTITION)
+        ? messageFactory.buildAddPartitionMessage(table, partitions,
+            Collections.emptyIterator()).toString()
+        : messageFactory.buildDropPartitionMessage(table, partitions).toString();
+    NotificationEvent event = new NotificationEvent(eventId, eventTime, eventType.toString(),
+        message);
+    event.setDbName(table.getDbName());
+    event.setTableName(table.getTableName());
+    return event;
+  }
+
+  /**
+   * Consecutive partition notifications are persisted in a single transaction, with a
+   * delta path update per notification in the order of the notifications.
+   */
+  @Test
+  public void testPartitionNotificationsAreBatched() throws Exception {
+    StorageDescriptor sd = new StorageDescriptor();
+    sd.setLocation("hdfs:///db1.db/table1");
+    Table table = new Table("table1", "db1", null, 0, 0, 0, sd, null, null, null, null, null);
+
+    List<NotificationEvent> events = new ArrayList<>();
+    events.add(newPartitionEvent(1, 0, EventType.ADD_PARTITION, table, "ds=1"));
+    events.add(newPartitionEvent(2, 0, EventType.ADD_PARTITION, table, "ds=2"));
+    events.add(newPartitionEvent(3, 0, EventType.DROP_PARTITION, table, "ds=1"));
+    // Starts a new batch, as it is too late for the first one
+    events.add(newPartitionEvent(4, 20, EventType.ADD_PARTITION, table, "ds=3"));
+    // Not batchable
+    events.add(new NotificationEvent(5, 20, EventType.CREATE_DATABASE.toString(), ""));
+
+    Configuration conf = new Configuration(configuration);
+    conf.setLong(SENTRY_HMS_NOTIFICATION_BATCH_WINDOW_MS, 10000);
+    HMSFollower hmsFollower = new HMSFollower(conf, sentryStore, null,
+        hiveConnectionFactory, hiveInstance);
+    hmsFollower.processNotifications(events);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<UniquePathsUpdate>> updates =
+        ArgumentCaptor.forClass((Class<List<UniquePathsUpdate>>) (Class<?>) List.class);
+    verify(sentryStore, times(1)).updateAuthzPathsMappings(updates.capture());
+    Assert.assertEquals(3, updates.getValue().size());
+    for (int i = 0; i < 3; i++) {
+      UniquePathsUpdate update = updates.getValue().get(i);
+      Assert.assertEquals(i + 1, update.getSeqNum());
+      Assert.assertEquals(UniquePathsUpdate.sha1(events.get(i)), update.getEventHash());
+      Assert.assertEquals(1, update.toThrift().getPathChangesSize());
+    }
+    Assert.assertEquals(Collections.singletonList(Arrays.asList("db1.db", "table1", "ds=1")),
+        updates.getValue().get(0).toThrift().getPathChanges().get(0).getAddPaths());
+    Assert.assertEquals(Collections.singletonList(Arrays.asList("db1.db", "table1", "ds=1")),
+        updates.getValue().get(2).toThrift().getPathChanges().get(0).getDelPaths());
+
+    // A single notification is processed as before
+    //noinspection unchecked
+    verify(sentryStore, times(1)).addAuthzPathsMapping(Mockito.eq("db1.table1"),
+        Mockito.anyCollection(), Mockito.any(UniquePathsUpdate.class));
+    verify(sentryStore, times(1)).persistLastProcessedNotificationID(5L);
+    verify(sentryStore, times(1)).persistLastProcessedNotificationID(Mockito.anyLong());
+  }
+
+  /**
+   * Adding a partition to a table and dropping a partition of another table in a batch
+   * must not look like a table rename to HDFS.
+   */
+  @Test
+  public void testPartitionBatchOfTwoTablesIsNotRename() throws Exception {
+    StorageDescriptor sd1 = new StorageDescriptor();
+    sd1.setLocation("hdfs:///db1.db/table1");
+    Table table1 = new Table("table1", "db1", null, 0, 0, 0, sd1, null, null, null, null, null);
+    StorageDescriptor sd2 = new StorageDescriptor();
+    sd2.setLocation("hdfs:///db1.db/table2");
+    Table table2 = new Table("table2", "db1", null, 0, 0, 0, sd2, null, null, null, null, null);
+
+    List<NotificationEvent> events = new ArrayList<>();
+    events.add(newPartitionEvent(1, 0, EventType.ADD_PARTITION, table1, "ds=1"));
+    events.add(newPartitionEvent(2, 0, EventType.DROP_PARTITION, table2, "ds=1"));
+
+    HMSFollower hmsFollower = new HMSFollower(new Configuration(configuration), sentryStore, null,
+        hiveConnectionFactory, hiveInstance);
+    hmsFollower.processNotifications(events);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<UniquePathsUpdate>> updates =
+        ArgumentCaptor.forClass((Class<List<UniquePathsUpdate>>) (Class<?>) List.class);
+    verify(sentryStore, times(1)).updateAuthzPathsMappings(updates.capture());
+    Assert.assertEquals(2, updates.getValue().size());
+    Assert.assertEquals("db1.table1",
+        updates.getValue().get(0).toThrift().getPathChanges().get(0).getAuthzObj());
+    Assert.assertEquals("db1.table2",
+        updates.getValue().get(1).toThrift().getPathChanges().get(0).getAuthzObj());
+    // Both notification IDs are persisted with their updates
+    verify(sentryStore, times(0)).persistLastProcessedNotificationID(Mockito.anyLong());
+  }
+
+  /**
+   * When a batch of notifications cannot be persisted, its notifications are processed
+   * one by one.
+   */
+  @Test
+  public void testFailedBatchIsProcessedPerNotification() throws Exception {
+    StorageDescriptor sd = new StorageDescriptor();
+    sd.setLocation("hdfs:///db1.db/table1");
+    Table table = new Table("table1", "db1", null, 0, 0, 0, sd, null, null, null, null, null);
+
+    List<NotificationEvent> events = new ArrayList<>();
+    events.add(newPartitionEvent(1, 0, EventType.ADD_PARTITION, table, "ds=1"));
+    events.add(newPartitionEvent(2, 0, EventType.ADD_PARTITION, table, "ds=2"));
+    events.add(newPartitionEvent(3, 0, EventType.DROP_PARTITION, table, "ds=1"));
+
+    //noinspection unchecked
+    Mockito.doThrow(new Exception("Failed to persist"))
+        .when(sentryStore).updateAuthzPathsMappings(Mockito.anyList());
+    //noinspection unchecked
+    Mockito.doThrow(new Exception("Failed to persist"))
+        .when(sentryStore).addAuthzPathsMapping(Mockito.anyString(),
+        Mockito.eq(Collections.singleton("db1.db/table1/ds=2")),
+        Mockito.any(UniquePathsUpdate.class));
+
+    HMSFollower hmsFollower = new HMSFollower(new Configuration(configuration), sentryStore, null,
+        hiveConnectionFactory, hiveInstance);
+    hmsFollower.processNotifications(events);
+
+    //noinspection unchecked
+    verify(sentryStore, times(1)).updateAuthzPathsMappings(Mockito.anyList());
+    //noinspection unchecked
+    verify(sentryStore, times(2)).addAuthzPathsMapping(Mockito.anyString(),
+        Mockito.anyCollection(), Mockito.any(UniquePathsUpdate.class));
+    //noinspection unchecked
+    verify(sentryStore, times(1)).deleteAuthzPathsMapping(Mockito.anyString(),
+        Mockito.anyCollection(), Mockito.any(UniquePathsUpdate.class));
+    // Only the notification which failed is skipped
+    verify(sentryStore, times(1)).persistLastProcessedNotificationID(2L);
+    verify(sentryStore, times(1)).persistLastProcessedNotificationID(Mockito.anyLong());
+  }
+
+  /**
+   * When a fetch returns a full batch, the next notifications are fetched while the batch is
+   * applied, and applied in the same run, until a fetch returns fewer notifications.
+   */
+  @Test
+  public void testNotificationsArePrefetched() throws Exception {
+    Configuration conf = new Configuration(configuration);
+    int fetchSize = 2;
+    conf.setInt(SENTRY_HMS_FETCH_SIZE, fetchSize);
+
+    NotificationEventResponse response1 = new NotificationEventResponse();
+    response1.addToEvents(new NotificationEvent(1L, 0, "CREATE_DATABASE", ""));
+    response1.addToEvents(new NotificationEvent(2L, 0, "CREATE_DATABASE", ""));
+    NotificationEventResponse response2 = new NotificationEventResponse();
+    response2.addToEvents(new NotificationEvent(3L, 0, "CREATE_DATABASE", ""));
+    response2.addToEvents(new NotificationEvent(4L, 0, "CREATE_DATABASE", ""));
+    NotificationEventResponse response3 = new NotificationEventResponse();
+    response3.addToEvents(new NotificationEvent(5L, 0, "CREATE_DATABASE", ""));
+
+    when(hmsClientMock.getNextNotification(Mockito.eq(0L), Mockito.eq(fetchSize),
+        Mockito.anyObject())).thenReturn(response1);
+    when(hmsClientMock.getNextNotification(Mockito.eq(1L), Mockito.eq(fetchSize),
+        Mockito.anyObject())).thenReturn(response2);
+    when(hmsClientMock.getNextNotification(Mockito.eq(3L), Mockito.eq(fetchSize),
+        Mockito.anyObject())).thenReturn(response3);
+    when(hmsClientMock.getCurrentNotificationEventId())
+        .thenReturn(new CurrentNotificationEventId(5L));
+    when(sentryStore.getLastProcessedNotificationID()).thenReturn(1L);
+
+    HMSFollower hmsFollower = new HMSFollower(conf, sentryStore, null,
+        hmsConnectionMock, hiveInstance);
+    hmsFollower.setSentryHmsClient(Mockito.mock(SentryHMSClient.class));
+    long fetches = SentryMetrics.getInstance().hmsFetchBatchSize.getCount();
+    hmsFollower.run();
+
+    verify(hmsClientMock, times(3)).getNextNotification(Mockito.anyLong(),
+        Mockito.eq(fetchSize), Mockito.anyObject());
+    Assert.assertEquals(fetches + 3, SentryMetrics.getInstance().hmsFetchBatchSize.getCount());
+    for (long id = 1; id <= 5; id++) {
+      verify(sentryStore, times(1)).persistLastProcessedNotificationID(id);
+    }
+  }
+
+  /**
+   * A streamed full snapshot is persisted in chunks and committed with the notification ID
+   * preceding it.
+   */
+  @Test
+  public void testStreamedFullSnapshotIsCommitted() throws Exception {
+    final Map<String, Collection<String>> chunk = new HashMap<>();
+    chunk.put("db", Sets.newHashSet("/db"));
+    chunk.put("db.table", Sets.newHashSet("/db/table"));
+    SentryHMSClient sentryHmsClient = Mockito.mock(SentryHMSClient.class);
+    when(sentryHmsClient.streamFullSnapshot(Mockito.any(FullUpdateInitializer.ChunkConsumer.class)))
+        .thenAnswer(invocation -> {
+          ((FullUpdateInitializer.ChunkConsumer) invocation.getArguments()[0]).accept(chunk);
+          return 1L;
+        });
+    FullPathsImageWriter writer = Mockito.mock(FullPathsImageWriter.class);
+    when(sentryStore.beginFullPathsImage()).thenReturn(writer);
+
+    Configuration conf = new Configuration(configuration);
+    conf.setBoolean(SENTRY_HDFS_SYNC_METASTORE_CACHE_STREAMING_ENABLED, true);
+    HMSFollower hmsFollower = new HMSFollower(conf, sentryStore, null,
+        hmsConnectionMock, hiveInstance);
+    hmsFollower.setSentryHmsClient(sentryHmsClient);
+
+    when(sentryStore.getLastProcessedNotificationID()).thenReturn(SentryConstants.EMPTY_NOTIFICATION_ID);
+    when(sentryStore.isAuthzPathsMappingEmpty()).thenReturn(true);
+    when(sentryStore.isHmsNotificationEmpty()).thenReturn(true);
+    hmsFollower.run();
+    verify(writer, times(1)).persistChunk(chunk);
+    verify(writer, times(1)).commit(1L);
+    verify(writer, times(1)).close();
+    verify(sentryStore, times(0)).persistFullPathsImage(Mockito.anyMap(), Mockito.anyLong());
+
+    // An empty snapshot is not committed
+    reset(writer);
+    when(sentryHmsClient.streamFullSnapshot(Mockito.any(FullUpdateInitializer.ChunkConsumer.class)))
+        .thenReturn(SentryConstants.EMPTY_NOTIFICATION_ID);
+    hmsFollower.run();
+    verify(writer, times(0)).commit(Mockito.anyLong());
+    verify(writer, times(1)).close();
+  }
 }
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sentry.service.common.ServiceConstants.SentryPrincipalType;
+import org.junit.Test;
+
+import com.google.common.collect.Sets;
+
+public class TestPolicyLocks {
+
+  /**
+   * Try to lock the keys from another thread.
+   * @return true if the keys were locked within the timeout
+   */
+  private static boolean lockFromOtherThread(final PolicyLocks locks,
+      final Collection<String> keys) throws InterruptedException {
+    final CountDownLatch locked = new CountDownLatch(1);
+    Thread thread = new Thread() {
+      @Override
+      public void run() {
+        try (PolicyLocks.Locked ignored = keys == null ? locks.lockExclusive()
+            : locks.lock(keys)) {
+          locked.countDown();
+        }
+      }
+    };
+    thread.setDaemon(true);
+    thread.start();
+    return locked.await(200, TimeUnit.MILLISECONDS);
+  }
+
+  @Test
+  public void testDifferentKeysDoNotBlock() throws Exception {
+    PolicyLocks locks = new PolicyLocks(1024);
+    try (PolicyLocks.Locked ignored = locks.lock(Sets.newHashSet(
+        PolicyLocks.roleKey("role1"), PolicyLocks.objectKey("server1", "db1", null)))) {
+      assertTrue(lockFromOtherThread(locks, Sets.newHashSet(
+          PolicyLocks.roleKey("role2"), PolicyLocks.objectKey("server1", "db2", null))));
+    }
+  }
+
+  @Test
+  public void testSameKeyBlocks() throws Exception {
+    PolicyLocks locks = new PolicyLocks(1024);
+    try (PolicyLocks.Locked ignored = locks.lock(Sets.newHashSet(
+        PolicyLocks.roleKey("role1"), PolicyLocks.objectKey("server1", "db1", null)))) {
+      assertFalse(lockFromOtherThread(locks, Sets.newHashSet(
+          PolicyLocks.roleKey("role2"), PolicyLocks.objectKey("SERVER1", "DB1", null))));
+    }
+  }
+
+  @Test
+  public void testExclusiveBlocksAll() throws Exception {
+    PolicyLocks locks = new PolicyLocks(1024);
+    try (PolicyLocks.Locked ignored = locks.lockExclusive()) {
+      assertFalse(lockFromOtherThread(locks,
+          Collections.singleton(PolicyLocks.roleKey("role1"))));
+    }
+    try (PolicyLocks.Locked ignored =
+        locks.lock(Collections.singleton(PolicyLocks.roleKey("role1")))) {
+      assertFalse(lockFromOtherThread(locks, null));
+    }
+  }
+
+  @Test
+  public void testKeys() {
+    assertEquals(PolicyLocks.roleKey(" Role1 "),
+        PolicyLocks.principalKey(SentryPrincipalType.ROLE, "role1"));
+    assertFalse(PolicyLocks.roleKey("name").equals(
+        PolicyLocks.principalKey(SentryPrincipalType.USER, "name")));
+    assertEquals(PolicyLocks.objectKey("server1", "db1", null),
+        PolicyLocks.objectKey("Server1", " DB1", null));
+    // Server and all databases may affect any database
+    assertNull(PolicyLocks.objectKey("server1", null, null));
+    assertNull(PolicyLocks.objectKey("server1", "*", null));
+    assertNull(PolicyLocks.objectKey(null, "db1", null));
+    assertFalse(PolicyLocks.objectKey("server1", null, "hdfs:///a").equals(
+        PolicyLocks.objectKey("server1", null, "hdfs:///b")));
+  }
+}
@@ -87,6 +87,7 @@ import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Ignore;
 import org.junit.Test;
 
 import com.google.common.collect.Iterables;
@@ -2781,9 +2782,9 @@ public class TestSentryStore extends org.junit.Assert {
     List<MSentryPathChange> pathsChanges = sentryStore.getMSentryPathChanges();
     assertEquals(2, pathsChanges.size());
     assertEquals(1, pathsChanges.get(0).getChangeID()); // changeID = 1
-    assertTrue(pathsChanges.get(0).getPathChange().contains("/hive/db1"));
+    assertTrue(pathChangeToJSON(pathsChanges.get(0)).contains("/hive/db1"));
     assertEquals(2, pathsChanges.get(1).getChangeID()); // changeID = 2
-    assertTrue(pathsChanges.get(1).getPathChange().contains("/hive/db2"));
+    assertTrue(pathChangeToJSON(pathsChanges.get(1)).contains("/hive/db2"));
 
     // Check that the SHA1 hash calculated for unique notifications is correct
     assertEquals("u1", pathsChanges.get(0).getNotificationHash());
@@ -2887,7 +2888,7 @@ public class TestSentryStore extends org.junit.Assert {
     // Query the persisted path change and ensure it equals to the original one
     long lastChangeID = sentryStore.getLastProcessedPathChangeID();
     MSentryPathChange addPathChange = sentryStore.getMSentryPathChangeByID(lastChangeID);
-    assertEquals(addUpdate.JSONSerialize(), addPathChange.getPathChange());
+    assertEquals(addUpdate.serializeToString(), addPathChange.getPathChange());
     lastNotificationId = sentryStore.getLastProcessedNotificationID();
     assertEquals(1, lastNotificationId.longValue());
 
@@ -2912,7 +2913,7 @@ public class TestSentryStore extends org.junit.Assert {
     // Query the persisted path change and ensure it equals to the original one
     lastChangeID = sentryStore.getLastProcessedPathChangeID();
     MSentryPathChange delPathChange = sentryStore.getMSentryPathChangeByID(lastChangeID);
-    assertEquals(delUpdate.JSONSerialize(), delPathChange.getPathChange());
+    assertEquals(delUpdate.serializeToString(), delPathChange.getPathChange());
     lastNotificationId = sentryStore.getLastProcessedNotificationID();
     assertEquals(2, lastNotificationId.longValue());
 
@@ -2937,13 +2938,294 @@ public class TestSentryStore extends org.junit.Assert {
     // Query the persisted path change and ensure it equals to the original one
     lastChangeID = sentryStore.getLastProcessedPathChangeID();
     MSentryPathChange delAllPathChange = sentryStore.getMSentryPathChangeByID(lastChangeID);
-    assertEquals(delAllupdate.JSONSerialize(), delAllPathChange.getPathChange());
+    assertEquals(delAllupdate.serializeToString(), delAllPathChange.getPathChange());
 
     lastNotificationId = sentryStore.getLastProcessedNotificationID();
     assertEquals(3, lastNotificationId.longValue());
 
   }
 
+  @Test
+  public void testUpdateAuthzPathsMappings() throws Exception {
+    // Persist an image so that we can update paths of it.
+    Map<String, Collection<String>> image = new HashMap<>();
+    image.put("db1.tbl1", Sets.newHashSet("db1/tbl1"));
+    sentryStore.persistFullPathsImage(image, 0);
+
+    // Changes of several notifications, persisted in a single transaction
+    UniquePathsUpdate update1 = new UniquePathsUpdate("u1", 1, false);
+    update1.newPathChange("db1.tbl1").addToAddPaths(Arrays.asList("db1", "tbl1", "p1"));
+    update1.newPathChange("db1.tbl1").addToAddPaths(Arrays.asList("db1", "tbl1", "p2"));
+    update1.newPathChange("db1.tbl2").addToAddPaths(Arrays.asList("db1", "tbl2", "p1"));
+    update1.newPathChange("db1.tbl3").addToAddPaths(Arrays.asList("db1", "tbl3", "p1"));
+    UniquePathsUpdate update2 = new UniquePathsUpdate("u2", 2, false);
+    update2.newPathChange("db1.tbl1").addToDelPaths(Arrays.asList("db1", "tbl1", "p1"));
+    update2.newPathChange("db1.tbl1").addToDelPaths(Arrays.asList("db1", "tbl1"));
+    update2.newPathChange("db1.tbl2").addToDelPaths(Arrays.asList("db1", "tbl2", "p1"));
+    UniquePathsUpdate update3 = new UniquePathsUpdate("u3", 3, false);
+    update3.newPathChange("db1.tbl2").addToAddPaths(Arrays.asList("db1", "tbl2", "p1"));
+    long firstChangeID = sentryStore.getLastProcessedPathChangeID() + 1;
+    sentryStore.updateAuthzPathsMappings(Arrays.asList(update1, update2, update3));
+
+    TPathsDump pathsDump =
+        sentryStore.retrieveFullPathsImageUpdate(new String[] {"/"}).toThrift().getPathsDump();
+    Map<String, Collection<String>> pathsImage = new HashMap<>();
+    buildPathsImageMap(pathsDump.getNodeMap(), pathsDump.getNodeMap().get(pathsDump.getRootId()),
+        "", pathsImage, false);
+    assertEquals(3, pathsImage.size());
+    assertEquals(Sets.newHashSet("db1/tbl1/p2"), Sets.newHashSet(pathsImage.get("db1.tbl1")));
+    assertEquals(Sets.newHashSet("db1/tbl2/p1"), Sets.newHashSet(pathsImage.get("db1.tbl2")));
+    assertEquals(Sets.newHashSet("db1/tbl3/p1"), Sets.newHashSet(pathsImage.get("db1.tbl3")));
+
+    // A path change is persisted for each notification, in order
+    assertEquals(firstChangeID + 2, sentryStore.getLastProcessedPathChangeID().longValue());
+    List<UniquePathsUpdate> updates = Arrays.asList(update1, update2, update3);
+    for (int i = 0; i < updates.size(); i++) {
+      MSentryPathChange pathChange = sentryStore.getMSentryPathChangeByID(firstChangeID + i);
+      assertEquals(updates.get(i).serializeToString(), pathChange.getPathChange());
+      assertEquals(updates.get(i).getEventHash(), pathChange.getNotificationHash());
+    }
+    assertEquals(3, sentryStore.getLastProcessedNotificationID().longValue());
+  }
+
+  /**
+   * Verifies a snapshot persisted in chunks only replaces the current one when it is committed.
+   */
+  @Test
+  public void testPersistFullPathsImageInChunks() throws Exception {
+    Map<String, Collection<String>> image = new HashMap<>();
+    image.put("db1.tbl1", Sets.newHashSet("db1/tbl1"));
+    sentryStore.persistFullPathsImage(image, 1);
+    assertEquals(1, sentryStore.getCurrentAuthzPathsSnapshotID());
+
+    // An uncommitted snapshot is deleted
+    try (FullPathsImageWriter writer = sentryStore.beginFullPathsImage()) {
+      assertEquals(2, writer.getSnapshotID());
+      writer.persistChunk(Collections.singletonMap("db2.tbl1",
+          (Collection<String>) Sets.newHashSet("db2/tbl1")));
+      assertEquals(2, sentryStore.getPathCount());
+    }
+    assertEquals(1, sentryStore.getPathCount());
+    assertEquals(1, sentryStore.getCurrentAuthzPathsSnapshotID());
+
+    try (FullPathsImageWriter writer = sentryStore.beginFullPathsImage()) {
+      assertEquals(2, writer.getSnapshotID());
+      Map<String, Collection<String>> chunk = new HashMap<>();
+      chunk.put("db1.tbl1", Sets.newHashSet("db1/tbl1", "db1/tbl1/p1"));
+      chunk.put("db1.tbl2", Sets.newHashSet("db1/tbl2"));
+      writer.persistChunk(chunk);
+      chunk = new HashMap<>();
+      chunk.put("db1.tbl1", Sets.newHashSet("db1/tbl1/p2"));
+      chunk.put("db1.tbl3", Sets.newHashSet("db1/tbl3"));
+      writer.persistChunk(chunk);
+
+      // The previous snapshot is current until the new one is committed
+      TPathsDump pathsDump =
+          sentryStore.retrieveFullPathsImageUpdate(new String[] {"/"}).toThrift().getPathsDump();
+      Map<String, Collection<String>> pathsImage = new HashMap<>();
+      buildPathsImageMap(pathsDump.getNodeMap(), pathsDump.getNodeMap().get(pathsDump.getRootId()),
+          "", pathsImage, false);
+      assertEquals(image.keySet(), pathsImage.keySet());
+
+      writer.commit(5);
+    }
+
+    PathsUpdate pathsUpdate = sentryStore.retrieveFullPathsImageUpdate(new String[] {"/"});
+    assertEquals(2, pathsUpdate.getImgNum());
+    TPathsDump pathsDump = pathsUpdate.toThrift().getPathsDump();
+    Map<String, Collection<String>> pathsImage = new HashMap<>();
+    buildPathsImageMap(pathsDump.getNodeMap(), pathsDump.getNodeMap().get(pathsDump.getRootId()),
+        "", pathsImage, false);
+    assertEquals(3, pathsImage.size());
+    assertEquals(Sets.newHashSet("db1/tbl1", "db1/tbl1/p1", "db1/tbl1/p2"),
+        Sets.newHashSet(pathsImage.get("db1.tbl1")));
+    assertEquals(Sets.newHashSet("db1/tbl2"), Sets.newHashSet(pathsImage.get("db1.tbl2")));
+    assertEquals(Sets.newHashSet("db1/tbl3"), Sets.newHashSet(pathsImage.get("db1.tbl3")));
+    assertEquals(5, sentryStore.getLastProcessedNotificationID().longValue());
+  }
+
+  @Test
+  public void testPersistFullPathsImageInBulk() throws Exception {
+    Map<String, Collection<String>> image = newPathsImage(200, 5);
+
+    // Flushing the rows before the end of the transaction, and with a single row per flush
+    int snapshotID = 0;
+    for (int flushSize : new int[] {7, 1}) {
+      Configuration bulkConf = new Configuration(conf);
+      bulkConf.setInt(ServerConfig.SENTRY_STORE_FULL_SNAPSHOT_FLUSH_SIZE, flushSize);
+      SentryStore bulkStore = new SentryStore(bulkConf);
+      try {
+        bulkStore.persistFullPathsImage(image, ++snapshotID);
+      } finally {
+        bulkStore.stop();
+      }
+
+      assertEquals(snapshotID, sentryStore.getCurrentAuthzPathsSnapshotID());
+      TPathsDump pathsDump =
+          sentryStore.retrieveFullPathsImageUpdate(new String[] {"/"}).toThrift().getPathsDump();
+      Map<String, Collection<String>> pathsImage = new HashMap<>();
+      buildPathsImageMap(pathsDump.getNodeMap(), pathsDump.getNodeMap().get(pathsDump.getRootId()),
+          "", pathsImage, false);
+      assertEquals(image.size(), pathsImage.size());
+      for (Map.Entry<String, Collection<String>> entry : image.entrySet()) {
+        assertEquals(entry.getValue(), Sets.newHashSet(pathsImage.get(entry.getKey())));
+      }
+    }
+  }
+
+  /**
+   * Compares persisting a full snapshot in bulk and row by row. Run manually.
+   */
+  @Ignore("Benchmark")
+  @Test
+  public void benchmarkPersistFullPathsImageInBulk() throws Exception {
+    int objects = 2000, pathsPerObject = 5;
+    Map<String, Collection<String>> image = newPathsImage(objects, pathsPerObject);
+    Configuration bulkConf = new Configuration(conf);
+    bulkConf.setInt(ServerConfig.SENTRY_STORE_FULL_SNAPSHOT_FLUSH_SIZE, 1000);
+    SentryStore bulkStore = new SentryStore(bulkConf);
+    Configuration rowConf = new Configuration(conf);
+    rowConf.setInt(ServerConfig.SENTRY_STORE_FULL_SNAPSHOT_FLUSH_SIZE, 1);
+    SentryStore rowStore = new SentryStore(rowConf);
+    try {
+      long start = System.currentTimeMillis();
+      rowStore.persistFullPathsImage(image, 1);
+      long rowTime = System.currentTimeMillis() - start;
+      start = System.currentTimeMillis();
+      bulkStore.persistFullPathsImage(image, 2);
+      long bulkTime = System.currentTimeMillis() - start;
+      LOGGER.info("Persisted {} objects with {} paths: {} ms in bulk, {} ms row by row",
+          objects, objects * pathsPerObject, bulkTime, rowTime);
+    } finally {
+      bulkStore.stop();
+      rowStore.stop();
+    }
+  }
+
+  private static Map<String, Collection<String>> newPathsImage(int objects, int pathsPerObject) {
+    Map<String, Collection<String>> image = new HashMap<>();
+    for (int i = 0; i < objects; i++) {
+      Collection<String> paths = new HashSet<>();
+      for (int j = 0; j < pathsPerObject; j++) {
+        paths.add("db1/tbl" + i + "/p" + j);
+      }
+      image.put("db1.tbl" + i, paths);
+    }
+    return image;
+  }
+
+  @Test
+  public void testPersistFullPathsImageInParallelChunks() throws Exception {
+    Configuration parallelConf = new Configuration(conf);
+    parallelConf.setInt(ServerConfig.SENTRY_STORE_FULL_SNAPSHOT_WRITER_THREADS, 4);
+    parallelConf.setInt(ServerConfig.SENTRY_STORE_FULL_SNAPSHOT_FLUSH_SIZE, 3);
+    SentryStore parallelStore = new SentryStore(parallelConf);
+    try {
+      Map<String, Collection<String>> expected = new HashMap<>();
+      try (FullPathsImageWriter writer = parallelStore.beginFullPathsImage()) {
+        for (int chunk = 0; chunk < 20; chunk++) {
+          Map<String, Collection<String>> paths = new HashMap<>();
+          // Each chunk adds an object and a path to the object of the previous chunk
+          paths.put("db1.tbl" + chunk, Sets.newHashSet("db1/tbl" + chunk));
+          if (chunk > 0) {
+            paths.put("db1.tbl" + (chunk - 1), Sets.newHashSet("db1/tbl" + (chunk - 1) + "/p"));
+          }
+          writer.persistChunk(paths);
+          for (Map.Entry<String, Collection<String>> entry : paths.entrySet()) {
+            Collection<String> objectPaths = expected.get(entry.getKey());
+            if (objectPaths == null) {
+              objectPaths = new HashSet<>();
+              expected.put(entry.getKey(), objectPaths);
+            }
+            objectPaths.addAll(entry.getValue());
+          }
+        }
+        writer.commit(3);
+      }
+
+      assertEquals(1, sentryStore.getCurrentAuthzPathsSnapshotID());
+      assertEquals(39, sentryStore.getPathCount());
+      TPathsDump pathsDump =
+          sentryStore.retrieveFullPathsImageUpdate(new String[] {"/"}).toThrift().getPathsDump();
+      Map<String, Collection<String>> pathsImage = new HashMap<>();
+      buildPathsImageMap(pathsDump.getNodeMap(), pathsDump.getNodeMap().get(pathsDump.getRootId()),
+          "", pathsImage, false);
+      assertEquals(expected.keySet(), pathsImage.keySet());
+      for (Map.Entry<String, Collection<String>> entry : expected.entrySet()) {
+        assertEquals(entry.getValue(), Sets.newHashSet(pathsImage.get(entry.getKey())));
+      }
+      assertEquals(3, sentryStore.getLastProcessedNotificationID().longValue());
+    } finally {
+      parallelStore.stop();
+    }
+  }
+
+  /**
+   * Verifies closing an uncommitted snapshot waits for the chunks being persisted
+   * by the writer threads before deleting it.
+   */
+  @Test
+  public void testCloseParallelChunksWithoutCommit() throws Exception {
+    Configuration parallelConf = new Configuration(conf);
+    parallelConf.setInt(ServerConfig.SENTRY_STORE_FULL_SNAPSHOT_WRITER_THREADS, 4);
+    SentryStore parallelStore = new SentryStore(parallelConf);
+    try {
+      try (FullPathsImageWriter writer = parallelStore.beginFullPathsImage()) {
+        for (int chunk = 0; chunk < 20; chunk++) {
+          Map<String, Collection<String>> paths = new HashMap<>();
+          for (int i = 0; i < 50; i++) {
+            paths.put("db" + chunk + ".tbl" + i, Sets.newHashSet("db" + chunk + "/tbl" + i));
+          }
+          writer.persistChunk(paths);
+        }
+      }
+      assertEquals(0, sentryStore.getPathCount());
+      assertEquals(0, sentryStore.getCurrentAuthzPathsSnapshotID());
+    } finally {
+      parallelStore.stop();
+    }
+  }
+
+  /**
+   * Verifies the paths of an object sent again in a later chunk are persisted once.
+   */
+  @Test
+  public void testPersistFullPathsImageChunksWithRepeatedPaths() throws Exception {
+    try (FullPathsImageWriter writer = sentryStore.beginFullPathsImage()) {
+      writer.persistChunk(Collections.singletonMap("db1.tbl1",
+          (Collection<String>) Sets.newHashSet("db1/tbl1", "db1/tbl1/p1")));
+      writer.persistChunk(Collections.singletonMap("db1.tbl1",
+          (Collection<String>) Sets.newHashSet("db1/tbl1/p1", "db1/tbl1/p2")));
+      writer.commit(1);
+    }
+    assertEquals(3, sentryStore.getPathCount());
+    assertEquals(3, sentryStore.getMAuthzPaths(1, "db1.tbl1").size());
+  }
+
+  /**
+   * Verifies an uncommitted snapshot larger than the flush size is deleted in several
+   * transactions, without deleting the paths of the current snapshot.
+   */
+  @Test
+  public void testDeleteUncommittedSnapshotInBatches() throws Exception {
+    Configuration batchConf = new Configuration(conf);
+    batchConf.setInt(ServerConfig.SENTRY_STORE_FULL_SNAPSHOT_FLUSH_SIZE, 3);
+    SentryStore batchStore = new SentryStore(batchConf);
+    try {
+      batchStore.persistFullPathsImage(Collections.singletonMap("db1.tbl1",
+          (Collection<String>) Sets.newHashSet("db1/tbl1")), 1);
+      try (FullPathsImageWriter writer = batchStore.beginFullPathsImage()) {
+        writer.persistChunk(newPathsImage(10, 2));
+        assertEquals(21, batchStore.getPathCount());
+      }
+      assertEquals(1, batchStore.getPathCount());
+      assertEquals(1, batchStore.getAuthzObjectsCountGauge().getValue().longValue());
+      assertEquals(1, batchStore.getCurrentAuthzPathsSnapshotID());
+    } finally {
+      batchStore.stop();
+    }
+  }
+
   @Test
   public void testDeleteAuthzPathsMapping() throws Exception {
 
@@ -3045,7 +3327,7 @@ public class TestSentryStore extends org.junit.Assert {
     // Query the persisted path change and ensure it equals to the original one
     long lastChangeID = sentryStore.getLastProcessedPathChangeID();
     MSentryPathChange renamePathChange = sentryStore.getMSentryPathChangeByID(lastChangeID);
-    assertEquals(renameUpdate.JSONSerialize(), renamePathChange.getPathChange());
+    assertEquals(renameUpdate.serializeToString(), renamePathChange.getPathChange());
     lastNotificationId = sentryStore.getLastProcessedNotificationID();
     assertEquals(1, lastNotificationId.longValue());
     // Rename 'db1.table1' to "db1.table2" but did not change its location.
@@ -3076,7 +3358,7 @@ public class TestSentryStore extends org.junit.Assert {
     // Query the persisted path change and ensure it equals to the original one
     lastChangeID = sentryStore.getLastProcessedPathChangeID();
     renamePathChange = sentryStore.getMSentryPathChangeByID(lastChangeID);
-    assertEquals(renameUpdate.JSONSerialize(), renamePathChange.getPathChange());
+    assertEquals(renameUpdate.serializeToString(), renamePathChange.getPathChange());
 
     // Update path of 'db1.newTable2' from 'db1.newTable1' to 'db1.newTable2'
     UniquePathsUpdate update = new UniquePathsUpdate("u3",3, false);
@@ -3107,7 +3389,7 @@ public class TestSentryStore extends org.junit.Assert {
     // Query the persisted path change and ensure it equals to the original one
     lastChangeID = sentryStore.getLastProcessedPathChangeID();
     MSentryPathChange updatePathChange = sentryStore.getMSentryPathChangeByID(lastChangeID);
-    assertEquals(update.JSONSerialize(), updatePathChange.getPathChange());
+    assertEquals(update.serializeToString(), updatePathChange.getPathChange());
     lastNotificationId = sentryStore.getLastProcessedNotificationID();
     assertEquals(3, lastNotificationId.longValue());
   }
@@ -3428,7 +3710,7 @@ public class TestSentryStore extends org.junit.Assert {
     long lastChangeID = sentryStore.getLastProcessedPermChangeID();
     long initialID = lastChangeID;
     MSentryPermChange addPermChange = sentryStore.getMSentryPermChangeByID(lastChangeID);
-    assertEquals(addUpdate.JSONSerialize(), addPermChange.getPermChange());
+    assertEquals(addUpdate.serializeToString(), addPermChange.getPermChange());
 
     // Generate the permission delete update authzObj "db1.tbl1"
     PermissionsUpdate delUpdate = new PermissionsUpdate(0, false);
@@ -3448,7 +3730,7 @@ public class TestSentryStore extends org.junit.Assert {
     // Query the persisted perm change and ensure it equals to the original one
     lastChangeID = sentryStore.getLastProcessedPermChangeID();
     MSentryPermChange delPermChange = sentryStore.getMSentryPermChangeByID(lastChangeID);
-    assertEquals(delUpdate.JSONSerialize(), delPermChange.getPermChange());
+    assertEquals(delUpdate.serializeToString(), delPermChange.getPermChange());
 
     // Verify getMSentryPermChanges will return all MSentryPermChanges up
     // to the given changeID.
@@ -3488,7 +3770,7 @@ public class TestSentryStore extends org.junit.Assert {
     // Query the persisted perm change and ensure it equals to the original one
     long lastChangeID = sentryStore.getLastProcessedPermChangeID();
     MSentryPermChange addPermChange = sentryStore.getMSentryPermChangeByID(lastChangeID);
-    assertEquals(addUpdate.JSONSerialize(), addPermChange.getPermChange());
+    assertEquals(addUpdate.serializeToString(), addPermChange.getPermChange());
 
     // Generate the permission add update for role "test-groups"
     PermissionsUpdate delUpdate = new PermissionsUpdate(0, false);
@@ -3504,7 +3786,7 @@ public class TestSentryStore extends org.junit.Assert {
 
     // Query the persisted perm change and ensure it equals to the original one
     MSentryPermChange delPermChange = sentryStore.getMSentryPermChangeByID(lastChangeID + 1);
-    assertEquals(delUpdate.JSONSerialize(), delPermChange.getPermChange());
+    assertEquals(delUpdate.serializeToString(), delPermChange.getPermChange());
   }
 
   @Test
@@ -3526,7 +3808,7 @@ public class TestSentryStore extends org.junit.Assert {
     // Query the persisted perm change and ensure it equals to the original one
     long lastChangeID = sentryStore.getLastProcessedPermChangeID();
     MSentryPermChange delPermChange = sentryStore.getMSentryPermChangeByID(lastChangeID);
-    assertEquals(delUpdate.JSONSerialize(), delPermChange.getPermChange());
+    assertEquals(delUpdate.serializeToString(), delPermChange.getPermChange());
   }
 
   @Test
@@ -3560,7 +3842,7 @@ public class TestSentryStore extends org.junit.Assert {
     // Query the persisted perm change and ensure it equals to the original one
     long lastChangeID = sentryStore.getLastProcessedPermChangeID();
     MSentryPermChange dropPermChange = sentryStore.getMSentryPermChangeByID(lastChangeID);
-    assertEquals(dropUpdate.JSONSerialize(), dropPermChange.getPermChange());
+    assertEquals(dropUpdate.serializeToString(), dropPermChange.getPermChange());
   }
 
   @Test
@@ -3603,7 +3885,7 @@ public class TestSentryStore extends org.junit.Assert {
     // Query the persisted perm change and ensure it equals to the original one
     long lastChangeID = sentryStore.getLastProcessedPermChangeID();
     MSentryPermChange renamePermChange = sentryStore.getMSentryPermChangeByID(lastChangeID);
-    assertEquals(renameUpdate.JSONSerialize(), renamePermChange.getPermChange());
+    assertEquals(renameUpdate.serializeToString(), renamePermChange.getPermChange());
   }
 
   protected static void addGroupsToUser(String user, String... groupNames) {
@@ -3746,6 +4028,145 @@ public class TestSentryStore extends org.junit.Assert {
     }
   }
 
+  /**
+   * Reports the throughput of grants on different roles and databases run concurrently,
+   * compared to a single writer, and verifies that all of them are persisted with
+   * consecutive change IDs.
+   *
+   * @throws Exception
+   */
+  @Ignore("Benchmark")
+  @Test(timeout = 120000)
+  public void benchmarkConcurrentGrantsOnDifferentRoles() throws Exception {
+    final int numThreads = 8;
+    final int numGrantsPerThread = 25;
+
+    double serialRate = runGrants("serial", 1, numGrantsPerThread);
+    double concurrentRate = runGrants("concurrent", numThreads, numGrantsPerThread);
+    LOGGER.info("Grant throughput: {} ops/s with 1 writer, {} ops/s with {} writers",
+        serialRate, concurrentRate, numThreads);
+
+    int numGrants = (numThreads + 1) * numGrantsPerThread;
+    assertEquals(numGrants, sentryStore.countMSentryPrivileges());
+    List<MSentryPermChange> changes = sentryStore.getMSentryPermChanges();
+    assertEquals(numGrants, changes.size());
+    TreeSet<Long> changeIDs = new TreeSet<>();
+    for (MSentryPermChange change : changes) {
+      changeIDs.add(change.getChangeID());
+    }
+    assertEquals("duplicated change ID", numGrants, changeIDs.size());
+    assertEquals("non-consecutive change IDs", numGrants - 1,
+        changeIDs.last() - changeIDs.first());
+  }
+
+  /**
+   * Each thread grants privileges on its own database to its own role.
+   * @return the number of grants per second
+   */
+  private double runGrants(final String prefix, int numThreads, final int numGrantsPerThread)
+      throws Exception {
+    for (int i = 0; i < numThreads; i++) {
+      createRole(prefix + "-role" + i);
+    }
+    final CyclicBarrier barrier = new CyclicBarrier(numThreads + 1);
+    final List<Exception> failures = Collections.synchronizedList(new ArrayList<Exception>());
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    for (int i = 0; i < numThreads; i++) {
+      final String roleName = prefix + "-role" + i;
+      final String dbName = prefix + "_db" + i;
+      executor.submit(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            barrier.await();
+            for (int j = 0; j < numGrantsPerThread; j++) {
+              TSentryPrivilege privilege = new TSentryPrivilege("TABLE", "server1",
+                  AccessConstants.SELECT);
+              privilege.setDbName(dbName);
+              privilege.setTableName("tbl" + j);
+              PermissionsUpdate update = new PermissionsUpdate(0, false);
+              update.addPrivilegeUpdate(dbName + ".tbl" + j).putToAddPrivileges(
+                  new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, roleName),
+                  AccessConstants.SELECT.toUpperCase());
+              Map<TSentryPrivilege, Updateable.Update> updates = Maps.newHashMap();
+              updates.put(privilege, update);
+              sentryStore.alterSentryRoleGrantPrivileges(roleName, Sets.newHashSet(privilege),
+                  updates);
+            }
+          } catch (Exception e) {
+            LOGGER.error("Grant failed", e);
+            failures.add(e);
+          }
+        }
+      });
+    }
+    barrier.await();
+    long start = System.nanoTime();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(100, TimeUnit.SECONDS));
+    long elapsed = System.nanoTime() - start;
+    assertTrue(failures.toString(), failures.isEmpty());
+    return numThreads * numGrantsPerThread / (elapsed / 1e9);
+  }
+
+  /**
+   * Grants and revokes privileges to several roles at once. Verifies that the privileges are
+   * shared between the roles and that each bulk operation is persisted as a single change.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testGrantRevokePrivilegesToRoles() throws Exception {
+    Set<String> roleNames = Sets.newHashSet("role1", "role2", "role3");
+    for (String roleName : roleNames) {
+      createRole(roleName);
+    }
+    Set<TSentryPrivilege> privileges = new HashSet<>();
+    for (int i = 0; i < 10; i++) {
+      TSentryPrivilege privilege = new TSentryPrivilege("TABLE", "server1",
+          AccessConstants.SELECT);
+      privilege.setDbName("db1");
+      privilege.setTableName("tbl" + i);
+      privileges.add(privilege);
+    }
+
+    PermissionsUpdate grantUpdate = new PermissionsUpdate(0, false);
+    sentryStore.alterSentryRolesGrantPrivileges(roleNames, privileges, grantUpdate);
+    for (String roleName : roleNames) {
+      assertEquals(privileges.size(),
+          sentryStore.getAllTSentryPrivilegesByRoleName(roleName).size());
+    }
+    assertEquals(privileges.size(), sentryStore.countMSentryPrivileges());
+    assertEquals(1, sentryStore.getMSentryPermChanges().size());
+
+    // Granting again is a no-op for the privileges
+    sentryStore.alterSentryRolesGrantPrivileges(roleNames, privileges,
+        new PermissionsUpdate(0, false));
+    assertEquals(privileges.size(), sentryStore.countMSentryPrivileges());
+
+    TSentryPrivilege revoked = privileges.iterator().next();
+    sentryStore.alterSentryRolesRevokePrivileges(Sets.newHashSet("role1", "role2"),
+        Sets.newHashSet(revoked), new PermissionsUpdate(0, false));
+    assertEquals(privileges.size() - 1,
+        sentryStore.getAllTSentryPrivilegesByRoleName("role1").size());
+    assertEquals(privileges.size() - 1,
+        sentryStore.getAllTSentryPrivilegesByRoleName("role2").size());
+    assertEquals(privileges.size(),
+        sentryStore.getAllTSentryPrivilegesByRoleName("role3").size());
+    assertEquals(3, sentryStore.getMSentryPermChanges().size());
+
+    // A missing role fails the whole operation
+    try {
+      sentryStore.alterSentryRolesGrantPrivileges(Sets.newHashSet("role1", "missing"),
+          Sets.newHashSet(revoked), new PermissionsUpdate(0, false));
+      fail("Expected SentryNoSuchObjectException");
+    } catch (SentryNoSuchObjectException e) {
+      // expected
+    }
+    assertEquals(privileges.size() - 1,
+        sentryStore.getAllTSentryPrivilegesByRoleName("role1").size());
+  }
+
   @Test
   public void testDuplicateNotification() throws Exception {
     Map<String, Collection<String>> authzPaths = new HashMap<>();
@@ -3800,7 +4221,7 @@ public class TestSentryStore extends org.junit.Assert {
     // Query the persisted path change and ensure it equals to the original one
     long lastChangeID = sentryStore.getLastProcessedPathChangeID();
     MSentryPathChange renamePathChange = sentryStore.getMSentryPathChangeByID(lastChangeID);
-    assertEquals(renameUpdate.JSONSerialize(), renamePathChange.getPathChange());
+    assertEquals(renameUpdate.serializeToString(), renamePathChange.getPathChange());
     Long savedLastNotificationId = sentryStore.getLastProcessedNotificationID();
     assertEquals(lastNotificationId.longValue(), savedLastNotificationId.longValue());
 
@@ -4694,4 +5115,10 @@ public class TestSentryStore extends org.junit.Assert {
     privilege.setGrantOption(grantOption);
     return privilege;
   }
+
+  private static String pathChangeToJSON(MSentryPathChange pathChange) throws Exception {
+    PathsUpdate update = new PathsUpdate();
+    update.deserializeFromString(pathChange.getPathChange());
+    return update.JSONSerialize();
+  }
 }
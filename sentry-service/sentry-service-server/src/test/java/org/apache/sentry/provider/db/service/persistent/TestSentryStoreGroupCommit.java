@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import javax.jdo.PersistenceManager;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.security.alias.CredentialProvider;
+import org.apache.hadoop.security.alias.CredentialProviderFactory;
+import org.apache.hadoop.security.alias.UserProvider;
+import org.apache.sentry.api.service.thrift.SentryMetrics;
+import org.apache.sentry.api.service.thrift.TSentryPrivilege;
+import org.apache.sentry.core.common.exception.SentryNoSuchObjectException;
+import org.apache.sentry.core.model.db.AccessConstants;
+import org.apache.sentry.hdfs.PermissionsUpdate;
+import org.apache.sentry.hdfs.Updateable;
+import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipal;
+import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipalType;
+import org.apache.sentry.provider.db.service.model.MSentryPermChange;
+import org.apache.sentry.service.common.ServiceConstants.ServerConfig;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.io.Files;
+
+/**
+ * Verifies that concurrent writes committed together by group commit keep the delta
+ * change sequence ordered, and that a failing write doesn't fail the rest of its group.
+ */
+public class TestSentryStoreGroupCommit {
+
+  private static File dataDir;
+  private static SentryStore sentryStore;
+  private static char[] passwd = new char[] { '1', '2', '3'};
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    Configuration conf = new Configuration(true);
+    final String ourUrl = UserProvider.SCHEME_NAME + ":///";
+    conf.set(CredentialProviderFactory.CREDENTIAL_PROVIDER_PATH, ourUrl);
+
+    CredentialProvider provider = CredentialProviderFactory.getProviders(conf).get(0);
+    if(provider.getCredentialEntry(ServerConfig.SENTRY_STORE_JDBC_PASS) == null) {
+      provider.createCredentialEntry(ServerConfig.SENTRY_STORE_JDBC_PASS, passwd);
+      provider.flush();
+    }
+
+    dataDir = new File(Files.createTempDir(), "sentry_policy_db");
+    conf.set(ServerConfig.SENTRY_VERIFY_SCHEM_VERSION, "false");
+    conf.set(ServerConfig.SENTRY_STORE_JDBC_URL,
+        "jdbc:derby:;databaseName=" + dataDir.getPath() + ";create=true");
+    conf.set(ServerConfig.SENTRY_STORE_JDBC_PASS, "dummy");
+    conf.setInt(ServerConfig.SENTRY_STORE_TRANSACTION_RETRY, 1);
+    conf.setBoolean(ServerConfig.SENTRY_STORE_GROUP_COMMIT_ENABLED, true);
+    conf.setInt(ServerConfig.SENTRY_STORE_GROUP_COMMIT_BATCH_MAX, 4);
+    conf.setLong(ServerConfig.SENTRY_STORE_GROUP_COMMIT_WINDOW_MS, 20L);
+
+    sentryStore = new SentryStore(conf);
+    sentryStore.setPersistUpdateDeltas(true);
+  }
+
+  @After
+  public void after() {
+    sentryStore.clearAllTables();
+  }
+
+  @AfterClass
+  public static void teardown() {
+    if (sentryStore != null) {
+      sentryStore.stop();
+    }
+    if (dataDir != null) {
+      FileUtils.deleteQuietly(dataDir);
+    }
+  }
+
+  @Test(timeout=120000)
+  public void testConcurrentGrants() throws Exception {
+    final int numThreads = 8;
+    final int numGrantsPerThread = 10;
+    long batches = SentryMetrics.getInstance().groupCommitBatchSize.getCount();
+
+    List<Callable<Void>> writers = Lists.newArrayList();
+    for (int i = 0; i < numThreads; i++) {
+      final String roleName = "role" + i;
+      final String dbName = "db" + i;
+      sentryStore.createSentryRole(roleName);
+      writers.add(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          for (int j = 0; j < numGrantsPerThread; j++) {
+            grant(roleName, dbName, "tbl" + j);
+          }
+          return null;
+        }
+      });
+    }
+    for (Future<Void> result : runConcurrently(writers)) {
+      result.get();
+    }
+
+    int numGrants = numThreads * numGrantsPerThread;
+    assertEquals(numGrants, sentryStore.countMSentryPrivileges());
+    List<MSentryPermChange> changes = sentryStore.getMSentryPermChanges();
+    assertEquals(numGrants, changes.size());
+    TreeSet<Long> changeIDs = new TreeSet<>();
+    for (MSentryPermChange change : changes) {
+      changeIDs.add(change.getChangeID());
+    }
+    assertEquals("duplicated change ID", numGrants, changeIDs.size());
+    assertEquals("non-consecutive change IDs", numGrants - 1,
+        changeIDs.last() - changeIDs.first());
+    assertTrue(SentryMetrics.getInstance().groupCommitBatchSize.getCount() > batches);
+  }
+
+  /**
+   * Verify the writers queued while a leader commits its group are committed
+   * together, in one database transaction.
+   */
+  @Test(timeout=120000)
+  public void testWritersBlockedBehindLeaderShareGroup() throws Exception {
+    final TransactionManager tm = sentryStore.getTransactionManager();
+    final CountDownLatch leaderStarted = new CountDownLatch(1);
+    final CountDownLatch releaseLeader = new CountDownLatch(1);
+    FutureTask<Void> leader = new FutureTask<>(new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        tm.executeTransactionBlocksGrouped(Collections.<TransactionBlock<Object>>singletonList(
+            new TransactionBlock<Object>() {
+              @Override
+              public Object execute(PersistenceManager pm) throws Exception {
+                leaderStarted.countDown();
+                releaseLeader.await();
+                return null;
+              }
+            }), null);
+        return null;
+      }
+    });
+    new Thread(leader).start();
+    leaderStarted.await();
+
+    // Group commit is limited to 4 transactions
+    final int numFollowers = 3;
+    final Set<PersistenceManager> followerPms =
+        Collections.synchronizedSet(Sets.<PersistenceManager>newIdentityHashSet());
+    List<FutureTask<Void>> followers = Lists.newArrayList();
+    List<Thread> followerThreads = Lists.newArrayList();
+    for (int i = 0; i < numFollowers; i++) {
+      FutureTask<Void> follower = new FutureTask<>(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          tm.executeTransactionBlocksGrouped(Collections.<TransactionBlock<Object>>singletonList(
+              new TransactionBlock<Object>() {
+                @Override
+                public Object execute(PersistenceManager pm) throws Exception {
+                  followerPms.add(pm);
+                  return null;
+                }
+              }), null);
+          return null;
+        }
+      });
+      Thread thread = new Thread(follower);
+      followers.add(follower);
+      followerThreads.add(thread);
+      thread.start();
+    }
+    // The followers are queued once they wait for the leader to commit its group
+    for (Thread thread : followerThreads) {
+      while (thread.getState() != Thread.State.WAITING) {
+        Thread.sleep(10);
+      }
+    }
+    assertTrue(followerPms.isEmpty());
+
+    long batches = SentryMetrics.getInstance().groupCommitBatchSize.getCount();
+    releaseLeader.countDown();
+    leader.get();
+    for (FutureTask<Void> follower : followers) {
+      follower.get();
+    }
+
+    assertEquals("followers committed in several transactions", 1, followerPms.size());
+    assertEquals(batches + 1, SentryMetrics.getInstance().groupCommitBatchSize.getCount());
+    assertTrue(SentryMetrics.getInstance().groupCommitBatchSize.getSnapshot().getMax() > 1);
+  }
+
+  @Test(timeout=120000)
+  public void testFailureIsolated() throws Exception {
+    sentryStore.createSentryRole("role1");
+    List<Callable<Void>> writers = Lists.newArrayList();
+    writers.add(new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        grant("role1", "db1", "tbl1");
+        return null;
+      }
+    });
+    writers.add(new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        grant("missing_role", "db2", "tbl1");
+        return null;
+      }
+    });
+    List<Future<Void>> results = runConcurrently(writers);
+
+    results.get(0).get();
+    try {
+      results.get(1).get();
+      throw new AssertionError("Grant to a missing role should fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause().toString(), e.getCause() instanceof SentryNoSuchObjectException);
+    }
+    assertEquals(1, sentryStore.getAllTSentryPrivilegesByRoleName("role1").size());
+    assertEquals(1, sentryStore.getMSentryPermChanges().size());
+  }
+
+  private static void grant(String roleName, String dbName, String tableName)
+      throws Exception {
+    TSentryPrivilege privilege = new TSentryPrivilege("TABLE", "server1",
+        AccessConstants.SELECT);
+    privilege.setDbName(dbName);
+    privilege.setTableName(tableName);
+    PermissionsUpdate update = new PermissionsUpdate(0, false);
+    update.addPrivilegeUpdate(dbName + "." + tableName).putToAddPrivileges(
+        new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, roleName),
+        AccessConstants.SELECT.toUpperCase());
+    Map<TSentryPrivilege, Updateable.Update> updates = Maps.newHashMap();
+    updates.put(privilege, update);
+    sentryStore.alterSentryRoleGrantPrivileges(roleName, Sets.newHashSet(privilege),
+        updates);
+  }
+
+  /**
+   * Start all writers at the same time, so that their writes share groups.
+   */
+  private static List<Future<Void>> runConcurrently(List<Callable<Void>> writers)
+      throws Exception {
+    final CyclicBarrier barrier = new CyclicBarrier(writers.size());
+    ExecutorService executor = Executors.newFixedThreadPool(writers.size());
+    try {
+      List<Future<Void>> results = Lists.newArrayList();
+      for (final Callable<Void> writer : writers) {
+        results.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            barrier.await();
+            return writer.call();
+          }
+        }));
+      }
+      for (Future<Void> result : results) {
+        try {
+          result.get();
+        } catch (ExecutionException e) {
+          // Checked by the caller
+        }
+      }
+      return results;
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
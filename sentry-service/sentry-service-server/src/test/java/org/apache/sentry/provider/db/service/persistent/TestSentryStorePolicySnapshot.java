@@ -0,0 +1,413 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.security.alias.CredentialProvider;
+import org.apache.hadoop.security.alias.CredentialProviderFactory;
+import org.apache.hadoop.security.alias.UserProvider;
+import org.apache.sentry.api.service.thrift.TSentryActiveRoleSet;
+import org.apache.sentry.api.service.thrift.TSentryAuthorizable;
+import org.apache.sentry.api.service.thrift.TSentryGroup;
+import org.apache.sentry.api.service.thrift.TSentryPrivilege;
+import org.apache.sentry.core.common.exception.SentryNoSuchObjectException;
+import org.apache.sentry.core.model.db.AccessConstants;
+import org.apache.sentry.hdfs.PermissionsUpdate;
+import org.apache.sentry.hdfs.Updateable;
+import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipal;
+import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipalType;
+import org.apache.sentry.service.common.ServiceConstants.SentryPrincipalType;
+import org.apache.sentry.service.common.ServiceConstants.ServerConfig;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.io.Files;
+
+/**
+ * Verifies that provider reads answered from the in-memory policy snapshot match the
+ * database queries, and that the snapshot follows policy changes.
+ */
+public class TestSentryStorePolicySnapshot {
+
+  private static final String GRANTOR = "g1";
+  private static final TSentryActiveRoleSet ALL_ROLES =
+      new TSentryActiveRoleSet(true, Collections.<String>emptySet());
+
+  private static File dataDir;
+  // Store answering provider reads from the policy snapshot
+  private static SentryStore snapshotStore;
+  // Store sharing the same database and always querying it
+  private static SentryStore dbStore;
+  private static char[] passwd = new char[] { '1', '2', '3'};
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    Configuration conf = new Configuration(true);
+    final String ourUrl = UserProvider.SCHEME_NAME + ":///";
+    conf.set(CredentialProviderFactory.CREDENTIAL_PROVIDER_PATH, ourUrl);
+
+    CredentialProvider provider = CredentialProviderFactory.getProviders(conf).get(0);
+    if(provider.getCredentialEntry(ServerConfig.SENTRY_STORE_JDBC_PASS) == null) {
+      provider.createCredentialEntry(ServerConfig.SENTRY_STORE_JDBC_PASS, passwd);
+      provider.flush();
+    }
+
+    dataDir = new File(Files.createTempDir(), "sentry_policy_db");
+    conf.set(ServerConfig.SENTRY_VERIFY_SCHEM_VERSION, "false");
+    conf.set(ServerConfig.SENTRY_STORE_JDBC_URL,
+        "jdbc:derby:;databaseName=" + dataDir.getPath() + ";create=true");
+    conf.set(ServerConfig.SENTRY_STORE_JDBC_PASS, "dummy");
+    conf.setInt(ServerConfig.SENTRY_STORE_TRANSACTION_RETRY, 1);
+
+    dbStore = new SentryStore(conf);
+    dbStore.setPersistUpdateDeltas(true);
+
+    conf.setBoolean(ServerConfig.SENTRY_STORE_POLICY_SNAPSHOT_ENABLED, true);
+    conf.setLong(ServerConfig.SENTRY_STORE_POLICY_SNAPSHOT_VALIDATION_INTERVAL_MS, 0L);
+    snapshotStore = new SentryStore(conf);
+    snapshotStore.setPersistUpdateDeltas(true);
+  }
+
+  @After
+  public void after() {
+    // Also drops the snapshot, which doesn't see the tables cleared by another store
+    snapshotStore.clearAllTables();
+  }
+
+  @AfterClass
+  public static void teardown() {
+    if (snapshotStore != null) {
+      snapshotStore.stop();
+    }
+    if (dbStore != null) {
+      dbStore.stop();
+    }
+    if (dataDir != null) {
+      FileUtils.deleteQuietly(dataDir);
+    }
+  }
+
+  @Test
+  public void testDisabledByDefault() throws Exception {
+    assertNull(dbStore.getPolicySnapshot());
+    assertNotNull(snapshotStore.getPolicySnapshot());
+  }
+
+  @Test
+  public void testMatchesDatabase() throws Exception {
+    snapshotStore.createSentryRole("role1");
+    snapshotStore.createSentryRole("role2");
+    snapshotStore.createSentryRole("role3");
+    snapshotStore.alterSentryRoleAddGroups(GRANTOR, "role1",
+        Sets.newHashSet(new TSentryGroup("group1")));
+    snapshotStore.alterSentryRoleAddGroups(GRANTOR, "role2",
+        Sets.newHashSet(new TSentryGroup("group1"), new TSentryGroup("group2")));
+    snapshotStore.alterSentryRoleAddUsers("role3", Sets.newHashSet("user1"));
+
+    grant(SentryPrincipalType.ROLE, "role1", privilege("server1", null, null, null, null));
+    grant(SentryPrincipalType.ROLE, "role1", privilege("server1", "db1", null, null, null));
+    grant(SentryPrincipalType.ROLE, "role2", privilege("server1", "db1", "tbl1", null, null));
+    grant(SentryPrincipalType.ROLE, "role2", privilege("server1", "DB1", "tbl2", "c1", null));
+    grant(SentryPrincipalType.ROLE, "role2", privilege("server2", "db2", "tbl1", null, null));
+    grant(SentryPrincipalType.ROLE, "role3", privilege("server1", null, null, null,
+        "hdfs://namenode:9000/path"));
+    grant(SentryPrincipalType.USER, "user2", privilege("server1", "db2", "tbl1", "c2", null));
+
+    List<Set<String>> groupSets = new ArrayList<>();
+    groupSets.add(Sets.newHashSet("group1"));
+    groupSets.add(Sets.newHashSet("group2"));
+    groupSets.add(Sets.newHashSet("group1", "nogroup"));
+    groupSets.add(Collections.<String>emptySet());
+    List<Set<String>> userSets = new ArrayList<>();
+    userSets.add(Collections.<String>emptySet());
+    userSets.add(Sets.newHashSet("user1"));
+    userSets.add(Sets.newHashSet("user2"));
+    List<TSentryActiveRoleSet> roleSets = new ArrayList<>();
+    roleSets.add(ALL_ROLES);
+    roleSets.add(new TSentryActiveRoleSet(false, Sets.newHashSet("ROLE2", "role3")));
+
+    List<TSentryAuthorizable> hierarchies = new ArrayList<>();
+    hierarchies.add(null);
+    hierarchies.add(authorizable("server1", null, null, null, null));
+    hierarchies.add(authorizable("Server1", null, null, null, null));
+    hierarchies.add(authorizable("server2", null, null, null, null));
+    hierarchies.add(authorizable("server1", "db1", null, null, null));
+    hierarchies.add(authorizable("server1", "db2", null, null, null));
+    hierarchies.add(authorizable("server1", "", null, null, null));
+    hierarchies.add(authorizable("server1", "db1", "tbl1", null, null));
+    hierarchies.add(authorizable("server1", "db1", "tbl2", "c1", null));
+    hierarchies.add(authorizable("server1", "db1", "tbl2", "c9", null));
+    hierarchies.add(authorizable("server1", "db1", AccessConstants.ALL, null, null));
+    hierarchies.add(authorizable("server1", "db1", AccessConstants.SOME, "c1", null));
+    hierarchies.add(authorizable("server1", "db2", "tbl1", AccessConstants.ALL, null));
+    hierarchies.add(authorizable("server1", null, null, null, "hdfs://namenode:9000/path/x"));
+    hierarchies.add(authorizable("server1", null, null, null, "hdfs://namenode:9000/other"));
+
+    for (Set<String> groups : groupSets) {
+      for (Set<String> users : userSets) {
+        for (TSentryActiveRoleSet roleSet : roleSets) {
+          for (TSentryAuthorizable hierarchy : hierarchies) {
+            String msg = groups + " " + users + " " + roleSet + " " + hierarchy;
+            assertEquals(msg,
+                dbStore.listSentryPrivilegesForProvider(groups, users, roleSet, hierarchy),
+                snapshotStore.listSentryPrivilegesForProvider(groups, users, roleSet, hierarchy));
+          }
+          for (String server : new String[] {"server1", "SERVER2", "server3"}) {
+            String msg = groups + " " + users + " " + roleSet + " " + server;
+            assertEquals(msg,
+                dbStore.hasAnyServerPrivileges(groups, users, roleSet, server),
+                snapshotStore.hasAnyServerPrivileges(groups, users, roleSet, server));
+          }
+        }
+      }
+    }
+
+    Set<String> allGroups = Sets.newHashSet((String) null);
+    assertEquals(dbStore.getTSentryRolesByGroupName(allGroups, true),
+        snapshotStore.getTSentryRolesByGroupName(allGroups, true));
+    for (Set<String> groups : groupSets) {
+      assertEquals(groups.toString(), dbStore.getTSentryRolesByGroupName(groups, true),
+          snapshotStore.getTSentryRolesByGroupName(groups, true));
+    }
+    try {
+      snapshotStore.getTSentryRolesByGroupName(Sets.newHashSet("nogroup"), false);
+      fail("Expected SentryNoSuchObjectException");
+    } catch (SentryNoSuchObjectException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testLocalWritesUpdateSnapshot() throws Exception {
+    snapshotStore.createSentryRole("role1");
+    snapshotStore.alterSentryRoleAddGroups(GRANTOR, "role1",
+        Sets.newHashSet(new TSentryGroup("group1")));
+    Set<String> groups = Sets.newHashSet("group1");
+    TSentryAuthorizable db1 = authorizable("server1", "db1", null, null, null);
+
+    assertTrue(snapshotStore.listSentryPrivilegesForProvider(groups, null, ALL_ROLES, db1)
+        .isEmpty());
+    PolicySnapshot snapshot = snapshotStore.getPolicySnapshot();
+    assertSame(snapshot, snapshotStore.getPolicySnapshot());
+
+    snapshotStore.alterSentryGrantPrivileges(SentryPrincipalType.ROLE, "role1",
+        Sets.newHashSet(privilege("server1", "db1", null, null, null)), null);
+    PolicySnapshot updated = snapshotStore.getPolicySnapshot();
+    assertNotSame(snapshot, updated);
+    assertEquals(snapshot.getCreateTime(), updated.getCreateTime());
+    assertEquals(Sets.newHashSet("server=server1->db=db1->action=select"),
+        snapshotStore.listSentryPrivilegesForProvider(groups, null, ALL_ROLES, db1));
+
+    snapshotStore.alterSentryRoleDeleteGroups("role1",
+        Sets.newHashSet(new TSentryGroup("group1")));
+    assertTrue(snapshotStore.listSentryPrivilegesForProvider(groups, null, ALL_ROLES, db1)
+        .isEmpty());
+    assertFalse(snapshotStore.hasAnyServerPrivileges(groups, null, ALL_ROLES, "server1"));
+  }
+
+  @Test
+  public void testLocalWritesMatchDatabase() throws Exception {
+    snapshotStore.createSentryRole("role1");
+    snapshotStore.createSentryRole("role2");
+    PolicySnapshot loaded = snapshotStore.getPolicySnapshot();
+    // A snapshot loaded again would have a later creation time
+    Thread.sleep(10);
+
+    snapshotStore.alterSentryRoleAddGroups(GRANTOR, "role1",
+        Sets.newHashSet(new TSentryGroup("group1"), new TSentryGroup("group2")));
+    snapshotStore.alterSentryRoleAddGroups(GRANTOR, "role2",
+        Sets.newHashSet(new TSentryGroup("group2")));
+    snapshotStore.alterSentryRoleAddUsers("role2", Sets.newHashSet("user1", "user2"));
+    grant(SentryPrincipalType.ROLE, "role1", privilege("server1", "db1", null, null, null));
+    grant(SentryPrincipalType.ROLE, "role2", privilege("server1", "db1", "tbl1", null, null));
+    grant(SentryPrincipalType.USER, "user3", privilege("server1", "db2", "tbl1", null, null));
+    assertSnapshotMatchesDatabase(loaded);
+
+    snapshotStore.alterSentryRolesGrantPrivileges(Sets.newHashSet("role1", "role2"),
+        Sets.newHashSet(privilege("server1", "db3", null, null, null)), null);
+    snapshotStore.alterSentryRevokePrivileges(SentryPrincipalType.ROLE, "role1",
+        Sets.newHashSet(privilege("server1", "db1", null, null, null)), null);
+    snapshotStore.updateOwnerPrivilege(authorizable("server1", "db2", "tbl2", null, null),
+        "user2", SentryPrincipalType.USER, Collections.<Updateable.Update>emptyList());
+    assertSnapshotMatchesDatabase(loaded);
+
+    snapshotStore.renamePrivilege(authorizable("server1", "db1", "tbl1", null, null),
+        authorizable("server1", "db1", "tbl9", null, null));
+    snapshotStore.dropPrivilege(authorizable("server1", "db3", null, null, null));
+    snapshotStore.alterSentryRoleDeleteUsers("role2", Sets.newHashSet("user1"));
+    snapshotStore.alterSentryRoleDeleteGroups("role1",
+        Sets.newHashSet(new TSentryGroup("group2")));
+    assertSnapshotMatchesDatabase(loaded);
+
+    snapshotStore.dropSentryRole("role2");
+    snapshotStore.dropSentryUser("user3");
+    assertSnapshotMatchesDatabase(loaded);
+  }
+
+  @Test
+  public void testLocalPermChangesKeepSnapshot() throws Exception {
+    snapshotStore.createSentryRole("role1");
+    snapshotStore.alterSentryRoleAddGroups(GRANTOR, "role1",
+        Sets.newHashSet(new TSentryGroup("group1")));
+    Set<String> groups = Sets.newHashSet("group1");
+    PolicySnapshot loaded = snapshotStore.getPolicySnapshot();
+    Thread.sleep(10);
+
+    // The permission change persisted by the store itself doesn't make the snapshot out of date
+    TSentryPrivilege tbl1 = privilege("server1", "db1", "tbl1", null, null);
+    snapshotStore.alterSentryRoleGrantPrivileges("role1", Sets.newHashSet(tbl1),
+        permissionsUpdate(tbl1, "db1.tbl1", "role1"));
+    assertEquals(Sets.newHashSet("server=server1->db=db1->table=tbl1->action=select"),
+        snapshotStore.listSentryPrivilegesForProvider(groups, null, ALL_ROLES, null));
+    assertEquals(loaded.getCreateTime(), snapshotStore.getPolicySnapshot().getCreateTime());
+
+    // The one persisted by another server does
+    TSentryPrivilege tbl2 = privilege("server1", "db1", "tbl2", null, null);
+    dbStore.alterSentryRoleGrantPrivileges("role1", Sets.newHashSet(tbl2),
+        permissionsUpdate(tbl2, "db1.tbl2", "role1"));
+    assertEquals(Sets.newHashSet("server=server1->db=db1->table=tbl1->action=select",
+        "server=server1->db=db1->table=tbl2->action=select"),
+        snapshotStore.listSentryPrivilegesForProvider(groups, null, ALL_ROLES, null));
+    assertTrue(snapshotStore.getPolicySnapshot().getCreateTime() > loaded.getCreateTime());
+  }
+
+  @Test
+  public void testRemoteWritesDetectedByPermChangeID() throws Exception {
+    dbStore.createSentryRole("role1");
+    dbStore.alterSentryRoleAddGroups(GRANTOR, "role1",
+        Sets.newHashSet(new TSentryGroup("group1")));
+    Set<String> groups = Sets.newHashSet("group1");
+
+    assertTrue(snapshotStore.listSentryPrivilegesForProvider(groups, null, ALL_ROLES, null)
+        .isEmpty());
+    PolicySnapshot snapshot = snapshotStore.getPolicySnapshot();
+
+    // A change made by another server is only visible through the perm change ID
+    TSentryPrivilege privilege = privilege("server1", "db1", "tbl1", null, null);
+    dbStore.alterSentryRoleGrantPrivileges("role1", Sets.newHashSet(privilege),
+        permissionsUpdate(privilege, "db1.tbl1", "role1"));
+
+    assertEquals(Sets.newHashSet("server=server1->db=db1->table=tbl1->action=select"),
+        snapshotStore.listSentryPrivilegesForProvider(groups, null, ALL_ROLES, null));
+    PolicySnapshot rebuilt = snapshotStore.getPolicySnapshot();
+    assertNotSame(snapshot, rebuilt);
+    assertEquals((long) dbStore.getLastProcessedPermChangeID(), rebuilt.getPermChangeID());
+  }
+
+  /**
+   * Check that the snapshot, which must not have been loaded again, answers the provider
+   * requests like the database.
+   */
+  private static void assertSnapshotMatchesDatabase(PolicySnapshot loaded) throws Exception {
+    assertEquals("Snapshot loaded again", loaded.getCreateTime(),
+        snapshotStore.getPolicySnapshot().getCreateTime());
+    List<Set<String>> groupSets = new ArrayList<>();
+    groupSets.add(Sets.newHashSet("group1"));
+    groupSets.add(Sets.newHashSet("group2"));
+    groupSets.add(Sets.newHashSet("group1", "group2", "nogroup"));
+    for (Set<String> groups : groupSets) {
+      for (String user : new String[] {"user1", "user2", "user3", "nouser"}) {
+        Set<String> users = Sets.newHashSet(user);
+        String msg = groups + " " + users;
+        assertEquals(msg,
+            dbStore.listSentryPrivilegesForProvider(groups, users, ALL_ROLES, null),
+            snapshotStore.listSentryPrivilegesForProvider(groups, users, ALL_ROLES, null));
+        assertEquals(msg,
+            dbStore.hasAnyServerPrivileges(groups, users, ALL_ROLES, "server1"),
+            snapshotStore.hasAnyServerPrivileges(groups, users, ALL_ROLES, "server1"));
+      }
+      assertEquals(groups.toString(), dbStore.getTSentryRolesByGroupName(groups, true),
+          snapshotStore.getTSentryRolesByGroupName(groups, true));
+    }
+    Set<String> allGroups = Sets.newHashSet((String) null);
+    assertEquals(dbStore.getTSentryRolesByGroupName(allGroups, true),
+        snapshotStore.getTSentryRolesByGroupName(allGroups, true));
+  }
+
+  private static Map<TSentryPrivilege, Updateable.Update> permissionsUpdate(
+      TSentryPrivilege privilege, String authzObj, String roleName) {
+    PermissionsUpdate update = new PermissionsUpdate(0, false);
+    update.addPrivilegeUpdate(authzObj).putToAddPrivileges(
+        new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, roleName),
+        AccessConstants.SELECT.toUpperCase());
+    Map<TSentryPrivilege, Updateable.Update> updates = Maps.newHashMap();
+    updates.put(privilege, update);
+    return updates;
+  }
+
+  private static void grant(SentryPrincipalType type, String name, TSentryPrivilege privilege)
+      throws Exception {
+    snapshotStore.alterSentryGrantPrivileges(type, name, Sets.newHashSet(privilege), null);
+  }
+
+  private static TSentryPrivilege privilege(String server, String db, String table,
+      String column, String uri) {
+    TSentryPrivilege privilege = new TSentryPrivilege();
+    privilege.setServerName(server);
+    privilege.setAction(AccessConstants.SELECT);
+    privilege.setCreateTime(System.currentTimeMillis());
+    if (uri != null) {
+      privilege.setPrivilegeScope("URI");
+      privilege.setURI(uri);
+      privilege.setAction(AccessConstants.ALL);
+    } else if (column != null) {
+      privilege.setPrivilegeScope("Column");
+    } else if (table != null) {
+      privilege.setPrivilegeScope("Table");
+    } else if (db != null) {
+      privilege.setPrivilegeScope("Database");
+    } else {
+      privilege.setPrivilegeScope("Server");
+    }
+    privilege.setDbName(db);
+    privilege.setTableName(table);
+    privilege.setColumnName(column);
+    return privilege;
+  }
+
+  private static TSentryAuthorizable authorizable(String server, String db, String table,
+      String column, String uri) {
+    TSentryAuthorizable authorizable = new TSentryAuthorizable(server);
+    authorizable.setDb(db);
+    authorizable.setTable(table);
+    authorizable.setColumn(column);
+    authorizable.setUri(uri);
+    return authorizable;
+  }
+}
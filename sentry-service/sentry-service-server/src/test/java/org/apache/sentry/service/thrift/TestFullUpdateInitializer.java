@@ -26,6 +26,7 @@ import org.apache.hadoop.hive.metastore.api.MetaException;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
 import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.sentry.api.service.thrift.SentryMetrics;
 import org.apache.thrift.TException;
 import org.junit.Assert;
 import org.junit.Test;
@@ -34,10 +35,13 @@ import org.mockito.Mockito;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class TestFullUpdateInitializer {
 
@@ -169,6 +173,7 @@ public class TestFullUpdateInitializer {
   private static class MockHMSClientFactory implements HiveConnectionFactory {
 
     private final HiveMetaStoreClient mClient;
+    private final AtomicInteger connections = new AtomicInteger();
 
     private MockHMSClientFactory(MockClient mClient) {
       this.mClient = mClient.client;
@@ -180,6 +185,7 @@ public class TestFullUpdateInitializer {
 
     @Override
     public HMSClient connect() throws IOException, InterruptedException, MetaException {
+      connections.incrementAndGet();
       return new HMSClient(mClient);
     }
 
@@ -343,4 +349,150 @@ public class TestFullUpdateInitializer {
     }
   }
 
+  @Test
+  // Test that HMS clients are reused by the tasks and that partitions are all fetched
+  // when the number of partitions per call is adapted to the HMS latency, down to the
+  // minimum number of partitions per call
+  public void testClientsAreReused() throws Exception {
+    int ndbs = 2;
+    int ntables = 5;
+    int nparts = 40;
+
+    HiveSnapshot snap = new HiveSnapshot();
+    for (int i = 0; i < ndbs; i++) {
+      HiveDb db = new HiveDb("db" + i);
+      for (int j = 0; j < ntables; j++) {
+        HiveTable table = new HiveTable("table" + i + j);
+        for (int k = 0; k < nparts; k++) {
+          table.add("part" + i + j + k);
+        }
+        db.add(table);
+      }
+      snap.add(db);
+    }
+    MockClient c = new MockClient(snap);
+    final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<Integer>());
+    // Partitions are fetched by calls of any size, which are all slow
+    Mockito.when(c.client.getPartitionsByNames(Mockito.anyString(), Mockito.anyString(),
+        Mockito.anyListOf(String.class))).thenAnswer(invocation -> {
+          Object[] args = invocation.getArguments();
+          batchSizes.add(((List<String>) args[2]).size());
+          List<Partition> partitions = new ArrayList<>();
+          for (String partName : (List<String>) args[2]) {
+            partitions.add(makePartition((String) args[0], (String) args[1], partName));
+          }
+          Thread.sleep(5);
+          return partitions;
+        });
+    Configuration adaptiveConf = new Configuration(conf);
+    adaptiveConf.setInt(org.apache.sentry.hdfs.ServiceConstants.ServerConfig
+            .SENTRY_HDFS_SYNC_METASTORE_CACHE_MAX_PART_PER_RPC, 16);
+    adaptiveConf.setInt(org.apache.sentry.hdfs.ServiceConstants.ServerConfig
+            .SENTRY_HDFS_SYNC_METASTORE_CACHE_MIN_PART_PER_RPC, 2);
+    adaptiveConf.setInt(org.apache.sentry.hdfs.ServiceConstants.ServerConfig
+            .SENTRY_HDFS_SYNC_METASTORE_CACHE_TARGET_RPC_LATENCY_IN_MILLIS, 1);
+
+    MockHMSClientFactory clientFactory = new MockHMSClientFactory(c);
+    Map<String, Collection<String>> update;
+    long batchesBefore = SentryMetrics.getInstance().partitionFetchBatchSize.getCount();
+    try (FullUpdateInitializer cacheInitializer =
+                new FullUpdateInitializer(clientFactory, adaptiveConf)) {
+      update = cacheInitializer.getFullHMSSnapshot();
+    }
+    Assert.assertEquals((ntables * ndbs) + ndbs, update.size());
+    for (int i = 0; i < ndbs; i++) {
+      for (int j = 0; j < ntables; j++) {
+        Assert.assertEquals(nparts + 1, update.get("db" + i + ".table" + i + j).size());
+      }
+    }
+    // No more clients than threads
+    Assert.assertTrue(clientFactory.connections.get() <= 8);
+
+    // Every call is slower than the target, so the batch size reached the minimum, and the
+    // tasks scheduled with larger batches were split when they ran. Larger batches are only
+    // fetched by the calls started before the batch size was halved three times.
+    Assert.assertEquals(batchSizes.size(),
+        SentryMetrics.getInstance().partitionFetchBatchSize.getCount() - batchesBefore);
+    Assert.assertTrue(
+        SentryMetrics.getInstance().partitionFetchBatchSize.getSnapshot().getMin() <= 2);
+    Assert.assertEquals(2, (int) batchSizes.get(batchSizes.size() - 1));
+    int largerBatches = 0;
+    for (int batchSize : batchSizes) {
+      Assert.assertTrue(batchSize >= 2 && batchSize <= 16);
+      if (batchSize > 2) {
+        largerBatches++;
+      }
+    }
+    Assert.assertTrue("Batches larger than the minimum: " + largerBatches,
+        largerBatches < 8 * 3);
+  }
+
+  @Test
+  // Test that a streamed snapshot is passed in chunks which add up to the full snapshot
+  public void testStreamed() throws Exception {
+    int ndbs = 3;
+    int ntables = 11;
+    int nparts = 13;
+
+    HiveSnapshot snap = new HiveSnapshot();
+    for (int i = 0; i < ndbs; i++) {
+      HiveDb db = new HiveDb("db" + i);
+      for (int j = 0; j < ntables; j++) {
+        HiveTable table = new HiveTable("table" + i + j);
+        for (int k = 0; k < nparts; k++) {
+          table.add("part" + i + j + k);
+        }
+        db.add(table);
+      }
+      snap.add(db);
+    }
+    MockClient c = new MockClient(snap);
+    Configuration streamConf = new Configuration(conf);
+    streamConf.setInt(org.apache.sentry.hdfs.ServiceConstants.ServerConfig
+            .SENTRY_HDFS_SYNC_METASTORE_CACHE_CHUNK_SIZE, 10);
+    streamConf.setInt(org.apache.sentry.hdfs.ServiceConstants.ServerConfig
+            .SENTRY_HDFS_SYNC_METASTORE_CACHE_QUEUE_SIZE, 2);
+
+    Map<String, Collection<String>> full;
+    try (FullUpdateInitializer cacheInitializer =
+                new FullUpdateInitializer(new MockHMSClientFactory(c), conf)) {
+      full = cacheInitializer.getFullHMSSnapshot();
+    }
+
+    final Map<String, Collection<String>> update = new HashMap<>();
+    final List<Integer> chunkSizes = new ArrayList<>();
+    try (FullUpdateInitializer cacheInitializer =
+                new FullUpdateInitializer(new MockHMSClientFactory(c), streamConf)) {
+      cacheInitializer.streamFullHMSSnapshot(chunk -> {
+        int paths = 0;
+        for (Map.Entry<String, Collection<String>> entry : chunk.entrySet()) {
+          Collection<String> values = update.get(entry.getKey());
+          if (values == null) {
+            values = new HashSet<>();
+            update.put(entry.getKey(), values);
+          }
+          values.addAll(entry.getValue());
+          paths += entry.getValue().size();
+        }
+        chunkSizes.add(paths);
+      });
+    }
+    Assert.assertEquals(full, update);
+    Assert.assertTrue(chunkSizes.size() > 1);
+    for (int paths : chunkSizes.subList(0, chunkSizes.size() - 1)) {
+      Assert.assertTrue(paths >= 10);
+    }
+
+    // A failure of the consumer stops the snapshot
+    try (FullUpdateInitializer cacheInitializer =
+                new FullUpdateInitializer(new MockHMSClientFactory(c), streamConf)) {
+      cacheInitializer.streamFullHMSSnapshot(chunk -> {
+        throw new IllegalStateException("consumer failure");
+      });
+      Assert.fail("Expected IllegalStateException");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("consumer failure", e.getMessage());
+    }
+  }
+
 }
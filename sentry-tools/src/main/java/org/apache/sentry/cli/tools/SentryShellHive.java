@@ -18,9 +18,14 @@
 
 package org.apache.sentry.cli.tools;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.OptionGroup;
+import org.apache.commons.cli.ParseException;
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
@@ -37,19 +42,60 @@ import com.google.common.collect.Sets;
  * SentryShellHive is an admin tool, and responsible for the management of repository.
  * The following function are supported:
  * create role, drop role, add group to role, delete group from role, grant privilege to role,
- * revoke privilege from role, list roles for group, list privilege for role.
+ * revoke privilege from role, list roles for group, list privilege for role,
+ * grant privileges to roles and revoke privileges from roles in a single request.
+ * <pre>
+ *   -gprs,--grant_privileges_roles  -r <rolename,...> -p <privilege> [-p <privilege> ...]
+ *   -rprs,--revoke_privileges_roles -r <rolename,...> -p <privilege> [-p <privilege> ...]
+ * </pre>
  */
 public class SentryShellHive extends SentryShellCommon {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(SentryShellHive.class);
 
+  protected boolean isGrantPrivilegesRoles;
+  protected boolean isRevokePrivilegesRoles;
+  protected String[] privilegeStrs;
+
+  @Override
+  protected OptionGroup getMainOptions() {
+    OptionGroup mainOptions = super.getMainOptions();
+    Option gprsOpt = new Option("gprs", "grant_privileges_roles", false,
+        "Grant privileges to roles in a single request");
+    gprsOpt.setRequired(false);
+    mainOptions.addOption(gprsOpt);
+    Option rprsOpt = new Option("rprs", "revoke_privileges_roles", false,
+        "Revoke privileges from roles in a single request");
+    rprsOpt.setRequired(false);
+    mainOptions.addOption(rprsOpt);
+    return mainOptions;
+  }
+
+  @Override
+  protected void parseOptions(CommandLine cmd) throws ParseException {
+    for (Option opt : cmd.getOptions()) {
+      if (opt.getOpt().equals("gprs")) {
+        isGrantPrivilegesRoles = true;
+        roleNameRequired = true;
+        privilegeStrRequired = true;
+      } else if (opt.getOpt().equals("rprs")) {
+        isRevokePrivilegesRoles = true;
+        roleNameRequired = true;
+        privilegeStrRequired = true;
+      }
+    }
+    // -p may be repeated to give several privileges
+    privilegeStrs = cmd.getOptionValues("p");
+    super.parseOptions(cmd);
+  }
+
   public void run() throws Exception {
 
     try(SentryPolicyServiceClient client =
                 SentryServiceClientFactory.create(getSentryConf())) {
       UserGroupInformation ugi = UserGroupInformation.getLoginUser();
       String requestorName = ugi.getShortUserName();
-      ShellCommand command = new HiveShellCommand(client);
+      HiveShellCommand command = new HiveShellCommand(client);
 
       // check the requestor name
       if (StringUtils.isEmpty(requestorName)) {
@@ -71,6 +117,12 @@ public class SentryShellHive extends SentryShellCommon {
         command.grantPrivilegeToRole(requestorName, roleName, privilegeStr);
       } else if (isRevokePrivilegeRole) {
         command.revokePrivilegeFromRole(requestorName, roleName, privilegeStr);
+      } else if (isGrantPrivilegesRoles) {
+        Set<String> roles = Sets.newHashSet(roleName.split(SentryShellCommon.GROUP_SPLIT_CHAR));
+        command.grantPrivilegesToRoles(requestorName, roles, Arrays.asList(privilegeStrs));
+      } else if (isRevokePrivilegesRoles) {
+        Set<String> roles = Sets.newHashSet(roleName.split(SentryShellCommon.GROUP_SPLIT_CHAR));
+        command.revokePrivilegesFromRoles(requestorName, roles, Arrays.asList(privilegeStrs));
       } else if (isListRole) {
         List<String> roles = command.listRoles(requestorName, groupName);
         for (String role : roles) {
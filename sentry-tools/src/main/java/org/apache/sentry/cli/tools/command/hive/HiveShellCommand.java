@@ -18,6 +18,7 @@
 package org.apache.sentry.cli.tools.command.hive;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -74,6 +75,33 @@ public class HiveShellCommand implements ShellCommand {
     client.revokeRoleFromGroups(requestorName, roleName, groups);
   }
 
+  /**
+   * Grant all the privileges to all the roles in a single request.
+   */
+  public void grantPrivilegesToRoles(String requestorName, Set<String> roleNames,
+      Collection<String> privileges) throws SentryUserException {
+    client.grantPrivileges(requestorName, roleNames, toTSentryPrivileges(privileges));
+  }
+
+  /**
+   * Revoke all the privileges from all the roles in a single request.
+   */
+  public void revokePrivilegesFromRoles(String requestorName, Set<String> roleNames,
+      Collection<String> privileges) throws SentryUserException {
+    client.revokePrivileges(requestorName, roleNames, toTSentryPrivileges(privileges));
+  }
+
+  private static Set<TSentryPrivilege> toTSentryPrivileges(Collection<String> privileges)
+      throws SentryUserException {
+    Set<TSentryPrivilege> tSentryPrivileges = new HashSet<>(privileges.size());
+    for (String privilege : privileges) {
+      TSentryPrivilege tSentryPrivilege = SentryServiceUtil.convertToTSentryPrivilege(privilege);
+      CommandUtil.validatePrivilegeHierarchy(tSentryPrivilege);
+      tSentryPrivileges.add(tSentryPrivilege);
+    }
+    return tSentryPrivileges;
+  }
+
   public List<String> listRoles(String requestorName, String group) throws SentryUserException {
     Set<TSentryRole> roles;
     if (StringUtils.isEmpty(group)) {
@@ -289,6 +289,49 @@ public class TestSentryShellHive extends SentryServiceIntegrationBase {
     });
   }
 
+  @Test
+  public void testGrantRevokePrivilegesForRoles() throws Exception {
+    runTestAsSubject(new TestOperation() {
+      @Override
+      public void runTestAsSubject() throws Exception {
+        // create the roles for test
+        client.createRole(requestorName, TEST_ROLE_NAME_1);
+        client.createRole(requestorName, TEST_ROLE_NAME_2);
+
+        // test: grant privileges to roles with -gprs
+        String[] args = { "-gprs", "-r", TEST_ROLE_NAME_1 + "," + TEST_ROLE_NAME_2,
+            "-p", "server=server1->db=db1->action=select",
+            "-p", "server=server1->db=db1->table=tbl1->action=insert",
+            "-conf", confPath.getAbsolutePath() };
+        SentryShellHive.main(args);
+        for (String role : new String[] { TEST_ROLE_NAME_1, TEST_ROLE_NAME_2 }) {
+          args = new String[] { "-lp", "-r", role, "-conf", confPath.getAbsolutePath() };
+          Set<String> privilegeStrs =
+              getShellResultWithOSRedirect(new SentryShellHive(), args, true);
+          assertEquals("Incorrect number of privileges", 2, privilegeStrs.size());
+          assertTrue(privilegeStrs.contains("server=server1->db=db1->action=select"));
+          assertTrue(privilegeStrs.contains("server=server1->db=db1->table=tbl1->action=insert"));
+        }
+
+        // test: revoke privileges from roles with --revoke_privileges_roles
+        args = new String[] { "--revoke_privileges_roles",
+            "-r", TEST_ROLE_NAME_1 + "," + TEST_ROLE_NAME_2,
+            "-p", "server=server1->db=db1->table=tbl1->action=insert",
+            "-conf", confPath.getAbsolutePath() };
+        SentryShellHive.main(args);
+        for (String role : new String[] { TEST_ROLE_NAME_1, TEST_ROLE_NAME_2 }) {
+          Set<TSentryPrivilege> privileges = client.listAllPrivilegesByRoleName(requestorName,
+              role);
+          assertEquals("Incorrect number of privileges", 1, privileges.size());
+        }
+
+        // clear the test data
+        client.dropRole(requestorName, TEST_ROLE_NAME_1);
+        client.dropRole(requestorName, TEST_ROLE_NAME_2);
+      }
+    });
+  }
+
   @Test
   public void testGrantRevokePrivilegeWithLongOption() throws Exception {
     runTestAsSubject(new TestOperation() {